@@ -21,10 +21,11 @@ package boofcv.app;
 import boofcv.abst.fiducial.QrCodeDetector;
 import boofcv.alg.fiducial.qrcode.QrCode;
 import boofcv.app.batch.BatchControlPanel;
+import boofcv.app.batch.ParallelBatchImages;
 import boofcv.factory.fiducial.FactoryFiducial;
 import boofcv.io.image.ConvertBufferedImage;
-import boofcv.io.image.UtilImageIO;
 import boofcv.struct.image.GrayU8;
+import org.jetbrains.annotations.Nullable;
 import org.kohsuke.args4j.CmdLineException;
 import org.kohsuke.args4j.CmdLineParser;
 import org.kohsuke.args4j.Option;
@@ -36,6 +37,8 @@ import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Scans all images in a directory for QR codes and outputs the results
@@ -59,8 +62,8 @@ public class BatchScanQrCodes {
 	@Option(name = "--GUI", usage = "Ignore all other command line arguments and switch to GUI mode")
 	private boolean guiMode = false;
 
-	QrCodeDetector<GrayU8> scanner = FactoryFiducial.qrcode(null, GrayU8.class);
-	GrayU8 gray = new GrayU8(1, 1);
+	@Option(name = "--Threads", usage = "Number of threads used to load and scan images. 0 = number of processors")
+	int numThreads = 0;
 
 	PrintStream output;
 
@@ -72,7 +75,7 @@ public class BatchScanQrCodes {
 
 	}
 
-	void process() throws FileNotFoundException, UnsupportedEncodingException {
+	void process() throws FileNotFoundException {
 		total = 0;
 		output = new PrintStream(pathOutput);
 		output.println("# Found QR Codes inside of images");
@@ -81,43 +84,61 @@ public class BatchScanQrCodes {
 		output.println("# <File Name> <Total Found>");
 		output.println("# message encoded with URLEncoder");
 
+		// Each thread gets its own detector. Results are written in the same order as the files
+		var batch = new ParallelBatchImages<Scanner, List<String>>(Scanner::new, Scanner::process);
+		if (numThreads > 0)
+			batch.setNumThreads(numThreads);
+		batch.setReportPeriod(50);
+		batch.setVerbose(System.out, null);
+
 		try {
-			ArrayDeque<File> files = new ArrayDeque<>();
-			files.add(new File(pathInput));
+			batch.process(findFiles(), this::handleResults);
+		} finally {
+			output.close();
+		}
+		System.out.println("\n\nDone! Images Count = " + total);
+	}
 
-			while (!files.isEmpty()) {
-				File f = files.remove();
-				if (!f.exists()) {
-					System.err.println("Does not exist: " + f.getPath());
+	/**
+	 * Finds all the files which should be scanned, in the order they will be processed
+	 */
+	List<File> findFiles() {
+		List<File> found = new ArrayList<>();
+		ArrayDeque<File> files = new ArrayDeque<>();
+		files.add(new File(pathInput));
+
+		while (!files.isEmpty()) {
+			File f = files.remove();
+			if (!f.exists()) {
+				System.err.println("Does not exist: " + f.getPath());
+			} else {
+				if (f.isFile()) {
+					addFile(f, found);
 				} else {
-					if (f.isFile()) {
-						processFile(f);
-					} else {
-						File[] children = f.listFiles();
-						if (children == null)
-							continue;
-						for (File c : children) {
-							if (c.isFile()) {
-								processFile(c);
-							} else if (recursive) {
-								files.add(c);
-							}
+					File[] children = f.listFiles();
+					if (children == null)
+						continue;
+					for (File c : children) {
+						if (c.isFile()) {
+							addFile(c, found);
+						} else if (recursive) {
+							files.add(c);
 						}
 					}
 				}
 			}
-		} finally {
-			output.close();
 		}
-		System.out.println("\n\nDone! Images Count = " + total);
+		return found;
 	}
 
-	private void processFile( File f ) throws UnsupportedEncodingException {
+	private void addFile( File f, List<File> found ) {
 		if (regex.length() > 0 && !f.getName().matches(regex))
 			return;
+		found.add(f);
+	}
 
-		BufferedImage buffered = UtilImageIO.loadImage(f.getAbsolutePath());
-		if (buffered == null) {
+	private void handleResults( File f, @Nullable BufferedImage buffered, @Nullable List<String> messages ) {
+		if (buffered == null || messages == null) {
 			System.err.println("Can't open " + f.getPath());
 			return;
 		}
@@ -125,18 +146,36 @@ public class BatchScanQrCodes {
 			listener.batchUpdate(f.getName());
 		}
 
-		ConvertBufferedImage.convertFrom(buffered, gray);
-
-		scanner.process(gray);
-		output.printf("%d %s\n", scanner.getDetections().size(), f.getPath());
-
-		for (QrCode qr : scanner.getDetections()) {
-			output.println(URLEncoder.encode(qr.message, "UTF-8"));
+		output.printf("%d %s\n", messages.size(), f.getPath());
+		for (String message : messages) {
+			output.println(message);
 		}
-
 		total++;
-		if (total%50 == 0) {
-			System.out.println("processed " + total);
+	}
+
+	/**
+	 * Detector and image storage used by a single thread
+	 */
+	static class Scanner {
+		QrCodeDetector<GrayU8> detector = FactoryFiducial.qrcode(null, GrayU8.class);
+		GrayU8 gray = new GrayU8(1, 1);
+
+		/**
+		 * Scans the image and returns the URL encoded message in each QR Code
+		 */
+		List<String> process( File file, BufferedImage buffered ) {
+			ConvertBufferedImage.convertFrom(buffered, gray);
+			detector.process(gray);
+
+			List<String> messages = new ArrayList<>();
+			try {
+				for (QrCode qr : detector.getDetections()) {
+					messages.add(URLEncoder.encode(qr.message, "UTF-8"));
+				}
+			} catch (UnsupportedEncodingException e) {
+				throw new RuntimeException(e);
+			}
+			return messages;
 		}
 	}
 
@@ -21,6 +21,8 @@ package boofcv.app;
 import boofcv.abst.fiducial.calib.ConfigGridDimen;
 import boofcv.abst.geo.calibration.CalibrateMonoPlanar;
 import boofcv.abst.geo.calibration.DetectorFiducialCalibration;
+import boofcv.alg.geo.calibration.CalibrationObservation;
+import boofcv.app.batch.ParallelBatchImages;
 import boofcv.app.calib.AssistedCalibration;
 import boofcv.app.calib.AssistedCalibrationGui;
 import boofcv.app.calib.ComputeGeometryScore;
@@ -36,6 +38,7 @@ import boofcv.io.image.ConvertBufferedImage;
 import boofcv.io.image.UtilImageIO;
 import boofcv.io.webcamcapture.UtilWebcamCapture;
 import boofcv.javacv.UtilOpenCV;
+import boofcv.misc.BoofLambdas;
 import boofcv.misc.BoofMiscOps;
 import boofcv.struct.calib.CameraModel;
 import boofcv.struct.calib.CameraPinholeBrown;
@@ -64,6 +67,10 @@ public class CameraCalibration extends BaseStandardInputApp {
 	protected String inputDirectory;
 	protected String outputFileName = "intrinsic.yaml";
 	protected DetectorFiducialCalibration detector;
+	// Creates a new instance of the detector. Used to create one detector for each thread
+	protected BoofLambdas.Factory<DetectorFiducialCalibration> factoryDetector;
+	// Number of threads used to detect targets in images. If zero then the number of processors is used
+	protected int numThreads = 0;
 	protected boolean zeroSkew = true;
 	protected int numRadial = 2;
 	protected boolean tangential = false;
@@ -86,6 +93,8 @@ public class CameraCalibration extends BaseStandardInputApp {
 		System.out.println("  --Directory=<path>                 Directory containing calibration images");
 		System.out.println("  --Visualize=<true/false>           Should it visualize the results?");
 		System.out.println("                                     DEFAULT: true");
+		System.out.println("  --Threads=<int>                    Number of threads used to detect targets in images");
+		System.out.println("                                     DEFAULT: number of processors");
 		System.out.println();
 		System.out.println("Input: Webcam Options:  ");
 		System.out.println();
@@ -156,6 +165,8 @@ public class CameraCalibration extends BaseStandardInputApp {
 						inputType = InputType.IMAGE;
 					} else if (flagName.compareToIgnoreCase("Visualize") == 0) {
 						visualize = Boolean.parseBoolean(parameters);
+					} else if (flagName.compareToIgnoreCase("Threads") == 0) {
+						numThreads = Integer.parseInt(parameters);
 					} else if (flagName.compareToIgnoreCase("Model") == 0) {
 						if (parameters.compareToIgnoreCase("pinhole") == 0) {
 							modeType = ModelType.PINHOLE;
@@ -235,7 +246,8 @@ public class CameraCalibration extends BaseStandardInputApp {
 
 		ConfigGridDimen config = new ConfigGridDimen(numRows, numColumns, 1);
 
-		detector = FactoryFiducialCalibration.chessboardX(null, config);
+		factoryDetector = () -> FactoryFiducialCalibration.chessboardX(null, config);
+		detector = factoryDetector.newInstance();
 	}
 
 	protected void parseSquareGrid( int index, String[] args ) {
@@ -276,7 +288,8 @@ public class CameraCalibration extends BaseStandardInputApp {
 
 		ConfigGridDimen config = new ConfigGridDimen(numRows, numColumns, square, space);
 
-		detector = FactoryFiducialCalibration.squareGrid(null, config);
+		factoryDetector = () -> FactoryFiducialCalibration.squareGrid(null, config);
+		detector = factoryDetector.newInstance();
 	}
 
 	protected void parseCircle( int index, String[] args, boolean hexagonal ) {
@@ -316,12 +329,14 @@ public class CameraCalibration extends BaseStandardInputApp {
 			System.out.println("circle hexagonal: " + numRows + " x " + numColumns + " diameter = " + diameter + " center distance = " + centerDistance);
 			ConfigGridDimen config = new ConfigGridDimen(numRows, numColumns, diameter, centerDistance);
 
-			detector = FactoryFiducialCalibration.circleHexagonalGrid(null, config);
+			factoryDetector = () -> FactoryFiducialCalibration.circleHexagonalGrid(null, config);
+			detector = factoryDetector.newInstance();
 		} else {
 			System.out.println("circle regular: " + numRows + " x " + numColumns + " diameter = " + diameter + " center distance = " + centerDistance);
 			ConfigGridDimen config = new ConfigGridDimen(numRows, numColumns, diameter, centerDistance);
 
-			detector = FactoryFiducialCalibration.circleRegularGrid(null, config);
+			factoryDetector = () -> FactoryFiducialCalibration.circleRegularGrid(null, config);
+			detector = factoryDetector.newInstance();
 		}
 	}
 
@@ -405,47 +420,53 @@ public class CameraCalibration extends BaseStandardInputApp {
 		final List<File> imagesSuccess = new ArrayList<>();
 		final List<File> imagesFailed = new ArrayList<>();
 
-		boolean first = true;
+		List<File> imageFiles = new ArrayList<>();
 		for (File f : files) {
 			if (f.isDirectory() || f.isHidden())
 				continue;
+			imageFiles.add(f);
+		}
 
-			final BufferedImage buffered = UtilImageIO.loadImage(f.getPath());
-			if (buffered == null)
-				continue;
+		// Detect calibration targets in parallel. Results are handled in the same order as the files
+		var batch = new ParallelBatchImages<DetectorFiducialCalibration, CalibrationObservation>(factoryDetector,
+				( detector, file, buffered ) -> {
+					GrayF32 image = ConvertBufferedImage.convertFrom(buffered, (GrayF32)null);
+					return detector.process(image) ? detector.getDetectedPoints().copy() : null;
+				});
+		if (numThreads > 0)
+			batch.setNumThreads(numThreads);
 
-			GrayF32 image = ConvertBufferedImage.convertFrom(buffered, (GrayF32)null);
+		final ProcessThread _monitor = monitor;
+		final boolean[] first = new boolean[]{true};
+		batch.process(imageFiles, ( f, buffered, observation ) -> {
+			if (buffered == null)
+				return;
 
 			if (visualize) {
-				monitor.setMessage(0, f.getName());
+				_monitor.setMessage(0, f.getName());
 
-				if (first) {
-					first = false;
+				if (first[0]) {
+					first[0] = false;
 					// should do this more intelligently based on image resolution
-					int width = Math.min(1000, image.getWidth());
-					int height = Math.min(width*image.height/image.width, image.getHeight());
+					int width = Math.min(1000, buffered.getWidth());
+					int height = Math.min(width*buffered.getHeight()/buffered.getWidth(), buffered.getHeight());
 
 					gui.mainView.setPreferredSize(new Dimension(width, height));
 					gui.showImageProcessed(buffered);
 					ShowImages.showWindow(gui, "Monocular Calibration", true);
 				} else {
-					BoofSwingUtil.invokeNowOrLater(new Runnable() {
-						@Override
-						public void run() {
-							gui.showImageProcessed(buffered);
-						}
-					});
+					BoofSwingUtil.invokeNowOrLater(() -> gui.showImageProcessed(buffered));
 				}
 			}
 
-			if (!detector.process(image)) {
+			if (observation == null) {
 				imagesFailed.add(f);
 				System.err.println("Failed to detect target in " + f.getName());
 			} else {
-				calibrationAlg.addImage(detector.getDetectedPoints());
+				calibrationAlg.addImage(observation);
 				imagesSuccess.add(f);
 			}
-		}
+		});
 
 		if (visualize) {
 			monitor.setMessage(1, "Computing intrinsics");
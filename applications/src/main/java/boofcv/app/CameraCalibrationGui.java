@@ -221,11 +221,20 @@ public class CameraCalibrationGui extends JPanel
 
 	private void createDetector() {
 		switch( controlsTarget.selected ) {
-			case CHESSBOARD: app.detector = FactoryFiducialCalibration.chessboardX(null,controlsTarget.configChessboard);break;
-			case SQUARE_GRID: app.detector = FactoryFiducialCalibration.squareGrid(null,controlsTarget.configSquare);break;
-			case CIRCLE_GRID: app.detector = FactoryFiducialCalibration.circleRegularGrid(null,controlsTarget.configCircle);break;
-			case CIRCLE_HEX: app.detector = FactoryFiducialCalibration.circleHexagonalGrid(null,controlsTarget.configCircleHex);break;
+			case CHESSBOARD: app.factoryDetector = () ->
+					FactoryFiducialCalibration.chessboardX(null,controlsTarget.configChessboard);
+				break;
+			case SQUARE_GRID: app.factoryDetector = () ->
+					FactoryFiducialCalibration.squareGrid(null,controlsTarget.configSquare);
+				break;
+			case CIRCLE_GRID: app.factoryDetector = () ->
+					FactoryFiducialCalibration.circleRegularGrid(null,controlsTarget.configCircle);
+				break;
+			case CIRCLE_HEX: app.factoryDetector = () ->
+					FactoryFiducialCalibration.circleHexagonalGrid(null,controlsTarget.configCircleHex);
+				break;
 		}
+		app.detector = app.factoryDetector.newInstance();
 
 		app.modeType = controlsModel.selected;
 		if( app.modeType == CameraCalibration.ModelType.PINHOLE ) {
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.app.batch;
+
+import boofcv.io.image.UtilImageIO;
+import boofcv.misc.BoofLambdas;
+import lombok.Getter;
+import lombok.Setter;
+import org.ddogleg.struct.VerbosePrint;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Loads and processes a list of images using multiple threads. Each thread has its own worker, e.g. a detector,
+ * which is created using a factory. Images are loaded and processed by the threads ahead of the caller, but
+ * results are passed to the {@link Handler} in the calling thread and in the same order as the input files.
+ * The number of images which can be loaded ahead of the handler is bounded by {@link #maxPrefetch} so that memory
+ * usage does not grow with the number of images.
+ * </p>
+ *
+ * @param <W> Type of per-thread worker
+ * @param <R> Results found by processing an image
+ * @author Peter Abeles
+ */
+public class ParallelBatchImages<W, R> implements VerbosePrint {
+	/** Number of threads used to load and process images */
+	@Getter @Setter int numThreads = Runtime.getRuntime().availableProcessors();
+
+	/** Maximum number of images which have been submitted but not yet passed to the handler */
+	@Getter @Setter int maxPrefetch = 2*Runtime.getRuntime().availableProcessors();
+
+	/** How often throughput is printed to verbose, in number of images */
+	@Getter @Setter int reportPeriod = 50;
+
+	/** Number of images which have been passed to the handler in the last call to process */
+	@Getter int totalImages;
+
+	/** How long it took to process all the images, in seconds */
+	@Getter double elapsedSeconds;
+
+	// Creates a new worker for each thread
+	final BoofLambdas.Factory<W> factoryWorker;
+	// Processes an image using a worker
+	final Processor<W, R> processor;
+
+	@Nullable PrintStream verbose;
+
+	/**
+	 * @param factoryWorker Creates a new worker. Called once for each thread.
+	 * @param processor Processes an image using a worker.
+	 */
+	public ParallelBatchImages( BoofLambdas.Factory<W> factoryWorker, Processor<W, R> processor ) {
+		this.factoryWorker = factoryWorker;
+		this.processor = processor;
+	}
+
+	/**
+	 * Loads and processes all the files. Blocks until all the results have been passed to the handler.
+	 *
+	 * @param files (Input) Images which are to be processed
+	 * @param handler Processes the results. Called in the same thread and order as the input files.
+	 */
+	public void process( List<File> files, Handler<R> handler ) {
+		if (numThreads <= 0 || maxPrefetch <= 0)
+			throw new IllegalArgumentException("numThreads and maxPrefetch must be more than zero");
+
+		totalImages = 0;
+		long time0 = System.nanoTime();
+
+		// Each thread gets its own worker the first time it processes an image
+		var threadWorker = ThreadLocal.withInitial(factoryWorker::newInstance);
+		var threadCount = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads, r -> {
+			var thread = new Thread(r, "BatchImages" + threadCount.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		try {
+			var pending = new ArrayDeque<Future<Loaded<R>>>();
+			int nextFile = 0;
+			while (nextFile < files.size() || !pending.isEmpty()) {
+				// Keep the threads busy up to the prefetch limit
+				while (nextFile < files.size() && pending.size() < maxPrefetch) {
+					File file = files.get(nextFile++);
+					pending.add(pool.submit(() -> loadAndProcess(threadWorker.get(), file)));
+				}
+
+				// Handle the oldest image so that the output order matches the input
+				Loaded<R> loaded = waitFor(pending.remove());
+				handler.handle(loaded.file, loaded.image, loaded.results);
+				totalImages++;
+
+				if (verbose != null && totalImages%reportPeriod == 0) {
+					double seconds = (System.nanoTime() - time0)*1e-9;
+					verbose.printf("processed %d images, %.1f images/second\n", totalImages, totalImages/seconds);
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		elapsedSeconds = (System.nanoTime() - time0)*1e-9;
+		if (verbose != null)
+			verbose.printf("Done. images=%d, %.1f images/second\n", totalImages, getImagesPerSecond());
+	}
+
+	/**
+	 * Number of images processed per second in the last call to process
+	 */
+	public double getImagesPerSecond() {
+		return elapsedSeconds == 0.0 ? 0.0 : totalImages/elapsedSeconds;
+	}
+
+	private Loaded<R> loadAndProcess( W worker, File file ) {
+		var loaded = new Loaded<R>(file);
+		loaded.image = UtilImageIO.loadImage(file.getAbsolutePath());
+		if (loaded.image != null)
+			loaded.results = processor.process(worker, file, loaded.image);
+		return loaded;
+	}
+
+	private static <T> T waitFor( Future<T> future ) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException)e.getCause();
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	@Override public void setVerbose( @Nullable PrintStream out, @Nullable Set<String> configuration ) {
+		this.verbose = out;
+	}
+
+	/**
+	 * Processes a single image using a worker which is owned by the calling thread
+	 */
+	@FunctionalInterface
+	public interface Processor<W, R> {
+		/**
+		 * @param worker Worker which belongs to the calling thread
+		 * @param file The file the image was loaded from
+		 * @param image The loaded image
+		 * @return Results. Must not reference data owned by the worker since it will be reused.
+		 */
+		@Nullable R process( W worker, File file, BufferedImage image );
+	}
+
+	/**
+	 * Receives the results for each image in the calling thread
+	 */
+	@FunctionalInterface
+	public interface Handler<R> {
+		/**
+		 * @param file The image's file
+		 * @param image The loaded image or null if it couldn't be loaded
+		 * @param results Results from processing the image. null if it couldn't be loaded or the processor
+		 * returned null
+		 */
+		void handle( File file, @Nullable BufferedImage image, @Nullable R results );
+	}
+
+	/** An image which has been loaded and processed */
+	private static class Loaded<R> {
+		final File file;
+		@Nullable BufferedImage image;
+		@Nullable R results;
+
+		Loaded( File file ) {
+			this.file = file;
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.app.batch;
+
+import boofcv.io.image.UtilImageIO;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestParallelBatchImages extends BoofStandardJUnit {
+	File directory;
+	List<File> files = new ArrayList<>();
+
+	@BeforeEach void createImages() throws IOException {
+		directory = Files.createTempDirectory("batch").toFile();
+		// Each image has a unique width so that the order can be checked
+		for (int i = 0; i < 20; i++) {
+			var file = new File(directory, String.format("image%02d.png", i));
+			UtilImageIO.saveImage(new BufferedImage(10 + i, 8, BufferedImage.TYPE_INT_RGB), file.getPath());
+			files.add(file);
+		}
+	}
+
+	@AfterEach void deleteImages() {
+		for (File f : Objects.requireNonNull(directory.listFiles())) {
+			assertTrue(f.delete());
+		}
+		assertTrue(directory.delete());
+	}
+
+	/**
+	 * Results should be in the same order as the input, even though they are processed by several threads
+	 */
+	@Test void preservesOrder() {
+		var workers = new ArrayList<Worker>();
+		var alg = new ParallelBatchImages<Worker, Integer>(() -> {
+			var w = new Worker();
+			synchronized (workers) {
+				workers.add(w);
+			}
+			return w;
+		}, ( worker, file, image ) -> {
+			worker.count++;
+			return image.getWidth();
+		});
+		alg.setNumThreads(3);
+		alg.setMaxPrefetch(4);
+
+		var found = new ArrayList<Integer>();
+		alg.process(files, ( file, image, results ) -> {
+			assertNotNull(image);
+			assertEquals(files.get(found.size()), file);
+			found.add(results);
+		});
+
+		assertEquals(files.size(), found.size());
+		for (int i = 0; i < found.size(); i++) {
+			assertEquals(10 + i, found.get(i));
+		}
+		assertEquals(files.size(), alg.getTotalImages());
+		assertTrue(alg.getImagesPerSecond() > 0);
+
+		// One worker for each thread and all the images should have been processed by them
+		assertTrue(workers.size() <= 3);
+		assertEquals(files.size(), workers.stream().mapToInt(w -> w.count).sum());
+	}
+
+	/**
+	 * A file which isn't an image should be passed to the handler with a null image
+	 */
+	@Test void notAnImage() throws IOException {
+		var bad = new File(directory, "bad.txt");
+		Files.write(bad.toPath(), "not an image".getBytes());
+		files.add(1, bad);
+
+		var alg = new ParallelBatchImages<Worker, Integer>(Worker::new, ( worker, file, image ) -> image.getWidth());
+		var found = new ArrayList<File>();
+		alg.process(files, ( file, image, results ) -> {
+			if (file.equals(bad)) {
+				assertNull(image);
+				assertNull(results);
+			} else {
+				assertNotNull(results);
+			}
+			found.add(file);
+		});
+		assertEquals(files, found);
+	}
+
+	/**
+	 * Exceptions thrown while processing should be passed to the caller
+	 */
+	@Test void exception() {
+		var alg = new ParallelBatchImages<Worker, Integer>(Worker::new, ( worker, file, image ) -> {
+			throw new IllegalStateException("Test");
+		});
+		assertThrows(IllegalStateException.class, () -> alg.process(files, ( file, image, results ) -> {}));
+	}
+
+	static class Worker {
+		int count;
+	}
+}
@@ -368,6 +368,8 @@ public class AutocodeConcurrentApp {
 				"main/boofcv-feature/src/main/java/boofcv/alg/feature/detect/edge/impl",
 				"main/boofcv-feature/src/main/java/boofcv/alg/feature/detect/intensity/impl",
 				"main/boofcv-feature/src/main/java/boofcv/alg/feature/associate",
+				"main/boofcv-feature/src/main/java/boofcv/alg/background/stationary",
+				"main/boofcv-feature/src/main/java/boofcv/alg/background/moving",
 				"main/boofcv-io/src/main/java/boofcv/io/image/impl",
 		};
 
@@ -0,0 +1,469 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv;
+
+import boofcv.generate.CodeGeneratorBase;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Generates JMH benchmarks which compare every concurrent (_MT) implementation in boofcv-ip against its single
+ * thread twin. Must be run after {@link AutocodeConcurrentApp} since it parses the _MT files that it creates.
+ * Public static functions are benchmarked if every argument is an image, a primitive, a primitive array, a
+ * {@link Random}, or is marked as nullable. Primitives are assigned a fixed value which is selected using the
+ * argument's name, e.g. a radius is 2 and a width is half the image size. Primitive arrays are the data array
+ * inside an image, e.g. ImplPixelMath. Nullable arguments are always null. Functions with any other type of
+ * argument are skipped.
+ *
+ * Classes which are not generated from a single thread twin, e.g. ThresholdBlock_MT, have their benchmarks
+ * written by hand using the same naming convention.
+ *
+ * For each op there will be two benchmarks, one with the suffix "_single" and the other with "_MT". Each is
+ * run across several image sizes. BenchmarkConcurrentSpeedupApp in boofcv-ip's benchmark source set will run
+ * them and summarize the speedup for each operation and image size.
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings("NullAway")
+public class AutocodeConcurrentBenchmarkApp {
+	private static final String tab = "\t";
+
+	/** Image widths and heights that are benchmarked */
+	public static String[] sizes = new String[]{"50", "100", "200", "500", "1000", "2000"};
+
+	/** Pattern for a public static function which doesn't use generics. The return value is ignored. */
+	private static final Pattern patternFunction =
+			Pattern.compile("public\\s+static\\s+\\w+(?:\\[])*\\s+(\\w+)\\s*\\(([^)]*)\\)", Pattern.DOTALL);
+
+	/** Image types which are supported and the concrete type used to create them */
+	private static final Map<String, String> imageTypes = new HashMap<>();
+
+	/** Primitive types which are supported */
+	private static final Set<String> primitiveTypes = new HashSet<>(Arrays.asList(
+			"byte", "short", "int", "long", "float", "double", "boolean"));
+
+	/** Primitive array types which are supported and the image which provides the array */
+	private static final Map<String, String> arrayTypes = new HashMap<>();
+
+	static {
+		for (String type : new String[]{"U8", "S8", "U16", "S16", "S32", "S64", "F32", "F64"}) {
+			imageTypes.put("Gray" + type, "Gray" + type);
+			imageTypes.put("Interleaved" + type, "Interleaved" + type);
+		}
+		// Abstract types which can't be created directly
+		imageTypes.put("GrayI8", "GrayU8");
+		imageTypes.put("GrayI16", "GrayS16");
+		imageTypes.put("InterleavedI8", "InterleavedU8");
+		imageTypes.put("InterleavedI16", "InterleavedS16");
+
+		arrayTypes.put("byte[]", "GrayU8");
+		arrayTypes.put("short[]", "GrayS16");
+		arrayTypes.put("int[]", "GrayS32");
+		arrayTypes.put("long[]", "GrayS64");
+		arrayTypes.put("float[]", "GrayF32");
+		arrayTypes.put("double[]", "GrayF64");
+	}
+
+	/**
+	 * Creates a benchmark for the concurrent file, if any functions can be benchmarked
+	 *
+	 * @param fileMT The _MT file
+	 * @param outputDir Root directory of the benchmark source set
+	 * @return true if a benchmark was created
+	 */
+	public static boolean generate( File fileMT, File outputDir ) throws IOException {
+		String nameMT = className(fileMT);
+		String nameSingle = nameMT.substring(0, nameMT.length() - 3);
+		File fileSingle = new File(fileMT.getParentFile(), nameSingle + ".java");
+		if (!fileSingle.exists())
+			return false;
+
+		String textMT = AutocodeConcurrentApp.readFileToString(fileMT, UTF_8);
+		String textSingle = AutocodeConcurrentApp.readFileToString(fileSingle, UTF_8);
+
+		// Only benchmark functions which exist in both
+		List<Function> functions = parseFunctions(textMT);
+		Set<String> signaturesSingle = new HashSet<>();
+		for (Function f : parseFunctions(textSingle)) {
+			signaturesSingle.add(f.signature());
+		}
+		functions.removeIf(f -> !signaturesSingle.contains(f.signature()));
+		if (functions.isEmpty())
+			return false;
+
+		String packageName = parsePackage(textMT);
+		File outputFile = new File(outputDir, packageName.replace('.', '/') + "/Benchmark" + nameMT + ".java");
+		if (!outputFile.getParentFile().exists() && !outputFile.getParentFile().mkdirs())
+			throw new IOException("Failed to create " + outputFile.getParentFile().getPath());
+
+		System.out.println("Creating " + outputFile.getPath());
+		try (PrintStream out = new PrintStream(outputFile, "UTF-8")) {
+			printBenchmark(out, packageName, nameSingle, nameMT, functions);
+		}
+		return true;
+	}
+
+	private static void printBenchmark( PrintStream out, String packageName,
+										String nameSingle, String nameMT, List<Function> functions ) {
+		// Number of images of each type that are needed
+		Map<String, Integer> imageCounts = new TreeMap<>();
+		for (Function f : functions) {
+			Map<String, Integer> local = new HashMap<>();
+			for (Argument a : f.arguments) {
+				if (a.image == null)
+					continue;
+				local.put(a.image, local.getOrDefault(a.image, 0) + 1);
+			}
+			for (Map.Entry<String, Integer> e : local.entrySet()) {
+				imageCounts.put(e.getKey(), Math.max(e.getValue(), imageCounts.getOrDefault(e.getKey(), 0)));
+			}
+		}
+
+		out.print(CodeGeneratorBase.copyright);
+		out.println();
+		out.println("package " + packageName + ";");
+		out.println();
+		out.println("import boofcv.alg.misc.GImageMiscOps;");
+		out.println("import boofcv.struct.image.*;");
+		out.println("import org.openjdk.jmh.annotations.*;");
+		out.println("import org.openjdk.jmh.runner.Runner;");
+		out.println("import org.openjdk.jmh.runner.RunnerException;");
+		out.println("import org.openjdk.jmh.runner.options.Options;");
+		out.println("import org.openjdk.jmh.runner.options.OptionsBuilder;");
+		out.println();
+		out.println("import javax.annotation.Generated;");
+		out.println("import java.util.Random;");
+		out.println("import java.util.concurrent.TimeUnit;");
+		out.println();
+		out.println("/**");
+		out.println(" * Compares the throughput of {@link " + nameMT + "} against {@link " + nameSingle + "}");
+		out.println(" *");
+		out.println(" * <p>DO NOT MODIFY. Automatically generated code created by " +
+				AutocodeConcurrentBenchmarkApp.class.getSimpleName() + "</p>");
+		out.println(" *");
+		out.println(" * @author Peter Abeles");
+		out.println(" */");
+		out.println("@Generated(\"" + AutocodeConcurrentBenchmarkApp.class.getName() + "\")");
+		out.println("@BenchmarkMode(Mode.Throughput)");
+		out.println("@OutputTimeUnit(TimeUnit.SECONDS)");
+		out.println("@Warmup(iterations = 2)");
+		out.println("@Measurement(iterations = 3)");
+		out.println("@State(Scope.Benchmark)");
+		out.println("@Fork(value = 1)");
+		out.println("public class Benchmark" + nameMT + " {");
+		out.println(tab + "@Param({\"" + String.join("\", \"", sizes) + "\"})");
+		out.println(tab + "public int size;");
+		out.println();
+		for (Map.Entry<String, Integer> e : imageCounts.entrySet()) {
+			// Interleaved images are given 3 bands
+			String bands = e.getKey().startsWith("Interleaved") ? ", 3" : "";
+			for (int i = 0; i < e.getValue(); i++) {
+				out.println(tab + e.getKey() + " " + variableName(e.getKey(), i) +
+						" = new " + e.getKey() + "(1, 1" + bands + ");");
+			}
+		}
+		out.println(tab + "Random rand = new Random(234);");
+		out.println();
+		out.println(tab + "@Setup public void setup() {");
+		for (Map.Entry<String, Integer> e : imageCounts.entrySet()) {
+			for (int i = 0; i < e.getValue(); i++) {
+				String var = variableName(e.getKey(), i);
+				out.println(tab + tab + var + ".reshape(size, size);");
+				// Avoid zero since it will cause a divide by zero exception with integer images
+				out.println(tab + tab + "GImageMiscOps.fillUniform(" + var + ", rand, 1, 100);");
+			}
+		}
+		out.println(tab + "}");
+
+		Set<String> used = new HashSet<>();
+		for (Function f : functions) {
+			String arguments = f.argumentValues();
+			String name = f.benchmarkName();
+			// Handle the unlikely situation of a name collision
+			for (int i = 2; used.contains(name); i++) {
+				name = f.benchmarkName() + i;
+			}
+			used.add(name);
+
+			out.println();
+			out.println(tab + "@Benchmark public void " + name + "_single() {" +
+					nameSingle + "." + f.name + "(" + arguments + ");}");
+			out.println(tab + "@Benchmark public void " + name + "_MT() {" +
+					nameMT + "." + f.name + "(" + arguments + ");}");
+		}
+
+		out.println();
+		out.println(tab + "public static void main( String[] args ) throws RunnerException {");
+		out.println(tab + tab + "Options opt = new OptionsBuilder()");
+		out.println(tab + tab + tab + tab + ".include(Benchmark" + nameMT + ".class.getSimpleName())");
+		out.println(tab + tab + tab + tab + ".build();");
+		out.println();
+		out.println(tab + tab + "new Runner(opt).run();");
+		out.println(tab + "}");
+		out.println("}");
+	}
+
+	/**
+	 * Finds all the functions which can be benchmarked
+	 */
+	static List<Function> parseFunctions( String text ) {
+		List<Function> found = new ArrayList<>();
+		Matcher m = patternFunction.matcher(text);
+		escape:
+		while (m.find()) {
+			String arguments = m.group(2).trim();
+			if (arguments.isEmpty())
+				continue;
+			Function f = new Function();
+			f.name = m.group(1);
+			boolean hasImage = false;
+			for (String a : splitArguments(arguments)) {
+				Argument arg = parseArgument(a);
+				if (arg == null)
+					continue escape;
+				hasImage |= arg.image != null;
+				f.arguments.add(arg);
+			}
+			// Without an image there's nothing to scale with the image size
+			if (hasImage)
+				found.add(f);
+		}
+		return found;
+	}
+
+	/**
+	 * Splits the arguments at commas which are not inside of generics
+	 */
+	static List<String> splitArguments( String arguments ) {
+		List<String> found = new ArrayList<>();
+		int depth = 0;
+		int start = 0;
+		for (int i = 0; i < arguments.length(); i++) {
+			char c = arguments.charAt(i);
+			if (c == '<')
+				depth++;
+			else if (c == '>')
+				depth--;
+			else if (c == ',' && depth == 0) {
+				found.add(arguments.substring(start, i));
+				start = i + 1;
+			}
+		}
+		found.add(arguments.substring(start));
+		return found;
+	}
+
+	/**
+	 * Parses the argument and selects the value it will be assigned
+	 *
+	 * @return The argument or null if it's not supported
+	 */
+	static @Nullable Argument parseArgument( String text ) {
+		boolean nullable = text.contains("@Nullable");
+		String[] words = text.replaceAll("@\\w+", "").replace("final ", "").trim().split("\\s+");
+		if (words.length < 2)
+			return null;
+
+		var arg = new Argument();
+		arg.name = words[words.length - 1];
+		arg.type = String.join(" ", Arrays.copyOf(words, words.length - 1));
+
+		if (imageTypes.containsKey(arg.type)) {
+			arg.image = imageTypes.get(arg.type);
+		} else if (arrayTypes.containsKey(arg.type)) {
+			arg.image = arrayTypes.get(arg.type);
+			arg.array = true;
+		} else if (nullable) {
+			arg.value = "null";
+		} else if (arg.type.equals("Random")) {
+			arg.value = "rand";
+		} else if (primitiveTypes.contains(arg.type)) {
+			arg.value = primitiveValue(arg.type, arg.name);
+		} else {
+			return null;
+		}
+		return arg;
+	}
+
+	/**
+	 * Selects a value for a primitive argument using its name. Values are selected so that they are valid for
+	 * every image size being benchmarked and integer images won't be divided by zero.
+	 */
+	static String primitiveValue( String type, String name ) {
+		if (type.equals("boolean"))
+			return "false";
+
+		String lower = name.toLowerCase(Locale.ENGLISH);
+		String value;
+		if (lower.contains("radius"))
+			value = "2";
+		else if (lower.contains("stride") || lower.equals("rows") || lower.equals("cols"))
+			value = "size";
+		else if (lower.contains("start"))
+			value = "0";
+		else if (lower.contains("width") || lower.contains("height") || lower.contains("length"))
+			value = "size/2";
+		else if (lower.contains("min") || lower.contains("lower"))
+			value = "1";
+		else if (lower.contains("max") || lower.contains("upper"))
+			value = "100";
+		else if (lower.matches(".*[xy]0?") || lower.contains("offset") || lower.contains("band"))
+			value = "0";
+		else
+			value = "2";
+
+		if (type.equals("byte") || type.equals("short"))
+			return "(" + type + ")(" + value + ")";
+		return value;
+	}
+
+	static String parsePackage( String text ) {
+		Matcher m = Pattern.compile("package\\s+([\\w.]+)\\s*;").matcher(text);
+		if (!m.find())
+			throw new IllegalArgumentException("No package found");
+		return m.group(1);
+	}
+
+	static String variableName( String type, int index ) {
+		return "image" + shortName(type) + "_" + index;
+	}
+
+	/**
+	 * Abbreviated name of an image type, e.g. GrayU8 = U8 and InterleavedU8 = IL_U8
+	 */
+	static String shortName( String type ) {
+		if (type.startsWith("Interleaved"))
+			return "IL_" + type.substring("Interleaved".length());
+		return type.substring("Gray".length());
+	}
+
+	private static String className( File file ) {
+		String n = file.getName();
+		return n.substring(0, n.length() - 5);
+	}
+
+	/**
+	 * Description of a function that's being benchmarked
+	 */
+	static class Function {
+		String name;
+		List<Argument> arguments = new ArrayList<>();
+
+		/** Function name and argument types. Used to see if the single thread variant has the same function */
+		public String signature() {
+			List<String> types = new ArrayList<>();
+			for (Argument a : arguments) {
+				types.add(a.type);
+			}
+			return name + "(" + String.join(",", types) + ")";
+		}
+
+		/** Unique name for the benchmark that includes the image types to handle overloaded functions */
+		public String benchmarkName() {
+			StringBuilder name = new StringBuilder(this.name);
+			for (Argument a : arguments) {
+				if (a.image != null)
+					name.append('_').append(shortName(a.array ? a.image : a.type));
+			}
+			return name.toString();
+		}
+
+		/** Values passed to the function. Each image gets its own instance. */
+		public String argumentValues() {
+			Map<String, Integer> counts = new HashMap<>();
+			List<String> values = new ArrayList<>();
+			for (Argument a : arguments) {
+				if (a.image == null) {
+					values.add(a.value);
+					continue;
+				}
+				int index = counts.getOrDefault(a.image, 0);
+				counts.put(a.image, index + 1);
+				values.add(variableName(a.image, index) + (a.array ? ".data" : ""));
+			}
+			return String.join(", ", values);
+		}
+	}
+
+	/**
+	 * Description of a function's argument
+	 */
+	static class Argument {
+		/** Type as declared in the function */
+		String type;
+		String name;
+		/** Concrete image type used to create the image. null if it's not an image */
+		@Nullable String image;
+		/** If true then the argument is the image's data array */
+		boolean array;
+		/** Value passed in if it's not an image */
+		String value;
+	}
+
+	public static void convertDir( File directory, File outputDir ) throws IOException {
+		if (!directory.isDirectory())
+			throw new IllegalArgumentException("Must be a directory: '" + directory.getPath() + "'");
+		File[] files = directory.listFiles();
+		if (files == null)
+			throw new IllegalArgumentException("No files");
+		Arrays.sort(files);
+		for (File f : files) {
+			if (!f.getName().endsWith("_MT.java"))
+				continue;
+			generate(f, outputDir);
+		}
+	}
+
+	public static void main( String[] args ) throws IOException {
+		// All the directories in boofcv-ip which AutocodeConcurrentApp creates _MT classes in
+		String[] directories = new String[]{
+				"main/boofcv-ip/src/main/java/boofcv/alg/filter/derivative/impl/",
+				"main/boofcv-ip/src/main/java/boofcv/alg/filter/blur/impl/",
+				"main/boofcv-ip/src/main/java/boofcv/alg/filter/convolve/noborder/",
+				"main/boofcv-ip/src/main/java/boofcv/alg/filter/binary/impl",
+				"main/boofcv-ip/src/main/java/boofcv/alg/filter/binary",
+				"main/boofcv-ip/src/main/java/boofcv/alg/filter/misc/impl/",
+				"main/boofcv-ip/src/main/java/boofcv/alg/misc/impl/",
+				"main/boofcv-ip/src/main/java/boofcv/alg/color/impl",
+				"main/boofcv-ip/src/main/java/boofcv/alg/enhance/impl/",
+				"main/boofcv-ip/src/main/java/boofcv/core/image/impl/",
+				"main/boofcv-ip/src/main/java/boofcv/core/encoding/impl",
+				"main/boofcv-ip/src/main/java/boofcv/alg/transform/ii/impl/",
+				"main/boofcv-ip/src/main/java/boofcv/alg/transform/pyramid/impl/",
+				"main/boofcv-ip/src/main/java/boofcv/alg/transform/census/impl/",
+		};
+
+		File rootDir = AutocodeMasterApp.findPathToProjectRoot();
+		File outputDir = new File(rootDir, "main/boofcv-ip/src/benchmark/java");
+		System.out.println("Autocode Concurrent Benchmark: root=" + rootDir.getAbsolutePath());
+
+		for (String f : directories) {
+			System.out.println("directory " + f);
+			convertDir(new File(rootDir, f), outputDir);
+		}
+	}
+}
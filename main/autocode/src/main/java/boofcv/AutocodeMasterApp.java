@@ -45,5 +45,6 @@ public class AutocodeMasterApp {
 	public static void main( String[] args ) throws IOException {
 		Autocode64to32App.main(new String[0]);
 		AutocodeConcurrentApp.main(new String[0]);
+		AutocodeConcurrentBenchmarkApp.main(new String[0]);
 	}
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.flow;
+
+import boofcv.abst.flow.DenseOpticalFlow;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.tracker.klt.ConfigPKlt;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.flow.ConfigHornSchunckPyramid;
+import boofcv.factory.flow.ConfigOpticalFlowBlockPyramid;
+import boofcv.factory.flow.FactoryDenseOpticalFlow;
+import boofcv.struct.flow.ImageFlow;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.pyramid.ConfigDiscreteLevels;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks dense optical flow algorithms with different number of pyramid layers
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkDenseOpticalFlow {
+	@Param({"true", "false"})
+	public boolean concurrent;
+
+	@Param({"1", "3", "6"})
+	public int layers;
+
+	@Param({"320"})
+	public int size;
+
+	GrayF32 image1 = new GrayF32(1, 1);
+	GrayF32 image2 = new GrayF32(1, 1);
+	ImageFlow flow = new ImageFlow(1, 1);
+
+	DenseOpticalFlow<GrayF32> hornSchunck;
+	DenseOpticalFlow<GrayF32> brox;
+	DenseOpticalFlow<GrayF32> region;
+	DenseOpticalFlow<GrayF32> klt;
+
+	@Setup public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+
+		// Second image is the first image shifted by a couple of pixels
+		var rand = new Random(234);
+		image1.reshape(size, size*3/4);
+		image2.reshape(image1.width, image1.height);
+		flow.reshape(image1.width, image1.height);
+		ImageMiscOps.fillUniform(image1, rand, 0, 200);
+		ImageMiscOps.fillUniform(image2, rand, 0, 200);
+		for (int y = 1; y < image1.height; y++) {
+			for (int x = 2; x < image1.width; x++) {
+				image2.unsafe_set(x, y, image1.unsafe_get(x - 2, y - 1));
+			}
+		}
+
+		var configHorn = new ConfigHornSchunckPyramid();
+		configHorn.pyrMaxLayers = layers;
+		configHorn.concurrent = concurrent;
+		hornSchunck = FactoryDenseOpticalFlow.hornSchunckPyramid(configHorn, GrayF32.class);
+
+		var configBrox = new ConfigBroxWarping();
+		configBrox.pyrMaxLayers = layers;
+		configBrox.concurrent = concurrent;
+		brox = FactoryDenseOpticalFlow.broxWarping(configBrox, GrayF32.class);
+
+		var configRegion = new ConfigOpticalFlowBlockPyramid();
+		configRegion.maxPyramidLayers = layers;
+		configRegion.concurrent = concurrent;
+		region = FactoryDenseOpticalFlow.region(configRegion, GrayF32.class);
+
+		var configKlt = new ConfigPKlt();
+		configKlt.pyramidLevels = ConfigDiscreteLevels.levels(layers);
+		klt = FactoryDenseOpticalFlow.flowKlt(configKlt, 3, concurrent, GrayF32.class, GrayF32.class);
+	}
+
+	// @formatter:off
+	@Benchmark public void HornSchunckPyramid() {hornSchunck.process(image1, image2, flow);}
+	@Benchmark public void BroxWarping() {brox.process(image1, image2, flow);}
+	@Benchmark public void BlockPyramid() {region.process(image1, image2, flow);}
+	@Benchmark public void KLT() {klt.process(image1, image2, flow);}
+	// @formatter:on
+
+	public static void main( String[] args ) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(BenchmarkDenseOpticalFlow.class.getSimpleName())
+				.warmupTime(TimeValue.seconds(1))
+				.measurementTime(TimeValue.seconds(1))
+				.build();
+
+		new Runner(opt).run();
+	}
+}
@@ -19,9 +19,7 @@
 package boofcv.abst.feature.associate;
 
 import boofcv.alg.descriptor.DescriptorDistance;
-import boofcv.struct.feature.MatchScoreType;
-import boofcv.struct.feature.TupleDesc_F32;
-import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.feature.*;
 
 /**
  * Scores based on Euclidean distance squared
@@ -30,15 +28,31 @@ import boofcv.struct.feature.TupleDesc_F64;
  *
  * @author Peter Abeles
  */
-public interface ScoreAssociateEuclideanSq<Desc> extends ScoreAssociation<Desc> {
+public interface ScoreAssociateEuclideanSq<Desc> extends ScoreAssociationPacked<Desc> {
 
 	class F32 implements ScoreAssociateEuclideanSq<TupleDesc_F32> {
 		@Override public double score(TupleDesc_F32 a, TupleDesc_F32 b) { return DescriptorDistance.euclideanSq(a, b); }
 		@Override public MatchScoreType getScoreType()                  { return MatchScoreType.NORM_ERROR; }
+
+		@Override public double score( PackedTupleArray<TupleDesc_F32> a, int indexA,
+									 PackedTupleArray<TupleDesc_F32> b, int indexB ) {
+			var pa = (PackedTupleArray_F32)a;
+			var pb = (PackedTupleArray_F32)b;
+			int dof = pa.getDOF();
+			return DescriptorDistance.euclideanSq(pa.data.data, indexA*dof, pb.data.data, indexB*dof, dof);
+		}
 	}
 
 	class F64 implements ScoreAssociateEuclideanSq<TupleDesc_F64> {
 		@Override public double score(TupleDesc_F64 a, TupleDesc_F64 b) { return DescriptorDistance.euclideanSq(a, b); }
 		@Override public MatchScoreType getScoreType()                  { return MatchScoreType.NORM_ERROR; }
+
+		@Override public double score( PackedTupleArray<TupleDesc_F64> a, int indexA,
+									 PackedTupleArray<TupleDesc_F64> b, int indexB ) {
+			var pa = (PackedTupleArray_F64)a;
+			var pb = (PackedTupleArray_F64)b;
+			int dof = pa.getDOF();
+			return DescriptorDistance.euclideanSq(pa.data.data, indexA*dof, pb.data.data, indexB*dof, dof);
+		}
 	}
 }
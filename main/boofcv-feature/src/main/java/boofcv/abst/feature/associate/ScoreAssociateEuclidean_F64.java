@@ -20,6 +20,8 @@ package boofcv.abst.feature.associate;
 
 import boofcv.alg.descriptor.DescriptorDistance;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
 
 
@@ -30,12 +32,21 @@ import boofcv.struct.feature.TupleDesc_F64;
  *
  * @author Peter Abeles
  */
-public class ScoreAssociateEuclidean_F64 implements ScoreAssociation<TupleDesc_F64> {
+public class ScoreAssociateEuclidean_F64 implements ScoreAssociationPacked<TupleDesc_F64> {
 	@Override
 	public double score(TupleDesc_F64 a, TupleDesc_F64 b) {
 		return DescriptorDistance.euclidean(a,b);
 	}
 
+	@Override
+	public double score( PackedTupleArray<TupleDesc_F64> a, int indexA,
+								 PackedTupleArray<TupleDesc_F64> b, int indexB ) {
+		var pa = (PackedTupleArray_F64)a;
+		var pb = (PackedTupleArray_F64)b;
+		int dof = pa.getDOF();
+		return Math.sqrt(DescriptorDistance.euclideanSq(pa.data.data, indexA*dof, pb.data.data, indexB*dof, dof));
+	}
+
 	@Override
 	public MatchScoreType getScoreType() {
 		return MatchScoreType.NORM_ERROR;
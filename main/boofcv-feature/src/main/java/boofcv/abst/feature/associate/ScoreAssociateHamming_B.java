@@ -20,6 +20,8 @@ package boofcv.abst.feature.associate;
 
 import boofcv.alg.descriptor.DescriptorDistance;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
+import boofcv.struct.feature.PackedTupleArray_B;
 import boofcv.struct.feature.TupleDesc_B;
 
 /**
@@ -28,13 +30,22 @@ import boofcv.struct.feature.TupleDesc_B;
  *
  * @author Peter Abeles
  */
-public class ScoreAssociateHamming_B implements ScoreAssociation<TupleDesc_B>{
+public class ScoreAssociateHamming_B implements ScoreAssociationPacked<TupleDesc_B>{
 
 	@Override
 	public double score(TupleDesc_B a, TupleDesc_B b) {
 		return DescriptorDistance.hamming(a,b);
 	}
 
+	@Override
+	public double score( PackedTupleArray<TupleDesc_B> a, int indexA,
+								 PackedTupleArray<TupleDesc_B> b, int indexB ) {
+		var pa = (PackedTupleArray_B)a;
+		var pb = (PackedTupleArray_B)b;
+		int numInts = pa.getNumInts();
+		return DescriptorDistance.hamming(pa.data.data, indexA*numInts, pb.data.data, indexB*numInts, numInts);
+	}
+
 	@Override
 	public MatchScoreType getScoreType() {
 		return MatchScoreType.NORM_ERROR;
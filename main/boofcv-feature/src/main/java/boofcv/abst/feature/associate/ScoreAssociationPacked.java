@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+import boofcv.struct.feature.PackedTupleArray;
+
+/**
+ * {@link ScoreAssociation} which can also score descriptors that are stored inside of a {@link PackedTupleArray}
+ * without first copying them into a descriptor object. Implementations must be thread safe.
+ *
+ * @param <Desc> Feature description type.
+ * @author Peter Abeles
+ */
+public interface ScoreAssociationPacked<Desc> extends ScoreAssociation<Desc> {
+	/**
+	 * Compute the fit score between two features stored in packed arrays. A better fit score will have a lower value.
+	 *
+	 * @param a Array containing the first feature
+	 * @param indexA Index of the first feature
+	 * @param b Array containing the second feature
+	 * @param indexB Index of the second feature
+	 * @return Quality of fit score. Lower is better.
+	 */
+	double score( PackedTupleArray<Desc> a, int indexA, PackedTupleArray<Desc> b, int indexB );
+}
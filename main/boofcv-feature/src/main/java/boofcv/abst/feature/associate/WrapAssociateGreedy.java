@@ -23,10 +23,12 @@ import boofcv.alg.feature.associate.AssociateGreedyDescBase;
 import boofcv.alg.feature.associate.FindUnassociated;
 import boofcv.struct.feature.AssociatedIndex;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray;
 import org.ddogleg.struct.DogArray;
 import org.ddogleg.struct.DogArray_F64;
 import org.ddogleg.struct.DogArray_I32;
 import org.ddogleg.struct.FastAccess;
+import org.jetbrains.annotations.Nullable;
 
 
 /**
@@ -40,9 +42,14 @@ public class WrapAssociateGreedy<T> implements AssociateDescription<T> {
 
 	DogArray<AssociatedIndex> matches = new DogArray<>(10, AssociatedIndex::new);
 
-	// reference to input list
+	// reference to input list. Only one of the list and packed inputs is set for each side
 	FastAccess<T> listSrc;
 	FastAccess<T> listDst;
+	// reference to packed input
+	@Nullable PackedTupleArray<T> packedSrc;
+	@Nullable PackedTupleArray<T> packedDst;
+	// number of destination features in the most recent call to associate
+	int sizeDst;
 
 	// indexes of unassociated features
 	DogArray_I32 unassocSrc = new DogArray_I32();
@@ -60,11 +67,31 @@ public class WrapAssociateGreedy<T> implements AssociateDescription<T> {
 	@Override
 	public void setSource(FastAccess<T> listSrc) {
 		this.listSrc = listSrc;
+		this.packedSrc = null;
 	}
 
 	@Override
 	public void setDestination(FastAccess<T> listDst) {
 		this.listDst = listDst;
+		this.packedDst = null;
+	}
+
+	/**
+	 * Specifies the source descriptors using a packed array, which avoids accessing individual descriptor objects.
+	 * The score function must implement {@link ScoreAssociationPacked}.
+	 */
+	public void setSource( PackedTupleArray<T> packedSrc ) {
+		this.packedSrc = packedSrc;
+		this.listSrc = null;
+	}
+
+	/**
+	 * Specifies the destination descriptors using a packed array, which avoids accessing individual descriptor
+	 * objects. The score function must implement {@link ScoreAssociationPacked}.
+	 */
+	public void setDestination( PackedTupleArray<T> packedDst ) {
+		this.packedDst = packedDst;
+		this.listDst = null;
 	}
 
 	@Override
@@ -74,19 +101,26 @@ public class WrapAssociateGreedy<T> implements AssociateDescription<T> {
 
 	@Override
 	public void associate() {
-		if( listSrc == null )
-			throw new IllegalArgumentException("source features not specified");
-		if( listDst == null )
-			throw new IllegalArgumentException("destination features not specified");
-
 		unassocSrc.reset();
-		alg.associate(listSrc,listDst);
+		if (packedSrc != null || packedDst != null) {
+			if (packedSrc == null || packedDst == null)
+				throw new IllegalArgumentException("Source and destination descriptors must both be packed");
+			alg.associate(packedSrc, packedDst);
+			sizeDst = packedDst.size();
+		} else {
+			if( listSrc == null )
+				throw new IllegalArgumentException("source features not specified");
+			if( listDst == null )
+				throw new IllegalArgumentException("destination features not specified");
+			alg.associate(listSrc,listDst);
+			sizeDst = listDst.size;
+		}
 
 		DogArray_I32 pairs = alg.getPairs();
 		DogArray_F64 score = alg.getFitQuality();
 
 		matches.reset();
-		for( int i = 0; i < listSrc.size; i++ ) {
+		for( int i = 0; i < pairs.size; i++ ) {
 			int dst = pairs.data[i];
 			if( dst >= 0 )
 				matches.grow().setTo(i,dst,score.data[i]);
@@ -102,7 +136,7 @@ public class WrapAssociateGreedy<T> implements AssociateDescription<T> {
 
 	@Override
 	public DogArray_I32 getUnassociatedDestination() {
-		return unassociated.checkDestination(matches,listDst.size);
+		return unassociated.checkDestination(matches,sizeDst);
 	}
 
 	@Override
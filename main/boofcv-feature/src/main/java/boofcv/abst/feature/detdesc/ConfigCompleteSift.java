@@ -23,6 +23,7 @@ import boofcv.abst.feature.describe.ConfigSiftScaleSpace;
 import boofcv.abst.feature.detect.interest.ConfigSiftDetector;
 import boofcv.abst.feature.orientation.ConfigSiftOrientation;
 import boofcv.alg.feature.detdesc.CompleteSift;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.Configuration;
 
 /**
@@ -37,6 +38,12 @@ public class ConfigCompleteSift implements Configuration{
 	public ConfigSiftOrientation orientation = new ConfigSiftOrientation();
 	public ConfigSiftDescribe describe = new ConfigSiftDescribe();
 
+	/**
+	 * If true then the scale-space, orientations, and descriptors are computed using multiple threads.
+	 * By default this is set to the value of {@link BoofConcurrency#USE_CONCURRENT}.
+	 */
+	public boolean concurrent = BoofConcurrency.USE_CONCURRENT;
+
 	/**
 	 * Creates a configuration similar to how it was originally described in the paper
 	 */
@@ -75,6 +82,7 @@ public class ConfigCompleteSift implements Configuration{
 		this.detector.setTo(src.detector);
 		this.orientation.setTo(src.orientation);
 		this.describe.setTo(src.describe);
+		this.concurrent = src.concurrent;
 	}
 
 	@Override
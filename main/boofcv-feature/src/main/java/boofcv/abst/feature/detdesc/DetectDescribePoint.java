@@ -20,6 +20,7 @@ package boofcv.abst.feature.detdesc;
 
 import boofcv.abst.feature.describe.DescriptorInfo;
 import boofcv.abst.feature.detect.interest.InterestPointDetector;
+import boofcv.struct.feature.PackedTupleArray;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageBase;
 
@@ -43,4 +44,19 @@ public interface DetectDescribePoint<T extends ImageBase<T>, Desc extends TupleD
 	 * @return Feature descriptor
 	 */
 	Desc getDescription(int index);
+
+	/**
+	 * Copies the descriptors of all the detected features into a packed array, which can then be associated
+	 * without accessing individual descriptor objects. The packed array is reset first.
+	 *
+	 * @param storage (Output) Storage for the descriptors
+	 */
+	default void getDescriptions( PackedTupleArray<Desc> storage ) {
+		int N = getNumberOfFeatures();
+		storage.reset();
+		storage.reserve(N);
+		for (int i = 0; i < N; i++) {
+			storage.append(getDescription(i));
+		}
+	}
 }
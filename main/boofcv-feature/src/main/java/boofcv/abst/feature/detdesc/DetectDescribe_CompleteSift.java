@@ -20,6 +20,8 @@ package boofcv.abst.feature.detdesc;
 
 import boofcv.alg.feature.detdesc.CompleteSift;
 import boofcv.core.image.GConvertImage;
+import boofcv.struct.feature.PackedTupleArray;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageGray;
@@ -53,6 +55,18 @@ public class DetectDescribe_CompleteSift<I extends ImageGray<I>>
 		return alg.getDescriptions().data[index];
 	}
 
+	/**
+	 * Copies the descriptors directly from internal storage when a {@link PackedTupleArray_F64} is passed in
+	 */
+	@Override
+	public void getDescriptions( PackedTupleArray<TupleDesc_F64> storage ) {
+		if (storage instanceof PackedTupleArray_F64) {
+			((PackedTupleArray_F64)storage).setTo(alg.getDescriptions());
+		} else {
+			DetectDescribePoint.super.getDescriptions(storage);
+		}
+	}
+
 	@Override
 	public ImageType<I> getInputType() {
 		return inputType;
@@ -24,6 +24,8 @@ import boofcv.alg.feature.describe.DescribePointSurf;
 import boofcv.alg.feature.detect.interest.FastHessianFeatureDetector;
 import boofcv.alg.transform.ii.GIntegralImageOps;
 import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.feature.PackedTupleArray;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
@@ -89,6 +91,18 @@ public class WrapDetectDescribeSurf
 		return features.get(index);
 	}
 
+	/**
+	 * Copies the descriptors directly from internal storage when a {@link PackedTupleArray_F64} is passed in
+	 */
+	@Override
+	public void getDescriptions( PackedTupleArray<TupleDesc_F64> storage ) {
+		if (storage instanceof PackedTupleArray_F64) {
+			((PackedTupleArray_F64)storage).setTo(features);
+		} else {
+			DetectDescribePoint.super.getDescriptions(storage);
+		}
+	}
+
 	@Override
 	public ImageType<T> getInputType() {
 		return imageType;
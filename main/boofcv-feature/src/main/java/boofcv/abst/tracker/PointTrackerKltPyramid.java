@@ -33,6 +33,7 @@ import georegression.struct.point.Point2D_F64;
 import georegression.struct.point.Point2D_I16;
 import lombok.Getter;
 import lombok.Setter;
+import org.ddogleg.struct.DogArray_B;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -84,6 +85,9 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 	// the tracker
 	protected PyramidKltTracker<I, D> tracker;
 
+	// Indicates if the active track at the same index was successfully tracked
+	protected final DogArray_B trackSuccess = new DogArray_B();
+
 	// selects point features
 	private GeneralFeatureDetector<I, D> detector;
 	// list of corners which should be ignored by the corner detector
@@ -321,29 +325,8 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 		currPyr.update(image);
 
 		// track features
-		tracker.setImage(currPyr.basePyramid, currPyr.derivX, currPyr.derivY);
-		for (int i = active.size() - 1; i >= 0; i--) {
-			PyramidKltFeature t = active.get(i);
-			KltTrackFault ret = tracker.track(t);
-
-			boolean success = false;
-
-			if (ret == KltTrackFault.SUCCESS) {
-				// discard a track if its center drifts outside the image.
-				if (image.isInBounds((int)t.x, (int)t.y) && tracker.setDescription(t)) {
-					PointTrack p = t.getCookie();
-					p.pixel.setTo(t.x, t.y);
-					p.lastSeenFrameID = frameID;
-					success = true;
-				}
-			}
-
-			if (!success) {
-				active.remove(i);
-				dropped.add(t);
-				unused.add(t);
-			}
-		}
+		trackActive(currPyr, false);
+		dropFailedTracks();
 
 		if (toleranceFB >= 0) {
 			// If there are no tracks it must have been reset or this is the first frame
@@ -375,26 +358,65 @@ public class PointTrackerKltPyramid<I extends ImageGray<I>, D extends ImageGray<
 	 * tracks in active list existed in the previous frame and were not spawned.
 	 */
 	protected void backwardsTrackValidate() {
-		double tol2 = toleranceFB*toleranceFB;
+		trackActive(prevPyr, true);
+		dropFailedTracks();
+	}
 
-		tracker.setImage(prevPyr.basePyramid, prevPyr.derivX, prevPyr.derivY);
-		for (int i = active.size() - 1; i >= 0; i--) {
-			PyramidKltFeature t = active.get(i);
-			PointTrackMod p = t.getCookie();
+	/**
+	 * Tracks every active feature inside the pyramid and saves if it was successful in {@link #trackSuccess}.
+	 * Tracks are independent of each other so they can be processed in any order.
+	 *
+	 * @param pyr Image pyramid the features are tracked in
+	 * @param backwards If true it's tracking back into the previous image for validation
+	 */
+	protected void trackActive( ImageStruct pyr, boolean backwards ) {
+		trackSuccess.resize(active.size());
+		tracker.setImage(pyr.basePyramid, pyr.derivX, pyr.derivY);
+		for (int i = 0; i < active.size(); i++) {
+			trackSuccess.data[i] = trackFeature(tracker, active.get(i), backwards);
+		}
+	}
 
-			KltTrackFault ret = tracker.track(t);
+	/**
+	 * Tracks a single feature. Only modifies the feature and the tracker, so it's safe to call from multiple
+	 * threads as long as each thread has its own tracker.
+	 *
+	 * @return true if successful or false if it should be dropped
+	 */
+	protected boolean trackFeature( PyramidKltTracker<I, D> tracker, PyramidKltFeature t, boolean backwards ) {
+		KltTrackFault ret = tracker.track(t);
+		PointTrackMod p = t.getCookie();
 
-			if (ret != KltTrackFault.SUCCESS || p.prev.distance2(t.x, t.y) > tol2) {
-				active.remove(i);
-				dropped.add(t);
-				unused.add(t);
-			} else {
-				// the new previous will be the current location
-				p.prev.setTo(p.pixel);
-				// Revert the update by KLT
-				t.x = (float)p.pixel.x;
-				t.y = (float)p.pixel.y;
-			}
+		if (backwards) {
+			if (ret != KltTrackFault.SUCCESS || p.prev.distance2(t.x, t.y) > toleranceFB*toleranceFB)
+				return false;
+			// the new previous will be the current location
+			p.prev.setTo(p.pixel);
+			// Revert the update by KLT
+			t.x = (float)p.pixel.x;
+			t.y = (float)p.pixel.y;
+			return true;
+		}
+
+		// discard a track if its center drifts outside the image.
+		if (ret != KltTrackFault.SUCCESS || !input.isInBounds((int)t.x, (int)t.y) || !tracker.setDescription(t))
+			return false;
+		p.pixel.setTo(t.x, t.y);
+		p.lastSeenFrameID = frameID;
+		return true;
+	}
+
+	/**
+	 * Drops tracks which failed in the most recent call to {@link #trackActive}. Goes through the list in reverse
+	 * order so that the order of the output lists doesn't depend on how the tracks were processed.
+	 */
+	protected void dropFailedTracks() {
+		for (int i = active.size() - 1; i >= 0; i--) {
+			if (trackSuccess.data[i])
+				continue;
+			PyramidKltFeature t = active.remove(i);
+			dropped.add(t);
+			unused.add(t);
 		}
 	}
 
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.tracker;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.alg.interpolate.InterpolateRectangle;
+import boofcv.alg.tracker.klt.ConfigKlt;
+import boofcv.alg.tracker.klt.PyramidKltTracker;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent version of {@link PointTrackerKltPyramid}. Active tracks are updated in parallel with each thread
+ * having its own copy of the KLT tracker. Which tracks are dropped is decided after all the tracks have been
+ * updated, so the output is identical to the single threaded version.
+ *
+ * @author Peter Abeles
+ */
+public class PointTrackerKltPyramid_MT<I extends ImageGray<I>, D extends ImageGray<D>>
+		extends PointTrackerKltPyramid<I, D> {
+	// Tracker for each thread
+	final GrowArray<PyramidKltTracker<I, D>> trackers = new GrowArray<>(() -> tracker.copy());
+
+	public PointTrackerKltPyramid_MT( ConfigKlt config,
+									  double toleranceFB,
+									  int templateRadius,
+									  boolean performPruneClose, PyramidDiscrete<I> pyramid,
+									  GeneralFeatureDetector<I, D> detector,
+									  ImageGradient<I, D> gradient,
+									  InterpolateRectangle<I> interpInput,
+									  InterpolateRectangle<D> interpDeriv,
+									  Class<D> derivType ) {
+		super(config, toleranceFB, templateRadius, performPruneClose, pyramid, detector, gradient,
+				interpInput, interpDeriv, derivType);
+	}
+
+	@Override
+	protected void trackActive( ImageStruct pyr, boolean backwards ) {
+		trackSuccess.resize(active.size());
+		// The main tracker isn't used here but other functions assume its image has been set
+		tracker.setImage(pyr.basePyramid, pyr.derivX, pyr.derivY);
+		BoofConcurrency.loopBlocks(0, active.size(), trackers, ( klt, idx0, idx1 ) -> {
+			klt.setImage(pyr.basePyramid, pyr.derivX, pyr.derivY);
+			for (int i = idx0; i < idx1; i++) {
+				trackSuccess.data[i] = trackFeature(klt, active.get(i), backwards);
+			}
+		});
+	}
+}
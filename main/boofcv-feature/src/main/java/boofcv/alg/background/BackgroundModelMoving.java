@@ -173,4 +173,12 @@ public abstract class BackgroundModelMoving<T extends ImageBase<T>, MotionModel
 	}
 
 	protected abstract void _segment( MotionModel currentToWorld, T frame, GrayU8 segmented );
+
+	/**
+	 * Creates a copy of the transform which can be used in a different thread
+	 */
+	@SuppressWarnings("unchecked")
+	protected Point2Transform2Model_F32<MotionModel> copyTransform() {
+		return (Point2Transform2Model_F32<MotionModel>)transform.copyConcurrent();
+	}
 }
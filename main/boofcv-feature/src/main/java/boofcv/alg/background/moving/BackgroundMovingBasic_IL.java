@@ -29,6 +29,10 @@ import boofcv.struct.distort.Point2Transform2Model_F32;
 import boofcv.struct.image.*;
 import georegression.struct.InvertibleTransform;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+//CONCURRENT_INLINE import georegression.struct.point.Point2D_F32;
+//CONCURRENT_INLINE import pabeles.concurrency.GrowArray;
+
 /**
  * Implementation of {@link BackgroundMovingBasic} for {@link Planar}.
  *
@@ -49,6 +53,9 @@ public class BackgroundMovingBasic_IL<T extends ImageInterleaved<T>, Motion exte
 	protected float[] pixelInput;
 	protected float[] pixelBack;
 
+	//CONCURRENT_INLINE // storage for the transform and interpolation in each thread
+	//CONCURRENT_INLINE final GrowArray<Workspace> workspaces = new GrowArray<>(Workspace::new);
+
 	public BackgroundMovingBasic_IL( float learnRate, float threshold,
 									 Point2Transform2Model_F32<Motion> transform,
 									 InterpolationType interpType,
@@ -98,14 +105,19 @@ public class BackgroundMovingBasic_IL<T extends ImageInterleaved<T>, Motion exte
 
 	@Override
 	protected void updateBackground( int x0, int y0, int x1, int y1, T frame ) {
+		final int numBands = frame.getNumBands();
+		float minusLearn = 1.0f - learnRate;
 
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(y0, y1, workspaces, ( ws, blockY0, blockY1 ) -> {
+		int blockY0 = y0, blockY1 = y1;
+		//CONCURRENT_INLINE final Point2Transform2Model_F32<Motion> transform = ws.transform;
+		//CONCURRENT_INLINE final InterpolatePixelMB<T> interpolationInput = ws.interpInput;
+		//CONCURRENT_INLINE final Point2D_F32 work = ws.work;
+		//CONCURRENT_INLINE final float[] pixelInput = ws.pixelInput;
 		transform.setModel(worldToCurrent);
 		interpolationInput.setImage(frame);
 
-		final int numBands = frame.getNumBands();
-		float minusLearn = 1.0f - learnRate;
-
-		for (int y = y0; y < y1; y++) {
+		for (int y = blockY0; y < blockY1; y++) {
 			int indexBG = background.startIndex + y*background.stride + x0*numBands;
 			for (int x = x0; x < x1; x++) {
 				transform.compute(x, y, work);
@@ -130,18 +142,27 @@ public class BackgroundMovingBasic_IL<T extends ImageInterleaved<T>, Motion exte
 				}
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 	@Override
 	protected void _segment( Motion currentToWorld, T frame, GrayU8 segmented ) {
-		transform.setModel(currentToWorld);
 		inputWrapper.wrap(frame);
 
 		int numBands = background.getNumBands();
 
 		float thresholdSq = numBands*threshold*threshold;
 
-		for (int y = 0; y < frame.height; y++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, frame.height, workspaces, ( ws, blockY0, blockY1 ) -> {
+		int blockY0 = 0, blockY1 = frame.height;
+		//CONCURRENT_INLINE final Point2Transform2Model_F32<Motion> transform = ws.transform;
+		//CONCURRENT_INLINE final InterpolatePixelMB<InterleavedF32> interpolationBG = ws.interpBG;
+		//CONCURRENT_INLINE final Point2D_F32 work = ws.work;
+		//CONCURRENT_INLINE final float[] pixelBack = ws.pixelBack;
+		//CONCURRENT_INLINE interpolationBG.setImage(background);
+		transform.setModel(currentToWorld);
+
+		for (int y = blockY0; y < blockY1; y++) {
 			int indexFrame = frame.startIndex + y*frame.stride;
 			int indexSegmented = segmented.startIndex + y*segmented.stride;
 
@@ -178,5 +199,18 @@ public class BackgroundMovingBasic_IL<T extends ImageInterleaved<T>, Motion exte
 				}
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
+
+	//CONCURRENT_INLINE /**
+	//CONCURRENT_INLINE  * Copies of everything which can't be shared between threads
+	//CONCURRENT_INLINE  */
+	//CONCURRENT_INLINE class Workspace {
+	//CONCURRENT_INLINE 	final Point2Transform2Model_F32<Motion> transform = copyTransform();
+	//CONCURRENT_INLINE 	final InterpolatePixelMB<T> interpInput = interpolationInput.copy();
+	//CONCURRENT_INLINE 	final InterpolatePixelMB<InterleavedF32> interpBG = interpolationBG.copy();
+	//CONCURRENT_INLINE 	final float[] pixelInput = new float[background.getNumBands()];
+	//CONCURRENT_INLINE 	final float[] pixelBack = new float[background.getNumBands()];
+	//CONCURRENT_INLINE 	final Point2D_F32 work = new Point2D_F32();
+	//CONCURRENT_INLINE }
 }
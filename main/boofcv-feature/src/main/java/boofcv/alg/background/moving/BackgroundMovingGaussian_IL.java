@@ -32,6 +32,10 @@ import boofcv.struct.image.ImageType;
 import boofcv.struct.image.InterleavedF32;
 import georegression.struct.InvertibleTransform;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+//CONCURRENT_INLINE import georegression.struct.point.Point2D_F32;
+//CONCURRENT_INLINE import pabeles.concurrency.GrowArray;
+
 /**
  * Implementation of {@link BackgroundMovingGaussian} for {@link ImageInterleaved}.
  *
@@ -51,6 +55,9 @@ public class BackgroundMovingGaussian_IL<T extends ImageInterleaved<T>, Motion e
 	protected float[] pixelBG;
 	protected float[] pixelInput;
 
+	//CONCURRENT_INLINE // storage for the transform and interpolation in each thread
+	//CONCURRENT_INLINE final GrowArray<Workspace> workspaces = new GrowArray<>(Workspace::new);
+
 	// background is composed of bands*2 channels.  even = mean, odd = variance
 	InterleavedF32 background;
 
@@ -104,14 +111,20 @@ public class BackgroundMovingGaussian_IL<T extends ImageInterleaved<T>, Motion e
 
 	@Override
 	protected void updateBackground( int x0, int y0, int x1, int y1, T frame ) {
-		transform.setModel(worldToCurrent);
-		interpolateInput.setImage(frame);
-
 		float minusLearn = 1.0f - learnRate;
 
 		final int numBands = background.getNumBands()/2;
 
-		for (int y = y0; y < y1; y++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(y0, y1, workspaces, ( ws, blockY0, blockY1 ) -> {
+		int blockY0 = y0, blockY1 = y1;
+		//CONCURRENT_INLINE final Point2Transform2Model_F32<Motion> transform = ws.transform;
+		//CONCURRENT_INLINE final InterpolatePixelMB<T> interpolateInput = ws.interpInput;
+		//CONCURRENT_INLINE final Point2D_F32 work = ws.work;
+		//CONCURRENT_INLINE final float[] pixelInput = ws.pixelInput;
+		transform.setModel(worldToCurrent);
+		interpolateInput.setImage(frame);
+
+		for (int y = blockY0; y < blockY1; y++) {
 			int indexBG = background.startIndex + y*background.stride + x0*background.numBands;
 			for (int x = x0; x < x1; x++, indexBG += numBands*2) {
 				transform.compute(x, y, work);
@@ -138,17 +151,27 @@ public class BackgroundMovingGaussian_IL<T extends ImageInterleaved<T>, Motion e
 				}
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 	@Override
 	protected void _segment( Motion currentToWorld, T frame, GrayU8 segmented ) {
-		transform.setModel(currentToWorld);
 		inputWrapper.wrap(frame);
 
 		final int numBands = background.getNumBands()/2;
 		float adjustedMinimumDifference = minimumDifference*numBands;
 
-		for (int y = 0; y < frame.height; y++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, frame.height, workspaces, ( ws, blockY0, blockY1 ) -> {
+		int blockY0 = 0, blockY1 = frame.height;
+		//CONCURRENT_INLINE final Point2Transform2Model_F32<Motion> transform = ws.transform;
+		//CONCURRENT_INLINE final InterpolatePixelMB<InterleavedF32> interpolationBG = ws.interpBG;
+		//CONCURRENT_INLINE final Point2D_F32 work = ws.work;
+		//CONCURRENT_INLINE final float[] pixelBG = ws.pixelBG;
+		//CONCURRENT_INLINE final float[] pixelInput = ws.pixelInput;
+		//CONCURRENT_INLINE interpolationBG.setImage(background);
+		transform.setModel(currentToWorld);
+
+		for (int y = blockY0; y < blockY1; y++) {
 			int indexFrame = frame.startIndex + y*frame.stride;
 			int indexSegmented = segmented.startIndex + y*segmented.stride;
 
@@ -198,5 +221,18 @@ public class BackgroundMovingGaussian_IL<T extends ImageInterleaved<T>, Motion e
 				}
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
+
+	//CONCURRENT_INLINE /**
+	//CONCURRENT_INLINE  * Copies of everything which can't be shared between threads
+	//CONCURRENT_INLINE  */
+	//CONCURRENT_INLINE class Workspace {
+	//CONCURRENT_INLINE 	final Point2Transform2Model_F32<Motion> transform = copyTransform();
+	//CONCURRENT_INLINE 	final InterpolatePixelMB<T> interpInput = interpolateInput.copy();
+	//CONCURRENT_INLINE 	final InterpolatePixelMB<InterleavedF32> interpBG = interpolationBG.copy();
+	//CONCURRENT_INLINE 	final float[] pixelBG = new float[background.getNumBands()];
+	//CONCURRENT_INLINE 	final float[] pixelInput = new float[background.getNumBands()/2];
+	//CONCURRENT_INLINE 	final Point2D_F32 work = new Point2D_F32();
+	//CONCURRENT_INLINE }
 }
@@ -30,6 +30,10 @@ import boofcv.struct.distort.Point2Transform2Model_F32;
 import boofcv.struct.image.*;
 import georegression.struct.InvertibleTransform;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+//CONCURRENT_INLINE import georegression.struct.point.Point2D_F32;
+//CONCURRENT_INLINE import pabeles.concurrency.GrowArray;
+
 /**
  * Implementation of {@link BackgroundMovingGaussian} for {@link ImageGray}.
  *
@@ -48,6 +52,9 @@ public class BackgroundMovingGaussian_SB<T extends ImageGray<T>, Motion extends
 	// storage for multi-band pixel values
 	protected float[] pixelBG = new float[2];
 
+	//CONCURRENT_INLINE // storage for the transform and interpolation in each thread
+	//CONCURRENT_INLINE final GrowArray<Workspace> workspaces = new GrowArray<>(Workspace::new);
+
 	// background is composed of two channels.  0 = mean, 1 = variance
 	Planar<GrayF32> background = new Planar<>(GrayF32.class, 1, 1, 2);
 
@@ -95,15 +102,20 @@ public class BackgroundMovingGaussian_SB<T extends ImageGray<T>, Motion extends
 
 	@Override
 	protected void updateBackground( int x0, int y0, int x1, int y1, T frame ) {
-		transform.setModel(worldToCurrent);
-		interpolateInput.setImage(frame);
-
 		float minusLearn = 1.0f - learnRate;
 
 		GrayF32 backgroundMean = background.getBand(0);
 		GrayF32 backgroundVar = background.getBand(1);
 
-		for (int y = y0; y < y1; y++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(y0, y1, workspaces, ( ws, blockY0, blockY1 ) -> {
+		int blockY0 = y0, blockY1 = y1;
+		//CONCURRENT_INLINE final Point2Transform2Model_F32<Motion> transform = ws.transform;
+		//CONCURRENT_INLINE final InterpolatePixelS<T> interpolateInput = ws.interpInput;
+		//CONCURRENT_INLINE final Point2D_F32 work = ws.work;
+		transform.setModel(worldToCurrent);
+		interpolateInput.setImage(frame);
+
+		for (int y = blockY0; y < blockY1; y++) {
 			int indexBG = background.startIndex + y*background.stride + x0;
 			for (int x = x0; x < x1; x++, indexBG++) {
 				transform.compute(x, y, work);
@@ -124,14 +136,23 @@ public class BackgroundMovingGaussian_SB<T extends ImageGray<T>, Motion extends
 				}
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 	@Override
 	protected void _segment( Motion currentToWorld, T frame, GrayU8 segmented ) {
-		transform.setModel(currentToWorld);
 		inputWrapper.wrap(frame);
 
-		for (int y = 0; y < frame.height; y++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, frame.height, workspaces, ( ws, blockY0, blockY1 ) -> {
+		int blockY0 = 0, blockY1 = frame.height;
+		//CONCURRENT_INLINE final Point2Transform2Model_F32<Motion> transform = ws.transform;
+		//CONCURRENT_INLINE final InterpolatePixelMB<Planar<GrayF32>> interpolationBG = ws.interpBG;
+		//CONCURRENT_INLINE final Point2D_F32 work = ws.work;
+		//CONCURRENT_INLINE final float[] pixelBG = ws.pixelBG;
+		//CONCURRENT_INLINE interpolationBG.setImage(background);
+		transform.setModel(currentToWorld);
+
+		for (int y = blockY0; y < blockY1; y++) {
 			int indexFrame = frame.startIndex + y*frame.stride;
 			int indexSegmented = segmented.startIndex + y*segmented.stride;
 
@@ -166,5 +187,17 @@ public class BackgroundMovingGaussian_SB<T extends ImageGray<T>, Motion extends
 				}
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
+
+	//CONCURRENT_INLINE /**
+	//CONCURRENT_INLINE  * Copies of everything which can't be shared between threads
+	//CONCURRENT_INLINE  */
+	//CONCURRENT_INLINE class Workspace {
+	//CONCURRENT_INLINE 	final Point2Transform2Model_F32<Motion> transform = copyTransform();
+	//CONCURRENT_INLINE 	final InterpolatePixelS<T> interpInput = interpolateInput.copy();
+	//CONCURRENT_INLINE 	final InterpolatePixelMB<Planar<GrayF32>> interpBG = interpolationBG.copy();
+	//CONCURRENT_INLINE 	final float[] pixelBG = new float[2];
+	//CONCURRENT_INLINE 	final Point2D_F32 work = new Point2D_F32();
+	//CONCURRENT_INLINE }
 }
@@ -25,6 +25,10 @@ import boofcv.struct.image.ImageMultiBand;
 import boofcv.struct.image.ImageType;
 import georegression.struct.InvertibleTransform;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+//CONCURRENT_INLINE import georegression.struct.point.Point2D_F32;
+//CONCURRENT_INLINE import pabeles.concurrency.GrowArray;
+
 /**
  * Implementation of {@link BackgroundMovingGmm} for {@link ImageGray}.
  *
@@ -33,6 +37,9 @@ import georegression.struct.InvertibleTransform;
 public class BackgroundMovingGmm_MB<T extends ImageMultiBand<T>, Motion extends InvertibleTransform<Motion>>
 	extends BackgroundMovingGmm<T,Motion>
 {
+	//CONCURRENT_INLINE // storage for the transform and pixel values in each thread
+	//CONCURRENT_INLINE final GrowArray<Workspace> workspaces = new GrowArray<>(Workspace::new);
+
 	public BackgroundMovingGmm_MB(float learningPeriod, float decayCoef, int maxGaussians,
 								  Point2Transform2Model_F32<Motion> transformImageType, ImageType<T> imageType)
 	{
@@ -43,9 +50,16 @@ public class BackgroundMovingGmm_MB<T extends ImageMultiBand<T>, Motion extends
 	protected void updateBackground(int x0, int y0, int x1, int y1, T frame) {
 
 		common.inputWrapperMB.wrap(frame);
+
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(y0, y1, workspaces, ( ws, blockY0, blockY1 ) -> {
+		int blockY0 = y0, blockY1 = y1;
+		//CONCURRENT_INLINE final Point2Transform2Model_F32<Motion> transform = ws.transform;
+		//CONCURRENT_INLINE final Point2D_F32 work = ws.work;
+		//CONCURRENT_BELOW final float[] inputPixel = ws.inputPixel;
+		final float[] inputPixel = common.inputPixel;
 		transform.setModel(worldToCurrent);
 
-		for (int y = y0; y < y1; y++) {
+		for (int y = blockY0; y < blockY1; y++) {
 			float modelRow[] = common.model.data[y];
 			for (int x = x0; x < x1; x++) {
 				int indexModel = x*common.modelStride;
@@ -56,21 +70,29 @@ public class BackgroundMovingGmm_MB<T extends ImageMultiBand<T>, Motion extends
 
 				if( work.x >= 0 && xx < frame.width && work.y >= 0 && yy < frame.height) {
 
-					common.inputWrapperMB.get(xx,yy,common.inputPixel);
+					common.inputWrapperMB.get(xx,yy,inputPixel);
 
-					common.updateMixture(common.inputPixel,modelRow,indexModel); // TODO assigned mask here
+					common.updateMixture(inputPixel,modelRow,indexModel); // TODO assigned mask here
 				}
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 	@Override
 	protected void _segment(Motion currentToWorld, T frame, GrayU8 segmented) {
 		common.inputWrapperMB.wrap(frame);
-		transform.setModel(currentToWorld);
 		common.unknownValue = unknownValue;
 
-		for (int y = 0; y < frame.height; y++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, frame.height, workspaces, ( ws, blockY0, blockY1 ) -> {
+		int blockY0 = 0, blockY1 = frame.height;
+		//CONCURRENT_INLINE final Point2Transform2Model_F32<Motion> transform = ws.transform;
+		//CONCURRENT_INLINE final Point2D_F32 work = ws.work;
+		//CONCURRENT_BELOW final float[] inputPixel = ws.inputPixel;
+		final float[] inputPixel = common.inputPixel;
+		transform.setModel(currentToWorld);
+
+		for (int y = blockY0; y < blockY1; y++) {
 			int indexOut = segmented.startIndex + y*segmented.stride;
 			for (int x = 0; x < frame.width; x++, indexOut++) {
 
@@ -81,17 +103,27 @@ public class BackgroundMovingGmm_MB<T extends ImageMultiBand<T>, Motion extends
 
 				if( work.x >= 0 && xx < backgroundWidth && work.y >= 0 && yy < backgroundHeight) {
 
-					common.inputWrapperMB.get(x,y,common.inputPixel);
+					common.inputWrapperMB.get(x,y,inputPixel);
 
 					float modelRow[] = common.model.data[yy];
 					int indexModel = xx*common.modelStride;
 
-					segmented.data[indexOut] = (byte)common.checkBackground(common.inputPixel, modelRow, indexModel);
+					segmented.data[indexOut] = (byte)common.checkBackground(inputPixel, modelRow, indexModel);
 				}else {
 					// there is no background here.  Just mark it as not moving to avoid false positives
 					segmented.data[indexOut] = unknownValue;
 				}
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
+
+	//CONCURRENT_INLINE /**
+	//CONCURRENT_INLINE  * Copies of everything which can't be shared between threads
+	//CONCURRENT_INLINE  */
+	//CONCURRENT_INLINE class Workspace {
+	//CONCURRENT_INLINE 	final Point2Transform2Model_F32<Motion> transform = copyTransform();
+	//CONCURRENT_INLINE 	final float[] inputPixel = new float[common.numBands];
+	//CONCURRENT_INLINE 	final Point2D_F32 work = new Point2D_F32();
+	//CONCURRENT_INLINE }
 }
@@ -24,6 +24,10 @@ import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
 import georegression.struct.InvertibleTransform;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+//CONCURRENT_INLINE import georegression.struct.point.Point2D_F32;
+//CONCURRENT_INLINE import pabeles.concurrency.GrowArray;
+
 /**
  * Implementation of {@link BackgroundMovingGmm} for {@link ImageGray}.
  *
@@ -32,6 +36,9 @@ import georegression.struct.InvertibleTransform;
 public class BackgroundMovingGmm_SB <T extends ImageGray<T>, Motion extends InvertibleTransform<Motion>>
 	extends BackgroundMovingGmm<T,Motion>
 {
+	//CONCURRENT_INLINE // storage for the transform in each thread
+	//CONCURRENT_INLINE final GrowArray<Workspace> workspaces = new GrowArray<>(Workspace::new);
+
 	public BackgroundMovingGmm_SB(float learningPeriod, float decayCoef, int maxGaussians,
 								  Point2Transform2Model_F32<Motion> transformImageType, ImageType<T> imageType)
 	{
@@ -42,9 +49,14 @@ public class BackgroundMovingGmm_SB <T extends ImageGray<T>, Motion extends Inve
 	protected void updateBackground(int x0, int y0, int x1, int y1, T frame) {
 
 		common.inputWrapperG.wrap(frame);
+
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(y0, y1, workspaces, ( ws, blockY0, blockY1 ) -> {
+		int blockY0 = y0, blockY1 = y1;
+		//CONCURRENT_INLINE final Point2Transform2Model_F32<Motion> transform = ws.transform;
+		//CONCURRENT_INLINE final Point2D_F32 work = ws.work;
 		transform.setModel(worldToCurrent);
 
-		for (int y = y0; y < y1; y++) {
+		for (int y = blockY0; y < blockY1; y++) {
 			float modelRow[] = common.model.data[y];
 			for (int x = x0; x < x1; x++) {
 				int indexModel = x*common.modelStride;
@@ -61,15 +73,21 @@ public class BackgroundMovingGmm_SB <T extends ImageGray<T>, Motion extends Inve
 				}
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 	@Override
 	protected void _segment(Motion currentToWorld, T frame, GrayU8 segmented) {
 		common.inputWrapperG.wrap(frame);
-		transform.setModel(currentToWorld);
 		common.unknownValue = unknownValue;
 
-		for (int y = 0; y < frame.height; y++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, frame.height, workspaces, ( ws, blockY0, blockY1 ) -> {
+		int blockY0 = 0, blockY1 = frame.height;
+		//CONCURRENT_INLINE final Point2Transform2Model_F32<Motion> transform = ws.transform;
+		//CONCURRENT_INLINE final Point2D_F32 work = ws.work;
+		transform.setModel(currentToWorld);
+
+		for (int y = blockY0; y < blockY1; y++) {
 			int indexOut = segmented.startIndex + y*segmented.stride;
 			for (int x = 0; x < frame.width; x++, indexOut++) {
 
@@ -92,5 +110,14 @@ public class BackgroundMovingGmm_SB <T extends ImageGray<T>, Motion extends Inve
 				}
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
+
+	//CONCURRENT_INLINE /**
+	//CONCURRENT_INLINE  * Copies of everything which can't be shared between threads
+	//CONCURRENT_INLINE  */
+	//CONCURRENT_INLINE class Workspace {
+	//CONCURRENT_INLINE 	final Point2Transform2Model_F32<Motion> transform = copyTransform();
+	//CONCURRENT_INLINE 	final Point2D_F32 work = new Point2D_F32();
+	//CONCURRENT_INLINE }
 }
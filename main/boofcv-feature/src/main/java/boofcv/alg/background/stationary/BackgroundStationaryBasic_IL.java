@@ -25,6 +25,8 @@ import boofcv.core.image.GConvertImage;
 import boofcv.core.image.GImageMultiBand;
 import boofcv.struct.image.*;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+
 /**
  * Implementation of {@link BackgroundStationaryBasic} for {@link ImageGray}.
  *
@@ -79,8 +81,9 @@ public class BackgroundStationaryBasic_IL<T extends ImageInterleaved<T>>
 		int numBands = background.getNumBands();
 		float minusLearn = 1.0f - learnRate;
 
-		int indexBG = 0;
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, frame.height, y -> {
 		for (int y = 0; y < frame.height; y++) {
+			int indexBG = y*frame.width*numBands;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int end = indexInput + frame.width*numBands;
 			while( indexInput < end ) {
@@ -93,6 +96,7 @@ public class BackgroundStationaryBasic_IL<T extends ImageInterleaved<T>>
 				}
 			}
 		}
+		//CONCURRENT_ABOVE });
 	}
 
 	@Override
@@ -107,8 +111,9 @@ public class BackgroundStationaryBasic_IL<T extends ImageInterleaved<T>>
 		int numBands = background.getNumBands();
 		float thresholdSq = numBands*threshold*threshold;
 
-		int indexBG = 0;
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, frame.height, y -> {
 		for (int y = 0; y < frame.height; y++) {
+			int indexBG = y*frame.width*numBands;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int indexSegmented = segmented.startIndex + y*segmented.stride;
 
@@ -129,6 +134,7 @@ public class BackgroundStationaryBasic_IL<T extends ImageInterleaved<T>>
 				indexSegmented++;
 			}
 		}
+		//CONCURRENT_ABOVE });
 	}
 
 
@@ -25,6 +25,11 @@ import boofcv.core.image.GConvertImage;
 import boofcv.core.image.GImageMultiBand;
 import boofcv.struct.image.*;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+//CONCURRENT_INLINE import boofcv.misc.BoofMiscOps;
+//CONCURRENT_INLINE import org.ddogleg.struct.DogArray_F32;
+//CONCURRENT_INLINE import pabeles.concurrency.GrowArray;
+
 /**
  * Implementation of {@link BackgroundStationaryBasic} for {@link ImageGray}.
  *
@@ -40,6 +45,8 @@ public class BackgroundStationaryBasic_PL<T extends ImageGray<T>>
 	protected GImageMultiBand inputWrapper;
 
 	protected float inputPixels[];
+	//CONCURRENT_INLINE // storage for pixel values in each thread
+	//CONCURRENT_INLINE protected final GrowArray<DogArray_F32> storagePixels = new GrowArray<>(DogArray_F32::new);
 
 	public BackgroundStationaryBasic_PL(float learnRate, float threshold,
 										ImageType<Planar<T>> imageType) {
@@ -83,8 +90,11 @@ public class BackgroundStationaryBasic_PL<T extends ImageGray<T>>
 		int numBands = background.getNumBands();
 		float minusLearn = 1.0f - learnRate;
 
-		int indexBG = 0;
-		for (int y = 0; y < frame.height; y++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, frame.height, storagePixels, ( pixel, y0, y1 ) -> {
+		int y0 = 0, y1 = frame.height;
+		//CONCURRENT_INLINE final float[] inputPixels = BoofMiscOps.checkDeclare(pixel, numBands, false);
+		for (int y = y0; y < y1; y++) {
+			int indexBG = y*frame.width;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int end = indexInput + frame.width;
 			while( indexInput < end ) {
@@ -99,6 +109,7 @@ public class BackgroundStationaryBasic_PL<T extends ImageGray<T>>
 				indexBG++;
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 	@Override
@@ -113,8 +124,11 @@ public class BackgroundStationaryBasic_PL<T extends ImageGray<T>>
 		int numBands = background.getNumBands();
 		float thresholdSq = numBands*threshold*threshold;
 
-		int indexBG = 0;
-		for (int y = 0; y < frame.height; y++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, frame.height, storagePixels, ( pixel, y0, y1 ) -> {
+		int y0 = 0, y1 = frame.height;
+		//CONCURRENT_INLINE final float[] inputPixels = BoofMiscOps.checkDeclare(pixel, numBands, false);
+		for (int y = y0; y < y1; y++) {
+			int indexBG = y*frame.width;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int indexSegmented = segmented.startIndex + y*segmented.stride;
 
@@ -139,6 +153,7 @@ public class BackgroundStationaryBasic_PL<T extends ImageGray<T>>
 				indexBG++;
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 
@@ -25,6 +25,8 @@ import boofcv.core.image.GConvertImage;
 import boofcv.core.image.GImageGray;
 import boofcv.struct.image.*;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+
 /**
  * Implementation of {@link BackgroundStationaryBasic} for {@link Planar}.
  *
@@ -74,8 +76,9 @@ public class BackgroundStationaryBasic_SB<T extends ImageGray<T>>
 
 		float minusLearn = 1.0f - learnRate;
 
-		int indexBG = 0;
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, frame.height, y -> {
 		for (int y = 0; y < frame.height; y++) {
+			int indexBG = y*frame.width;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int end = indexInput + frame.width;
 			while( indexInput < end ) {
@@ -85,6 +88,7 @@ public class BackgroundStationaryBasic_SB<T extends ImageGray<T>>
 				background.data[indexBG++] = minusLearn*bg + learnRate*value;
 			}
 		}
+		//CONCURRENT_ABOVE });
 	}
 
 	@Override
@@ -98,8 +102,9 @@ public class BackgroundStationaryBasic_SB<T extends ImageGray<T>>
 
 		float thresholdSq = threshold*threshold;
 
-		int indexBG = 0;
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, frame.height, y -> {
 		for (int y = 0; y < frame.height; y++) {
+			int indexBG = y*frame.width;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int indexSegmented = segmented.startIndex + y*segmented.stride;
 
@@ -120,6 +125,7 @@ public class BackgroundStationaryBasic_SB<T extends ImageGray<T>>
 				indexBG++;
 			}
 		}
+		//CONCURRENT_ABOVE });
 	}
 
 
@@ -27,6 +27,11 @@ import boofcv.struct.image.ImageInterleaved;
 import boofcv.struct.image.ImageType;
 import boofcv.struct.image.InterleavedF32;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+//CONCURRENT_INLINE import boofcv.misc.BoofMiscOps;
+//CONCURRENT_INLINE import org.ddogleg.struct.DogArray_F32;
+//CONCURRENT_INLINE import pabeles.concurrency.GrowArray;
+
 /**
  * Implementation of {@link BackgroundStationaryGaussian} for {@link ImageInterleaved}.
  *
@@ -43,6 +48,8 @@ public class BackgroundStationaryGaussian_IL<T extends ImageInterleaved<T>>
 	// storage for multi-band pixel values
 	protected float[] inputPixel;
 	protected float[] bgPixel;
+	//CONCURRENT_INLINE // storage for pixel values in each thread
+	//CONCURRENT_INLINE protected final GrowArray<DogArray_F32> storagePixels = new GrowArray<>(DogArray_F32::new);
 
 	// background is composed of bands*2 channels.  even = mean, odd = variance
 	InterleavedF32 background;
@@ -102,8 +109,11 @@ public class BackgroundStationaryGaussian_IL<T extends ImageInterleaved<T>>
 		int numBands = background.getNumBands()/2;
 		float minusLearn = 1.0f - learnRate;
 
-		int indexBG = 0;
-		for (int y = 0; y < background.height; y++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, background.height, storagePixels, ( pixel, y0, y1 ) -> {
+		int y0 = 0, y1 = background.height;
+		//CONCURRENT_INLINE final float[] inputPixel = BoofMiscOps.checkDeclare(pixel, numBands, false);
+		for (int y = y0; y < y1; y++) {
+			int indexBG = y*background.width*background.numBands;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int end = indexInput + frame.width*numBands;
 			while( indexInput < end ) {
@@ -123,6 +133,7 @@ public class BackgroundStationaryGaussian_IL<T extends ImageInterleaved<T>>
 				indexInput += frame.numBands;
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 	@Override
@@ -137,8 +148,11 @@ public class BackgroundStationaryGaussian_IL<T extends ImageInterleaved<T>>
 
 		float adjustedMinimumDifference = minimumDifference*numBands;
 
-		int indexBG = 0;
-		for (int y = 0; y < frame.height; y++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, frame.height, storagePixels, ( pixel, y0, y1 ) -> {
+		int y0 = 0, y1 = frame.height;
+		//CONCURRENT_INLINE final float[] inputPixel = BoofMiscOps.checkDeclare(pixel, numBands, false);
+		for (int y = y0; y < y1; y++) {
+			int indexBG = y*background.width*background.numBands;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int indexSegmented = segmented.startIndex + y*segmented.stride;
 
@@ -181,5 +195,6 @@ public class BackgroundStationaryGaussian_IL<T extends ImageInterleaved<T>>
 				indexBG        += background.numBands;
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 }
@@ -26,6 +26,11 @@ import boofcv.core.image.GConvertImage;
 import boofcv.core.image.GImageMultiBand;
 import boofcv.struct.image.*;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+//CONCURRENT_INLINE import boofcv.misc.BoofMiscOps;
+//CONCURRENT_INLINE import org.ddogleg.struct.DogArray_F32;
+//CONCURRENT_INLINE import pabeles.concurrency.GrowArray;
+
 /**
  * Implementation of {@link BackgroundStationaryGaussian} for {@link Planar}.
  *
@@ -41,6 +46,8 @@ public class BackgroundStationaryGaussian_PL<T extends ImageGray<T>>
 
 	// storage for multi-band pixel values
 	protected float[] inputPixel;
+	//CONCURRENT_INLINE // storage for pixel values in each thread
+	//CONCURRENT_INLINE protected final GrowArray<DogArray_F32> storagePixels = new GrowArray<>(DogArray_F32::new);
 
 	// background is composed of bands*2 channels.  even = mean, odd = variance
 	Planar<GrayF32> background;
@@ -93,9 +100,11 @@ public class BackgroundStationaryGaussian_PL<T extends ImageGray<T>>
 		int numBands = background.getNumBands()/2;
 		float minusLearn = 1.0f - learnRate;
 
-
-		int indexBG = 0;
-		for (int y = 0; y < background.height; y++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, background.height, storagePixels, ( pixel, y0, y1 ) -> {
+		int y0 = 0, y1 = background.height;
+		//CONCURRENT_INLINE final float[] inputPixel = BoofMiscOps.checkDeclare(pixel, numBands, false);
+		for (int y = y0; y < y1; y++) {
+			int indexBG = y*background.width;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int end = indexInput + frame.width;
 			while( indexInput < end ) {
@@ -118,6 +127,7 @@ public class BackgroundStationaryGaussian_PL<T extends ImageGray<T>>
 				indexBG++;
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 	@Override
@@ -132,8 +142,11 @@ public class BackgroundStationaryGaussian_PL<T extends ImageGray<T>>
 
 		float adjustedMinimumDifference = minimumDifference*numBands;
 
-		int indexBG = 0;
-		for (int y = 0; y < frame.height; y++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, frame.height, storagePixels, ( pixel, y0, y1 ) -> {
+		int y0 = 0, y1 = frame.height;
+		//CONCURRENT_INLINE final float[] inputPixel = BoofMiscOps.checkDeclare(pixel, numBands, false);
+		for (int y = y0; y < y1; y++) {
+			int indexBG = y*background.width;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int indexSegmented = segmented.startIndex + y*segmented.stride;
 
@@ -177,5 +190,6 @@ public class BackgroundStationaryGaussian_PL<T extends ImageGray<T>>
 				indexBG++;
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 }
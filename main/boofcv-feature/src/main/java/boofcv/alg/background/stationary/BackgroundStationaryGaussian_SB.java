@@ -27,6 +27,8 @@ import boofcv.core.image.GConvertImage;
 import boofcv.core.image.GImageGray;
 import boofcv.struct.image.*;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+
 /**
  * Implementation of {@link BackgroundMovingGaussian} for {@link ImageGray}.
  *
@@ -78,8 +80,9 @@ public class BackgroundStationaryGaussian_SB<T extends ImageGray<T>>
 		GrayF32 backgroundMean = background.getBand(0);
 		GrayF32 backgroundVar = background.getBand(1);
 
-		int indexBG = 0;
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, background.height, y -> {
 		for (int y = 0; y < background.height; y++) {
+			int indexBG = y*background.width;
 			int indexInput = frame.startIndex + y*frame.stride;
 
 			int end = indexInput + frame.width;
@@ -96,6 +99,7 @@ public class BackgroundStationaryGaussian_SB<T extends ImageGray<T>>
 				indexInput++;
 			}
 		}
+		//CONCURRENT_ABOVE });
 	}
 
 	@Override
@@ -110,8 +114,9 @@ public class BackgroundStationaryGaussian_SB<T extends ImageGray<T>>
 		GrayF32 backgroundMean = background.getBand(0);
 		GrayF32 backgroundVar = background.getBand(1);
 
-		int indexBG = 0;
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, frame.height, y -> {
 		for (int y = 0; y < frame.height; y++) {
+			int indexBG = y*background.width;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int indexSegmented = segmented.startIndex + y*segmented.stride;
 
@@ -139,5 +144,6 @@ public class BackgroundStationaryGaussian_SB<T extends ImageGray<T>>
 				indexBG++;
 			}
 		}
+		//CONCURRENT_ABOVE });
 	}
 }
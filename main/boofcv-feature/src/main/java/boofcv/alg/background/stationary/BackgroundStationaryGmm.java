@@ -21,14 +21,23 @@ package boofcv.alg.background.stationary;
 import boofcv.alg.background.BackgroundAlgorithmGmm;
 import boofcv.alg.background.BackgroundGmmCommon;
 import boofcv.alg.background.BackgroundModelStationary;
+import boofcv.struct.RArray2D_F16;
+import boofcv.struct.RArray2D_F32;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
+import org.ddogleg.struct.DogArray_F32;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * <p>Implementation of {@link BackgroundAlgorithmGmm} for stationary images.</p>
  *
+ * <p>If {@link #setCompact compact} is true then the model is stored using 16-bit half precision floats,
+ * cutting its memory in half. Each row is decoded into a float array, updated, then encoded again using
+ * stochastic rounding. Updates are often much smaller than the precision of a half float and would be
+ * lost if rounded to the nearest value, while stochastic rounding keeps them on average. The noise is
+ * derived from the row and number of updates, so results are repeatable and don't depend on threading.</p>
+ *
  * @author Peter Abeles
  * @see BackgroundModelStationary
  */
@@ -36,6 +45,15 @@ public abstract class BackgroundStationaryGmm<T extends ImageBase<T>>
 		extends BackgroundModelStationary<T> implements BackgroundAlgorithmGmm {
 	BackgroundGmmCommon common;
 
+	// If not null then the model is stored here using half precision and common.model isn't used
+	@Nullable RArray2D_F16 compactModel;
+
+	// Storage for a decoded row from the compact model
+	final DogArray_F32 workRow = new DogArray_F32();
+
+	// Number of times the model has been updated. Used to seed stochastic rounding
+	int updateCount;
+
 	protected BackgroundStationaryGmm( float learningPeriod, float decayCoef,
 									   int maxGaussians, ImageType<T> imageType ) {
 		super(imageType);
@@ -45,7 +63,53 @@ public abstract class BackgroundStationaryGmm<T extends ImageBase<T>>
 	@Override
 	public void reset() {
 		common.model.reshape(0, 0);
+		if (compactModel != null)
+			compactModel.reshape(0, 0);
 		common.imageWidth = common.imageHeight = 0;
+		updateCount = 0;
+	}
+
+	/**
+	 * Specifies if the model should be stored using 16-bit half precision floats. This reduces memory by half
+	 * but is slower and adds a small amount of noise to the model. Changing this will reset the model.
+	 */
+	public void setCompact( boolean compact ) {
+		if (compact == isCompact())
+			return;
+
+		// Release memory from the model which isn't being used
+		if (compact) {
+			compactModel = new RArray2D_F16(0, 0);
+			common.model = new RArray2D_F32(0, 0);
+		} else {
+			compactModel = null;
+		}
+		reset();
+	}
+
+	public boolean isCompact() {
+		return compactModel != null;
+	}
+
+	/**
+	 * Returns the array containing the model for the specified row. If compact then the row is decoded into
+	 * the work space.
+	 */
+	protected float[] loadModelRow( int row, DogArray_F32 work ) {
+		if (compactModel == null)
+			return common.model.data[row];
+
+		work.resize(compactModel.cols);
+		compactModel.getRow(row, work.data);
+		return work.data;
+	}
+
+	/**
+	 * Saves changes to a row which was loaded using {@link #loadModelRow}. Only does something if compact.
+	 */
+	protected void saveModelRow( int row, float[] dataRow ) {
+		if (compactModel != null)
+			compactModel.setRow(row, dataRow, updateCount*common.imageHeight + row);
 	}
 
 	@Override
@@ -58,14 +122,26 @@ public abstract class BackgroundStationaryGmm<T extends ImageBase<T>>
 	 */
 	@Override
 	public void updateBackground( T frame, @Nullable GrayU8 mask ) {
+		reshapeModel(frame, mask);
+		updateCount++;
+	}
 
+	/**
+	 * Resizes the model and mask to match the frame. The model is reset if the shape changed.
+	 */
+	protected void reshapeModel( T frame, @Nullable GrayU8 mask ) {
 		// if the image size has changed it's safe to assume it needs to be re-initialized
 		if (common.imageWidth != frame.width || common.imageHeight != frame.height) {
 			common.imageWidth = frame.width;
 			common.imageHeight = frame.height;
 
-			common.model.reshape(frame.height, frame.width*common.modelStride);
-			common.model.zero();
+			if (compactModel == null) {
+				common.model.reshape(frame.height, frame.width*common.modelStride);
+				common.model.zero();
+			} else {
+				compactModel.reshape(frame.height, frame.width*common.modelStride);
+				compactModel.zero();
+			}
 		}
 
 		if (mask != null) {
@@ -25,6 +25,11 @@ import boofcv.struct.image.ImageMultiBand;
 import boofcv.struct.image.ImageType;
 import org.jetbrains.annotations.Nullable;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+//CONCURRENT_INLINE import boofcv.misc.BoofMiscOps;
+//CONCURRENT_INLINE import org.ddogleg.struct.DogArray_F32;
+//CONCURRENT_INLINE import pabeles.concurrency.GrowArray;
+
 /**
  * Implementation of {@link BackgroundAlgorithmGmm} for {@link ImageMultiBand}.
  *
@@ -33,6 +38,9 @@ import org.jetbrains.annotations.Nullable;
 public class BackgroundStationaryGmm_MB<T extends ImageMultiBand<T>>
 		extends BackgroundStationaryGmm<T>
 {
+	//CONCURRENT_INLINE // storage for pixel values and decoded model rows in each thread
+	//CONCURRENT_INLINE final GrowArray<Workspace> storage = new GrowArray<>(Workspace::new);
+
 	/**
 	 *
 	 * @param learningPeriod Specifies how fast it will adjust to changes in the image. Must be greater than zero.
@@ -56,27 +64,34 @@ public class BackgroundStationaryGmm_MB<T extends ImageMultiBand<T>>
 
 		common.inputWrapperMB.wrap(frame);
 		final int pixelStride = common.inputWrapperMB.getPixelStride();
-		for (int row = 0; row < common.imageHeight; row++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, common.imageHeight, storage, ( work, row0, row1 ) -> {
+		int row0 = 0, row1 = common.imageHeight;
+		//CONCURRENT_BELOW final float[] inputPixel = BoofMiscOps.checkDeclare(work.pixel, common.numBands, false);
+		final float[] inputPixel = common.inputPixel;
+		//CONCURRENT_INLINE final DogArray_F32 workRow = work.row;
+		for (int row = row0; row < row1; row++) {
 			int inputIndex = frame.getIndex(0,row);
-			float[] dataRow = common.model.data[row];
+			float[] dataRow = loadModelRow(row, workRow);
 
 			if( mask == null ) {
 				for (int col = 0; col < common.imageWidth; col++, inputIndex += pixelStride) {
-					common.inputWrapperMB.getF(inputIndex,common.inputPixel);
+					common.inputWrapperMB.getF(inputIndex, inputPixel);
 					int modelIndex = col * common.modelStride;
 
-					common.updateMixture(common.inputPixel, dataRow, modelIndex);
+					common.updateMixture(inputPixel, dataRow, modelIndex);
 				}
 			} else {
 				int indexMask = mask.startIndex + row*mask.stride;
 				for (int col = 0; col < common.imageWidth; col++, inputIndex += pixelStride) {
-					common.inputWrapperMB.getF(inputIndex,common.inputPixel);
+					common.inputWrapperMB.getF(inputIndex, inputPixel);
 					int modelIndex = col * common.modelStride;
 
-					mask.data[indexMask++] = (byte)common.updateMixture(common.inputPixel, dataRow, modelIndex);
+					mask.data[indexMask++] = (byte)common.updateMixture(inputPixel, dataRow, modelIndex);
 				}
 			}
+			saveModelRow(row, dataRow);
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 	@Override
@@ -89,17 +104,31 @@ public class BackgroundStationaryGmm_MB<T extends ImageMultiBand<T>>
 		common.unknownValue = unknownValue;
 		common.inputWrapperMB.wrap(frame);
 		final int pixelStride = common.inputWrapperMB.getPixelStride();
-		for (int row = 0; row < common.imageHeight; row++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, common.imageHeight, storage, ( work, row0, row1 ) -> {
+		int row0 = 0, row1 = common.imageHeight;
+		//CONCURRENT_BELOW final float[] inputPixel = BoofMiscOps.checkDeclare(work.pixel, common.numBands, false);
+		final float[] inputPixel = common.inputPixel;
+		//CONCURRENT_INLINE final DogArray_F32 workRow = work.row;
+		for (int row = row0; row < row1; row++) {
 			int indexIn = frame.getIndex(0,row);
 			int indexOut = segmented.startIndex + row*segmented.stride;
-			float[] dataRow = common.model.data[row];
+			float[] dataRow = loadModelRow(row, workRow);
 
 			for (int col = 0; col < common.imageWidth; col++, indexIn += pixelStride) {
-				common.inputWrapperMB.getF(indexIn,common.inputPixel);
+				common.inputWrapperMB.getF(indexIn, inputPixel);
 				int modelIndex = col * common.modelStride;
 
-				segmented.data[indexOut++] = (byte)common.checkBackground(common.inputPixel, dataRow, modelIndex);
+				segmented.data[indexOut++] = (byte)common.checkBackground(inputPixel, dataRow, modelIndex);
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
+
+	//CONCURRENT_INLINE /**
+	//CONCURRENT_INLINE  * Storage used by each thread
+	//CONCURRENT_INLINE  */
+	//CONCURRENT_INLINE static class Workspace {
+	//CONCURRENT_INLINE 	final DogArray_F32 pixel = new DogArray_F32();
+	//CONCURRENT_INLINE 	final DogArray_F32 row = new DogArray_F32();
+	//CONCURRENT_INLINE }
 }
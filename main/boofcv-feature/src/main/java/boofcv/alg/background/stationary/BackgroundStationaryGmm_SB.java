@@ -25,6 +25,10 @@ import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
 import org.jetbrains.annotations.Nullable;
 
+//CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
+//CONCURRENT_INLINE import org.ddogleg.struct.DogArray_F32;
+//CONCURRENT_INLINE import pabeles.concurrency.GrowArray;
+
 /**
  * Implementation of {@link BackgroundAlgorithmGmm} for {@link ImageGray}.
  *
@@ -33,6 +37,9 @@ import org.jetbrains.annotations.Nullable;
 public class BackgroundStationaryGmm_SB<T extends ImageGray<T>>
 		extends BackgroundStationaryGmm<T>
 {
+	//CONCURRENT_INLINE // storage for decoded model rows in each thread
+	//CONCURRENT_INLINE final GrowArray<DogArray_F32> storageRows = new GrowArray<>(DogArray_F32::new);
+
 	/**
 	 *
 	 * @param learningPeriod Specifies how fast it will adjust to changes in the image. Must be greater than zero.
@@ -51,9 +58,11 @@ public class BackgroundStationaryGmm_SB<T extends ImageGray<T>>
 		super.updateBackground(frame, mask);
 
 		common.inputWrapperG.wrap(frame);
-		for (int row = 0; row < common.imageHeight; row++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, common.imageHeight, storageRows, ( workRow, row0, row1 ) -> {
+		int row0 = 0, row1 = common.imageHeight;
+		for (int row = row0; row < row1; row++) {
 			int inputIndex = frame.startIndex + row*frame.stride;
-			float[] dataRow = common.model.data[row];
+			float[] dataRow = loadModelRow(row, workRow);
 
 			if( mask == null ) {
 				for (int col = 0; col < common.imageWidth; col++) {
@@ -71,7 +80,9 @@ public class BackgroundStationaryGmm_SB<T extends ImageGray<T>>
 					mask.data[indexMask++] = (byte)common.updateMixture(pixelValue, dataRow, modelIndex);
 				}
 			}
+			saveModelRow(row, dataRow);
 		}
+		//CONCURRENT_ABOVE }});
 	}
 
 	@Override
@@ -84,10 +95,12 @@ public class BackgroundStationaryGmm_SB<T extends ImageGray<T>>
 
 		common.unknownValue = unknownValue;
 		common.inputWrapperG.wrap(frame);
-		for (int row = 0; row < common.imageHeight; row++) {
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0, common.imageHeight, storageRows, ( workRow, row0, row1 ) -> {
+		int row0 = 0, row1 = common.imageHeight;
+		for (int row = row0; row < row1; row++) {
 			int indexIn = frame.startIndex + row*frame.stride;
 			int indexOut = segmented.startIndex + row*segmented.stride;
-			float[] dataRow = common.model.data[row];
+			float[] dataRow = loadModelRow(row, workRow);
 
 			for (int col = 0; col < common.imageWidth; col++) {
 				float pixelValue = common.inputWrapperG.getF(indexIn++);
@@ -96,5 +109,6 @@ public class BackgroundStationaryGmm_SB<T extends ImageGray<T>>
 				segmented.data[indexOut++] = (byte)common.checkBackground(pixelValue, dataRow, modelIndex);
 			}
 		}
+		//CONCURRENT_ABOVE }});
 	}
 }
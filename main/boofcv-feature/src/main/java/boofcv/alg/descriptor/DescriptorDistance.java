@@ -81,6 +81,48 @@ public class DescriptorDistance {
 		return total;
 	}
 
+	/**
+	 * Euclidean distance squared between two descriptors stored inside of larger arrays,
+	 * e.g. {@link PackedTupleArray_F64}.
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param offsetA Index of the first element in the first descriptor
+	 * @param b Array containing the second descriptor
+	 * @param offsetB Index of the first element in the second descriptor
+	 * @param length Number of elements in a descriptor
+	 * @return Euclidean distance squared
+	 */
+	public static double euclideanSq( double[] a, int offsetA, double[] b, int offsetB, int length ) {
+		double total = 0;
+		for (int i = 0; i < length; i++) {
+			double d = a[offsetA + i] - b[offsetB + i];
+			total += d*d;
+		}
+
+		return total;
+	}
+
+	/**
+	 * Euclidean distance squared between two descriptors stored inside of larger arrays,
+	 * e.g. {@link PackedTupleArray_F32}.
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param offsetA Index of the first element in the first descriptor
+	 * @param b Array containing the second descriptor
+	 * @param offsetB Index of the first element in the second descriptor
+	 * @param length Number of elements in a descriptor
+	 * @return Euclidean distance squared
+	 */
+	public static double euclideanSq( float[] a, int offsetA, float[] b, int offsetB, int length ) {
+		float total = 0;
+		for (int i = 0; i < length; i++) {
+			float d = a[offsetA + i] - b[offsetB + i];
+			total += d*d;
+		}
+
+		return total;
+	}
+
 	/**
 	 * Correlation score
 	 *
@@ -202,6 +244,25 @@ public class DescriptorDistance {
 		return score;
 	}
 
+	/**
+	 * Computes the hamming distance between two binary descriptors stored inside of larger arrays,
+	 * e.g. {@link PackedTupleArray_B}.
+	 *
+	 * @param a Array containing the first descriptor
+	 * @param offsetA Index of the first element in the first descriptor
+	 * @param b Array containing the second descriptor
+	 * @param offsetB Index of the first element in the second descriptor
+	 * @param length Number of ints in a descriptor
+	 * @return The hamming distance
+	 */
+	public static int hamming( int[] a, int offsetA, int[] b, int offsetB, int length ) {
+		int score = 0;
+		for (int i = 0; i < length; i++) {
+			score += hamming(a[offsetA + i] ^ b[offsetB + i]);
+		}
+		return score;
+	}
+
 	/**
 	 * <p>Computes the hamming distance.  A bit = 0 is a match and 1 is not match<p>
 	 *
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.descriptor;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
+import org.ddogleg.struct.DogArray_I8;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>
+ * Approximate nearest neighbor index which combines an inverted file (IVF) with product quantization (PQ) [1].
+ * A coarse quantizer assigns each vector to the list of its closest coarse centroid. The residual between the
+ * vector and the centroid is compressed using a {@link ProductQuantizer}, so only
+ * {@link ProductQuantizer#getNumSubspaces()} bytes and an int are stored for each vector. A query only
+ * searches the {@link #numProbes} lists with the closest centroids using asymmetric distances.
+ * </p>
+ *
+ * <p>
+ * Searches are done using {@link Search}. Each thread should have its own instance so that several queries
+ * can be processed at the same time. Vectors can't be added while searching.
+ * </p>
+ *
+ * <p>
+ * [1] Jegou, Herve, Matthijs Douze, and Cordelia Schmid. "Product quantization for nearest neighbor search."
+ * IEEE transactions on pattern analysis and machine intelligence 33.1 (2010): 117-128.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class InvertedFileProductQuantizer {
+	/** Number of elements in a vector */
+	@Getter final int dof;
+
+	/** Number of inverted lists, i.e. coarse centroids */
+	@Getter final int numLists;
+
+	/** Number of lists which are searched for each query. Larger is more accurate and slower. */
+	@Getter @Setter int numProbes = 4;
+
+	/** Compresses the residual of each vector */
+	@Getter final ProductQuantizer quantizer;
+
+	// Coarse centroids. Element 'i' of centroid 'c' is at c*dof + i
+	final float[] coarse;
+
+	// The inverted lists
+	final DogArray<InvertedList> lists;
+
+	/** Total number of vectors which have been added */
+	@Getter int size;
+
+	/** True if it has been trained */
+	@Getter boolean trained;
+
+	// Storage for the residual when adding a vector
+	final double[] residual;
+
+	/**
+	 * @param dof Number of elements in a vector
+	 * @param numLists Number of inverted lists
+	 * @param numSubspaces Number of PQ sub-spaces. Each vector is compressed into this many bytes.
+	 */
+	public InvertedFileProductQuantizer( int dof, int numLists, int numSubspaces ) {
+		if (numLists <= 0)
+			throw new IllegalArgumentException("numLists must be more than zero");
+		this.dof = dof;
+		this.numLists = numLists;
+		this.quantizer = new ProductQuantizer(dof, numSubspaces);
+		this.coarse = new float[numLists*dof];
+		this.residual = new double[dof];
+		this.lists = new DogArray<>(InvertedList::new);
+		this.lists.resize(numLists);
+	}
+
+	/**
+	 * Learns the coarse centroids and then the product quantizer from their residuals. Any vectors which have
+	 * already been added are removed.
+	 *
+	 * @param vectors Training vectors. A representative subset of what will be added is typically sufficient.
+	 * @param iterations Number of k-means iterations
+	 * @param randomSeed Seed for the random number generator
+	 */
+	public void train( List<double[]> vectors, int iterations, long randomSeed ) {
+		var rand = new Random(randomSeed);
+		ProductQuantizer.kmeans(vectors, 0, dof, numLists, iterations, rand.nextLong(), coarse, 0);
+
+		List<double[]> residuals = new ArrayList<>(vectors.size());
+		for (int i = 0; i < vectors.size(); i++) {
+			double[] v = vectors.get(i);
+			var r = new double[dof];
+			computeResidual(v, closestList(v), r);
+			residuals.add(r);
+		}
+		quantizer.train(residuals, iterations, rand);
+
+		trained = true;
+		reset();
+	}
+
+	/**
+	 * Removes all the vectors which have been added, but keeps what was learned while training
+	 */
+	public void reset() {
+		size = 0;
+		for (int i = 0; i < lists.size; i++) {
+			lists.get(i).reset();
+		}
+	}
+
+	/**
+	 * Compresses the vector and adds it to the index
+	 *
+	 * @param vector The vector being added
+	 * @return The ID assigned to the vector. IDs are assigned sequentially starting from zero.
+	 */
+	public int add( double[] vector ) {
+		if (!trained)
+			throw new IllegalArgumentException("Must train first");
+		int listIdx = closestList(vector);
+		computeResidual(vector, listIdx, residual);
+
+		InvertedList list = lists.get(listIdx);
+		int numSubspaces = quantizer.getNumSubspaces();
+		list.codes.resize(list.codes.size + numSubspaces);
+		quantizer.encode(residual, list.codes.data, list.ids.size*numSubspaces);
+		list.ids.add(size);
+		return size++;
+	}
+
+	/**
+	 * Creates a new search. Each thread needs its own search.
+	 */
+	public Search createSearch() {
+		return new Search();
+	}
+
+	int closestList( double[] vector ) {
+		return ProductQuantizer.closest(vector, 0, dof, coarse, 0, numLists);
+	}
+
+	void computeResidual( double[] vector, int listIdx, double[] residual ) {
+		for (int i = 0; i < dof; i++) {
+			residual[i] = vector[i] - coarse[listIdx*dof + i];
+		}
+	}
+
+	/**
+	 * Finds the nearest neighbors of a query. Not thread safe, but different instances can be used at the same time.
+	 */
+	public class Search {
+		/** ID of the best match and its approximate distance squared. -1 if there is no match */
+		@Getter int bestId;
+		@Getter double bestDistance;
+		/** ID of the second best match and its approximate distance squared. -1 if there is no match */
+		@Getter int secondId;
+		@Getter double secondDistance;
+
+		// Distance of the query to each coarse centroid
+		final double[] coarseDistance = new double[numLists];
+		// Lists which will be searched
+		final int[] probes = new int[numLists];
+		// Distance table for the residual of the query
+		final float[] table = new float[quantizer.getNumSubspaces()*ProductQuantizer.NUM_CENTROIDS];
+		final double[] queryResidual = new double[dof];
+
+		/**
+		 * Searches for the two closest vectors to the query
+		 *
+		 * @param query The query vector
+		 * @return true if a match was found
+		 */
+		public boolean findNearest( double[] query ) {
+			bestId = secondId = -1;
+			bestDistance = secondDistance = Double.MAX_VALUE;
+
+			int numProbes = selectLists(query);
+			int numSubspaces = quantizer.getNumSubspaces();
+			for (int probeIdx = 0; probeIdx < numProbes; probeIdx++) {
+				int listIdx = probes[probeIdx];
+				InvertedList list = lists.get(listIdx);
+				if (list.ids.size == 0)
+					continue;
+
+				computeResidual(query, listIdx, queryResidual);
+				quantizer.computeDistanceTable(queryResidual, table);
+
+				byte[] codes = list.codes.data;
+				for (int i = 0; i < list.ids.size; i++) {
+					double distance = quantizer.distance(table, codes, i*numSubspaces);
+					if (distance < bestDistance) {
+						secondDistance = bestDistance;
+						secondId = bestId;
+						bestDistance = distance;
+						bestId = list.ids.data[i];
+					} else if (distance < secondDistance) {
+						secondDistance = distance;
+						secondId = list.ids.data[i];
+					}
+				}
+			}
+			return bestId >= 0;
+		}
+
+		/**
+		 * Selects the lists which are closest to the query
+		 *
+		 * @return Number of lists which are to be searched
+		 */
+		int selectLists( double[] query ) {
+			int numProbes = Math.min(InvertedFileProductQuantizer.this.numProbes, numLists);
+			for (int c = 0; c < numLists; c++) {
+				double total = 0;
+				for (int i = 0; i < dof; i++) {
+					double d = query[i] - coarse[c*dof + i];
+					total += d*d;
+				}
+				coarseDistance[c] = total;
+			}
+
+			// Insertion sort to find the best lists. numProbes is typically small
+			int found = 0;
+			for (int c = 0; c < numLists; c++) {
+				double d = coarseDistance[c];
+				if (found == numProbes && d >= coarseDistance[probes[found - 1]])
+					continue;
+				int idx = Math.min(found, numProbes - 1);
+				while (idx > 0 && coarseDistance[probes[idx - 1]] > d) {
+					probes[idx] = probes[idx - 1];
+					idx--;
+				}
+				probes[idx] = c;
+				if (found < numProbes)
+					found++;
+			}
+			return found;
+		}
+	}
+
+	/**
+	 * Vectors which belong to a coarse centroid
+	 */
+	static class InvertedList {
+		// ID of each vector
+		final DogArray_I32 ids = new DogArray_I32();
+		// PQ codes of each vector, one after another
+		final DogArray_I8 codes = new DogArray_I8();
+
+		void reset() {
+			ids.reset();
+			codes.reset();
+		}
+	}
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.descriptor;
+
+import lombok.Getter;
+import org.ddogleg.clustering.AssignCluster;
+import org.ddogleg.clustering.ComputeClusters;
+import org.ddogleg.clustering.FactoryClustering;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>
+ * Product Quantization (PQ) [1] compresses a vector by splitting it into several sub-vectors and replacing each
+ * sub-vector by the index of the closest centroid in a codebook that was learned for that sub-space. Every
+ * sub-space has {@link #NUM_CENTROIDS} centroids so each sub-vector is encoded using a single byte.
+ * </p>
+ *
+ * <p>
+ * The distance between an uncompressed query and a compressed vector is approximated with an asymmetric distance
+ * computation. First a table with the distance of each query sub-vector to every centroid is computed,
+ * see {@link #computeDistanceTable}, then the distance to a compressed vector is just a sum of table look ups,
+ * see {@link #distance}.
+ * </p>
+ *
+ * <p>
+ * [1] Jegou, Herve, Matthijs Douze, and Cordelia Schmid. "Product quantization for nearest neighbor search."
+ * IEEE transactions on pattern analysis and machine intelligence 33.1 (2010): 117-128.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ProductQuantizer {
+	/** Number of centroids in each sub-space. This allows a code to be stored in a byte. */
+	public static final int NUM_CENTROIDS = 256;
+
+	/** Number of elements in a vector */
+	@Getter final int dof;
+
+	/** Number of sub-spaces, which is also the number of bytes in a compressed vector */
+	@Getter final int numSubspaces;
+
+	/** Number of elements in each sub-vector */
+	@Getter final int subDof;
+
+	/**
+	 * Centroids for all sub-spaces. Element 'i' in centroid 'c' of sub-space 'm' is stored at
+	 * (m*NUM_CENTROIDS + c)*subDof + i.
+	 */
+	@Getter final float[] centroids;
+
+	/**
+	 * @param dof Number of elements in a vector
+	 * @param numSubspaces Number of sub-spaces. Must evenly divide dof.
+	 */
+	public ProductQuantizer( int dof, int numSubspaces ) {
+		if (numSubspaces <= 0 || dof%numSubspaces != 0)
+			throw new IllegalArgumentException("numSubspaces must evenly divide dof. dof=" + dof +
+					" numSubspaces=" + numSubspaces);
+		this.dof = dof;
+		this.numSubspaces = numSubspaces;
+		this.subDof = dof/numSubspaces;
+		this.centroids = new float[numSubspaces*NUM_CENTROIDS*subDof];
+	}
+
+	/**
+	 * Learns the codebook for each sub-space using k-means
+	 *
+	 * @param vectors Training vectors. Must have at least one.
+	 * @param iterations Maximum number of k-means iterations
+	 * @param rand Random number generator used to create the seed for each sub-space
+	 */
+	public void train( List<double[]> vectors, int iterations, Random rand ) {
+		for (int m = 0; m < numSubspaces; m++) {
+			kmeans(vectors, m*subDof, subDof, NUM_CENTROIDS, iterations, rand.nextLong(),
+					centroids, m*NUM_CENTROIDS*subDof);
+		}
+	}
+
+	/**
+	 * Compresses the vector
+	 *
+	 * @param vector (Input) Vector which is to be compressed
+	 * @param codes (Output) Array which the codes are written to
+	 * @param offset Index in codes that the first code is written to
+	 */
+	public void encode( double[] vector, byte[] codes, int offset ) {
+		for (int m = 0; m < numSubspaces; m++) {
+			codes[offset + m] = (byte)closest(vector, m*subDof, subDof,
+					centroids, m*NUM_CENTROIDS*subDof, NUM_CENTROIDS);
+		}
+	}
+
+	/**
+	 * Reconstructs an approximation of the vector from its codes
+	 *
+	 * @param codes (Input) Array containing the codes
+	 * @param offset Index of the first code
+	 * @param vector (Output) The decoded vector
+	 */
+	public void decode( byte[] codes, int offset, double[] vector ) {
+		for (int m = 0; m < numSubspaces; m++) {
+			int c = codes[offset + m] & 0xFF;
+			int index = (m*NUM_CENTROIDS + c)*subDof;
+			for (int i = 0; i < subDof; i++) {
+				vector[m*subDof + i] = centroids[index + i];
+			}
+		}
+	}
+
+	/**
+	 * Computes the Euclidean distance squared between each query sub-vector and every centroid in its sub-space.
+	 *
+	 * @param query (Input) The query vector
+	 * @param table (Output) Distance table. Must have numSubspaces*NUM_CENTROIDS elements.
+	 */
+	public void computeDistanceTable( double[] query, float[] table ) {
+		for (int m = 0; m < numSubspaces; m++) {
+			int queryOffset = m*subDof;
+			int index = m*NUM_CENTROIDS*subDof;
+			for (int c = 0; c < NUM_CENTROIDS; c++, index += subDof) {
+				double total = 0;
+				for (int i = 0; i < subDof; i++) {
+					double d = query[queryOffset + i] - centroids[index + i];
+					total += d*d;
+				}
+				table[m*NUM_CENTROIDS + c] = (float)total;
+			}
+		}
+	}
+
+	/**
+	 * Approximate Euclidean distance squared between the query used to compute the table and a compressed vector
+	 *
+	 * @param table Distance table from {@link #computeDistanceTable}
+	 * @param codes Array containing the compressed vector
+	 * @param offset Index of the first code
+	 * @return Approximate distance squared
+	 */
+	public float distance( float[] table, byte[] codes, int offset ) {
+		float total = 0;
+		for (int m = 0; m < numSubspaces; m++) {
+			total += table[m*NUM_CENTROIDS + (codes[offset + m] & 0xFF)];
+		}
+		return total;
+	}
+
+	/**
+	 * Runs k-means on a sub-vector of the input vectors. Clustering is done by ddogleg's k-means, which is seeded
+	 * using k-means++. If there are no more points than clusters then each distinct point is a centroid. If fewer
+	 * than k clusters are found, the extra centroids are copies of the last one found. Since {@link #closest}
+	 * always selects the lowest index when there's a tie, the copies are never used.
+	 *
+	 * @param vectors Input vectors
+	 * @param offset Index of the first element in the sub-vector
+	 * @param length Number of elements in the sub-vector
+	 * @param k Number of clusters
+	 * @param iterations Maximum number of k-means iterations
+	 * @param randomSeed Seed used by k-means++ to select the initial centroids
+	 * @param centroids (Output) Array the centroids are written to
+	 * @param centroidOffset Index in centroids the first centroid is written to
+	 */
+	static void kmeans( List<double[]> vectors, int offset, int length, int k, int iterations, long randomSeed,
+						float[] centroids, int centroidOffset ) {
+		if (vectors.isEmpty())
+			throw new IllegalArgumentException("Need at least one vector to train");
+
+		List<double[]> points = new ArrayList<>(vectors.size());
+		for (int i = 0; i < vectors.size(); i++) {
+			points.add(Arrays.copyOfRange(vectors.get(i), offset, offset + length));
+		}
+
+		// There are enough clusters for every point, so each distinct point becomes a centroid
+		if (points.size() <= k) {
+			int found = 0;
+			for (int i = 0; i < points.size(); i++) {
+				double[] p = points.get(i);
+				if (found > 0 && isCentroid(p, centroids, centroidOffset, found))
+					continue;
+				int index = centroidOffset + found*length;
+				for (int j = 0; j < length; j++) {
+					centroids[index + j] = (float)p[j];
+				}
+				found++;
+			}
+			padCentroids(centroids, centroidOffset, length, found, k);
+			return;
+		}
+
+		// A null initializer selects k-means++
+		ComputeClusters<double[]> clusterer = FactoryClustering.kMeans_F64(null, iterations, iterations, 1e-8);
+		clusterer.init(length, randomSeed);
+		clusterer.process(points, k);
+		AssignCluster<double[]> assignment = clusterer.getAssignment();
+
+		// Each centroid is the mean of the points assigned to it
+		int numClusters = assignment.getNumberOfClusters();
+		var sums = new double[numClusters*length];
+		var counts = new int[numClusters];
+		for (int i = 0; i < points.size(); i++) {
+			double[] p = points.get(i);
+			int c = assignment.assign(p);
+			counts[c]++;
+			for (int j = 0; j < length; j++) {
+				sums[c*length + j] += p[j];
+			}
+		}
+
+		// Write the non-empty clusters, then pad with copies of the last one
+		int found = 0;
+		for (int c = 0; c < numClusters; c++) {
+			if (counts[c] == 0)
+				continue;
+			int index = centroidOffset + found*length;
+			for (int j = 0; j < length; j++) {
+				centroids[index + j] = (float)(sums[c*length + j]/counts[c]);
+			}
+			found++;
+		}
+		padCentroids(centroids, centroidOffset, length, found, k);
+	}
+
+	/**
+	 * Returns true if the point is identical to one of the first 'count' centroids after rounding to float
+	 */
+	private static boolean isCentroid( double[] point, float[] centroids, int centroidOffset, int count ) {
+		int length = point.length;
+		for (int c = 0; c < count; c++) {
+			int index = centroidOffset + c*length;
+			int j = 0;
+			while (j < length && centroids[index + j] == (float)point[j]) {
+				j++;
+			}
+			if (j == length)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Fills in the unused centroids with copies of the last valid one
+	 */
+	private static void padCentroids( float[] centroids, int centroidOffset, int length, int found, int k ) {
+		int last = centroidOffset + (found - 1)*length;
+		for (int c = found; c < k; c++) {
+			System.arraycopy(centroids, last, centroids, centroidOffset + c*length, length);
+		}
+	}
+
+	/**
+	 * Returns the index of the closest centroid to the sub-vector
+	 */
+	static int closest( double[] vector, int offset, int length, float[] centroids, int centroidOffset, int k ) {
+		int best = 0;
+		double bestDistance = Double.MAX_VALUE;
+		for (int c = 0; c < k; c++) {
+			int index = centroidOffset + c*length;
+			double total = 0;
+			for (int i = 0; i < length && total < bestDistance; i++) {
+				double d = vector[offset + i] - centroids[index + i];
+				total += d*d;
+			}
+			if (total < bestDistance) {
+				bestDistance = total;
+				best = c;
+			}
+		}
+		return best;
+	}
+}
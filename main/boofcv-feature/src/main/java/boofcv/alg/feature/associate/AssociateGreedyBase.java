@@ -19,6 +19,7 @@
 package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.abst.feature.associate.ScoreAssociationPacked;
 import lombok.Getter;
 import lombok.Setter;
 import org.ddogleg.struct.DogArray_F64;
@@ -111,6 +112,15 @@ public abstract class AssociateGreedyBase<D> {
 		}
 	}
 
+	/**
+	 * Returns the score function as one which can process packed arrays. An exception is thrown if it can't.
+	 */
+	protected ScoreAssociationPacked<D> getScorePacked() {
+		if (!(score instanceof ScoreAssociationPacked))
+			throw new IllegalArgumentException("Score must implement ScoreAssociationPacked to use packed arrays");
+		return (ScoreAssociationPacked<D>)score;
+	}
+
 	public void setMaxFitError(double maxFitError) {
 		if( maxFitError <= 0.0 )
 			this.maxFitError = Double.MAX_VALUE;
@@ -20,9 +20,11 @@ package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.ScoreAssociation;
 import boofcv.struct.ConfigLength;
+import boofcv.struct.feature.PackedTupleArray;
 import georegression.struct.point.Point2D_F64;
 import lombok.Getter;
 import org.ddogleg.struct.FastAccess;
+import org.jetbrains.annotations.Nullable;
 import pabeles.concurrency.GrowArray;
 
 /**
@@ -49,6 +51,9 @@ public abstract class AssociateGreedyBase2D<D> extends AssociateGreedyBase<D> {
 	protected FastAccess<D> descSrc;
 	protected FastAccess<Point2D_F64> locationDst;
 	protected FastAccess<D> descDst;
+	// packed input descriptions. Only one of the descriptor list and packed array is set for each side
+	protected @Nullable PackedTupleArray<D> packedSrc;
+	protected @Nullable PackedTupleArray<D> packedDst;
 
 	/**
 	 * Specifies score mechanism
@@ -81,6 +86,21 @@ public abstract class AssociateGreedyBase2D<D> extends AssociateGreedyBase<D> {
 
 		this.locationSrc = location;
 		this.descSrc = descriptions;
+		this.packedSrc = null;
+	}
+
+	/**
+	 * Specifies the source features with descriptors stored in a packed array. The score function must
+	 * implement {@link boofcv.abst.feature.associate.ScoreAssociationPacked}.
+	 */
+	public void setSource( FastAccess<Point2D_F64> location, PackedTupleArray<D> descriptions ) {
+		if (location.size() != descriptions.size())
+			throw new IllegalArgumentException(
+					"The two lists must be the same size. " + location.size + " vs " + descriptions.size());
+
+		this.locationSrc = location;
+		this.packedSrc = descriptions;
+		this.descSrc = null;
 	}
 
 	public void setDestination( FastAccess<Point2D_F64> location, FastAccess<D> descriptions ) {
@@ -89,6 +109,21 @@ public abstract class AssociateGreedyBase2D<D> extends AssociateGreedyBase<D> {
 
 		this.locationDst = location;
 		this.descDst = descriptions;
+		this.packedDst = null;
+	}
+
+	/**
+	 * Specifies the destination features with descriptors stored in a packed array. The score function must
+	 * implement {@link boofcv.abst.feature.associate.ScoreAssociationPacked}.
+	 */
+	public void setDestination( FastAccess<Point2D_F64> location, PackedTupleArray<D> descriptions ) {
+		if (location.size() != descriptions.size())
+			throw new IllegalArgumentException(
+					"The two lists must be the same size. " + location.size + " vs " + descriptions.size());
+
+		this.locationDst = location;
+		this.packedDst = descriptions;
+		this.descDst = null;
 	}
 
 	/**
@@ -19,6 +19,8 @@
 package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.abst.feature.associate.ScoreAssociationPacked;
+import boofcv.struct.feature.PackedTupleArray;
 
 //CONCURRENT_INLINE import boofcv.concurrency.BoofConcurrency;
 
@@ -48,23 +50,42 @@ public class AssociateGreedyBruteForce2D<D> extends AssociateGreedyBase2D<D> {
 	 */
 	@Override
 	public void associate() {
-		setupForAssociate(descSrc.size, descDst.size);
+		if (packedSrc == null && packedDst == null) {
+			associate(descSrc.size, descDst.size,
+					( idxSrc, idxDst ) -> score.score(descSrc.data[idxSrc], descDst.data[idxDst]));
+			return;
+		}
+
+		if (packedSrc == null || packedDst == null)
+			throw new IllegalArgumentException("Source and destination descriptors must both be packed");
+		final PackedTupleArray<D> src = packedSrc;
+		final PackedTupleArray<D> dst = packedDst;
+		final ScoreAssociationPacked<D> scorePacked = getScorePacked();
+		associate(src.size(), dst.size(), ( idxSrc, idxDst ) -> scorePacked.score(src, idxSrc, dst, idxDst));
+	}
+
+	/**
+	 * Greedy association shared by list and packed descriptors
+	 *
+	 * @param sizeSrc Number of source features
+	 * @param sizeDst Number of destination features
+	 * @param scorePair Computes the fit score between a source and destination feature
+	 */
+	void associate( final int sizeSrc, final int sizeDst, final ScorePair scorePair ) {
+		setupForAssociate(sizeSrc, sizeDst);
 
 		final double ratioTest = this.ratioTest;
 
-		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0,descSrc.size,distances, (distanceFunction,idx0,idx1) -> {
-		int idx0 = 0, idx1 = descSrc.size;
+		//CONCURRENT_BELOW BoofConcurrency.loopBlocks(0,sizeSrc,distances, (distanceFunction,idx0,idx1) -> {
+		int idx0 = 0, idx1 = sizeSrc;
 		for (int idxSrc = idx0; idxSrc < idx1; idxSrc++) {
 			distanceFunction.setSource(idxSrc, locationSrc.get(idxSrc));
-			D a = descSrc.data[idxSrc];
 			double bestScore = maxFitError;
 			double secondBest = bestScore;
 			int bestIndex = -1;
 
-			final int workIdx = idxSrc*descDst.size;
-			for (int idxDst = 0; idxDst < descDst.size; idxDst++) {
-				D b = descDst.data[idxDst];
-
+			final int workIdx = idxSrc*sizeDst;
+			for (int idxDst = 0; idxDst < sizeDst; idxDst++) {
 				// compute distance between the two features and don't even consider if too far apart
 				double distance = distanceFunction.distance(idxDst, locationDst.get(idxDst));
 				if (distance > maxDistanceUnits) {
@@ -72,7 +93,7 @@ public class AssociateGreedyBruteForce2D<D> extends AssociateGreedyBase2D<D> {
 					continue;
 				}
 
-				double fit = score.score(a, b);
+				double fit = scorePair.score(idxSrc, idxDst);
 				scoreMatrix.set(workIdx + idxDst, fit);
 
 				if (fit <= bestScore) {
@@ -84,7 +105,7 @@ public class AssociateGreedyBruteForce2D<D> extends AssociateGreedyBase2D<D> {
 
 			if (ratioTest < 1.0 && bestIndex != -1 && bestScore != 0.0) {
 				// the second best could lie after the best was seen
-				for (int j = bestIndex + 1; j < descDst.size; j++) {
+				for (int j = bestIndex + 1; j < sizeDst; j++) {
 					double fit = scoreMatrix.get(workIdx + j);
 					if (fit < secondBest) {
 						secondBest = fit;
@@ -100,11 +121,19 @@ public class AssociateGreedyBruteForce2D<D> extends AssociateGreedyBase2D<D> {
 		//CONCURRENT_ABOVE }});
 
 		if (backwardsValidation) {
-			//CONCURRENT_BELOW BoofConcurrency.loopFor(0, descSrc.size, i -> {
-			for (int i = 0; i < descSrc.size; i++) {
-				forwardsBackwards(i, descSrc.size, descDst.size);
+			//CONCURRENT_BELOW BoofConcurrency.loopFor(0, sizeSrc, i -> {
+			for (int i = 0; i < sizeSrc; i++) {
+				forwardsBackwards(i, sizeSrc, sizeDst);
 			}
 			//CONCURRENT_ABOVE });
 		}
 	}
+
+	/**
+	 * Computes the fit score between the source and destination features at the specified indexes
+	 */
+	@FunctionalInterface
+	interface ScorePair {
+		double score( int idxSrc, int idxDst );
+	}
 }
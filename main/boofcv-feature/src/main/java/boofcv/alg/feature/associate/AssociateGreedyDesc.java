@@ -19,6 +19,8 @@
 package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.abst.feature.associate.ScoreAssociationPacked;
+import boofcv.struct.feature.PackedTupleArray;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.ddogleg.struct.FastAccess;
 
@@ -112,4 +114,57 @@ public class AssociateGreedyDesc<D> extends AssociateGreedyDescBase<D> {
 			//CONCURRENT_ABOVE });
 		}
 	}
+
+	@Override
+	public void associate( final PackedTupleArray<D> src, final PackedTupleArray<D> dst ) {
+		final int sizeSrc = src.size();
+		final int sizeDst = dst.size();
+		setupForAssociate(sizeSrc, sizeDst);
+
+		final ScoreAssociationPacked<D> scorePacked = getScorePacked();
+		final double ratioTest = this.ratioTest;
+
+		//CONCURRENT_BELOW BoofConcurrency.loopFor(0, sizeSrc, i -> {
+		for (int i = 0; i < sizeSrc; i++) {
+			double bestScore = maxFitError;
+			double secondBest = bestScore;
+			int bestIndex = -1;
+
+			final int workIdx = i*sizeDst;
+			for (int j = 0; j < sizeDst; j++) {
+				double fit = scorePacked.score(src, i, dst, j);
+				scoreMatrix.data[workIdx + j] = fit;
+
+				if (fit <= bestScore) {
+					bestIndex = j;
+					secondBest = bestScore;
+					bestScore = fit;
+				}
+			}
+
+			if (ratioTest < 1.0 && bestIndex != -1 && bestScore != 0.0) {
+				// the second best could lie after the best was seen
+				for (int j = bestIndex + 1; j < sizeDst; j++) {
+					double fit = scoreMatrix.data[workIdx + j];
+					if (fit < secondBest) {
+						secondBest = fit;
+					}
+				}
+				pairs.data[i] = secondBest*ratioTest >= bestScore ? bestIndex : -1;
+			} else {
+				pairs.data[i] = bestIndex;
+			}
+
+			fitQuality.data[i] = bestScore;
+		}
+		//CONCURRENT_ABOVE });
+
+		if (backwardsValidation) {
+			//CONCURRENT_BELOW BoofConcurrency.loopFor(0, sizeSrc, i -> {
+			for (int i = 0; i < sizeSrc; i++) {
+				forwardsBackwards(i, sizeSrc, sizeDst);
+			}
+			//CONCURRENT_ABOVE });
+		}
+	}
 }
@@ -19,6 +19,8 @@
 package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.abst.feature.associate.ScoreAssociationPacked;
+import boofcv.struct.feature.PackedTupleArray;
 import org.ddogleg.struct.FastAccess;
 
 /**
@@ -39,4 +41,14 @@ public abstract class AssociateGreedyDescBase<D> extends AssociateGreedyBase<D>{
 	 */
 	public abstract void associate(FastAccess<D> src , FastAccess<D> dst );
 
+	/**
+	 * Associates two sets of descriptors which are stored inside of packed arrays. Produces the same results
+	 * as {@link #associate(FastAccess, FastAccess)} but without accessing descriptor objects. The score function
+	 * must implement {@link ScoreAssociationPacked}.
+	 *
+	 * @param src Source descriptors.
+	 * @param dst Destination descriptors.
+	 */
+	public abstract void associate( PackedTupleArray<D> src, PackedTupleArray<D> dst );
+
 }
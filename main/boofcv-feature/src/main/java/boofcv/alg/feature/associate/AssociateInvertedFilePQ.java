@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.AssociateDescription;
+import boofcv.alg.descriptor.InvertedFileProductQuantizer;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.TupleDesc_F64;
+import lombok.Getter;
+import lombok.Setter;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_F64;
+import org.ddogleg.struct.DogArray_I32;
+import org.ddogleg.struct.FastAccess;
+import pabeles.concurrency.GrowArray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Approximate association using an {@link InvertedFileProductQuantizer}. Source descriptors are compressed and
+ * stored in the index, which requires only a few bytes per descriptor, and each destination descriptor is matched
+ * to its approximate nearest neighbor. This is intended for matching against a very large set of source
+ * descriptors, e.g. a map used for localization.
+ * </p>
+ *
+ * <p>
+ * The index is trained on the first source list if it hasn't already been trained. When matching against a fixed
+ * map it's more efficient to add the map directly to {@link #getIndex()} and not call {@link #setSource}, then the
+ * source features are the vectors in the index and their index is the ID they were assigned. Destination features
+ * are processed in parallel if concurrency is turned on.
+ * </p>
+ *
+ * <p>
+ * Like {@link AssociateNearestNeighbor}, each destination feature is matched to a single source feature, but
+ * multiple destination features can be matched to the same source feature. Scores are approximate Euclidean
+ * distance squared.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class AssociateInvertedFilePQ implements AssociateDescription<TupleDesc_F64> {
+	/** The index that source features are added to */
+	@Getter final InvertedFileProductQuantizer index;
+
+	/** A match is only accepted if the ratio of the best and second best distance is less than this value */
+	@Getter @Setter double scoreRatioThreshold = 1.0;
+
+	/** Number of k-means iterations used when training the index */
+	@Getter @Setter int trainingIterations = 10;
+
+	/** Seed for the random number generator used when training */
+	@Getter @Setter long randomSeed = 0xDEADBEEF;
+
+	// maximum distance squared between two points. Disabled if <= 0
+	double maxDistance = -1;
+
+	// Destination features
+	FastAccess<TupleDesc_F64> listDst;
+
+	// Best match for each destination feature. -1 if no match
+	final DogArray_I32 bestSrc = new DogArray_I32();
+	final DogArray_F64 bestScore = new DogArray_F64();
+
+	// Searches for each thread
+	final GrowArray<InvertedFileProductQuantizer.Search> searches;
+
+	// List of final associated points
+	final DogArray<AssociatedIndex> matches = new DogArray<>(100, AssociatedIndex::new);
+
+	// creates a list of unassociated features from the list of matches
+	final FindUnassociated unassociated = new FindUnassociated();
+
+	public AssociateInvertedFilePQ( InvertedFileProductQuantizer index ) {
+		this.index = index;
+		this.searches = new GrowArray<>(index::createSearch);
+	}
+
+	/**
+	 * Removes everything from the index, trains it if needed, then adds all the source features to it. If the
+	 * list is empty then training is skipped and nothing will be associated.
+	 */
+	@Override
+	public void setSource( FastAccess<TupleDesc_F64> listSrc ) {
+		if (!index.isTrained() && listSrc.size > 0) {
+			List<double[]> vectors = new ArrayList<>(listSrc.size);
+			for (int i = 0; i < listSrc.size; i++) {
+				vectors.add(listSrc.get(i).value);
+			}
+			index.train(vectors, trainingIterations, randomSeed);
+		}
+
+		index.reset();
+		for (int i = 0; i < listSrc.size; i++) {
+			index.add(listSrc.get(i).value);
+		}
+	}
+
+	@Override
+	public void setDestination( FastAccess<TupleDesc_F64> listDst ) {
+		this.listDst = listDst;
+	}
+
+	@Override
+	public void associate() {
+		bestSrc.resize(listDst.size);
+		bestScore.resize(listDst.size);
+
+		if (BoofConcurrency.USE_CONCURRENT) {
+			BoofConcurrency.loopBlocks(0, listDst.size, searches, ( search, idx0, idx1 ) -> {
+				for (int i = idx0; i < idx1; i++) {
+					findBest(search, i);
+				}
+			});
+		} else {
+			searches.reset();
+			InvertedFileProductQuantizer.Search search = searches.grow();
+			for (int i = 0; i < listDst.size; i++) {
+				findBest(search, i);
+			}
+		}
+
+		matches.reset();
+		for (int i = 0; i < listDst.size; i++) {
+			if (bestSrc.data[i] >= 0)
+				matches.grow().setTo(bestSrc.data[i], i, bestScore.data[i]);
+		}
+	}
+
+	/**
+	 * Finds the best match for a destination feature and applies the ratio and max distance tests
+	 */
+	void findBest( InvertedFileProductQuantizer.Search search, int dstIdx ) {
+		bestSrc.data[dstIdx] = -1;
+		if (!search.findNearest(listDst.get(dstIdx).value))
+			return;
+
+		double best = search.getBestDistance();
+		if (maxDistance > 0 && best > maxDistance)
+			return;
+
+		// Distances are squared so take the square root when computing the ratio
+		if (scoreRatioThreshold < 1.0 && search.getSecondId() >= 0 &&
+				Math.sqrt(best) > scoreRatioThreshold*Math.sqrt(search.getSecondDistance()))
+			return;
+
+		bestSrc.data[dstIdx] = search.getBestId();
+		bestScore.data[dstIdx] = best;
+	}
+
+	@Override
+	public DogArray<AssociatedIndex> getMatches() {
+		return matches;
+	}
+
+	@Override
+	public DogArray_I32 getUnassociatedSource() {
+		return unassociated.checkSource(matches, index.getSize());
+	}
+
+	@Override
+	public DogArray_I32 getUnassociatedDestination() {
+		return unassociated.checkDestination(matches, listDst.size);
+	}
+
+	@Override
+	public void setMaxScoreThreshold( double score ) {
+		this.maxDistance = score;
+	}
+
+	@Override
+	public MatchScoreType getScoreType() {
+		return MatchScoreType.NORM_ERROR;
+	}
+
+	@Override
+	public boolean uniqueSource() {
+		return false;
+	}
+
+	@Override
+	public boolean uniqueDestination() {
+		return true;
+	}
+}
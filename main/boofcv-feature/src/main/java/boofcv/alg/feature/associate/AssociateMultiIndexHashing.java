@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.AssociateDescription;
+import boofcv.alg.descriptor.DescriptorDistance;
+import boofcv.struct.ConfigLength;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray_B;
+import boofcv.struct.feature.TupleDesc_B;
+import lombok.Getter;
+import lombok.Setter;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
+import org.ddogleg.struct.FastAccess;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Associates binary descriptors using Multi-Index Hashing [1]. Each descriptor is split into several substrings
+ * and a hash table is built for each substring using the source descriptors. If two descriptors are within
+ * a hamming distance of r then, by the pigeon hole principle, at least one of their m substrings must be within
+ * a distance of floor(r/m). Each destination descriptor is matched by looking up all the keys within that distance
+ * in each table and then computing the full hamming distance of the candidates. This finds the exact same best
+ * match as a brute force search, for all matches within the max distance, while only examining a small fraction
+ * of the source descriptors. If the tables can't prune enough candidates it falls back to an exhaustive search.
+ * </p>
+ *
+ * <p>
+ * Like {@link AssociateNearestNeighbor}, source features are indexed and each destination feature is matched to its
+ * best source feature. Multiple destination features can be matched to the same source feature. The ratio test
+ * is conservative. If the second best match is outside the max distance then the max distance plus one is used
+ * as the second best score.
+ * </p>
+ *
+ * <p>
+ * [1] Norouzi, Mohammad, Ali Punjani, and David J. Fleet. "Fast search in hamming space with multi-index hashing."
+ * 2012 IEEE Conference on Computer Vision and Pattern Recognition. IEEE, 2012.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class AssociateMultiIndexHashing implements AssociateDescription<TupleDesc_B> {
+	/**
+	 * Maximum hamming distance between two associated descriptors. If relative then it's a fraction of the
+	 * number of bits in the descriptor.
+	 */
+	public final @Getter ConfigLength maxDistance = ConfigLength.relative(0.15, 1);
+
+	/** Number of bits in each hash table key. If &le; 0 it's selected using the number of source features. */
+	@Getter @Setter int bitsPerTable = 0;
+
+	/** A match is only accepted if the best score divided by the second best score is &le; this value */
+	@Getter @Setter double scoreRatioThreshold = 1.0;
+
+	// Copy of the source descriptors
+	PackedTupleArray_B packedSrc = new PackedTupleArray_B(1);
+
+	// One hash table for each substring
+	final DogArray<Table> tables = new DogArray<>(Table::new);
+
+	// Destination features being matched
+	FastAccess<TupleDesc_B> listDst;
+
+	// Radius of the search in the full descriptor and in each table
+	int radius;
+	int radiusTable;
+	// If true then every source feature is checked
+	boolean exhaustive;
+
+	// Used to avoid checking the same source feature twice for a single destination feature
+	int[] visited = new int[0];
+	int visitedMarker;
+
+	// Best and second best matches for the current destination feature
+	int bestIndex;
+	int bestScore;
+	int secondScore;
+
+	// Storage for keys when building the tables
+	DogArray_I32 keys = new DogArray_I32();
+
+	// List of final associated points
+	final DogArray<AssociatedIndex> matches = new DogArray<>(100, AssociatedIndex::new);
+
+	// creates a list of unassociated features from the list of matches
+	final FindUnassociated unassociated = new FindUnassociated();
+
+	@Override
+	public void setSource( FastAccess<TupleDesc_B> listSrc ) {
+		int numBits = listSrc.size > 0 ? listSrc.get(0).numBits : 1;
+		if (packedSrc.getNumBits() != numBits)
+			packedSrc = new PackedTupleArray_B(numBits);
+		packedSrc.reset();
+		packedSrc.reserve(listSrc.size);
+		for (int i = 0; i < listSrc.size; i++) {
+			packedSrc.append(listSrc.get(i));
+		}
+
+		int numSrc = packedSrc.size();
+		if (visited.length < numSrc)
+			visited = new int[numSrc];
+		Arrays.fill(visited, 0);
+		visitedMarker = 0;
+
+		// Hash all the bits that are used when computing the hamming distance
+		int totalBits = packedSrc.getNumInts()*32;
+		int keyBits = bitsPerTable > 0 ? bitsPerTable : selectBitsPerTable(numSrc);
+		if (keyBits > 24)
+			throw new IllegalArgumentException("bitsPerTable is too large and would require too much memory");
+		keyBits = Math.min(keyBits, totalBits);
+		int numTables = (totalBits + keyBits - 1)/keyBits;
+
+		tables.reset();
+		for (int tableIdx = 0; tableIdx < numTables; tableIdx++) {
+			Table table = tables.grow();
+			table.bitOffset = tableIdx*keyBits;
+			table.numBits = Math.min(keyBits, totalBits - table.bitOffset);
+			buildTable(table);
+		}
+	}
+
+	/**
+	 * Selects the key size so that on average a bucket will have about one element in it
+	 */
+	static int selectBitsPerTable( int numSrc ) {
+		return Math.max(4, Math.min(16, 32 - Integer.numberOfLeadingZeros(numSrc)));
+	}
+
+	/**
+	 * Sorts the source features by their key using a counting sort.
+	 */
+	void buildTable( Table table ) {
+		int numSrc = packedSrc.size();
+		int numInts = packedSrc.getNumInts();
+		int[] data = packedSrc.data.data;
+
+		keys.resize(numSrc);
+		for (int i = 0; i < numSrc; i++) {
+			keys.data[i] = substring(data, i*numInts, table.bitOffset, table.numBits);
+		}
+
+		// Count how many are in each bucket, then convert that into the index of the first element in a bucket
+		int numBuckets = 1 << table.numBits;
+		table.bucketStart.resize(numBuckets + 1);
+		table.bucketStart.fill(0);
+		for (int i = 0; i < numSrc; i++) {
+			table.bucketStart.data[keys.data[i] + 1]++;
+		}
+		for (int i = 1; i <= numBuckets; i++) {
+			table.bucketStart.data[i] += table.bucketStart.data[i - 1];
+		}
+
+		// Add the elements to each bucket. The start is shifted temporarily, then shifted back
+		table.members.resize(numSrc);
+		for (int i = 0; i < numSrc; i++) {
+			table.members.data[table.bucketStart.data[keys.data[i]]++] = i;
+		}
+		for (int i = numBuckets; i > 0; i--) {
+			table.bucketStart.data[i] = table.bucketStart.data[i - 1];
+		}
+		table.bucketStart.data[0] = 0;
+	}
+
+	@Override
+	public void setDestination( FastAccess<TupleDesc_B> listDst ) {
+		this.listDst = listDst;
+	}
+
+	@Override
+	public void associate() {
+		matches.reset();
+		if (packedSrc.size() == 0)
+			return;
+
+		radius = maxDistance.computeI(packedSrc.getNumBits());
+		radiusTable = radius/tables.size;
+
+		// See if it's faster to just check everything
+		long probes = 0;
+		for (int i = 0; i < tables.size; i++) {
+			probes += countKeysWithinRadius(tables.get(i).numBits, radiusTable);
+		}
+		exhaustive = probes >= packedSrc.size();
+
+		for (int dstIdx = 0; dstIdx < listDst.size; dstIdx++) {
+			TupleDesc_B desc = listDst.get(dstIdx);
+			if (desc.numBits != packedSrc.getNumBits())
+				throw new IllegalArgumentException("Destination descriptor has a different number of bits");
+
+			searchBest(desc.data);
+			if (bestIndex < 0)
+				continue;
+			if (scoreRatioThreshold < 1.0 && bestScore > scoreRatioThreshold*secondScore)
+				continue;
+			matches.grow().setTo(bestIndex, dstIdx, bestScore);
+		}
+	}
+
+	/**
+	 * Finds the best and second best source feature within the radius
+	 */
+	void searchBest( int[] query ) {
+		bestIndex = -1;
+		bestScore = radius + 1;
+		secondScore = radius + 1;
+
+		if (exhaustive) {
+			for (int srcIdx = 0; srcIdx < packedSrc.size(); srcIdx++) {
+				checkCandidate(srcIdx, query);
+			}
+			return;
+		}
+
+		// Start a new search. Handle the very rare situation where the marker overflows
+		if (++visitedMarker == Integer.MAX_VALUE) {
+			Arrays.fill(visited, 0);
+			visitedMarker = 1;
+		}
+
+		for (int tableIdx = 0; tableIdx < tables.size; tableIdx++) {
+			Table table = tables.get(tableIdx);
+			int key = substring(query, 0, table.bitOffset, table.numBits);
+			probe(table, key, 0, radiusTable, query);
+		}
+	}
+
+	/**
+	 * Recursively checks every key which is within the specified number of bit flips
+	 */
+	void probe( Table table, int key, int firstBit, int flipsLeft, int[] query ) {
+		int idx0 = table.bucketStart.data[key];
+		int idx1 = table.bucketStart.data[key + 1];
+		for (int i = idx0; i < idx1; i++) {
+			int srcIdx = table.members.data[i];
+			if (visited[srcIdx] == visitedMarker)
+				continue;
+			visited[srcIdx] = visitedMarker;
+			checkCandidate(srcIdx, query);
+		}
+
+		if (flipsLeft == 0)
+			return;
+		for (int bit = firstBit; bit < table.numBits; bit++) {
+			probe(table, key ^ (1 << bit), bit + 1, flipsLeft - 1, query);
+		}
+	}
+
+	/**
+	 * Computes the full hamming distance and updates the best matches
+	 */
+	void checkCandidate( int srcIdx, int[] query ) {
+		int numInts = packedSrc.getNumInts();
+		int distance = DescriptorDistance.hamming(packedSrc.data.data, srcIdx*numInts, query, 0, numInts);
+		if (distance < bestScore) {
+			secondScore = bestScore;
+			bestScore = distance;
+			bestIndex = srcIdx;
+		} else if (distance < secondScore) {
+			secondScore = distance;
+		}
+	}
+
+	/**
+	 * Extracts a sequence of bits from a binary descriptor. Bit 'i' is stored in data[i/32] at bit i%32.
+	 *
+	 * @param data Array containing the descriptor
+	 * @param offset Index of the first int in the descriptor
+	 * @param bitOffset The first bit in the substring
+	 * @param length Number of bits in the substring. &le; 32
+	 * @return The substring
+	 */
+	static int substring( int[] data, int offset, int bitOffset, int length ) {
+		int word = offset + bitOffset/32;
+		int shift = bitOffset%32;
+		long bits = data[word] & 0xFFFFFFFFL;
+		if (shift + length > 32)
+			bits |= (data[word + 1] & 0xFFFFFFFFL) << 32;
+		return (int)((bits >>> shift) & ((1L << length) - 1));
+	}
+
+	/**
+	 * Number of keys with the specified number of bits that are within the hamming radius of a key
+	 */
+	static long countKeysWithinRadius( int numBits, int radius ) {
+		long total = 0;
+		long combinations = 1;
+		for (int k = 0; k <= Math.min(radius, numBits); k++) {
+			total += combinations;
+			combinations = combinations*(numBits - k)/(k + 1);
+		}
+		return total;
+	}
+
+	@Override
+	public DogArray<AssociatedIndex> getMatches() {
+		return matches;
+	}
+
+	@Override
+	public DogArray_I32 getUnassociatedSource() {
+		return unassociated.checkSource(matches, packedSrc.size());
+	}
+
+	@Override
+	public DogArray_I32 getUnassociatedDestination() {
+		return unassociated.checkDestination(matches, listDst.size);
+	}
+
+	/**
+	 * Sets the max hamming distance to the specified number of bits. If &le; 0 then every bit can be different.
+	 */
+	@Override
+	public void setMaxScoreThreshold( double score ) {
+		if (score <= 0)
+			maxDistance.setRelative(1.0, 0);
+		else
+			maxDistance.setFixed(score);
+	}
+
+	@Override
+	public MatchScoreType getScoreType() {
+		return MatchScoreType.NORM_ERROR;
+	}
+
+	@Override
+	public boolean uniqueSource() {
+		return false;
+	}
+
+	@Override
+	public boolean uniqueDestination() {
+		return true;
+	}
+
+	/**
+	 * Hash table for one substring. Source features are sorted by key so that all the features in a bucket
+	 * are stored next to each other.
+	 */
+	static class Table {
+		// First bit in the substring and the number of bits
+		int bitOffset;
+		int numBits;
+		// Index of the first member in each bucket. size = 2^numBits + 1
+		final DogArray_I32 bucketStart = new DogArray_I32();
+		// Index of source features sorted by bucket
+		final DogArray_I32 members = new DogArray_I32();
+	}
+}
@@ -63,6 +63,9 @@ public class CompleteSift extends SiftDetector
 	GrayF32 derivX = new GrayF32(1,1);
 	GrayF32 derivY = new GrayF32(1,1);
 
+	// detections in the current scale which have yet to be described
+	FastArray<ScalePoint> scaleDetections = new FastArray<>(ScalePoint.class);
+
 	/**
 	 * Configures SIFT
 	 *
@@ -103,32 +106,58 @@ public class CompleteSift extends SiftDetector
 		derivY.reshape(input.width,input.height);
 		gradient.process(input,derivX,derivY);
 
+		// find all the features in this scale first then describe them
+		scaleDetections.reset();
+		super.detectFeatures(scaleIndex);
+		describeDetections();
+	}
+
+	@Override
+	protected void handleDetection(ScalePoint p) {
+		scaleDetections.add(p);
+	}
+
+	/**
+	 * Estimates the orientations of all the features detected in the current scale and describes them
+	 */
+	protected void describeDetections() {
 		// set up the orientation and description algorithms
 		orientation.setImageGradient(derivX,derivY);
 		describe.setImageGradient(derivX,derivY);
 
-		super.detectFeatures(scaleIndex);
+		for (int detectionIdx = 0; detectionIdx < scaleDetections.size; detectionIdx++) {
+			ScalePoint p = scaleDetections.get(detectionIdx);
+
+			// find potential orientations first
+			orientation.process(p.pixel.x/pixelScaleToInput, p.pixel.y/pixelScaleToInput, p.scale/pixelScaleToInput);
+
+			// describe each feature
+			DogArray_F64 angles = orientation.getOrientations();
+			for (int i = 0; i < angles.size; i++) {
+				orientations.add(angles.get(i));
+				locations.add(p);
+				TupleDesc_F64 desc = features.grow();
+				describe(describe, features.size - 1, desc);
+			}
+		}
 	}
 
-	@Override
-	protected void handleDetection(ScalePoint p) {
+	/**
+	 * Computes the descriptor for a feature which has already been added to the list of locations and orientations
+	 *
+	 * @param describe Algorithm used to compute the descriptor. Its gradient must already be set.
+	 * @param featureIdx Index of the feature
+	 * @param desc (Output) Storage for the descriptor
+	 */
+	protected void describe( DescribePointSift<GrayF32> describe, int featureIdx, TupleDesc_F64 desc ) {
+		ScalePoint p = locations.get(featureIdx);
 
 		// adjust the image for the down sampling in each octave
 		double localX = p.pixel.x / pixelScaleToInput;
 		double localY = p.pixel.y / pixelScaleToInput;
 		double localSigma = p.scale / pixelScaleToInput;
 
-		// find potential orientations first
-		orientation.process(localX,localY,localSigma);
-
-		// describe each feature
-		DogArray_F64 angles = orientation.getOrientations();
-		for (int i = 0; i < angles.size; i++) {
-			describe.process(localX,localY,localSigma,angles.get(i),features.grow());
-
-			orientations.add(angles.get(i));
-			locations.add(p);
-		}
+		describe.process(localX,localY,localSigma,orientations.get(featureIdx),desc);
 	}
 
 	public FastAccess<ScalePoint> getLocations() {
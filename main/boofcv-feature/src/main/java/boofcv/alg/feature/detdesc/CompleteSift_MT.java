@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.abst.feature.detect.extract.NonMaxLimiter;
+import boofcv.alg.feature.describe.DescribePointSift;
+import boofcv.alg.feature.detect.interest.SiftScaleSpace;
+import boofcv.alg.feature.detect.selector.FeatureSelectLimitIntensity;
+import boofcv.alg.feature.orientation.OrientationHistogramSift;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.misc.BoofLambdas;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_F64;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Multi-threaded version of {@link CompleteSift}. Orientation estimation and the descriptor of each feature are
+ * computed in parallel. Features are added in the same order as the single threaded version, so the output
+ * is identical. Computing the scale-space and detecting features is already done in parallel by the
+ * image processing operations that they use.
+ *
+ * @author Peter Abeles
+ */
+public class CompleteSift_MT extends CompleteSift {
+	// Each thread has its own orientation and describe algorithm
+	final GrowArray<ThreadData> threadData;
+
+	// Orientations found for each detection in the current scale
+	final DogArray<DogArray_F64> detectionAngles = new DogArray<>(DogArray_F64::new);
+
+	/**
+	 * Configures SIFT
+	 *
+	 * @param factoryOrientation Creates new instances of the orientation algorithm
+	 * @param factoryDescribe Creates new instances of the describe algorithm
+	 * @see CompleteSift#CompleteSift
+	 */
+	public CompleteSift_MT( SiftScaleSpace scaleSpace,
+							FeatureSelectLimitIntensity<ScalePoint> selectFeaturesAll,
+							double edgeR, NonMaxLimiter extractor,
+							BoofLambdas.Factory<OrientationHistogramSift<GrayF32>> factoryOrientation,
+							BoofLambdas.Factory<DescribePointSift<GrayF32>> factoryDescribe ) {
+		super(scaleSpace, selectFeaturesAll, edgeR, extractor,
+				factoryOrientation.newInstance(), factoryDescribe.newInstance());
+		threadData = new GrowArray<>(() -> new ThreadData(
+				factoryOrientation.newInstance(), factoryDescribe.newInstance()));
+	}
+
+	@Override
+	protected void describeDetections() {
+		// Estimate orientations of each detection
+		detectionAngles.resize(scaleDetections.size);
+		BoofConcurrency.loopBlocks(0, scaleDetections.size, threadData, ( data, idx0, idx1 ) -> {
+			data.orientation.setImageGradient(derivX, derivY);
+			for (int detectionIdx = idx0; detectionIdx < idx1; detectionIdx++) {
+				ScalePoint p = scaleDetections.get(detectionIdx);
+				data.orientation.process(p.pixel.x/pixelScaleToInput, p.pixel.y/pixelScaleToInput,
+						p.scale/pixelScaleToInput);
+
+				DogArray_F64 found = data.orientation.getOrientations();
+				DogArray_F64 angles = detectionAngles.get(detectionIdx);
+				angles.reset();
+				for (int i = 0; i < found.size; i++) {
+					angles.add(found.get(i));
+				}
+			}
+		});
+
+		// Add the features in the same order as the single threaded version
+		int firstFeature = features.size;
+		for (int detectionIdx = 0; detectionIdx < scaleDetections.size; detectionIdx++) {
+			ScalePoint p = scaleDetections.get(detectionIdx);
+			DogArray_F64 angles = detectionAngles.get(detectionIdx);
+			for (int i = 0; i < angles.size; i++) {
+				orientations.add(angles.get(i));
+				locations.add(p);
+				features.grow();
+			}
+		}
+
+		// Describe each feature
+		BoofConcurrency.loopBlocks(firstFeature, features.size, threadData, ( data, idx0, idx1 ) -> {
+			data.describe.setImageGradient(derivX, derivY);
+			for (int featureIdx = idx0; featureIdx < idx1; featureIdx++) {
+				describe(data.describe, featureIdx, features.get(featureIdx));
+			}
+		});
+	}
+
+	/**
+	 * Algorithms used by a single thread
+	 */
+	static class ThreadData {
+		final OrientationHistogramSift<GrayF32> orientation;
+		final DescribePointSift<GrayF32> describe;
+
+		ThreadData( OrientationHistogramSift<GrayF32> orientation, DescribePointSift<GrayF32> describe ) {
+			this.orientation = orientation;
+			this.describe = describe;
+		}
+	}
+}
@@ -214,7 +214,7 @@ public class SiftScaleSpace {
 	/**
 	 * Computes all the scale images in an octave.  This includes DoG images.
 	 */
-	private void computeOctaveScales() {
+	protected void computeOctaveScales() {
 		octaveImages[0] = tempImage0;
 		for (int i = 1; i < numScales+3; i++) {
 			octaveImages[i].reshape(tempImage0.width, tempImage0.height);
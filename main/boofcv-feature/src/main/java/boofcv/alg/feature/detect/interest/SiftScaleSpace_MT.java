@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayF32;
+
+/**
+ * Multi-threaded version of {@link SiftScaleSpace}. Each scale image is blurred from the scale before it,
+ * so the blurs are computed in sequence with the convolution itself running in parallel. Once all the scales
+ * are known, the difference of Gaussian images for every scale are computed together in a single parallel loop.
+ *
+ * @author Peter Abeles
+ */
+public class SiftScaleSpace_MT extends SiftScaleSpace {
+	/**
+	 * @see SiftScaleSpace#SiftScaleSpace
+	 */
+	public SiftScaleSpace_MT( int firstOctave, int lastOctave, int numScales, double sigma0 ) {
+		super(firstOctave, lastOctave, numScales, sigma0);
+	}
+
+	@Override
+	protected void computeOctaveScales() {
+		octaveImages[0] = tempImage0;
+		for (int i = 1; i < numScales + 3; i++) {
+			octaveImages[i].reshape(tempImage0.width, tempImage0.height);
+			applyGaussian(octaveImages[i - 1], octaveImages[i], kernelSigmaToK[i - 1]);
+		}
+
+		for (int i = 0; i < numScales + 2; i++) {
+			differenceOfGaussian[i].reshape(tempImage0.width, tempImage0.height);
+		}
+
+		// Every row in every DoG image is independent
+		final int width = tempImage0.width;
+		final int height = tempImage0.height;
+		BoofConcurrency.loopFor(0, (numScales + 2)*height, idx -> {
+			int scale = idx/height;
+			int y = idx%height;
+			GrayF32 upper = octaveImages[scale + 1];
+			GrayF32 lower = octaveImages[scale];
+			GrayF32 dog = differenceOfGaussian[scale];
+
+			int indexU = upper.startIndex + y*upper.stride;
+			int indexL = lower.startIndex + y*lower.stride;
+			int indexD = dog.startIndex + y*dog.stride;
+			int end = indexU + width;
+			for (; indexU < end; indexU++, indexL++, indexD++) {
+				dog.data[indexD] = upper.data[indexU] - lower.data[indexL];
+			}
+		});
+	}
+}
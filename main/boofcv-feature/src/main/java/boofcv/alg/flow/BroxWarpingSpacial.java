@@ -243,7 +243,6 @@ public class BroxWarpingSpacial<T extends ImageGray<T>> extends DenseFlowPyramid
 								GrayF32 deriv2XX , GrayF32 deriv2YY, GrayF32 deriv2XY) {
 
 		int N = image1.width*image1.height;
-		int stride = image1.stride;
 
 		// outer Taylor expansion iterations
 		for( int indexOuter = 0; indexOuter < numOuter; indexOuter++ ) {
@@ -281,35 +280,7 @@ public class BroxWarpingSpacial<T extends ImageGray<T>> extends DenseFlowPyramid
 
 				do {
 					// inner SOR iteration.
-					error = 0;
-
-					// inner portion
-					for (int y = 1; y < image1.height - 1; y++) {
-						int i = y * image1.width + 1;
-						for (int x = 1; x < image1.width - 1; x++, i++) {
-							error += iterationSor(image1, deriv1X, deriv1Y, i, i + 1, i - 1, i + stride, i - stride);
-						}
-					}
-
-					// border regions require special treatment
-					int y0 = 0;
-					int y1 = image1.height-1;
-					for (int x = 0; x < image1.width; x++ ) {
-						error += iterationSor(image1, deriv1X, deriv1Y,
-								s(x, y0), s(x + 1, y0), s(x - 1, y0), s(x, y0 - 1), s(x, y0 + 1));
-
-						error += iterationSor(image1, deriv1X, deriv1Y,
-								s(x, y1), s(x + 1, y1), s(x - 1, y1), s(x, y1 - 1), s(x, y1 + 1));
-					}
-
-					int x0 = 0;
-					int x1 = image1.width-1;
-					for (int y = 1; y < image1.height - 1; y++) {
-						error += iterationSor(image1, deriv1X, deriv1Y,
-								s(x0, y), s(x0 - 1, y), s(x0 + 1, y), s(x0, y - 1), s(x0, y + 1));
-						error += iterationSor(image1, deriv1X, deriv1Y,
-								s(x1, y), s(x1 - 1, y), s(x1 + 1, y), s(x1, y - 1), s(x1, y + 1));
-					}
+					error = sorSweep(image1, deriv1X, deriv1Y);
 				} while (error > convergeTolerance * image1.width * image1.height && ++iter < maxIterationsSor);
 			}
 
@@ -319,6 +290,46 @@ public class BroxWarpingSpacial<T extends ImageGray<T>> extends DenseFlowPyramid
 		}
 	}
 
+	/**
+	 * Performs one SOR iteration across the entire image
+	 *
+	 * @return Sum of the squared change in the motion increments
+	 */
+	protected float sorSweep( GrayF32 image1, GrayF32 deriv1X, GrayF32 deriv1Y ) {
+		int stride = image1.stride;
+		float error = 0;
+
+		// inner portion
+		for (int y = 1; y < image1.height - 1; y++) {
+			int i = y * image1.width + 1;
+			for (int x = 1; x < image1.width - 1; x++, i++) {
+				error += iterationSor(image1, deriv1X, deriv1Y, i, i + 1, i - 1, i + stride, i - stride);
+			}
+		}
+
+		// border regions require special treatment
+		int y0 = 0;
+		int y1 = image1.height-1;
+		for (int x = 0; x < image1.width; x++ ) {
+			error += iterationSor(image1, deriv1X, deriv1Y,
+					s(x, y0), s(x + 1, y0), s(x - 1, y0), s(x, y0 - 1), s(x, y0 + 1));
+
+			error += iterationSor(image1, deriv1X, deriv1Y,
+					s(x, y1), s(x + 1, y1), s(x - 1, y1), s(x, y1 - 1), s(x, y1 + 1));
+		}
+
+		int x0 = 0;
+		int x1 = image1.width-1;
+		for (int y = 1; y < image1.height - 1; y++) {
+			error += iterationSor(image1, deriv1X, deriv1Y,
+					s(x0, y), s(x0 - 1, y), s(x0 + 1, y), s(x0, y - 1), s(x0, y + 1));
+			error += iterationSor(image1, deriv1X, deriv1Y,
+					s(x1, y), s(x1 - 1, y), s(x1 + 1, y), s(x1, y - 1), s(x1, y + 1));
+		}
+
+		return error;
+	}
+
 	/**
 	 * Inner SOR iteration step
 	 *
@@ -328,7 +339,7 @@ public class BroxWarpingSpacial<T extends ImageGray<T>> extends DenseFlowPyramid
 	 * @param ipy (x,y+1)
 	 * @param imy (x,y-1)
 	 */
-	private float iterationSor(GrayF32 image1, GrayF32 deriv1X, GrayF32 deriv1Y,
+	protected float iterationSor(GrayF32 image1, GrayF32 deriv1X, GrayF32 deriv1Y,
 							   int i, int ipx, int imx, int ipy, int imy) {
 		float w = SOR_RELAXATION;
 
@@ -79,6 +79,12 @@ public class ConfigBroxWarping implements Configuration {
 	 */
 	public InterpolationType interpolation = InterpolationType.BILINEAR;
 
+	/**
+	 * If true the concurrent implementation is used. Off by default since its red-black ordering of the SOR
+	 * iterations produces results which are not identical to the single threaded implementation.
+	 */
+	public boolean concurrent = false;
+
 	public void setTo( ConfigBroxWarping src ) {
 		this.alpha = src.alpha;
 		this.gamma = src.gamma;
@@ -91,6 +97,7 @@ public class ConfigBroxWarping implements Configuration {
 		this.pyrSigma = src.pyrSigma;
 		this.pyrMaxLayers = src.pyrMaxLayers;
 		this.interpolation = src.interpolation;
+		this.concurrent = src.concurrent;
 	}
 
 	@Override
@@ -25,6 +25,7 @@ import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.pyramid.ImagePyramid;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
 
@@ -121,56 +122,10 @@ public abstract class DenseOpticalFlowBlockPyramid<T extends ImageGray<T>> {
 			// will be set inside of checkNeighbors.
 			Arrays.fill(scores, 0, N, Float.MAX_VALUE);
 
-			int x1 = prev.width - regionRadius;
-			int y1 = prev.height - regionRadius;
-
-			if (i == numLayers - 1) {
-				// the top most layer in the pyramid has no hint
-				for (int y = regionRadius; y < y1; y++) {
-					for (int x = regionRadius; x < x1; x++) {
-						extractTemplate(x, y, prev);
-						float score = findFlow(x, y, curr, tmp);
-
-						if (tmp.isValid())
-							checkNeighbors(x, y, tmp, flowCurrLayer, score);
-						else
-							flowCurrLayer.unsafe_get(x, y).markInvalid();
-					}
-				}
-			} else {
-				// for all the other layers use the hint of the previous layer to start its search
-				double scale = pyramidPrev.getScale(i + 1)/pyramidPrev.getScale(i);
-				for (int y = regionRadius; y < y1; y++) {
-					for (int x = regionRadius; x < x1; x++) {
-						// grab the flow in higher level pyramid
-						ImageFlow.D p = flowPrevLayer.get((int)(x/scale), (int)(y/scale));
-						if (!p.isValid())
-							continue;
-
-						// get the template around the current point in this layer
-						extractTemplate(x, y, prev);
-
-						// add the flow from the higher layer (adjusting for scale and rounding) as the start of
-						// this search
-						int deltaX = (int)(p.x*scale + 0.5);
-						int deltaY = (int)(p.y*scale + 0.5);
-
-						int startX = x + deltaX;
-						int startY = y + deltaY;
-
-						float score = findFlow(startX, startY, curr, tmp);
-
-						// find flow only does it relative to the starting point
-						tmp.x += deltaX;
-						tmp.y += deltaY;
-
-						if (tmp.isValid())
-							checkNeighbors(x, y, tmp, flowCurrLayer, score);
-						else
-							flowCurrLayer.unsafe_get(x, y).markInvalid();
-					}
-				}
-			}
+			// the top most layer in the pyramid has no hint. All the other layers use the previous layer's flow
+			// to start their search
+			double scale = i == numLayers - 1 ? 0 : pyramidPrev.getScale(i + 1)/pyramidPrev.getScale(i);
+			processLayer(prev, curr, scale);
 
 			// swap the flow images
 			ImageFlow tmp = flowPrevLayer;
@@ -179,6 +134,76 @@ public abstract class DenseOpticalFlowBlockPyramid<T extends ImageGray<T>> {
 		}
 	}
 
+	/**
+	 * Computes the flow for every pixel in the layer and uses it to update the flow of neighboring pixels
+	 *
+	 * @param scale Change in scale from the previous layer to this layer. If zero then there is no previous layer.
+	 */
+	protected void processLayer( T prev, T curr, double scale ) {
+		int x1 = prev.width - regionRadius;
+		int y1 = prev.height - regionRadius;
+
+		for (int y = regionRadius; y < y1; y++) {
+			for (int x = regionRadius; x < x1; x++) {
+				ImageFlow.D hint = lookupHint(x, y, scale);
+				if (hint != null && !hint.isValid())
+					continue;
+
+				float score = searchPixel(x, y, prev, curr, hint, scale, tmp);
+				assignFlow(x, y, tmp, score);
+			}
+		}
+	}
+
+	/**
+	 * Returns the flow in the previous layer at the specified pixel or null if there is no previous layer
+	 */
+	protected @Nullable ImageFlow.D lookupHint( int x, int y, double scale ) {
+		if (scale == 0)
+			return null;
+		return flowPrevLayer.get((int)(x/scale), (int)(y/scale));
+	}
+
+	/**
+	 * Searches for the flow of a single pixel.
+	 *
+	 * @param hint Flow from the previous layer. If null the search starts at the pixel.
+	 * @param scale Change in scale from the previous layer
+	 * @param flow (Output) The found flow. Marked as invalid if no match was found.
+	 * @return Score of the found flow
+	 */
+	protected float searchPixel( int x, int y, T prev, T curr,
+								 @Nullable ImageFlow.D hint, double scale, ImageFlow.D flow ) {
+		// get the template around the current point in this layer
+		extractTemplate(x, y, prev);
+
+		if (hint == null)
+			return findFlow(x, y, curr, flow);
+
+		// add the flow from the higher layer (adjusting for scale and rounding) as the start of
+		// this search
+		int deltaX = (int)(hint.x*scale + 0.5);
+		int deltaY = (int)(hint.y*scale + 0.5);
+
+		float score = findFlow(x + deltaX, y + deltaY, curr, flow);
+
+		// find flow only does it relative to the starting point
+		flow.x += deltaX;
+		flow.y += deltaY;
+
+		return score;
+	}
+
+	/**
+	 * Assigns the found flow to the pixel and its neighbors, or marks the pixel as invalid
+	 */
+	protected void assignFlow( int x, int y, ImageFlow.D flow, float score ) {
+		if (flow.isValid())
+			checkNeighbors(x, y, flow, flowCurrLayer, score);
+		else
+			flowCurrLayer.unsafe_get(x, y).markInvalid();
+	}
+
 	/**
 	 * Performs an exhaustive search centered around (cx,cy) for the region in 'curr' which is the best
 	 * match for the template.  Results are written into 'flow'
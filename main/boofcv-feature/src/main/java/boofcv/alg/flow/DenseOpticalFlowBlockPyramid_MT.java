@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.flow;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.misc.BoofLambdas;
+import boofcv.struct.flow.ImageFlow;
+import boofcv.struct.image.ImageGray;
+import org.ddogleg.struct.DogArray_F32;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link DenseOpticalFlowBlockPyramid}. The exhaustive search for each pixel is
+ * done in parallel, with each thread having its own instance of the single threaded algorithm. Found flows are
+ * then assigned to neighboring pixels in the same order as the single threaded algorithm, producing identical
+ * results.
+ *
+ * @author Peter Abeles
+ */
+public class DenseOpticalFlowBlockPyramid_MT<T extends ImageGray<T>> extends DenseOpticalFlowBlockPyramid<T> {
+
+	// Used to implement the type specific functions
+	final DenseOpticalFlowBlockPyramid<T> alg;
+
+	// Each thread has its own copy of the algorithm so that it can modify the template
+	final GrowArray<DenseOpticalFlowBlockPyramid<T>> workers;
+
+	// Flow and score found for each pixel in the current layer
+	final ImageFlow found = new ImageFlow(1, 1);
+	final DogArray_F32 foundScores = new DogArray_F32();
+
+	/**
+	 * @param factory Creates new instances of the single threaded algorithm
+	 */
+	public DenseOpticalFlowBlockPyramid_MT( BoofLambdas.Factory<DenseOpticalFlowBlockPyramid<T>> factory ) {
+		this(factory, factory.newInstance());
+	}
+
+	private DenseOpticalFlowBlockPyramid_MT( BoofLambdas.Factory<DenseOpticalFlowBlockPyramid<T>> factory,
+											 DenseOpticalFlowBlockPyramid<T> alg ) {
+		super(alg.searchRadius, alg.regionRadius, 0, alg.template.getImageType().getImageClass());
+		this.maxError = alg.maxError;
+		this.alg = alg;
+		this.workers = new GrowArray<>(factory::newInstance);
+	}
+
+	@Override
+	protected void processLayer( T prev, T curr, double scale ) {
+		int x1 = prev.width - regionRadius;
+		int y1 = prev.height - regionRadius;
+
+		found.reshape(prev.width, prev.height);
+		foundScores.resize(prev.width*prev.height);
+
+		// Search for the best flow of each pixel. This is where almost all the time is spent
+		BoofConcurrency.loopBlocks(regionRadius, Math.max(regionRadius, y1), workers, ( worker, y0, y1_ ) -> {
+			for (int y = y0; y < y1_; y++) {
+				for (int x = regionRadius; x < x1; x++) {
+					ImageFlow.D hint = lookupHint(x, y, scale);
+					if (hint != null && !hint.isValid())
+						continue;
+
+					int index = y*prev.width + x;
+					foundScores.data[index] = worker.searchPixel(x, y, prev, curr, hint, scale, found.data[index]);
+				}
+			}
+		});
+
+		// Regions of neighboring pixels overlap so this is done in the same order as the single threaded version
+		for (int y = regionRadius; y < y1; y++) {
+			for (int x = regionRadius; x < x1; x++) {
+				ImageFlow.D hint = lookupHint(x, y, scale);
+				if (hint != null && !hint.isValid())
+					continue;
+
+				int index = y*prev.width + x;
+				assignFlow(x, y, found.data[index], foundScores.data[index]);
+			}
+		}
+	}
+
+	@Override
+	protected void extractTemplate( int cx, int cy, T prev ) {
+		alg.extractTemplate(cx, cy, prev);
+		template.setTo(alg.template);
+	}
+
+	@Override
+	protected float computeError( int cx, int cy, T curr ) {
+		alg.template.setTo(template);
+		return alg.computeError(cx, cy, curr);
+	}
+}
@@ -49,7 +49,7 @@ public class DenseOpticalFlowKlt<I extends ImageGray<I>, D extends ImageGray<D>>
 	float[] scores = new float[1];
 
 	// size of template
-	private int regionRadius;
+	protected int regionRadius;
 	// image shape
 	private int width,height;
 
@@ -77,29 +77,53 @@ public class DenseOpticalFlowKlt<I extends ImageGray<I>, D extends ImageGray<D>>
 			output.data[i].markInvalid();
 		}
 
+		processPixels(prev, prevDerivX, prevDerivY, curr, output);
+	}
+
+	/**
+	 * Tracks every pixel and assigns the flow to it and its neighbors
+	 */
+	protected void processPixels( ImagePyramid<I> prev, D[] prevDerivX, D[] prevDerivY,
+								  ImagePyramid<I> curr, ImageFlow output ) {
 		for( int y = 0; y < output.height; y++ ) {
 			for( int x = 0; x < output.width; x++ ) {
-
-				tracker.setImage(prev,prevDerivX,prevDerivY);
-				feature.setPosition(x,y);
-
-				if( tracker.setDescription(feature) ) {
-					// derivX and derivY are not used, but can't be null for setImage()
-					tracker.setImage(curr);
-					KltTrackFault fault = tracker.track(feature);
-					if( fault == KltTrackFault.SUCCESS ) {
-						float score = tracker.getError();
-						// bias the result to prefer the central template
-						scores[y*output.width+x] = score*MAGIC_ADJUSTMENT;
-						output.get(x,y).set(feature.x-x,feature.y-y);
-						// see if this flow should be assigned to any of its neighbors
-						checkNeighbors(x, y, score, feature.x-x,feature.y-y, output);
-					}
+				if( trackPixel(tracker, feature, x, y, prev, prevDerivX, prevDerivY, curr) ) {
+					assignFlow(x, y, tracker.getError(), feature.x-x, feature.y-y, output);
 				}
 			}
 		}
 	}
 
+	/**
+	 * Tracks the template centered at the pixel from the previous image into the current image
+	 *
+	 * @return true if the track was successful
+	 */
+	protected static <I extends ImageGray<I>, D extends ImageGray<D>>
+	boolean trackPixel( PyramidKltTracker<I,D> tracker, PyramidKltFeature feature, int x, int y,
+						ImagePyramid<I> prev, D[] prevDerivX, D[] prevDerivY, ImagePyramid<I> curr ) {
+		tracker.setImage(prev,prevDerivX,prevDerivY);
+		feature.setPosition(x,y);
+
+		if( !tracker.setDescription(feature) )
+			return false;
+
+		// derivX and derivY are not used, but can't be null for setImage()
+		tracker.setImage(curr);
+		return tracker.track(feature) == KltTrackFault.SUCCESS;
+	}
+
+	/**
+	 * Assigns the flow found at (x,y) to the pixel and any neighbors which have a worse score
+	 */
+	protected void assignFlow( int x, int y, float score, float flowX, float flowY, ImageFlow output ) {
+		// bias the result to prefer the central template
+		scores[y*output.width+x] = score*MAGIC_ADJUSTMENT;
+		output.get(x,y).set(flowX,flowY);
+		// see if this flow should be assigned to any of its neighbors
+		checkNeighbors(x, y, score, flowX, flowY, output);
+	}
+
 	/**
 	 * Examines every pixel inside the region centered at (cx,cy) to see if their optical flow has a worse
 	 * score the one specified in 'flow'
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.flow;
+
+import boofcv.alg.tracker.klt.PyramidKltFeature;
+import boofcv.alg.tracker.klt.PyramidKltTracker;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.misc.BoofLambdas;
+import boofcv.struct.flow.ImageFlow;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.pyramid.ImagePyramid;
+import org.ddogleg.struct.DogArray_F32;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link DenseOpticalFlowKlt}. Each pixel is tracked in parallel with each thread
+ * having its own tracker. The found flow is then assigned to neighboring pixels in the same order as the single
+ * threaded algorithm, producing identical results.
+ *
+ * @author Peter Abeles
+ */
+public class DenseOpticalFlowKlt_MT<I extends ImageGray<I>, D extends ImageGray<D>>
+		extends DenseOpticalFlowKlt<I, D> {
+
+	// Each thread has its own tracker
+	final GrowArray<Worker> workers;
+
+	// Flow and score found for each pixel
+	final ImageFlow found = new ImageFlow(1, 1);
+	final DogArray_F32 foundScores = new DogArray_F32();
+
+	/**
+	 * @param factory Creates new instances of the tracker
+	 * @param radius Radius of the square region
+	 */
+	public DenseOpticalFlowKlt_MT( BoofLambdas.Factory<PyramidKltTracker<I, D>> factory, int radius ) {
+		super(factory.newInstance(), radius);
+		workers = new GrowArray<>(() -> new Worker(factory.newInstance()));
+	}
+
+	@Override
+	protected void processPixels( ImagePyramid<I> prev, D[] prevDerivX, D[] prevDerivY,
+								  ImagePyramid<I> curr, ImageFlow output ) {
+		found.reshape(output.width, output.height);
+		foundScores.resize(output.width*output.height);
+
+		// Track every pixel. This is where almost all the time is spent
+		BoofConcurrency.loopBlocks(0, output.height, workers, ( worker, y0, y1 ) -> {
+			if (worker.feature == null)
+				worker.feature = new PyramidKltFeature(prev.getNumLayers(), regionRadius);
+			PyramidKltFeature feature = worker.feature;
+
+			for (int y = y0; y < y1; y++) {
+				int index = y*output.width;
+				for (int x = 0; x < output.width; x++, index++) {
+					if (trackPixel(worker.tracker, feature, x, y, prev, prevDerivX, prevDerivY, curr)) {
+						foundScores.data[index] = worker.tracker.getError();
+						found.data[index].set(feature.x - x, feature.y - y);
+					} else {
+						found.data[index].markInvalid();
+					}
+				}
+			}
+		});
+
+		// Regions of neighboring pixels overlap so this is done in the same order as the single threaded version
+		for (int y = 0; y < output.height; y++) {
+			int index = y*output.width;
+			for (int x = 0; x < output.width; x++, index++) {
+				ImageFlow.D f = found.data[index];
+				if (f.isValid())
+					assignFlow(x, y, foundScores.data[index], f.x, f.y, output);
+			}
+		}
+	}
+
+	/**
+	 * Tracker and feature used by a single thread
+	 */
+	class Worker {
+		final PyramidKltTracker<I, D> tracker;
+		@Nullable PyramidKltFeature feature;
+
+		Worker( PyramidKltTracker<I, D> tracker ) {
+			this.tracker = tracker;
+		}
+	}
+}
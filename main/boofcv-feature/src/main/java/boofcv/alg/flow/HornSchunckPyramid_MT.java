@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.flow;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.flow.ConfigHornSchunckPyramid;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+import org.ddogleg.struct.DogArray_F32;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link HornSchunckPyramid}. The SOR update for a pixel depends on the rows directly
+ * above and below it. The image is updated using red-black ordering of the rows, first all the even rows are updated
+ * in parallel then all the odd rows. This ordering converges similarly to the original ordering but the
+ * output is not identical to the single threaded implementation.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class HornSchunckPyramid_MT<T extends ImageGray<T>> extends HornSchunckPyramid<T> {
+
+	// Each thread has its own copy of the interpolation algorithm
+	final GrowArray<InterpolatePixelS<GrayF32>> interpolators;
+
+	// Change in flow along each row in the current iteration
+	final DogArray_F32 rowErrors = new DogArray_F32();
+
+	public HornSchunckPyramid_MT( ConfigHornSchunckPyramid config, InterpolatePixelS<GrayF32> interp ) {
+		super(config, interp);
+		interpolators = new GrowArray<>(interp::copy);
+	}
+
+	@Override
+	protected float sorSweep( GrayF32 image1 ) {
+		rowErrors.resize(image1.height);
+
+		// Rows with the same parity don't depend on each other and can be updated at the same time
+		for (int parity = 0; parity < 2; parity++) {
+			BoofConcurrency.loopFor(parity, image1.height, 2, y -> rowErrors.data[y] = iterationSorRow(image1, y));
+		}
+
+		// Sum in a fixed order so that the result doesn't depend on the number of threads
+		float error = 0;
+		for (int y = 0; y < image1.height; y++) {
+			error += rowErrors.data[y];
+		}
+		return error;
+	}
+
+	/**
+	 * Performs a SOR iteration along a single row
+	 */
+	private float iterationSorRow( GrayF32 image1, int y ) {
+		int width = image1.width;
+		int pixelIndex = y*width;
+
+		float error = 0;
+		if (y == 0 || y == image1.height - 1) {
+			for (int x = 0; x < width; x++, pixelIndex++) {
+				error += iterationSorSafe(image1, x, y, pixelIndex);
+			}
+		} else {
+			error += iterationSorSafe(image1, 0, y, pixelIndex++);
+			for (int x = 1; x < width - 1; x++, pixelIndex++) {
+				error += iterationSorInner(image1, x, y, pixelIndex);
+			}
+			error += iterationSorSafe(image1, width - 1, y, pixelIndex);
+		}
+		return error;
+	}
+
+	@Override
+	protected void warpImageTaylor( GrayF32 before, GrayF32 flowX, GrayF32 flowY, GrayF32 after ) {
+		BoofConcurrency.loopBlocks(0, before.height, interpolators, ( interp, y0, y1 ) -> {
+			interp.setImage(before);
+
+			for (int y = y0; y < y1; y++) {
+				int pixelIndex = y*before.width;
+				for (int x = 0; x < before.width; x++, pixelIndex++) {
+					float wx = x + flowX.data[pixelIndex];
+					float wy = y + flowY.data[pixelIndex];
+
+					if (wx < 0 || wx > before.width - 1 || wy < 0 || wy > before.height - 1) {
+						// Same as single threaded. Outside pixels are set to zero
+						after.data[pixelIndex] = 0;
+					} else {
+						after.data[pixelIndex] = interp.get(wx, wy);
+					}
+				}
+			}
+		});
+	}
+}
@@ -19,11 +19,13 @@
 package boofcv.alg.segmentation.ms;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.misc.StageMetrics;
 import boofcv.struct.ConnectRule;
 import boofcv.struct.image.GrayS32;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 import georegression.struct.point.Point2D_I32;
+import lombok.Getter;
 import org.ddogleg.struct.DogArray;
 import org.ddogleg.struct.DogArray_I32;
 import org.ddogleg.struct.Stoppable;
@@ -70,6 +72,14 @@ public class SegmentMeanShift<T extends ImageBase<T>>
 	// If a request to stop running hsa been requested
 	volatile boolean stopRequested=false;
 
+	/** Runtime of each stage and number of regions. Published after every call to process */
+	@Getter final StageMetrics metrics = new StageMetrics("SegmentMeanShift");
+	final StageMetrics.Timer timerSearch = metrics.timer("search");
+	final StageMetrics.Timer timerMerge = metrics.timer("merge");
+	final StageMetrics.Timer timerSegment = metrics.timer("segment");
+	final StageMetrics.Timer timerPrune = metrics.timer("prune");
+	final StageMetrics.Counter counterRegions = metrics.counter("regions");
+
 	// contains resegmented image after enforcing all points be connected
 //	GrayS32 pixelToRegion2 = new GrayS32(1,1);
 
@@ -103,35 +113,33 @@ public class SegmentMeanShift<T extends ImageBase<T>>
 		InputSanityCheck.checkSameShape(image,output);
 		stopRequested = false;
 
-//		long time0 = System.currentTimeMillis();
-
+		timerSearch.start();
 		search.process(image);
+		timerSearch.stop();
 		if( stopRequested ) return;
 
-//		long time1 = System.currentTimeMillis();
-
 		DogArray<float[]> regionColor = search.getModeColor();
 		GrayS32 pixelToRegion = search.getPixelToRegion();
 		DogArray_I32 regionPixelCount = search.getRegionMemberCount();
 		DogArray<Point2D_I32> modeLocation = search.getModeLocation();
 
+		timerMerge.start();
 		merge.process(pixelToRegion,regionPixelCount,regionColor,modeLocation);
+		timerMerge.stop();
 		if( stopRequested ) return;
 
-//		long time2 = System.currentTimeMillis();
-
+		timerSegment.start();
 		segment.process(pixelToRegion, output, regionPixelCount);
+		timerSegment.stop();
 		if( stopRequested ) return;
 
-//		long time3 = System.currentTimeMillis();
-
+		timerPrune.start();
 		if( prune != null)
 			prune.process(image,output,regionPixelCount,regionColor);
+		timerPrune.stop();
 
-//		long time4 = System.currentTimeMillis();
-
-//		System.out.println("Search: "+(time1-time0)+" Merge: "+(time2-time1)+
-//				" segment: "+(time3-time2)+" Prune: "+(time4-time3));
+		counterRegions.add(getNumberOfRegions());
+		metrics.publish();
 	}
 
 	/**
@@ -23,6 +23,7 @@ import boofcv.abst.feature.associate.AssociateDescriptionSets2D;
 import boofcv.abst.feature.detdesc.DetectDescribePoint;
 import boofcv.alg.descriptor.UtilFeature;
 import boofcv.alg.tracker.PruneCloseTracks;
+import boofcv.alg.tracker.klt.PyramidKltFeature;
 import boofcv.struct.feature.AssociatedIndex;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageGray;
@@ -30,6 +31,7 @@ import boofcv.struct.pyramid.PyramidDiscrete;
 import georegression.struct.point.Point2D_F64;
 import lombok.Getter;
 import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_B;
 import org.ddogleg.struct.DogArray_I32;
 import org.ddogleg.struct.FastAccess;
 import org.ddogleg.struct.FastArray;
@@ -94,6 +96,10 @@ public class HybridTrackerScalePoint<I extends ImageGray<I>, D extends ImageGray
 	// number of frames which have been processed
 	@Getter long frameID = -1;
 
+	// Storage for the KLT features of active tracks and if they were successfully tracked
+	final List<PyramidKltFeature> kltFeatures = new ArrayList<>();
+	final DogArray_B kltSuccess = new DogArray_B();
+
 	// Used to prune points close by
 	PruneCloseTracks<HybridTrack<TD>> pruneClose;
 	List<HybridTrack<TD>> closeDropped = new ArrayList<>();
@@ -175,11 +181,19 @@ public class HybridTrackerScalePoint<I extends ImageGray<I>, D extends ImageGray
 		// Run the KLT tracker
 		trackerKlt.setInputs(pyramid, derivX, derivY);
 
+		// Update all the tracks at once so that it can be done in parallel
+		kltFeatures.clear();
+		for (int i = 0; i < tracksActive.size(); i++) {
+			kltFeatures.add(tracksActive.get(i).trackKlt);
+		}
+		trackerKlt.performTracking(kltFeatures, kltSuccess);
+
 		// TODO add forwards-backwards validation
+		// Go through the list in reverse order so that removeSwap doesn't move a track which hasn't been processed
 		for (int i = tracksActive.size() - 1; i >= 0; i--) {
 			HybridTrack<TD> track = tracksActive.get(i);
 
-			if (!trackerKlt.performTracking(track.trackKlt)) {
+			if (!kltSuccess.data[i]) {
 				// The track got dropped by KLT but will still be around as an inactive track
 				tracksActive.removeSwap(i);
 				tracksInactive.add(track);
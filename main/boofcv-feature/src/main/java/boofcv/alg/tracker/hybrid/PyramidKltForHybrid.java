@@ -23,6 +23,9 @@ import boofcv.alg.tracker.klt.*;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.pyramid.ImagePyramid;
+import org.ddogleg.struct.DogArray_B;
+
+import java.util.List;
 
 /**
  * Pyramidal KLT tracker designed for {@link HybridTrackerScalePoint}.
@@ -80,7 +83,27 @@ public class PyramidKltForHybrid<I extends ImageGray<I>, D extends ImageGray<D>>
 	 * @return true if tracking was successful, false otherwise
 	 */
 	public boolean performTracking(  PyramidKltFeature feature ) {
+		return performTracking(tracker, feature);
+	}
+
+	/**
+	 * Updates all the tracks using the latest inputs. Same as calling {@link #performTracking(PyramidKltFeature)}
+	 * on each feature.
+	 *
+	 * @param features Features being updated
+	 * @param success (Output) If tracking was successful for the feature at the same index
+	 */
+	public void performTracking( List<PyramidKltFeature> features, DogArray_B success ) {
+		success.resize(features.size());
+		for (int i = 0; i < features.size(); i++) {
+			success.data[i] = performTracking(features.get(i));
+		}
+	}
 
+	/**
+	 * Updates the track using the specified tracker. Only the feature and the tracker are modified.
+	 */
+	protected boolean performTracking( PyramidKltTracker<I, D> tracker, PyramidKltFeature feature ) {
 		KltTrackFault result = tracker.track(feature);
 
 		if( result != KltTrackFault.SUCCESS ) {
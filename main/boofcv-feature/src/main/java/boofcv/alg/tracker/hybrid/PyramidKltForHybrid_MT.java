@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.hybrid;
+
+import boofcv.alg.tracker.klt.ConfigKlt;
+import boofcv.alg.tracker.klt.PyramidKltFeature;
+import boofcv.alg.tracker.klt.PyramidKltTracker;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.pyramid.ImagePyramid;
+import org.ddogleg.struct.DogArray_B;
+import pabeles.concurrency.GrowArray;
+
+import java.util.List;
+
+/**
+ * Concurrent version of {@link PyramidKltForHybrid}. Features are tracked in parallel with each thread having
+ * its own copy of the KLT tracker. Results are identical to the single threaded version.
+ *
+ * @author Peter Abeles
+ */
+public class PyramidKltForHybrid_MT<I extends ImageGray<I>, D extends ImageGray<D>>
+		extends PyramidKltForHybrid<I, D> {
+	// Tracker for each thread
+	final GrowArray<PyramidKltTracker<I, D>> trackers = new GrowArray<>(() -> tracker.copy());
+
+	// The most recent inputs
+	ImagePyramid<I> image;
+	D[] derivX;
+	D[] derivY;
+
+	public PyramidKltForHybrid_MT( ConfigKlt config, int featureRadius, Class<I> inputType, Class<D> derivType ) {
+		super(config, featureRadius, inputType, derivType);
+	}
+
+	@Override
+	public void setInputs( ImagePyramid<I> image, D[] derivX, D[] derivY ) {
+		super.setInputs(image, derivX, derivY);
+		this.image = image;
+		this.derivX = derivX;
+		this.derivY = derivY;
+	}
+
+	@Override
+	public void performTracking( List<PyramidKltFeature> features, DogArray_B success ) {
+		success.resize(features.size());
+		BoofConcurrency.loopBlocks(0, features.size(), trackers, ( klt, idx0, idx1 ) -> {
+			// Images might have changed since the copy was made
+			klt.setImage(image, derivX, derivY);
+			for (int i = idx0; i < idx1; i++) {
+				success.data[i] = performTracking(klt, features.get(i));
+			}
+		});
+	}
+}
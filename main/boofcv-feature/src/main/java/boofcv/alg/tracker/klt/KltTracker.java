@@ -509,4 +509,12 @@ public class KltTracker<I extends ImageGray<I>, D extends ImageGray<D>> {
 	public ConfigKlt getConfig() {
 		return config;
 	}
+
+	/**
+	 * Creates a new tracker with the same configuration. Internal workspace and interpolation are not shared,
+	 * so the copy can be used in a different thread.
+	 */
+	public KltTracker<I, D> copy() {
+		return new KltTracker<>(interpInput.copy(), interpDeriv.copy(), config);
+	}
 }
@@ -161,6 +161,18 @@ public class PyramidKltTracker<InputImage extends ImageGray<InputImage>, Derivat
 		return tracker.getError();
 	}
 
+	/**
+	 * Creates a new tracker with the same configuration which references the same images. Each thread
+	 * needs its own tracker.
+	 */
+	public PyramidKltTracker<InputImage, DerivativeImage> copy() {
+		var ret = new PyramidKltTracker<>(tracker.copy());
+		ret.image = image;
+		ret.derivX = derivX;
+		ret.derivY = derivY;
+		return ret;
+	}
+
 	private void setupKltTracker(int layer) {
 		if (derivX != null)
 			tracker.unsafe_setImage(image.getLayer(layer), derivX[layer], derivY[layer]);
@@ -18,6 +18,7 @@
 
 package boofcv.factory.background;
 
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.Configuration;
 
 /**
@@ -32,7 +33,13 @@ public abstract class BaseConfigBackground implements Configuration {
 	 */
 	public int unknownValue = 0;
 
+	/**
+	 * If true the concurrent implementation is used. Defaults to the global setting in {@link BoofConcurrency}.
+	 */
+	public boolean concurrent = BoofConcurrency.USE_CONCURRENT;
+
 	public void setTo( BaseConfigBackground src ) {
 		this.unknownValue = src.unknownValue;
+		this.concurrent = src.concurrent;
 	}
 }
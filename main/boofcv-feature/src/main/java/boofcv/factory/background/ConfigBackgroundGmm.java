@@ -64,6 +64,14 @@ public class ConfigBackgroundGmm extends BaseConfigBackground {
 	 */
 	public float significantWeight = 0.01f;
 
+	/**
+	 * If true the stationary model is stored using half precision floats, cutting its memory in half. A gray
+	 * Gaussian goes from 12 to 6 bytes. Stochastic rounding is used so that small updates aren't lost, which
+	 * adds a small amount of noise to the model. Useful for large images or many Gaussians where the model no
+	 * longer fits in cache. Ignored by moving models.
+	 */
+	public boolean compact = false;
+
 	public ConfigBackgroundGmm() {}
 
 	public void setTo( ConfigBackgroundGmm src ) {
@@ -74,6 +82,7 @@ public class ConfigBackgroundGmm extends BaseConfigBackground {
 		this.maxDistance = src.maxDistance;
 		this.numberOfGaussian = src.numberOfGaussian;
 		this.significantWeight = src.significantWeight;
+		this.compact = src.compact;
 	}
 
 	@Override
@@ -97,7 +106,9 @@ public class ConfigBackgroundGmm extends BaseConfigBackground {
 				", maxDistance=" + maxDistance +
 				", numberOfGaussian=" + numberOfGaussian +
 				", significantWeight=" + significantWeight +
+				", compact=" + compact +
 				", unknownValue=" + unknownValue +
+				", concurrent=" + concurrent +
 				'}';
 	}
 }
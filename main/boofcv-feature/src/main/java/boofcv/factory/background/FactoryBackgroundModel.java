@@ -49,12 +49,19 @@ public class FactoryBackgroundModel {
 
 		switch( imageType.getFamily() ) {
 			case GRAY:
+				if (config.concurrent)
+					return new BackgroundStationaryBasic_SB_MT(config.learnRate,config.threshold,
+							imageType.getImageClass());
 				return new BackgroundStationaryBasic_SB(config.learnRate,config.threshold,imageType.getImageClass());
 
 			case PLANAR:
+				if (config.concurrent)
+					return new BackgroundStationaryBasic_PL_MT(config.learnRate,config.threshold,imageType);
 				return new BackgroundStationaryBasic_PL(config.learnRate,config.threshold,imageType);
 
 			case INTERLEAVED:
+				if (config.concurrent)
+					return new BackgroundStationaryBasic_IL_MT(config.learnRate,config.threshold,imageType);
 				return new BackgroundStationaryBasic_IL(config.learnRate,config.threshold,imageType);
 		}
 
@@ -78,18 +85,33 @@ public class FactoryBackgroundModel {
 
 		switch( imageType.getFamily() ) {
 			case GRAY:
-				ret= new BackgroundMovingBasic_SB(config.learnRate,config.threshold,
-						transform,config.interpolation,imageType.getImageClass());
+				if (config.concurrent) {
+					ret = new BackgroundMovingBasic_SB_MT(config.learnRate,config.threshold,
+							transform,config.interpolation,imageType.getImageClass());
+				} else {
+					ret = new BackgroundMovingBasic_SB(config.learnRate,config.threshold,
+							transform,config.interpolation,imageType.getImageClass());
+				}
 				break;
 
 			case PLANAR:
-				ret= new BackgroundMovingBasic_PL(config.learnRate,config.threshold,
-						transform,config.interpolation,imageType);
+				if (config.concurrent) {
+					ret = new BackgroundMovingBasic_PL_MT(config.learnRate,config.threshold,
+							transform,config.interpolation,imageType);
+				} else {
+					ret = new BackgroundMovingBasic_PL(config.learnRate,config.threshold,
+							transform,config.interpolation,imageType);
+				}
 				break;
 
 			case INTERLEAVED:
-				ret= new BackgroundMovingBasic_IL(config.learnRate,config.threshold,
-						transform,config.interpolation,imageType);
+				if (config.concurrent) {
+					ret = new BackgroundMovingBasic_IL_MT(config.learnRate,config.threshold,
+							transform,config.interpolation,imageType);
+				} else {
+					ret = new BackgroundMovingBasic_IL(config.learnRate,config.threshold,
+							transform,config.interpolation,imageType);
+				}
 				break;
 
 			default:
@@ -116,15 +138,29 @@ public class FactoryBackgroundModel {
 
 		switch( imageType.getFamily() ) {
 			case GRAY:
-				ret = new BackgroundStationaryGaussian_SB(config.learnRate,config.threshold,imageType.getImageClass());
+				if (config.concurrent) {
+					ret = new BackgroundStationaryGaussian_SB_MT(config.learnRate,config.threshold,
+							imageType.getImageClass());
+				} else {
+					ret = new BackgroundStationaryGaussian_SB(config.learnRate,config.threshold,
+							imageType.getImageClass());
+				}
 				break;
 
 			case PLANAR:
-				ret =  new BackgroundStationaryGaussian_PL(config.learnRate,config.threshold,imageType);
+				if (config.concurrent) {
+					ret = new BackgroundStationaryGaussian_PL_MT(config.learnRate,config.threshold,imageType);
+				} else {
+					ret = new BackgroundStationaryGaussian_PL(config.learnRate,config.threshold,imageType);
+				}
 				break;
 
 			case INTERLEAVED:
-				ret =  new BackgroundStationaryGaussian_IL(config.learnRate,config.threshold,imageType);
+				if (config.concurrent) {
+					ret = new BackgroundStationaryGaussian_IL_MT(config.learnRate,config.threshold,imageType);
+				} else {
+					ret = new BackgroundStationaryGaussian_IL(config.learnRate,config.threshold,imageType);
+				}
 				break;
 
 			default:
@@ -156,18 +192,33 @@ public class FactoryBackgroundModel {
 
 		switch( imageType.getFamily() ) {
 			case GRAY:
-				ret = new BackgroundMovingGaussian_SB(config.learnRate,config.threshold,
-						transform,config.interpolation,imageType.getImageClass());
+				if (config.concurrent) {
+					ret = new BackgroundMovingGaussian_SB_MT(config.learnRate,config.threshold,
+							transform,config.interpolation,imageType.getImageClass());
+				} else {
+					ret = new BackgroundMovingGaussian_SB(config.learnRate,config.threshold,
+							transform,config.interpolation,imageType.getImageClass());
+				}
 				break;
 
 			case PLANAR:
-				ret =  new BackgroundMovingGaussian_PL(config.learnRate,config.threshold,
-						transform,config.interpolation,imageType);
+				if (config.concurrent) {
+					ret = new BackgroundMovingGaussian_PL_MT(config.learnRate,config.threshold,
+							transform,config.interpolation,imageType);
+				} else {
+					ret = new BackgroundMovingGaussian_PL(config.learnRate,config.threshold,
+							transform,config.interpolation,imageType);
+				}
 				break;
 
 			case INTERLEAVED:
-				ret =  new BackgroundMovingGaussian_IL(config.learnRate,config.threshold,
-						transform,config.interpolation,imageType);
+				if (config.concurrent) {
+					ret = new BackgroundMovingGaussian_IL_MT(config.learnRate,config.threshold,
+							transform,config.interpolation,imageType);
+				} else {
+					ret = new BackgroundMovingGaussian_IL(config.learnRate,config.threshold,
+							transform,config.interpolation,imageType);
+				}
 				break;
 
 			default:
@@ -200,14 +251,24 @@ public class FactoryBackgroundModel {
 
 		switch( imageType.getFamily() ) {
 			case GRAY:
-				ret = new BackgroundStationaryGmm_SB(config.learningPeriod,config.decayCoefient,
-						config.numberOfGaussian,imageType);
+				if (config.concurrent) {
+					ret = new BackgroundStationaryGmm_SB_MT(config.learningPeriod,config.decayCoefient,
+							config.numberOfGaussian,imageType);
+				} else {
+					ret = new BackgroundStationaryGmm_SB(config.learningPeriod,config.decayCoefient,
+							config.numberOfGaussian,imageType);
+				}
 				break;
 
 			case PLANAR:
 			case INTERLEAVED:
-				ret =  new BackgroundStationaryGmm_MB(config.learningPeriod,config.decayCoefient,
-						config.numberOfGaussian,imageType);
+				if (config.concurrent) {
+					ret = new BackgroundStationaryGmm_MB_MT(config.learningPeriod,config.decayCoefient,
+							config.numberOfGaussian,imageType);
+				} else {
+					ret = new BackgroundStationaryGmm_MB(config.learningPeriod,config.decayCoefient,
+							config.numberOfGaussian,imageType);
+				}
 				break;
 
 			default:
@@ -218,6 +279,7 @@ public class FactoryBackgroundModel {
 		ret.setMaxDistance(config.maxDistance);
 		ret.setSignificantWeight(config.significantWeight);
 		ret.setUnknownValue(config.unknownValue);
+		ret.setCompact(config.compact);
 
 		return ret;
 	}
@@ -243,14 +305,24 @@ public class FactoryBackgroundModel {
 
 		switch( imageType.getFamily() ) {
 			case GRAY:
-				ret = new BackgroundMovingGmm_SB(config.learningPeriod,config.decayCoefient,
-						config.numberOfGaussian,transform,imageType);
+				if (config.concurrent) {
+					ret = new BackgroundMovingGmm_SB_MT(config.learningPeriod,config.decayCoefient,
+							config.numberOfGaussian,transform,imageType);
+				} else {
+					ret = new BackgroundMovingGmm_SB(config.learningPeriod,config.decayCoefient,
+							config.numberOfGaussian,transform,imageType);
+				}
 				break;
 
 			case PLANAR:
 			case INTERLEAVED:
-				ret = new BackgroundMovingGmm_MB(config.learningPeriod,config.decayCoefient,
-						config.numberOfGaussian,transform,imageType);
+				if (config.concurrent) {
+					ret = new BackgroundMovingGmm_MB_MT(config.learningPeriod,config.decayCoefient,
+							config.numberOfGaussian,transform,imageType);
+				} else {
+					ret = new BackgroundMovingGmm_MB(config.learningPeriod,config.decayCoefient,
+							config.numberOfGaussian,transform,imageType);
+				}
 				break;
 
 			default:
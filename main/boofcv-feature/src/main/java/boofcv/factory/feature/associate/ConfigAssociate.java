@@ -35,6 +35,8 @@ public class ConfigAssociate implements Configuration {
 
 	public ConfigAssociateGreedy greedy = new ConfigAssociateGreedy();
 	public ConfigAssociateNearestNeighbor nearestNeighbor = new ConfigAssociateNearestNeighbor();
+	public ConfigAssociateMultiIndexHashing hashing = new ConfigAssociateMultiIndexHashing();
+	public ConfigAssociateInvertedFilePQ invertedFilePQ = new ConfigAssociateInvertedFilePQ();
 
 	/**
 	 * Specifies the maximum distance allowed between associated pixels. This is only used when creating
@@ -49,16 +51,24 @@ public class ConfigAssociate implements Configuration {
 	public void checkValidity() {
 		greedy.checkValidity();
 		nearestNeighbor.checkValidity();
+		hashing.checkValidity();
+		invertedFilePQ.checkValidity();
 	}
 
 	public enum AssociationType {
 		GREEDY, KD_TREE, RANDOM_FOREST,
+		/** Multi-index hashing. Only supports binary descriptors. */
+		MULTI_INDEX_HASHING,
+		/** Inverted file with product quantization. Approximate and memory efficient. */
+		INVERTED_FILE_PQ,
 	}
 
 	public void setTo( ConfigAssociate src ) {
 		this.type = src.type;
 		this.greedy.setTo(src.greedy);
 		this.nearestNeighbor.setTo(src.nearestNeighbor);
+		this.hashing.setTo(src.hashing);
+		this.invertedFilePQ.setTo(src.invertedFilePQ);
 	}
 
 	public ConfigAssociate copy() {
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.factory.feature.associate;
+
+import boofcv.alg.feature.associate.AssociateInvertedFilePQ;
+import boofcv.struct.Configuration;
+
+/**
+ * Configuration for {@link AssociateInvertedFilePQ}.
+ *
+ * @author Peter Abeles
+ */
+public class ConfigAssociateInvertedFilePQ implements Configuration {
+	/**
+	 * Number of inverted lists. Should grow with the number of source features, e.g. sqrt(N) is a good place
+	 * to start.
+	 */
+	public int numLists = 64;
+
+	/** Number of lists which are searched for each query. Larger is more accurate and slower. */
+	public int numProbes = 4;
+
+	/**
+	 * Number of descriptor elements in each product quantization sub-space. Must evenly divide the descriptor's
+	 * DOF. Each sub-space is compressed into one byte.
+	 */
+	public int subspaceDof = 8;
+
+	/** Number of k-means iterations used when training */
+	public int trainingIterations = 10;
+
+	/**
+	 * If less than one then the best two matches are found the ratio is defined as the distance of the best
+	 * divided by the distance of the second best. Matches are only accepted if less than this ratio
+	 */
+	public double scoreRatioThreshold = 0.8;
+
+	/**
+	 * If more than zero then this is the maximum allowed distance squared between two features for a match to
+	 * be accepted
+	 */
+	public double maxErrorThreshold = -1;
+
+	/** Seed for the random number generator used when training */
+	public long randomSeed = 0xDEADBEEF;
+
+	@Override
+	public void checkValidity() {
+		if (numLists <= 0)
+			throw new IllegalArgumentException("numLists must be more than zero");
+		if (numProbes <= 0)
+			throw new IllegalArgumentException("numProbes must be more than zero");
+		if (subspaceDof <= 0)
+			throw new IllegalArgumentException("subspaceDof must be more than zero");
+		if (scoreRatioThreshold <= 0)
+			throw new IllegalArgumentException("Ratio must be more than zero");
+	}
+
+	public void setTo( ConfigAssociateInvertedFilePQ src ) {
+		this.numLists = src.numLists;
+		this.numProbes = src.numProbes;
+		this.subspaceDof = src.subspaceDof;
+		this.trainingIterations = src.trainingIterations;
+		this.scoreRatioThreshold = src.scoreRatioThreshold;
+		this.maxErrorThreshold = src.maxErrorThreshold;
+		this.randomSeed = src.randomSeed;
+	}
+}
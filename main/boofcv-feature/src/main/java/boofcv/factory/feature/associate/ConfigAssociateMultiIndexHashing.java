@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.factory.feature.associate;
+
+import boofcv.alg.feature.associate.AssociateMultiIndexHashing;
+import boofcv.struct.ConfigLength;
+import boofcv.struct.Configuration;
+
+/**
+ * Configuration for {@link AssociateMultiIndexHashing}.
+ *
+ * @author Peter Abeles
+ */
+public class ConfigAssociateMultiIndexHashing implements Configuration {
+	/**
+	 * Maximum hamming distance between two descriptors for them to be associated. All matches within this
+	 * distance are guaranteed to be found. If relative then it's a fraction of the number of bits in the descriptor.
+	 * A larger distance makes the search slower.
+	 */
+	public ConfigLength maxDistance = ConfigLength.relative(0.15, 1);
+
+	/**
+	 * Number of bits in each hash table key. If &le; 0 then it's selected automatically based on the number of
+	 * source features.
+	 */
+	public int bitsPerTable = 0;
+
+	/**
+	 * An association is only accepted if the ratio between the best and second best score is less than this value.
+	 * Closer to zero is more strict and closer to 1.0 is less strict. Set to a value &ge; 1.0 to disable.
+	 */
+	public double scoreRatioThreshold = 1.0;
+
+	@Override
+	public void checkValidity() {
+		maxDistance.checkValidity();
+		if (bitsPerTable > 24)
+			throw new IllegalArgumentException("bitsPerTable must be <= 24");
+		if (scoreRatioThreshold <= 0.0)
+			throw new IllegalArgumentException("scoreRatioThreshold must be greater than 0");
+	}
+
+	public void setTo( ConfigAssociateMultiIndexHashing src ) {
+		this.maxDistance.setTo(src.maxDistance);
+		this.bitsPerTable = src.bitsPerTable;
+		this.scoreRatioThreshold = src.scoreRatioThreshold;
+	}
+}
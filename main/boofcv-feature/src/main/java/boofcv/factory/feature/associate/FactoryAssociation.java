@@ -20,6 +20,7 @@ package boofcv.factory.feature.associate;
 
 import boofcv.abst.feature.associate.*;
 import boofcv.abst.feature.describe.DescriptorInfo;
+import boofcv.alg.descriptor.InvertedFileProductQuantizer;
 import boofcv.alg.descriptor.KdTreeTuple_F64;
 import boofcv.alg.feature.associate.*;
 import boofcv.concurrency.BoofConcurrency;
@@ -50,6 +51,16 @@ public class FactoryAssociation {
 			case KD_TREE: return (AssociateDescription)FactoryAssociation.kdtree(config.nearestNeighbor,DOF);
 			case RANDOM_FOREST: return (AssociateDescription)FactoryAssociation.kdRandomForest(
 					config.nearestNeighbor,DOF, 10, 5, 1233445565);
+			case INVERTED_FILE_PQ: {
+				if (info.getDescriptionType() != TupleDesc_F64.class)
+					throw new IllegalArgumentException("Inverted file PQ only supports TupleDesc_F64 descriptors");
+				return (AssociateDescription)FactoryAssociation.invertedFilePQ(config.invertedFilePQ, DOF);
+			}
+			case MULTI_INDEX_HASHING: {
+				if (info.getDescriptionType() != TupleDesc_B.class)
+					throw new IllegalArgumentException("Multi-index hashing only supports binary descriptors");
+				return (AssociateDescription)FactoryAssociation.multiIndexHashing(config.hashing);
+			}
 			default: throw new IllegalArgumentException("Unknown association: "+config.type);
 		}
 	}
@@ -206,6 +217,59 @@ public class FactoryAssociation {
 		return associateNearestNeighbor(configNN,nn);
 	}
 
+	/**
+	 * Association for binary descriptors using Multi-Index Hashing. All matches within the max hamming
+	 * distance are found exactly while only a fraction of the source features are examined.
+	 *
+	 * @see AssociateMultiIndexHashing
+	 *
+	 * @param config Configuration. If null then the default is used.
+	 * @return Association using multi-index hashing
+	 */
+	public static AssociateDescription<TupleDesc_B>
+	multiIndexHashing( @Nullable ConfigAssociateMultiIndexHashing config ) {
+		if (config == null)
+			config = new ConfigAssociateMultiIndexHashing();
+		config.checkValidity();
+
+		var alg = new AssociateMultiIndexHashing();
+		alg.getMaxDistance().setTo(config.maxDistance);
+		alg.setBitsPerTable(config.bitsPerTable);
+		alg.setScoreRatioThreshold(config.scoreRatioThreshold);
+		return alg;
+	}
+
+	/**
+	 * Approximate association using an inverted file with product quantization. Source descriptors are
+	 * compressed into a few bytes each, making it suitable for matching against a very large number of features.
+	 *
+	 * @see AssociateInvertedFilePQ
+	 *
+	 * @param config Configuration. If null then the default is used.
+	 * @param dimension Number of elements in the feature vector
+	 * @return Association using an inverted file with product quantization
+	 */
+	public static AssociateInvertedFilePQ invertedFilePQ( @Nullable ConfigAssociateInvertedFilePQ config,
+														  int dimension ) {
+		if (config == null)
+			config = new ConfigAssociateInvertedFilePQ();
+		config.checkValidity();
+
+		if (dimension%config.subspaceDof != 0)
+			throw new IllegalArgumentException("subspaceDof=" + config.subspaceDof +
+					" must evenly divide the descriptor's DOF=" + dimension);
+
+		var index = new InvertedFileProductQuantizer(dimension, config.numLists, dimension/config.subspaceDof);
+		index.setNumProbes(config.numProbes);
+
+		var alg = new AssociateInvertedFilePQ(index);
+		alg.setScoreRatioThreshold(config.scoreRatioThreshold);
+		alg.setMaxScoreThreshold(config.maxErrorThreshold);
+		alg.setTrainingIterations(config.trainingIterations);
+		alg.setRandomSeed(config.randomSeed);
+		return alg;
+	}
+
 	public static AssociateNearestNeighbor<TupleDesc_F64>
 	associateNearestNeighbor( @Nullable ConfigAssociateNearestNeighbor config ,  NearestNeighbor nn )
 	{
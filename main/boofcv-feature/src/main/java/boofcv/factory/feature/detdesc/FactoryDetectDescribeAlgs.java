@@ -26,11 +26,14 @@ import boofcv.abst.feature.detect.interest.ConfigSiftDetector;
 import boofcv.abst.feature.orientation.ConfigSiftOrientation;
 import boofcv.alg.feature.describe.DescribePointSift;
 import boofcv.alg.feature.detdesc.CompleteSift;
+import boofcv.alg.feature.detdesc.CompleteSift_MT;
 import boofcv.alg.feature.detect.interest.SiftScaleSpace;
+import boofcv.alg.feature.detect.interest.SiftScaleSpace_MT;
 import boofcv.alg.feature.detect.selector.FeatureSelectLimitIntensity;
 import boofcv.alg.feature.orientation.OrientationHistogramSift;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.factory.feature.detect.selector.FactorySelectLimit;
+import boofcv.misc.BoofLambdas;
 import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.image.GrayF32;
 import org.jetbrains.annotations.Nullable;
@@ -48,11 +51,12 @@ public class FactoryDetectDescribeAlgs {
 		ConfigSiftOrientation configOri = config.orientation;
 		ConfigSiftDescribe configDesc = config.describe;
 
-		SiftScaleSpace scaleSpace = new SiftScaleSpace(
-				configSS.firstOctave,configSS.lastOctave,configSS.numScales,configSS.sigma0);
-		OrientationHistogramSift<GrayF32> orientation = new OrientationHistogramSift<>(
-				configOri.histogramSize,configOri.sigmaEnlarge,GrayF32.class);
-		DescribePointSift<GrayF32> describe = new DescribePointSift<>(
+		SiftScaleSpace scaleSpace = config.concurrent ?
+				new SiftScaleSpace_MT(configSS.firstOctave, configSS.lastOctave, configSS.numScales, configSS.sigma0) :
+				new SiftScaleSpace(configSS.firstOctave, configSS.lastOctave, configSS.numScales, configSS.sigma0);
+		BoofLambdas.Factory<OrientationHistogramSift<GrayF32>> factoryOrientation = () ->
+				new OrientationHistogramSift<>(configOri.histogramSize, configOri.sigmaEnlarge, GrayF32.class);
+		BoofLambdas.Factory<DescribePointSift<GrayF32>> factoryDescribe = () -> new DescribePointSift<>(
 				configDesc.widthSubregion,configDesc.widthGrid, configDesc.numHistogramBins,
 				configDesc.sigmaToPixels, configDesc.weightingSigmaFraction,
 				configDesc.maxDescriptorElementValue,GrayF32.class);
@@ -60,8 +64,14 @@ public class FactoryDetectDescribeAlgs {
 		NonMaxLimiter nonMax = FactoryFeatureExtractor.nonmaxLimiter(
 				configDetector.extract,configDetector.selector,configDetector.maxFeaturesPerScale);
 		FeatureSelectLimitIntensity<ScalePoint> selectorAll = FactorySelectLimit.intensity(configDetector.selector);
-		CompleteSift dds = new CompleteSift(scaleSpace,selectorAll,
-				configDetector.edgeR,nonMax,orientation,describe);
+		CompleteSift dds;
+		if (config.concurrent) {
+			dds = new CompleteSift_MT(scaleSpace, selectorAll,
+					configDetector.edgeR, nonMax, factoryOrientation, factoryDescribe);
+		} else {
+			dds = new CompleteSift(scaleSpace, selectorAll,
+					configDetector.edgeR, nonMax, factoryOrientation.newInstance(), factoryDescribe.newInstance());
+		}
 		dds.maxFeaturesAll = configDetector.maxFeaturesAll;
 		return dds;
 	}
@@ -67,6 +67,12 @@ public class ConfigHornSchunckPyramid implements Configuration {
 	 */
 	public InterpolationType interpolation = InterpolationType.BILINEAR;
 
+	/**
+	 * If true the concurrent implementation is used. Off by default since its red-black ordering of the SOR
+	 * iterations produces results which are not identical to the single threaded implementation.
+	 */
+	public boolean concurrent = false;
+
 	public ConfigHornSchunckPyramid() {
 	}
 
@@ -85,6 +91,7 @@ public class ConfigHornSchunckPyramid implements Configuration {
 		this.pyrSigma = src.pyrSigma;
 		this.pyrMaxLayers = src.pyrMaxLayers;
 		this.interpolation = src.interpolation;
+		this.concurrent = src.concurrent;
 	}
 
 	@Override
@@ -18,6 +18,7 @@
 
 package boofcv.factory.flow;
 
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.Configuration;
 
 /**
@@ -48,6 +49,11 @@ public class ConfigOpticalFlowBlockPyramid implements Configuration {
 	 */
 	public int maxPyramidLayers = 20;
 
+	/**
+	 * If true the concurrent implementation is used. Defaults to the global setting in {@link BoofConcurrency}.
+	 */
+	public boolean concurrent = BoofConcurrency.USE_CONCURRENT;
+
 	public ConfigOpticalFlowBlockPyramid() {}
 
 	public void setTo( ConfigOpticalFlowBlockPyramid src ) {
@@ -56,6 +62,7 @@ public class ConfigOpticalFlowBlockPyramid implements Configuration {
 		this.maxPerPixelError = src.maxPerPixelError;
 		this.pyramidScale = src.pyramidScale;
 		this.maxPyramidLayers = src.maxPyramidLayers;
+		this.concurrent = src.concurrent;
 	}
 
 	@Override
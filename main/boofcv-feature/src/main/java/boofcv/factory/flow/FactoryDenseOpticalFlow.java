@@ -23,12 +23,15 @@ import boofcv.abst.flow.*;
 import boofcv.alg.filter.derivative.GImageDerivativeOps;
 import boofcv.alg.flow.*;
 import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.tracker.klt.ConfigKlt;
 import boofcv.alg.tracker.klt.ConfigPKlt;
 import boofcv.alg.tracker.klt.PyramidKltTracker;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.factory.tracker.FactoryTrackerAlg;
 import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.misc.BoofLambdas;
 import boofcv.struct.border.BorderType;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
@@ -39,7 +42,8 @@ import boofcv.struct.pyramid.PyramidDiscrete;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * Creates implementations of {@link DenseOpticalFlow}.
+ * Creates implementations of {@link DenseOpticalFlow}. Concurrent implementations are returned when available
+ * and the configuration requests them.
  *
  * @author Peter Abeles
  */
@@ -60,6 +64,26 @@ public class FactoryDenseOpticalFlow {
 	 */
 	public static <I extends ImageGray<I>, D extends ImageGray<D>>
 	DenseOpticalFlow<I> flowKlt(@Nullable ConfigPKlt configKlt, int radius , Class<I> inputType , Class<D> derivType ) {
+		return flowKlt(configKlt, radius, BoofConcurrency.USE_CONCURRENT, inputType, derivType);
+	}
+
+	/**
+	 * Compute optical flow using {@link PyramidKltTracker}.
+	 *
+	 * @see DenseOpticalFlowKlt
+	 *
+	 * @param configKlt Configuration for KLT.  If null then default values are used.
+	 * @param radius Radius of square region.
+	 * @param concurrent If true then the concurrent implementation is used.
+	 * @param inputType Type of input image.
+	 * @param derivType Type of derivative image.  If null then default is used.
+	 * @param <I> Input image type.
+	 * @param <D> Derivative image type.
+	 * @return DenseOpticalFlow
+	 */
+	public static <I extends ImageGray<I>, D extends ImageGray<D>>
+	DenseOpticalFlow<I> flowKlt( @Nullable ConfigPKlt configKlt, int radius, boolean concurrent,
+								 Class<I> inputType, @Nullable Class<D> derivType ) {
 
 		if( configKlt == null ) {
 			configKlt = new ConfigPKlt();
@@ -74,8 +98,16 @@ public class FactoryDenseOpticalFlow {
 		PyramidDiscrete<I> pyramidA = FactoryPyramid.discreteGaussian(configKlt.pyramidLevels, -1, 2, true, imagetype);
 		PyramidDiscrete<I> pyramidB = FactoryPyramid.discreteGaussian(configKlt.pyramidLevels, -1, 2, true, imagetype);
 
-		PyramidKltTracker<I, D> tracker = FactoryTrackerAlg.kltPyramid(configKlt.config, inputType, derivType);
-		DenseOpticalFlowKlt<I, D> flowKlt = new DenseOpticalFlowKlt<>(tracker, radius);
+		DenseOpticalFlowKlt<I, D> flowKlt;
+		if (concurrent) {
+			ConfigKlt _configKlt = configKlt.config;
+			Class<D> _derivType = derivType;
+			flowKlt = new DenseOpticalFlowKlt_MT<>(
+					() -> FactoryTrackerAlg.kltPyramid(_configKlt, inputType, _derivType), radius);
+		} else {
+			PyramidKltTracker<I, D> tracker = FactoryTrackerAlg.kltPyramid(configKlt.config, inputType, derivType);
+			flowKlt = new DenseOpticalFlowKlt<>(tracker, radius);
+		}
 		ImageGradient<I, D> gradient = FactoryDerivative.sobel(inputType,derivType);
 
 		return new FlowKlt_to_DenseOpticalFlow<>(flowKlt, gradient, pyramidA, pyramidB, inputType, derivType);
@@ -97,16 +129,23 @@ public class FactoryDenseOpticalFlow {
 		if( config == null )
 			config = new ConfigOpticalFlowBlockPyramid();
 
-		DenseOpticalFlowBlockPyramid<T> alg;
+		final ConfigOpticalFlowBlockPyramid _config = config;
+		BoofLambdas.Factory<DenseOpticalFlowBlockPyramid<T>> factory;
 		if( imageType == GrayU8.class )
-			alg = (DenseOpticalFlowBlockPyramid)new DenseOpticalFlowBlockPyramid.U8(
-					config.searchRadius,config.regionRadius,config.maxPerPixelError);
+			factory = () -> (DenseOpticalFlowBlockPyramid)new DenseOpticalFlowBlockPyramid.U8(
+					_config.searchRadius,_config.regionRadius,_config.maxPerPixelError);
 		else if( imageType == GrayF32.class )
-			alg = (DenseOpticalFlowBlockPyramid)new DenseOpticalFlowBlockPyramid.F32(
-					config.searchRadius,config.regionRadius,config.maxPerPixelError);
+			factory = () -> (DenseOpticalFlowBlockPyramid)new DenseOpticalFlowBlockPyramid.F32(
+					_config.searchRadius,_config.regionRadius,_config.maxPerPixelError);
 		else
 			throw new IllegalArgumentException("Unsupported image type "+imageType);
 
+		DenseOpticalFlowBlockPyramid<T> alg;
+		if (config.concurrent)
+			alg = new DenseOpticalFlowBlockPyramid_MT<>(factory);
+		else
+			alg = factory.newInstance();
+
 		return new FlowBlock_to_DenseOpticalFlow<>(alg, config.pyramidScale, config.maxPyramidLayers, imageType);
 	}
 
@@ -154,7 +193,11 @@ public class FactoryDenseOpticalFlow {
 		InterpolatePixelS<GrayF32> interpolate =
 				FactoryInterpolation.createPixelS(0,255,config.interpolation, BorderType.EXTENDED, GrayF32.class);
 
-		HornSchunckPyramid<T> alg = new HornSchunckPyramid<>(config, interpolate);
+		HornSchunckPyramid<T> alg;
+		if (config.concurrent)
+			alg = new HornSchunckPyramid_MT<>(config, interpolate);
+		else
+			alg = new HornSchunckPyramid<>(config, interpolate);
 
 		return new HornSchunckPyramid_to_DenseOpticalFlow<>(alg, imageType);
 	}
@@ -168,7 +211,11 @@ public class FactoryDenseOpticalFlow {
 		InterpolatePixelS<GrayF32> interpolate =
 				FactoryInterpolation.createPixelS(0,255,config.interpolation, BorderType.EXTENDED, GrayF32.class);
 
-		BroxWarpingSpacial<T> alg = new BroxWarpingSpacial<>(config, interpolate);
+		BroxWarpingSpacial<T> alg;
+		if (config.concurrent)
+			alg = new BroxWarpingSpacial_MT<>(config, interpolate);
+		else
+			alg = new BroxWarpingSpacial<>(config, interpolate);
 
 		return new BroxWarpingSpacial_to_DenseOpticalFlow<>(alg, imageType);
 	}
@@ -25,10 +25,12 @@ import boofcv.alg.filter.derivative.GImageDerivativeOps;
 import boofcv.alg.interpolate.InterpolateRectangle;
 import boofcv.alg.tracker.hybrid.HybridTrackerScalePoint;
 import boofcv.alg.tracker.hybrid.PyramidKltForHybrid;
+import boofcv.alg.tracker.hybrid.PyramidKltForHybrid_MT;
 import boofcv.alg.tracker.klt.ConfigKlt;
 import boofcv.alg.tracker.klt.ConfigPKlt;
 import boofcv.alg.tracker.klt.KltTracker;
 import boofcv.alg.tracker.klt.PyramidKltTracker;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.image.ImageGray;
@@ -122,8 +124,12 @@ public class FactoryTrackerAlg {
 		if( derivType == null )
 			derivType = GImageDerivativeOps.getDerivativeType(imageType);
 
-		PyramidKltForHybrid<I,D> klt = new PyramidKltForHybrid<>(kltConfig.config,
-				kltConfig.templateRadius,imageType, derivType);
+		PyramidKltForHybrid<I,D> klt;
+		if (BoofConcurrency.USE_CONCURRENT) {
+			klt = new PyramidKltForHybrid_MT<>(kltConfig.config, kltConfig.templateRadius, imageType, derivType);
+		} else {
+			klt = new PyramidKltForHybrid<>(kltConfig.config, kltConfig.templateRadius, imageType, derivType);
+		}
 
 		var tracker = new HybridTrackerScalePoint<>(klt, detector, associate, tooCloseRadius );
 		tracker.maxInactiveTracks = configHybrid.maxInactiveTracks;
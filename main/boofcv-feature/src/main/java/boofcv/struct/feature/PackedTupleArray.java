@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+/**
+ * Stores a set of descriptors inside of a single contiguous array, one after another, instead of as individual
+ * objects. This reduces memory usage, the number of objects which need to be allocated, and improves cache
+ * locality when descriptors are compared against each other in a brute force loop.
+ *
+ * @param <D> Type of descriptor
+ * @author Peter Abeles
+ */
+public interface PackedTupleArray<D> {
+	/**
+	 * Removes all descriptors. Memory is not released.
+	 */
+	void reset();
+
+	/**
+	 * Ensures there's enough storage for the specified number of descriptors
+	 */
+	void reserve( int numTuples );
+
+	/**
+	 * Copies the descriptor to the end of the array
+	 */
+	void append( D element );
+
+	/**
+	 * Returns a descriptor which contains a copy of the element at the index. The returned descriptor is owned
+	 * by this class and is modified on the next call. Not thread safe.
+	 *
+	 * @param index Which descriptor
+	 * @return Temporary copy of the descriptor
+	 */
+	D getTemp( int index );
+
+	/**
+	 * Copies the descriptor at the index into the provided storage
+	 *
+	 * @param index Which descriptor
+	 * @param dst (Output) Storage for the descriptor
+	 */
+	void getCopy( int index, D dst );
+
+	/**
+	 * Number of elements in each descriptor
+	 */
+	int getDOF();
+
+	/**
+	 * Number of descriptors stored in the array
+	 */
+	int size();
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+import lombok.Getter;
+import org.ddogleg.struct.DogArray_I32;
+
+/**
+ * {@link PackedTupleArray} for {@link TupleDesc_B}. Each descriptor is stored using the same number of ints
+ * as {@link TupleDesc_B} and descriptor 'i' starts at index i*numInts in {@link #data}.
+ *
+ * @author Peter Abeles
+ */
+public class PackedTupleArray_B implements PackedTupleArray<TupleDesc_B> {
+	/** Number of bits in each descriptor */
+	private @Getter final int numBits;
+
+	/** Number of ints used to store each descriptor */
+	private @Getter final int numInts;
+
+	/** Storage for all the descriptors */
+	public final DogArray_I32 data = new DogArray_I32();
+
+	// Number of descriptors
+	private int numElements;
+
+	// Used by getTemp()
+	private final TupleDesc_B temp;
+
+	public PackedTupleArray_B( int numBits ) {
+		this.temp = new TupleDesc_B(numBits);
+		this.numBits = numBits;
+		this.numInts = temp.data.length;
+	}
+
+	@Override public void reset() {
+		numElements = 0;
+		data.reset();
+	}
+
+	@Override public void reserve( int numTuples ) {
+		data.reserve(numTuples*numInts);
+	}
+
+	@Override public void append( TupleDesc_B element ) {
+		if (element.numBits != numBits)
+			throw new IllegalArgumentException("Number of bits doesn't match. " + element.numBits + " vs " + numBits);
+		data.resize(data.size + numInts);
+		System.arraycopy(element.data, 0, data.data, numElements*numInts, numInts);
+		numElements++;
+	}
+
+	@Override public TupleDesc_B getTemp( int index ) {
+		getCopy(index, temp);
+		return temp;
+	}
+
+	@Override public void getCopy( int index, TupleDesc_B dst ) {
+		dst.numBits = numBits;
+		System.arraycopy(data.data, index*numInts, dst.data, 0, numInts);
+	}
+
+	@Override public int getDOF() {
+		return numBits;
+	}
+
+	@Override public int size() {
+		return numElements;
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+import org.ddogleg.struct.DogArray_F64;
+import org.ddogleg.struct.FastAccess;
+
+/**
+ * {@link PackedTupleArray} for {@link TupleDesc_F64}. Descriptor 'i' is stored in {@link #data} starting at
+ * index i*dof.
+ *
+ * @author Peter Abeles
+ */
+public class PackedTupleArray_F64 implements PackedTupleArray<TupleDesc_F64> {
+	/** Number of elements in each descriptor */
+	private final int dof;
+
+	/** Storage for all the descriptors */
+	public final DogArray_F64 data = new DogArray_F64();
+
+	// Number of descriptors
+	private int numElements;
+
+	// Used by getTemp()
+	private final TupleDesc_F64 temp;
+
+	public PackedTupleArray_F64( int dof ) {
+		this.dof = dof;
+		this.temp = new TupleDesc_F64(dof);
+	}
+
+	@Override public void reset() {
+		numElements = 0;
+		data.reset();
+	}
+
+	@Override public void reserve( int numTuples ) {
+		data.reserve(numTuples*dof);
+	}
+
+	@Override public void append( TupleDesc_F64 element ) {
+		append(element.value);
+	}
+
+	/**
+	 * Copies the first 'dof' elements in the array to the end of this array
+	 */
+	public void append( double[] element ) {
+		data.resize(data.size + dof);
+		System.arraycopy(element, 0, data.data, numElements*dof, dof);
+		numElements++;
+	}
+
+	/**
+	 * Replaces the contents of this array with a copy of all the descriptors in the list. Storage is allocated once
+	 * and the values are copied directly from each descriptor's array.
+	 */
+	public void setTo( FastAccess<TupleDesc_F64> src ) {
+		numElements = 0;
+		data.resize(src.size*dof);
+		for (int i = 0; i < src.size; i++) {
+			System.arraycopy(src.data[i].value, 0, data.data, i*dof, dof);
+		}
+		numElements = src.size;
+	}
+
+	@Override public TupleDesc_F64 getTemp( int index ) {
+		getCopy(index, temp);
+		return temp;
+	}
+
+	@Override public void getCopy( int index, TupleDesc_F64 dst ) {
+		System.arraycopy(data.data, index*dof, dst.value, 0, dof);
+	}
+
+	@Override public int getDOF() {
+		return dof;
+	}
+
+	@Override public int size() {
+		return numElements;
+	}
+}
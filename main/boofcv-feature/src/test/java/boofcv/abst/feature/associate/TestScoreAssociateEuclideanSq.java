@@ -19,6 +19,8 @@
 package boofcv.abst.feature.associate;
 
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray_F32;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F32;
 import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.testing.BoofStandardJUnit;
@@ -59,6 +61,22 @@ class TestScoreAssociateEuclideanSq extends BoofStandardJUnit {
 
 			assertEquals(195, score.score(a, b), 1e-4);
 		}
+
+		@Test
+		public void packed() {
+			var score = new ScoreAssociateEuclideanSq.F32();
+			var packed = new PackedTupleArray_F32(5);
+			for (int i = 0; i < 3; i++) {
+				packed.append(createDescription());
+			}
+
+			for (int i = 0; i < 3; i++) {
+				for (int j = 0; j < 3; j++) {
+					double expected = score.score(packed.getTemp(i).copy(), packed.getTemp(j));
+					assertEquals(expected, score.score(packed, i, packed, j));
+				}
+			}
+		}
 	}
 
 	@Nested
@@ -89,5 +107,21 @@ class TestScoreAssociateEuclideanSq extends BoofStandardJUnit {
 
 			assertEquals(195,score.score(a,b),1e-4);
 		}
+
+		@Test
+		public void packed() {
+			var score = new ScoreAssociateEuclideanSq.F64();
+			var packed = new PackedTupleArray_F64(5);
+			for (int i = 0; i < 3; i++) {
+				packed.append(createDescription());
+			}
+
+			for (int i = 0; i < 3; i++) {
+				for (int j = 0; j < 3; j++) {
+					double expected = score.score(packed.getTemp(i).copy(), packed.getTemp(j));
+					assertEquals(expected, score.score(packed, i, packed, j));
+				}
+			}
+		}
 	}
 }
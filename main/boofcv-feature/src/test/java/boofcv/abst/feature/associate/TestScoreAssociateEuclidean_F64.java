@@ -19,6 +19,7 @@
 package boofcv.abst.feature.associate;
 
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.junit.jupiter.api.Test;
 
@@ -60,4 +61,20 @@ public class TestScoreAssociateEuclidean_F64 extends StandardScoreAssociationChe
 
 		assertEquals(13.964,score.score(a,b),1e-2);
 	}
+
+	@Test
+	public void packed() {
+		var score = new ScoreAssociateEuclidean_F64();
+		var packed = new PackedTupleArray_F64(5);
+		for (int i = 0; i < 3; i++) {
+			packed.append(createDescription());
+		}
+
+		for (int i = 0; i < 3; i++) {
+			for (int j = 0; j < 3; j++) {
+				double expected = score.score(packed.getTemp(i).copy(), packed.getTemp(j));
+				assertEquals(expected, score.score(packed, i, packed, j), 1e-8);
+			}
+		}
+	}
 }
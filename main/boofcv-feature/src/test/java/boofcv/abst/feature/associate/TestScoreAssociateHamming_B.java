@@ -20,6 +20,7 @@ package boofcv.abst.feature.associate;
 
 import boofcv.alg.descriptor.DescriptorDistance;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray_B;
 import boofcv.struct.feature.TupleDesc_B;
 import org.junit.jupiter.api.Test;
 
@@ -56,6 +57,25 @@ public class TestScoreAssociateHamming_B extends StandardScoreAssociationChecks<
 		}
 	}
 
+	@Test
+	public void packed() {
+		var scorer = new ScoreAssociateHamming_B();
+		var packed = new PackedTupleArray_B(70);
+		for (int i = 0; i < 3; i++) {
+			var desc = new TupleDesc_B(70);
+			for (int j = 0; j < desc.data.length; j++)
+				desc.data[j] = rand.nextInt();
+			packed.append(desc);
+		}
+
+		for (int i = 0; i < 3; i++) {
+			for (int j = 0; j < 3; j++) {
+				int expected = DescriptorDistance.hamming(packed.getTemp(i).copy(), packed.getTemp(j));
+				assertEquals(expected, scorer.score(packed, i, packed, j));
+			}
+		}
+	}
+
 	@Override
 	public ScoreAssociation<TupleDesc_B> createScore() {
 		return new ScoreAssociateHamming_B();
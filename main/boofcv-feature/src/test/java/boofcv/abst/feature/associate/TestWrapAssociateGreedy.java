@@ -19,9 +19,16 @@
 package boofcv.abst.feature.associate;
 
 import boofcv.alg.feature.associate.AssociateGreedyDesc;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.struct.DogArray;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * @author Peter Abeles
@@ -62,6 +69,70 @@ class TestWrapAssociateGreedy extends BoofStandardJUnit {
 		@Override public void checkSetThreshold(){};
 	}
 
+	/**
+	 * Associate using packed arrays and see if it produces the same matches as the lists
+	 */
+	@Test
+	void packed() {
+		var listSrc = new DogArray<>(() -> new TupleDesc_F64(1));
+		var listDst = new DogArray<>(() -> new TupleDesc_F64(1));
+		var packedSrc = new PackedTupleArray_F64(1);
+		var packedDst = new PackedTupleArray_F64(1);
+		for (int i = 0; i < 30; i++) {
+			listSrc.grow().value[0] = rand.nextDouble();
+			packedSrc.append(listSrc.getTail());
+		}
+		for (int i = 0; i < 35; i++) {
+			listDst.grow().value[0] = rand.nextDouble();
+			packedDst.append(listDst.getTail());
+		}
+
+		var alg = new WrapAssociateGreedy<>(new AssociateGreedyDesc<>(new ScoreAssociateEuclidean_F64()));
+		alg.setSource(listSrc);
+		alg.setDestination(listDst);
+		alg.associate();
+		// copy since the matches are recycled
+		var expected = new DogArray<>(AssociatedIndex::new);
+		for (int i = 0; i < alg.getMatches().size; i++) {
+			expected.grow().setTo(alg.getMatches().get(i));
+		}
+		int expectedUnassociated = alg.getUnassociatedDestination().size;
+
+		alg.setSource(packedSrc);
+		alg.setDestination(packedDst);
+		alg.associate();
+		assertEquals(expected.size, alg.getMatches().size);
+		for (int i = 0; i < expected.size; i++) {
+			assertEquals(expected.get(i).src, alg.getMatches().get(i).src);
+			assertEquals(expected.get(i).dst, alg.getMatches().get(i).dst);
+		}
+		assertEquals(expectedUnassociated, alg.getUnassociatedDestination().size);
+	}
+
+	/**
+	 * Mixing a packed and list input should be an error and not silently use a stale input
+	 */
+	@Test
+	void packed_mixedInputs() {
+		var listSrc = new DogArray<>(() -> new TupleDesc_F64(1));
+		var listDst = new DogArray<>(() -> new TupleDesc_F64(1));
+		var packedDst = new PackedTupleArray_F64(1);
+		listSrc.grow().value[0] = 1.0;
+		listDst.grow().value[0] = 1.0;
+		packedDst.append(listDst.getTail());
+
+		var alg = new WrapAssociateGreedy<>(new AssociateGreedyDesc<>(new ScoreAssociateEuclidean_F64()));
+		alg.setSource(listSrc);
+		alg.setDestination(listDst);
+		alg.setDestination(packedDst);
+		assertThrows(IllegalArgumentException.class, alg::associate);
+
+		// switching back to a list should discard the packed input
+		alg.setDestination(listDst);
+		alg.associate();
+		assertEquals(1, alg.getMatches().size);
+	}
+
 	private static abstract class StandardTests extends StandardAssociateDescriptionChecks<TupleDesc_F64>
 	{
 		protected StandardTests() {
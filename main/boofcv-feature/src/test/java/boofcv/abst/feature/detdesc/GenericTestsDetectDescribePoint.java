@@ -20,7 +20,9 @@ package boofcv.abst.feature.detdesc;
 
 import boofcv.BoofTesting;
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageMultiBand;
 import boofcv.struct.image.ImageType;
@@ -68,6 +70,7 @@ public abstract class GenericTestsDetectDescribePoint<T extends ImageBase<T>,D e
 		checkSubImage();
 		detectFeatures();
 		failBandMissMatch();
+		getDescriptions_packed();
 		getDescriptorType();
 		hasOrientation();
 		hasScale();
@@ -126,6 +129,34 @@ public abstract class GenericTestsDetectDescribePoint<T extends ImageBase<T>,D e
 		}
 	}
 
+	/**
+	 * Copying all the descriptors into a packed array should produce the same descriptors
+	 */
+	@Test
+	public void getDescriptions_packed() {
+		if (descType != TupleDesc_F64.class)
+			return;
+
+		DetectDescribePoint<T, D> alg = createDetDesc();
+		alg.detect(image);
+		int N = alg.getNumberOfFeatures();
+		assertTrue(N > 1);
+
+		var packed = new PackedTupleArray_F64(alg.createDescription().size());
+		// put something in it to make sure it's reset
+		packed.append(new TupleDesc_F64(packed.getDOF()));
+		((DetectDescribePoint)alg).getDescriptions(packed);
+
+		assertEquals(N, packed.size());
+		for (int i = 0; i < N; i++) {
+			D expected = alg.getDescription(i);
+			TupleDesc_F64 found = packed.getTemp(i);
+			for (int j = 0; j < expected.size(); j++) {
+				assertEquals(expected.getDouble(j), found.value[j]);
+			}
+		}
+	}
+
 	/**
 	 * Make sure sub-images are correctly handled by having it process one and see if it produces the
 	 * same results
@@ -24,6 +24,7 @@ import boofcv.abst.feature.detect.interest.PointDetectorTypes;
 import boofcv.abst.tracker.PointTrackerKltPyramid.PointTrackMod;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.tracker.klt.*;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.tracker.FactoryPointTracker;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.pyramid.ConfigDiscreteLevels;
@@ -39,6 +40,10 @@ class TestPointTrackerKltPyramid extends GenericChecksPointTracker<GrayF32> {
 
 	ConfigPKlt config;
 
+	static {
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
 	public TestPointTrackerKltPyramid() {
 		super(false, true);
 	}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.tracker;
+
+import boofcv.abst.distort.FDistort;
+import boofcv.abst.feature.detect.interest.ConfigPointDetector;
+import boofcv.abst.feature.detect.interest.PointDetectorTypes;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.alg.tracker.klt.ConfigPKlt;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.tracker.FactoryPointTracker;
+import boofcv.struct.image.GrayF32;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestPointTrackerKltPyramid_MT extends GenericChecksPointTracker<GrayF32> {
+	static {
+		BoofConcurrency.USE_CONCURRENT = true;
+	}
+
+	TestPointTrackerKltPyramid_MT() {
+		super(false, true);
+	}
+
+	@Override public PointTracker<GrayF32> createTracker() {
+		var config = new ConfigPKlt();
+		config.maximumTracks.setFixed(0);
+		return createKLT(config, true);
+	}
+
+	/**
+	 * Compare to the single threaded version. Results should be identical, including the order of tracks.
+	 */
+	@Test void compareToSingleThread() {
+		var config = new ConfigPKlt();
+		config.toleranceFB = 0.5;
+		config.pruneClose = true;
+		config.maximumTracks.setFixed(0);
+
+		PointTrackerKltPyramid<GrayF32, GrayF32> single = createKLT(config, false);
+		PointTrackerKltPyramid<GrayF32, GrayF32> multi = createKLT(config, true);
+		assertFalse(single instanceof PointTrackerKltPyramid_MT);
+		assertTrue(multi instanceof PointTrackerKltPyramid_MT);
+
+		GrayF32 shifted = image.createSameShape();
+		for (int frame = 0; frame < 5; frame++) {
+			new FDistort(image, shifted).affine(1, 0, 0, 1, frame*1.5, frame*0.5).borderExt().apply();
+			// Add noise so that some tracks get dropped
+			GImageMiscOps.addUniform(shifted, rand, -5, 5);
+
+			single.process(shifted);
+			multi.process(shifted);
+			single.spawnTracks();
+			multi.spawnTracks();
+
+			assertTrue(single.getTotalActive() > 20);
+			compare(single.getActiveTracks(null), multi.getActiveTracks(null));
+			compare(single.getDroppedTracks(null), multi.getDroppedTracks(null));
+			compare(single.getNewTracks(null), multi.getNewTracks(null));
+		}
+	}
+
+	private void compare( List<PointTrack> expected, List<PointTrack> found ) {
+		assertEquals(expected.size(), found.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).featureId, found.get(i).featureId);
+			assertEquals(0.0, expected.get(i).pixel.distance(found.get(i).pixel));
+		}
+	}
+
+	private PointTrackerKltPyramid<GrayF32, GrayF32> createKLT( ConfigPKlt config, boolean concurrent ) {
+		var configDetector = new ConfigPointDetector();
+		configDetector.type = PointDetectorTypes.SHI_TOMASI;
+		configDetector.general.maxFeatures = 200;
+		configDetector.general.radius = 3;
+		configDetector.general.threshold = 1000;
+
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+		PointTrackerKltPyramid<GrayF32, GrayF32> tracker =
+				FactoryPointTracker.klt(config, configDetector, GrayF32.class, GrayF32.class);
+		BoofConcurrency.USE_CONCURRENT = true;
+		return tracker;
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.moving;
+
+import boofcv.BoofTesting;
+import boofcv.alg.background.BackgroundModelMoving;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.struct.homography.Homography2D_F32;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares concurrent implementations of moving background models against their single threaded version.
+ *
+ * @author Peter Abeles
+ */
+public abstract class GenericBackgroundMovingMtChecks extends BoofStandardJUnit {
+	int width = 70;
+	int height = 65;
+
+	protected List<ImageType> imageTypes = new ArrayList<>();
+
+	public abstract <T extends ImageBase<T>>
+	BackgroundModelMoving<T, Homography2D_F32> createSingle( ImageType<T> imageType );
+
+	public abstract <T extends ImageBase<T>>
+	BackgroundModelMoving<T, Homography2D_F32> createConcurrent( ImageType<T> imageType );
+
+	@Test void compareToSingle() {
+		for (ImageType type : imageTypes) {
+			compareToSingle(type);
+		}
+	}
+
+	private <T extends ImageBase<T>> void compareToSingle( ImageType<T> imageType ) {
+		BackgroundModelMoving<T, Homography2D_F32> single = createSingle(imageType);
+		BackgroundModelMoving<T, Homography2D_F32> concurrent = createConcurrent(imageType);
+
+		var homeToWorld = new Homography2D_F32(1, 0, width/2, 0, 1, height/2, 0, 0, 1);
+		single.initialize(width*2, height*2, homeToWorld);
+		concurrent.initialize(width*2, height*2, homeToWorld);
+
+		T frame = imageType.createImage(width, height);
+		var expected = new GrayU8(width, height);
+		var found = new GrayU8(width, height);
+
+		for (int i = 0; i < 10; i++) {
+			GImageMiscOps.fillUniform(frame, rand, 80, 120);
+			if (i%3 == 2)
+				GImageMiscOps.fillRectangle(frame, 200, 10 + i, 12, 25, 30);
+
+			// Move the camera around so that the frame is partially outside of the background
+			var homeToCurrent = new Homography2D_F32();
+			homeToCurrent.a13 = rand.nextFloat()*60 - 30;
+			homeToCurrent.a23 = rand.nextFloat()*60 - 30;
+
+			single.updateBackground(homeToCurrent, frame);
+			concurrent.updateBackground(homeToCurrent, frame);
+
+			single.segment(homeToCurrent, frame, expected);
+			concurrent.segment(homeToCurrent, frame, found);
+
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.stationary;
+
+import boofcv.BoofTesting;
+import boofcv.alg.background.BackgroundModelStationary;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares concurrent implementations of stationary background models against their single threaded version.
+ *
+ * @author Peter Abeles
+ */
+public abstract class GenericBackgroundStationaryMtChecks extends BoofStandardJUnit {
+	int width = 70;
+	int height = 65;
+
+	protected List<ImageType> imageTypes = new ArrayList<>();
+
+	public abstract <T extends ImageBase<T>>
+	BackgroundModelStationary<T> createSingle( ImageType<T> imageType );
+
+	public abstract <T extends ImageBase<T>>
+	BackgroundModelStationary<T> createConcurrent( ImageType<T> imageType );
+
+	@Test void compareToSingle() {
+		for (ImageType type : imageTypes) {
+			compareToSingle(type);
+		}
+	}
+
+	private <T extends ImageBase<T>> void compareToSingle( ImageType<T> imageType ) {
+		BackgroundModelStationary<T> single = createSingle(imageType);
+		BackgroundModelStationary<T> concurrent = createConcurrent(imageType);
+
+		T frame = imageType.createImage(width, height);
+		var expected = new GrayU8(width, height);
+		var found = new GrayU8(width, height);
+
+		for (int i = 0; i < 10; i++) {
+			GImageMiscOps.fillUniform(frame, rand, 80, 120);
+			if (i%3 == 2)
+				GImageMiscOps.fillRectangle(frame, 200, 10 + i, 12, 25, 30);
+
+			single.updateBackground(frame);
+			concurrent.updateBackground(frame);
+
+			single.segment(frame, expected);
+			concurrent.segment(frame, found);
+
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+	}
+}
@@ -20,6 +20,7 @@ package boofcv.alg.background.stationary;
 
 import boofcv.alg.background.BackgroundModelStationary;
 import boofcv.struct.image.*;
+import org.junit.jupiter.api.Nested;
 
 /**
  * @author Peter Abeles
@@ -37,4 +38,22 @@ public class TestBackgroundStationaryGmm_MB extends GenericBackgroundModelStatio
 	public <T extends ImageBase<T>> BackgroundModelStationary<T> create(ImageType<T> imageType) {
 		return new BackgroundStationaryGmm_MB(1000.0f,0.001f,10,imageType);
 	}
+
+	/**
+	 * Model is stored using half precision floats
+	 */
+	@Nested
+	class Compact extends GenericBackgroundModelStationaryChecks {
+		Compact() {
+			imageTypes.add(ImageType.il(3, InterleavedU8.class));
+			imageTypes.add(ImageType.pl(3, GrayF32.class));
+		}
+
+		@Override
+		public <T extends ImageBase<T>> BackgroundModelStationary<T> create( ImageType<T> imageType ) {
+			var alg = new BackgroundStationaryGmm_MB(1000.0f, 0.001f, 10, imageType);
+			alg.setCompact(true);
+			return alg;
+		}
+	}
 }
@@ -19,10 +19,17 @@
 package boofcv.alg.background.stationary;
 
 import boofcv.alg.background.BackgroundModelStationary;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofTesting;
+import org.ddogleg.struct.DogArray_F32;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
  * @author Peter Abeles
@@ -40,4 +47,72 @@ public class TestBackgroundStationaryGmm_SB extends GenericBackgroundModelStatio
 	public <T extends ImageBase<T>> BackgroundModelStationary<T> create(ImageType<T> imageType) {
 		return new BackgroundStationaryGmm_SB(1000.0f,0.001f,10,imageType);
 	}
+
+	/**
+	 * The background slowly drifts, which requires many small updates to the model. The compact model needs to
+	 * follow the drift the same way the regular model does and not have the updates rounded away. Stochastic
+	 * rounding adds a little bit of noise to each pixel, but on average it should be the same.
+	 */
+	@Test void compact_slowDrift() {
+		var type = ImageType.single(GrayF32.class);
+		var regular = new BackgroundStationaryGmm_SB<>(1000.0f, 0.001f, 10, type);
+		var compact = new BackgroundStationaryGmm_SB<>(1000.0f, 0.001f, 10, type);
+		compact.setCompact(true);
+
+		var frame = new GrayF32(4, 3);
+		for (int i = 0; i < 4000; i++) {
+			ImageMiscOps.fill(frame, 100.0f + i*0.01f);
+			regular.updateBackground(frame);
+			compact.updateBackground(frame);
+		}
+
+		// Every pixel in the regular model is the same
+		var work = new DogArray_F32();
+		float[] rowRegular = regular.loadModelRow(0, work).clone();
+		float weightRegular = rowRegular[0];
+		float varianceRegular = rowRegular[1];
+		float meanRegular = rowRegular[2];
+
+		// The model lags behind the drift by about drift/learningRate
+		assertEquals(130.0f, meanRegular, 1.0f);
+
+		double averageVariance = 0, averageMean = 0;
+		for (int row = 0; row < frame.height; row++) {
+			float[] rowCompact = compact.loadModelRow(row, work);
+			for (int col = 0; col < frame.width; col++) {
+				int index = col*compact.common.modelStride;
+				assertEquals(weightRegular, rowCompact[index]);
+				assertEquals(meanRegular, rowCompact[index + 2], 3.0f);
+				averageVariance += rowCompact[index + 1];
+				averageMean += rowCompact[index + 2];
+			}
+		}
+		int total = frame.width*frame.height;
+		assertEquals(meanRegular, averageMean/total, 1.0);
+		assertEquals(varianceRegular, averageVariance/total, varianceRegular*0.15);
+
+		var segmentedRegular = new GrayU8(4, 3);
+		var segmentedCompact = new GrayU8(4, 3);
+		regular.segment(frame, segmentedRegular);
+		compact.segment(frame, segmentedCompact);
+		BoofTesting.assertEquals(segmentedRegular, segmentedCompact, 0);
+	}
+
+	/**
+	 * Model is stored using half precision floats
+	 */
+	@Nested
+	class Compact extends GenericBackgroundModelStationaryChecks {
+		Compact() {
+			imageTypes.add(ImageType.single(GrayU8.class));
+			imageTypes.add(ImageType.single(GrayF32.class));
+		}
+
+		@Override
+		public <T extends ImageBase<T>> BackgroundModelStationary<T> create( ImageType<T> imageType ) {
+			var alg = new BackgroundStationaryGmm_SB(1000.0f, 0.001f, 10, imageType);
+			alg.setCompact(true);
+			return alg;
+		}
+	}
 }
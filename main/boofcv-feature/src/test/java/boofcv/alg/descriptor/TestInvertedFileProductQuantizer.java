@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.descriptor;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestInvertedFileProductQuantizer extends BoofStandardJUnit {
+	int dof = 16;
+
+	/**
+	 * Add vectors then query using noisy copies of them. Almost all should be matched to the original vector
+	 */
+	@Test
+	void findNearest_noisy() {
+		List<double[]> vectors = createVectors(1000);
+
+		var alg = new InvertedFileProductQuantizer(dof, 16, 4);
+		alg.train(vectors, 10, 234);
+		for (double[] v : vectors) {
+			alg.add(v);
+		}
+		assertEquals(vectors.size(), alg.getSize());
+
+		InvertedFileProductQuantizer.Search search = alg.createSearch();
+		var query = new double[dof];
+		int correct = 0;
+		for (int i = 0; i < vectors.size(); i++) {
+			double[] v = vectors.get(i);
+			for (int j = 0; j < dof; j++) {
+				query[j] = v[j] + rand.nextGaussian()*0.005;
+			}
+			assertTrue(search.findNearest(query));
+			assertTrue(search.getBestDistance() <= search.getSecondDistance());
+			if (search.getBestId() == i)
+				correct++;
+		}
+		assertTrue(correct >= vectors.size()*0.9, "correct=" + correct);
+	}
+
+	/**
+	 * When every list is searched the results should be the same as an exhaustive search of the decoded vectors
+	 */
+	@Test
+	void findNearest_allLists() {
+		List<double[]> vectors = createVectors(300);
+
+		var alg = new InvertedFileProductQuantizer(dof, 8, 4);
+		alg.train(vectors, 5, 234);
+		for (double[] v : vectors) {
+			alg.add(v);
+		}
+		alg.setNumProbes(8);
+
+		// Decode every vector back into the original space
+		List<double[]> decoded = new ArrayList<>();
+		for (int i = 0; i < vectors.size(); i++) {
+			decoded.add(null);
+		}
+		var codes = new byte[4];
+		for (int listIdx = 0; listIdx < alg.lists.size; listIdx++) {
+			InvertedFileProductQuantizer.InvertedList list = alg.lists.get(listIdx);
+			for (int i = 0; i < list.ids.size; i++) {
+				System.arraycopy(list.codes.data, i*4, codes, 0, 4);
+				var v = new double[dof];
+				alg.getQuantizer().decode(codes, 0, v);
+				for (int j = 0; j < dof; j++) {
+					v[j] += alg.coarse[listIdx*dof + j];
+				}
+				decoded.set(list.ids.get(i), v);
+			}
+		}
+
+		InvertedFileProductQuantizer.Search search = alg.createSearch();
+		for (int trial = 0; trial < 20; trial++) {
+			double[] query = createVectors(1).get(0);
+
+			int expectedId = -1;
+			double expectedDistance = Double.MAX_VALUE;
+			for (int i = 0; i < decoded.size(); i++) {
+				double distance = 0;
+				for (int j = 0; j < dof; j++) {
+					double d = query[j] - decoded.get(i)[j];
+					distance += d*d;
+				}
+				if (distance < expectedDistance) {
+					expectedDistance = distance;
+					expectedId = i;
+				}
+			}
+
+			assertTrue(search.findNearest(query));
+			assertEquals(expectedId, search.getBestId());
+			assertEquals(expectedDistance, search.getBestDistance(), 1e-4);
+		}
+	}
+
+	@Test
+	void selectLists() {
+		var alg = new InvertedFileProductQuantizer(2, 5, 1);
+		for (int i = 0; i < 5; i++) {
+			alg.coarse[i*2] = 10 - i*2;
+		}
+		alg.setNumProbes(3);
+
+		InvertedFileProductQuantizer.Search search = alg.createSearch();
+		assertEquals(3, search.selectLists(new double[]{5.5, 0}));
+		assertEquals(2, search.probes[0]);
+		assertEquals(1, search.probes[1]);
+		assertEquals(3, search.probes[2]);
+
+		// More probes than lists
+		alg.setNumProbes(10);
+		assertEquals(5, search.selectLists(new double[]{0, 0}));
+		for (int i = 0; i < 5; i++) {
+			assertEquals(4 - i, search.probes[i]);
+		}
+	}
+
+	@Test
+	void reset() {
+		List<double[]> vectors = createVectors(100);
+		var alg = new InvertedFileProductQuantizer(dof, 4, 2);
+		assertThrows(IllegalArgumentException.class, () -> alg.add(vectors.get(0)));
+
+		alg.train(vectors, 2, 234);
+		assertEquals(0, alg.add(vectors.get(0)));
+		assertEquals(1, alg.add(vectors.get(1)));
+
+		alg.reset();
+		assertEquals(0, alg.getSize());
+		assertTrue(alg.isTrained());
+		assertFalse(alg.createSearch().findNearest(vectors.get(0)));
+		assertEquals(0, alg.add(vectors.get(0)));
+	}
+
+	private List<double[]> createVectors( int count ) {
+		List<double[]> vectors = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			var v = new double[dof];
+			for (int j = 0; j < dof; j++) {
+				v[j] = rand.nextDouble();
+			}
+			vectors.add(v);
+		}
+		return vectors;
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.descriptor;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestProductQuantizer extends BoofStandardJUnit {
+	int dof = 12;
+
+	/**
+	 * If there are fewer distinct points than centroids then encoding should be almost perfect
+	 */
+	@Test
+	void train_encode_decode() {
+		List<double[]> vectors = createVectors(20);
+
+		var alg = new ProductQuantizer(dof, 3);
+		alg.train(vectors, 5, rand);
+
+		var codes = new byte[3];
+		var found = new double[dof];
+		for (double[] v : vectors) {
+			alg.encode(v, codes, 0);
+			alg.decode(codes, 0, found);
+			assertArrayEquals(v, found, 1e-4);
+		}
+	}
+
+	/**
+	 * Asymmetric distance should be the same as the distance to the decoded vector
+	 */
+	@Test
+	void distance() {
+		List<double[]> vectors = createVectors(1000);
+		var alg = new ProductQuantizer(dof, 4);
+		alg.train(vectors, 5, rand);
+
+		var table = new float[4*ProductQuantizer.NUM_CENTROIDS];
+		var codes = new byte[2 + 4];
+		var decoded = new double[dof];
+		double[] query = createVectors(1).get(0);
+		alg.computeDistanceTable(query, table);
+
+		for (int i = 0; i < 20; i++) {
+			alg.encode(vectors.get(i), codes, 2);
+			alg.decode(codes, 2, decoded);
+
+			double expected = 0;
+			for (int j = 0; j < dof; j++) {
+				expected += (query[j] - decoded[j])*(query[j] - decoded[j]);
+			}
+			assertEquals(expected, alg.distance(table, codes, 2), 1e-4);
+		}
+	}
+
+	@Test
+	void constructor_badDof() {
+		assertThrows(IllegalArgumentException.class, () -> new ProductQuantizer(10, 3));
+	}
+
+	/**
+	 * Points are in well separated clusters. K-means should find the center of each one.
+	 */
+	@Test
+	void kmeans() {
+		List<double[]> vectors = new ArrayList<>();
+		for (int cluster = 0; cluster < 3; cluster++) {
+			for (int i = 0; i < 20; i++) {
+				vectors.add(new double[]{cluster*10 + rand.nextGaussian()*0.01, -cluster*5});
+			}
+		}
+
+		// k-means++ seeding should pick one point in each cluster
+		var centroids = new float[3*2];
+		ProductQuantizer.kmeans(vectors, 0, 2, 3, 10, 234, centroids, 0);
+
+		// Every point should be close to a centroid
+		for (double[] v : vectors) {
+			int c = ProductQuantizer.closest(v, 0, 2, centroids, 0, 3);
+			assertEquals(v[0], centroids[c*2], 0.1);
+			assertEquals(v[1], centroids[c*2 + 1], 0.1);
+		}
+	}
+
+	/**
+	 * Fewer points than clusters. The extra centroids should never be selected.
+	 */
+	@Test
+	void kmeans_fewerPointsThanClusters() {
+		List<double[]> vectors = new ArrayList<>();
+		vectors.add(new double[]{1, 2});
+		vectors.add(new double[]{5, 2});
+		vectors.add(new double[]{1, 2});
+
+		var centroids = new float[10*2];
+		ProductQuantizer.kmeans(vectors, 0, 2, 10, 10, 234, centroids, 0);
+
+		assertEquals(ProductQuantizer.closest(vectors.get(0), 0, 2, centroids, 0, 10),
+				ProductQuantizer.closest(vectors.get(2), 0, 2, centroids, 0, 10));
+		for (double[] v : vectors) {
+			int c = ProductQuantizer.closest(v, 0, 2, centroids, 0, 10);
+			assertTrue(c < 2);
+			assertEquals(v[0], centroids[c*2], 1e-4);
+			assertEquals(v[1], centroids[c*2 + 1], 1e-4);
+		}
+	}
+
+	private List<double[]> createVectors( int count ) {
+		List<double[]> vectors = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			var v = new double[dof];
+			for (int j = 0; j < dof; j++) {
+				v[j] = rand.nextDouble();
+			}
+			vectors.add(v);
+		}
+		return vectors;
+	}
+}
@@ -21,6 +21,7 @@ package boofcv.alg.feature.associate;
 import boofcv.abst.feature.associate.ScoreAssociateEuclidean_F64;
 import boofcv.abst.feature.associate.ScoreAssociation;
 import boofcv.struct.ConfigLength;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
 import georegression.struct.point.Point2D_F64;
 import org.ddogleg.struct.DogArray;
@@ -28,6 +29,8 @@ import org.ddogleg.struct.DogArray_I32;
 import org.ddogleg.struct.FastAccess;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
@@ -101,6 +104,53 @@ class TestAssociateGreedyBruteForce2D extends GenericAssociateGreedyChecks {
 		assertEquals(10,countMatches(alg.getPairs()));
 	}
 
+	/**
+	 * Packed arrays should produce identical results to descriptor objects, including when features are
+	 * too far apart
+	 */
+	@Test
+	void packed() {
+		DogArray<TupleDesc_F64> descSrc = TestAssociateGreedyDesc_MT.createData(40);
+		DogArray<TupleDesc_F64> descDst = TestAssociateGreedyDesc_MT.createData(45);
+
+		var locSrc = new DogArray<>(Point2D_F64::new);
+		var locDst = new DogArray<>(Point2D_F64::new);
+		var packedSrc = new PackedTupleArray_F64(1);
+		var packedDst = new PackedTupleArray_F64(1);
+		for (int i = 0; i < descSrc.size; i++) {
+			locSrc.grow().setTo(rand.nextDouble()*100, rand.nextDouble()*100);
+			packedSrc.append(descSrc.get(i));
+		}
+		for (int i = 0; i < descDst.size; i++) {
+			locDst.grow().setTo(rand.nextDouble()*100, rand.nextDouble()*100);
+			packedDst.append(descDst.get(i));
+		}
+
+		for (boolean backwards : new boolean[]{false, true}) {
+			var expected = new AssociateGreedyBruteForce2D<>(score, new AssociateImageDistanceEuclideanSq());
+			var found = new AssociateGreedyBruteForce2D<>(score, new AssociateImageDistanceEuclideanSq());
+			for (var alg : Arrays.asList(expected, found)) {
+				alg.maxDistanceLength.setTo(ConfigLength.fixed(30));
+				alg.init(100, 100);
+				alg.setBackwardsValidation(backwards);
+				alg.setRatioTest(0.9);
+			}
+			expected.setSource(locSrc, descSrc);
+			expected.setDestination(locDst, descDst);
+			expected.associate();
+
+			found.setSource(locSrc, packedSrc);
+			found.setDestination(locDst, packedDst);
+			found.associate();
+
+			assertEquals(descSrc.size, found.getPairs().size);
+			for (int i = 0; i < descSrc.size; i++) {
+				assertEquals(expected.getPairs().get(i), found.getPairs().get(i));
+				assertEquals(expected.getFitQuality().get(i), found.getFitQuality().get(i));
+			}
+		}
+	}
+
 	private int countMatches(DogArray_I32 pairs) {
 		int total = 0;
 		for (int i = 0; i < pairs.size; i++) {
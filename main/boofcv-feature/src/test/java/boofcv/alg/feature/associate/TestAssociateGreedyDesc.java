@@ -20,8 +20,13 @@ package boofcv.alg.feature.associate;
 
 import boofcv.abst.feature.associate.ScoreAssociateEuclidean_F64;
 import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.struct.feature.PackedTupleArray_F64;
 import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.struct.DogArray;
 import org.ddogleg.struct.FastAccess;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 
 /**
@@ -42,4 +47,45 @@ class TestAssociateGreedyDesc extends GenericAssociateGreedyChecks {
 							 FastAccess<TupleDesc_F64> dst) {
 		((AssociateGreedyDesc<TupleDesc_F64>)alg).associate(src,dst);
 	}
+
+	/**
+	 * Packed arrays should produce identical results to descriptor objects
+	 */
+	@Test
+	void packed() {
+		DogArray<TupleDesc_F64> src = TestAssociateGreedyDesc_MT.createData(50);
+		DogArray<TupleDesc_F64> dst = TestAssociateGreedyDesc_MT.createData(60);
+		var packedSrc = new PackedTupleArray_F64(1);
+		var packedDst = new PackedTupleArray_F64(1);
+		for (int i = 0; i < src.size; i++) {
+			packedSrc.append(src.get(i));
+		}
+		for (int i = 0; i < dst.size; i++) {
+			dst.get(i).value[0] += 0.01*i;
+			packedDst.append(dst.get(i));
+		}
+
+		for (boolean backwards : new boolean[]{false, true}) {
+			for (double ratioTest : new double[]{1.0, 0.5}) {
+				AssociateGreedyDesc<TupleDesc_F64> expected = createConfigured(backwards, ratioTest);
+				AssociateGreedyDesc<TupleDesc_F64> found = createConfigured(backwards, ratioTest);
+				expected.associate(src, dst);
+				found.associate(packedSrc, packedDst);
+
+				assertEquals(src.size, found.getPairs().size);
+				for (int i = 0; i < src.size; i++) {
+					assertEquals(expected.getPairs().get(i), found.getPairs().get(i));
+					assertEquals(expected.getFitQuality().get(i), found.getFitQuality().get(i));
+				}
+			}
+		}
+	}
+
+	private AssociateGreedyDesc<TupleDesc_F64> createConfigured( boolean backwards, double ratioTest ) {
+		var alg = new AssociateGreedyDesc<>(score);
+		alg.setBackwardsValidation(backwards);
+		alg.setRatioTest(ratioTest);
+		alg.setMaxFitError(0.5);
+		return alg;
+	}
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.alg.descriptor.InvertedFileProductQuantizer;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.struct.DogArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestAssociateInvertedFilePQ extends BoofStandardJUnit {
+	int dof = 16;
+
+	/**
+	 * Destination features are noisy copies of the source. Almost all should be matched to their source
+	 */
+	@Test
+	void associate_noisy() {
+		DogArray<TupleDesc_F64> src = createRandom(800);
+		DogArray<TupleDesc_F64> dst = createNoisyCopies(src);
+
+		AssociateInvertedFilePQ alg = createAlg();
+		alg.setSource(src);
+		alg.setDestination(dst);
+		alg.associate();
+
+		DogArray<AssociatedIndex> matches = alg.getMatches();
+		assertEquals(dst.size, matches.size);
+		int correct = 0;
+		for (int i = 0; i < matches.size; i++) {
+			AssociatedIndex a = matches.get(i);
+			assertEquals(i, a.dst);
+			if (a.src == a.dst)
+				correct++;
+		}
+		assertTrue(correct >= dst.size*0.9, "correct=" + correct);
+	}
+
+	/**
+	 * Results should be identical with and without concurrency
+	 */
+	@Test
+	void compareConcurrent() {
+		DogArray<TupleDesc_F64> src = createRandom(500);
+		DogArray<TupleDesc_F64> dst = createNoisyCopies(src);
+
+		AssociateInvertedFilePQ alg = createAlg();
+		alg.setSource(src);
+		alg.setDestination(dst);
+
+		BoofConcurrency.USE_CONCURRENT = false;
+		alg.associate();
+		var expected = new DogArray<>(AssociatedIndex::new);
+		for (int i = 0; i < alg.getMatches().size; i++) {
+			expected.grow().setTo(alg.getMatches().get(i));
+		}
+
+		BoofConcurrency.USE_CONCURRENT = true;
+		alg.associate();
+		DogArray<AssociatedIndex> found = alg.getMatches();
+		assertEquals(expected.size, found.size);
+		for (int i = 0; i < found.size; i++) {
+			assertEquals(expected.get(i).src, found.get(i).src);
+			assertEquals(expected.get(i).dst, found.get(i).dst);
+			assertEquals(expected.get(i).fitScore, found.get(i).fitScore);
+		}
+	}
+
+	/**
+	 * Index is filled in directly, which is how a fixed map would be used
+	 */
+	@Test
+	void prefilledIndex() {
+		DogArray<TupleDesc_F64> src = createRandom(300);
+		DogArray<TupleDesc_F64> dst = createNoisyCopies(src);
+
+		List<double[]> vectors = new ArrayList<>();
+		for (int i = 0; i < src.size; i++) {
+			vectors.add(src.get(i).value);
+		}
+
+		AssociateInvertedFilePQ alg = createAlg();
+		alg.getIndex().train(vectors, 5, 234);
+		for (int i = 0; i < vectors.size(); i++) {
+			alg.getIndex().add(vectors.get(i));
+		}
+		alg.setDestination(dst);
+		alg.associate();
+
+		assertEquals(dst.size, alg.getMatches().size);
+		assertEquals(src.size, alg.getUnassociatedSource().size + countUniqueSources(alg.getMatches(), src.size));
+	}
+
+	@Test
+	void maxDistance_and_ratio() {
+		DogArray<TupleDesc_F64> src = createRandom(300);
+		DogArray<TupleDesc_F64> dst = createNoisyCopies(src);
+
+		AssociateInvertedFilePQ alg = createAlg();
+		alg.setSource(src);
+		alg.setDestination(dst);
+
+		// Nothing should pass
+		alg.setMaxScoreThreshold(1e-12);
+		alg.associate();
+		assertEquals(0, alg.getMatches().size);
+		assertEquals(dst.size, alg.getUnassociatedDestination().size);
+		assertEquals(src.size, alg.getUnassociatedSource().size);
+
+		// Make every match ambiguous by duplicating the source
+		for (int i = 0; i < 300; i++) {
+			src.grow().setTo(src.get(i));
+		}
+		alg.setMaxScoreThreshold(-1);
+		alg.setScoreRatioThreshold(0.9);
+		alg.setSource(src);
+		alg.associate();
+		assertEquals(0, alg.getMatches().size);
+	}
+
+	/**
+	 * An empty source on an untrained index should produce no matches instead of failing
+	 */
+	@Test
+	void emptySource_untrained() {
+		AssociateInvertedFilePQ alg = createAlg();
+		alg.setSource(new DogArray<>(() -> new TupleDesc_F64(dof)));
+		alg.setDestination(createRandom(20));
+		alg.associate();
+
+		assertFalse(alg.getIndex().isTrained());
+		assertEquals(0, alg.getMatches().size);
+		assertEquals(20, alg.getUnassociatedDestination().size);
+	}
+
+	private AssociateInvertedFilePQ createAlg() {
+		return new AssociateInvertedFilePQ(new InvertedFileProductQuantizer(dof, 16, 4));
+	}
+
+	private int countUniqueSources( DogArray<AssociatedIndex> matches, int numSource ) {
+		var seen = new boolean[numSource];
+		int count = 0;
+		for (int i = 0; i < matches.size; i++) {
+			if (!seen[matches.get(i).src]) {
+				seen[matches.get(i).src] = true;
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private DogArray<TupleDesc_F64> createRandom( int count ) {
+		var list = new DogArray<>(() -> new TupleDesc_F64(dof));
+		for (int i = 0; i < count; i++) {
+			TupleDesc_F64 desc = list.grow();
+			for (int j = 0; j < dof; j++) {
+				desc.value[j] = rand.nextDouble();
+			}
+		}
+		return list;
+	}
+
+	private DogArray<TupleDesc_F64> createNoisyCopies( DogArray<TupleDesc_F64> src ) {
+		var list = new DogArray<>(() -> new TupleDesc_F64(dof));
+		for (int i = 0; i < src.size; i++) {
+			TupleDesc_F64 desc = list.grow();
+			for (int j = 0; j < dof; j++) {
+				desc.value[j] = src.get(i).value[j] + rand.nextGaussian()*0.005;
+			}
+		}
+		return list;
+	}
+}
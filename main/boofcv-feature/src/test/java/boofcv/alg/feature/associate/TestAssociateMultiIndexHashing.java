@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.alg.descriptor.DescriptorDistance;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_B;
+import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.struct.DogArray;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestAssociateMultiIndexHashing extends BoofStandardJUnit {
+	int numBits = 256;
+
+	/**
+	 * Compare against a brute force search. Every match within the radius should be found with the same score.
+	 */
+	@Test
+	void compareToBruteForce() {
+		DogArray<TupleDesc_B> src = createRandom(300);
+		DogArray<TupleDesc_B> dst = createNoisyCopies(src, 40);
+
+		// Make sure both the hashing and exhaustive search are used
+		for (int bitsPerTable : new int[]{0, 8, 16}) {
+			for (int radius : new int[]{10, 30, 200}) {
+				var alg = new AssociateMultiIndexHashing();
+				alg.setBitsPerTable(bitsPerTable);
+				alg.setMaxScoreThreshold(radius);
+				alg.setSource(src);
+				alg.setDestination(dst);
+				alg.associate();
+
+				// Find the expected best score for each destination feature
+				int expectedCount = 0;
+				for (int dstIdx = 0; dstIdx < dst.size; dstIdx++) {
+					int best = bruteForceBest(src, dst.get(dstIdx));
+					if (best > radius)
+						continue;
+					expectedCount++;
+
+					AssociatedIndex found = findMatch(alg, dstIdx);
+					assertNotNull(found);
+					assertEquals(best, found.fitScore);
+					assertEquals(best, DescriptorDistance.hamming(src.get(found.src), dst.get(dstIdx)));
+				}
+				assertEquals(expectedCount, alg.getMatches().size);
+			}
+		}
+	}
+
+	/**
+	 * Ratio test should reject ambiguous matches
+	 */
+	@Test
+	void ratioTest() {
+		DogArray<TupleDesc_B> src = createRandom(2);
+		// Make the two source features almost the same
+		src.get(1).setTo(src.get(0));
+		src.get(1).data[0] ^= 0x03;
+
+		// Distance of 3 to the first and 5 to the second
+		var dst = new DogArray<>(() -> new TupleDesc_B(numBits));
+		dst.grow().setTo(src.get(0));
+		dst.get(0).data[1] ^= 0x07;
+
+		var alg = new AssociateMultiIndexHashing();
+		alg.setMaxScoreThreshold(40);
+		alg.setSource(src);
+		alg.setDestination(dst);
+		alg.associate();
+		assertEquals(1, alg.getMatches().size);
+		assertEquals(0, alg.getMatches().get(0).src);
+		assertEquals(3, alg.getMatches().get(0).fitScore);
+
+		alg.setScoreRatioThreshold(0.5);
+		alg.associate();
+		assertEquals(0, alg.getMatches().size);
+	}
+
+	@Test
+	void unassociated() {
+		DogArray<TupleDesc_B> src = createRandom(20);
+		DogArray<TupleDesc_B> dst = createNoisyCopies(src, 0);
+		for (int i = 0; i < 5; i++) {
+			dst.removeTail();
+		}
+
+		var alg = new AssociateMultiIndexHashing();
+		alg.setMaxScoreThreshold(20);
+		alg.setSource(src);
+		alg.setDestination(dst);
+		alg.associate();
+
+		assertEquals(15, alg.getMatches().size);
+		assertEquals(5, alg.getUnassociatedSource().size);
+		assertEquals(0, alg.getUnassociatedDestination().size);
+	}
+
+	@Test
+	void substring() {
+		var desc = new TupleDesc_B(96);
+		desc.data[0] = 0xF0000000;
+		desc.data[1] = 0x0000000A;
+		desc.data[2] = 0xFFFFFFFF;
+
+		assertEquals(0xF, AssociateMultiIndexHashing.substring(desc.data, 0, 28, 4));
+		assertEquals(0xAF, AssociateMultiIndexHashing.substring(desc.data, 0, 28, 8));
+		assertEquals(0x7, AssociateMultiIndexHashing.substring(desc.data, 1, 32, 3));
+		assertEquals(0xFFFFFFFF, AssociateMultiIndexHashing.substring(desc.data, 0, 64, 32));
+	}
+
+	@Test
+	void countKeysWithinRadius() {
+		assertEquals(1, AssociateMultiIndexHashing.countKeysWithinRadius(16, 0));
+		assertEquals(1 + 16, AssociateMultiIndexHashing.countKeysWithinRadius(16, 1));
+		assertEquals(1 + 16 + 120, AssociateMultiIndexHashing.countKeysWithinRadius(16, 2));
+		assertEquals(1 << 4, AssociateMultiIndexHashing.countKeysWithinRadius(4, 10));
+	}
+
+	private DogArray<TupleDesc_B> createRandom( int count ) {
+		var list = new DogArray<>(() -> new TupleDesc_B(numBits));
+		for (int i = 0; i < count; i++) {
+			TupleDesc_B desc = list.grow();
+			for (int j = 0; j < desc.data.length; j++) {
+				desc.data[j] = rand.nextInt();
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Creates copies of the input with a few bits flipped, followed by several random descriptors
+	 */
+	private DogArray<TupleDesc_B> createNoisyCopies( DogArray<TupleDesc_B> src, int numRandom ) {
+		var list = new DogArray<>(() -> new TupleDesc_B(numBits));
+		for (int i = 0; i < src.size; i++) {
+			TupleDesc_B desc = list.grow();
+			desc.setTo(src.get(i));
+			int numFlips = rand.nextInt(16);
+			for (int flip = 0; flip < numFlips; flip++) {
+				int bit = rand.nextInt(numBits);
+				desc.data[bit/32] ^= 1 << (bit%32);
+			}
+		}
+		DogArray<TupleDesc_B> random = createRandom(numRandom);
+		for (int i = 0; i < random.size; i++) {
+			list.grow().setTo(random.get(i));
+		}
+		return list;
+	}
+
+	private int bruteForceBest( DogArray<TupleDesc_B> src, TupleDesc_B query ) {
+		int best = Integer.MAX_VALUE;
+		for (int i = 0; i < src.size; i++) {
+			best = Math.min(best, DescriptorDistance.hamming(src.get(i), query));
+		}
+		return best;
+	}
+
+	private @Nullable AssociatedIndex findMatch( AssociateMultiIndexHashing alg, int dstIdx ) {
+		for (int i = 0; i < alg.getMatches().size; i++) {
+			if (alg.getMatches().get(i).dst == dstIdx)
+				return alg.getMatches().get(i);
+		}
+		return null;
+	}
+}
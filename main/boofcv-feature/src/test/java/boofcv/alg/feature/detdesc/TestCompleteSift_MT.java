@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxLimiter;
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.feature.describe.DescribePointSift;
+import boofcv.alg.feature.detect.interest.SiftScaleSpace;
+import boofcv.alg.feature.orientation.OrientationHistogramSift;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.factory.feature.detect.selector.ConfigSelectLimit;
+import boofcv.factory.feature.detect.selector.FactorySelectLimit;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestCompleteSift_MT extends BoofStandardJUnit {
+	static {
+		BoofConcurrency.USE_CONCURRENT = true;
+	}
+
+	/**
+	 * Should produce identical results, in the same order, as the single threaded version
+	 */
+	@Test
+	void compareToSingleThread() {
+		var image = new GrayF32(300, 290);
+		GImageMiscOps.fillUniform(image, rand, 0, 200);
+
+		CompleteSift single = new CompleteSift(createScaleSpace(),
+				FactorySelectLimit.intensity(ConfigSelectLimit.selectBestN()), 10, createLimiter(),
+				createOrientation(), createDescribe());
+		CompleteSift multi = new CompleteSift_MT(createScaleSpace(),
+				FactorySelectLimit.intensity(ConfigSelectLimit.selectBestN()), 10, createLimiter(),
+				this::createOrientation, this::createDescribe);
+
+		single.process(image);
+		multi.process(image);
+
+		assertTrue(single.getLocations().size > 10);
+		assertEquals(single.getLocations().size, multi.getLocations().size);
+		assertEquals(single.getDescriptions().size, multi.getDescriptions().size);
+
+		for (int i = 0; i < single.getLocations().size; i++) {
+			assertEquals(0.0, single.getLocations().get(i).pixel.distance(multi.getLocations().get(i).pixel));
+			assertEquals(single.getLocations().get(i).scale, multi.getLocations().get(i).scale);
+			assertEquals(single.getOrientations().get(i), multi.getOrientations().get(i));
+			assertArrayEquals(single.getDescriptions().get(i).data, multi.getDescriptions().get(i).data);
+		}
+
+		// Process it again to make sure it's reset correctly
+		multi.process(image);
+		assertEquals(single.getDescriptions().size, multi.getDescriptions().size);
+	}
+
+	private SiftScaleSpace createScaleSpace() {
+		return new SiftScaleSpace(-1, 4, 3, 1.6);
+	}
+
+	private NonMaxLimiter createLimiter() {
+		NonMaxSuppression nonmax = FactoryFeatureExtractor.nonmax(new ConfigExtract(1, 0, 1, true, true, true));
+		return new NonMaxLimiter(nonmax, FactorySelectLimit.intensity(ConfigSelectLimit.selectBestN()), 300);
+	}
+
+	private OrientationHistogramSift<GrayF32> createOrientation() {
+		return new OrientationHistogramSift<>(36, 1.5, GrayF32.class);
+	}
+
+	private DescribePointSift<GrayF32> createDescribe() {
+		return new DescribePointSift<>(4, 4, 8, 1.5, 0.5, 0.2, GrayF32.class);
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.BoofTesting;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayF32;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestSiftScaleSpace_MT extends BoofStandardJUnit {
+	static {
+		BoofConcurrency.USE_CONCURRENT = true;
+	}
+
+	/**
+	 * Every scale and DoG image in every octave should be identical to the single threaded version
+	 */
+	@Test
+	void compareToSingleThread() {
+		var image = new GrayF32(300, 290);
+		GImageMiscOps.fillUniform(image, rand, 0, 200);
+
+		var single = new SiftScaleSpace(-1, 4, 3, 1.6);
+		var multi = new SiftScaleSpace_MT(-1, 4, 3, 1.6);
+
+		single.initialize(image);
+		multi.initialize(image);
+
+		boolean more;
+		do {
+			for (int i = 0; i < single.getNumScaleImages(); i++) {
+				BoofTesting.assertEquals(single.getImageScale(i), multi.getImageScale(i), 0.0);
+			}
+			for (int i = 0; i < single.getNumScaleImages() - 1; i++) {
+				BoofTesting.assertEquals(single.getDifferenceOfGaussian(i), multi.getDifferenceOfGaussian(i), 0.0);
+			}
+			more = single.computeNextOctave();
+			assertEquals(more, multi.computeNextOctave());
+		} while (more);
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.flow;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.flow.ImageFlow;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.pyramid.ConfigDiscreteLevels;
+import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+class TestDenseOpticalFlowBlockPyramid_MT extends BoofStandardJUnit {
+	/**
+	 * Compares the results against the single threaded algorithm. Should be identical
+	 */
+	@Test
+	void compareToSingle() {
+		compareToSingle(GrayU8.class, new DenseOpticalFlowBlockPyramid.U8(2, 3, 50),
+				new DenseOpticalFlowBlockPyramid_MT<GrayU8>(() -> new DenseOpticalFlowBlockPyramid.U8(2, 3, 50)));
+		compareToSingle(GrayF32.class, new DenseOpticalFlowBlockPyramid.F32(2, 3, 50),
+				new DenseOpticalFlowBlockPyramid_MT<GrayF32>(() -> new DenseOpticalFlowBlockPyramid.F32(2, 3, 50)));
+	}
+
+	<T extends ImageGray<T>> void compareToSingle( Class<T> imageType,
+												   DenseOpticalFlowBlockPyramid<T> single,
+												   DenseOpticalFlowBlockPyramid<T> concurrent ) {
+		ImagePyramid<T> pyramid1 = FactoryPyramid.discreteGaussian(
+				ConfigDiscreteLevels.levels(3), 0, 2, false, ImageType.single(imageType));
+		ImagePyramid<T> pyramid2 = FactoryPyramid.discreteGaussian(
+				ConfigDiscreteLevels.levels(3), 0, 2, false, ImageType.single(imageType));
+
+		T image1 = ImageType.single(imageType).createImage(60, 50);
+		T image2 = image1.createSameShape();
+		GImageMiscOps.fillUniform(image1, rand, 0, 200);
+		GImageMiscOps.fillUniform(image2, rand, 0, 200);
+		GImageMiscOps.copy(0, 0, 2, 1, 58, 49, image1, image2);
+
+		pyramid1.process(image1);
+		pyramid2.process(image2);
+
+		single.process(pyramid1, pyramid2);
+		concurrent.process(pyramid1, pyramid2);
+
+		ImageFlow expected = single.getOpticalFlow();
+		ImageFlow found = concurrent.getOpticalFlow();
+
+		assertEquals(expected.width, found.width);
+		assertEquals(expected.height, found.height);
+		for (int i = 0; i < expected.width*expected.height; i++) {
+			assertEquals(expected.data[i].isValid(), found.data[i].isValid());
+			if (!expected.data[i].isValid())
+				continue;
+			assertEquals(expected.data[i].x, found.data[i].x);
+			assertEquals(expected.data[i].y, found.data[i].y);
+		}
+	}
+
+	/**
+	 * Standard checks for the type specific functions
+	 */
+	@Nested
+	class Checks extends ChecksDenseOpticalFlowBlockPyramid<GrayU8> {
+		Checks() {
+			super(GrayU8.class);
+		}
+
+		@Override
+		public DenseOpticalFlowBlockPyramid<GrayU8> createAlg( int searchRadius, int regionRadius,
+															  int maxPerPixelError ) {
+			return new DenseOpticalFlowBlockPyramid_MT<GrayU8>(
+					() -> new DenseOpticalFlowBlockPyramid.U8(searchRadius, regionRadius, maxPerPixelError));
+		}
+	}
+}
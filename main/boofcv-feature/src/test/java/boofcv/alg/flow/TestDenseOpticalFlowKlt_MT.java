@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.flow;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.tracker.klt.ConfigPKlt;
+import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.tracker.FactoryTrackerAlg;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.flow.ImageFlow;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.pyramid.ConfigDiscreteLevels;
+import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+class TestDenseOpticalFlowKlt_MT extends BoofStandardJUnit {
+	/**
+	 * Compares the results against the single threaded algorithm. Should be identical
+	 */
+	@Test
+	void compareToSingle() {
+		var config = new ConfigPKlt();
+		config.pyramidLevels = ConfigDiscreteLevels.levels(2);
+		config.config.maxPerPixelError = 15;
+
+		var image0 = new GrayF32(40, 30);
+		var image1 = new GrayF32(40, 30);
+		ImageMiscOps.fillUniform(image0, rand, 0, 100);
+		ImageMiscOps.copy(0, 0, 1, 2, 39, 28, image0, image1);
+
+		ImageType<GrayF32> imageType = ImageType.single(GrayF32.class);
+		ImagePyramid<GrayF32> prev = FactoryPyramid.discreteGaussian(config.pyramidLevels, -1, 2, true, imageType);
+		ImagePyramid<GrayF32> curr = FactoryPyramid.discreteGaussian(config.pyramidLevels, -1, 2, true, imageType);
+		prev.process(image0);
+		curr.process(image1);
+
+		GrayF32[] prevDerivX = PyramidOps.declareOutput(prev, ImageType.SB_F32);
+		GrayF32[] prevDerivY = PyramidOps.declareOutput(prev, ImageType.SB_F32);
+		ImageGradient<GrayF32, GrayF32> gradient = FactoryDerivative.sobel(GrayF32.class, GrayF32.class);
+		PyramidOps.gradient(prev, gradient, prevDerivX, prevDerivY);
+
+		var single = new DenseOpticalFlowKlt<>(
+				FactoryTrackerAlg.kltPyramid(config.config, GrayF32.class, GrayF32.class), 3);
+		var concurrent = new DenseOpticalFlowKlt_MT<GrayF32, GrayF32>(
+				() -> FactoryTrackerAlg.kltPyramid(config.config, GrayF32.class, GrayF32.class), 3);
+
+		var expected = new ImageFlow(image0.width, image0.height);
+		var found = new ImageFlow(image0.width, image0.height);
+		single.process(prev, prevDerivX, prevDerivY, curr, expected);
+		concurrent.process(prev, prevDerivX, prevDerivY, curr, found);
+
+		for (int i = 0; i < image0.width*image0.height; i++) {
+			assertEquals(expected.data[i].isValid(), found.data[i].isValid());
+			if (!expected.data[i].isValid())
+				continue;
+			assertEquals(expected.data[i].x, found.data[i].x);
+			assertEquals(expected.data[i].y, found.data[i].y);
+		}
+	}
+}
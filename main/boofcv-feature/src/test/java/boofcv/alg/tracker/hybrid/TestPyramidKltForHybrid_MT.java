@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.hybrid;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.tracker.klt.ConfigKlt;
+import boofcv.alg.tracker.klt.PyramidKltFeature;
+import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.pyramid.ConfigDiscreteLevels;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.struct.DogArray_B;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestPyramidKltForHybrid_MT extends BoofStandardJUnit {
+	int width = 120;
+	int height = 100;
+
+	/**
+	 * Compare to the single threaded version. Results should be identical
+	 */
+	@Test
+	void compareToSingleThread() {
+		var single = new PyramidKltForHybrid<>(new ConfigKlt(), 4, GrayF32.class, GrayF32.class);
+		var multi = new PyramidKltForHybrid_MT<>(new ConfigKlt(), 4, GrayF32.class, GrayF32.class);
+
+		PyramidDiscrete<GrayF32> pyramid =
+				FactoryPyramid.discreteGaussian(ConfigDiscreteLevels.levels(3), -1, 2, false,
+						ImageType.single(GrayF32.class));
+		GrayF32 input = new GrayF32(width, height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageGradient<GrayF32, GrayF32> gradient = FactoryDerivative.sobel(GrayF32.class, GrayF32.class);
+		pyramid.process(input);
+		GrayF32[] derivX = PyramidOps.declareOutput(pyramid, ImageType.SB_F32);
+		GrayF32[] derivY = PyramidOps.declareOutput(pyramid, ImageType.SB_F32);
+		PyramidOps.gradient(pyramid, gradient, derivX, derivY);
+
+		single.setInputs(pyramid, derivX, derivY);
+		multi.setInputs(pyramid, derivX, derivY);
+
+		// Create features at random locations then perturb them
+		List<PyramidKltFeature> featuresA = new ArrayList<>();
+		List<PyramidKltFeature> featuresB = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			float x = 5 + rand.nextFloat()*(width - 10);
+			float y = 5 + rand.nextFloat()*(height - 10);
+			PyramidKltFeature a = single.createNewTrack();
+			PyramidKltFeature b = multi.createNewTrack();
+			single.setDescription(x, y, a);
+			multi.setDescription(x, y, b);
+
+			// Some of these will be pushed outside the image and fail
+			float dx = (rand.nextFloat() - 0.5f)*6;
+			float dy = (rand.nextFloat() - 0.5f)*6;
+			a.setPosition(x + dx, y + dy);
+			b.setPosition(x + dx, y + dy);
+			featuresA.add(a);
+			featuresB.add(b);
+		}
+
+		var successA = new DogArray_B();
+		var successB = new DogArray_B();
+		single.performTracking(featuresA, successA);
+		multi.performTracking(featuresB, successB);
+
+		assertEquals(featuresA.size(), successB.size);
+		int totalSuccess = 0;
+		for (int i = 0; i < featuresA.size(); i++) {
+			assertEquals(successA.get(i), successB.get(i));
+			assertEquals(featuresA.get(i).x, featuresB.get(i).x);
+			assertEquals(featuresA.get(i).y, featuresB.get(i).y);
+			if (successA.get(i))
+				totalSuccess++;
+		}
+		assertTrue(totalSuccess > 100);
+	}
+}
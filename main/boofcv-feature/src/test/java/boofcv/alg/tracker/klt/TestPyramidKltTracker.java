@@ -22,6 +22,7 @@ import boofcv.alg.filter.derivative.GradientSobel;
 import boofcv.alg.misc.ImageMiscOps;
 import boofcv.core.image.border.BorderIndex1D_Extend;
 import boofcv.struct.border.ImageBorder1D_F32;
+import boofcv.struct.image.GrayF32;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -201,4 +202,29 @@ public class TestPyramidKltTracker extends PyramidKltTestBase {
 
 		assertTrue( tracker.track(feature) == KltTrackFault.LARGE_ERROR);
 	}
+
+	/**
+	 * The copy should reference the same images and produce identical results
+	 */
+	@Test
+	public void copy() {
+		tracker.setImage(pyramid,derivX,derivY);
+		PyramidKltTracker<GrayF32,GrayF32> copy = tracker.copy();
+		assertNotSame(tracker.tracker, copy.tracker);
+		assertSame(tracker.image, copy.image);
+
+		PyramidKltFeature featureA = new PyramidKltFeature(pyramid.getNumLayers(),featureReadius);
+		PyramidKltFeature featureB = new PyramidKltFeature(pyramid.getNumLayers(),featureReadius);
+		featureA.setPosition(cornerX,cornerY);
+		featureB.setPosition(cornerX,cornerY);
+		assertTrue(tracker.setDescription(featureA));
+		assertTrue(copy.setDescription(featureB));
+
+		featureA.setPosition(cornerX-1.3f,cornerY+1.2f);
+		featureB.setPosition(cornerX-1.3f,cornerY+1.2f);
+		assertSame(KltTrackFault.SUCCESS, tracker.track(featureA));
+		assertSame(KltTrackFault.SUCCESS, copy.track(featureB));
+		assertEquals(featureA.x,featureB.x);
+		assertEquals(featureA.y,featureB.y);
+	}
 }
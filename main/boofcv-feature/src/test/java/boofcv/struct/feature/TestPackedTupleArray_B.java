@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestPackedTupleArray_B extends BoofStandardJUnit {
+	// Intentionally not a multiple of 32
+	int numBits = 70;
+
+	@Test
+	void append_get() {
+		var alg = new PackedTupleArray_B(numBits);
+		assertEquals(numBits, alg.getDOF());
+		assertEquals(3, alg.getNumInts());
+
+		var expected = new TupleDesc_B[8];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = new TupleDesc_B(numBits);
+			for (int j = 0; j < expected[i].data.length; j++) {
+				expected[i].data[j] = rand.nextInt();
+			}
+			alg.append(expected[i]);
+		}
+		assertEquals(expected.length, alg.size());
+
+		var found = new TupleDesc_B(numBits);
+		for (int i = 0; i < expected.length; i++) {
+			assertArrayEquals(expected[i].data, alg.getTemp(i).data);
+			alg.getCopy(i, found);
+			assertArrayEquals(expected[i].data, found.data);
+			assertEquals(numBits, found.numBits);
+		}
+	}
+
+	@Test
+	void append_wrongSize() {
+		var alg = new PackedTupleArray_B(numBits);
+		assertThrows(IllegalArgumentException.class, () -> alg.append(new TupleDesc_B(numBits + 1)));
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.feature;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.struct.DogArray;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+class TestPackedTupleArray_F64 extends BoofStandardJUnit {
+	int DOF = 5;
+
+	@Test
+	void append_get() {
+		var alg = new PackedTupleArray_F64(DOF);
+		assertEquals(DOF, alg.getDOF());
+
+		var expected = new TupleDesc_F64[8];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = new TupleDesc_F64(DOF);
+			for (int j = 0; j < DOF; j++) {
+				expected[i].value[j] = rand.nextDouble();
+			}
+			alg.append(expected[i]);
+		}
+		assertEquals(expected.length, alg.size());
+		assertEquals(expected.length*DOF, alg.data.size);
+
+		var found = new TupleDesc_F64(DOF);
+		for (int i = 0; i < expected.length; i++) {
+			assertArrayEquals(expected[i].value, alg.getTemp(i).value);
+			alg.getCopy(i, found);
+			assertArrayEquals(expected[i].value, found.value);
+		}
+	}
+
+	@Test
+	void setTo() {
+		var list = new DogArray<>(() -> new TupleDesc_F64(DOF));
+		for (int i = 0; i < 6; i++) {
+			list.grow().fill(i + 1.5);
+		}
+
+		var alg = new PackedTupleArray_F64(DOF);
+		alg.append(new TupleDesc_F64(DOF));
+		alg.setTo(list);
+
+		assertEquals(list.size, alg.size());
+		assertEquals(list.size*DOF, alg.data.size);
+		for (int i = 0; i < list.size; i++) {
+			assertArrayEquals(list.get(i).value, alg.getTemp(i).value);
+		}
+	}
+
+	@Test
+	void reset() {
+		var alg = new PackedTupleArray_F64(DOF);
+		alg.append(new TupleDesc_F64(DOF));
+		alg.append(new TupleDesc_F64(DOF));
+		alg.reset();
+		assertEquals(0, alg.size());
+
+		// Make sure it starts from the beginning after a reset
+		var desc = new TupleDesc_F64(DOF);
+		desc.fill(2.0);
+		alg.append(desc);
+		assertEquals(1, alg.size());
+		assertArrayEquals(desc.value, alg.getTemp(0).value);
+	}
+}
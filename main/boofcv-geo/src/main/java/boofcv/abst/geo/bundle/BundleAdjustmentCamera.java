@@ -25,6 +25,9 @@ import org.jetbrains.annotations.Nullable;
  * Generalized camera model for bundle adjustment. By implementing this function you can swap in and out
  * arbitrary camera models.
  *
+ * {@link #project} and {@link #jacobian} should not modify the camera's internal state, since concurrent
+ * implementations of bundle adjustment will call them from multiple threads at the same time.
+ *
  * @author Peter Abeles
  */
 public interface BundleAdjustmentCamera {
@@ -38,7 +38,12 @@ public interface PointCloudWriter {
 
 	void add( double x, double y, double z, int rgb );
 
-	class CloudArraysF32 implements PointCloudWriter {
+	/**
+	 * Stores the cloud in primitive arrays. Points are interleaved as (x,y,z) in one array and the color in another,
+	 * so no objects are created for each point. Can also be read from, which allows large clouds to be loaded
+	 * and saved. If points were added without color then {@link #getRGB} returns 0.
+	 */
+	class CloudArraysF32 implements PointCloudWriter, PointCloudReader {
 		// Storage for point cloud
 		public DogArray_F32 cloudXyz = new DogArray_F32();
 		public DogArray_I32 cloudRgb = new DogArray_I32();
@@ -65,6 +70,24 @@ public interface PointCloudWriter {
 			cloudXyz.add((float)z);
 			cloudRgb.add(rgb);
 		}
+
+		@Override public int size() {
+			return cloudXyz.size/3;
+		}
+
+		@Override public void get( int index, Point3D_F32 point ) {
+			int i = index*3;
+			point.setTo(cloudXyz.data[i], cloudXyz.data[i + 1], cloudXyz.data[i + 2]);
+		}
+
+		@Override public void get( int index, Point3D_F64 point ) {
+			int i = index*3;
+			point.setTo(cloudXyz.data[i], cloudXyz.data[i + 1], cloudXyz.data[i + 2]);
+		}
+
+		@Override public int getRGB( int index ) {
+			return index < cloudRgb.size ? cloudRgb.data[index] : 0;
+		}
 	}
 
 	static PointCloudWriter wrapF32( DogArray<Point3D_F32> cloud ) {
@@ -44,30 +44,25 @@ import java.util.Map;
  * cost(P) = (1/(m*n))*&sum;<sub>i</sub> &sum;<sub>j</sub> ||x<sub>j</sub> - (1/z)*[R<sub>i</sub>|T<sub>i</sub>]*X<sub>j</sub>||<sup>2</sup>
  * </p>
  *
+ * <p>
+ * Each view is projected independently using a {@link Workspace} and only writes to the residuals of
+ * its own observations, allowing a concurrent implementation to process views in parallel.
+ * </p>
+ *
  * @author Peter Abeles
  * @see SceneStructureMetric
  * @see SceneObservations
  */
 public class BundleAdjustmentMetricResidualFunction
 		implements BundleAdjustmentSchur.FunctionResiduals<SceneStructureMetric> {
-	private SceneStructureMetric structure;
-	private SceneObservations observations;
-
-	// feature location in world coordinates
-	private final Point3D_F64 worldPt = new Point3D_F64();
+	protected SceneStructureMetric structure;
+	protected SceneObservations observations;
 
 	// number of parameters being optimised
 	private int numParameters;
 	// number of observations.  2 for each point in each view
 	private int numObservations;
 
-	// local variable which stores the predicted location of the feature in the camera frame
-	private final Point3D_F64 cameraPt = new Point3D_F64();
-
-	// Storage for rendered output
-	private final Point2D_F64 predictedPixel = new Point2D_F64();
-	private final PointIndex2D_F64 observedPixel = new PointIndex2D_F64();
-
 	// Used to write the "unknown" parameters into the scene
 	private final CodecSceneStructureMetric codec = new CodecSceneStructureMetric();
 
@@ -76,9 +71,11 @@ public class BundleAdjustmentMetricResidualFunction
 	// Look up workspace by view ID when relative view
 	private final Map<SceneStructureMetric.View, Se3_F64> mapWorldToView = new HashMap<>();
 
-	// Storage for 3D points in Cartesian and homogenous coordinates
-	private final Point3D_F64 p3 = new Point3D_F64();
-	private final Point4D_F64 p4 = new Point4D_F64();
+	// index of the first observation in each view
+	private int[] viewFirstObservation;
+
+	// Workspace used when views are processed in the calling thread
+	private final Workspace workspace = new Workspace();
 
 	/**
 	 * Specifies the scenes structure and observed feature locations
@@ -103,6 +100,15 @@ public class BundleAdjustmentMetricResidualFunction
 			Se3_F64 world_to_view = storageSe3.grow();
 			mapWorldToView.put(v, world_to_view);
 		}
+
+		// Observations in a view are stored in a continuous block. General points then rigid points
+		viewFirstObservation = new int[structure.views.size];
+		for (int viewIndex = 0, index = 0; viewIndex < structure.views.size; viewIndex++) {
+			viewFirstObservation[viewIndex] = index;
+			index += observations.views.get(viewIndex).size();
+			if (observations.hasRigid())
+				index += observations.viewsRigid.get(viewIndex).size();
+		}
 	}
 
 	@Override
@@ -121,71 +127,95 @@ public class BundleAdjustmentMetricResidualFunction
 		// write the current parameters into the scene's structure
 		codec.decode(input, structure);
 
+		// A parent always has a lower index so relative views can be computed in order
+		for (int viewIndex = 0; viewIndex < structure.views.size; viewIndex++) {
+			SceneStructureMetric.View view = structure.views.data[viewIndex];
+			if (view.parent != null)
+				lookupWorldToView(view);
+		}
+
+		projectViews(output);
+	}
+
+	/**
+	 * Computes the residuals for every view. The scene must have already been decoded.
+	 */
+	protected void projectViews( double[] output ) {
+		for (int viewIndex = 0; viewIndex < structure.views.size; viewIndex++) {
+			projectView(workspace, viewIndex, output);
+		}
+	}
+
+	/**
+	 * Computes the residuals for all the observations in a single view. Only the view's residuals are modified.
+	 */
+	protected void projectView( Workspace ws, int viewIndex, double[] output ) {
 		// Project the general scene now
 		if (structure.isHomogenous())
-			project4(output);
+			project4(ws, viewIndex, output);
 		else
-			project3(output);
+			project3(ws, viewIndex, output);
 	}
 
 	/**
 	 * projection from 3D coordinates
 	 */
-	private void project3( double[] output ) {
-		int observationIndex = 0;
-		for (int viewIndex = 0; viewIndex < structure.views.size; viewIndex++) {
-			SceneStructureMetric.View view = structure.views.get(viewIndex);
-			SceneStructureCommon.Camera camera = structure.cameras.get(view.camera);
-
-			Se3_F64 world_to_view = lookupWorldToView(view);
-
-			//=========== Project General Points in this View
-			{
-				SceneObservations.View obsView = observations.views.get(viewIndex);
-				for (int i = 0; i < obsView.size(); i++) {
-					obsView.get(i, observedPixel);
-					SceneStructureCommon.Point worldPt = structure.points.data[observedPixel.index];
-					worldPt.get(p3);
-
-					SePointOps_F64.transform(world_to_view, p3, cameraPt);
-
-					camera.model.project(cameraPt.x, cameraPt.y, cameraPt.z, predictedPixel);
-
-					int outputIndex = observationIndex*2;
-					output[outputIndex] = predictedPixel.x - observedPixel.p.x;
-					output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
-					observationIndex++;
-				}
+	private void project3( Workspace ws, int viewIndex, double[] output ) {
+		SceneStructureMetric.View view = structure.views.get(viewIndex);
+		SceneStructureCommon.Camera camera = structure.cameras.get(view.camera);
+		PointIndex2D_F64 observedPixel = ws.observedPixel;
+		Point2D_F64 predictedPixel = ws.predictedPixel;
+		Point3D_F64 cameraPt = ws.cameraPt;
+
+		Se3_F64 world_to_view = getWorldToView(view);
+		int observationIndex = viewFirstObservation[viewIndex];
+
+		//=========== Project General Points in this View
+		{
+			SceneObservations.View obsView = observations.views.get(viewIndex);
+			for (int i = 0; i < obsView.size(); i++) {
+				obsView.get(i, observedPixel);
+				SceneStructureCommon.Point worldPt = structure.points.data[observedPixel.index];
+				worldPt.get(ws.p3);
+
+				SePointOps_F64.transform(world_to_view, ws.p3, cameraPt);
+
+				camera.model.project(cameraPt.x, cameraPt.y, cameraPt.z, predictedPixel);
+
+				int outputIndex = observationIndex*2;
+				output[outputIndex] = predictedPixel.x - observedPixel.p.x;
+				output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
+				observationIndex++;
 			}
+		}
 
-			//=========== Project Rigid Object Points in this View
-			if (observations.hasRigid()) {
-				SceneObservations.View obsView = observations.viewsRigid.get(viewIndex);
-				for (int i = 0; i < obsView.size(); i++) {
-					obsView.get(i, observedPixel);
-
-					// Use lookup table to figure out which rigid object it belongs to
-					int rigidIndex = structure.lookupRigid[observedPixel.index];
-					SceneStructureMetric.Rigid rigid = structure.rigids.get(rigidIndex);
-					// Compute the point's index on the rigid object
-					int pointIndex = observedPixel.index - rigid.indexFirst;
-
-					// Load the 3D location of point on the rigid body
-					SceneStructureCommon.Point objectPt = rigid.points[pointIndex];
-					objectPt.get(p3);
-
-					// Transform to world frame and from world to camera
-					SePointOps_F64.transform(rigid.object_to_world, p3, worldPt);
-					SePointOps_F64.transform(world_to_view, worldPt, cameraPt);
-
-					// Project and compute residual
-					camera.model.project(cameraPt.x, cameraPt.y, cameraPt.z, predictedPixel);
-
-					int outputIndex = observationIndex*2;
-					output[outputIndex] = predictedPixel.x - observedPixel.p.x;
-					output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
-					observationIndex++;
-				}
+		//=========== Project Rigid Object Points in this View
+		if (observations.hasRigid()) {
+			SceneObservations.View obsView = observations.viewsRigid.get(viewIndex);
+			for (int i = 0; i < obsView.size(); i++) {
+				obsView.get(i, observedPixel);
+
+				// Use lookup table to figure out which rigid object it belongs to
+				int rigidIndex = structure.lookupRigid[observedPixel.index];
+				SceneStructureMetric.Rigid rigid = structure.rigids.get(rigidIndex);
+				// Compute the point's index on the rigid object
+				int pointIndex = observedPixel.index - rigid.indexFirst;
+
+				// Load the 3D location of point on the rigid body
+				SceneStructureCommon.Point objectPt = rigid.points[pointIndex];
+				objectPt.get(ws.p3);
+
+				// Transform to world frame and from world to camera
+				SePointOps_F64.transform(rigid.object_to_world, ws.p3, ws.worldPt);
+				SePointOps_F64.transform(world_to_view, ws.worldPt, cameraPt);
+
+				// Project and compute residual
+				camera.model.project(cameraPt.x, cameraPt.y, cameraPt.z, predictedPixel);
+
+				int outputIndex = observationIndex*2;
+				output[outputIndex] = predictedPixel.x - observedPixel.p.x;
+				output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
+				observationIndex++;
 			}
 		}
 	}
@@ -193,67 +223,78 @@ public class BundleAdjustmentMetricResidualFunction
 	/**
 	 * projection from homogenous coordinates
 	 */
-	private void project4( double[] output ) {
-		int observationIndex = 0;
-		for (int viewIndex = 0; viewIndex < structure.views.size; viewIndex++) {
-			SceneStructureMetric.View view = structure.views.get(viewIndex);
-			SceneStructureCommon.Camera camera = structure.cameras.get(view.camera);
-
-			Se3_F64 world_to_view = lookupWorldToView(view);
-
-			//=========== Project General Points in this View
-			{
-				SceneObservations.View obsView = observations.views.get(viewIndex);
-
-				for (int i = 0; i < obsView.size(); i++) {
-					obsView.get(i, observedPixel);
-					SceneStructureCommon.Point worldPt = structure.points.data[observedPixel.index];
-					worldPt.get(p4);
-
-					// TODO Explain why this is correct. The last row is omitted when converted to 3D
-					SePointOps_F64.transformV(world_to_view, p4, cameraPt);
-
-					camera.model.project(cameraPt.x, cameraPt.y, cameraPt.z, predictedPixel);
-
-					int outputIndex = observationIndex*2;
-					output[outputIndex] = predictedPixel.x - observedPixel.p.x;
-					output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
-					observationIndex++;
-				}
+	private void project4( Workspace ws, int viewIndex, double[] output ) {
+		SceneStructureMetric.View view = structure.views.get(viewIndex);
+		SceneStructureCommon.Camera camera = structure.cameras.get(view.camera);
+		PointIndex2D_F64 observedPixel = ws.observedPixel;
+		Point2D_F64 predictedPixel = ws.predictedPixel;
+		Point3D_F64 cameraPt = ws.cameraPt;
+
+		Se3_F64 world_to_view = getWorldToView(view);
+		int observationIndex = viewFirstObservation[viewIndex];
+
+		//=========== Project General Points in this View
+		{
+			SceneObservations.View obsView = observations.views.get(viewIndex);
+
+			for (int i = 0; i < obsView.size(); i++) {
+				obsView.get(i, observedPixel);
+				SceneStructureCommon.Point worldPt = structure.points.data[observedPixel.index];
+				worldPt.get(ws.p4);
+
+				// TODO Explain why this is correct. The last row is omitted when converted to 3D
+				SePointOps_F64.transformV(world_to_view, ws.p4, cameraPt);
+
+				camera.model.project(cameraPt.x, cameraPt.y, cameraPt.z, predictedPixel);
+
+				int outputIndex = observationIndex*2;
+				output[outputIndex] = predictedPixel.x - observedPixel.p.x;
+				output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
+				observationIndex++;
 			}
+		}
 
-			//=========== Project Rigid Object Points in this View
-			if (observations.hasRigid()) {
-				SceneObservations.View obsView = observations.viewsRigid.get(viewIndex);
+		//=========== Project Rigid Object Points in this View
+		if (observations.hasRigid()) {
+			SceneObservations.View obsView = observations.viewsRigid.get(viewIndex);
 
-				for (int i = 0; i < obsView.size(); i++) {
-					obsView.get(i, observedPixel);
+			for (int i = 0; i < obsView.size(); i++) {
+				obsView.get(i, observedPixel);
 
-					// Use lookup table to figure out which rigid object it belongs to
-					int rigidIndex = structure.lookupRigid[observedPixel.index];
-					SceneStructureMetric.Rigid rigid = structure.rigids.get(rigidIndex);
-					// Compute the point's index on the rigid object
-					int pointIndex = observedPixel.index - rigid.indexFirst;
+				// Use lookup table to figure out which rigid object it belongs to
+				int rigidIndex = structure.lookupRigid[observedPixel.index];
+				SceneStructureMetric.Rigid rigid = structure.rigids.get(rigidIndex);
+				// Compute the point's index on the rigid object
+				int pointIndex = observedPixel.index - rigid.indexFirst;
 
-					// Load the 3D location of point on the rigid body
-					SceneStructureCommon.Point objectPt = rigid.points[pointIndex];
-					objectPt.get(p4);
+				// Load the 3D location of point on the rigid body
+				SceneStructureCommon.Point objectPt = rigid.points[pointIndex];
+				objectPt.get(ws.p4);
 
-					// Transform to world frame and from world to camera
-					SePointOps_F64.transformV(rigid.object_to_world, p4, worldPt);
-					SePointOps_F64.transform(world_to_view, worldPt, cameraPt);
+				// Transform to world frame and from world to camera
+				SePointOps_F64.transformV(rigid.object_to_world, ws.p4, ws.worldPt);
+				SePointOps_F64.transform(world_to_view, ws.worldPt, cameraPt);
 
-					camera.model.project(cameraPt.x, cameraPt.y, cameraPt.z, predictedPixel);
+				camera.model.project(cameraPt.x, cameraPt.y, cameraPt.z, predictedPixel);
 
-					int outputIndex = observationIndex*2;
-					output[outputIndex] = predictedPixel.x - observedPixel.p.x;
-					output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
-					observationIndex++;
-				}
+				int outputIndex = observationIndex*2;
+				output[outputIndex] = predictedPixel.x - observedPixel.p.x;
+				output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
+				observationIndex++;
 			}
 		}
 	}
 
+	/**
+	 * Returns the transform from world to view. For relative views it must have already been computed by
+	 * {@link #lookupWorldToView}.
+	 */
+	private Se3_F64 getWorldToView( SceneStructureMetric.View v ) {
+		if (v.parent == null)
+			return structure.getParentToView(v);
+		return mapWorldToView.get(v);
+	}
+
 	/**
 	 * Returns a transform from the world_to_view. If relative then the parent's world to view is look up and used
 	 * to compute this view's transform and the results are saved.
@@ -277,4 +318,23 @@ public class BundleAdjustmentMetricResidualFunction
 		}
 		return world_to_view;
 	}
+
+	/**
+	 * Storage for intermediate results while projecting a view. Each thread needs its own instance.
+	 */
+	protected static class Workspace {
+		// feature location in world coordinates
+		final Point3D_F64 worldPt = new Point3D_F64();
+
+		// local variable which stores the predicted location of the feature in the camera frame
+		final Point3D_F64 cameraPt = new Point3D_F64();
+
+		// Storage for rendered output
+		final Point2D_F64 predictedPixel = new Point2D_F64();
+		final PointIndex2D_F64 observedPixel = new PointIndex2D_F64();
+
+		// Storage for 3D points in Cartesian and homogenous coordinates
+		final Point3D_F64 p3 = new Point3D_F64();
+		final Point4D_F64 p4 = new Point4D_F64();
+	}
 }
@@ -29,8 +29,6 @@ import georegression.struct.point.Point4D_F64;
 import georegression.struct.point.Vector3D_F64;
 import georegression.struct.se.Se3_F64;
 import georegression.transform.se.SePointOps_F64;
-import gnu.trove.map.TIntObjectMap;
-import gnu.trove.map.hash.TIntObjectHashMap;
 import lombok.Getter;
 import lombok.Setter;
 import org.ddogleg.struct.DogArray;
@@ -42,16 +40,21 @@ import org.ejml.dense.row.CommonOps_DDRM;
 import java.util.HashMap;
 import java.util.Map;
 
+
 /**
  * Computes the Jacobian for bundle adjustment with a Schur implementation. This is the base class
  * for specific types of matrices
  *
+ * Parameters which are shared between views, i.e. motions, cameras, and rigid objects, are decoded first. Then
+ * each view is processed using a {@link Workspace} and only modifies the rows of its own observations. This
+ * allows a concurrent implementation to process views in parallel.
+ *
  * @author Peter Abeles
  */
 public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 		implements BundleAdjustmentSchur.Jacobian<SceneStructureMetric, M> {
-	private SceneStructureMetric structure;
-	private SceneObservations observations;
+	protected SceneStructureMetric structure;
+	protected SceneObservations observations;
 
 	// number of views with parameters that are going to be adjusted
 	private int numMotionsUnknown;
@@ -66,29 +69,16 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 	/** Specifies method to parameterize rotations, i.e. Rodrigues to SO3 */
 	public @Getter @Setter JacobianSo3 jacSO3 = new JacobianSo3Rodrigues();
 
-	// Recycled data structures for use in the maps below
+	// Recycled data structures for use in the map below
 	private final DogArray<Se3_F64> storageSe3 = new DogArray<>(Se3_F64::new);
+	// Partials of SO3 for each motion. Only updated for motions which are not known
 	private final DogArray<DMatrixRMaj[]> storageSO3Jac = new DogArray<>(this::declareRotJacStorage);
 	// Look up workspace by view ID when relative view. Only filled in when a relative view is encountered
 	private final Map<SceneStructureMetric.View, Se3_F64> mapWorldToView = new HashMap<>();
-	private final TIntObjectMap<DMatrixRMaj[]> mapSO3Jac = new TIntObjectHashMap<>();
-	// If only one view will use a particular motion then we don't want to store the Jacobian for future use
-
-	// Workspace for world to view transform
-	private final Se3_F64 world_to_view = new Se3_F64();
 
 	// Jacobians for rigid objects
 	private JacobianSo3[] jacRigidS03;
 
-	// feature location in world coordinates
-	private final Point3D_F64 worldPt3 = new Point3D_F64();
-	private final Point4D_F64 worldPt4 = new Point4D_F64();
-	// feature location in rigid body coordinates
-	private final Point3D_F64 rigidPt3 = new Point3D_F64();
-	private final Point4D_F64 rigidPt4 = new Point4D_F64();
-	// feature location in camera coordinates
-	private final Point3D_F64 cameraPt = new Point3D_F64();
-
 	// Number of parameters to describe SE3 (rotation + translation)
 	private int lengthSE3;
 	// first index for rigid body parameters
@@ -102,25 +92,14 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 	private int[] motionParameterIndexes;
 	// first index in input/parameters vector for each camera. Right side
 	private int[] cameraParameterIndexes;
+	// index of the first observation in each view
+	private int[] viewFirstObservation;
 
-	// Jacobian matrix index of x and y partial
-	private int jacRowX, jacRowY;
-
-	// Storage for gradients
-	private final double[] pointGradX = new double[3];
-	private final double[] pointGradY = new double[3];
-	private double[] calibGradX = null;
-	private double[] calibGradY = null;
+	// Largest number of intrinsic parameters in a camera
+	protected int largestCameraSize;
 
-	// work space for R2*R1
-	DMatrixRMaj RR = new DMatrixRMaj(3, 3);
-
-	// Storage for current view's partials of SO3
-	private DMatrixRMaj[] arraySO3 = new DMatrixRMaj[0];
-	private final DMatrixRMaj accumulatedR = new DMatrixRMaj(3, 3);
-	private final Point4D_F64 worldX = new Point4D_F64();
-	private final Point3D_F64 pt3 = new Point3D_F64();
-	private final DMatrixRMaj tmp3x3 = new DMatrixRMaj(3, 3);
+	// Workspace used when views are processed in the calling thread
+	private final Workspace workspace = new Workspace();
 
 	@Override
 	public void configure( SceneStructureMetric structure, SceneObservations observations ) {
@@ -168,7 +147,7 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 
 		// Create a lookup table for each camera. Camera ID to location in parameter vector
 		cameraParameterIndexes = new int[structure.cameras.size];
-		int largestCameraSize = 0;
+		largestCameraSize = 0;
 		for (int i = 0, index = 0; i < structure.cameras.size; i++) {
 			if (!structure.cameras.get(i).known) {
 				cameraParameterIndexes[i] = index;
@@ -178,8 +157,14 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 			}
 		}
 
-		calibGradX = new double[largestCameraSize];
-		calibGradY = new double[largestCameraSize];
+		// Observations in a view are stored in a continuous block of rows. General points then rigid points
+		viewFirstObservation = new int[structure.views.size];
+		for (int viewIndex = 0, index = 0; viewIndex < structure.views.size; viewIndex++) {
+			viewFirstObservation[viewIndex] = index;
+			index += observations.views.get(viewIndex).size();
+			if (observations.hasRigid())
+				index += observations.viewsRigid.get(viewIndex).size();
+		}
 
 		// Storage for relative views
 		declareStorageWorldToView(structure);
@@ -202,37 +187,18 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 	}
 
 	/**
-	 * Pre-declare storage for all the SO3 Jacobians that will need to be retrieved as part of a relative view
-	 * in the future. This is needed when relative views are in use. When there are no regular views then
-	 * these sparse data structures will be empty.
+	 * Declare storage for the SO3 partials of every motion. The partials are computed once when the motion
+	 * is decoded and then looked up by every view which references it, directly or through a parent.
 	 */
 	private void declareStoragePartialsSE3( SceneStructureMetric structure ) {
 		int lengthParam = storageSO3Jac.grow().length;
 
-		mapSO3Jac.clear();
 		// see if the parameterization changed. If so discard all the old data
 		if (jacSO3.getParameterLength() != lengthParam) {
 			storageSO3Jac.data = new DMatrixRMaj[0][];
 			storageSO3Jac.size = 0;
-		} else {
-			storageSO3Jac.reset();
-		}
-		arraySO3 = arraySO3.length != lengthParam ? new DMatrixRMaj[lengthParam] : arraySO3;
-		for (int viewIdx = 0; viewIdx < structure.views.size; viewIdx++) {
-			SceneStructureMetric.View v = structure.views.get(viewIdx);
-			if (v.parent == null)
-				continue;
-
-			// if this view is relative to another we don't need to store the Jacobian since we already have it
-			// However, the parent it refers to needs to be stored. We do not need to traverse back any more due
-			// since all potential ancestors have already been processed
-			SceneStructureMetric.View vp = v.parent;
-			SceneStructureMetric.Motion mp = structure.motions.get(vp.parent_to_view);
-			if (mp.known || mapSO3Jac.containsKey(vp.parent_to_view))
-				continue;
-
-			mapSO3Jac.put(vp.parent_to_view, storageSO3Jac.grow());
 		}
+		storageSO3Jac.resize(structure.motions.size);
 	}
 
 	@Override
@@ -245,7 +211,7 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 		return observations.getObservationCount()*2;
 	}
 
-	private int computeGeneralPoints( DMatrix leftPoint, DMatrix rightView,
+	private int computeGeneralPoints( Workspace ws, DMatrix leftPoint, DMatrix rightView,
 									  double[] input, int observationIndex, int viewIndex,
 									  SceneStructureCommon.Camera camera,
 									  int cameraParamStartIndex ) {
@@ -257,43 +223,31 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 			int columnOfPointInJac = featureIndex*lengthPoint;
 
 			if (structure.isHomogenous()) {
-				worldPt4.x = input[columnOfPointInJac];
-				worldPt4.y = input[columnOfPointInJac + 1];
-				worldPt4.z = input[columnOfPointInJac + 2];
-				worldPt4.w = input[columnOfPointInJac + 3];
+				ws.worldPt4.x = input[columnOfPointInJac];
+				ws.worldPt4.y = input[columnOfPointInJac + 1];
+				ws.worldPt4.z = input[columnOfPointInJac + 2];
+				ws.worldPt4.w = input[columnOfPointInJac + 3];
 
-				SePointOps_F64.transformV(world_to_view, worldPt4, cameraPt);
+				SePointOps_F64.transformV(ws.world_to_view, ws.worldPt4, ws.cameraPt);
 			} else {
-				worldPt3.x = input[columnOfPointInJac];
-				worldPt3.y = input[columnOfPointInJac + 1];
-				worldPt3.z = input[columnOfPointInJac + 2];
+				ws.worldPt3.x = input[columnOfPointInJac];
+				ws.worldPt3.y = input[columnOfPointInJac + 1];
+				ws.worldPt3.z = input[columnOfPointInJac + 2];
 
-				SePointOps_F64.transform(world_to_view, worldPt3, cameraPt);
+				SePointOps_F64.transform(ws.world_to_view, ws.worldPt3, ws.cameraPt);
 			}
 
-			jacRowX = observationIndex*2;
-			jacRowY = jacRowX + 1;
+			ws.jacRowX = observationIndex*2;
+			ws.jacRowY = ws.jacRowX + 1;
 
 			//============ Partial of camera parameters
-			if (!camera.known) {
-				int N = camera.model.getIntrinsicCount();
-				camera.model.jacobian(cameraPt.x, cameraPt.y, cameraPt.z,
-						pointGradX, pointGradY, true, calibGradX, calibGradY);
-
-				int location = indexLastMotion - indexFirstMotion + cameraParamStartIndex;
-				for (int j = 0; j < N; j++) {
-					set(rightView, jacRowX, location + j, calibGradX[j]);
-					set(rightView, jacRowY, location + j, calibGradY[j]);
-				}
-			} else {
-				camera.model.jacobian(cameraPt.x, cameraPt.y, cameraPt.z, pointGradX, pointGradY,
-						false, null, null);
-			}
+			computeCameraPartials(ws, rightView, camera, cameraParamStartIndex);
+
 			//============ Partial of worldPt
 			if (structure.isHomogenous()) {
-				partialPointH(leftPoint, rightView, strView, columnOfPointInJac);
+				partialPointH(ws, leftPoint, rightView, strView, columnOfPointInJac);
 			} else {
-				partialPoint3(leftPoint, rightView, strView, columnOfPointInJac);
+				partialPoint3(ws, leftPoint, rightView, strView, columnOfPointInJac);
 			}
 
 			observationIndex++;
@@ -301,6 +255,28 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 		return observationIndex;
 	}
 
+	/**
+	 * Computes the gradient of the camera model at the point in camera coordinates and, if the camera isn't known,
+	 * the partials of its intrinsic parameters
+	 */
+	private void computeCameraPartials( Workspace ws, DMatrix rightView,
+										SceneStructureCommon.Camera camera, int cameraParamStartIndex ) {
+		if (!camera.known) {
+			int N = camera.model.getIntrinsicCount();
+			camera.model.jacobian(ws.cameraPt.x, ws.cameraPt.y, ws.cameraPt.z,
+					ws.pointGradX, ws.pointGradY, true, ws.calibGradX, ws.calibGradY);
+
+			int location = indexLastMotion - indexFirstMotion + cameraParamStartIndex;
+			for (int j = 0; j < N; j++) {
+				set(rightView, ws.jacRowX, location + j, ws.calibGradX[j]);
+				set(rightView, ws.jacRowY, location + j, ws.calibGradY[j]);
+			}
+		} else {
+			camera.model.jacobian(ws.cameraPt.x, ws.cameraPt.y, ws.cameraPt.z, ws.pointGradX, ws.pointGradY,
+					false, null, null);
+		}
+	}
+
 	/**
 	 * Internal matrix type agnostic process function.
 	 *
@@ -320,6 +296,15 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 		leftPoint.zero();
 		rightView.zero();
 
+		decodeSharedParameters(input);
+		processViews(input, leftPoint, rightView);
+	}
+
+	/**
+	 * Decodes parameters which are referenced by multiple views. Motions, camera intrinsics, and rigid objects.
+	 * Then the world to view transform is computed for all relative views.
+	 */
+	protected void decodeSharedParameters( double[] input ) {
 		// parse parameters for rigid bodies. the translation + rotation is the same for all views
 		for (int rigidIndex = 0; rigidIndex < structure.rigids.size; rigidIndex++) {
 			if (!structure.rigids.get(rigidIndex).known) {
@@ -327,47 +312,79 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 			}
 		}
 
-		int observationIndex = 0;
-		// first decode the transformation
-		for (int viewIndex = 0; viewIndex < structure.views.size; viewIndex++) {
-			SceneStructureMetric.View view = structure.views.data[viewIndex];
-			SceneStructureCommon.Camera camera = structure.cameras.data[view.camera];
-			SceneStructureMetric.Motion motion = structure.motions.data[view.parent_to_view];
-
-			if (!motion.known) {
-				int paramIndex = motionParameterIndexes[view.parent_to_view] + indexFirstMotion;
-				jacSO3.setParameters(input, paramIndex);
-				paramIndex += jacSO3.getParameterLength();
-
-				motion.motion.T.x = input[paramIndex];
-				motion.motion.T.y = input[paramIndex + 1];
-				motion.motion.T.z = input[paramIndex + 2];
-
-				motion.motion.getR().setTo(jacSO3.getRotationMatrix());
-
-				// save the Jacobian if we need to
-				DMatrixRMaj[] savedJac = mapSO3Jac.get(view.parent_to_view);
-				if (savedJac != null) {
-					for (int i = 0; i < savedJac.length; i++) {
-						savedJac[i].setTo(jacSO3.getPartial(i));
-					}
-				}
-			}
+		// decode the motions and save the SO3 partials for when views are processed
+		for (int motionIndex = 0; motionIndex < structure.motions.size; motionIndex++) {
+			SceneStructureMetric.Motion motion = structure.motions.data[motionIndex];
+			if (motion.known)
+				continue;
+
+			int paramIndex = motionParameterIndexes[motionIndex] + indexFirstMotion;
+			jacSO3.setParameters(input, paramIndex);
+			paramIndex += jacSO3.getParameterLength();
+
+			motion.motion.T.x = input[paramIndex];
+			motion.motion.T.y = input[paramIndex + 1];
+			motion.motion.T.z = input[paramIndex + 2];
 
-			lookupWorldToView(view, world_to_view);
+			motion.motion.getR().setTo(jacSO3.getRotationMatrix());
 
-			int cameraParamStartIndex = cameraParameterIndexes[view.camera];
+			DMatrixRMaj[] savedJac = storageSO3Jac.get(motionIndex);
+			for (int i = 0; i < savedJac.length; i++) {
+				savedJac[i].setTo(jacSO3.getPartial(i));
+			}
+		}
+
+		// decode the intrinsic parameters
+		for (int cameraIndex = 0; cameraIndex < structure.cameras.size; cameraIndex++) {
+			SceneStructureCommon.Camera camera = structure.cameras.data[cameraIndex];
 			if (!camera.known) {
-				camera.model.setIntrinsic(input, indexLastMotion + cameraParamStartIndex);
+				camera.model.setIntrinsic(input, indexLastMotion + cameraParameterIndexes[cameraIndex]);
 			}
+		}
 
-			observationIndex = computeGeneralPoints(leftPoint, rightView, input, observationIndex, viewIndex, camera, cameraParamStartIndex);
-			if (observations.hasRigid())
-				observationIndex = computeRigidPoints(leftPoint, rightView, observationIndex, viewIndex, camera, cameraParamStartIndex);
+		// A parent always has a lower index so relative views can be computed in order
+		for (int viewIndex = 0; viewIndex < structure.views.size; viewIndex++) {
+			SceneStructureMetric.View view = structure.views.data[viewIndex];
+			if (view.parent != null)
+				lookupWorldToView(view);
+		}
+	}
+
+	/**
+	 * Computes the Jacobian for every view. Shared parameters must have already been decoded.
+	 */
+	protected void processViews( double[] input, DMatrix leftPoint, DMatrix rightView ) {
+		workspace.reserve(largestCameraSize);
+		for (int viewIndex = 0; viewIndex < structure.views.size; viewIndex++) {
+			processView(workspace, input, viewIndex, leftPoint, rightView);
 		}
 	}
 
-	private int computeRigidPoints( DMatrix leftPoint, DMatrix rightView,
+	/**
+	 * Computes the Jacobian for all observations in a single view. Only rows which belong to the view's observations
+	 * are modified and shared data structures are only read from.
+	 *
+	 * @param ws Workspace. Must be large enough for the largest camera, see {@link Workspace#reserve}.
+	 * @param input Input parameters describing the current state of the optimization
+	 * @param viewIndex Index of the view being processed
+	 * @param leftPoint Storage for left Jacobian
+	 * @param rightView Storage for right Jacobian
+	 */
+	protected void processView( Workspace ws, double[] input, int viewIndex, DMatrix leftPoint, DMatrix rightView ) {
+		SceneStructureMetric.View view = structure.views.data[viewIndex];
+		SceneStructureCommon.Camera camera = structure.cameras.data[view.camera];
+
+		ws.world_to_view.setTo(getWorldToView(view));
+
+		int cameraParamStartIndex = cameraParameterIndexes[view.camera];
+		int observationIndex = viewFirstObservation[viewIndex];
+		observationIndex = computeGeneralPoints(ws, leftPoint, rightView, input,
+				observationIndex, viewIndex, camera, cameraParamStartIndex);
+		if (observations.hasRigid())
+			computeRigidPoints(ws, leftPoint, rightView, observationIndex, viewIndex, camera, cameraParamStartIndex);
+	}
+
+	private int computeRigidPoints( Workspace ws, DMatrix leftPoint, DMatrix rightView,
 									int observationIndex, int viewIndex,
 									SceneStructureCommon.Camera camera,
 									int cameraParamStartIndex ) {
@@ -381,35 +398,22 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 			int pointIndex = featureIndex - rigid.indexFirst; // index of point in rigid body
 
 			if (structure.isHomogenous()) {
-				rigid.getPoint(pointIndex, rigidPt4);
-				SePointOps_F64.transformV(rigid.object_to_world, rigidPt4, worldPt3);
+				rigid.getPoint(pointIndex, ws.rigidPt4);
+				SePointOps_F64.transformV(rigid.object_to_world, ws.rigidPt4, ws.worldPt3);
 			} else {
-				rigid.getPoint(pointIndex, rigidPt3);
-				SePointOps_F64.transform(rigid.object_to_world, rigidPt3, worldPt3);
+				rigid.getPoint(pointIndex, ws.rigidPt3);
+				SePointOps_F64.transform(rigid.object_to_world, ws.rigidPt3, ws.worldPt3);
 			}
-			SePointOps_F64.transform(world_to_view, worldPt3, cameraPt);
+			SePointOps_F64.transform(ws.world_to_view, ws.worldPt3, ws.cameraPt);
 
-			jacRowX = observationIndex*2;
-			jacRowY = jacRowX + 1;
+			ws.jacRowX = observationIndex*2;
+			ws.jacRowY = ws.jacRowX + 1;
 
 			//============ Partial of camera parameters
-			if (!camera.known) {
-				int N = camera.model.getIntrinsicCount();
-				camera.model.jacobian(cameraPt.x, cameraPt.y, cameraPt.z,
-						pointGradX, pointGradY, true, calibGradX, calibGradY);
-
-				int location = indexLastMotion - indexFirstMotion + cameraParamStartIndex;
-				for (int j = 0; j < N; j++) {
-					set(rightView, jacRowX, location + j, calibGradX[j]);
-					set(rightView, jacRowY, location + j, calibGradY[j]);
-				}
-			} else {
-				camera.model.jacobian(cameraPt.x, cameraPt.y, cameraPt.z, pointGradX, pointGradY,
-						false, null, null);
-			}
+			computeCameraPartials(ws, rightView, camera, cameraParamStartIndex);
 
 			//============ Partial of world to view
-			partialViewSE3(rightView, view, worldPt3.x, worldPt3.y, worldPt3.z, 1);
+			partialViewSE3(ws, rightView, view, ws.worldPt3.x, ws.worldPt3.y, ws.worldPt3.z, 1);
 
 			//============ Partial of body to world
 			// R2*(R1*X+T1)+T2
@@ -419,9 +423,11 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 			// partial T1 is R2*(@T1)
 			if (!rigid.known) {
 				if (structure.isHomogenous()) {
-					partialRigidSE3(leftPoint, rigidIndex, rigidPt4.x, rigidPt4.y, rigidPt4.z, rigidPt4.w);
+					Point4D_F64 p = ws.rigidPt4;
+					partialRigidSE3(ws, leftPoint, rigidIndex, p.x, p.y, p.z, p.w);
 				} else {
-					partialRigidSE3(leftPoint, rigidIndex, rigidPt3.x, rigidPt3.y, rigidPt3.z, 1);
+					Point3D_F64 p = ws.rigidPt3;
+					partialRigidSE3(ws, leftPoint, rigidIndex, p.x, p.y, p.z, 1);
 				}
 			}
 
@@ -430,25 +436,25 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 		return observationIndex;
 	}
 
-	private void partialPoint3( DMatrix leftPoint, DMatrix rightView,
+	private void partialPoint3( Workspace ws, DMatrix leftPoint, DMatrix rightView,
 								SceneStructureMetric.View view, int columnOfPointInJac ) {
 		// partial of (R*X + T) with respect to X is a 3 by 3 matrix
 		// This turns out to be just R
 		// grad F(G(X)) = 2 x 3 matrix which is then multiplied by R
-		addToJacobian(leftPoint, columnOfPointInJac, pointGradX, pointGradY, world_to_view.R);
+		addToJacobian(ws, leftPoint, columnOfPointInJac, ws.pointGradX, ws.pointGradY, ws.world_to_view.R);
 
-		partialViewSE3(rightView, view, worldPt3.x, worldPt3.y, worldPt3.z, 1);
+		partialViewSE3(ws, rightView, view, ws.worldPt3.x, ws.worldPt3.y, ws.worldPt3.z, 1);
 	}
 
-	private void partialPointH( DMatrix leftPoint, DMatrix rightView,
+	private void partialPointH( Workspace ws, DMatrix leftPoint, DMatrix rightView,
 								SceneStructureMetric.View view, int columnOfPointInJac ) {
 		// partial of (R*[x,y,z]' + T*w) with respect to X=[x,y,z,w] is a 3 by 4 matrix, [R|T]
 		//
 		// grad F(G(X)) = 2 x 4 matrix which is then multiplied by R
-		addToJacobian(leftPoint, columnOfPointInJac, pointGradX, pointGradY, world_to_view.R);
-		addToJacobian(leftPoint, columnOfPointInJac + 3, pointGradX, pointGradY, world_to_view.T);
+		addToJacobian(ws, leftPoint, columnOfPointInJac, ws.pointGradX, ws.pointGradY, ws.world_to_view.R);
+		addToJacobian(ws, leftPoint, columnOfPointInJac + 3, ws.pointGradX, ws.pointGradY, ws.world_to_view.T);
 
-		partialViewSE3(rightView, view, worldPt4.x, worldPt4.y, worldPt4.z, worldPt4.w);
+		partialViewSE3(ws, rightView, view, ws.worldPt4.x, ws.worldPt4.y, ws.worldPt4.z, ws.worldPt4.w);
 	}
 
 	/**
@@ -472,7 +478,7 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 	 * </pre>
 	 * The chained view can be writen as a recursive formula where a rotation matrix is updated each iteration.
 	 */
-	private void partialViewSE3( DMatrix rightView,
+	private void partialViewSE3( Workspace ws, DMatrix rightView,
 								 SceneStructureMetric.View view,
 								 double X, double Y, double Z, double W ) {
 		{ // Abort if there is no partial derivative to compute
@@ -481,10 +487,11 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 				return;
 		}
 
-		boolean firstView = true;
-		worldX.setTo(X, Y, Z, W);
+		ws.worldX.setTo(X, Y, Z, W);
 
 		// Recursively computed rotation R[i]*R[i-1] ... etc
+		DMatrixRMaj accumulatedR = ws.accumulatedR;
+		DMatrixRMaj tmp3x3 = ws.tmp3x3;
 		CommonOps_DDRM.setIdentity(accumulatedR);
 
 		while (true) {
@@ -503,31 +510,22 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 				continue;
 			}
 			// look up the SO3 Jacobian
-			DMatrixRMaj[] jacobianSO3;
-			if (firstView) {
-				firstView = false;
-				// Current view isn't saved in storage and needs to have a reference copied to the array
-				for (int i = 0; i < arraySO3.length; i++) {
-					arraySO3[i] = jacSO3.getPartial(i);
-				}
-				jacobianSO3 = arraySO3;
-			} else {
-				jacobianSO3 = mapSO3Jac.get(view.parent_to_view);
-			}
+			DMatrixRMaj[] jacobianSO3 = storageSO3Jac.get(view.parent_to_view);
 
 			//============== Partial of view rotation parameters
 			final int paramLength = jacSO3.getParameterLength();
 			if (view.parent == null) {
 				for (int i = 0; i < paramLength; i++) {
 					CommonOps_DDRM.mult(accumulatedR, jacobianSO3[i], tmp3x3);
-					addToJacobian(rightView, col + i, pointGradX, pointGradY, tmp3x3, X, Y, Z);
+					addToJacobian(ws, rightView, col + i, ws.pointGradX, ws.pointGradY, tmp3x3, X, Y, Z);
 				}
 			} else {
 				Se3_F64 world_to_parent = getWorldToView(view.parent);
+				Point3D_F64 pt3 = ws.pt3;
 				for (int i = 0; i < paramLength; i++) {
-					SePointOps_F64.transformV(world_to_parent, worldX, pt3);
+					SePointOps_F64.transformV(world_to_parent, ws.worldX, pt3);
 					CommonOps_DDRM.mult(accumulatedR, jacobianSO3[i], tmp3x3);
-					addToJacobian(rightView, col + i, pointGradX, pointGradY, tmp3x3, pt3.x, pt3.y, pt3.z);
+					addToJacobian(ws, rightView, col + i, ws.pointGradX, ws.pointGradY, tmp3x3, pt3.x, pt3.y, pt3.z);
 				}
 			}
 
@@ -537,11 +535,11 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 				double sumY = 0.0;
 				for (int j = 0; j < 3; j++) {
 					double r_ji = accumulatedR.unsafe_get(j, i);
-					sumX += r_ji*pointGradX[j];
-					sumY += r_ji*pointGradY[j];
+					sumX += r_ji*ws.pointGradX[j];
+					sumY += r_ji*ws.pointGradY[j];
 				}
-				add(rightView, jacRowX, col + paramLength + i, sumX*W);
-				add(rightView, jacRowY, col + paramLength + i, sumY*W);
+				add(rightView, ws.jacRowX, col + paramLength + i, sumX*W);
+				add(rightView, ws.jacRowY, col + paramLength + i, sumY*W);
 			}
 
 			// If there is a parent then traverse to it next
@@ -568,65 +566,68 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 		return world_to_view;
 	}
 
-	private void partialRigidSE3( DMatrix leftPoint, int rigidIndex,
+	private void partialRigidSE3( Workspace ws, DMatrix leftPoint, int rigidIndex,
 								  double X, double Y, double Z, double W ) {
 		int col = rigidParameterIndexes[rigidIndex] + indexFirstRigid;
 
 		JacobianSo3 jac = jacRigidS03[rigidIndex];
+		DMatrixRMaj R = ws.world_to_view.R;
+		double[] pointGradX = ws.pointGradX;
+		double[] pointGradY = ws.pointGradY;
 
 		//============== Partial of view rotation parameters
 		final int N = jac.getParameterLength();
 		for (int i = 0; i < N; i++) {
-			CommonOps_DDRM.mult(world_to_view.R, jac.getPartial(i), RR);
-			addToJacobian(leftPoint, col + i, pointGradX, pointGradY, RR, X, Y, Z);
+			CommonOps_DDRM.mult(R, jac.getPartial(i), ws.RR);
+			addToJacobian(ws, leftPoint, col + i, pointGradX, pointGradY, ws.RR, X, Y, Z);
 		}
 
 		//============== Partial of view translation parameters
 		// Apply rotation matrix to gradX and gradY.
 		// RX = gradX'*R
-		double RX0 = world_to_view.R.data[0]*pointGradX[0] + world_to_view.R.data[3]*pointGradX[1] + world_to_view.R.data[6]*pointGradX[2];
-		double RX1 = world_to_view.R.data[1]*pointGradX[0] + world_to_view.R.data[4]*pointGradX[1] + world_to_view.R.data[7]*pointGradX[2];
-		double RX2 = world_to_view.R.data[2]*pointGradX[0] + world_to_view.R.data[5]*pointGradX[1] + world_to_view.R.data[8]*pointGradX[2];
+		double RX0 = R.data[0]*pointGradX[0] + R.data[3]*pointGradX[1] + R.data[6]*pointGradX[2];
+		double RX1 = R.data[1]*pointGradX[0] + R.data[4]*pointGradX[1] + R.data[7]*pointGradX[2];
+		double RX2 = R.data[2]*pointGradX[0] + R.data[5]*pointGradX[1] + R.data[8]*pointGradX[2];
 		// RY = gradY'*R
-		double RY0 = world_to_view.R.data[0]*pointGradY[0] + world_to_view.R.data[3]*pointGradY[1] + world_to_view.R.data[6]*pointGradY[2];
-		double RY1 = world_to_view.R.data[1]*pointGradY[0] + world_to_view.R.data[4]*pointGradY[1] + world_to_view.R.data[7]*pointGradY[2];
-		double RY2 = world_to_view.R.data[2]*pointGradY[0] + world_to_view.R.data[5]*pointGradY[1] + world_to_view.R.data[8]*pointGradY[2];
-
-		set(leftPoint, jacRowX, col + N, RX0*W);
-		set(leftPoint, jacRowY, col + N, RY0*W);
-		set(leftPoint, jacRowX, col + N + 1, RX1*W);
-		set(leftPoint, jacRowY, col + N + 1, RY1*W);
-		set(leftPoint, jacRowX, col + N + 2, RX2*W);
-		set(leftPoint, jacRowY, col + N + 2, RY2*W);
+		double RY0 = R.data[0]*pointGradY[0] + R.data[3]*pointGradY[1] + R.data[6]*pointGradY[2];
+		double RY1 = R.data[1]*pointGradY[0] + R.data[4]*pointGradY[1] + R.data[7]*pointGradY[2];
+		double RY2 = R.data[2]*pointGradY[0] + R.data[5]*pointGradY[1] + R.data[8]*pointGradY[2];
+
+		set(leftPoint, ws.jacRowX, col + N, RX0*W);
+		set(leftPoint, ws.jacRowY, col + N, RY0*W);
+		set(leftPoint, ws.jacRowX, col + N + 1, RX1*W);
+		set(leftPoint, ws.jacRowY, col + N + 1, RY1*W);
+		set(leftPoint, ws.jacRowX, col + N + 2, RX2*W);
+		set(leftPoint, ws.jacRowY, col + N + 2, RY2*W);
 	}
 
 	/**
 	 * J[rows,col:(col+3)] =  [a;b]*R
 	 */
-	private void addToJacobian( DMatrix matrix, int col, double[] a, double[] b, DMatrixRMaj R ) {
-		set(matrix, jacRowX, col + 0, a[0]*R.data[0] + a[1]*R.data[3] + a[2]*R.data[6]);
-		set(matrix, jacRowX, col + 1, a[0]*R.data[1] + a[1]*R.data[4] + a[2]*R.data[7]);
-		set(matrix, jacRowX, col + 2, a[0]*R.data[2] + a[1]*R.data[5] + a[2]*R.data[8]);
-
-		set(matrix, jacRowY, col + 0, b[0]*R.data[0] + b[1]*R.data[3] + b[2]*R.data[6]);
-		set(matrix, jacRowY, col + 1, b[0]*R.data[1] + b[1]*R.data[4] + b[2]*R.data[7]);
-		set(matrix, jacRowY, col + 2, b[0]*R.data[2] + b[1]*R.data[5] + b[2]*R.data[8]);
+	private void addToJacobian( Workspace ws, DMatrix matrix, int col, double[] a, double[] b, DMatrixRMaj R ) {
+		set(matrix, ws.jacRowX, col + 0, a[0]*R.data[0] + a[1]*R.data[3] + a[2]*R.data[6]);
+		set(matrix, ws.jacRowX, col + 1, a[0]*R.data[1] + a[1]*R.data[4] + a[2]*R.data[7]);
+		set(matrix, ws.jacRowX, col + 2, a[0]*R.data[2] + a[1]*R.data[5] + a[2]*R.data[8]);
+
+		set(matrix, ws.jacRowY, col + 0, b[0]*R.data[0] + b[1]*R.data[3] + b[2]*R.data[6]);
+		set(matrix, ws.jacRowY, col + 1, b[0]*R.data[1] + b[1]*R.data[4] + b[2]*R.data[7]);
+		set(matrix, ws.jacRowY, col + 2, b[0]*R.data[2] + b[1]*R.data[5] + b[2]*R.data[8]);
 	}
 
-	private void addToJacobian( DMatrix matrix, int col, double[] a, double[] b,
+	private void addToJacobian( Workspace ws, DMatrix matrix, int col, double[] a, double[] b,
 								DMatrixRMaj R, double X, double Y, double Z ) {
 
 		double x = R.data[0]*X + R.data[1]*Y + R.data[2]*Z;
 		double y = R.data[3]*X + R.data[4]*Y + R.data[5]*Z;
 		double z = R.data[6]*X + R.data[7]*Y + R.data[8]*Z;
 
-		add(matrix, jacRowX, col, a[0]*x + a[1]*y + a[2]*z);
-		add(matrix, jacRowY, col, b[0]*x + b[1]*y + b[2]*z);
+		add(matrix, ws.jacRowX, col, a[0]*x + a[1]*y + a[2]*z);
+		add(matrix, ws.jacRowY, col, b[0]*x + b[1]*y + b[2]*z);
 	}
 
-	private void addToJacobian( DMatrix matrix, int col, double[] a, double[] b, Vector3D_F64 X ) {
-		set(matrix, jacRowX, col, a[0]*X.x + a[1]*X.y + a[2]*X.z);
-		set(matrix, jacRowY, col, b[0]*X.x + b[1]*X.y + b[2]*X.z);
+	private void addToJacobian( Workspace ws, DMatrix matrix, int col, double[] a, double[] b, Vector3D_F64 X ) {
+		set(matrix, ws.jacRowX, col, a[0]*X.x + a[1]*X.y + a[2]*X.z);
+		set(matrix, ws.jacRowY, col, b[0]*X.x + b[1]*X.y + b[2]*X.z);
 	}
 
 	/**
@@ -641,15 +642,14 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 	protected abstract void add( DMatrix matrix, int row, int col, double value );
 
 	/**
-	 * Returns a transform from the world_to_view. If relative then the parent's world to view is look up and used
-	 * to compute this view's transform and the results are saved.
+	 * Computes the transform from world to view for a relative view and saves the results. The parent's world to
+	 * view transform is used if it's also relative.
 	 */
-	protected void lookupWorldToView( SceneStructureMetric.View v, Se3_F64 world_to_view ) {
+	protected Se3_F64 lookupWorldToView( SceneStructureMetric.View v ) {
 		Se3_F64 parent_to_view = structure.getParentToView(v);
-		if (v.parent == null) {
-			world_to_view.setTo(parent_to_view);
-			return;
-		}
+		if (v.parent == null)
+			return parent_to_view;
+
 		Se3_F64 saved_world_to_view = mapWorldToView.get(v);
 		SceneStructureMetric.View parentView = v.parent;
 
@@ -662,11 +662,11 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 			Se3_F64 world_to_parent = mapWorldToView.get(v.parent);
 			world_to_parent.concat(parent_to_view, saved_world_to_view);
 		}
-		world_to_view.setTo(saved_world_to_view);
+		return saved_world_to_view;
 	}
 
 	/**
-	 * Declare storage SO3 partials in relative views
+	 * Declare storage for the SO3 partials of a motion
 	 */
 	private DMatrixRMaj[] declareRotJacStorage() {
 		DMatrixRMaj[] partials = new DMatrixRMaj[jacSO3.getParameterLength()];
@@ -675,4 +675,49 @@ public abstract class BundleAdjustmentMetricSchurJacobian<M extends DMatrix>
 		}
 		return partials;
 	}
+
+	/**
+	 * Storage for intermediate results while processing a view. Each thread needs its own instance.
+	 */
+	protected static class Workspace {
+		// Workspace for world to view transform
+		final Se3_F64 world_to_view = new Se3_F64();
+
+		// feature location in world coordinates
+		final Point3D_F64 worldPt3 = new Point3D_F64();
+		final Point4D_F64 worldPt4 = new Point4D_F64();
+		// feature location in rigid body coordinates
+		final Point3D_F64 rigidPt3 = new Point3D_F64();
+		final Point4D_F64 rigidPt4 = new Point4D_F64();
+		// feature location in camera coordinates
+		final Point3D_F64 cameraPt = new Point3D_F64();
+
+		// Jacobian matrix index of x and y partial
+		int jacRowX, jacRowY;
+
+		// Storage for gradients
+		final double[] pointGradX = new double[3];
+		final double[] pointGradY = new double[3];
+		double[] calibGradX = new double[0];
+		double[] calibGradY = new double[0];
+
+		// work space for R2*R1
+		final DMatrixRMaj RR = new DMatrixRMaj(3, 3);
+
+		// Storage for computing partials of relative views
+		final DMatrixRMaj accumulatedR = new DMatrixRMaj(3, 3);
+		final Point4D_F64 worldX = new Point4D_F64();
+		final Point3D_F64 pt3 = new Point3D_F64();
+		final DMatrixRMaj tmp3x3 = new DMatrixRMaj(3, 3);
+
+		/**
+		 * Ensures there's enough storage for the gradient of a camera's intrinsic parameters
+		 */
+		public void reserve( int largestCameraSize ) {
+			if (calibGradX.length >= largestCameraSize)
+				return;
+			calibGradX = new double[largestCameraSize];
+			calibGradY = new double[largestCameraSize];
+		}
+	}
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.geo.bundle;
+
+import boofcv.concurrency.BoofConcurrency;
+import org.ejml.data.DMatrix;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link BundleAdjustmentMetricSchurJacobian_DDRM}. Views are split into blocks and
+ * each block is processed in its own thread. Each view writes to its own rows in the Jacobian so the results
+ * are identical to the single threaded implementation. Camera models must be thread safe when computing the
+ * Jacobian, which is true for the models provided by BoofCV.
+ *
+ * @author Peter Abeles
+ */
+public class BundleAdjustmentMetricSchurJacobian_DDRM_MT extends BundleAdjustmentMetricSchurJacobian_DDRM {
+	// Workspace for each thread
+	private final GrowArray<Workspace> workspaces = new GrowArray<>(Workspace::new);
+
+	@Override
+	protected void processViews( double[] input, DMatrix leftPoint, DMatrix rightView ) {
+		BoofConcurrency.loopBlocks(0, structure.views.size, workspaces, ( ws, idx0, idx1 ) -> {
+			ws.reserve(largestCameraSize);
+			for (int viewIndex = idx0; viewIndex < idx1; viewIndex++) {
+				processView(ws, input, viewIndex, leftPoint, rightView);
+			}
+		});
+	}
+}
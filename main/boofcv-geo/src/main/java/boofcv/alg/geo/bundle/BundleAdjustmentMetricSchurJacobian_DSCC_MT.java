@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.geo.bundle;
+
+import boofcv.concurrency.BoofConcurrency;
+import org.ejml.data.DMatrix;
+import org.ejml.data.DMatrixSparseTriplet;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Concurrent implementation of {@link BundleAdjustmentMetricSchurJacobian_DSCC}. Views are split into blocks and
+ * each block is processed in its own thread. Every thread fills in its own triplet matrices which are then
+ * combined. Camera models must be thread safe when computing the Jacobian, which is true for the models
+ * provided by BoofCV.
+ *
+ * @author Peter Abeles
+ */
+public class BundleAdjustmentMetricSchurJacobian_DSCC_MT extends BundleAdjustmentMetricSchurJacobian_DSCC {
+	// Workspace for each thread
+	private final GrowArray<TripletWorkspace> workspaces = new GrowArray<>(TripletWorkspace::new);
+
+	@Override
+	protected void processViews( double[] input, DMatrix leftPoint, DMatrix rightView ) {
+		var leftTriplet = (DMatrixSparseTriplet)leftPoint;
+		var rightTriplet = (DMatrixSparseTriplet)rightView;
+
+		BoofConcurrency.loopBlocks(0, structure.views.size, workspaces, ( ws, idx0, idx1 ) -> {
+			ws.reserve(largestCameraSize);
+			ws.left.reshape(leftTriplet.numRows, leftTriplet.numCols);
+			ws.right.reshape(rightTriplet.numRows, rightTriplet.numCols);
+			ws.left.zero();
+			ws.right.zero();
+			for (int viewIndex = idx0; viewIndex < idx1; viewIndex++) {
+				processView(ws, input, viewIndex, ws.left, ws.right);
+			}
+		});
+
+		// Combine the results. Order of the elements doesn't matter since they are sorted when converted
+		for (int i = 0; i < workspaces.size(); i++) {
+			TripletWorkspace ws = workspaces.get(i);
+			append(ws.left, leftTriplet);
+			append(ws.right, rightTriplet);
+		}
+	}
+
+	/**
+	 * Adds all the elements in src to dst
+	 */
+	static void append( DMatrixSparseTriplet src, DMatrixSparseTriplet dst ) {
+		int[] rowcol = src.nz_rowcol.data;
+		double[] values = src.nz_value.data;
+		for (int i = 0; i < src.nz_length; i++) {
+			dst.addItem(rowcol[i*2], rowcol[i*2 + 1], values[i]);
+		}
+	}
+
+	/**
+	 * Workspace with storage for the Jacobian elements computed by a thread
+	 */
+	static class TripletWorkspace extends Workspace {
+		final DMatrixSparseTriplet left = new DMatrixSparseTriplet(1, 1, 1);
+		final DMatrixSparseTriplet right = new DMatrixSparseTriplet(1, 1, 1);
+	}
+}
@@ -39,33 +39,33 @@ import georegression.struct.point.Point4D_F64;
  * cost(P) = (1/(m*n))*&sum;<sub>i</sub> &sum;<sub>j</sub> ||x<sub>j</sub> - (1/z)*P<sub>i</sub>*X<sub>j</sub>||<sup>2</sup>
  * </p>
  *
+ * <p>
+ * Each view is projected independently using a {@link Workspace} and only writes to the residuals of
+ * its own observations, allowing a concurrent implementation to process views in parallel.
+ * </p>
+ *
  * @author Peter Abeles
  * @see SceneStructureProjective
  * @see SceneObservations
  */
 public class BundleAdjustmentProjectiveResidualFunction
 		implements BundleAdjustmentSchur.FunctionResiduals<SceneStructureProjective> {
-	private SceneStructureProjective structure;
-	private SceneObservations observations;
+	protected SceneStructureProjective structure;
+	protected SceneObservations observations;
 
 	// number of parameters being optimised
 	private int numParameters;
 	// number of observations.  2 for each point in each view
 	private int numObservations;
 
-	// Storage for rendered output
-	private final Point2D_F64 predictedPixel = new Point2D_F64();
-	private final PointIndex2D_F64 observedPixel = new PointIndex2D_F64();
-
 	// Used to write the "unknown" paramters into the scene
 	private final CodecSceneStructureProjective codec = new CodecSceneStructureProjective();
 
-	// Point in world frame
-	private final Point3D_F64 p3 = new Point3D_F64();
-	private final Point4D_F64 p4 = new Point4D_F64();
+	// index of the first observation in each view
+	private int[] viewFirstObservation;
 
-	// Pixel in homogenous image coordinate
-	private final Point3D_F64 pix = new Point3D_F64();
+	// Workspace used when views are processed in the calling thread
+	private final Workspace workspace = new Workspace();
 
 	/**
 	 * Specifies the scenes structure and observed feature locations
@@ -78,6 +78,12 @@ public class BundleAdjustmentProjectiveResidualFunction
 
 		numObservations = observations.getObservationCount();
 		numParameters = structure.getParameterCount();
+
+		viewFirstObservation = new int[structure.views.size];
+		for (int viewIndex = 0, index = 0; viewIndex < structure.views.size; viewIndex++) {
+			viewFirstObservation[viewIndex] = index;
+			index += observations.views.get(viewIndex).size();
+		}
 	}
 
 	@Override
@@ -96,69 +102,101 @@ public class BundleAdjustmentProjectiveResidualFunction
 		// write the current parameters into the scene's structure
 		codec.decode(input, structure);
 
+		projectViews(output);
+	}
+
+	/**
+	 * Computes the residuals for every view. The scene must have already been decoded.
+	 */
+	protected void projectViews( double[] output ) {
+		for (int viewIndex = 0; viewIndex < structure.views.size; viewIndex++) {
+			projectView(workspace, viewIndex, output);
+		}
+	}
+
+	/**
+	 * Computes the residuals for all the observations in a single view. Only the view's residuals are modified.
+	 */
+	protected void projectView( Workspace ws, int viewIndex, double[] output ) {
 		if (structure.isHomogenous())
-			project4(output);
+			project4(ws, viewIndex, output);
 		else
-			project3(output);
+			project3(ws, viewIndex, output);
 	}
 
 	/**
 	 * projection from 3D coordinates
 	 */
-	private void project3( double[] output ) {
-		int observationIndex = 0;
-		for (int viewIndex = 0; viewIndex < structure.views.size; viewIndex++) {
-			SceneStructureProjective.View view = structure.views.data[viewIndex];
-			SceneObservations.View obsView = observations.views.data[viewIndex];
-			SceneStructureCommon.Camera camera = structure.cameras.get(view.camera);
-
-			for (int i = 0; i < obsView.size(); i++) {
-				obsView.get(i, observedPixel);
-				SceneStructureCommon.Point worldPt = structure.points.data[observedPixel.index];
-				worldPt.get(p3);
-
-				// Apply projective camera to point in world coordinates
-				PerspectiveOps.renderPixel(view.worldToView, p3, pix);
-
-				// Apply camera model to pixel in homogenous coordinates
-				camera.model.project(pix.x, pix.y, pix.z, predictedPixel);
-
-				// Save results
-				int outputIndex = observationIndex*2;
-				output[outputIndex] = predictedPixel.x - observedPixel.p.x;
-				output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
-				observationIndex++;
-			}
+	private void project3( Workspace ws, int viewIndex, double[] output ) {
+		SceneStructureProjective.View view = structure.views.data[viewIndex];
+		SceneObservations.View obsView = observations.views.data[viewIndex];
+		SceneStructureCommon.Camera camera = structure.cameras.get(view.camera);
+		PointIndex2D_F64 observedPixel = ws.observedPixel;
+		Point2D_F64 predictedPixel = ws.predictedPixel;
+
+		int observationIndex = viewFirstObservation[viewIndex];
+		for (int i = 0; i < obsView.size(); i++) {
+			obsView.get(i, observedPixel);
+			SceneStructureCommon.Point worldPt = structure.points.data[observedPixel.index];
+			worldPt.get(ws.p3);
+
+			// Apply projective camera to point in world coordinates
+			PerspectiveOps.renderPixel(view.worldToView, ws.p3, ws.pix);
+
+			// Apply camera model to pixel in homogenous coordinates
+			camera.model.project(ws.pix.x, ws.pix.y, ws.pix.z, predictedPixel);
+
+			// Save results
+			int outputIndex = observationIndex*2;
+			output[outputIndex] = predictedPixel.x - observedPixel.p.x;
+			output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
+			observationIndex++;
 		}
 	}
 
 	/**
 	 * projection from homogenous coordinates
 	 */
-	private void project4( double[] output ) {
-		int observationIndex = 0;
-		for (int viewIndex = 0; viewIndex < structure.views.size; viewIndex++) {
-			SceneStructureProjective.View view = structure.views.data[viewIndex];
-			SceneObservations.View obsView = observations.views.data[viewIndex];
-			SceneStructureCommon.Camera camera = structure.cameras.get(view.camera);
-
-			for (int i = 0; i < obsView.size(); i++) {
-				obsView.get(i, observedPixel);
-				SceneStructureCommon.Point worldPt = structure.points.data[observedPixel.index];
-				worldPt.get(p4);
-
-				// Apply projective camera to point in world coordinates
-				PerspectiveOps.renderPixel(view.worldToView, p4, pix);
-
-				// Apply camera model to pixel in homogenous coordinates
-				camera.model.project(pix.x, pix.y, pix.z, predictedPixel);
-
-				// Save results
-				int outputIndex = observationIndex*2;
-				output[outputIndex] = predictedPixel.x - observedPixel.p.x;
-				output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
-				observationIndex++;
-			}
+	private void project4( Workspace ws, int viewIndex, double[] output ) {
+		SceneStructureProjective.View view = structure.views.data[viewIndex];
+		SceneObservations.View obsView = observations.views.data[viewIndex];
+		SceneStructureCommon.Camera camera = structure.cameras.get(view.camera);
+		PointIndex2D_F64 observedPixel = ws.observedPixel;
+		Point2D_F64 predictedPixel = ws.predictedPixel;
+
+		int observationIndex = viewFirstObservation[viewIndex];
+		for (int i = 0; i < obsView.size(); i++) {
+			obsView.get(i, observedPixel);
+			SceneStructureCommon.Point worldPt = structure.points.data[observedPixel.index];
+			worldPt.get(ws.p4);
+
+			// Apply projective camera to point in world coordinates
+			PerspectiveOps.renderPixel(view.worldToView, ws.p4, ws.pix);
+
+			// Apply camera model to pixel in homogenous coordinates
+			camera.model.project(ws.pix.x, ws.pix.y, ws.pix.z, predictedPixel);
+
+			// Save results
+			int outputIndex = observationIndex*2;
+			output[outputIndex] = predictedPixel.x - observedPixel.p.x;
+			output[outputIndex + 1] = predictedPixel.y - observedPixel.p.y;
+			observationIndex++;
 		}
 	}
+
+	/**
+	 * Storage for intermediate results while projecting a view. Each thread needs its own instance.
+	 */
+	protected static class Workspace {
+		// Storage for rendered output
+		final Point2D_F64 predictedPixel = new Point2D_F64();
+		final PointIndex2D_F64 observedPixel = new PointIndex2D_F64();
+
+		// Point in world frame
+		final Point3D_F64 p3 = new Point3D_F64();
+		final Point4D_F64 p4 = new Point4D_F64();
+
+		// Pixel in homogenous image coordinate
+		final Point3D_F64 pix = new Point3D_F64();
+	}
 }
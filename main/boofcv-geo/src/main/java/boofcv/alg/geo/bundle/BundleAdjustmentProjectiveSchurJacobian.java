@@ -33,15 +33,15 @@ import org.jetbrains.annotations.Nullable;
 /**
  * Computes the Jacobian for {@link BundleAdjustmentSchur} for generic matrices.
  *
+ * Each view is processed using a {@link Workspace} and only modifies the rows of its own observations. This
+ * allows a concurrent implementation to process views in parallel.
+ *
  * @author Peter Abeles
  */
 public abstract class BundleAdjustmentProjectiveSchurJacobian<M extends DMatrix>
 		implements BundleAdjustmentSchur.Jacobian<SceneStructureProjective, M> {
-	private SceneStructureProjective structure;
-	private SceneObservations observations;
-
-	// work space for jacobian
-	private final DMatrixRMaj worldToView = new DMatrixRMaj(3, 4);
+	protected SceneStructureProjective structure;
+	protected SceneObservations observations;
 
 	// number of views with parameters that are going to be adjusted
 	private int numViewsUnknown;
@@ -52,12 +52,6 @@ public abstract class BundleAdjustmentProjectiveSchurJacobian<M extends DMatrix>
 	// length of a 3D point. 3 = regular, 4 = homogenous
 	private int lengthPoint;
 
-	// feature location in world coordinates
-	private final Point4D_F64 worldPt = new Point4D_F64();
-
-	// Observed pixel in homogenous coordinates. X'=P*X
-	private final Point3D_F64 pixelH = new Point3D_F64();
-
 	// index in parameters of the first point
 	private int indexFirstView;
 	private int indexLastView;
@@ -65,23 +59,14 @@ public abstract class BundleAdjustmentProjectiveSchurJacobian<M extends DMatrix>
 	private int[] viewParameterIndexes;
 	// first index in input/parameters vector for each camera. Right side
 	private int[] cameraParameterIndexes;
+	// index of the first observation in each view
+	private int[] viewFirstObservation;
+
+	// Largest number of intrinsic parameters in a camera
+	protected int largestCameraSize;
 
-	// Jacobian matrix index of x and y partial
-	private int jacRowX, jacRowY;
-
-	// Storage for gradients
-	private final double[] worldGradX = new double[4];  // pixel homogeneous partial to world point homogeneous
-	private final double[] worldGradY = new double[4];
-	private final double[] worldGradZ = new double[4];
-	private final double[] camGradX = new double[12];   // pixel homogeneous partial to camera matrix
-	private final double[] camGradY = new double[12];
-	private final double[] camGradZ = new double[12];
-	private final double[] pixelhGradX = new double[3]; // 2D pixel partial to pixel homogeneous
-	private final double[] pixelhGradY = new double[3];
-	private double[] intrGradX;                         // 2D pixel partial to intrinsic camera parameters
-	private double[] intrGradY;
-	private final double[] chainRuleX = new double[12]; // Storage for partial computed using chain rule
-	private final double[] chainRuleY = new double[12];
+	// Workspace used when views are processed in the calling thread
+	private final Workspace workspace = new Workspace();
 
 	@Override
 	public void configure( SceneStructureProjective structure, SceneObservations observations ) {
@@ -89,7 +74,6 @@ public abstract class BundleAdjustmentProjectiveSchurJacobian<M extends DMatrix>
 		this.observations = observations;
 
 		if (!structure.isHomogenous()) {
-			worldPt.w = 1;
 			lengthPoint = 3;
 		} else {
 			lengthPoint = 4;
@@ -112,7 +96,7 @@ public abstract class BundleAdjustmentProjectiveSchurJacobian<M extends DMatrix>
 
 		// Create a lookup table for each camera. Camera ID to location in parameter vector
 		cameraParameterIndexes = new int[structure.cameras.size];
-		int largestCameraSize = 0;
+		largestCameraSize = 0;
 		for (int i = 0, index = 0; i < structure.cameras.size; i++) {
 			if (!structure.cameras.get(i).known) {
 				cameraParameterIndexes[i] = index;
@@ -122,8 +106,11 @@ public abstract class BundleAdjustmentProjectiveSchurJacobian<M extends DMatrix>
 			}
 		}
 
-		intrGradX = new double[largestCameraSize];
-		intrGradY = new double[largestCameraSize];
+		viewFirstObservation = new int[structure.views.size];
+		for (int viewIndex = 0, index = 0; viewIndex < structure.views.size; viewIndex++) {
+			viewFirstObservation[viewIndex] = index;
+			index += observations.views.get(viewIndex).size();
+		}
 	}
 
 	@Override
@@ -153,97 +140,132 @@ public abstract class BundleAdjustmentProjectiveSchurJacobian<M extends DMatrix>
 		leftPoint.zero();
 		rightView.zero();
 
-		int observationIndex = 0;
-		// first decode the transformation
+		processViews(input, leftPoint, rightView);
+	}
+
+	/**
+	 * Computes the Jacobian for every view
+	 */
+	protected void processViews( double[] input, DMatrix leftPoint, DMatrix rightView ) {
+		workspace.reserve(largestCameraSize);
 		for (int viewIndex = 0; viewIndex < structure.views.size; viewIndex++) {
-			SceneStructureProjective.View view = structure.views.data[viewIndex];
-			SceneStructureCommon.Camera camera = structure.cameras.data[view.camera];
-			int cameraParamStartIndex = cameraParameterIndexes[view.camera];
+			processView(workspace, input, viewIndex, leftPoint, rightView);
+		}
+	}
 
-			if (!view.known) {
-				int paramIndex = viewParameterIndexes[viewIndex] + indexFirstView;
-				for (int i = 0; i < 12; i++) {
-					worldToView.data[i] = input[paramIndex++];
-				}
+	/**
+	 * Computes the Jacobian for all observations in a single view. Only rows which belong to the view's observations
+	 * are modified.
+	 *
+	 * @param ws Workspace. Must be large enough for the largest camera, see {@link Workspace#reserve}.
+	 * @param input Input parameters describing the current state of the optimization
+	 * @param viewIndex Index of the view being processed
+	 * @param leftPoint Storage for left Jacobian
+	 * @param rightView Storage for right Jacobian
+	 */
+	protected void processView( Workspace ws, double[] input, int viewIndex, DMatrix leftPoint, DMatrix rightView ) {
+		SceneStructureProjective.View view = structure.views.data[viewIndex];
+		SceneStructureCommon.Camera camera = structure.cameras.data[view.camera];
+		int cameraParamStartIndex = cameraParameterIndexes[view.camera];
+
+		DMatrixRMaj worldToView = ws.worldToView;
+		Point4D_F64 worldPt = ws.worldPt;
+		Point3D_F64 pixelH = ws.pixelH;
+		double[] chainRuleX = ws.chainRuleX;
+		double[] chainRuleY = ws.chainRuleY;
+
+		if (!view.known) {
+			int paramIndex = viewParameterIndexes[viewIndex] + indexFirstView;
+			for (int i = 0; i < 12; i++) {
+				worldToView.data[i] = input[paramIndex++];
+			}
+		} else {
+			worldToView.setTo(view.worldToView);
+		}
+
+		if (!structure.isHomogenous()) {
+			worldPt.w = 1;
+		}
+
+		SceneObservations.View obsView = observations.views.data[viewIndex];
+
+		int observationIndex = viewFirstObservation[viewIndex];
+		for (int i = 0; i < obsView.size(); i++) {
+			int featureIndex = obsView.point.get(i);
+			int columnOfPointInJac = featureIndex*lengthPoint;
+
+			worldPt.x = input[columnOfPointInJac];
+			worldPt.y = input[columnOfPointInJac + 1];
+			worldPt.z = input[columnOfPointInJac + 2];
+			if (structure.isHomogenous()) {
+				worldPt.w = input[columnOfPointInJac + 3];
+			}
+
+			// X' = P*X
+			PerspectiveOps.renderPixel(worldToView, worldPt, pixelH);
+
+			if (view.known) {
+				if (structure.isHomogenous())
+					partialCameraMatrixH(worldPt.x, worldPt.y, worldPt.z, worldPt.w,
+							worldToView, ws.worldGradX, ws.worldGradY, ws.worldGradZ, null, null, null);
+				else
+					partialCameraMatrix(worldPt.x, worldPt.y, worldPt.z,
+							worldToView, ws.worldGradX, ws.worldGradY, ws.worldGradZ, null, null, null);
 			} else {
-				worldToView.setTo(view.worldToView);
+				if (structure.isHomogenous())
+					partialCameraMatrixH(worldPt.x, worldPt.y, worldPt.z, worldPt.w, worldToView,
+							ws.worldGradX, ws.worldGradY, ws.worldGradZ, ws.camGradX, ws.camGradY, ws.camGradZ);
+				else
+					partialCameraMatrix(worldPt.x, worldPt.y, worldPt.z, worldToView,
+							ws.worldGradX, ws.worldGradY, ws.worldGradZ, ws.camGradX, ws.camGradY, ws.camGradZ);
 			}
 
-			SceneObservations.View obsView = observations.views.data[viewIndex];
+			ws.jacRowX = observationIndex*2;
+			ws.jacRowY = ws.jacRowX + 1;
 
-			for (int i = 0; i < obsView.size(); i++) {
-				int featureIndex = obsView.point.get(i);
-				int columnOfPointInJac = featureIndex*lengthPoint;
+			//============ Partial of camera parameters
+			double[] pixelhGradX = ws.pixelhGradX;
+			double[] pixelhGradY = ws.pixelhGradY;
+			if (!camera.known) {
+				int N = camera.model.getIntrinsicCount();
+				camera.model.jacobian(pixelH.x, pixelH.y, pixelH.z,
+						pixelhGradX, pixelhGradY, true, ws.intrGradX, ws.intrGradY);
 
-				worldPt.x = input[columnOfPointInJac];
-				worldPt.y = input[columnOfPointInJac + 1];
-				worldPt.z = input[columnOfPointInJac + 2];
-				if (structure.isHomogenous()) {
-					worldPt.w = input[columnOfPointInJac + 3];
-				}
+				int location = indexLastView - indexFirstView + cameraParamStartIndex;
 
-				// X' = P*X
-				PerspectiveOps.renderPixel(worldToView, worldPt, pixelH);
-
-				if (view.known) {
-					if (structure.isHomogenous())
-						partialCameraMatrixH(worldPt.x, worldPt.y, worldPt.z, worldPt.w,
-								worldToView, worldGradX, worldGradY, worldGradZ, null, null, null);
-					else
-						partialCameraMatrix(worldPt.x, worldPt.y, worldPt.z,
-								worldToView, worldGradX, worldGradY, worldGradZ, null, null, null);
-				} else {
-					if (structure.isHomogenous())
-						partialCameraMatrixH(worldPt.x, worldPt.y, worldPt.z, worldPt.w,
-								worldToView, worldGradX, worldGradY, worldGradZ, camGradX, camGradY, camGradZ);
-					else
-						partialCameraMatrix(worldPt.x, worldPt.y, worldPt.z,
-								worldToView, worldGradX, worldGradY, worldGradZ, camGradX, camGradY, camGradZ);
+				// partial of residual (pixel) w.r.t. intrinsic camera parameters
+				for (int j = 0; j < N; j++) {
+					set(rightView, ws.jacRowX, location + j, ws.intrGradX[j]);
+					set(rightView, ws.jacRowY, location + j, ws.intrGradY[j]);
 				}
+			} else {
+				camera.model.jacobian(pixelH.x, pixelH.y, pixelH.z, pixelhGradX, pixelhGradY,
+						false, null, null);
+			}
 
-				jacRowX = observationIndex*2;
-				jacRowY = jacRowX + 1;
-
-				//============ Partial of camera parameters
-				if (!camera.known) {
-					int N = camera.model.getIntrinsicCount();
-					camera.model.jacobian(pixelH.x, pixelH.y, pixelH.z,
-							pixelhGradX, pixelhGradY, true, intrGradX, intrGradY);
-
-					int location = indexLastView - indexFirstView + cameraParamStartIndex;
-
-					// partial of residual (pixel) w.r.t. intrinsic camera parameters
-					for (int j = 0; j < N; j++) {
-						set(rightView, jacRowX, location + j, intrGradX[j]);
-						set(rightView, jacRowY, location + j, intrGradY[j]);
-					}
-				} else {
-					camera.model.jacobian(pixelH.x, pixelH.y, pixelH.z, pixelhGradX, pixelhGradY,
-							false, null, null);
-				}
+			//============ Partial of worldPt
+			// partial of residual (pixel) w.r.t. world point X
+			double[] worldGradX = ws.worldGradX, worldGradY = ws.worldGradY, worldGradZ = ws.worldGradZ;
+			for (int j = 0; j < lengthPoint; j++) {
+				chainRuleX[j] = pixelhGradX[0]*worldGradX[j] + pixelhGradX[1]*worldGradY[j] + pixelhGradX[2]*worldGradZ[j];
+				chainRuleY[j] = pixelhGradY[0]*worldGradX[j] + pixelhGradY[1]*worldGradY[j] + pixelhGradY[2]*worldGradZ[j];
+			}
+			addToJacobian(ws, leftPoint, columnOfPointInJac, lengthPoint, chainRuleX, chainRuleY);
 
-				//============ Partial of worldPt
-				// partial of residual (pixel) w.r.t. world point X
-				for (int j = 0; j < lengthPoint; j++) {
-					chainRuleX[j] = pixelhGradX[0]*worldGradX[j] + pixelhGradX[1]*worldGradY[j] + pixelhGradX[2]*worldGradZ[j];
-					chainRuleY[j] = pixelhGradY[0]*worldGradX[j] + pixelhGradY[1]*worldGradY[j] + pixelhGradY[2]*worldGradZ[j];
-				}
-				addToJacobian(leftPoint, columnOfPointInJac, lengthPoint, chainRuleX, chainRuleY);
-
-				if (!view.known) {
-					// partial of residual (pixel) w.r.t. camera matrix P
-					for (int j = 0; j < 12; j++) {
-						chainRuleX[j] = pixelhGradX[0]*camGradX[j] + pixelhGradX[1]*camGradY[j] + pixelhGradX[2]*camGradZ[j];
-						chainRuleY[j] = pixelhGradY[0]*camGradX[j] + pixelhGradY[1]*camGradY[j] + pixelhGradY[2]*camGradZ[j];
-					}
-
-					// partial of x' = (1/z)*P*X with respect to P is a 2 by 12 matrix
-					int col = viewParameterIndexes[viewIndex];
-					addToJacobian(rightView, col, 12, chainRuleX, chainRuleY);
+			if (!view.known) {
+				// partial of residual (pixel) w.r.t. camera matrix P
+				double[] camGradX = ws.camGradX, camGradY = ws.camGradY, camGradZ = ws.camGradZ;
+				for (int j = 0; j < 12; j++) {
+					chainRuleX[j] = pixelhGradX[0]*camGradX[j] + pixelhGradX[1]*camGradY[j] + pixelhGradX[2]*camGradZ[j];
+					chainRuleY[j] = pixelhGradY[0]*camGradX[j] + pixelhGradY[1]*camGradY[j] + pixelhGradY[2]*camGradZ[j];
 				}
 
-				observationIndex++;
+				// partial of x' = (1/z)*P*X with respect to P is a 2 by 12 matrix
+				int col = viewParameterIndexes[viewIndex];
+				addToJacobian(ws, rightView, col, 12, chainRuleX, chainRuleY);
 			}
+
+			observationIndex++;
 		}
 	}
 
@@ -330,10 +352,10 @@ public abstract class BundleAdjustmentProjectiveSchurJacobian<M extends DMatrix>
 		camGradZ[8] = X; camGradZ[9] = Y; camGradZ[10] = Z; camGradZ[11] = W;
 	}
 
-	private void addToJacobian( DMatrix triplet, int col, int length, double[] a, double[] b ) {
+	private void addToJacobian( Workspace ws, DMatrix triplet, int col, int length, double[] a, double[] b ) {
 		for (int i = 0; i < length; i++) {
-			set(triplet, jacRowX, col + i, a[i]);
-			set(triplet, jacRowY, col + i, b[i]);
+			set(triplet, ws.jacRowX, col + i, a[i]);
+			set(triplet, ws.jacRowY, col + i, b[i]);
 		}
 	}
 
@@ -341,4 +363,45 @@ public abstract class BundleAdjustmentProjectiveSchurJacobian<M extends DMatrix>
 	 * Abstract interface for settings the value of a matrix without knowing the type of matrix
 	 */
 	protected abstract void set( DMatrix matrix, int row, int col, double value );
+
+	/**
+	 * Storage for intermediate results while processing a view. Each thread needs its own instance.
+	 */
+	protected static class Workspace {
+		// work space for jacobian
+		final DMatrixRMaj worldToView = new DMatrixRMaj(3, 4);
+
+		// feature location in world coordinates
+		final Point4D_F64 worldPt = new Point4D_F64();
+
+		// Observed pixel in homogenous coordinates. X'=P*X
+		final Point3D_F64 pixelH = new Point3D_F64();
+
+		// Jacobian matrix index of x and y partial
+		int jacRowX, jacRowY;
+
+		// Storage for gradients
+		final double[] worldGradX = new double[4];  // pixel homogeneous partial to world point homogeneous
+		final double[] worldGradY = new double[4];
+		final double[] worldGradZ = new double[4];
+		final double[] camGradX = new double[12];   // pixel homogeneous partial to camera matrix
+		final double[] camGradY = new double[12];
+		final double[] camGradZ = new double[12];
+		final double[] pixelhGradX = new double[3]; // 2D pixel partial to pixel homogeneous
+		final double[] pixelhGradY = new double[3];
+		double[] intrGradX = new double[0];         // 2D pixel partial to intrinsic camera parameters
+		double[] intrGradY = new double[0];
+		final double[] chainRuleX = new double[12]; // Storage for partial computed using chain rule
+		final double[] chainRuleY = new double[12];
+
+		/**
+		 * Ensures there's enough storage for the gradient of a camera's intrinsic parameters
+		 */
+		public void reserve( int largestCameraSize ) {
+			if (intrGradX.length >= largestCameraSize)
+				return;
+			intrGradX = new double[largestCameraSize];
+			intrGradY = new double[largestCameraSize];
+		}
+	}
 }
@@ -21,7 +21,6 @@ package boofcv.alg.geo.bundle.cameras;
 import boofcv.abst.geo.bundle.BundleAdjustmentCamera;
 import boofcv.struct.calib.CameraUniversalOmni;
 import georegression.struct.point.Point2D_F64;
-import org.ejml.data.DMatrix3x3;
 import org.ejml.data.DMatrixRMaj;
 import org.jetbrains.annotations.Nullable;
 
@@ -52,9 +51,6 @@ public class BundleUniversalOmni implements BundleAdjustmentCamera {
 	// the mirror parameter will not be changed during optimization
 	public boolean fixedMirror;
 
-	// Storage for unit spherical Jacobian
-	DMatrix3x3 jacSp = new DMatrix3x3();
-
 	public BundleUniversalOmni( boolean zeroSkew,
 								int numRadial, boolean includeTangential, boolean fixedMirror ) {
 		this.radial = new double[numRadial];
@@ -207,16 +203,16 @@ public class BundleUniversalOmni implements BundleAdjustmentCamera {
 		double n = Math.sqrt(n2);
 		double X = camX/n, Y = camY/n, Z = camZ/n;
 
-		// Compute unit spherical Jacobian
-		jacSp.a11 = -camX*X/n2 + 1.0/n;
-		jacSp.a12 = -camY*X/n2;
-		jacSp.a13 = -camZ*X/n2;
-		jacSp.a21 = -camX*Y/n2;
-		jacSp.a22 = -camY*Y/n2 + 1.0/n;
-		jacSp.a23 = -camZ*Y/n2;
-		jacSp.a31 = -camX*Z/n2;
-		jacSp.a32 = -camY*Z/n2;
-		jacSp.a33 = -camZ*Z/n2 + 1.0/n;
+		// Compute unit spherical Jacobian. Local variables are used so that this function is thread safe
+		double sp11 = -camX*X/n2 + 1.0/n;
+		double sp12 = -camY*X/n2;
+		double sp13 = -camZ*X/n2;
+		double sp21 = -camX*Y/n2;
+		double sp22 = -camY*Y/n2 + 1.0/n;
+		double sp23 = -camZ*Y/n2;
+		double sp31 = -camX*Z/n2;
+		double sp32 = -camY*Z/n2;
+		double sp33 = -camZ*Z/n2 + 1.0/n;
 
 		// compute Jacobian for the camera model given the unit spherical coordinates
 		Z += mirrorOffset;
@@ -267,18 +263,18 @@ public class BundleUniversalOmni implements BundleAdjustmentCamera {
 		}
 
 		// Apply chain rule to compute final output
-		double fooX = xdot_X*jacSp.a11 + xdot_Y*jacSp.a12 + xdot_Z*jacSp.a13;
-		double fooY = ydot_X*jacSp.a11 + ydot_Y*jacSp.a12 + ydot_Z*jacSp.a13;
+		double fooX = xdot_X*sp11 + xdot_Y*sp12 + xdot_Z*sp13;
+		double fooY = ydot_X*sp11 + ydot_Y*sp12 + ydot_Z*sp13;
 		inputX[0] = fx*fooX + skew*fooY;
 		inputY[0] = fy*fooY;
 
-		fooX = xdot_X*jacSp.a21 + xdot_Y*jacSp.a22 + xdot_Z*jacSp.a23;
-		fooY = ydot_X*jacSp.a21 + ydot_Y*jacSp.a22 + ydot_Z*jacSp.a23;
+		fooX = xdot_X*sp21 + xdot_Y*sp22 + xdot_Z*sp23;
+		fooY = ydot_X*sp21 + ydot_Y*sp22 + ydot_Z*sp23;
 		inputX[1] = fx*fooX + skew*fooY;
 		inputY[1] = fy*fooY;
 
-		fooX = xdot_X*jacSp.a31 + xdot_Y*jacSp.a32 + xdot_Z*jacSp.a33;
-		fooY = ydot_X*jacSp.a31 + ydot_Y*jacSp.a32 + ydot_Z*jacSp.a33;
+		fooX = xdot_X*sp31 + xdot_Y*sp32 + xdot_Z*sp33;
+		fooY = ydot_X*sp31 + ydot_Y*sp32 + ydot_Z*sp33;
 		inputX[2] = fx*fooX + skew*fooY;
 		inputY[2] = fy*fooY;
 
@@ -18,6 +18,7 @@
 
 package boofcv.factory.geo;
 
+import boofcv.concurrency.BoofConcurrency;
 import org.ddogleg.optimization.lm.ConfigLevenbergMarquardt;
 
 /**
@@ -35,8 +36,15 @@ public class ConfigBundleAdjustment {
 	 */
 	public Object configOptimizer = new ConfigLevenbergMarquardt();
 
+	/**
+	 * If true then the residuals and Jacobian are computed using multiple threads, with the views split between
+	 * the threads. By default this is set to the value of {@link BoofConcurrency#USE_CONCURRENT}.
+	 */
+	public boolean concurrent = BoofConcurrency.USE_CONCURRENT;
+
 	public void setTo( ConfigBundleAdjustment src ) {
 		// it should copy / overwrite but that isn'y possible/easy. So this is the compromise
 		this.configOptimizer = src.configOptimizer;
+		this.concurrent = src.concurrent;
 	}
 }
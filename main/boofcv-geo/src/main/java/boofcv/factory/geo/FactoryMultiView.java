@@ -92,10 +92,17 @@ public class FactoryMultiView {
 		else
 			minimizer = FactoryOptimizationSparse.levenbergMarquardtSchur((ConfigLevenbergMarquardt)config.configOptimizer);
 
-		return new BundleAdjustmentSchur_DSCC<>(minimizer,
-				new BundleAdjustmentMetricResidualFunction(),
-				new BundleAdjustmentMetricSchurJacobian_DSCC(),
-				new CodecSceneStructureMetric());
+		BundleAdjustmentMetricResidualFunction residuals;
+		BundleAdjustmentMetricSchurJacobian_DSCC jacobian;
+		if (config.concurrent) {
+			residuals = new BundleAdjustmentMetricResidualFunction_MT();
+			jacobian = new BundleAdjustmentMetricSchurJacobian_DSCC_MT();
+		} else {
+			residuals = new BundleAdjustmentMetricResidualFunction();
+			jacobian = new BundleAdjustmentMetricSchurJacobian_DSCC();
+		}
+
+		return new BundleAdjustmentSchur_DSCC<>(minimizer, residuals, jacobian, new CodecSceneStructureMetric());
 	}
 
 	/**
@@ -116,10 +123,17 @@ public class FactoryMultiView {
 		else
 			minimizer = FactoryOptimizationSparse.levenbergMarquardtSchur((ConfigLevenbergMarquardt)config.configOptimizer);
 
-		return new BundleAdjustmentSchur_DSCC<>(minimizer,
-				new BundleAdjustmentProjectiveResidualFunction(),
-				new BundleAdjustmentProjectiveSchurJacobian_DSCC(),
-				new CodecSceneStructureProjective());
+		BundleAdjustmentProjectiveResidualFunction residuals;
+		BundleAdjustmentProjectiveSchurJacobian_DSCC jacobian;
+		if (config.concurrent) {
+			residuals = new BundleAdjustmentProjectiveResidualFunction_MT();
+			jacobian = new BundleAdjustmentProjectiveSchurJacobian_DSCC_MT();
+		} else {
+			residuals = new BundleAdjustmentProjectiveResidualFunction();
+			jacobian = new BundleAdjustmentProjectiveSchurJacobian_DSCC();
+		}
+
+		return new BundleAdjustmentSchur_DSCC<>(minimizer, residuals, jacobian, new CodecSceneStructureProjective());
 	}
 
 	/**
@@ -142,10 +156,17 @@ public class FactoryMultiView {
 		else
 			minimizer = FactoryOptimization.levenbergMarquardtSchur(robust, (ConfigLevenbergMarquardt)config.configOptimizer);
 
-		return new BundleAdjustmentSchur_DDRM<>(minimizer,
-				new BundleAdjustmentMetricResidualFunction(),
-				new BundleAdjustmentMetricSchurJacobian_DDRM(),
-				new CodecSceneStructureMetric());
+		BundleAdjustmentMetricResidualFunction residuals;
+		BundleAdjustmentMetricSchurJacobian_DDRM jacobian;
+		if (config.concurrent) {
+			residuals = new BundleAdjustmentMetricResidualFunction_MT();
+			jacobian = new BundleAdjustmentMetricSchurJacobian_DDRM_MT();
+		} else {
+			residuals = new BundleAdjustmentMetricResidualFunction();
+			jacobian = new BundleAdjustmentMetricSchurJacobian_DDRM();
+		}
+
+		return new BundleAdjustmentSchur_DDRM<>(minimizer, residuals, jacobian, new CodecSceneStructureMetric());
 	}
 
 	/**
@@ -168,10 +189,17 @@ public class FactoryMultiView {
 		else
 			minimizer = FactoryOptimization.levenbergMarquardtSchur(robust, (ConfigLevenbergMarquardt)config.configOptimizer);
 
-		return new BundleAdjustmentSchur_DDRM<>(minimizer,
-				new BundleAdjustmentProjectiveResidualFunction(),
-				new BundleAdjustmentProjectiveSchurJacobian_DDRM(),
-				new CodecSceneStructureProjective());
+		BundleAdjustmentProjectiveResidualFunction residuals;
+		BundleAdjustmentProjectiveSchurJacobian_DDRM jacobian;
+		if (config.concurrent) {
+			residuals = new BundleAdjustmentProjectiveResidualFunction_MT();
+			jacobian = new BundleAdjustmentProjectiveSchurJacobian_DDRM_MT();
+		} else {
+			residuals = new BundleAdjustmentProjectiveResidualFunction();
+			jacobian = new BundleAdjustmentProjectiveSchurJacobian_DDRM();
+		}
+
+		return new BundleAdjustmentSchur_DDRM<>(minimizer, residuals, jacobian, new CodecSceneStructureProjective());
 	}
 
 	/**
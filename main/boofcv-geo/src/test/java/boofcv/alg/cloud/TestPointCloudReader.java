@@ -105,6 +105,20 @@ class TestPointCloudReader extends BoofStandardJUnit {
 		}
 	}
 
+	@Nested
+	public class CheckCloudArraysF32 extends ReaderTests {
+		@Override
+		public PointCloudReader createReader(List<Point3dRgbI_F64> points) {
+			var cloud = new PointCloudWriter.CloudArraysF32();
+			cloud.init(points.size());
+			for (int i = 0; i < points.size(); i++) {
+				var p = points.get(i);
+				cloud.add(p.x, p.y, p.z, p.rgb);
+			}
+			return cloud;
+		}
+	}
+
 	@Nested
 	public class CheckWrapF32 extends ReaderTests {
 		@Override
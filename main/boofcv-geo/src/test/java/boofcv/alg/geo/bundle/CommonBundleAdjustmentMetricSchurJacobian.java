@@ -187,6 +187,19 @@ public abstract class CommonBundleAdjustmentMetricSchurJacobian<M extends DMatri
 		assertTrue(DerivativeChecker.jacobian(func, jac, param, 100*UtilEjml.TEST_F64_SQ));
 	}
 
+	/**
+	 * Checks to see if the two matrices have identical shapes and values. Works for dense and sparse matrices.
+	 */
+	static void assertIdentical( DMatrix expected, DMatrix found ) {
+		assertEquals(expected.getNumRows(), found.getNumRows());
+		assertEquals(expected.getNumCols(), found.getNumCols());
+		for (int row = 0; row < expected.getNumRows(); row++) {
+			for (int col = 0; col < expected.getNumCols(); col++) {
+				assertEquals(expected.get(row, col), found.get(row, col), "row=" + row + " col=" + col);
+			}
+		}
+	}
+
 	/**
 	 * Create a scene where a "stereo" camera is created that moves. The right to left transform is fixed and common
 	 * across all views
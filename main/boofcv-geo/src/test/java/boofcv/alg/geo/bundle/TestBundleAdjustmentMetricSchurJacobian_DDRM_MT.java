@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.geo.bundle;
+
+import boofcv.abst.geo.bundle.SceneObservations;
+import boofcv.abst.geo.bundle.SceneStructureMetric;
+import org.ddogleg.optimization.wrap.SchurJacobian_to_NtoMxN;
+import org.ejml.data.DMatrixRMaj;
+import org.junit.jupiter.api.Test;
+
+import static boofcv.alg.geo.bundle.TestBundleAdjustmentMetricResidualFunction.createObservations;
+import static boofcv.alg.geo.bundle.TestCodecSceneStructureMetric.createScene;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBundleAdjustmentMetricSchurJacobian_DDRM_MT
+		extends CommonBundleAdjustmentMetricSchurJacobian<DMatrixRMaj> {
+
+	@Override
+	protected BundleAdjustmentMetricSchurJacobian<DMatrixRMaj> createAlg() {
+		return new BundleAdjustmentMetricSchurJacobian_DDRM_MT();
+	}
+
+	@Override
+	protected SchurJacobian_to_NtoMxN<DMatrixRMaj>
+	createJacobian( BundleAdjustmentMetricSchurJacobian<DMatrixRMaj> alg ) {
+		return new SchurJacobian_to_NtoMxN.DDRM(alg);
+	}
+
+	/**
+	 * Each view is written to its own rows so the results should be identical to the single threaded algorithm
+	 */
+	@Test
+	void compareToSingleThread() {
+		for (boolean homogenous : new boolean[]{false, true}) {
+			SceneStructureMetric structure = createScene(rand, homogenous, true, true);
+			SceneObservations observations = createObservations(rand, structure);
+
+			var param = new double[structure.getParameterCount()];
+			new CodecSceneStructureMetric().encode(structure, param);
+
+			var single = new BundleAdjustmentMetricSchurJacobian_DDRM();
+			var alg = new BundleAdjustmentMetricSchurJacobian_DDRM_MT();
+			single.configure(structure, observations);
+			alg.configure(structure, observations);
+
+			var expectedLeft = new DMatrixRMaj(1, 1);
+			var expectedRight = new DMatrixRMaj(1, 1);
+			var foundLeft = new DMatrixRMaj(1, 1);
+			var foundRight = new DMatrixRMaj(1, 1);
+
+			single.process(param, expectedLeft, expectedRight);
+			alg.process(param, foundLeft, foundRight);
+
+			assertIdentical(expectedLeft, foundLeft);
+			assertIdentical(expectedRight, foundRight);
+		}
+	}
+}
@@ -0,0 +1,871 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.geo;
+
+import boofcv.abst.geo.bundle.SceneObservations;
+import boofcv.abst.geo.bundle.SceneStructureCommon;
+import boofcv.abst.geo.bundle.SceneStructureMetric;
+import boofcv.alg.geo.bundle.cameras.BundlePinholeSimplified;
+import boofcv.alg.sfm.structure.PairwiseImageGraph;
+import boofcv.alg.sfm.structure.SceneWorkingGraph;
+import boofcv.misc.BoofMiscOps;
+import boofcv.struct.feature.AssociatedIndex;
+import georegression.struct.se.Se3_F64;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * <p>
+ * Binary encoding for the same data structures as {@link MultiViewIO}, plus {@link SceneObservations}. Intended
+ * for large scenes which need to be saved and restored quickly, e.g. a checkpoint between reconstruction stages.
+ * Primitive arrays are written directly and there is no per element object overhead, making the files much
+ * smaller and faster to process than YAML.
+ * </p>
+ *
+ * <p>
+ * File format: A header with {@link #MAGIC}, {@link #VERSION}, the type of data, and flags. This is followed by the
+ * body, which is optionally compressed using {@link Deflater}. The body contains the number of each type of
+ * element followed by a sequence of chunks. Each chunk starts with a four character tag and the number of
+ * elements in it, which are checked when read. Everything is big endian. Data is streamed through a fixed size
+ * buffer when read or written, so memory usage is only the data structure itself.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MultiViewBinaryIO {
+	/** First four bytes in every file */
+	public static final int MAGIC = tag("BFMV");
+
+	/** Version of the format which is written */
+	public static final int VERSION = 0;
+
+	/** Size of the buffer used to read and write data */
+	public static final int BUFFER_SIZE = 64*1024;
+
+	// Number of bytes in the header: magic, version, type, flags
+	static final int HEADER_BYTES = 13;
+	static final byte FLAG_COMPRESSED = 1;
+
+	// Type of data stored in the file
+	static final int TYPE_PAIRWISE = tag("PWIG");
+	static final int TYPE_SCENE = tag("SSMT");
+	static final int TYPE_WORKING = tag("SWKG");
+	static final int TYPE_OBSERVATIONS = tag("SOBS");
+
+	// Tags for each type of chunk
+	static final int CHUNK_CAMERAS = tag("CAMS");
+	static final int CHUNK_VIEWS = tag("VIEW");
+	static final int CHUNK_MOTIONS = tag("MOTN");
+	static final int CHUNK_RIGIDS = tag("RIGD");
+	static final int CHUNK_POINTS = tag("PNTS");
+	static final int CHUNK_RIGID_VIEWS = tag("RVEW");
+
+	// Supported camera models
+	static final int CAMERA_PINHOLE_SIMPLIFIED = 0;
+
+	public static void save( PairwiseImageGraph graph, String path, boolean compressed ) {
+		save(graph, createFile(path), compressed);
+	}
+
+	/**
+	 * Saves a {@link PairwiseImageGraph} into the channel. The channel is closed when finished.
+	 *
+	 * @param graph (Input) The graph which is to be saved
+	 * @param channel (Output) where the graph is writen to
+	 * @param compressed If true then the data will be compressed
+	 */
+	public static void save( PairwiseImageGraph graph, WritableByteChannel channel, boolean compressed ) {
+		try (BinaryOutput out = BinaryOutput.open(channel, TYPE_PAIRWISE, compressed)) {
+			out.writeInt(graph.nodes.size);
+			out.writeInt(graph.edges.size);
+
+			Map<PairwiseImageGraph.View, Integer> viewToIndex = new IdentityHashMap<>();
+			out.beginChunk(CHUNK_VIEWS, graph.nodes.size);
+			for (int viewIdx = 0; viewIdx < graph.nodes.size; viewIdx++) {
+				PairwiseImageGraph.View pview = graph.nodes.get(viewIdx);
+				viewToIndex.put(pview, viewIdx);
+
+				out.writeString(pview.id);
+				out.writeInt(pview.totalObservations);
+				out.writeInt(pview.connections.size);
+				for (int i = 0; i < pview.connections.size; i++) {
+					out.writeInt(pview.connections.get(i).index);
+				}
+			}
+
+			out.beginChunk(CHUNK_MOTIONS, graph.edges.size);
+			for (int motionIdx = 0; motionIdx < graph.edges.size; motionIdx++) {
+				PairwiseImageGraph.Motion pmotion = graph.edges.get(motionIdx);
+				BoofMiscOps.checkEq(pmotion.index, motionIdx);
+
+				out.writeInt(pmotion.countF);
+				out.writeInt(pmotion.countH);
+				out.writeBoolean(pmotion.is3D);
+				out.writeInt(viewToIndex.get(pmotion.src));
+				out.writeInt(viewToIndex.get(pmotion.dst));
+				out.writeDoubles(pmotion.F.data, 0, 9);
+				out.writeInt(pmotion.inliers.size);
+				for (int i = 0; i < pmotion.inliers.size; i++) {
+					AssociatedIndex a = pmotion.inliers.get(i);
+					out.writeInt(a.src);
+					out.writeInt(a.dst);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public static PairwiseImageGraph load( String path, @Nullable PairwiseImageGraph graph ) {
+		return load(openFile(path), graph);
+	}
+
+	/**
+	 * Decodes a binary encoded {@link PairwiseImageGraph}. The channel is closed when finished.
+	 *
+	 * @param channel (Input) Where the graph is read from
+	 * @param graph (Output) Optional storage for the graph. If null a new instance is created.
+	 * @return The decoded graph
+	 */
+	public static PairwiseImageGraph load( ReadableByteChannel channel, @Nullable PairwiseImageGraph graph ) {
+		if (graph == null)
+			graph = new PairwiseImageGraph();
+		else
+			graph.reset();
+
+		try (BinaryInput in = BinaryInput.open(channel, TYPE_PAIRWISE)) {
+			graph.nodes.resize(in.readInt());
+			graph.edges.resize(in.readInt());
+
+			in.beginChunk(CHUNK_VIEWS, graph.nodes.size);
+			for (int viewIdx = 0; viewIdx < graph.nodes.size; viewIdx++) {
+				PairwiseImageGraph.View v = graph.nodes.get(viewIdx);
+				v.id = in.readString();
+				v.totalObservations = in.readInt();
+
+				int numConnections = in.readInt();
+				v.connections.resize(numConnections);
+				v.connections.reset();
+				for (int i = 0; i < numConnections; i++) {
+					v.connections.add(graph.edges.get(in.readInt()));
+				}
+
+				graph.mapNodes.put(v.id, v);
+			}
+
+			in.beginChunk(CHUNK_MOTIONS, graph.edges.size);
+			for (int motionIdx = 0; motionIdx < graph.edges.size; motionIdx++) {
+				PairwiseImageGraph.Motion m = graph.edges.get(motionIdx);
+				m.countF = in.readInt();
+				m.countH = in.readInt();
+				m.is3D = in.readBoolean();
+				m.src = graph.nodes.get(in.readInt());
+				m.dst = graph.nodes.get(in.readInt());
+				m.index = motionIdx;
+				in.readDoubles(m.F.data, 0, 9);
+				m.inliers.resize(in.readInt());
+				for (int i = 0; i < m.inliers.size; i++) {
+					AssociatedIndex a = m.inliers.get(i);
+					a.src = in.readInt();
+					a.dst = in.readInt();
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return graph;
+	}
+
+	public static void save( SceneStructureMetric scene, String path, boolean compressed ) {
+		save(scene, createFile(path), compressed);
+	}
+
+	/**
+	 * Saves a {@link SceneStructureMetric} into the channel. The channel is closed when finished.
+	 *
+	 * @param scene (Input) The scene
+	 * @param channel (Output) where the scene is writen to
+	 * @param compressed If true then the data will be compressed
+	 */
+	public static void save( SceneStructureMetric scene, WritableByteChannel channel, boolean compressed ) {
+		try (BinaryOutput out = BinaryOutput.open(channel, TYPE_SCENE, compressed)) {
+			out.writeBoolean(scene.isHomogenous());
+			out.writeInt(scene.cameras.size);
+			out.writeInt(scene.views.size);
+			out.writeInt(scene.motions.size);
+			out.writeInt(scene.points.size);
+			out.writeInt(scene.rigids.size);
+
+			out.beginChunk(CHUNK_CAMERAS, scene.cameras.size);
+			for (int i = 0; i < scene.cameras.size; i++) {
+				SceneStructureCommon.Camera c = scene.cameras.get(i);
+				out.writeBoolean(c.known);
+				if (c.model instanceof BundlePinholeSimplified) {
+					var model = (BundlePinholeSimplified)c.model;
+					out.writeInt(CAMERA_PINHOLE_SIMPLIFIED);
+					out.writeDouble(model.f);
+					out.writeDouble(model.k1);
+					out.writeDouble(model.k2);
+				} else {
+					throw new RuntimeException("BundleAdjustmentCamera type not yet supported. " +
+							(c.model == null ? "null" : c.model.getClass().getSimpleName()));
+				}
+			}
+
+			out.beginChunk(CHUNK_VIEWS, scene.views.size);
+			for (int i = 0; i < scene.views.size; i++) {
+				SceneStructureMetric.View v = scene.views.get(i);
+				out.writeInt(v.camera);
+				out.writeInt(v.parent_to_view);
+				out.writeInt(v.parent == null ? -1 : scene.views.indexOf(v.parent));
+			}
+
+			out.beginChunk(CHUNK_MOTIONS, scene.motions.size);
+			for (int i = 0; i < scene.motions.size; i++) {
+				SceneStructureMetric.Motion m = scene.motions.get(i);
+				out.writeBoolean(m.known);
+				out.writeSe3(m.motion);
+			}
+
+			out.beginChunk(CHUNK_RIGIDS, scene.rigids.size);
+			for (int i = 0; i < scene.rigids.size; i++) {
+				SceneStructureMetric.Rigid r = scene.rigids.get(i);
+				out.writeBoolean(r.known);
+				out.writeSe3(r.object_to_world);
+				out.writeInt(r.indexFirst);
+				out.writeInt(r.points.length);
+				for (int j = 0; j < r.points.length; j++) {
+					writeScenePoint(r.points[j], out);
+				}
+			}
+
+			out.beginChunk(CHUNK_POINTS, scene.points.size);
+			for (int i = 0; i < scene.points.size; i++) {
+				writeScenePoint(scene.points.get(i), out);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void writeScenePoint( SceneStructureCommon.Point p, BinaryOutput out ) throws IOException {
+		out.writeDoubles(p.coordinate, 0, p.coordinate.length);
+		out.writeInt(p.views.size);
+		out.writeInts(p.views.data, 0, p.views.size);
+	}
+
+	private static void readScenePoint( BinaryInput in, SceneStructureCommon.Point p ) throws IOException {
+		in.readDoubles(p.coordinate, 0, p.coordinate.length);
+		p.views.resize(in.readInt());
+		in.readInts(p.views.data, 0, p.views.size);
+	}
+
+	public static SceneStructureMetric load( String path, @Nullable SceneStructureMetric scene ) {
+		return load(openFile(path), scene);
+	}
+
+	/**
+	 * Decodes a binary encoded {@link SceneStructureMetric}. The channel is closed when finished.
+	 *
+	 * @param channel (Input) Where the scene is read from
+	 * @param scene (Output) Optional storage for the scene. If null a new instance is created.
+	 * @return The decoded scene
+	 */
+	public static SceneStructureMetric load( ReadableByteChannel channel, @Nullable SceneStructureMetric scene ) {
+		try (BinaryInput in = BinaryInput.open(channel, TYPE_SCENE)) {
+			boolean homogenous = in.readBoolean();
+			int numCameras = in.readInt();
+			int numViews = in.readInt();
+			int numMotions = in.readInt();
+			int numPoints = in.readInt();
+			int numRigids = in.readInt();
+
+			if (scene != null && scene.isHomogenous() != homogenous)
+				scene = null;
+			if (scene == null)
+				scene = new SceneStructureMetric(homogenous);
+			scene.initialize(numCameras, numViews, numMotions, numPoints, numRigids);
+
+			in.beginChunk(CHUNK_CAMERAS, numCameras);
+			for (int i = 0; i < numCameras; i++) {
+				SceneStructureCommon.Camera c = scene.cameras.get(i);
+				c.known = in.readBoolean();
+				int type = in.readInt();
+				if (type != CAMERA_PINHOLE_SIMPLIFIED)
+					throw new IOException("Unknown camera. " + type);
+				var model = new BundlePinholeSimplified();
+				model.f = in.readDouble();
+				model.k1 = in.readDouble();
+				model.k2 = in.readDouble();
+				c.model = model;
+			}
+
+			in.beginChunk(CHUNK_VIEWS, numViews);
+			for (int i = 0; i < numViews; i++) {
+				SceneStructureMetric.View v = scene.views.get(i);
+				v.camera = in.readInt();
+				v.parent_to_view = in.readInt();
+				int parent = in.readInt();
+				v.parent = parent >= 0 ? scene.views.get(parent) : null;
+			}
+
+			in.beginChunk(CHUNK_MOTIONS, numMotions);
+			for (int i = 0; i < numMotions; i++) {
+				SceneStructureMetric.Motion m = scene.motions.grow();
+				m.known = in.readBoolean();
+				in.readSe3(m.motion);
+			}
+
+			in.beginChunk(CHUNK_RIGIDS, numRigids);
+			for (int i = 0; i < numRigids; i++) {
+				SceneStructureMetric.Rigid r = scene.rigids.get(i);
+				r.known = in.readBoolean();
+				in.readSe3(r.object_to_world);
+				r.indexFirst = in.readInt();
+				r.points = new SceneStructureCommon.Point[in.readInt()];
+				for (int j = 0; j < r.points.length; j++) {
+					r.points[j] = new SceneStructureCommon.Point(scene.getPointSize());
+					readScenePoint(in, r.points[j]);
+				}
+			}
+
+			in.beginChunk(CHUNK_POINTS, numPoints);
+			for (int i = 0; i < numPoints; i++) {
+				readScenePoint(in, scene.points.get(i));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return scene;
+	}
+
+	public static void save( SceneWorkingGraph working, String path, boolean compressed ) {
+		save(working, createFile(path), compressed);
+	}
+
+	/**
+	 * Saves a {@link SceneWorkingGraph} into the channel. The channel is closed when finished.
+	 *
+	 * @param working (Input) The graph which is to be saved
+	 * @param channel (Output) where the graph is writen to
+	 * @param compressed If true then the data will be compressed
+	 */
+	public static void save( SceneWorkingGraph working, WritableByteChannel channel, boolean compressed ) {
+		try (BinaryOutput out = BinaryOutput.open(channel, TYPE_WORKING, compressed)) {
+			out.writeInt(working.viewList.size());
+
+			out.beginChunk(CHUNK_VIEWS, working.viewList.size());
+			for (int viewIdx = 0; viewIdx < working.viewList.size(); viewIdx++) {
+				SceneWorkingGraph.View wview = working.viewList.get(viewIdx);
+				out.writeString(wview.pview.id);
+				out.writeDoubles(wview.projective.data, 0, 12);
+				out.writeDouble(wview.intrinsic.f);
+				out.writeDouble(wview.intrinsic.k1);
+				out.writeDouble(wview.intrinsic.k2);
+				out.writeSe3(wview.world_to_view);
+				out.writeInt(wview.imageDimension.width);
+				out.writeInt(wview.imageDimension.height);
+
+				SceneWorkingGraph.InlierInfo inliers = wview.inliers;
+				out.writeInt(inliers.views.size);
+				for (int i = 0; i < inliers.views.size; i++) {
+					out.writeString(inliers.views.get(i).id);
+				}
+				for (int i = 0; i < inliers.views.size; i++) {
+					DogArray_I32 obs = inliers.observations.get(i);
+					out.writeInt(obs.size);
+					out.writeInts(obs.data, 0, obs.size);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public static SceneWorkingGraph load( String path, PairwiseImageGraph pairwise,
+										  @Nullable SceneWorkingGraph working ) {
+		return load(openFile(path), pairwise, working);
+	}
+
+	/**
+	 * Decodes a binary encoded {@link SceneWorkingGraph}. The channel is closed when finished.
+	 *
+	 * @param channel (Input) Where the graph is read from
+	 * @param pairwise (Input) Pairwise graph which is referenced by the SceneWorkingGraph.
+	 * @param working (Output) Optional storage for the working graph. If null a new instance is created.
+	 * @return The decoded graph
+	 */
+	public static SceneWorkingGraph load( ReadableByteChannel channel, PairwiseImageGraph pairwise,
+										  @Nullable SceneWorkingGraph working ) {
+		if (working == null)
+			working = new SceneWorkingGraph();
+		else
+			working.reset();
+
+		try (BinaryInput in = BinaryInput.open(channel, TYPE_WORKING)) {
+			int numViews = in.readInt();
+
+			in.beginChunk(CHUNK_VIEWS, numViews);
+			for (int viewIdx = 0; viewIdx < numViews; viewIdx++) {
+				SceneWorkingGraph.View wview = working.addView(pairwise.lookupNode(in.readString()));
+				in.readDoubles(wview.projective.data, 0, 12);
+				wview.intrinsic.f = in.readDouble();
+				wview.intrinsic.k1 = in.readDouble();
+				wview.intrinsic.k2 = in.readDouble();
+				in.readSe3(wview.world_to_view);
+				wview.imageDimension.width = in.readInt();
+				wview.imageDimension.height = in.readInt();
+
+				SceneWorkingGraph.InlierInfo inliers = wview.inliers;
+				int numInlierViews = in.readInt();
+				inliers.views.resize(numInlierViews);
+				inliers.views.reset();
+				for (int i = 0; i < numInlierViews; i++) {
+					inliers.views.add(pairwise.lookupNode(in.readString()));
+				}
+				inliers.observations.resize(numInlierViews);
+				for (int i = 0; i < numInlierViews; i++) {
+					DogArray_I32 obs = inliers.observations.get(i);
+					obs.resize(in.readInt());
+					in.readInts(obs.data, 0, obs.size);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return working;
+	}
+
+	public static void save( SceneObservations observations, String path, boolean compressed ) {
+		save(observations, createFile(path), compressed);
+	}
+
+	/**
+	 * Saves {@link SceneObservations} into the channel. The channel is closed when finished.
+	 *
+	 * @param observations (Input) Observations of points in each view
+	 * @param channel (Output) where the observations are writen to
+	 * @param compressed If true then the data will be compressed
+	 */
+	public static void save( SceneObservations observations, WritableByteChannel channel, boolean compressed ) {
+		try (BinaryOutput out = BinaryOutput.open(channel, TYPE_OBSERVATIONS, compressed)) {
+			boolean rigid = observations.hasRigid();
+			out.writeInt(observations.views.size);
+			out.writeBoolean(rigid);
+
+			writeObservationViews(observations.views, CHUNK_VIEWS, out);
+			if (rigid)
+				writeObservationViews(observations.viewsRigid, CHUNK_RIGID_VIEWS, out);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void writeObservationViews( DogArray<SceneObservations.View> views, int chunk,
+											   BinaryOutput out ) throws IOException {
+		out.beginChunk(chunk, views.size);
+		for (int i = 0; i < views.size; i++) {
+			SceneObservations.View v = views.get(i);
+			out.writeInt(v.point.size);
+			out.writeInts(v.point.data, 0, v.point.size);
+			out.writeFloats(v.observations.data, 0, v.point.size*2);
+		}
+	}
+
+	private static void readObservationViews( BinaryInput in, int chunk,
+											  DogArray<SceneObservations.View> views ) throws IOException {
+		in.beginChunk(chunk, views.size);
+		for (int i = 0; i < views.size; i++) {
+			SceneObservations.View v = views.get(i);
+			v.point.resize(in.readInt());
+			v.observations.resize(v.point.size*2);
+			in.readInts(v.point.data, 0, v.point.size);
+			in.readFloats(v.observations.data, 0, v.observations.size);
+		}
+	}
+
+	public static SceneObservations load( String path, @Nullable SceneObservations observations ) {
+		return load(openFile(path), observations);
+	}
+
+	/**
+	 * Decodes binary encoded {@link SceneObservations}. The channel is closed when finished.
+	 *
+	 * @param channel (Input) Where the observations are read from
+	 * @param observations (Output) Optional storage for the observations. If null a new instance is created.
+	 * @return The decoded observations
+	 */
+	public static SceneObservations load( ReadableByteChannel channel, @Nullable SceneObservations observations ) {
+		if (observations == null)
+			observations = new SceneObservations();
+
+		try (BinaryInput in = BinaryInput.open(channel, TYPE_OBSERVATIONS)) {
+			int numViews = in.readInt();
+			boolean rigid = in.readBoolean();
+
+			observations.initialize(numViews, rigid);
+			if (!rigid)
+				observations.viewsRigid.reset();
+
+			readObservationViews(in, CHUNK_VIEWS, observations.views);
+			if (rigid)
+				readObservationViews(in, CHUNK_RIGID_VIEWS, observations.viewsRigid);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return observations;
+	}
+
+	private static WritableByteChannel createFile( String path ) {
+		try {
+			return FileChannel.open(Paths.get(path), CREATE, WRITE, TRUNCATE_EXISTING);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static ReadableByteChannel openFile( String path ) {
+		try {
+			return FileChannel.open(Paths.get(path), READ);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Converts a four character string into an int
+	 */
+	static int tag( String text ) {
+		BoofMiscOps.checkEq(4, text.length());
+		return (text.charAt(0) << 24) | (text.charAt(1) << 16) | (text.charAt(2) << 8) | text.charAt(3);
+	}
+
+	static String tagToString( int tag ) {
+		return new String(new char[]{(char)(tag >>> 24), (char)((tag >> 16) & 0xFF),
+				(char)((tag >> 8) & 0xFF), (char)(tag & 0xFF)});
+	}
+
+	/**
+	 * Writes primitive values into a channel through a fixed size buffer
+	 */
+	static class BinaryOutput implements Closeable {
+		final WritableByteChannel channel;
+		final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		// Deflater used to compress the data. null if not compressed
+		final @Nullable Deflater deflater;
+
+		BinaryOutput( WritableByteChannel channel, @Nullable Deflater deflater ) {
+			this.channel = channel;
+			this.deflater = deflater;
+		}
+
+		/**
+		 * Writes the header then returns the output for the body
+		 */
+		static BinaryOutput open( WritableByteChannel channel, int type, boolean compressed ) throws IOException {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+			header.putInt(MAGIC).putInt(VERSION).putInt(type).put(compressed ? FLAG_COMPRESSED : 0);
+			header.flip();
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+
+			if (!compressed)
+				return new BinaryOutput(channel, null);
+
+			var deflater = new Deflater(Deflater.BEST_SPEED);
+			var stream = new DeflaterOutputStream(Channels.newOutputStream(channel), deflater, BUFFER_SIZE);
+			return new BinaryOutput(Channels.newChannel(stream), deflater);
+		}
+
+		void beginChunk( int tag, int count ) throws IOException {
+			writeInt(tag);
+			writeInt(count);
+		}
+
+		/**
+		 * Makes sure there's enough space in the buffer to write the specified number of bytes
+		 */
+		void ensure( int bytes ) throws IOException {
+			if (buffer.remaining() < bytes)
+				flush();
+		}
+
+		void flush() throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+
+		void writeBoolean( boolean value ) throws IOException {
+			ensure(1);
+			buffer.put(value ? (byte)1 : (byte)0);
+		}
+
+		void writeInt( int value ) throws IOException {
+			ensure(4);
+			buffer.putInt(value);
+		}
+
+		void writeDouble( double value ) throws IOException {
+			ensure(8);
+			buffer.putDouble(value);
+		}
+
+		void writeString( String text ) throws IOException {
+			byte[] bytes = text.getBytes(UTF_8);
+			writeInt(bytes.length);
+			int offset = 0;
+			while (offset < bytes.length) {
+				ensure(1);
+				int length = Math.min(bytes.length - offset, buffer.remaining());
+				buffer.put(bytes, offset, length);
+				offset += length;
+			}
+		}
+
+		void writeInts( int[] src, int offset, int length ) throws IOException {
+			while (length > 0) {
+				ensure(4);
+				int n = Math.min(length, buffer.remaining()/4);
+				buffer.asIntBuffer().put(src, offset, n);
+				buffer.position(buffer.position() + n*4);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void writeFloats( float[] src, int offset, int length ) throws IOException {
+			while (length > 0) {
+				ensure(4);
+				int n = Math.min(length, buffer.remaining()/4);
+				buffer.asFloatBuffer().put(src, offset, n);
+				buffer.position(buffer.position() + n*4);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void writeDoubles( double[] src, int offset, int length ) throws IOException {
+			while (length > 0) {
+				ensure(8);
+				int n = Math.min(length, buffer.remaining()/8);
+				buffer.asDoubleBuffer().put(src, offset, n);
+				buffer.position(buffer.position() + n*8);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void writeSe3( Se3_F64 m ) throws IOException {
+			writeDoubles(m.R.data, 0, 9);
+			writeDouble(m.T.x);
+			writeDouble(m.T.y);
+			writeDouble(m.T.z);
+		}
+
+		@Override public void close() throws IOException {
+			try {
+				flush();
+				channel.close();
+			} finally {
+				if (deflater != null)
+					deflater.end();
+			}
+		}
+	}
+
+	/**
+	 * Reads primitive values from a channel through a fixed size buffer. Data is read from the channel only as
+	 * it's needed.
+	 */
+	static class BinaryInput implements Closeable {
+		final ReadableByteChannel channel;
+		final ByteBuffer buffer;
+		// Inflater used to decompress the data. null if not compressed
+		final @Nullable Inflater inflater;
+
+		BinaryInput( ReadableByteChannel channel, int bufferSize, @Nullable Inflater inflater ) {
+			this.channel = channel;
+			this.buffer = ByteBuffer.allocate(bufferSize);
+			this.buffer.limit(0);
+			this.inflater = inflater;
+		}
+
+		/**
+		 * Reads and checks the header then returns the input for the body
+		 */
+		static BinaryInput open( ReadableByteChannel channel, int expectedType ) throws IOException {
+			// Only the header is read from the channel here since the body might be compressed
+			var header = new BinaryInput(channel, HEADER_BYTES, null);
+			try {
+				if (header.readInt() != MAGIC)
+					throw new IOException("Not a multiview binary file. Bad magic number");
+				int version = header.readInt();
+				if (version > VERSION)
+					throw new IOException("Unsupported version " + version);
+				int type = header.readInt();
+				if (type != expectedType)
+					throw new IOException("Expected data type '" + tagToString(expectedType) +
+							"' but found '" + tagToString(type) + "'");
+				boolean compressed = (header.readByte() & FLAG_COMPRESSED) != 0;
+
+				if (!compressed)
+					return new BinaryInput(channel, BUFFER_SIZE, null);
+
+				var inflater = new Inflater();
+				var stream = new InflaterInputStream(
+						new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE), inflater, BUFFER_SIZE);
+				return new BinaryInput(Channels.newChannel(stream), BUFFER_SIZE, inflater);
+			} catch (IOException e) {
+				channel.close();
+				throw e;
+			}
+		}
+
+		void beginChunk( int tag, int expectedCount ) throws IOException {
+			int found = readInt();
+			if (found != tag)
+				throw new IOException("Expected chunk '" + tagToString(tag) + "' but found '" +
+						tagToString(found) + "'");
+			int count = readInt();
+			if (count != expectedCount)
+				throw new IOException("Chunk '" + tagToString(tag) + "' has " + count +
+						" elements but expected " + expectedCount);
+		}
+
+		/**
+		 * Reads from the channel until there are at least the specified number of bytes in the buffer
+		 */
+		void require( int bytes ) throws IOException {
+			if (buffer.remaining() >= bytes)
+				return;
+			buffer.compact();
+			while (buffer.position() < bytes) {
+				if (channel.read(buffer) < 0)
+					throw new EOFException("Unexpected end of data");
+			}
+			buffer.flip();
+		}
+
+		byte readByte() throws IOException {
+			require(1);
+			return buffer.get();
+		}
+
+		boolean readBoolean() throws IOException {
+			return readByte() != 0;
+		}
+
+		int readInt() throws IOException {
+			require(4);
+			return buffer.getInt();
+		}
+
+		double readDouble() throws IOException {
+			require(8);
+			return buffer.getDouble();
+		}
+
+		String readString() throws IOException {
+			var bytes = new byte[readInt()];
+			int offset = 0;
+			while (offset < bytes.length) {
+				require(1);
+				int length = Math.min(bytes.length - offset, buffer.remaining());
+				buffer.get(bytes, offset, length);
+				offset += length;
+			}
+			return new String(bytes, UTF_8);
+		}
+
+		void readInts( int[] dst, int offset, int length ) throws IOException {
+			while (length > 0) {
+				require(4);
+				int n = Math.min(length, buffer.remaining()/4);
+				buffer.asIntBuffer().get(dst, offset, n);
+				buffer.position(buffer.position() + n*4);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void readFloats( float[] dst, int offset, int length ) throws IOException {
+			while (length > 0) {
+				require(4);
+				int n = Math.min(length, buffer.remaining()/4);
+				buffer.asFloatBuffer().get(dst, offset, n);
+				buffer.position(buffer.position() + n*4);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void readDoubles( double[] dst, int offset, int length ) throws IOException {
+			while (length > 0) {
+				require(8);
+				int n = Math.min(length, buffer.remaining()/8);
+				buffer.asDoubleBuffer().get(dst, offset, n);
+				buffer.position(buffer.position() + n*8);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void readSe3( Se3_F64 m ) throws IOException {
+			readDoubles(m.R.data, 0, 9);
+			m.T.x = readDouble();
+			m.T.y = readDouble();
+			m.T.z = readDouble();
+		}
+
+		@Override public void close() throws IOException {
+			try {
+				channel.close();
+			} finally {
+				if (inflater != null)
+					inflater.end();
+			}
+		}
+	}
+}
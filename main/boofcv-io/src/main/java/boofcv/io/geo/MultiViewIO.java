@@ -46,7 +46,8 @@ import static boofcv.misc.BoofMiscOps.getOrThrow;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
- * For loading and saving data structures related to multiview reconstruction.
+ * For loading and saving data structures related to multiview reconstruction. YAML is used so that it can be
+ * read by people. For large scenes {@link MultiViewBinaryIO} is much faster and produces smaller files.
  *
  * @author Peter Abeles
  */
@@ -32,7 +32,7 @@ import static boofcv.misc.BoofMiscOps.checkEq;
 /**
  * Implementation of {@link LookUpImages} that converts the name into an integer. The integer represents the index
  * of the image in the list of paths provided. It's assumed that all images have the same shape and the first image
- * is loaded to get the shape.
+ * is loaded to get the shape. Thread safe if the {@link LoadImage loader} is thread safe.
  *
  * @author Peter Abeles
  */
@@ -54,14 +54,16 @@ public class LookUpImageFilesByIndex implements LookUpImages {
 		if (index < 0 || index >= paths.size())
 			return false;
 
-		if (dimension.height==-1) {
-			var gray = new GrayU8(1, 1);
-			loader.load(paths.get(0), gray);
-			dimension.width = gray.getWidth();
-			dimension.height = gray.getHeight();
-		}
+		synchronized (dimension) {
+			if (dimension.height==-1) {
+				var gray = new GrayU8(1, 1);
+				loader.load(paths.get(0), gray);
+				dimension.width = gray.getWidth();
+				dimension.height = gray.getHeight();
+			}
 
-		shape.setTo(dimension);
+			shape.setTo(dimension);
+		}
 		return true;
 	}
 
@@ -74,11 +76,13 @@ public class LookUpImageFilesByIndex implements LookUpImages {
 
 		// Validate the assumption that all images are the same size. if this is false then loadShape() is giving
 		// incorrect results
-		if (dimension.width==-1) {
-			dimension.setTo(output.width, output.height);
-		} else {
-			checkEq(dimension.width, output.width);
-			checkEq(dimension.height, output.height);
+		synchronized (dimension) {
+			if (dimension.width==-1) {
+				dimension.setTo(output.width, output.height);
+			} else {
+				checkEq(dimension.width, output.width);
+				checkEq(dimension.height, output.height);
+			}
 		}
 		return true;
 	}
@@ -28,7 +28,7 @@ import lombok.Setter;
 import static boofcv.misc.BoofMiscOps.checkEq;
 
 /**
- * The image ID or name is assumed to the path to the image
+ * The image ID or name is assumed to the path to the image. Thread safe if the loader is thread safe.
  *
  * @author Peter Abeles
  */
@@ -45,14 +45,16 @@ public class LookUpImageFilesByPath implements LookUpImages {
 	}
 
 	@Override public boolean loadShape( String path, ImageDimension shape ) {
-		if (dimension.height==-1) {
-			var gray = new GrayU8(1, 1);
-			loader.load(path, gray);
-			dimension.width = gray.getWidth();
-			dimension.height = gray.getHeight();
-		}
+		synchronized (dimension) {
+			if (dimension.height==-1) {
+				var gray = new GrayU8(1, 1);
+				loader.load(path, gray);
+				dimension.width = gray.getWidth();
+				dimension.height = gray.getHeight();
+			}
 
-		shape.setTo(dimension);
+			shape.setTo(dimension);
+		}
 		return true;
 	}
 
@@ -61,11 +63,13 @@ public class LookUpImageFilesByPath implements LookUpImages {
 
 		// Validate the assumption that all images are the same size. if this is false then loadShape() is giving
 		// incorrect results
-		if (dimension.width==-1) {
-			dimension.setTo(output.width, output.height);
-		} else {
-			checkEq(dimension.width, output.width);
-			checkEq(dimension.height, output.height);
+		synchronized (dimension) {
+			if (dimension.width==-1) {
+				dimension.setTo(output.width, output.height);
+			} else {
+				checkEq(dimension.width, output.width);
+				checkEq(dimension.height, output.height);
+			}
 		}
 		return true;
 	}
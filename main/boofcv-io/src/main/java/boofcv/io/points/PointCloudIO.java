@@ -89,6 +89,18 @@ public class PointCloudIO {
 		return storage;
 	}
 
+	/**
+	 * Loads the cloud into primitive arrays, which doesn't create an object for each point
+	 */
+	public static PointCloudWriter.CloudArraysF32
+	load3DArrays( Format format, InputStream input, @Nullable PointCloudWriter.CloudArraysF32 storage )
+			throws IOException {
+		if (storage == null)
+			storage = new PointCloudWriter.CloudArraysF32();
+		load(format, input, storage);
+		return storage;
+	}
+
 	public static void
 	load(Format format , InputStream input , PointCloudWriter output ) throws IOException {
 		switch( format ) {
@@ -29,6 +29,10 @@ import java.io.OutputStream;
 import java.io.Writer;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -38,6 +42,9 @@ import java.util.List;
  * @author Peter Abeles
  */
 public class PlyCodec {
+	// Size of the buffer used when reading and writing binary data
+	static final int BUFFER_SIZE = 64*1024;
+
 	public static void saveAscii( PointCloudReader cloud, boolean saveRgb, Writer outputWriter ) throws IOException {
 		outputWriter.write("ply\n");
 		outputWriter.write("format ascii 1.0\n");
@@ -81,53 +88,76 @@ public class PlyCodec {
 	 */
 	public static void saveBinary( PointCloudReader cloud, ByteOrder order, boolean saveRgb, boolean saveAsFloat,
 								   OutputStream outputWriter ) throws IOException {
-		String format = "UTF-8";
+		saveBinary(cloud, order, saveRgb, saveAsFloat, Channels.newChannel(outputWriter));
+		outputWriter.flush();
+	}
+
+	/**
+	 * Saves data in binary format. Points are encoded into a buffer which is written once it's full.
+	 *
+	 * @param cloud (Input) Point cloud data
+	 * @param order The byte order of the binary data. ByteOrder.BIG_ENDIAN is recommended
+	 * @param saveRgb if true it will save RGB information
+	 * @param saveAsFloat if true it will save it as a 4-byte float and if false as an 8-byte double
+	 * @param channel Channel it will write to
+	 */
+	public static void saveBinary( PointCloudReader cloud, ByteOrder order, boolean saveRgb, boolean saveAsFloat,
+								   WritableByteChannel channel ) throws IOException {
 		String dataType = saveAsFloat ? "float" : "double";
-		int dataLength = saveAsFloat ? 4 : 8;
-		outputWriter.write("ply\n".getBytes(format));
-		outputWriter.write("format binary_big_endian 1.0\n".getBytes(format));
-		outputWriter.write("comment Created using BoofCV!\n".getBytes(format));
-		outputWriter.write(("element vertex " + cloud.size() + "\n").getBytes(format));
-		outputWriter.write((
+		String formatName = order == ByteOrder.BIG_ENDIAN ? "binary_big_endian" : "binary_little_endian";
+		String header = "ply\n" +
+				"format " + formatName + " 1.0\n" +
+				"comment Created using BoofCV!\n" +
+				"element vertex " + cloud.size() + "\n" +
 				"property " + dataType + " x\n" +
 				"property " + dataType + " y\n" +
-				"property " + dataType + " z\n").getBytes(format));
+				"property " + dataType + " z\n";
 		if (saveRgb) {
-			outputWriter.write(
-					("property uchar red\n" +
-					 "property uchar green\n" +
-					 "property uchar blue\n").getBytes(format));
+			header += "property uchar red\n" +
+					"property uchar green\n" +
+					"property uchar blue\n";
 		}
-		outputWriter.write("end_header\n".getBytes(format));
+		header += "end_header\n";
+		writeFully(channel, ByteBuffer.wrap(header.getBytes(StandardCharsets.UTF_8)));
 
-		int end = dataLength*3;
-		var bytes = ByteBuffer.allocate(dataLength*3 + (saveRgb ? 3 : 0));
+		int dataLength = saveAsFloat ? 4 : 8;
+		int pointBytes = dataLength*3 + (saveRgb ? 3 : 0);
+		var bytes = ByteBuffer.allocate(Math.max(1, BUFFER_SIZE/pointBytes)*pointBytes);
 		bytes.order(order);
 		Point3D_F64 p = new Point3D_F64();
 		for (int i = 0; i < cloud.size(); i++) {
+			if (bytes.remaining() < pointBytes) {
+				bytes.flip();
+				writeFully(channel, bytes);
+				bytes.clear();
+			}
+
 			cloud.get(i, p);
 			if (saveAsFloat) {
-				bytes.putFloat(0, (float)p.x);
-				bytes.putFloat(4, (float)p.y);
-				bytes.putFloat(8, (float)p.z);
+				bytes.putFloat((float)p.x);
+				bytes.putFloat((float)p.y);
+				bytes.putFloat((float)p.z);
 			} else {
-				bytes.putDouble(0, p.x);
-				bytes.putDouble(8, p.y);
-				bytes.putDouble(16, p.z);
+				bytes.putDouble(p.x);
+				bytes.putDouble(p.y);
+				bytes.putDouble(p.z);
 			}
 
 			if (saveRgb) {
 				int rgb = cloud.getRGB(i);
-				int r = (rgb >> 16) & 0xFF;
-				int g = (rgb >> 8) & 0xFF;
-				int b = rgb & 0xFF;
-				bytes.put(end, (byte)r);
-				bytes.put(end + 1, (byte)g);
-				bytes.put(end + 2, (byte)b);
+				bytes.put((byte)(rgb >> 16));
+				bytes.put((byte)(rgb >> 8));
+				bytes.put((byte)rgb);
 			}
-			outputWriter.write(bytes.array());
 		}
-		outputWriter.flush();
+		bytes.flip();
+		writeFully(channel, bytes);
+	}
+
+	private static void writeFully( WritableByteChannel channel, ByteBuffer bytes ) throws IOException {
+		while (bytes.hasRemaining()) {
+			channel.write(bytes);
+		}
 	}
 
 	private static String readNextPly( InputStream reader, boolean failIfNull, StringBuilder buffer ) throws IOException {
@@ -212,8 +242,10 @@ public class PlyCodec {
 
 		switch (format) {
 			case ASCII -> readAscii(output, input, dataWords, buffer, vertexCount, rgb);
-			case BINARY_LITTLE -> readBinary(output, input, dataWords, ByteOrder.LITTLE_ENDIAN, vertexCount, rgb);
-			case BINARY_BIG -> readBinary(output, input, dataWords, ByteOrder.BIG_ENDIAN, vertexCount, rgb);
+			case BINARY_LITTLE -> readBinary(output, Channels.newChannel(input), dataWords,
+					ByteOrder.LITTLE_ENDIAN, vertexCount, rgb);
+			case BINARY_BIG -> readBinary(output, Channels.newChannel(input), dataWords,
+					ByteOrder.BIG_ENDIAN, vertexCount, rgb);
 			default -> throw new RuntimeException("BUG!");
 		}
 	}
@@ -260,17 +292,21 @@ public class PlyCodec {
 		}
 	}
 
-	private static void readBinary( PointCloudWriter output, InputStream reader, List<DataWord> dataWords,
-									ByteOrder order,
-									int vertexCount, boolean rgb ) throws IOException {
+	/**
+	 * Reads the vertexes in large blocks directly from the channel and passes them to the output
+	 */
+	private static void readBinary( PointCloudWriter output, ReadableByteChannel channel, List<DataWord> dataWords,
+									ByteOrder order, int vertexCount, boolean rgb ) throws IOException {
 
-		int totalBytes = 0;
+		int vertexBytes = 0;
 		for (int i = 0; i < dataWords.size(); i++) {
-			totalBytes += dataWords.get(i).data.size;
+			vertexBytes += dataWords.get(i).data.size;
 		}
+		if (vertexBytes == 0)
+			throw new IOException("Vertexes have no properties");
 
-		final byte[] line = new byte[totalBytes];
-		final ByteBuffer bb = ByteBuffer.wrap(line);
+		int verticesPerBlock = Math.max(1, BUFFER_SIZE/vertexBytes);
+		final ByteBuffer bb = ByteBuffer.allocate(verticesPerBlock*vertexBytes);
 		bb.order(order);
 
 		// storage for read in values
@@ -281,42 +317,52 @@ public class PlyCodec {
 		int r = -1, g = -1, b = -1;
 		double x = -1, y = -1, z = -1;
 
-		for (int i = 0; i < vertexCount; i++) {
-			int found = reader.read(line);
-			if (line.length != found)
-				throw new IOException("Read unexpected number of bytes. " + found + " vs " + line.length);
+		int remaining = vertexCount;
+		while (remaining > 0) {
+			int count = Math.min(remaining, verticesPerBlock);
+			remaining -= count;
+
+			// Only read in the vertexes, since other elements could come after them
+			bb.clear();
+			bb.limit(count*vertexBytes);
+			while (bb.hasRemaining()) {
+				if (channel.read(bb) < 0)
+					throw new IOException("Unexpected end of file. Missing " +
+							(bb.remaining() + remaining*vertexBytes) + " bytes");
+			}
 
 			int location = 0;
-
-			for (int j = 0; j < dataWords.size(); j++) {
-				DataWord d = dataWords.get(j);
-				switch (d.data) {
-					case FLOAT -> F64 = bb.getFloat(location);
-					case DOUBLE -> F64 = bb.getDouble(location);
-					case CHAR -> I32 = bb.get(location);
-					case UCHAR -> I32 = bb.get(location) & 0xFF;
-					case SHORT -> I32 = bb.getShort(location);
-					case USHORT -> I32 = bb.getShort(location) & 0xFFFF;
-					case INT -> I32 = bb.getInt(location);
-					case UINT -> I32 = bb.getInt(location); // NOTE: not really uint...
-					default -> throw new RuntimeException("Unsupported");
-				}
-				location += d.data.size;
-				switch( d.var ) {
-					case X: x = F64; break;
-					case Y: y = F64; break;
-					case Z: z = F64; break;
-					case R: r = I32; break;
-					case G: g = I32; break;
-					case B: b = I32; break;
-					default: break;
+			for (int i = 0; i < count; i++) {
+				for (int j = 0; j < dataWords.size(); j++) {
+					DataWord d = dataWords.get(j);
+					switch (d.data) {
+						case FLOAT -> F64 = bb.getFloat(location);
+						case DOUBLE -> F64 = bb.getDouble(location);
+						case CHAR -> I32 = bb.get(location);
+						case UCHAR -> I32 = bb.get(location) & 0xFF;
+						case SHORT -> I32 = bb.getShort(location);
+						case USHORT -> I32 = bb.getShort(location) & 0xFFFF;
+						case INT -> I32 = bb.getInt(location);
+						case UINT -> I32 = bb.getInt(location); // NOTE: not really uint...
+						default -> throw new RuntimeException("Unsupported");
+					}
+					location += d.data.size;
+					switch( d.var ) {
+						case X: x = F64; break;
+						case Y: y = F64; break;
+						case Z: z = F64; break;
+						case R: r = I32; break;
+						case G: g = I32; break;
+						case B: b = I32; break;
+						default: break;
+					}
 				}
-			}
 
-			if (rgb) {
-				output.add(x, y, z, r << 16 | g << 8 | b);
-			} else {
-				output.add(x, y, z);
+				if (rgb) {
+					output.add(x, y, z, r << 16 | g << 8 | b);
+				} else {
+					output.add(x, y, z);
+				}
 			}
 		}
 	}
@@ -23,13 +23,16 @@ import boofcv.io.image.SimpleImageSequence;
 import boofcv.io.wrapper.images.ImageStreamSequence;
 import boofcv.io.wrapper.images.JpegByteImageSequence;
 import boofcv.io.wrapper.images.LoadFileImageSequence;
+import boofcv.io.wrapper.images.MjpegStreamSequence;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.List;
 
@@ -64,10 +67,11 @@ public class DynamicVideoInterface implements VideoInterface {
 		String protocol = url.getProtocol();
 
 		// See if it's a directory and then assume it's an image sequence
+		@Nullable File localFile = null;
 		if (protocol.equals("file")) {
-			File f = new File(url.getFile());
-			if (f.isDirectory())
-				return new LoadFileImageSequence<>(imageType, url.getFile(), null);
+			localFile = urlToFile(url);
+			if (localFile.isDirectory())
+				return new LoadFileImageSequence<>(imageType, localFile.getPath(), null);
 		}
 
 		String lowerName = fileName.toLowerCase();
@@ -78,6 +82,11 @@ public class DynamicVideoInterface implements VideoInterface {
 
 			// Use built in movie readers for these file types
 			if (lowerName.endsWith("mjpeg") || lowerName.endsWith("mjpg")) {
+				// Files are streamed so that long videos don't need to fit in memory
+				if (localFile != null) {
+					stream.close();
+					return new MjpegStreamSequence<>(localFile.getPath(), imageType);
+				}
 				VideoMjpegCodec codec = new VideoMjpegCodec();
 				List<byte[]> data = codec.read(stream);
 				return new JpegByteImageSequence<>(imageType, data, false);
@@ -121,6 +130,18 @@ public class DynamicVideoInterface implements VideoInterface {
 		return null;
 	}
 
+	/**
+	 * Converts a "file" URL into a File. Escaped characters, e.g. %20 for a space, are decoded.
+	 */
+	static File urlToFile( URL url ) {
+		try {
+			return new File(url.toURI());
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			// URL wasn't escaped properly, so the path can be used as is
+			return new File(url.getPath());
+		}
+	}
+
 	/**
 	 * Loads the specified default {@link VideoInterface}.
 	 *
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.video;
+
+import lombok.Getter;
+import org.ddogleg.struct.DogArray_I64;
+import org.ddogleg.struct.DogArray_I8;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * <p>
+ * Incrementally splits a MJPEG stream into individual JPEG frames by scanning for the start of image (SOI)
+ * and end of image (EOI) markers. Only a small fixed size buffer and the current frame are kept in memory. Markers
+ * are counted so that images embedded inside of a frame, e.g. EXIF thumbnails, do not end the frame early.
+ * </p>
+ *
+ * <p>
+ * The location of each frame in the stream can optionally be saved, creating an index which is used to quickly
+ * jump to a frame that has already been seen. Seeking requires a {@link SeekableByteChannel}, e.g. a file.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MjpegFrameScanner {
+	/** If true then the location of each frame is saved in {@link #frameOffsets} */
+	public boolean indexFrames = true;
+
+	/** Bytes in the most recently read frame, including the SOI and EOI markers */
+	private @Getter final DogArray_I8 frame = new DogArray_I8();
+
+	/** Location in the stream of the most recently read frame */
+	private @Getter long frameOffset = -1;
+
+	/** Location of each frame in the stream, in the order they appear. Only contains frames that have been seen. */
+	private @Getter final DogArray_I64 frameOffsets = new DogArray_I64();
+
+	/** Index of the frame which will be read next */
+	private @Getter int nextFrameIndex;
+
+	// Source of the data
+	final ReadableByteChannel channel;
+
+	// Data which has been read from the channel but not yet processed
+	final ByteBuffer buffer;
+
+	// Location in the channel of the first byte in the buffer
+	long bufferLocation;
+
+	/**
+	 * @param channel Source of MJPEG data
+	 * @param bufferSize Number of bytes read from the channel at once
+	 */
+	public MjpegFrameScanner( ReadableByteChannel channel, int bufferSize ) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocate(bufferSize);
+		this.buffer.limit(0);
+	}
+
+	public MjpegFrameScanner( ReadableByteChannel channel ) {
+		this(channel, 64*1024);
+	}
+
+	/**
+	 * Reads the next frame into {@link #getFrame()}
+	 *
+	 * @return true if a complete frame was read or false if the end of the stream was reached
+	 */
+	public boolean next() throws IOException {
+		frame.reset();
+
+		// Find the start of the image
+		long start = findStartOfImage();
+		if (start < 0)
+			return false;
+
+		frame.add((byte)0xFF);
+		frame.add(VideoMjpegCodec.SOI);
+
+		// Copy everything until the matching end of image
+		int depth = 1;
+		boolean foundFF = false;
+		while (fill()) {
+			byte[] data = buffer.array();
+			int first = buffer.position();
+			int limit = buffer.limit();
+			int pos = first;
+			while (pos < limit && depth > 0) {
+				byte b = data[pos++];
+				if (foundFF) {
+					if (b == VideoMjpegCodec.SOI)
+						depth++;
+					else if (b == VideoMjpegCodec.EOI)
+						depth--;
+				}
+				foundFF = b == (byte)0xFF;
+			}
+			int length = pos - first;
+			int size = frame.size;
+			frame.resize(size + length);
+			System.arraycopy(data, first, frame.data, size, length);
+			buffer.position(pos);
+
+			if (depth == 0) {
+				frameOffset = start;
+				if (indexFrames && nextFrameIndex == frameOffsets.size)
+					frameOffsets.add(start);
+				nextFrameIndex++;
+				return true;
+			}
+		}
+
+		// The last frame was truncated
+		frame.reset();
+		return false;
+	}
+
+	/**
+	 * Skips over bytes until a SOI marker is found.
+	 *
+	 * @return location of the marker in the stream or -1 if the end of the stream was reached
+	 */
+	long findStartOfImage() throws IOException {
+		boolean foundFF = false;
+		while (fill()) {
+			byte[] data = buffer.array();
+			int limit = buffer.limit();
+			for (int pos = buffer.position(); pos < limit; pos++) {
+				byte b = data[pos];
+				if (foundFF && b == VideoMjpegCodec.SOI) {
+					buffer.position(pos + 1);
+					return bufferLocation + pos - 1;
+				}
+				foundFF = b == (byte)0xFF;
+			}
+			buffer.position(limit);
+		}
+		return -1;
+	}
+
+	/**
+	 * Makes sure there's unprocessed data in the buffer
+	 *
+	 * @return false if the end of the stream has been reached
+	 */
+	boolean fill() throws IOException {
+		if (buffer.hasRemaining())
+			return true;
+
+		bufferLocation += buffer.limit();
+		buffer.clear();
+		int length;
+		do {
+			length = channel.read(buffer);
+		} while (length == 0);
+		buffer.flip();
+		return length > 0;
+	}
+
+	/**
+	 * Moves to the specified frame so that it's returned by the next call to {@link #next()}. If the frame is
+	 * in the index then it will jump directly to it, otherwise it will scan forward from the last known frame.
+	 *
+	 * @param index Index of the frame
+	 * @return false if the end of the stream was reached before the frame
+	 */
+	public boolean seekFrame( int index ) throws IOException {
+		// Jump to the closest known frame which comes before the target
+		if (frameOffsets.size > 0) {
+			int known = Math.min(index, frameOffsets.size - 1);
+			seek(frameOffsets.get(known));
+			nextFrameIndex = known;
+		} else {
+			seek(0);
+			nextFrameIndex = 0;
+		}
+
+		// Read frames until it gets to the target
+		while (nextFrameIndex < index) {
+			if (!next())
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Moves the stream to the specified location. The frame index is not modified.
+	 */
+	void seek( long location ) throws IOException {
+		if (!(channel instanceof SeekableByteChannel))
+			throw new IllegalArgumentException("Channel isn't seekable");
+		((SeekableByteChannel)channel).position(location);
+		bufferLocation = location;
+		buffer.clear();
+		buffer.limit(0);
+	}
+
+	/**
+	 * Returns true if it's possible to seek inside the stream
+	 */
+	public boolean isSeekable() {
+		return channel instanceof SeekableByteChannel;
+	}
+}
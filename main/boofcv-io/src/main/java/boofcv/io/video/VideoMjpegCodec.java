@@ -18,9 +18,12 @@
 
 package boofcv.io.video;
 
+import org.ddogleg.struct.DogArray_I8;
 
 import java.io.*;
+import java.nio.channels.Channels;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -34,19 +37,19 @@ public class VideoMjpegCodec {
 	// end of image
 	public static final byte EOI = (byte)0xD9;
 
+	/**
+	 * Reads every frame in the stream. Frames are found incrementally, see {@link MjpegFrameScanner}, but
+	 * all the frames are still kept in memory. For long videos use
+	 * {@link boofcv.io.wrapper.images.MjpegStreamSequence} instead.
+	 */
 	public List<byte[]> read( InputStream streamIn ) {
-		// read the whole movie in at once to make it faster
-
 		List<byte[]> ret = new ArrayList<>();
 		try {
-			byte[] b = convertToByteArray(streamIn);
-//			System.out.println("MJPEG file is "+b.length+" bytes");
-
-			DataInputStream in = new DataInputStream(new ByteArrayInputStream(b));
-
-			while( findMarker(in,SOI) && in.available() > 0 ) {
-				byte data[] = readJpegData(in, EOI);
-				ret.add(data);
+			var scanner = new MjpegFrameScanner(Channels.newChannel(streamIn));
+			scanner.indexFrames = false;
+			while (scanner.next()) {
+				DogArray_I8 frame = scanner.getFrame();
+				ret.add(Arrays.copyOf(frame.data, frame.size));
 			}
 		} catch (IOException ignore) {}
 		return ret;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011-2020, Peter Abeles. All Rights Reserved.
+ * Copyright (c) 2011-2021, Peter Abeles. All Rights Reserved.
  *
  * This file is part of BoofCV (http://boofcv.org).
  *
@@ -20,77 +20,195 @@ package boofcv.io.wrapper.images;
 
 import boofcv.io.image.ConvertBufferedImage;
 import boofcv.io.image.SimpleImageSequence;
-import boofcv.io.video.VideoMjpegCodec;
+import boofcv.io.video.MjpegFrameScanner;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
+import org.ddogleg.struct.DogArray_I8;
+import org.jetbrains.annotations.Nullable;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
+ * <p>
  * Instead of loading and decompressing the whole MJPEG at once, it loads the images
- * one at a time until it reaches the end of the file.
+ * one at a time until it reaches the end of the file. Frames are found using {@link MjpegFrameScanner}
+ * so only the current frame is kept in memory.
+ * </p>
+ *
+ * <p>
+ * By default, the next frame is read and decompressed in a background thread while the current frame is being
+ * processed. The output image is recycled between frames. If the source is seekable, e.g. a file, then
+ * {@link #reset()}, looping, and {@link #seekFrame(int)} are supported.
+ * </p>
  *
  * @author Peter Abeles
  */
 public class MjpegStreamSequence<T extends ImageBase<T>>
-		implements SimpleImageSequence<T>
-{
-	VideoMjpegCodec codec = new VideoMjpegCodec();
-	DataInputStream in;
-	BufferedImage original;
-	BufferedImage next;
+		implements SimpleImageSequence<T> {
+	final MjpegFrameScanner scanner;
+	final ReadableByteChannel channel;
+	final ImageType<T> imageType;
+
+	// Decodes the next frame in the background. null if it's done in the calling thread
+	final @Nullable ExecutorService prefetch;
+	// Frame being decoded in the background
+	@Nullable Future<Frame> pending;
+	// The next frame. null if there are no more frames
+	@Nullable Frame next;
+
+	@Nullable BufferedImage original;
 	T image;
-	int frameNumber;
-	ImageType<T> imageType;
+	int frameNumber = -1;
+	boolean loop;
 
-	public MjpegStreamSequence( InputStream in , ImageType<T> imageType ) {
-		this.in = new DataInputStream(in);
+	/**
+	 * Reads frames from a channel
+	 *
+	 * @param channel Source of MJPEG data. If it's a {@link java.nio.channels.SeekableByteChannel} then
+	 * seeking is supported.
+	 * @param imageType Type of output image
+	 * @param prefetch If true, the next frame is decoded in a background thread
+	 */
+	public MjpegStreamSequence( ReadableByteChannel channel, ImageType<T> imageType, boolean prefetch ) {
+		this.channel = channel;
+		this.scanner = new MjpegFrameScanner(channel);
 		this.imageType = imageType;
-		image = imageType.createImage(1,1);
-		readNext();
+		this.image = imageType.createImage(1, 1);
+		this.prefetch = prefetch ? Executors.newSingleThreadExecutor(r -> {
+			var thread = new Thread(r, "MjpegPrefetch");
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
+		requestNext();
 	}
 
-	public MjpegStreamSequence( String fileName , ImageType<T> imageType ) throws FileNotFoundException {
-		this(new DataInputStream(new BufferedInputStream(new FileInputStream(fileName),1024*200)),imageType);
+	public MjpegStreamSequence( InputStream in, ImageType<T> imageType ) {
+		this(Channels.newChannel(in), imageType, true);
 	}
 
-	private void readNext() {
-		byte[] data = codec.readFrame(in);
-		if( data == null ) {
-			next = null;
+	public MjpegStreamSequence( String fileName, ImageType<T> imageType ) throws FileNotFoundException {
+		this(new FileInputStream(fileName).getChannel(), imageType, true);
+	}
+
+	/**
+	 * Starts reading the next frame, in the background if prefetch is enabled
+	 */
+	private void requestNext() {
+		if (prefetch != null) {
+			pending = prefetch.submit(this::readNext);
 		} else {
 			try {
-				next = ImageIO.read(new ByteArrayInputStream(data));
-				frameNumber++;
+				next = readNext();
 			} catch (IOException e) {
 				throw new UncheckedIOException(e);
 			}
 		}
 	}
 
+	/**
+	 * Waits until the next frame is ready then returns it
+	 */
+	private @Nullable Frame waitForNext() {
+		Future<Frame> pending = this.pending;
+		if (pending == null)
+			return next;
+		this.pending = null;
+		try {
+			next = pending.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException)
+				throw new UncheckedIOException((IOException)e.getCause());
+			throw new RuntimeException(e.getCause());
+		}
+		return next;
+	}
+
+	/**
+	 * Finds and decodes the next frame. Frames which can't be decoded are skipped.
+	 */
+	private @Nullable Frame readNext() throws IOException {
+		while (true) {
+			if (!scanner.next()) {
+				if (!loop || !scanner.isSeekable() || scanner.getFrameOffsets().size == 0)
+					return null;
+				scanner.seekFrame(0);
+				if (!scanner.next())
+					return null;
+			}
+			DogArray_I8 data = scanner.getFrame();
+			BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(data.data, 0, data.size));
+			if (decoded != null)
+				return new Frame(decoded, scanner.getNextFrameIndex() - 1);
+		}
+	}
+
+	/**
+	 * Jumps to the specified frame. Frames which have already been seen are found using the index,
+	 * otherwise it scans forward. Only works if the source is seekable.
+	 *
+	 * @param index The frame which will be returned by the next call to {@link #next()}
+	 * @return false if the stream has fewer frames
+	 */
+	public boolean seekFrame( int index ) {
+		if (!scanner.isSeekable())
+			throw new IllegalArgumentException("Source isn't seekable");
+		waitForNext();
+		try {
+			boolean success = scanner.seekFrame(index);
+			frameNumber = index - 1;
+			requestNext();
+			return success;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
 	@Override
 	public int getWidth() {
-		return next.getWidth();
+		Frame next = waitForNext();
+		if (next != null)
+			return next.image.getWidth();
+		return original == null ? 0 : original.getWidth();
 	}
 
 	@Override
 	public int getHeight() {
-		return next.getHeight();
+		Frame next = waitForNext();
+		if (next != null)
+			return next.image.getHeight();
+		return original == null ? 0 : original.getHeight();
 	}
 
 	@Override
 	public boolean hasNext() {
-		return next != null;
+		return waitForNext() != null;
 	}
 
 	@Override
 	public T next() {
-		original = next;
-		image.reshape(original.getWidth(),original.getHeight());
-		ConvertBufferedImage.convertFrom(original,image, true);
-		readNext();
+		Frame next = waitForNext();
+		if (next == null)
+			throw new IllegalArgumentException("No more frames");
+		this.next = null;
+		original = next.image;
+		frameNumber = next.index;
+
+		// Decode the next frame while this one is being processed
+		requestNext();
+
+		image.reshape(next.image.getWidth(), next.image.getHeight());
+		ConvertBufferedImage.convertFrom(next.image, image, true);
 		return getImage();
 	}
 
@@ -100,29 +218,32 @@ public class MjpegStreamSequence<T extends ImageBase<T>>
 	}
 
 	@Override
-	public BufferedImage getGuiImage() {
+	public @Nullable BufferedImage getGuiImage() {
 		return original;
 	}
 
 	@Override
 	public void close() {
+		if (prefetch != null)
+			prefetch.shutdownNow();
 		try {
-			in.close();
+			channel.close();
 		} catch (IOException ignore) {}
-		in = null;
 	}
 
 	@Override
 	public int getFrameNumber() {
-		return frameNumber-1;
+		return frameNumber;
 	}
 
 	@Override
-	public void setLoop(boolean loop) {
-		throw new RuntimeException("Can't loop");
+	public void setLoop( boolean loop ) {
+		if (loop && !scanner.isSeekable())
+			throw new RuntimeException("Can't loop. Source isn't seekable");
+		waitForNext();
+		this.loop = loop;
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public ImageType<T> getImageType() {
 		return imageType;
@@ -130,6 +251,21 @@ public class MjpegStreamSequence<T extends ImageBase<T>>
 
 	@Override
 	public void reset() {
-		throw new RuntimeException("Reset not supported");
+		if (!scanner.isSeekable())
+			throw new RuntimeException("Reset not supported. Source isn't seekable");
+		seekFrame(0);
+	}
+
+	/**
+	 * A decoded frame and its index
+	 */
+	static class Frame {
+		final BufferedImage image;
+		final int index;
+
+		public Frame( BufferedImage image, int index ) {
+			this.image = image;
+			this.index = index;
+		}
 	}
 }
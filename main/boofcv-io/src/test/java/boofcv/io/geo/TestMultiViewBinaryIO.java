@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.geo;
+
+import boofcv.abst.geo.bundle.SceneObservations;
+import boofcv.abst.geo.bundle.SceneStructureMetric;
+import boofcv.alg.sfm.structure.PairwiseImageGraph;
+import boofcv.alg.sfm.structure.SceneWorkingGraph;
+import boofcv.testing.BoofStandardJUnit;
+import org.ejml.UtilEjml;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestMultiViewBinaryIO extends BoofStandardJUnit {
+	// Used to create and compare the data structures
+	TestMultiViewIO helper = new TestMultiViewIO();
+
+	@Test void save_load_PairwiseImageGraph() {
+		for (boolean compressed : new boolean[]{false, true}) {
+			for (int trial = 0; trial < 20; trial++) {
+				PairwiseImageGraph expected = helper.createPairwise();
+
+				var output = new ByteArrayOutputStream();
+				MultiViewBinaryIO.save(expected, Channels.newChannel(output), compressed);
+
+				PairwiseImageGraph found = MultiViewBinaryIO.load(toChannel(output), (PairwiseImageGraph)null);
+				helper.checkIdentical(expected, found);
+			}
+		}
+	}
+
+	@Test void save_load_SceneWorkingGraph() {
+		for (boolean compressed : new boolean[]{false, true}) {
+			for (int trial = 0; trial < 20; trial++) {
+				PairwiseImageGraph pairwise = helper.createPairwise();
+				SceneWorkingGraph expected = helper.createWorkingGraph(pairwise);
+
+				var output = new ByteArrayOutputStream();
+				MultiViewBinaryIO.save(expected, Channels.newChannel(output), compressed);
+
+				SceneWorkingGraph found = MultiViewBinaryIO.load(toChannel(output), pairwise, null);
+				helper.checkIdentical(expected, found);
+			}
+		}
+	}
+
+	@Test void save_load_SceneStructureMetric() {
+		for (boolean compressed : new boolean[]{false, true}) {
+			for (int trial = 0; trial < 20; trial++) {
+				SceneStructureMetric expected = helper.createSceneStructureMetric();
+
+				var output = new ByteArrayOutputStream();
+				MultiViewBinaryIO.save(expected, Channels.newChannel(output), compressed);
+
+				SceneStructureMetric found = MultiViewBinaryIO.load(toChannel(output), (SceneStructureMetric)null);
+				assertTrue(expected.isIdentical(found, 0.0));
+			}
+		}
+	}
+
+	@Test void save_load_SceneObservations() {
+		for (boolean compressed : new boolean[]{false, true}) {
+			for (boolean rigid : new boolean[]{false, true}) {
+				SceneObservations expected = createObservations(rigid, 10);
+
+				var output = new ByteArrayOutputStream();
+				MultiViewBinaryIO.save(expected, Channels.newChannel(output), compressed);
+
+				SceneObservations found = MultiViewBinaryIO.load(toChannel(output), (SceneObservations)null);
+				checkIdentical(expected, found);
+			}
+		}
+	}
+
+	/**
+	 * Enough data that it will need to go through the buffer several times
+	 */
+	@Test void largerThanBuffer() {
+		for (boolean compressed : new boolean[]{false, true}) {
+			SceneObservations expected = createObservations(true, 20_000);
+
+			var output = new ByteArrayOutputStream();
+			MultiViewBinaryIO.save(expected, Channels.newChannel(output), compressed);
+			assertTrue(output.size() > MultiViewBinaryIO.BUFFER_SIZE*2);
+
+			// Use the previous results as storage to make sure it's handled correctly
+			SceneObservations found = createObservations(false, 5);
+			assertSame(found, MultiViewBinaryIO.load(toChannel(output), found));
+			checkIdentical(expected, found);
+		}
+	}
+
+	@Test void save_load_File() throws IOException {
+		File file = File.createTempFile("multiview", ".bin");
+		try {
+			SceneStructureMetric expected = helper.createSceneStructureMetric();
+			MultiViewBinaryIO.save(expected, file.getPath(), true);
+			SceneStructureMetric found = MultiViewBinaryIO.load(file.getPath(), (SceneStructureMetric)null);
+			assertTrue(expected.isIdentical(found, UtilEjml.TEST_F64));
+		} finally {
+			file.delete();// no assertTrue() here because in windows it will fail
+		}
+	}
+
+	/**
+	 * The header should be checked and bad data rejected
+	 */
+	@Test void rejectBadData() {
+		var output = new ByteArrayOutputStream();
+		MultiViewBinaryIO.save(helper.createPairwise(), Channels.newChannel(output), false);
+
+		// Wrong type of data
+		assertThrows(UncheckedIOException.class,
+				() -> MultiViewBinaryIO.load(toChannel(output), (SceneStructureMetric)null));
+
+		// Not a binary file
+		byte[] data = output.toByteArray();
+		data[0] = 'Q';
+		assertThrows(UncheckedIOException.class, () -> MultiViewBinaryIO.load(
+				Channels.newChannel(new ByteArrayInputStream(data)), (PairwiseImageGraph)null));
+
+		// Truncated
+		byte[] truncated = Arrays.copyOf(output.toByteArray(), output.size() - 3);
+		assertThrows(UncheckedIOException.class, () -> MultiViewBinaryIO.load(
+				Channels.newChannel(new ByteArrayInputStream(truncated)), (PairwiseImageGraph)null));
+	}
+
+	private SceneObservations createObservations( boolean rigid, int maxPoints ) {
+		var ret = new SceneObservations();
+		ret.initialize(1 + rand.nextInt(5), rigid);
+		ret.views.forEach(v -> randomizeView(v, maxPoints));
+		ret.viewsRigid.forEach(v -> randomizeView(v, maxPoints));
+		return ret;
+	}
+
+	private void randomizeView( SceneObservations.View v, int maxPoints ) {
+		int numPoints = maxPoints/2 + rand.nextInt(maxPoints/2);
+		for (int i = 0; i < numPoints; i++) {
+			v.add(rand.nextInt(), rand.nextFloat(), rand.nextFloat());
+		}
+	}
+
+	private void checkIdentical( SceneObservations a, SceneObservations b ) {
+		assertEquals(a.hasRigid(), b.hasRigid());
+		assertEquals(a.views.size, b.views.size);
+		assertEquals(a.viewsRigid.size, b.viewsRigid.size);
+		for (int i = 0; i < a.views.size; i++) {
+			checkIdentical(a.views.get(i), b.views.get(i));
+		}
+		for (int i = 0; i < a.viewsRigid.size; i++) {
+			checkIdentical(a.viewsRigid.get(i), b.viewsRigid.get(i));
+		}
+	}
+
+	private void checkIdentical( SceneObservations.View a, SceneObservations.View b ) {
+		assertEquals(a.size(), b.size());
+		assertArrayEquals(a.point.toArray(), b.point.toArray());
+		assertArrayEquals(a.observations.toArray(), b.observations.toArray());
+	}
+
+	private ReadableByteChannel toChannel( ByteArrayOutputStream output ) {
+		return Channels.newChannel(new ByteArrayInputStream(output.toByteArray()));
+	}
+}
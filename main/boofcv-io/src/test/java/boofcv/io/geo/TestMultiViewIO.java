@@ -58,7 +58,7 @@ class TestMultiViewIO extends BoofStandardJUnit {
 		}
 	}
 
-	private void checkIdentical( PairwiseImageGraph a, PairwiseImageGraph b ) {
+	void checkIdentical( PairwiseImageGraph a, PairwiseImageGraph b ) {
 		assertEquals(a.edges.size, b.edges.size);
 		assertEquals(a.nodes.size, b.nodes.size);
 		assertEquals(a.mapNodes.size(), b.mapNodes.size());
@@ -104,7 +104,7 @@ class TestMultiViewIO extends BoofStandardJUnit {
 		}
 	}
 
-	private PairwiseImageGraph createPairwise() {
+	PairwiseImageGraph createPairwise() {
 		var ret = new PairwiseImageGraph();
 
 		ret.nodes.resize(rand.nextInt(10) + 1);
@@ -155,7 +155,7 @@ class TestMultiViewIO extends BoofStandardJUnit {
 		}
 	}
 
-	private void checkIdentical( SceneWorkingGraph a, SceneWorkingGraph b ) {
+	void checkIdentical( SceneWorkingGraph a, SceneWorkingGraph b ) {
 		assertEquals(a.viewList.size(), b.viewList.size());
 		assertEquals(a.views.size(), b.views.size());
 
@@ -191,7 +191,7 @@ class TestMultiViewIO extends BoofStandardJUnit {
 		}
 	}
 
-	private SceneWorkingGraph createWorkingGraph( PairwiseImageGraph pairwise ) {
+	SceneWorkingGraph createWorkingGraph( PairwiseImageGraph pairwise ) {
 		var ret = new SceneWorkingGraph();
 
 		pairwise.nodes.forIdx(( i, v ) -> ret.addView(v));
@@ -243,7 +243,7 @@ class TestMultiViewIO extends BoofStandardJUnit {
 		}
 	}
 
-	private SceneStructureMetric createSceneStructureMetric() {
+	SceneStructureMetric createSceneStructureMetric() {
 		var ret = new SceneStructureMetric(rand.nextBoolean());
 
 		int numMotions = 1 + rand.nextInt(4);
@@ -29,10 +29,11 @@ import org.junit.jupiter.api.Test;
 
 import java.io.*;
 import java.nio.ByteOrder;
+import java.nio.channels.Channels;
 import java.util.ArrayList;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @author Peter Abeles
@@ -136,4 +137,47 @@ class TestPlyCodec extends BoofStandardJUnit {
 		}
 	}
 
+	/**
+	 * Enough points that multiple blocks are needed and little endian data. Reads into primitive arrays.
+	 */
+	@Test
+	void encode_decode_binary_packed() throws IOException {
+		var expected = new PointCloudWriter.CloudArraysF32();
+		for (int i = 0; i < 10_000; i++) {
+			expected.add(rand.nextGaussian(), rand.nextGaussian(), rand.nextGaussian(), rand.nextInt(0xFFFFFF));
+		}
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		PlyCodec.saveBinary(expected, ByteOrder.LITTLE_ENDIAN, true, true, Channels.newChannel(output));
+		assertTrue(output.toString("UTF-8").contains("binary_little_endian"));
+
+		var found = new PointCloudWriter.CloudArraysF32();
+		PlyCodec.read(new ByteArrayInputStream(output.toByteArray()), found);
+
+		assertEquals(expected.size(), found.size());
+		for (int i = 0; i < found.size(); i++) {
+			assertEquals(expected.cloudXyz.get(i*3), found.cloudXyz.get(i*3));
+			assertEquals(expected.cloudXyz.get(i*3 + 1), found.cloudXyz.get(i*3 + 1));
+			assertEquals(expected.cloudXyz.get(i*3 + 2), found.cloudXyz.get(i*3 + 2));
+			assertEquals(expected.cloudRgb.get(i), found.cloudRgb.get(i));
+		}
+	}
+
+	/**
+	 * If the file is truncated it should throw an exception
+	 */
+	@Test
+	void read_binary_truncated() throws IOException {
+		var expected = new PointCloudWriter.CloudArraysF32();
+		for (int i = 0; i < 20; i++) {
+			expected.add(i, i + 1, i + 2);
+		}
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		PlyCodec.saveBinary(expected, ByteOrder.BIG_ENDIAN, false, false, output);
+		byte[] data = output.toByteArray();
+		var input = new ByteArrayInputStream(data, 0, data.length - 5);
+
+		assertThrows(IOException.class, () -> PlyCodec.read(input, new PointCloudWriter.CloudArraysF32()));
+	}
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.video;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestMjpegFrameScanner extends BoofStandardJUnit {
+	/**
+	 * Creates JPEG images which are filled with a different gray value
+	 */
+	public static List<byte[]> createFrames( int count ) {
+		List<byte[]> frames = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			var image = new BufferedImage(16, 12, BufferedImage.TYPE_INT_RGB);
+			int gray = 20 + i*30;
+			for (int y = 0; y < image.getHeight(); y++) {
+				for (int x = 0; x < image.getWidth(); x++) {
+					image.setRGB(x, y, gray << 16 | gray << 8 | gray);
+				}
+			}
+			try {
+				var out = new ByteArrayOutputStream();
+				ImageIO.write(image, "jpg", out);
+				frames.add(out.toByteArray());
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return frames;
+	}
+
+	/**
+	 * Puts the frames into a single stream with some junk between them
+	 */
+	public static byte[] createStream( List<byte[]> frames, List<Integer> offsets ) {
+		var out = new ByteArrayOutputStream();
+		for (byte[] frame : frames) {
+			out.write(0x12);
+			out.write(0xFF);
+			offsets.add(out.size());
+			out.write(frame, 0, frame.length);
+		}
+		out.write(0x34);
+		return out.toByteArray();
+	}
+
+	/**
+	 * Use a small buffer so that markers cross buffer boundaries
+	 */
+	@Test
+	void next() throws IOException {
+		List<byte[]> frames = createFrames(5);
+		List<Integer> offsets = new ArrayList<>();
+		byte[] stream = createStream(frames, offsets);
+
+		var alg = new MjpegFrameScanner(Channels.newChannel(new ByteArrayInputStream(stream)), 7);
+		for (int i = 0; i < frames.size(); i++) {
+			assertTrue(alg.next());
+			assertEquals(offsets.get(i).longValue(), alg.getFrameOffset());
+			assertArrayEquals(frames.get(i), Arrays.copyOf(alg.getFrame().data, alg.getFrame().size));
+			assertEquals(i + 1, alg.getNextFrameIndex());
+		}
+		assertFalse(alg.next());
+		assertEquals(frames.size(), alg.getFrameOffsets().size);
+	}
+
+	/**
+	 * Nested images, e.g. thumbnails, should not end the frame
+	 */
+	@Test
+	void next_nested() throws IOException {
+		byte[] stream = new byte[]{(byte)0xFF, (byte)0xD8, 1, (byte)0xFF, (byte)0xD8, 2, (byte)0xFF, (byte)0xD9,
+				3, (byte)0xFF, (byte)0xD9, 4};
+
+		var alg = new MjpegFrameScanner(Channels.newChannel(new ByteArrayInputStream(stream)));
+		assertTrue(alg.next());
+		assertEquals(11, alg.getFrame().size);
+		assertFalse(alg.next());
+	}
+
+	/**
+	 * A truncated frame at the end should be ignored
+	 */
+	@Test
+	void next_truncated() throws IOException {
+		byte[] frame = createFrames(1).get(0);
+		byte[] stream = Arrays.copyOf(frame, frame.length*2 - 10);
+		System.arraycopy(frame, 0, stream, frame.length, frame.length - 10);
+
+		var alg = new MjpegFrameScanner(Channels.newChannel(new ByteArrayInputStream(stream)));
+		assertTrue(alg.next());
+		assertFalse(alg.next());
+		assertEquals(0, alg.getFrame().size);
+	}
+
+	@Test
+	void seekFrame() throws IOException {
+		List<byte[]> frames = createFrames(6);
+		byte[] stream = createStream(frames, new ArrayList<>());
+
+		File file = File.createTempFile("mjpeg", ".mjpeg");
+		try {
+			try (var out = new FileOutputStream(file)) {
+				out.write(stream);
+			}
+
+			try (FileChannel channel = FileChannel.open(file.toPath())) {
+				var alg = new MjpegFrameScanner(channel, 50);
+				assertTrue(alg.isSeekable());
+
+				// Not in the index yet, so it will need to scan forward
+				assertTrue(alg.seekFrame(3));
+				assertTrue(alg.next());
+				assertArrayEquals(frames.get(3), Arrays.copyOf(alg.getFrame().data, alg.getFrame().size));
+				assertEquals(4, alg.getFrameOffsets().size);
+
+				// Jump back to a frame in the index
+				assertTrue(alg.seekFrame(1));
+				assertTrue(alg.next());
+				assertArrayEquals(frames.get(1), Arrays.copyOf(alg.getFrame().data, alg.getFrame().size));
+				assertEquals(2, alg.getNextFrameIndex());
+
+				// Past the end
+				assertFalse(alg.seekFrame(10));
+			}
+		} finally {
+			file.delete();// no assertTrue() here because in windows it will fail
+		}
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.wrapper.images;
+
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import static boofcv.io.video.TestMjpegFrameScanner.createFrames;
+import static boofcv.io.video.TestMjpegFrameScanner.createStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestMjpegStreamSequence extends BoofStandardJUnit {
+	byte[] stream = createStream(createFrames(4), new ArrayList<>());
+
+	@Test
+	void readAll_stream() {
+		var alg = new MjpegStreamSequence<>(new ByteArrayInputStream(stream), ImageType.single(GrayU8.class));
+		checkFrames(alg, 0);
+		assertThrows(RuntimeException.class, alg::reset);
+		alg.close();
+	}
+
+	@Test
+	void file_seek_loop() throws IOException {
+		File file = File.createTempFile("mjpeg", ".mjpeg");
+		try {
+			try (var out = new FileOutputStream(file)) {
+				out.write(stream);
+			}
+
+			var alg = new MjpegStreamSequence<>(file.getPath(), ImageType.single(GrayU8.class));
+			checkFrames(alg, 0);
+
+			alg.reset();
+			checkFrames(alg, 0);
+
+			assertTrue(alg.seekFrame(2));
+			checkFrames(alg, 2);
+
+			// When looping it should go back to the first frame
+			alg.seekFrame(3);
+			alg.setLoop(true);
+			alg.next();
+			assertEquals(3, alg.getFrameNumber());
+			assertTrue(alg.hasNext());
+			GrayU8 image = alg.next();
+			assertEquals(0, alg.getFrameNumber());
+			assertEquals(20, image.get(5, 5), 3);
+			alg.close();
+		} finally {
+			file.delete();// no assertTrue() here because in windows it will fail
+		}
+	}
+
+	/**
+	 * Reads all the remaining frames and makes sure they have the expected gray value
+	 */
+	private void checkFrames( MjpegStreamSequence<GrayU8> alg, int first ) {
+		for (int i = first; i < 4; i++) {
+			assertTrue(alg.hasNext());
+			assertEquals(16, alg.getWidth());
+			assertEquals(12, alg.getHeight());
+			GrayU8 image = alg.next();
+			assertEquals(i, alg.getFrameNumber());
+			assertEquals(20 + i*30, image.get(5, 5), 3);
+			assertNotNull(alg.getGuiImage());
+		}
+		assertFalse(alg.hasNext());
+	}
+}
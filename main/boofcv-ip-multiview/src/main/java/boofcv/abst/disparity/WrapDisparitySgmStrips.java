@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.disparity;
+
+import boofcv.alg.disparity.sgm.SgmStereoDisparityStrips;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImageType;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Wrapper around {@link SgmStereoDisparityStrips} for {@link StereoDisparity}
+ *
+ * @author Peter Abeles
+ */
+public class WrapDisparitySgmStrips<DI extends ImageGray<DI>> implements StereoDisparity<GrayU8, DI> {
+
+	SgmStereoDisparityStrips<GrayU8> alg;
+	@Nullable GrayF32 subpixel;
+
+	public WrapDisparitySgmStrips( SgmStereoDisparityStrips<GrayU8> alg, boolean subPixel ) {
+		this.alg = alg;
+		this.subpixel = subPixel ? new GrayF32(1, 1) : null;
+	}
+
+	@Override
+	public void process( GrayU8 imageLeft, GrayU8 imageRight ) {
+		alg.process(imageLeft, imageRight, subpixel);
+	}
+
+	@Override
+	public DI getDisparity() {
+		if (subpixel != null) {
+			return (DI)subpixel;
+		} else {
+			return (DI)alg.getDisparity();
+		}
+	}
+
+	@Override
+	public int getDisparityMin() {
+		return alg.getDisparityMin();
+	}
+
+	@Override
+	public int getDisparityRange() {
+		return alg.getDisparityRange();
+	}
+
+	@Override
+	public int getInvalidValue() {
+		return alg.getInvalidDisparity();
+	}
+
+	@Override
+	public int getBorderX() {
+		return 0;
+	}
+
+	@Override
+	public int getBorderY() {
+		return 0;
+	}
+
+	@Override
+	public ImageType<GrayU8> getInputType() {
+		return ImageType.SB_U8;
+	}
+
+	@Override
+	public Class<DI> getDisparityType() {
+		return (Class)(subpixel == null ? GrayU8.class : GrayF32.class);
+	}
+
+	public SgmStereoDisparityStrips<GrayU8> getAlgorithm() {
+		return alg;
+	}
+}
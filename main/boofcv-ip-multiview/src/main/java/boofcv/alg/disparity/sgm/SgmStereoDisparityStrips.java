@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.disparity.sgm;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageBase;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>
+ * Bounded memory variant of SGM. The cost and aggregated cost tensors used by {@link SgmStereoDisparity} have
+ * a size of W*H*D, which can be several gigabytes for high resolution images. Instead the image is broken up
+ * into horizontal strips which are processed independently. Each strip is expanded by {@link #overlap} rows
+ * above and below so that the paths which travel vertically have some history before they reach the rows which
+ * are saved. Only rows inside the core of a strip are written to the output disparity image. The size of
+ * a strip is selected so that the tensors never exceed {@link #maxWorkingSetBytes}.
+ * </p>
+ *
+ * <p>
+ * The results are only an approximation of processing the entire image at once since paths with a vertical
+ * component are truncated at the strip's border. Horizontal paths are unaffected. Larger overlaps
+ * reduce the difference at the cost of additional computations.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmStereoDisparityStrips<T extends ImageBase<T>> {
+	/** Number of bytes used by each element in the cost tensor. Cost and aggregated are both U16 */
+	public static final int BYTES_PER_ELEMENT = 2*2;
+
+	/** The SGM algorithm which is applied to each strip */
+	@Getter final SgmStereoDisparity<T, ?> sgm;
+
+	/** Maximum number of bytes the cost and aggregated tensors can use combined */
+	@Getter long maxWorkingSetBytes;
+
+	/** Number of rows a strip is extended above and below the rows it writes to */
+	@Getter int overlap;
+
+	// Found pixel level disparity for the entire image
+	@Getter GrayU8 disparity = new GrayU8(1, 1);
+
+	// Storage for sub-pixel disparity of a single strip
+	GrayF32 stripSubpixel = new GrayF32(1, 1);
+
+	// Sub-images of the input images
+	@Nullable T stripLeft, stripRight;
+
+	// Number of rows in the core of a strip. Computed from the memory budget
+	@Getter int coreRows;
+
+	/**
+	 * @param sgm The SGM algorithm that is applied to each strip
+	 * @param maxWorkingSetBytes Maximum number of bytes the cost and aggregated tensors can use
+	 * @param overlap Number of rows a strip is extended above and below the rows it writes to
+	 */
+	public SgmStereoDisparityStrips( SgmStereoDisparity<T, ?> sgm, long maxWorkingSetBytes, int overlap ) {
+		if (maxWorkingSetBytes <= 0)
+			throw new IllegalArgumentException("maxWorkingSetBytes must be positive");
+		if (overlap < 0)
+			throw new IllegalArgumentException("overlap must be non-negative");
+		this.sgm = sgm;
+		this.maxWorkingSetBytes = maxWorkingSetBytes;
+		this.overlap = overlap;
+	}
+
+	/**
+	 * Computes disparity one strip at a time.
+	 *
+	 * @param left (Input) left rectified stereo image
+	 * @param right (Input) right rectified stereo image
+	 * @param subpixel (Output) Optional sub-pixel disparity. If null then sub-pixel isn't computed.
+	 */
+	public void process( T left, T right, @Nullable GrayF32 subpixel ) {
+		InputSanityCheck.checkSameShape(left, right);
+		disparity.reshape(left.width, left.height);
+		if (subpixel != null)
+			subpixel.reshape(left.width, left.height);
+
+		coreRows = selectCoreRows(left.width, left.height);
+
+		for (int y0 = 0; y0 < left.height; y0 += coreRows) {
+			int y1 = Math.min(left.height, y0 + coreRows);
+
+			// Rows in the expanded strip which is actually processed
+			int paddedY0 = Math.max(0, y0 - overlap);
+			int paddedY1 = Math.min(left.height, y1 + overlap);
+
+			stripLeft = left.subimage(0, paddedY0, left.width, paddedY1, stripLeft);
+			stripRight = right.subimage(0, paddedY0, right.width, paddedY1, stripRight);
+
+			sgm.process(stripLeft, stripRight);
+
+			// Only copy the core rows into the output
+			ImageMiscOps.copy(0, y0 - paddedY0, 0, y0, left.width, y1 - y0, sgm.getDisparity(), disparity);
+
+			if (subpixel != null) {
+				sgm.subpixel(sgm.getDisparity(), stripSubpixel);
+				ImageMiscOps.copy(0, y0 - paddedY0, 0, y0, left.width, y1 - y0, stripSubpixel, subpixel);
+			}
+		}
+	}
+
+	/**
+	 * Selects the number of rows in the core of each strip so that the tensors for the padded strip
+	 * fit inside the memory budget.
+	 */
+	int selectCoreRows( int width, int height ) {
+		long bytesPerRow = (long)width*sgm.getDisparityRange()*BYTES_PER_ELEMENT;
+		long paddedRows = maxWorkingSetBytes/Math.max(1, bytesPerRow);
+
+		// The entire image fits inside the budget
+		if (paddedRows >= height)
+			return height;
+
+		long rows = paddedRows - 2L*overlap;
+		if (rows <= 0)
+			throw new IllegalArgumentException("maxWorkingSetBytes is too small for the overlap. Rows in budget = " +
+					paddedRows + " overlap = " + overlap);
+		return (int)rows;
+	}
+
+	public void setMaxWorkingSetBytes( long maxWorkingSetBytes ) {
+		if (maxWorkingSetBytes <= 0)
+			throw new IllegalArgumentException("maxWorkingSetBytes must be positive");
+		this.maxWorkingSetBytes = maxWorkingSetBytes;
+	}
+
+	public void setOverlap( int overlap ) {
+		if (overlap < 0)
+			throw new IllegalArgumentException("overlap must be non-negative");
+		this.overlap = overlap;
+	}
+
+	public int getDisparityMin() {
+		return sgm.getDisparityMin();
+	}
+
+	public int getDisparityRange() {
+		return sgm.getDisparityRange();
+	}
+
+	public int getInvalidDisparity() {
+		return sgm.getInvalidDisparity();
+	}
+}
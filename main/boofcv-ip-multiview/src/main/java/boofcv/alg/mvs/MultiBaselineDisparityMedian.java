@@ -19,6 +19,7 @@
 package boofcv.alg.mvs;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.calib.CameraPinhole;
 import boofcv.struct.distort.PixelTransform;
 import boofcv.struct.image.GrayF32;
@@ -30,9 +31,12 @@ import lombok.Getter;
 import org.ddogleg.sorting.QuickSelect;
 import org.ddogleg.struct.DogArray;
 import org.ddogleg.struct.DogArray_F32;
+import org.ddogleg.struct.DogArray_I32;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.dense.row.CommonOps_DDRM;
 import org.ejml.ops.DConvertMatrixStruct;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
 
 import static boofcv.misc.BoofMiscOps.checkTrue;
 
@@ -45,6 +49,10 @@ import static boofcv.misc.BoofMiscOps.checkTrue;
  * The fused disparity image will always have a disparityMin of 0 and disparityRange of 100.
  * The baseline is computed dynamically to ensure that max value
  *
+ * Candidate disparity values for every pixel are packed into a single array, see {@link FusedImage}, to avoid
+ * creating an object for each pixel in large images. If {@link BoofConcurrency#USE_CONCURRENT} is true then each
+ * pass through the image is done concurrently.
+ *
  * @author Peter Abeles
  */
 public class MultiBaselineDisparityMedian {
@@ -67,6 +75,13 @@ public class MultiBaselineDisparityMedian {
 	// Storage for transform from rectified to unrectified pixels
 	private final Homography2D_F64 rect = new Homography2D_F64();
 
+	// Workspace for each thread
+	final GrowArray<Workspace> workspaces = new GrowArray<>(Workspace::new);
+
+	public MultiBaselineDisparityMedian() {
+		workspaces.grow();
+	}
+
 	/**
 	 * Must call before adding images. Specifies the size of the original image before rectification and clears
 	 * previously saved results.
@@ -121,10 +136,8 @@ public class MultiBaselineDisparityMedian {
 		}
 
 		// For each image, map valid pixels back into the original and add to that
-		for (int i = 0; i < images.size; i++) {
-			if (!addToFusedImage(images.get(i)))
-				return false;
-		}
+		if (!createFusedImage())
+			return false;
 
 		// Combine all the disparity information together robustly
 		computeFused(disparity);
@@ -136,11 +149,44 @@ public class MultiBaselineDisparityMedian {
 	}
 
 	/**
-	 * Adds valid disparity values inside of this into the fused image
+	 * Adds valid disparity values from all the images into the fused image. The first pass counts the number of
+	 * values in each pixel so that the packed storage can be allocated and the second pass fills it in.
 	 *
 	 * @return true if successful and false if it failed
 	 */
-	boolean addToFusedImage( DisparityImage image ) {
+	boolean createFusedImage() {
+		fused.startCounting();
+		for (int i = 0; i < images.size; i++) {
+			addToFusedImage(images.get(i), true);
+		}
+		fused.startFilling();
+		for (int i = 0; i < images.size; i++) {
+			addToFusedImage(images.get(i), false);
+		}
+		fused.finishFilling();
+		return true;
+	}
+
+	/**
+	 * Goes through the fused image and either counts or adds the valid disparity values from this image
+	 *
+	 * @param counting If true it only counts the number of values, if false it adds the values
+	 */
+	void addToFusedImage( DisparityImage image, boolean counting ) {
+		DConvertMatrixStruct.convert(image.undist_to_rect_px, rect);
+
+		if (BoofConcurrency.USE_CONCURRENT) {
+			BoofConcurrency.loopBlocks(0, fused.height, workspaces,
+					( ws, y0, y1 ) -> addToFusedImage(image, counting, ws, y0, y1));
+		} else {
+			addToFusedImage(image, counting, workspaces.get(0), 0, fused.height);
+		}
+	}
+
+	/**
+	 * Counts or adds valid disparity values inside of this image for rows y0 to y1 in the fused image
+	 */
+	void addToFusedImage( DisparityImage image, boolean counting, Workspace ws, int y0, int y1 ) {
 		final GrayF32 disparity = image.disparity;
 		final GrayU8 mask = image.mask;
 		final DisparityParameters imageParam = image.parameters;
@@ -152,15 +198,15 @@ public class MultiBaselineDisparityMedian {
 		final double imageBaseline = imageParam.baseline;
 		final CameraPinhole imagePinhole = imageParam.pinhole;
 
-		DConvertMatrixStruct.convert(image.undist_to_rect_px, rect);
+		final PixelTransform<Point2D_F64> pixelOrig_to_Undist = ws.lookupTransform(this.pixelOrig_to_Undist);
 
 		// fused image undistorted pixel coordinates
-		Point2D_F64 undistPix = new Point2D_F64();
+		Point2D_F64 undistPix = ws.undistPix;
 		// rectified image coordinates
-		Point2D_F64 rectPix = new Point2D_F64();
+		Point2D_F64 rectPix = ws.rectPix;
 
 		// To avoid sampling issues, go from fused image to disparity image
-		for (int origPixY = 0; origPixY < fused.height; origPixY++) {
+		for (int origPixY = y0; origPixY < y1; origPixY++) {
 			for (int origPixX = 0; origPixX < fused.width; origPixX++) {
 				// Go from distorted to undistorted pixels
 				pixelOrig_to_Undist.compute(origPixX, origPixY, undistPix);
@@ -193,6 +239,12 @@ public class MultiBaselineDisparityMedian {
 //				if (imageDisp < 1.0f || imageDisp > imageRange-1.0f)
 //					continue;  TODO consider in the future once there are metrics
 
+				int pixelIndex = origPixY*fused.width + origPixX;
+				if (counting) {
+					fused.countValue(pixelIndex);
+					continue;
+				}
+
 				if (imageDisp + imageMin != 0) {
 					// Convert the disparity from "image" into "fused image"
 					// First compute the 3D point in the rectified coordinate system
@@ -204,14 +256,13 @@ public class MultiBaselineDisparityMedian {
 					// Now that we know Z we can compute the disparity
 					float fusedDisp = (float)(fusedBaseline*fusedIntrinsic.fx/worldZ);
 
-					fused.get(origPixX, origPixY).add(fusedDisp);
+					fused.addValue(pixelIndex, fusedDisp);
 				} else {
 					// Points at infinity are a special case. They will remain at infinity
-					fused.get(origPixX, origPixY).add(0.0f);
+					fused.addValue(pixelIndex, 0.0f);
 				}
 			}
 		}
-		return true;
 	}
 
 	/**
@@ -226,10 +277,24 @@ public class MultiBaselineDisparityMedian {
 	 * mean will be used.
 	 */
 	void computeFused( GrayF32 disparity ) {
-		for (int y = 0; y < fused.height; y++) {
+		if (BoofConcurrency.USE_CONCURRENT) {
+			BoofConcurrency.loopBlocks(0, fused.height, workspaces,
+					( ws, y0, y1 ) -> computeFused(disparity, ws.values, y0, y1));
+		} else {
+			computeFused(disparity, workspaces.get(0).values, 0, fused.height);
+		}
+	}
+
+	/**
+	 * Computes the fused output image for rows y0 to y1
+	 *
+	 * @param values Storage for a copy of a pixel's values
+	 */
+	void computeFused( GrayF32 disparity, DogArray_F32 values, int y0, int y1 ) {
+		for (int y = y0; y < y1; y++) {
 			int indexOut = disparity.startIndex + y*disparity.stride;
 			for (int x = 0; x < fused.width; x++) {
-				DogArray_F32 values = fused.get(x, y);
+				fused.get(x, y, values);
 				float outputValue;
 				if (values.size == 0) {
 					// mark this pixel as invalid. The disparity will be rescaled later on and the max value at this
@@ -304,21 +369,99 @@ public class MultiBaselineDisparityMedian {
 	}
 
 	/**
-	 * Contains disparity information mapped to original distorted pixels.
+	 * Contains disparity information mapped to original distorted pixels. The values for all pixels are packed
+	 * into a single array in row-major order and each pixel is described by where its values start, i.e.
+	 * compressed sparse row format. It's filled in two passes. The first pass counts the number of values in each
+	 * pixel then after storage has been allocated the second pass adds the values. Each pass can be done
+	 * concurrently so long as each pixel is only modified by one thread.
 	 */
 	static class FusedImage {
-		public final DogArray<DogArray_F32> pixels = new DogArray<>(DogArray_F32::new, DogArray_F32::reset);
+		/** Index of the first value in each pixel. The last element is the total number of values. */
+		public final DogArray_I32 offsets = new DogArray_I32();
+		/** Disparity values for all pixels */
+		public final DogArray_F32 values = new DogArray_F32();
 		public int width, height;
 
-		public DogArray_F32 get( int x, int y ) {
-			return pixels.get(y*width + x);
+		/** Number of values in the pixel */
+		public int size( int x, int y ) {
+			int pixelIndex = y*width + x;
+			return offsets.data[pixelIndex + 1] - offsets.data[pixelIndex];
+		}
+
+		/** Returns the value at the specified index inside the pixel */
+		public float get( int x, int y, int index ) {
+			return values.data[offsets.data[y*width + x] + index];
+		}
+
+		/** Copies all the values in the pixel into the provided array */
+		public void get( int x, int y, DogArray_F32 output ) {
+			int pixelIndex = y*width + x;
+			int first = offsets.data[pixelIndex];
+			output.resize(offsets.data[pixelIndex + 1] - first);
+			System.arraycopy(values.data, first, output.data, 0, output.size);
 		}
 
 		public void resize( int width, int height ) {
-			pixels.reset();
-			pixels.resize(width*height);
 			this.width = width;
 			this.height = height;
+			offsets.resize(width*height + 1);
+			startCounting();
+		}
+
+		/** Removes all values and prepares for the counting pass */
+		public void startCounting() {
+			offsets.fill(0);
+			values.reset();
+		}
+
+		/** Counting pass. Indicates that the pixel will have one more value */
+		public void countValue( int pixelIndex ) {
+			offsets.data[pixelIndex + 1]++;
+		}
+
+		/** Converts the counts into offsets and allocates storage for all the values */
+		public void startFilling() {
+			final int N = width*height;
+			for (int i = 0; i < N; i++) {
+				offsets.data[i + 1] += offsets.data[i];
+			}
+			values.resize(offsets.data[N]);
+		}
+
+		/**
+		 * Filling pass. Adds a value to the pixel. While filling, the pixel's offset is used to mark where the next
+		 * value goes and afterwards it points to the start of the next pixel.
+		 */
+		public void addValue( int pixelIndex, float value ) {
+			values.data[offsets.data[pixelIndex]++] = value;
+		}
+
+		/** Restores the offsets after the filling pass */
+		public void finishFilling() {
+			System.arraycopy(offsets.data, 0, offsets.data, 1, width*height);
+			offsets.data[0] = 0;
+		}
+	}
+
+	/** Storage used by each thread */
+	static class Workspace {
+		// Copy of the pixel transform that's safe to use in this thread and the transform it's a copy of
+		@Nullable PixelTransform<Point2D_F64> pixelOrig_to_Undist;
+		@Nullable PixelTransform<Point2D_F64> source;
+		// fused image undistorted pixel coordinates
+		final Point2D_F64 undistPix = new Point2D_F64();
+		// rectified image coordinates
+		final Point2D_F64 rectPix = new Point2D_F64();
+		// Copy of the values in a pixel for computing the median
+		final DogArray_F32 values = new DogArray_F32();
+
+		PixelTransform<Point2D_F64> lookupTransform( PixelTransform<Point2D_F64> source ) {
+			PixelTransform<Point2D_F64> copy = pixelOrig_to_Undist;
+			if (copy == null || this.source != source) {
+				copy = pixelOrig_to_Undist = source.copyConcurrent();
+				this.source = source;
+			}
+			return copy;
 		}
 	}
 }
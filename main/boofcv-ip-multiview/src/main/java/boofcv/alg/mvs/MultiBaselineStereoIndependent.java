@@ -295,6 +295,15 @@ public class MultiBaselineStereoIndependent<Image extends ImageGray<Image>> impl
 		timeDisparitySmooth += (System.nanoTime() - time0)*1e-6;
 	}
 
+	/**
+	 * Copies settings which are not specific to an instance, such as verbose output, from 'src'. The stereo
+	 * algorithms, look up, and listener are not copied since they can't be shared between threads.
+	 */
+	public void setSettings( MultiBaselineStereoIndependent<?> src ) {
+		this.verbose = src.verbose;
+		this.verboseProfiling = src.verboseProfiling;
+	}
+
 	@Override public void setVerbose( @Nullable PrintStream out, @Nullable Set<String> configuration ) {
 		this.verbose = out;
 		this.verboseProfiling = null;
@@ -20,6 +20,7 @@ package boofcv.factory.disparity;
 
 import boofcv.alg.disparity.sgm.SgmDisparityCost;
 import boofcv.alg.disparity.sgm.SgmStereoDisparityHmi;
+import boofcv.alg.disparity.sgm.SgmStereoDisparityStrips;
 import boofcv.struct.Configuration;
 import boofcv.struct.border.BorderType;
 
@@ -76,6 +77,18 @@ public class ConfigDisparitySGM implements Configuration {
 	 * error to prefer a region with lots of pixels outside the image border.
 	 */
 	public BorderType border = BorderType.REFLECT;
+	/**
+	 * Maximum number of bytes the cost and aggregated cost tensors can use. If the tensors for the entire image
+	 * would be larger than this then the image is processed in horizontal strips. Set to a value &le; 0 to disable.
+	 *
+	 * @see SgmStereoDisparityStrips
+	 */
+	public long maxWorkingSetBytes = -1;
+	/**
+	 * When processed in strips, this is the number of rows each strip is extended by above and below. Larger
+	 * values reduce artifacts at strip borders but require more computations.
+	 */
+	public int stripOverlap = 20;
 
 	public void setTo( ConfigDisparitySGM src ) {
 		this.disparityMin = src.disparityMin;
@@ -93,6 +106,8 @@ public class ConfigDisparitySGM implements Configuration {
 		this.configHMI.setTo(src.configHMI);
 		this.configBlockMatch.setTo(src.configBlockMatch);
 		this.border = src.border;
+		this.maxWorkingSetBytes = src.maxWorkingSetBytes;
+		this.stripOverlap = src.stripOverlap;
 	}
 
 	public static class ConfigBlockMatchError implements Configuration {
@@ -130,6 +145,8 @@ public class ConfigDisparitySGM implements Configuration {
 			throw new IllegalArgumentException("Invalid value for penaltySmallChange.");
 		if (disparityMin < 0)
 			throw new IllegalArgumentException("Minimum disparity must be >= 0");
+		if (stripOverlap < 0)
+			throw new IllegalArgumentException("Strip overlap must be >= 0");
 		configBlockMatch.checkValidity();
 	}
 
@@ -27,6 +27,7 @@ import boofcv.alg.disparity.block.score.*;
 import boofcv.alg.disparity.block.select.SelectSparseCorrelationSubpixel;
 import boofcv.alg.disparity.block.select.SelectSparseCorrelationWithChecksWta_F32;
 import boofcv.alg.disparity.sgm.SgmStereoDisparity;
+import boofcv.alg.disparity.sgm.SgmStereoDisparityStrips;
 import boofcv.alg.segmentation.cc.ConnectedSpeckleFiller;
 import boofcv.alg.segmentation.cc.ConnectedTwoRowSpeckleFiller_F32;
 import boofcv.alg.segmentation.cc.ConnectedTwoRowSpeckleFiller_U8;
@@ -376,6 +377,11 @@ public class FactoryStereoDisparity {
 
 		if (imageType == GrayU8.class) {
 			SgmStereoDisparity alg = FactoryStereoDisparityAlgs.createSgm(config);
+			if (config.maxWorkingSetBytes > 0) {
+				SgmStereoDisparityStrips<GrayU8> strips =
+						new SgmStereoDisparityStrips<>(alg, config.maxWorkingSetBytes, config.stripOverlap);
+				return (StereoDisparity)new WrapDisparitySgmStrips(strips, config.subpixel);
+			}
 			return (StereoDisparity)new WrapDisparitySgm(alg, config.subpixel);
 		} else {
 			throw new IllegalArgumentException("Only U8 input supported");
@@ -66,4 +66,27 @@ class TestWrapSgm extends BoofStandardJUnit {
 			return FactoryStereoDisparity.sgm(config, inputType.getImageClass(), disparityType.getImageClass());
 		}
 	}
+
+	/**
+	 * Process the image in strips with a budget that is much smaller than the entire image
+	 */
+	@Nested
+	class Strips_F32 extends GenericStereoDisparityChecks<GrayU8, GrayF32> {
+
+		public Strips_F32() {
+			super(ImageType.SB_U8, ImageType.SB_F32);
+		}
+
+		@Override
+		public StereoDisparity<GrayU8, GrayF32> createAlg( int disparityMin, int disparityRange ) {
+			ConfigDisparitySGM config = new ConfigDisparitySGM();
+			config.errorType = DisparitySgmError.ABSOLUTE_DIFFERENCE;
+			config.subpixel = true;
+			config.disparityMin = disparityMin;
+			config.disparityRange = disparityRange;
+			config.stripOverlap = 5;
+			config.maxWorkingSetBytes = 25L*width*disparityRange*4;
+			return FactoryStereoDisparity.sgm(config, inputType.getImageClass(), disparityType.getImageClass());
+		}
+	}
 }
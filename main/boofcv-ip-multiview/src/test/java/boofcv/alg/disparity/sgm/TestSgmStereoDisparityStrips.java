@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.disparity.sgm;
+
+import boofcv.BoofTesting;
+import boofcv.alg.disparity.sgm.cost.SgmCostAbsoluteDifference;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Peter Abeles
+ */
+class TestSgmStereoDisparityStrips extends BoofStandardJUnit {
+	int width = 60, height = 45;
+	int disparityMin = 2, disparityRange = 15;
+
+	GrayU8 left = new GrayU8(width, height);
+	GrayU8 right = new GrayU8(width, height);
+
+	TestSgmStereoDisparityStrips() {
+		ImageMiscOps.fillUniform(left, rand, 0, 255);
+		ImageMiscOps.copy(6, 0, 0, 0, width - 6, height, left, right);
+	}
+
+	/**
+	 * If only horizontal paths are considered and the cost is computed from individual pixels then
+	 * the results should be identical to processing the entire image at once
+	 */
+	@Test
+	void horizontalPaths_identical() {
+		SgmStereoDisparity<GrayU8, GrayU8> full = createSgm();
+		full.process(left, right);
+		var expectedSubpixel = new GrayF32(1, 1);
+		full.subpixel(full.getDisparity(), expectedSubpixel);
+
+		// Several different budgets to see if it handles strips which don't evenly divide the image
+		for (int rowsInBudget : new int[]{7, 10, 16, height}) {
+			for (int overlap : new int[]{0, 2}) {
+				if (rowsInBudget - 2*overlap <= 0)
+					continue;
+				long bytes = (long)rowsInBudget*width*disparityRange*SgmStereoDisparityStrips.BYTES_PER_ELEMENT;
+				var alg = new SgmStereoDisparityStrips<>(createSgm(), bytes, overlap);
+
+				var foundSubpixel = new GrayF32(1, 1);
+				alg.process(left, right, foundSubpixel);
+
+				BoofTesting.assertEquals(full.getDisparity(), alg.getDisparity(), 0);
+				BoofTesting.assertEquals(expectedSubpixel, foundSubpixel, 1e-4);
+			}
+		}
+	}
+
+	@Test
+	void selectCoreRows() {
+		long bytesPerRow = (long)width*disparityRange*SgmStereoDisparityStrips.BYTES_PER_ELEMENT;
+
+		// Everything fits
+		var alg = new SgmStereoDisparityStrips<>(createSgm(), bytesPerRow*height, 5);
+		assertEquals(height, alg.selectCoreRows(width, height));
+
+		// Overlap is subtracted from the rows which fit inside the budget
+		alg.setMaxWorkingSetBytes(bytesPerRow*20 + 1);
+		assertEquals(10, alg.selectCoreRows(width, height));
+
+		// Not enough memory for the overlap
+		alg.setMaxWorkingSetBytes(bytesPerRow*10);
+		assertThrows(IllegalArgumentException.class, () -> alg.selectCoreRows(width, height));
+	}
+
+	private SgmStereoDisparity<GrayU8, GrayU8> createSgm() {
+		var sgm = new SgmStereoDisparityError<>(new SgmCostAbsoluteDifference.U8(), new SgmDisparitySelector());
+		sgm.setDisparityMin(disparityMin);
+		sgm.setDisparityRange(disparityRange);
+		sgm.getAggregation().setPathsConsidered(2);
+		return sgm;
+	}
+}
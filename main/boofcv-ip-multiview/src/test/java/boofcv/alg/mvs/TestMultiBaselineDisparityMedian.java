@@ -18,10 +18,12 @@
 
 package boofcv.alg.mvs;
 
+import boofcv.BoofTesting;
 import boofcv.alg.distort.DoNothingPixelTransform_F64;
 import boofcv.alg.distort.PixelTransformAffine_F64;
 import boofcv.alg.misc.ImageMiscOps;
 import boofcv.alg.misc.ImageStatistics;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.calib.CameraPinhole;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
@@ -94,7 +96,7 @@ public class TestMultiBaselineDisparityMedian extends BoofStandardJUnit {
 		alg.initialize(intrinsic, distort);
 		alg.fusedBaseline = parameters.baseline;
 
-		var image = new MultiBaselineDisparityMedian.DisparityImage();
+		MultiBaselineDisparityMedian.DisparityImage image = alg.images.grow();
 		image.disparity.reshape(intrinsic.width, intrinsic.height - 12);
 		ImageMiscOps.fill(image.disparity, 5);
 		image.mask.reshape(image.disparity);
@@ -104,16 +106,16 @@ public class TestMultiBaselineDisparityMedian extends BoofStandardJUnit {
 		// when inverted this will counter act the distort above
 		CommonOps_DDRM.diag(image.undist_to_rect_px, 3, 0.5, 0.5, 1);
 
-		assertTrue(alg.addToFusedImage(image));
+		assertTrue(alg.createFusedImage());
 		for (int y = 0; y < intrinsic.height; y++) {
 			for (int x = 0; x < intrinsic.width; x++) {
 				if (y == 0 || x == 0 || y >= image.disparity.height) {
-					assertEquals(0, alg.fused.get(x, y).size, x + " " + y);
+					assertEquals(0, alg.fused.size(x, y), x + " " + y);
 				} else if (y < 60 && x < 80) {
-					assertEquals(1, alg.fused.get(x, y).size);
-					assertEquals(10, alg.fused.get(x, y).get(0));
+					assertEquals(1, alg.fused.size(x, y));
+					assertEquals(10, alg.fused.get(x, y, 0));
 				} else {
-					assertEquals(0, alg.fused.get(x, y).size);
+					assertEquals(0, alg.fused.size(x, y));
 				}
 			}
 		}
@@ -130,7 +132,7 @@ public class TestMultiBaselineDisparityMedian extends BoofStandardJUnit {
 		alg.initialize(intrinsic, distort);
 		alg.fusedBaseline = parameters.baseline;
 
-		var image = new MultiBaselineDisparityMedian.DisparityImage();
+		MultiBaselineDisparityMedian.DisparityImage image = alg.images.grow();
 		image.disparity.reshape(intrinsic.width, intrinsic.height);
 		image.mask.reshape(image.disparity);
 		image.parameters.setTo(parameters);
@@ -141,11 +143,11 @@ public class TestMultiBaselineDisparityMedian extends BoofStandardJUnit {
 		image.parameters.disparityMin = 0;
 
 		// Every point should be filled in with zero disparity
-		assertTrue(alg.addToFusedImage(image));
+		assertTrue(alg.createFusedImage());
 		for (int y = 0; y < intrinsic.height; y++) {
 			for (int x = 0; x < intrinsic.width; x++) {
-				assertEquals(1, alg.fused.get(x, y).size);
-				assertEquals(0, alg.fused.get(x, y).get(0));
+				assertEquals(1, alg.fused.size(x, y));
+				assertEquals(0, alg.fused.get(x, y, 0));
 			}
 		}
 	}
@@ -160,14 +162,19 @@ public class TestMultiBaselineDisparityMedian extends BoofStandardJUnit {
 		alg.initialize(intrinsic, new DoNothingPixelTransform_F64());
 
 		// add elements to each fused pixel that will be easy to compute the solution for
-		int counter = 0;
-		for (int y = 0; y < 8; y++) {
-			for (int x = 0; x < 10; x++, counter++) {
-				for (int i = 0; i < counter; i++) {
-					alg.fused.get(x, y).add(i + 0.5f);
-				}
+		alg.fused.startCounting();
+		for (int pixel = 0; pixel < 80; pixel++) {
+			for (int i = 0; i < pixel; i++) {
+				alg.fused.countValue(pixel);
+			}
+		}
+		alg.fused.startFilling();
+		for (int pixel = 0; pixel < 80; pixel++) {
+			for (int i = 0; i < pixel; i++) {
+				alg.fused.addValue(pixel, i + 0.5f);
 			}
 		}
+		alg.fused.finishFilling();
 
 		GrayF32 found = new GrayF32(10, 8);
 		alg.computeFused(found);
@@ -190,6 +197,71 @@ public class TestMultiBaselineDisparityMedian extends BoofStandardJUnit {
 		}
 	}
 
+	/** Values from multiple images should be packed into each pixel in the order the images were added */
+	@Test void createFusedImage_multiple() {
+		intrinsic.fsetShape(10, 12);
+
+		var alg = new MultiBaselineDisparityMedian();
+		alg.initialize(intrinsic, new DoNothingPixelTransform_F64());
+		alg.fusedBaseline = parameters.baseline;
+
+		for (int i = 0; i < 3; i++) {
+			MultiBaselineDisparityMedian.DisparityImage image = alg.images.grow();
+			image.disparity.reshape(intrinsic.width, intrinsic.height);
+			ImageMiscOps.fill(image.disparity, 5 + i);
+			image.mask.reshape(image.disparity);
+			// each image covers a different number of rows
+			ImageMiscOps.fillRectangle(image.mask, 1, 0, 0, intrinsic.width, 4*(i + 1));
+			image.parameters.setTo(parameters);
+			CommonOps_DDRM.setIdentity(image.undist_to_rect_px);
+		}
+
+		assertTrue(alg.createFusedImage());
+		for (int y = 0; y < intrinsic.height; y++) {
+			for (int x = 0; x < intrinsic.width; x++) {
+				int expected = 3 - y/4;
+				assertEquals(expected, alg.fused.size(x, y));
+				for (int i = 0; i < expected; i++) {
+					// disparity is converted with same parameters so only the offset changes
+					assertEquals(10 + (3 - expected + i), alg.fused.get(x, y, i), UtilEjml.TEST_F32);
+				}
+			}
+		}
+	}
+
+	/** The concurrent and single threaded results should be identical */
+	@Test void compareConcurrent() {
+		var distort = new PixelTransformAffine_F64();
+		distort.getModel().setTo(1.1, 0.05, 0, 0.9, 1, 2);
+		intrinsic.width = 100;
+		intrinsic.height = 80;
+
+		var expected = new GrayF32(1, 1);
+		var found = new GrayF32(1, 1);
+		try {
+			for (boolean concurrent : new boolean[]{false, true}) {
+				BoofConcurrency.USE_CONCURRENT = concurrent;
+				var alg = new MultiBaselineDisparityMedian();
+				alg.initialize(intrinsic, distort);
+				for (int i = 0; i < 4; i++) {
+					var disparity = new GrayF32(90, 70);
+					var mask = new GrayU8(90, 70);
+					ImageMiscOps.fillUniform(disparity, rand, 0, 95);
+					ImageMiscOps.fillUniform(mask, rand, 0, 2);
+					DMatrixRMaj rect = CommonOps_DDRM.identity(3);
+					rect.data[2] = rand.nextDouble()*4 - 2;
+					rect.data[5] = rand.nextDouble()*4 - 2;
+					alg.addDisparity(disparity, mask, parameters, rect);
+				}
+				assertTrue(alg.process(concurrent ? found : expected));
+			}
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = true;
+		}
+
+		BoofTesting.assertEquals(expected, found, 0.0);
+	}
+
 	/** See if it handles the change in disparity parameters between images correctly */
 	@Test void differentDisparityParameters() {
 		checkDisparityConversion(5, 0.5, 1.0, (5 + 5)*2.0);
@@ -217,7 +289,7 @@ public class TestMultiBaselineDisparityMedian extends BoofStandardJUnit {
 		alg.initialize(intrinsic, new DoNothingPixelTransform_F64());
 		alg.fusedBaseline = 500; // keep the baseline the same, yes this should be checked too but isn't here
 
-		var image = new MultiBaselineDisparityMedian.DisparityImage();
+		MultiBaselineDisparityMedian.DisparityImage image = alg.images.grow();
 		image.disparity.reshape(width, height);
 		ImageMiscOps.fill(image.disparity, imageValue);
 		image.mask.reshape(image.disparity);
@@ -225,15 +297,15 @@ public class TestMultiBaselineDisparityMedian extends BoofStandardJUnit {
 		image.parameters.setTo(param2);
 		CommonOps_DDRM.setIdentity(image.undist_to_rect_px);
 
-		assertTrue(alg.addToFusedImage(image));
+		assertTrue(alg.createFusedImage());
 		for (int y = 0; y < height; y++) {
 			for (int x = 0; x < width; x++) {
 				if (expected > 0) {
-					assertEquals(1, alg.fused.get(x, y).size);
-					float found = alg.fused.get(x, y).get(0);
+					assertEquals(1, alg.fused.size(x, y));
+					float found = alg.fused.get(x, y, 0);
 					assertEquals(expected, found, UtilEjml.TEST_F32);
 				} else {
-					assertEquals(0, alg.fused.get(x, y).size);
+					assertEquals(0, alg.fused.size(x, y));
 				}
 			}
 		}
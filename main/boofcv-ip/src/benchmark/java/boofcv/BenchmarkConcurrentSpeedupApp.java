@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.*;
+
+/**
+ * Runs the benchmarks created by AutocodeConcurrentBenchmarkApp and summarizes the speedup of each concurrent
+ * operation relative to its single thread twin for every image size. The crossover is the smallest benchmarked
+ * image size, in pixels, where the concurrent implementation is faster at that size and all larger sizes.
+ * This is intended to be used to tune the minimum image size at which concurrent code is invoked.
+ *
+ * <pre>
+ * Arguments: [regex of benchmarks to run] [output CSV file]
+ * </pre>
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkConcurrentSpeedupApp {
+	public static final String SUFFIX_SINGLE = "_single";
+	public static final String SUFFIX_MT = "_MT";
+
+	// Operation name -> size -> results
+	Map<String, Map<Integer, Pair>> operations = new TreeMap<>();
+
+	/**
+	 * Adds the results from a single benchmark
+	 *
+	 * @param benchmark Full name of the benchmark, including the class name.
+	 * @param size Width and height of the image
+	 * @param throughput Number of operations per second
+	 */
+	public void add( String benchmark, int size, double throughput ) {
+		boolean single;
+		String op;
+		if (benchmark.endsWith(SUFFIX_SINGLE)) {
+			single = true;
+			op = benchmark.substring(0, benchmark.length() - SUFFIX_SINGLE.length());
+		} else if (benchmark.endsWith(SUFFIX_MT)) {
+			single = false;
+			op = benchmark.substring(0, benchmark.length() - SUFFIX_MT.length());
+		} else {
+			return;
+		}
+		// Strip off the package name to make it easier to read
+		int dot = op.lastIndexOf('.', op.lastIndexOf('.') - 1);
+		op = op.substring(dot + 1);
+
+		Pair p = operations.computeIfAbsent(op, k -> new TreeMap<>()).computeIfAbsent(size, k -> new Pair());
+		if (single)
+			p.single = throughput;
+		else
+			p.concurrent = throughput;
+	}
+
+	/**
+	 * Returns the smallest size, in pixels, where the concurrent implementation is faster at this size and every
+	 * larger size. If it's never faster then -1 is returned.
+	 */
+	public int crossover( String op ) {
+		int best = -1;
+		List<Map.Entry<Integer, Pair>> entries = new ArrayList<>(operations.get(op).entrySet());
+		for (int i = entries.size() - 1; i >= 0; i--) {
+			Pair p = entries.get(i).getValue();
+			if (!p.isComplete() || p.speedup() <= 1.0)
+				break;
+			int size = entries.get(i).getKey();
+			best = size*size;
+		}
+		return best;
+	}
+
+	public void printSummary( PrintStream out ) {
+		out.printf("%-60s %6s %14s %14s %8s\n", "operation", "size", "single (op/s)", "MT (op/s)", "speedup");
+		for (String op : operations.keySet()) {
+			for (Map.Entry<Integer, Pair> e : operations.get(op).entrySet()) {
+				Pair p = e.getValue();
+				if (!p.isComplete())
+					continue;
+				out.printf("%-60s %6d %14.2f %14.2f %8.2f\n", op, e.getKey(), p.single, p.concurrent, p.speedup());
+			}
+		}
+		out.println();
+		out.printf("%-60s %12s\n", "operation", "crossover");
+		for (String op : operations.keySet()) {
+			out.printf("%-60s %12d\n", op, crossover(op));
+		}
+	}
+
+	public void saveCsv( PrintStream out ) {
+		out.println("# operation,size,single,concurrent,speedup");
+		for (String op : operations.keySet()) {
+			for (Map.Entry<Integer, Pair> e : operations.get(op).entrySet()) {
+				Pair p = e.getValue();
+				if (!p.isComplete())
+					continue;
+				out.printf("%s,%d,%f,%f,%f\n", op, e.getKey(), p.single, p.concurrent, p.speedup());
+			}
+		}
+	}
+
+	/**
+	 * Throughput of the single thread and concurrent implementations
+	 */
+	public static class Pair {
+		public double single = -1;
+		public double concurrent = -1;
+
+		public boolean isComplete() {
+			return single > 0 && concurrent > 0;
+		}
+
+		public double speedup() {
+			return concurrent/single;
+		}
+	}
+
+	public static void main( String[] args ) throws RunnerException, FileNotFoundException {
+		String include = args.length > 0 ? args[0] : "Benchmark\\w+_MT";
+
+		Options opt = new OptionsBuilder()
+				.include(include)
+				.build();
+
+		Collection<RunResult> results = new Runner(opt).run();
+
+		var app = new BenchmarkConcurrentSpeedupApp();
+		for (RunResult r : results) {
+			int size = Integer.parseInt(r.getParams().getParam("size"));
+			app.add(r.getParams().getBenchmark(), size, r.getPrimaryResult().getScore());
+		}
+
+		app.printSummary(System.out);
+		if (args.length > 1) {
+			try (PrintStream out = new PrintStream(args[1])) {
+				app.saveCsv(out);
+			}
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.filter.binary.impl.ThresholdBlockMean_U8;
+import boofcv.alg.filter.binary.impl.ThresholdBlockMinMax_U8;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.ConfigLength;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.InterleavedS32;
+import boofcv.struct.image.InterleavedU8;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of {@link ThresholdBlock_MT} against {@link ThresholdBlock}. It's written by hand
+ * since ThresholdBlock_MT isn't generated from its single thread twin, but it follows the same naming convention
+ * as the benchmarks created by AutocodeConcurrentBenchmarkApp so that BenchmarkConcurrentSpeedupApp will
+ * include it.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkThresholdBlock_MT {
+	@Param({"50", "100", "200", "500", "1000", "2000"})
+	public int size;
+
+	GrayU8 input = new GrayU8(1, 1);
+	GrayU8 output = new GrayU8(1, 1);
+
+	ThresholdBlock<GrayU8, GrayU8> meanSingle, meanMT;
+	ThresholdBlock<GrayU8, InterleavedU8> minMaxSingle, minMaxMT;
+	ThresholdBlock<GrayU8, InterleavedS32> otsuSingle, otsuMT;
+
+	@Setup public void setup() {
+		Random rand = new Random(234);
+		input.reshape(size, size);
+		output.reshape(size, size);
+		ImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		ConfigLength region = ConfigLength.fixed(20);
+		meanSingle = new ThresholdBlock<>(new ThresholdBlockMean_U8(1.0, true), region, true, GrayU8.class);
+		meanMT = new ThresholdBlock_MT<>(new ThresholdBlockMean_U8(1.0, true), region, true, GrayU8.class);
+		minMaxSingle = new ThresholdBlock<>(new ThresholdBlockMinMax_U8(5, 1.0, true), region, true, GrayU8.class);
+		minMaxMT = new ThresholdBlock_MT<>(new ThresholdBlockMinMax_U8(5, 1.0, true), region, true, GrayU8.class);
+		otsuSingle = new ThresholdBlock<>(new ThresholdBlockOtsu(true, 0.1, 1.0, true), region, true, GrayU8.class);
+		otsuMT = new ThresholdBlock_MT<>(new ThresholdBlockOtsu(true, 0.1, 1.0, true), region, true, GrayU8.class);
+	}
+
+	@Benchmark public void mean_single() {meanSingle.process(input, output);}
+	@Benchmark public void mean_MT() {meanMT.process(input, output);}
+
+	@Benchmark public void minMax_single() {minMaxSingle.process(input, output);}
+	@Benchmark public void minMax_MT() {minMaxMT.process(input, output);}
+
+	@Benchmark public void otsu_single() {otsuSingle.process(input, output);}
+	@Benchmark public void otsu_MT() {otsuMT.process(input, output);}
+
+	public static void main( String[] args ) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include(BenchmarkThresholdBlock_MT.class.getSimpleName())
+				.build();
+
+		new Runner(opt).run();
+	}
+}
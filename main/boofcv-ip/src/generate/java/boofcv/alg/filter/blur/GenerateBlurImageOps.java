@@ -233,7 +233,7 @@ public class GenerateBlurImageOps  extends CodeGeneratorBase {
 				"\n" +
 				"\t\tif (!processed) {\n" +
 				"\t\t\twork = BoofMiscOps.checkDeclare(work, DogArray_I32::new);\n" +
-				"\t\t\tif (BoofConcurrency.USE_CONCURRENT) {\n" +
+				"\t\t\tif (BoofConcurrency.runConcurrent(ImplMedianHistogramInner_MT.class, input.width*input.height)) {\n" +
 				"\t\t\t\tImplMedianHistogramInner_MT.process(input, output, radiusX, radiusY, work);\n" +
 				"\t\t\t} else {\n" +
 				"\t\t\t\tImplMedianHistogramInner.process(input, output, radiusX, radiusY, work);\n" +
@@ -265,7 +265,7 @@ public class GenerateBlurImageOps  extends CodeGeneratorBase {
 				"\t\tboolean processed = BOverrideBlurImageOps.invokeNativeMedian(input, output, radiusX, radiusY);\n" +
 				"\n" +
 				"\t\tif (!processed) {\n" +
-				"\t\t\tif (BoofConcurrency.USE_CONCURRENT) {\n" +
+				"\t\t\tif (BoofConcurrency.runConcurrent(ImplMedianSortNaive_MT.class, input.width*input.height)) {\n" +
 				"\t\t\t\tImplMedianSortNaive_MT.process(input, output, radiusX, radiusY, work);\n" +
 				"\t\t\t} else {\n" +
 				"\t\t\t\tImplMedianSortNaive.process(input, output, radiusX, radiusY, work);\n" +
@@ -98,7 +98,7 @@ public class GenerateConvolveImageMean extends CodeGeneratorBase {
 				"\t\t\tConvolveImageNormalized.horizontal(kernel, input, output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tConvolveNormalized_JustBorder_SB.horizontal(kernel, input, output);\n" +
-				"\t\t\tif (BoofConcurrency.USE_CONCURRENT) {\n" +
+				"\t\t\tif (BoofConcurrency.runConcurrent(ImplConvolveMean_MT.class, input.width*input.height)) {\n" +
 				"\t\t\t\tImplConvolveMean_MT.horizontal(input, output, offset, length);\n" +
 				"\t\t\t} else {\n" +
 				"\t\t\t\tImplConvolveMean.horizontal(input, output, offset, length);\n" +
@@ -132,7 +132,7 @@ public class GenerateConvolveImageMean extends CodeGeneratorBase {
 				"\t\t\tConvolveImageNormalized.vertical(kernel, input, output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tConvolveNormalized_JustBorder_SB.vertical(kernel, input, output);\n" +
-				"\t\t\tif (BoofConcurrency.USE_CONCURRENT) {\n" +
+				"\t\t\tif (BoofConcurrency.runConcurrent(ImplConvolveMean_MT.class, input.width*input.height)) {\n" +
 				"\t\t\t\tImplConvolveMean_MT.vertical(input, output, offset, length, workspaces);\n" +
 				"\t\t\t} else {\n" +
 				"\t\t\t\tImplConvolveMean.vertical(input, output, offset, length, workspaces);\n" +
@@ -166,7 +166,7 @@ public class GenerateConvolveImageMean extends CodeGeneratorBase {
 				"\t\t\tConvolveJustBorder_General_SB.horizontal(kernel, binput, output"+divisor+");\n" +
 				"\t\t}\n" +
 				"\t\tif (length <= input.width) {\n" +
-				"\t\t\tif(BoofConcurrency.USE_CONCURRENT) {\n" +
+				"\t\t\tif (BoofConcurrency.runConcurrent(ImplConvolveMean_MT.class, input.width*input.height)) {\n" +
 				"\t\t\t\tImplConvolveMean_MT.horizontal(input, output, offset, length);\n" +
 				"\t\t\t} else {\n" +
 				"\t\t\t\tImplConvolveMean.horizontal(input, output, offset, length);\n" +
@@ -200,7 +200,7 @@ public class GenerateConvolveImageMean extends CodeGeneratorBase {
 				"\t\t\tConvolveJustBorder_General_SB.vertical(kernel, binput, output"+divisor+");\n" +
 				"\t\t}\n" +
 				"\t\tif (length <= input.height) {\n" +
-				"\t\t\tif(BoofConcurrency.USE_CONCURRENT) {\n" +
+				"\t\t\tif (BoofConcurrency.runConcurrent(ImplConvolveMean_MT.class, input.width*input.height)) {\n" +
 				"\t\t\t\tImplConvolveMean_MT.vertical(input, output, offset, length, workspaces);\n" +
 				"\t\t\t} else {\n" +
 				"\t\t\t\tImplConvolveMean.vertical(input, output, offset, length, workspaces);\n" +
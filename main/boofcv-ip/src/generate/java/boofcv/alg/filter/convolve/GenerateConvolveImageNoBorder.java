@@ -155,7 +155,9 @@ public class GenerateConvolveImageNoBorder extends CodeGeneratorBase {
 				"\t\t\t\t\t\t\t\t  "+inputName+" input, "+outputName+" output"+divideArg+workspaceArg+") {\n" +
 				"\t\tInputSanityCheck.checkSameShape(input, output);\n" +
 				"\n");
-		out.print("\t\tif (BoofConcurrency.USE_CONCURRENT) {\n");
+		String keyMT = singleBand ? "ConvolveImageStandard_SB_MT" : "ConvolveImageStandard_IL_MT";
+		String numPixels = singleBand ? "input.width*input.height" : "input.width*input.height*input.numBands";
+		out.print("\t\tif (BoofConcurrency.runConcurrent(" + keyMT + ".class, " + numPixels + ")) {\n");
 		if( singleBand ) {
 			if (unrolled)
 				out.print("\t\t\tif (!ConvolveImageUnrolled_SB_MT_"+typeIn+"_"+typeOut+divideSuf+"."+name+"(kernel, input, output"+divideInput+workspaceInput+"))\n\t");
@@ -112,6 +112,11 @@ public class GenerateBilinearRectangle extends CodeGeneratorBase {
 				"\t}\n" +
 				"\n" +
 				"\t@Override\n" +
+				"\tpublic "+className+" copy() {\n" +
+				"\t\treturn new "+className+"();\n" +
+				"\t}\n" +
+				"\n" +
+				"\t@Override\n" +
 				"\tpublic void region(float tl_x, float tl_y, GrayF32 output ) {\n" +
 				"\t\tif( tl_x < 0 || tl_y < 0 || tl_x + output.width > orig.width || tl_y + output.height > orig.height ) {\n" +
 				"\t\t\tthrow new IllegalArgumentException(\"Region is outside of the image\");\n" +
@@ -82,9 +82,13 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				generateDocString("Peter Abeles") +
 				"public class " + className + " {\n" +
 				"\t/**\n" +
-				"\t * If an image has fewer pixels than this it will not run a concurrent algorithm. The overhead makes it slower.\n" +
+				"\t * If an image has fewer pixels than this it will not run a concurrent algorithm. Only used if no threshold\n" +
+				"\t * has been specified for ImplPixelMath_MT in BoofConcurrency.\n" +
+				"\t *\n" +
+				"\t * @deprecated Use {@link BoofConcurrency#setThreshold} with ImplPixelMath_MT.class instead\n" +
 				"\t */\n" +
-				"\tpublic static int SMALL_IMAGE = 100*100;\n" +
+				"\t@Deprecated\n" +
+				"\tpublic static int SMALL_IMAGE = BoofConcurrency.SMALL_IMAGE;\n" +
 				"\n");
 	}
 
@@ -148,8 +152,8 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 						"\t\toutput.reshape(input.width,input.height);\n" +
 						"\n" +
 						"\t\tint columns = " + columns + ";\n" +
-						"\t\tint N = input.width*input.height;\n" +
-						"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+						"\t\tint N = columns*input.height;\n" +
+						"\t\tif( BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {\n" +
 						"\t\t\tImplPixelMath_MT." + funcName + "(input.data, input.startIndex, input.stride,\n" +
 						"\t\t\t\t\toutput.data, output.startIndex, output.stride,\n" +
 						"\t\t\t\t\tinput.height, columns);\n" +
@@ -191,8 +195,8 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 						"\t\toutput.reshape(input.width,input.height);\n" +
 						"\n" +
 						"\t\tint columns = "+columns+";\n" +
-						"\t\tint N = input.width*input.height;\n" +
-						"\t\tif (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+						"\t\tint N = columns*input.height;\n" +
+						"\t\tif (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {\n" +
 						"\t\t\tImplPixelMath_MT.operator1(input.data, input.startIndex, input.stride,\n" +
 						"\t\t\t\t\toutput.data, output.startIndex, output.stride,\n" +
 						"\t\t\t\t\tinput.height, columns, function);\n" +
@@ -237,8 +241,8 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 						"\t\toutput.reshape(imgA.width,imgA.height);\n" +
 						"\n" +
 						"\t\tint columns = " + columns + ";\n" +
-						"\t\tint N = imgA.width*imgA.height;\n" +
-						"\t\tif (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+						"\t\tint N = columns*imgA.height;\n" +
+						"\t\tif (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {\n" +
 						"\t\t\tImplPixelMath_MT.operator2(imgA.data, imgA.startIndex, imgA.stride,\n" +
 						"\t\t\t\t\timgB.data, imgB.startIndex, imgB.stride,\n" +
 						"\t\t\t\t\toutput.data, output.startIndex, output.stride,\n" +
@@ -346,8 +350,8 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 						"\t\t" + reshape + "\n" +
 						"\n" +
 						"\t\tint columns = " + columns + ";\n" +
-						"\t\tint N = input.width*input.height;\n" +
-						"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+						"\t\tint N = columns*input.height;\n" +
+						"\t\tif( BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {\n" +
 						"\t\t\tImplPixelMath_MT." + funcArrayName + "(input.data,input.startIndex,input.stride," + varName + ", lower, upper ,\n" +
 						"\t\t\t\t\toutput.data,output.startIndex,output.stride,\n" +
 						"\t\t\t\t\tinput.height,columns);\n" +
@@ -371,8 +375,8 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 						"\t\t" + reshape + "\n" +
 						"\n" +
 						"\t\tint columns = " + columns + ";\n" +
-						"\t\tint N = input.width*input.height;\n" +
-						"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+						"\t\tint N = columns*input.height;\n" +
+						"\t\tif( BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {\n" +
 						"\t\t\tImplPixelMath_MT." + funcArrayName + "(input.data,input.startIndex,input.stride," + varName + " , \n" +
 						"\t\t\t\t\toutput.data,output.startIndex,output.stride,\n" +
 						"\t\t\t\t\tinput.height,columns);\n" +
@@ -417,7 +421,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t\toutput.reshape(imgA.width,imgA.height);\n" +
 				"\n" +
 				"\t\tint N = imgA.width*imgA.height;\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+				"\t\tif( BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {\n" +
 				"\t\t\tImplPixelMath_MT.diffAbs(imgA, imgB, output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplPixelMath.diffAbs(imgA, imgB, output);\n" +
@@ -440,7 +444,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t\toutput.reshape(imgA.width,imgA.height);\n" +
 				"\n" +
 				"\t\tint N = imgA.width*imgA.height;\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+				"\t\tif( BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {\n" +
 				"\t\t\tImplPixelMath_MT.add(imgA, imgB, output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplPixelMath.add(imgA, imgB, output);\n" +
@@ -464,7 +468,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t\toutput.reshape(imgA.width,imgA.height);\n" +
 				"\n" +
 				"\t\tint N = imgA.width*imgA.height;\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+				"\t\tif( BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {\n" +
 				"\t\t\tImplPixelMath_MT.subtract(imgA, imgB, output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplPixelMath.subtract(imgA, imgB, output);\n" +
@@ -487,7 +491,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t\toutput.reshape(imgA.width,imgA.height);\n" +
 				"\n" +
 				"\t\tint N = imgA.width*imgA.height;\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+				"\t\tif( BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {\n" +
 				"\t\t\tImplPixelMath_MT.multiply(imgA, imgB, output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplPixelMath.multiply(imgA, imgB, output);\n" +
@@ -511,7 +515,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t\toutput.reshape(imgA.width,imgA.height);\n" +
 				"\n" +
 				"\t\tint N = imgA.width*imgA.height;\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+				"\t\tif( BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {\n" +
 				"\t\t\tImplPixelMath_MT.divide(imgA,imgB,output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplPixelMath.divide(imgA,imgB,output);\n" +
@@ -575,8 +579,8 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 						"\t\toutput.reshape(input.width,input.height);\n" +
 						"\n" +
 						columns +
-						"\t\tint N = input.width*input.height;\n" +
-						"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+						"\t\tint N = " + width + "*input.height;\n" +
+						"\t\tif( BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {\n" +
 						"\t\t\tImplPixelMath_MT." + op + "(\n" +
 						"\t\t\t\t\tinput.data,input.startIndex,input.stride,\n" +
 						"\t\t\t\t\toutput.data,output.startIndex,output.stride,\n" +
@@ -599,8 +603,8 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 						"\t\toutput.reshape(input.width,input.height);\n" +
 						"\n" +
 						columns +
-						"\t\tint N = input.width*input.height;\n" +
-						"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+						"\t\tint N = " + width + "*input.height;\n" +
+						"\t\tif( BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {\n" +
 						"\t\t\tImplPixelMath_MT." + op + "(\n" +
 						"\t\t\t\t\tinput.data,input.startIndex,input.stride,val,\n" +
 						"\t\t\t\t\toutput.data,output.startIndex,output.stride,\n" +
@@ -628,7 +632,7 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t\tstdev.reshape(mean.width,mean.height);\n" +
 				"\n" +
 				"\t\tint N = mean.width*mean.height;\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {\n" +
+				"\t\tif( BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {\n" +
 				"\t\t\tImplPixelMath_MT.stdev(mean,pow2,stdev);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplPixelMath.stdev(mean,pow2,stdev);\n" +
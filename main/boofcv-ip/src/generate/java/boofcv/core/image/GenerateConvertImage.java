@@ -148,7 +148,8 @@ public class GenerateConvertImage extends CodeGeneratorBase {
 				"\t\t\toutput.reshape(input.width,input.height);\n" +
 				"\t\t}\n" +
 				"\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT ) {\n" +
+				"\t\tint N = input.width*input.height*input.getNumBands();\n" +
+				"\t\tif (BoofConcurrency.runConcurrent(ImplConvertPlanarToGray_MT.class, N)) {\n" +
 				"\t\t\tImplConvertPlanarToGray_MT.average(input,output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplConvertPlanarToGray.average(input,output);\n" +
@@ -178,7 +179,8 @@ public class GenerateConvertImage extends CodeGeneratorBase {
 				"\t\t\toutput.reshape(input.width,input.height);\n" +
 				"\t\t}\n" +
 				"\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT ) {\n" +
+				"\t\tint N = input.width*input.height*input.numBands;\n" +
+				"\t\tif (BoofConcurrency.runConcurrent(ConvertInterleavedToSingle_MT.class, N)) {\n" +
 				"\t\t\tConvertInterleavedToSingle_MT.average(input,output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tConvertInterleavedToSingle.average(input,output);\n" +
@@ -206,7 +208,7 @@ public class GenerateConvertImage extends CodeGeneratorBase {
 				"\t\t\toutput.reshape(input.width,input.height,input.numBands);\n" +
 				"\t\t}\n" +
 				"\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT ) {\n" +
+				"\t\tif (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.numBands)) {\n" +
 				"\t\t\tImplConvertImage_MT.convert(input,output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplConvertImage.convert(input,output);\n" +
@@ -236,7 +238,7 @@ public class GenerateConvertImage extends CodeGeneratorBase {
 				"\t\t\toutput.reshape(input.width,input.height,input.numBands);\n" +
 				"\t\t}\n" +
 				"\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT ) {\n" +
+				"\t\tif (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.numBands)) {\n" +
 				"\t\t\tImplConvertImage_MT.convert"+type+"(input,output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplConvertImage.convert"+type+"(input,output);\n" +
@@ -264,7 +266,7 @@ public class GenerateConvertImage extends CodeGeneratorBase {
 				"\t\t\toutput.reshape(input.width,input.height,input.getNumBands());\n" +
 				"\t\t}\n" +
 				"\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT ) {\n" +
+				"\t\tif (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.getNumBands())) {\n" +
 				"\t\t\tImplConvertImage_MT.convert(input,output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplConvertImage.convert(input,output);\n" +
@@ -294,7 +296,7 @@ public class GenerateConvertImage extends CodeGeneratorBase {
 				"\t\t\toutput.reshape(input.width,input.height,input.getNumBands());\n" +
 				"\t\t}\n" +
 				"\n" +
-				"\t\tif( BoofConcurrency.USE_CONCURRENT ) {\n" +
+				"\t\tif (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.getNumBands())) {\n" +
 				"\t\t\tImplConvertImage_MT.convert"+type+"(input,output);\n" +
 				"\t\t} else {\n" +
 				"\t\t\tImplConvertImage.convert"+type+"(input,output);\n" +
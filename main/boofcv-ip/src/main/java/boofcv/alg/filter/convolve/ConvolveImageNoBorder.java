@@ -58,7 +58,7 @@ public class ConvolveImageNoBorder {
 								  GrayF32 input, GrayF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_F32_F32.horizontal(kernel, input, output))
 				ConvolveImageStandard_SB_MT.horizontal(kernel, input, output);
 		} else {
@@ -71,7 +71,7 @@ public class ConvolveImageNoBorder {
 								  GrayF32 input, GrayF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_F32_F32.vertical(kernel, input, output))
 				ConvolveImageStandard_SB_MT.vertical(kernel, input, output);
 		} else {
@@ -84,7 +84,7 @@ public class ConvolveImageNoBorder {
 								  GrayF32 input, GrayF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_F32_F32.convolve(kernel, input, output))
 				ConvolveImageStandard_SB_MT.convolve(kernel, input, output);
 		} else {
@@ -97,7 +97,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedF32 input, InterleavedF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.horizontal(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.horizontal(kernel, input, output);
@@ -108,7 +108,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedF32 input, InterleavedF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.vertical(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.vertical(kernel, input, output);
@@ -119,7 +119,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedF32 input, InterleavedF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.convolve(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.convolve(kernel, input, output);
@@ -130,7 +130,7 @@ public class ConvolveImageNoBorder {
 								  GrayF64 input, GrayF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_F64_F64.horizontal(kernel, input, output))
 				ConvolveImageStandard_SB_MT.horizontal(kernel, input, output);
 		} else {
@@ -143,7 +143,7 @@ public class ConvolveImageNoBorder {
 								  GrayF64 input, GrayF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_F64_F64.vertical(kernel, input, output))
 				ConvolveImageStandard_SB_MT.vertical(kernel, input, output);
 		} else {
@@ -156,7 +156,7 @@ public class ConvolveImageNoBorder {
 								  GrayF64 input, GrayF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_F64_F64.convolve(kernel, input, output))
 				ConvolveImageStandard_SB_MT.convolve(kernel, input, output);
 		} else {
@@ -169,7 +169,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedF64 input, InterleavedF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.horizontal(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.horizontal(kernel, input, output);
@@ -180,7 +180,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedF64 input, InterleavedF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.vertical(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.vertical(kernel, input, output);
@@ -191,7 +191,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedF64 input, InterleavedF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.convolve(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.convolve(kernel, input, output);
@@ -202,7 +202,7 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_U8_I16.horizontal(kernel, input, output))
 				ConvolveImageStandard_SB_MT.horizontal(kernel, input, output);
 		} else {
@@ -215,7 +215,7 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_U8_I16.vertical(kernel, input, output))
 				ConvolveImageStandard_SB_MT.vertical(kernel, input, output);
 		} else {
@@ -228,7 +228,7 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_U8_I16.convolve(kernel, input, output))
 				ConvolveImageStandard_SB_MT.convolve(kernel, input, output);
 		} else {
@@ -241,7 +241,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.horizontal(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.horizontal(kernel, input, output);
@@ -252,7 +252,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.vertical(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.vertical(kernel, input, output);
@@ -263,7 +263,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.convolve(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.convolve(kernel, input, output);
@@ -274,7 +274,7 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			ConvolveImageStandard_SB_MT.horizontal(kernel, input, output);
 		} else {
 			ConvolveImageStandard_SB.horizontal(kernel, input, output);
@@ -285,7 +285,7 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			ConvolveImageStandard_SB_MT.vertical(kernel, input, output);
 		} else {
 			ConvolveImageStandard_SB.vertical(kernel, input, output);
@@ -296,7 +296,7 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			ConvolveImageStandard_SB_MT.convolve(kernel, input, output);
 		} else {
 			ConvolveImageStandard_SB.convolve(kernel, input, output);
@@ -307,7 +307,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.horizontal(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.horizontal(kernel, input, output);
@@ -318,7 +318,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.vertical(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.vertical(kernel, input, output);
@@ -329,7 +329,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.convolve(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.convolve(kernel, input, output);
@@ -340,7 +340,7 @@ public class ConvolveImageNoBorder {
 								  GrayU16 input, GrayI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			ConvolveImageStandard_SB_MT.vertical(kernel, input, output, divisor);
 		} else {
 			ConvolveImageStandard_SB.vertical(kernel, input, output, divisor);
@@ -351,7 +351,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedU16 input, InterleavedI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.vertical(kernel, input, output, divisor);
 		} else {
 			ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
@@ -362,7 +362,7 @@ public class ConvolveImageNoBorder {
 								  GrayS16 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_S16_I16.horizontal(kernel, input, output))
 				ConvolveImageStandard_SB_MT.horizontal(kernel, input, output);
 		} else {
@@ -375,7 +375,7 @@ public class ConvolveImageNoBorder {
 								  GrayS16 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_S16_I16.vertical(kernel, input, output))
 				ConvolveImageStandard_SB_MT.vertical(kernel, input, output);
 		} else {
@@ -388,7 +388,7 @@ public class ConvolveImageNoBorder {
 								  GrayS16 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_S16_I16.convolve(kernel, input, output))
 				ConvolveImageStandard_SB_MT.convolve(kernel, input, output);
 		} else {
@@ -401,7 +401,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedS16 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.horizontal(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.horizontal(kernel, input, output);
@@ -412,7 +412,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedS16 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.vertical(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.vertical(kernel, input, output);
@@ -423,7 +423,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedS16 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.convolve(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.convolve(kernel, input, output);
@@ -434,7 +434,7 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_U8_I8_Div.horizontal(kernel, input, output, divisor))
 				ConvolveImageStandard_SB_MT.horizontal(kernel, input, output, divisor);
 		} else {
@@ -447,7 +447,7 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_U8_I8_Div.vertical(kernel, input, output, divisor))
 				ConvolveImageStandard_SB_MT.vertical(kernel, input, output, divisor);
 		} else {
@@ -460,7 +460,7 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayI8 output, int divisor, @Nullable GrowArray<DogArray_I32> work) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_U8_I8_Div.convolve(kernel, input, output, divisor, work))
 				ConvolveImageStandard_SB_MT.convolve(kernel, input, output, divisor, work);
 		} else {
@@ -473,7 +473,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.horizontal(kernel, input, output, divisor);
 		} else {
 			ConvolveImageStandard_IL.horizontal(kernel, input, output, divisor);
@@ -484,7 +484,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.vertical(kernel, input, output, divisor);
 		} else {
 			ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
@@ -495,7 +495,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.convolve(kernel, input, output, divisor);
 		} else {
 			ConvolveImageStandard_IL.convolve(kernel, input, output, divisor);
@@ -506,7 +506,7 @@ public class ConvolveImageNoBorder {
 								  GrayS16 input, GrayI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_S16_I16_Div.horizontal(kernel, input, output, divisor))
 				ConvolveImageStandard_SB_MT.horizontal(kernel, input, output, divisor);
 		} else {
@@ -519,7 +519,7 @@ public class ConvolveImageNoBorder {
 								  GrayS16 input, GrayI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_S16_I16_Div.vertical(kernel, input, output, divisor))
 				ConvolveImageStandard_SB_MT.vertical(kernel, input, output, divisor);
 		} else {
@@ -532,7 +532,7 @@ public class ConvolveImageNoBorder {
 								  GrayS16 input, GrayI16 output, int divisor, @Nullable GrowArray<DogArray_I32> work) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_S16_I16_Div.convolve(kernel, input, output, divisor, work))
 				ConvolveImageStandard_SB_MT.convolve(kernel, input, output, divisor, work);
 		} else {
@@ -545,7 +545,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedS16 input, InterleavedI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.horizontal(kernel, input, output, divisor);
 		} else {
 			ConvolveImageStandard_IL.horizontal(kernel, input, output, divisor);
@@ -556,7 +556,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedS16 input, InterleavedI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.vertical(kernel, input, output, divisor);
 		} else {
 			ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
@@ -567,7 +567,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedS16 input, InterleavedI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.convolve(kernel, input, output, divisor);
 		} else {
 			ConvolveImageStandard_IL.convolve(kernel, input, output, divisor);
@@ -578,7 +578,7 @@ public class ConvolveImageNoBorder {
 								  GrayU16 input, GrayI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_U16_I16_Div.horizontal(kernel, input, output, divisor))
 				ConvolveImageStandard_SB_MT.horizontal(kernel, input, output, divisor);
 		} else {
@@ -591,7 +591,7 @@ public class ConvolveImageNoBorder {
 								  GrayU16 input, GrayI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_U16_I16_Div.vertical(kernel, input, output, divisor))
 				ConvolveImageStandard_SB_MT.vertical(kernel, input, output, divisor);
 		} else {
@@ -604,7 +604,7 @@ public class ConvolveImageNoBorder {
 								  GrayU16 input, GrayI16 output, int divisor, @Nullable GrowArray<DogArray_I32> work) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_U16_I16_Div.convolve(kernel, input, output, divisor, work))
 				ConvolveImageStandard_SB_MT.convolve(kernel, input, output, divisor, work);
 		} else {
@@ -617,7 +617,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedU16 input, InterleavedI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.horizontal(kernel, input, output, divisor);
 		} else {
 			ConvolveImageStandard_IL.horizontal(kernel, input, output, divisor);
@@ -628,7 +628,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedU16 input, InterleavedI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.vertical(kernel, input, output, divisor);
 		} else {
 			ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
@@ -639,7 +639,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedU16 input, InterleavedI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.convolve(kernel, input, output, divisor);
 		} else {
 			ConvolveImageStandard_IL.convolve(kernel, input, output, divisor);
@@ -650,7 +650,7 @@ public class ConvolveImageNoBorder {
 								  GrayS32 input, GrayI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			ConvolveImageStandard_SB_MT.vertical(kernel, input, output, divisor);
 		} else {
 			ConvolveImageStandard_SB.vertical(kernel, input, output, divisor);
@@ -661,7 +661,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedS32 input, InterleavedI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.vertical(kernel, input, output, divisor);
 		} else {
 			ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
@@ -672,7 +672,7 @@ public class ConvolveImageNoBorder {
 								  GrayS32 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_S32_S32.horizontal(kernel, input, output))
 				ConvolveImageStandard_SB_MT.horizontal(kernel, input, output);
 		} else {
@@ -685,7 +685,7 @@ public class ConvolveImageNoBorder {
 								  GrayS32 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_S32_S32.vertical(kernel, input, output))
 				ConvolveImageStandard_SB_MT.vertical(kernel, input, output);
 		} else {
@@ -698,7 +698,7 @@ public class ConvolveImageNoBorder {
 								  GrayS32 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_S32_S32.convolve(kernel, input, output))
 				ConvolveImageStandard_SB_MT.convolve(kernel, input, output);
 		} else {
@@ -711,7 +711,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedS32 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.horizontal(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.horizontal(kernel, input, output);
@@ -722,7 +722,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedS32 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.vertical(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.vertical(kernel, input, output);
@@ -733,7 +733,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedS32 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.convolve(kernel, input, output);
 		} else {
 			ConvolveImageStandard_IL.convolve(kernel, input, output);
@@ -744,7 +744,7 @@ public class ConvolveImageNoBorder {
 								  GrayS32 input, GrayS32 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_S32_S32_Div.horizontal(kernel, input, output, divisor))
 				ConvolveImageStandard_SB_MT.horizontal(kernel, input, output, divisor);
 		} else {
@@ -757,7 +757,7 @@ public class ConvolveImageNoBorder {
 								  GrayS32 input, GrayS32 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_S32_S32_Div.vertical(kernel, input, output, divisor))
 				ConvolveImageStandard_SB_MT.vertical(kernel, input, output, divisor);
 		} else {
@@ -770,7 +770,7 @@ public class ConvolveImageNoBorder {
 								  GrayS32 input, GrayS32 output, int divisor, @Nullable GrowArray<DogArray_I32> work) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_SB_MT.class, input.width*input.height)) {
 			if (!ConvolveImageUnrolled_SB_MT_S32_S32_Div.convolve(kernel, input, output, divisor, work))
 				ConvolveImageStandard_SB_MT.convolve(kernel, input, output, divisor, work);
 		} else {
@@ -783,7 +783,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedS32 input, InterleavedS32 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.horizontal(kernel, input, output, divisor);
 		} else {
 			ConvolveImageStandard_IL.horizontal(kernel, input, output, divisor);
@@ -794,7 +794,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedS32 input, InterleavedS32 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.vertical(kernel, input, output, divisor);
 		} else {
 			ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
@@ -805,7 +805,7 @@ public class ConvolveImageNoBorder {
 								  InterleavedS32 input, InterleavedS32 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (BoofConcurrency.USE_CONCURRENT) {
+		if (BoofConcurrency.runConcurrent(ConvolveImageStandard_IL_MT.class, input.width*input.height*input.numBands)) {
 			ConvolveImageStandard_IL_MT.convolve(kernel, input, output, divisor);
 		} else {
 			ConvolveImageStandard_IL.convolve(kernel, input, output, divisor);
@@ -37,9 +37,13 @@ import javax.annotation.Generated;
 @Generated("boofcv.alg.misc.GeneratePixelMath")
 public class PixelMath {
 	/**
-	 * If an image has fewer pixels than this it will not run a concurrent algorithm. The overhead makes it slower.
+	 * If an image has fewer pixels than this it will not run a concurrent algorithm. Only used if no threshold
+	 * has been specified for ImplPixelMath_MT in BoofConcurrency.
+	 *
+	 * @deprecated Use {@link BoofConcurrency#setThreshold} with ImplPixelMath_MT.class instead
 	 */
-	public static int SMALL_IMAGE = 100*100;
+	@Deprecated
+	public static int SMALL_IMAGE = BoofConcurrency.SMALL_IMAGE;
 
 	/**
 	 * Applies the lambda operation to each element in the input image. output[i] = function(input[i])
@@ -53,8 +57,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -77,8 +81,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -101,8 +105,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -125,8 +129,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -149,8 +153,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -173,8 +177,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -197,8 +201,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -221,8 +225,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -245,8 +249,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -269,8 +273,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -293,8 +297,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -317,8 +321,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator1(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns, function);
@@ -343,8 +347,8 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int columns = imgA.width;
-		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*imgA.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -371,8 +375,8 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int columns = imgA.width*imgA.numBands;
-		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*imgA.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -399,8 +403,8 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int columns = imgA.width;
-		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*imgA.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -427,8 +431,8 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int columns = imgA.width*imgA.numBands;
-		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*imgA.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -455,8 +459,8 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int columns = imgA.width;
-		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*imgA.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -483,8 +487,8 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int columns = imgA.width*imgA.numBands;
-		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*imgA.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -511,8 +515,8 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int columns = imgA.width;
-		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*imgA.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -539,8 +543,8 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int columns = imgA.width*imgA.numBands;
-		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*imgA.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -567,8 +571,8 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int columns = imgA.width;
-		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*imgA.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -595,8 +599,8 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int columns = imgA.width*imgA.numBands;
-		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*imgA.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -623,8 +627,8 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int columns = imgA.width;
-		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*imgA.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -651,8 +655,8 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int columns = imgA.width*imgA.numBands;
-		int N = imgA.width*imgA.height;
-		if (BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*imgA.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.operator2(imgA.data, imgA.startIndex, imgA.stride,
 					imgB.data, imgB.startIndex, imgB.stride,
 					output.data, output.startIndex, output.stride,
@@ -677,8 +681,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -701,8 +705,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -725,8 +729,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -749,8 +753,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -773,8 +777,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -797,8 +801,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -821,8 +825,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -845,8 +849,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -869,8 +873,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -893,8 +897,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -917,8 +921,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -941,8 +945,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.abs(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -964,8 +968,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -987,8 +991,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1010,8 +1014,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1033,8 +1037,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1056,8 +1060,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1079,8 +1083,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1102,8 +1106,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1125,8 +1129,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1148,8 +1152,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1171,8 +1175,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1194,8 +1198,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1217,8 +1221,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.negative(input.data, input.startIndex, input.stride,
 					output.data, output.startIndex, output.stride,
 					input.height, columns);
@@ -1242,8 +1246,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1267,8 +1271,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1292,8 +1296,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1317,8 +1321,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1342,8 +1346,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1367,8 +1371,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1392,8 +1396,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1417,8 +1421,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1442,8 +1446,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1467,8 +1471,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1492,8 +1496,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1517,8 +1521,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1542,8 +1546,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1567,8 +1571,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1592,8 +1596,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1617,8 +1621,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1642,8 +1646,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1667,8 +1671,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1692,8 +1696,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1717,8 +1721,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1742,8 +1746,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1767,8 +1771,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1792,8 +1796,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1817,8 +1821,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1842,8 +1846,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1867,8 +1871,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1892,8 +1896,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1917,8 +1921,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1942,8 +1946,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1967,8 +1971,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -1992,8 +1996,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2017,8 +2021,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2042,8 +2046,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2067,8 +2071,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2092,8 +2096,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2117,8 +2121,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2142,8 +2146,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2167,8 +2171,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiplyU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2192,8 +2196,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2217,8 +2221,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2242,8 +2246,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2267,8 +2271,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2292,8 +2296,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2317,8 +2321,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2341,8 +2345,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2365,8 +2369,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2389,8 +2393,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2413,8 +2417,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2437,8 +2441,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2461,8 +2465,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2485,8 +2489,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2509,8 +2513,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2533,8 +2537,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2557,8 +2561,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2581,8 +2585,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2605,8 +2609,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2629,8 +2633,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2653,8 +2657,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2677,8 +2681,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2701,8 +2705,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2725,8 +2729,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2749,8 +2753,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2773,8 +2777,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2797,8 +2801,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2821,8 +2825,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2845,8 +2849,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2869,8 +2873,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2893,8 +2897,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2917,8 +2921,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2941,8 +2945,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2965,8 +2969,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -2989,8 +2993,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3013,8 +3017,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3037,8 +3041,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3061,8 +3065,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3085,8 +3089,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3109,8 +3113,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3133,8 +3137,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3157,8 +3161,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3181,8 +3185,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3205,8 +3209,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3229,8 +3233,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divideU_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3253,8 +3257,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3277,8 +3281,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3301,8 +3305,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3325,8 +3329,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3349,8 +3353,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3373,8 +3377,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide_A(input.data,input.startIndex,input.stride,denominator , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3397,8 +3401,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3421,8 +3425,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3445,8 +3449,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3469,8 +3473,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3493,8 +3497,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3517,8 +3521,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3541,8 +3545,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3565,8 +3569,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3589,8 +3593,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3613,8 +3617,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3637,8 +3641,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3661,8 +3665,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3685,8 +3689,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3709,8 +3713,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3733,8 +3737,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3757,8 +3761,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3781,8 +3785,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3805,8 +3809,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3829,8 +3833,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3853,8 +3857,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3877,8 +3881,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3901,8 +3905,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3925,8 +3929,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3949,8 +3953,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3973,8 +3977,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -3997,8 +4001,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4021,8 +4025,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4045,8 +4049,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4069,8 +4073,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4093,8 +4097,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4117,8 +4121,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4141,8 +4145,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4165,8 +4169,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4189,8 +4193,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4213,8 +4217,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4237,8 +4241,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4261,8 +4265,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4285,8 +4289,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4309,8 +4313,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4333,8 +4337,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4357,8 +4361,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4381,8 +4385,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4405,8 +4409,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4429,8 +4433,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.plus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4453,8 +4457,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4477,8 +4481,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4501,8 +4505,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4525,8 +4529,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4549,8 +4553,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4573,8 +4577,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4597,8 +4601,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4621,8 +4625,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4645,8 +4649,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4669,8 +4673,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4693,8 +4697,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4717,8 +4721,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4741,8 +4745,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4765,8 +4769,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4789,8 +4793,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4813,8 +4817,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4837,8 +4841,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4861,8 +4865,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4885,8 +4889,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4909,8 +4913,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4933,8 +4937,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4957,8 +4961,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -4981,8 +4985,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5005,8 +5009,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5029,8 +5033,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5053,8 +5057,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5077,8 +5081,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5101,8 +5105,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5125,8 +5129,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5149,8 +5153,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5173,8 +5177,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5197,8 +5201,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5221,8 +5225,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5245,8 +5249,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5269,8 +5273,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5293,8 +5297,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5317,8 +5321,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5341,8 +5345,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5365,8 +5369,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5389,8 +5393,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5413,8 +5417,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5437,8 +5441,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5461,8 +5465,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5485,8 +5489,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_A(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5509,8 +5513,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5533,8 +5537,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5557,8 +5561,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5581,8 +5585,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5605,8 +5609,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5629,8 +5633,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5653,8 +5657,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5677,8 +5681,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5701,8 +5705,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5725,8 +5729,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5749,8 +5753,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5773,8 +5777,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5797,8 +5801,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5821,8 +5825,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5845,8 +5849,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5869,8 +5873,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5893,8 +5897,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5917,8 +5921,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5941,8 +5945,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5965,8 +5969,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -5989,8 +5993,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6013,8 +6017,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6037,8 +6041,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6061,8 +6065,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6085,8 +6089,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6109,8 +6113,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6133,8 +6137,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6157,8 +6161,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6181,8 +6185,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6205,8 +6209,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6229,8 +6233,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6253,8 +6257,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value, lower, upper ,
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6277,8 +6281,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6301,8 +6305,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6325,8 +6329,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6349,8 +6353,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6373,8 +6377,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6397,8 +6401,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minusU_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6421,8 +6425,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6445,8 +6449,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6469,8 +6473,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6493,8 +6497,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6517,8 +6521,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6541,8 +6545,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height,input.numBands);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.minus_B(input.data,input.startIndex,input.stride,value , 
 					output.data,output.startIndex,output.stride,
 					input.height,columns);
@@ -6578,7 +6582,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.diffAbs(imgA, imgB, output);
 		} else {
 			ImplPixelMath.diffAbs(imgA, imgB, output);
@@ -6610,7 +6614,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.diffAbs(imgA, imgB, output);
 		} else {
 			ImplPixelMath.diffAbs(imgA, imgB, output);
@@ -6642,7 +6646,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.diffAbs(imgA, imgB, output);
 		} else {
 			ImplPixelMath.diffAbs(imgA, imgB, output);
@@ -6674,7 +6678,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.diffAbs(imgA, imgB, output);
 		} else {
 			ImplPixelMath.diffAbs(imgA, imgB, output);
@@ -6706,7 +6710,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.diffAbs(imgA, imgB, output);
 		} else {
 			ImplPixelMath.diffAbs(imgA, imgB, output);
@@ -6738,7 +6742,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.diffAbs(imgA, imgB, output);
 		} else {
 			ImplPixelMath.diffAbs(imgA, imgB, output);
@@ -6770,7 +6774,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.diffAbs(imgA, imgB, output);
 		} else {
 			ImplPixelMath.diffAbs(imgA, imgB, output);
@@ -6802,7 +6806,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.diffAbs(imgA, imgB, output);
 		} else {
 			ImplPixelMath.diffAbs(imgA, imgB, output);
@@ -6823,7 +6827,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.add(imgA, imgB, output);
 		} else {
 			ImplPixelMath.add(imgA, imgB, output);
@@ -6844,7 +6848,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.subtract(imgA, imgB, output);
 		} else {
 			ImplPixelMath.subtract(imgA, imgB, output);
@@ -6865,7 +6869,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.add(imgA, imgB, output);
 		} else {
 			ImplPixelMath.add(imgA, imgB, output);
@@ -6886,7 +6890,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.subtract(imgA, imgB, output);
 		} else {
 			ImplPixelMath.subtract(imgA, imgB, output);
@@ -6907,7 +6911,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.add(imgA, imgB, output);
 		} else {
 			ImplPixelMath.add(imgA, imgB, output);
@@ -6928,7 +6932,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.subtract(imgA, imgB, output);
 		} else {
 			ImplPixelMath.subtract(imgA, imgB, output);
@@ -6949,7 +6953,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.add(imgA, imgB, output);
 		} else {
 			ImplPixelMath.add(imgA, imgB, output);
@@ -6970,7 +6974,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.subtract(imgA, imgB, output);
 		} else {
 			ImplPixelMath.subtract(imgA, imgB, output);
@@ -6991,7 +6995,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.add(imgA, imgB, output);
 		} else {
 			ImplPixelMath.add(imgA, imgB, output);
@@ -7012,7 +7016,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.subtract(imgA, imgB, output);
 		} else {
 			ImplPixelMath.subtract(imgA, imgB, output);
@@ -7033,7 +7037,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.add(imgA, imgB, output);
 		} else {
 			ImplPixelMath.add(imgA, imgB, output);
@@ -7054,7 +7058,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.subtract(imgA, imgB, output);
 		} else {
 			ImplPixelMath.subtract(imgA, imgB, output);
@@ -7075,7 +7079,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.add(imgA, imgB, output);
 		} else {
 			ImplPixelMath.add(imgA, imgB, output);
@@ -7096,7 +7100,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.subtract(imgA, imgB, output);
 		} else {
 			ImplPixelMath.subtract(imgA, imgB, output);
@@ -7117,7 +7121,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply(imgA, imgB, output);
 		} else {
 			ImplPixelMath.multiply(imgA, imgB, output);
@@ -7138,7 +7142,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide(imgA,imgB,output);
 		} else {
 			ImplPixelMath.divide(imgA,imgB,output);
@@ -7157,7 +7161,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.log(
 					input.data,input.startIndex,input.stride,val,
 					output.data,output.startIndex,output.stride,
@@ -7183,7 +7187,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.logSign(
 					input.data,input.startIndex,input.stride,val,
 					output.data,output.startIndex,output.stride,
@@ -7208,7 +7212,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.sqrt(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7233,8 +7237,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.log(
 					input.data,input.startIndex,input.stride,val,
 					output.data,output.startIndex,output.stride,
@@ -7260,8 +7264,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.logSign(
 					input.data,input.startIndex,input.stride,val,
 					output.data,output.startIndex,output.stride,
@@ -7286,8 +7290,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.sqrt(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7314,7 +7318,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.add(imgA, imgB, output);
 		} else {
 			ImplPixelMath.add(imgA, imgB, output);
@@ -7335,7 +7339,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.subtract(imgA, imgB, output);
 		} else {
 			ImplPixelMath.subtract(imgA, imgB, output);
@@ -7356,7 +7360,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.multiply(imgA, imgB, output);
 		} else {
 			ImplPixelMath.multiply(imgA, imgB, output);
@@ -7377,7 +7381,7 @@ public class PixelMath {
 		output.reshape(imgA.width,imgA.height);
 
 		int N = imgA.width*imgA.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.divide(imgA,imgB,output);
 		} else {
 			ImplPixelMath.divide(imgA,imgB,output);
@@ -7396,7 +7400,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.log(
 					input.data,input.startIndex,input.stride,val,
 					output.data,output.startIndex,output.stride,
@@ -7422,7 +7426,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.logSign(
 					input.data,input.startIndex,input.stride,val,
 					output.data,output.startIndex,output.stride,
@@ -7447,7 +7451,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.sqrt(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7472,8 +7476,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.log(
 					input.data,input.startIndex,input.stride,val,
 					output.data,output.startIndex,output.stride,
@@ -7499,8 +7503,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.logSign(
 					input.data,input.startIndex,input.stride,val,
 					output.data,output.startIndex,output.stride,
@@ -7525,8 +7529,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.sqrt(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7551,7 +7555,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.pow2(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7576,8 +7580,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.pow2(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7603,7 +7607,7 @@ public class PixelMath {
 		stdev.reshape(mean.width,mean.height);
 
 		int N = mean.width*mean.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.stdev(mean,pow2,stdev);
 		} else {
 			ImplPixelMath.stdev(mean,pow2,stdev);
@@ -7622,7 +7626,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.pow2(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7647,8 +7651,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.pow2(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7674,7 +7678,7 @@ public class PixelMath {
 		stdev.reshape(mean.width,mean.height);
 
 		int N = mean.width*mean.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.stdev(mean,pow2,stdev);
 		} else {
 			ImplPixelMath.stdev(mean,pow2,stdev);
@@ -7693,7 +7697,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.pow2(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7718,8 +7722,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.pow2(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7745,7 +7749,7 @@ public class PixelMath {
 		stdev.reshape(mean.width,mean.height);
 
 		int N = mean.width*mean.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.stdev(mean,pow2,stdev);
 		} else {
 			ImplPixelMath.stdev(mean,pow2,stdev);
@@ -7764,7 +7768,7 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.pow2(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7789,8 +7793,8 @@ public class PixelMath {
 		output.reshape(input.width,input.height);
 
 		int columns = input.width*input.numBands;
-		int N = input.width*input.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		int N = columns*input.height;
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.pow2(
 					input.data,input.startIndex,input.stride,
 					output.data,output.startIndex,output.stride,
@@ -7816,7 +7820,7 @@ public class PixelMath {
 		stdev.reshape(mean.width,mean.height);
 
 		int N = mean.width*mean.height;
-		if( BoofConcurrency.USE_CONCURRENT && N > SMALL_IMAGE) {
+		if (BoofConcurrency.runConcurrent(ImplPixelMath_MT.class, N, SMALL_IMAGE)) {
 			ImplPixelMath_MT.stdev(mean,pow2,stdev);
 		} else {
 			ImplPixelMath.stdev(mean,pow2,stdev);
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner_MT;
+import boofcv.alg.filter.convolve.ConvolveImageBox;
+import boofcv.alg.filter.convolve.ConvolveImageMean;
+import boofcv.alg.filter.convolve.ConvolveImageNoBorder;
+import boofcv.alg.filter.convolve.noborder.ConvolveImageStandard_SB_MT;
+import boofcv.alg.filter.convolve.noborder.ImplConvolveBox_MT;
+import boofcv.alg.filter.convolve.noborder.ImplConvolveMean_MT;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.misc.PixelMath;
+import boofcv.alg.misc.impl.ImplPixelMath_MT;
+import boofcv.core.image.ConvertImage;
+import boofcv.core.image.impl.ImplConvertImage_MT;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import org.ddogleg.struct.DogArray_I32;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures the image size at which concurrent implementations become faster than their single thread twin on the
+ * current machine and saves the results in {@link BoofConcurrency}. For each operation it runs the single thread
+ * and concurrent variants across several image sizes. The threshold is the smallest size where the concurrent
+ * variant is faster at that size and at all larger sizes. If it's never faster then concurrency is disabled
+ * for that operation.
+ *
+ * Calibration takes a few seconds, so the typical usage is to call {@link #loadOrCalibrate(File)} at startup
+ * which will only calibrate the first time and then load the results from disk afterwards.
+ *
+ * @author Peter Abeles
+ */
+public class CalibrateConcurrencyThresholds {
+	/** Width and height of square images that are considered. Must be in increasing order. */
+	public int[] sizes = new int[]{32, 64, 128, 256, 512, 1024};
+
+	/** Number of times each operation is run. The fastest time is used to reduce noise */
+	public int trials = 5;
+
+	/** Operations which will be calibrated */
+	public final List<Operation> operations = new ArrayList<>();
+
+	// If not null then status information is printed here
+	@Nullable PrintStream verbose;
+
+	/**
+	 * Creates calibration with the default set of operations
+	 */
+	public CalibrateConcurrencyThresholds() {
+		addDefaultOperations();
+	}
+
+	/**
+	 * Adds operations from the most commonly used image processing functions
+	 */
+	public void addDefaultOperations() {
+		var rand = new Random(234);
+
+		operations.add(new Operation(ImplPixelMath_MT.class, ( width, height ) -> {
+			GrayF32 a = createF32(width, height, rand);
+			GrayF32 b = createF32(width, height, rand);
+			GrayF32 output = a.createSameShape();
+			return () -> PixelMath.add(a, b, output);
+		}));
+
+		operations.add(new Operation(ImplConvertImage_MT.class, ( width, height ) -> {
+			var input = new GrayU8(width, height);
+			ImageMiscOps.fillUniform(input, rand, 0, 255);
+			var output = new GrayF32(width, height);
+			return () -> ConvertImage.convert(input, output);
+		}));
+
+		operations.add(new Operation(ImplConvolveBox_MT.class, ( width, height ) -> {
+			GrayF32 input = createF32(width, height, rand);
+			GrayF32 output = input.createSameShape();
+			return () -> ConvolveImageBox.horizontal(input, output, 2);
+		}));
+
+		operations.add(new Operation(ImplConvolveMean_MT.class, ( width, height ) -> {
+			GrayF32 input = createF32(width, height, rand);
+			GrayF32 output = input.createSameShape();
+			return () -> ConvolveImageMean.horizontal(input, output, 2, 5);
+		}));
+
+		operations.add(new Operation(ConvolveImageStandard_SB_MT.class, ( width, height ) -> {
+			GrayF32 input = createF32(width, height, rand);
+			GrayF32 output = input.createSameShape();
+			Kernel1D_F32 kernel = FactoryKernel.random1D_F32(15, 7, -1, 1, rand);
+			return () -> ConvolveImageNoBorder.horizontal(kernel, input, output);
+		}));
+
+		operations.add(new Operation(ImplMedianHistogramInner_MT.class, ( width, height ) -> {
+			var input = new GrayU8(width, height);
+			ImageMiscOps.fillUniform(input, rand, 0, 255);
+			var output = new GrayU8(width, height);
+			var work = new GrowArray<>(DogArray_I32::new);
+			return () -> BlurImageOps.median(input, output, 2, 2, work);
+		}));
+	}
+
+	private static GrayF32 createF32( int width, int height, Random rand ) {
+		var image = new GrayF32(width, height);
+		ImageMiscOps.fillUniform(image, rand, 0, 255);
+		return image;
+	}
+
+	/**
+	 * Calibrates all the operations and saves the thresholds in {@link BoofConcurrency}. If concurrency is turned
+	 * off then nothing is done.
+	 */
+	public void calibrate() {
+		if (!BoofConcurrency.USE_CONCURRENT)
+			return;
+
+		for (Operation op : operations) {
+			int threshold = calibrate(op);
+			BoofConcurrency.setThreshold(op.key, threshold);
+			if (verbose != null)
+				verbose.printf("%-40s threshold=%d\n", op.key.getSimpleName(), threshold);
+		}
+	}
+
+	/**
+	 * Finds the threshold for a single operation
+	 *
+	 * @return Minimum number of pixels where the concurrent variant should be used
+	 */
+	public int calibrate( Operation op ) {
+		// If there was no threshold then it needs to be removed after, so that legacy defaults are still used
+		boolean hadThreshold = BoofConcurrency.hasThreshold(op.key);
+		int original = BoofConcurrency.getThreshold(op.key);
+		int threshold = Integer.MAX_VALUE;
+		try {
+			for (int i = sizes.length - 1; i >= 0; i--) {
+				Runnable process = op.factory.create(sizes[i], sizes[i]);
+
+				// Force it to run single threaded then concurrent
+				BoofConcurrency.setThreshold(op.key, Integer.MAX_VALUE);
+				long timeSingle = fastestTime(process);
+				BoofConcurrency.setThreshold(op.key, 0);
+				long timeConcurrent = fastestTime(process);
+
+				if (timeConcurrent >= timeSingle)
+					break;
+				threshold = sizes[i]*sizes[i];
+			}
+		} finally {
+			if (hadThreshold)
+				BoofConcurrency.setThreshold(op.key, original);
+			else
+				BoofConcurrency.removeThreshold(op.key);
+		}
+		return threshold;
+	}
+
+	/**
+	 * Runs the process several times and returns the fastest time in nano seconds
+	 */
+	long fastestTime( Runnable process ) {
+		// warm up
+		process.run();
+
+		long best = Long.MAX_VALUE;
+		for (int trial = 0; trial < trials; trial++) {
+			long time0 = System.nanoTime();
+			process.run();
+			best = Math.min(best, System.nanoTime() - time0);
+		}
+		return best;
+	}
+
+	/**
+	 * If the file exists then the thresholds are loaded from it, otherwise they are calibrated and then saved
+	 * to the file. If concurrency is turned off then nothing is calibrated or saved, since the results would
+	 * be empty and prevent calibration later on.
+	 *
+	 * @param file Location of saved thresholds
+	 */
+	public static void loadOrCalibrate( File file ) throws IOException {
+		if (file.exists()) {
+			BoofConcurrency.loadThresholds(file);
+			return;
+		}
+		if (!BoofConcurrency.USE_CONCURRENT)
+			return;
+		new CalibrateConcurrencyThresholds().calibrate();
+		BoofConcurrency.saveThresholds(file);
+	}
+
+	public void setVerbose( @Nullable PrintStream out ) {
+		this.verbose = out;
+	}
+
+	/**
+	 * Creates a process which will be timed for an image of the specified shape
+	 */
+	@FunctionalInterface
+	public interface ProcessFactory {
+		Runnable create( int width, int height );
+	}
+
+	/**
+	 * An operation being calibrated.
+	 */
+	public static class Operation {
+		/** Class of the concurrent implementation. Used as a key in {@link BoofConcurrency} */
+		public final Class<?> key;
+		/** Creates the process which is timed. The process must use the key to select concurrent or not */
+		public final ProcessFactory factory;
+
+		public Operation( Class<?> key, ProcessFactory factory ) {
+			this.key = key;
+			this.factory = factory;
+		}
+	}
+
+	public static void main( String[] args ) throws IOException {
+		var alg = new CalibrateConcurrencyThresholds();
+		alg.setVerbose(System.out);
+		alg.calibrate();
+		if (args.length > 0)
+			BoofConcurrency.saveThresholds(new File(args[0]));
+	}
+}
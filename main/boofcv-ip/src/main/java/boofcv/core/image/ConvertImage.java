@@ -363,7 +363,8 @@ public class ConvertImage {
 			output.reshape(input.width,input.height);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		int N = input.width*input.height*input.getNumBands();
+		if (BoofConcurrency.runConcurrent(ImplConvertPlanarToGray_MT.class, N)) {
 			ImplConvertPlanarToGray_MT.average(input,output);
 		} else {
 			ImplConvertPlanarToGray.average(input,output);
@@ -386,7 +387,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.getNumBands());
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.getNumBands())) {
 			ImplConvertImage_MT.convert(input,output);
 		} else {
 			ImplConvertImage.convert(input,output);
@@ -410,7 +411,8 @@ public class ConvertImage {
 			output.reshape(input.width,input.height);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		int N = input.width*input.height*input.numBands;
+		if (BoofConcurrency.runConcurrent(ConvertInterleavedToSingle_MT.class, N)) {
 			ConvertInterleavedToSingle_MT.average(input,output);
 		} else {
 			ConvertInterleavedToSingle.average(input,output);
@@ -433,7 +435,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.numBands);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.numBands)) {
 			ImplConvertImage_MT.convert(input,output);
 		} else {
 			ImplConvertImage.convert(input,output);
@@ -799,7 +801,8 @@ public class ConvertImage {
 			output.reshape(input.width,input.height);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		int N = input.width*input.height*input.getNumBands();
+		if (BoofConcurrency.runConcurrent(ImplConvertPlanarToGray_MT.class, N)) {
 			ImplConvertPlanarToGray_MT.average(input,output);
 		} else {
 			ImplConvertPlanarToGray.average(input,output);
@@ -822,7 +825,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.getNumBands());
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.getNumBands())) {
 			ImplConvertImage_MT.convert(input,output);
 		} else {
 			ImplConvertImage.convert(input,output);
@@ -846,7 +849,8 @@ public class ConvertImage {
 			output.reshape(input.width,input.height);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		int N = input.width*input.height*input.numBands;
+		if (BoofConcurrency.runConcurrent(ConvertInterleavedToSingle_MT.class, N)) {
 			ConvertInterleavedToSingle_MT.average(input,output);
 		} else {
 			ConvertInterleavedToSingle.average(input,output);
@@ -869,7 +873,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.numBands);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.numBands)) {
 			ImplConvertImage_MT.convert(input,output);
 		} else {
 			ImplConvertImage.convert(input,output);
@@ -1235,7 +1239,8 @@ public class ConvertImage {
 			output.reshape(input.width,input.height);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		int N = input.width*input.height*input.getNumBands();
+		if (BoofConcurrency.runConcurrent(ImplConvertPlanarToGray_MT.class, N)) {
 			ImplConvertPlanarToGray_MT.average(input,output);
 		} else {
 			ImplConvertPlanarToGray.average(input,output);
@@ -1258,7 +1263,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.getNumBands());
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.getNumBands())) {
 			ImplConvertImage_MT.convert(input,output);
 		} else {
 			ImplConvertImage.convert(input,output);
@@ -1282,7 +1287,8 @@ public class ConvertImage {
 			output.reshape(input.width,input.height);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		int N = input.width*input.height*input.numBands;
+		if (BoofConcurrency.runConcurrent(ConvertInterleavedToSingle_MT.class, N)) {
 			ConvertInterleavedToSingle_MT.average(input,output);
 		} else {
 			ConvertInterleavedToSingle.average(input,output);
@@ -1305,7 +1311,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.numBands);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.numBands)) {
 			ImplConvertImage_MT.convert(input,output);
 		} else {
 			ImplConvertImage.convert(input,output);
@@ -1671,7 +1677,8 @@ public class ConvertImage {
 			output.reshape(input.width,input.height);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		int N = input.width*input.height*input.getNumBands();
+		if (BoofConcurrency.runConcurrent(ImplConvertPlanarToGray_MT.class, N)) {
 			ImplConvertPlanarToGray_MT.average(input,output);
 		} else {
 			ImplConvertPlanarToGray.average(input,output);
@@ -1694,7 +1701,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.getNumBands());
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.getNumBands())) {
 			ImplConvertImage_MT.convert(input,output);
 		} else {
 			ImplConvertImage.convert(input,output);
@@ -1718,7 +1725,8 @@ public class ConvertImage {
 			output.reshape(input.width,input.height);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		int N = input.width*input.height*input.numBands;
+		if (BoofConcurrency.runConcurrent(ConvertInterleavedToSingle_MT.class, N)) {
 			ConvertInterleavedToSingle_MT.average(input,output);
 		} else {
 			ConvertInterleavedToSingle.average(input,output);
@@ -1741,7 +1749,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.numBands);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.numBands)) {
 			ImplConvertImage_MT.convert(input,output);
 		} else {
 			ImplConvertImage.convert(input,output);
@@ -2107,7 +2115,8 @@ public class ConvertImage {
 			output.reshape(input.width,input.height);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		int N = input.width*input.height*input.getNumBands();
+		if (BoofConcurrency.runConcurrent(ImplConvertPlanarToGray_MT.class, N)) {
 			ImplConvertPlanarToGray_MT.average(input,output);
 		} else {
 			ImplConvertPlanarToGray.average(input,output);
@@ -2130,7 +2139,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.getNumBands());
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.getNumBands())) {
 			ImplConvertImage_MT.convert(input,output);
 		} else {
 			ImplConvertImage.convert(input,output);
@@ -2154,7 +2163,8 @@ public class ConvertImage {
 			output.reshape(input.width,input.height);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		int N = input.width*input.height*input.numBands;
+		if (BoofConcurrency.runConcurrent(ConvertInterleavedToSingle_MT.class, N)) {
 			ConvertInterleavedToSingle_MT.average(input,output);
 		} else {
 			ConvertInterleavedToSingle.average(input,output);
@@ -2177,7 +2187,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.numBands);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.numBands)) {
 			ImplConvertImage_MT.convert(input,output);
 		} else {
 			ImplConvertImage.convert(input,output);
@@ -2543,7 +2553,8 @@ public class ConvertImage {
 			output.reshape(input.width,input.height);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		int N = input.width*input.height*input.getNumBands();
+		if (BoofConcurrency.runConcurrent(ImplConvertPlanarToGray_MT.class, N)) {
 			ImplConvertPlanarToGray_MT.average(input,output);
 		} else {
 			ImplConvertPlanarToGray.average(input,output);
@@ -2566,7 +2577,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.getNumBands());
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.getNumBands())) {
 			ImplConvertImage_MT.convert(input,output);
 		} else {
 			ImplConvertImage.convert(input,output);
@@ -2590,7 +2601,8 @@ public class ConvertImage {
 			output.reshape(input.width,input.height);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		int N = input.width*input.height*input.numBands;
+		if (BoofConcurrency.runConcurrent(ConvertInterleavedToSingle_MT.class, N)) {
 			ConvertInterleavedToSingle_MT.average(input,output);
 		} else {
 			ConvertInterleavedToSingle.average(input,output);
@@ -2613,7 +2625,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.numBands);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.numBands)) {
 			ImplConvertImage_MT.convert(input,output);
 		} else {
 			ImplConvertImage.convert(input,output);
@@ -2979,7 +2991,8 @@ public class ConvertImage {
 			output.reshape(input.width,input.height);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		int N = input.width*input.height*input.getNumBands();
+		if (BoofConcurrency.runConcurrent(ImplConvertPlanarToGray_MT.class, N)) {
 			ImplConvertPlanarToGray_MT.average(input,output);
 		} else {
 			ImplConvertPlanarToGray.average(input,output);
@@ -3002,7 +3015,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.getNumBands());
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.getNumBands())) {
 			ImplConvertImage_MT.convert(input,output);
 		} else {
 			ImplConvertImage.convert(input,output);
@@ -3026,7 +3039,8 @@ public class ConvertImage {
 			output.reshape(input.width,input.height);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		int N = input.width*input.height*input.numBands;
+		if (BoofConcurrency.runConcurrent(ConvertInterleavedToSingle_MT.class, N)) {
 			ConvertInterleavedToSingle_MT.average(input,output);
 		} else {
 			ConvertInterleavedToSingle.average(input,output);
@@ -3049,7 +3063,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.numBands);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.numBands)) {
 			ImplConvertImage_MT.convert(input,output);
 		} else {
 			ImplConvertImage.convert(input,output);
@@ -3415,7 +3429,8 @@ public class ConvertImage {
 			output.reshape(input.width,input.height);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		int N = input.width*input.height*input.getNumBands();
+		if (BoofConcurrency.runConcurrent(ImplConvertPlanarToGray_MT.class, N)) {
 			ImplConvertPlanarToGray_MT.average(input,output);
 		} else {
 			ImplConvertPlanarToGray.average(input,output);
@@ -3438,7 +3453,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.getNumBands());
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.getNumBands())) {
 			ImplConvertImage_MT.convert(input,output);
 		} else {
 			ImplConvertImage.convert(input,output);
@@ -3462,7 +3477,8 @@ public class ConvertImage {
 			output.reshape(input.width,input.height);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		int N = input.width*input.height*input.numBands;
+		if (BoofConcurrency.runConcurrent(ConvertInterleavedToSingle_MT.class, N)) {
 			ConvertInterleavedToSingle_MT.average(input,output);
 		} else {
 			ConvertInterleavedToSingle.average(input,output);
@@ -3485,7 +3501,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.numBands);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.numBands)) {
 			ImplConvertImage_MT.convert(input,output);
 		} else {
 			ImplConvertImage.convert(input,output);
@@ -3542,7 +3558,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.numBands);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.numBands)) {
 			ImplConvertImage_MT.convertU8F32(input,output);
 		} else {
 			ImplConvertImage.convertU8F32(input,output);
@@ -3565,7 +3581,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.numBands);
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.numBands)) {
 			ImplConvertImage_MT.convertF32U8(input,output);
 		} else {
 			ImplConvertImage.convertF32U8(input,output);
@@ -3588,7 +3604,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.getNumBands());
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.getNumBands())) {
 			ImplConvertImage_MT.convertU8F32(input,output);
 		} else {
 			ImplConvertImage.convertU8F32(input,output);
@@ -3611,7 +3627,7 @@ public class ConvertImage {
 			output.reshape(input.width,input.height,input.getNumBands());
 		}
 
-		if( BoofConcurrency.USE_CONCURRENT ) {
+		if (BoofConcurrency.runConcurrent(ImplConvertImage_MT.class, input.width*input.height*input.getNumBands())) {
 			ImplConvertImage_MT.convertF32U8(input,output);
 		} else {
 			ImplConvertImage.convertF32U8(input,output);
@@ -142,6 +142,32 @@ public abstract class GeneralBilinearRectangleChecks<T extends ImageGray<T>> ext
 			}
 		}
 	}
+
+	/**
+	 * The copy should produce identical results and not be affected by changes to the original
+	 */
+	@Test
+	public void copy() {
+		T imgA = createImage(width, height);
+		T imgB = createImage(width, height);
+		GImageMiscOps.fillUniform(imgA, rand, 0, 200);
+
+		InterpolateRectangle<T> interpA = createRectangleInterpolate();
+		InterpolateRectangle<T> interpB = interpA.copy();
+		assertNotSame(interpA, interpB);
+
+		interpB.setImage(imgA);
+		interpA.setImage(imgB);
+		assertSame(imgA, interpB.getImage());
+
+		GrayF32 outA = new GrayF32(20, 25);
+		GrayF32 outB = new GrayF32(20, 25);
+		interpA.setImage(imgA);
+		interpA.region(5.4f, 8.6f, outA);
+		interpB.region(5.4f, 8.6f, outB);
+		BoofTesting.assertEquals(outA, outB, 0.0);
+	}
+
 	/**
 	 * Compare region against the value returned by get ImplBilinearPixel_F32
 	 */
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestCalibrateConcurrencyThresholds extends BoofStandardJUnit {
+	@AfterEach void cleanUp() {
+		BoofConcurrency.clearThresholds();
+	}
+
+	/**
+	 * The threshold for the operation should be the same before and after calibrating
+	 */
+	@Test void calibrate_restoresThreshold() {
+		var alg = new CalibrateConcurrencyThresholds();
+		alg.sizes = new int[]{4, 8};
+		alg.trials = 1;
+		var op = new CalibrateConcurrencyThresholds.Operation(Integer.class, ( width, height ) -> () -> {});
+
+		// No threshold was specified, so there should be none after and legacy defaults are used
+		alg.calibrate(op);
+		assertFalse(BoofConcurrency.hasThreshold(Integer.class));
+
+		// The previous threshold should be restored
+		BoofConcurrency.setThreshold(Integer.class, 123);
+		alg.calibrate(op);
+		assertEquals(123, BoofConcurrency.getThreshold(Integer.class));
+	}
+}
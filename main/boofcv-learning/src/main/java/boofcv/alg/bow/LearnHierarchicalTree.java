@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.bow;
+
+import boofcv.alg.scene.vocabtree.HierarchicalVocabularyTree;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.clustering.AssignCluster;
+import org.ddogleg.clustering.ComputeClusters;
+import org.ddogleg.struct.DogArray_I32;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Learns a {@link HierarchicalVocabularyTree} by recursively clustering the features. The features are first
+ * split into {@link HierarchicalVocabularyTree#branchFactor} clusters, then the features in each cluster are
+ * clustered again, until the maximum level is reached or a node has too few features. Afterwards the weight
+ * of each leaf can be set to its inverse document frequency using a set of training images, see
+ * {@link #computeWeights}.
+ *
+ * Any clustering algorithm can be used, like {@link ClusterVisualWords}, but it's typically k-means.
+ *
+ * @author Peter Abeles
+ */
+public class LearnHierarchicalTree {
+	/** A node will only be split if it has at least this many points in it */
+	public int minimumPointsForChildren = 0;
+
+	// cluster finding algorithm
+	final ComputeClusters<double[]> computeClusters;
+
+	// Seed for the random number generator
+	final long randomSeed;
+
+	/**
+	 * @param computeClusters Cluster finding algorithm.
+	 * @param randomSeed Seed for random number generator
+	 */
+	public LearnHierarchicalTree( ComputeClusters<double[]> computeClusters, long randomSeed ) {
+		this.computeClusters = computeClusters;
+		this.randomSeed = randomSeed;
+	}
+
+	/**
+	 * Learns the tree's structure from the points
+	 *
+	 * @param points (Input) Points which are clustered
+	 * @param tree (Output) Tree which will be learned. Branch factor, max level, and DOF must already be set.
+	 */
+	public void process( List<TupleDesc_F64> points, HierarchicalVocabularyTree tree ) {
+		tree.reset();
+		computeClusters.init(tree.dof, randomSeed);
+
+		int minPoints = Math.max(tree.branchFactor, minimumPointsForChildren);
+
+		// Nodes which need to be processed and the points which belong to them
+		List<Pending> open = new ArrayList<>();
+		var root = new Pending(0);
+		for (int i = 0; i < points.size(); i++) {
+			root.points.add(i);
+		}
+		open.add(root);
+
+		List<double[]> subset = new ArrayList<>();
+		while (!open.isEmpty()) {
+			Pending pending = open.remove(open.size() - 1);
+			if (pending.points.size < minPoints || tree.nodes.get(pending.node).level >= tree.maximumLevel)
+				continue;
+
+			subset.clear();
+			for (int i = 0; i < pending.points.size; i++) {
+				subset.add(points.get(pending.points.get(i)).getValue());
+			}
+			computeClusters.process(subset, tree.branchFactor);
+			AssignCluster<double[]> assignment = computeClusters.getAssignment();
+
+			// Compute the mean of each cluster and which points belong to it
+			int numClusters = assignment.getNumberOfClusters();
+			double[][] means = new double[numClusters][tree.dof];
+			var members = new DogArray_I32[numClusters];
+			for (int i = 0; i < numClusters; i++) {
+				members[i] = new DogArray_I32();
+			}
+			for (int i = 0; i < subset.size(); i++) {
+				double[] p = subset.get(i);
+				int cluster = assignment.assign(p);
+				members[cluster].add(pending.points.get(i));
+				for (int j = 0; j < tree.dof; j++) {
+					means[cluster][j] += p[j];
+				}
+			}
+
+			// Empty clusters are discarded
+			int numChildren = 0;
+			for (int i = 0; i < numClusters; i++) {
+				if (members[i].size == 0)
+					continue;
+				for (int j = 0; j < tree.dof; j++) {
+					means[i][j] /= members[i].size;
+				}
+				means[numChildren] = means[i];
+				members[numChildren++] = members[i];
+			}
+
+			// Splitting didn't do anything. Leave it as a leaf
+			if (numChildren <= 1)
+				continue;
+
+			double[][] childMeans = new double[numChildren][];
+			System.arraycopy(means, 0, childMeans, 0, numChildren);
+			int firstChild = tree.addChildren(pending.node, childMeans);
+
+			for (int i = 0; i < numChildren; i++) {
+				var child = new Pending(firstChild + i);
+				child.points = members[i];
+				open.add(child);
+			}
+		}
+	}
+
+	/**
+	 * Sets the weight of each leaf to its inverse document frequency, log(N/N_i), where N is the number of images
+	 * and N_i is the number of images the word appears in. Words which never appear are treated as if they
+	 * appeared in one image.
+	 *
+	 * @param images Features in each training image
+	 * @param tree (Output) The tree whose weights are set
+	 */
+	public static void computeWeights( List<List<TupleDesc_F64>> images, HierarchicalVocabularyTree tree ) {
+		int[] counts = new int[tree.nodes.size];
+		int[] lastImage = new int[tree.nodes.size];
+		Arrays.fill(lastImage, -1);
+
+		for (int imageIdx = 0; imageIdx < images.size(); imageIdx++) {
+			List<TupleDesc_F64> features = images.get(imageIdx);
+			for (int i = 0; i < features.size(); i++) {
+				int word = tree.searchPathToLeaf(features.get(i).getValue());
+				// Only count each word once per image
+				if (lastImage[word] == imageIdx)
+					continue;
+				lastImage[word] = imageIdx;
+				counts[word]++;
+			}
+		}
+
+		for (int i = 0; i < tree.nodes.size; i++) {
+			HierarchicalVocabularyTree.Node n = tree.nodes.get(i);
+			if (!n.isLeaf())
+				continue;
+			n.weight = Math.log(images.size()/(double)Math.max(1, counts[i]));
+		}
+	}
+
+	/**
+	 * A node in the tree which might need to be split and the points which belong to it
+	 */
+	private static class Pending {
+		int node;
+		DogArray_I32 points = new DogArray_I32();
+
+		public Pending( int node ) {
+			this.node = node;
+		}
+	}
+}
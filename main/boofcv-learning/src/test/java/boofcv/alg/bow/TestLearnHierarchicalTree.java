@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.bow;
+
+import boofcv.alg.scene.vocabtree.HierarchicalVocabularyTree;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.clustering.AssignCluster;
+import org.ddogleg.clustering.ComputeClusters;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestLearnHierarchicalTree extends BoofStandardJUnit {
+	@Test
+	void process() {
+		var alg = new LearnHierarchicalTree(new SplitOnMean(), 234);
+		var tree = new HierarchicalVocabularyTree(2, 3, 2);
+		alg.process(features(-11, -11, -11, -9, -9, 9, 9, 11, 11, 11), tree);
+		tree.checkValidity();
+
+		// Root, two at the first level, and 4 leaves. The leaves can't be split any more
+		assertEquals(7, tree.nodes.size);
+		assertEquals(4, tree.countLeaves());
+
+		var mean = new double[2];
+		for (double x : new double[]{-11, -9, 9, 11}) {
+			int leaf = tree.searchPathToLeaf(new double[]{x, 0});
+			assertEquals(2, tree.nodes.get(leaf).level);
+			tree.getDescription(leaf, mean);
+			assertEquals(x, mean[0], 1e-8);
+		}
+	}
+
+	/**
+	 * Nodes with too few points should not be split
+	 */
+	@Test
+	void process_minimumPoints() {
+		var alg = new LearnHierarchicalTree(new SplitOnMean(), 234);
+		alg.minimumPointsForChildren = 4;
+		var tree = new HierarchicalVocabularyTree(2, 3, 2);
+		alg.process(features(-11, -9, -9, 9, 9, 11, 11), tree);
+
+		// The negative side only has 3 points so it's not split
+		assertEquals(5, tree.nodes.size);
+		assertEquals(1, tree.nodes.get(tree.searchPathToLeaf(new double[]{-11, 0})).level);
+	}
+
+	@Test
+	void computeWeights() {
+		var alg = new LearnHierarchicalTree(new SplitOnMean(), 234);
+		var tree = new HierarchicalVocabularyTree(2, 3, 2);
+		alg.process(features(-11, -11, -9, -9, 9, 9, 11, 11), tree);
+
+		List<List<TupleDesc_F64>> images = new ArrayList<>();
+		images.add(features(-11, -11));
+		images.add(features(-11, 9));
+		images.add(features(11));
+
+		LearnHierarchicalTree.computeWeights(images, tree);
+
+		assertEquals(Math.log(3.0/2.0), weight(tree, -11), 1e-8);
+		assertEquals(Math.log(3.0), weight(tree, -9), 1e-8);
+		assertEquals(Math.log(3.0), weight(tree, 9), 1e-8);
+		assertEquals(Math.log(3.0), weight(tree, 11), 1e-8);
+	}
+
+	private static double weight( HierarchicalVocabularyTree tree, double x ) {
+		return tree.nodes.get(tree.searchPathToLeaf(new double[]{x, 0})).weight;
+	}
+
+	private static List<TupleDesc_F64> features( double... xs ) {
+		List<TupleDesc_F64> list = new ArrayList<>();
+		for (double x : xs) {
+			var desc = new TupleDesc_F64(2);
+			desc.value[0] = x;
+			list.add(desc);
+		}
+		return list;
+	}
+
+	/**
+	 * Splits the points into two clusters using the mean x-coordinate
+	 */
+	private static class SplitOnMean implements ComputeClusters<double[]>, AssignCluster<double[]> {
+		double threshold;
+
+		@Override public void init( int pointDimension, long randomSeed ) {}
+
+		@Override public void process( List<double[]> points, int numCluster ) {
+			assertEquals(2, numCluster);
+			threshold = 0;
+			for (double[] p : points) {
+				threshold += p[0];
+			}
+			threshold /= points.size();
+		}
+
+		@Override public AssignCluster<double[]> getAssignment() {return this;}
+
+		@Override public double getDistanceMeasure() {return 0;}
+
+		@Override public void setVerbose( boolean verbose ) {}
+
+		@Override public int assign( double[] point ) {
+			return point[0] <= threshold ? 0 : 1;
+		}
+
+		@Override public void assign( double[] point, double[] fit ) {
+			fit[0] = fit[1] = 0;
+			fit[assign(point)] = 1;
+		}
+
+		@Override public int getNumberOfClusters() {return 2;}
+
+		@Override public AssignCluster<double[]> copy() {return this;}
+	}
+}
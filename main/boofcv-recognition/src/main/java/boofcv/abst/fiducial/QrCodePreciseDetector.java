@@ -26,8 +26,10 @@ import boofcv.alg.fiducial.qrcode.QrCodeDecoderImage;
 import boofcv.alg.fiducial.qrcode.QrCodePositionPatternDetector;
 import boofcv.alg.shapes.polygon.DetectPolygonBinaryGrayRefine;
 import boofcv.misc.MovingAverage;
+import boofcv.misc.StageMetrics;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageGray;
+import lombok.Getter;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
@@ -51,6 +53,14 @@ public class QrCodePreciseDetector<T extends ImageGray<T>> implements QrCodeDete
 	protected MovingAverage milliBinary = new MovingAverage(0.8);
 	protected MovingAverage milliDecoding = new MovingAverage(0.8);
 
+	/** Runtime of each stage and number of markers found. Published after every call to process */
+	protected @Getter final StageMetrics metrics = new StageMetrics("QrCodePreciseDetector");
+	protected final StageMetrics.Timer timerBinary = metrics.timer("binary");
+	protected final StageMetrics.Timer timerPositionPatterns = metrics.timer("position_patterns");
+	protected final StageMetrics.Timer timerDecoding = metrics.timer("decoding");
+	protected final StageMetrics.Counter counterDetections = metrics.counter("detections");
+	protected final StageMetrics.Counter counterFailures = metrics.counter("failures");
+
 	public QrCodePreciseDetector(InputToBinary<T> inputToBinary,
 								 QrCodePositionPatternDetector<T> detectPositionPatterns,
 								 String defaultEncoding,
@@ -68,16 +78,20 @@ public class QrCodePreciseDetector<T extends ImageGray<T>> implements QrCodeDete
 		contourHelper.reshape(gray.width,gray.height);
 		inputToBinary.process(gray,contourHelper.withoutPadding());
 		long time1 = System.nanoTime();
-		milliBinary.update((time1-time0)*1e-6);
+		milliBinary.update(timerBinary.record(time1-time0));
 
 		if( profiler )
 			System.out.printf("qrcode: binary %5.2f ",milliBinary.getAverage());
 
 		detectPositionPatterns.process(gray,contourHelper.padded());
 		time0 = System.nanoTime();
+		timerPositionPatterns.record(time0-time1);
 		decoder.process(detectPositionPatterns.getPositionPatterns(),gray);
 		time1 = System.nanoTime();
-		milliDecoding.update((time1-time0)*1e-6);
+		milliDecoding.update(timerDecoding.record(time1-time0));
+		counterDetections.add(decoder.getFound().size());
+		counterFailures.add(decoder.getFailures().size());
+		metrics.publish();
 
 		if( profiler )
 			System.out.printf(" decoding %5.1f\n",milliDecoding.getAverage());
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.scene.codec;
+
+import boofcv.alg.scene.vocabtree.HierarchicalVocabularyTree;
+import boofcv.alg.scene.vocabtree.RecognitionVocabularyTree;
+import boofcv.alg.scene.vocabtree.RecognitionVocabularyTree.InvertedFile;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>
+ * Compact binary format for {@link HierarchicalVocabularyTree} and {@link RecognitionVocabularyTree}. All values
+ * are big endian. The tree's structure is encoded using only the children of each node since all the other
+ * information, e.g. parent and level, can be derived from it. Cluster means and inverted file weights are saved as 32-bit floats. Images in
+ * an inverted file are always in increasing order, so they are saved as the difference from the previous image
+ * using a variable length integer, which typically requires a single byte.
+ * </p>
+ *
+ * <pre>
+ * Tree:
+ *   "BOOFVTREE" version:int branchFactor:int maximumLevel:int dof:int numNodes:int
+ *   for each node: numChildren:int childrenIndex:int weight:double
+ *   for each node except root: mean:float[dof]
+ * Database:
+ *   "BOOFVTDB" version:int tree numImages:int imageIDs:int[numImages]
+ *   for each node: size:varint { imageDelta:varint weight:float }[size]
+ * </pre>
+ *
+ * @author Peter Abeles
+ */
+public class CodecVocabularyTree {
+	public static final String TREE_HEADER = "BOOFVTREE";
+	public static final String DATABASE_HEADER = "BOOFVTDB";
+	public static final int VERSION = 1;
+
+	/**
+	 * Saves the tree to the stream. The stream is not closed.
+	 */
+	public static void saveTree( HierarchicalVocabularyTree tree, OutputStream stream ) throws IOException {
+		var out = new DataOutputStream(stream);
+		writeTree(tree, out);
+		out.flush();
+	}
+
+	/**
+	 * Reads a tree from the stream. The stream is not closed.
+	 */
+	public static HierarchicalVocabularyTree loadTree( InputStream stream ) throws IOException {
+		return readTree(new DataInputStream(stream));
+	}
+
+	/**
+	 * Saves the tree and all the images in the database. The stream is not closed.
+	 */
+	public static void saveDatabase( RecognitionVocabularyTree db, OutputStream stream ) throws IOException {
+		HierarchicalVocabularyTree tree = db.getTree();
+		if (tree == null)
+			throw new IllegalArgumentException("Database has not been initialized");
+
+		var out = new DataOutputStream(new BufferedOutputStream(stream));
+		out.write(DATABASE_HEADER.getBytes(StandardCharsets.UTF_8));
+		out.writeInt(VERSION);
+		writeTree(tree, out);
+
+		out.writeInt(db.getImageIds().size);
+		for (int i = 0; i < db.getImageIds().size; i++) {
+			out.writeInt(db.getImageIds().get(i));
+		}
+
+		for (int nodeIdx = 0; nodeIdx < tree.nodes.size; nodeIdx++) {
+			InvertedFile file = db.getInvertedFiles().get(nodeIdx);
+			writeVarInt(out, file.size());
+			int previous = 0;
+			for (int i = 0; i < file.size(); i++) {
+				int image = file.images.get(i);
+				writeVarInt(out, image - previous);
+				out.writeFloat(file.weights.get(i));
+				previous = image;
+			}
+		}
+		out.flush();
+	}
+
+	/**
+	 * Reads the tree and images into the database. The stream is not closed and it's recommended
+	 * that a buffered stream is used.
+	 */
+	public static void loadDatabase( InputStream stream, RecognitionVocabularyTree db ) throws IOException {
+		var in = new DataInputStream(stream);
+		checkHeader(in, DATABASE_HEADER);
+		HierarchicalVocabularyTree tree = readTree(in);
+		db.initializeTree(tree);
+
+		int numImages = in.readInt();
+		for (int i = 0; i < numImages; i++) {
+			db.getImageIds().add(in.readInt());
+		}
+
+		for (int nodeIdx = 0; nodeIdx < tree.nodes.size; nodeIdx++) {
+			InvertedFile file = db.getInvertedFiles().get(nodeIdx);
+			int size = readVarInt(in);
+			int image = 0;
+			for (int i = 0; i < size; i++) {
+				image += readVarInt(in);
+				if (image >= numImages)
+					throw new IOException("Image index out of bounds");
+				file.add(image, in.readFloat());
+			}
+		}
+	}
+
+	static void writeTree( HierarchicalVocabularyTree tree, DataOutputStream out ) throws IOException {
+		out.write(TREE_HEADER.getBytes(StandardCharsets.UTF_8));
+		out.writeInt(VERSION);
+		out.writeInt(tree.branchFactor);
+		out.writeInt(tree.maximumLevel);
+		out.writeInt(tree.dof);
+		out.writeInt(tree.nodes.size);
+		for (int i = 0; i < tree.nodes.size; i++) {
+			HierarchicalVocabularyTree.Node n = tree.nodes.get(i);
+			out.writeInt(n.numChildren);
+			out.writeInt(n.childrenIndex);
+			out.writeDouble(n.weight);
+		}
+		for (int i = 0; i < tree.descriptions.size; i++) {
+			out.writeFloat((float)tree.descriptions.get(i));
+		}
+	}
+
+	static HierarchicalVocabularyTree readTree( DataInputStream in ) throws IOException {
+		checkHeader(in, TREE_HEADER);
+		int branchFactor = in.readInt();
+		int maximumLevel = in.readInt();
+		int dof = in.readInt();
+		int numNodes = in.readInt();
+		if (numNodes < 1 || dof < 0 || branchFactor < 1)
+			throw new IOException("Invalid tree. nodes=" + numNodes + " dof=" + dof + " branch=" + branchFactor);
+
+		var tree = new HierarchicalVocabularyTree(branchFactor, maximumLevel, dof);
+		tree.nodes.resize(numNodes);
+
+		for (int i = 0; i < numNodes; i++) {
+			HierarchicalVocabularyTree.Node n = tree.nodes.get(i);
+			n.index = i;
+			n.numChildren = in.readInt();
+			n.childrenIndex = in.readInt();
+			n.weight = in.readDouble();
+			if (n.numChildren > branchFactor || n.numChildren < 0)
+				throw new IOException("Invalid number of children");
+			if (n.numChildren > 0 && (n.childrenIndex <= 0 || n.childrenIndex + n.numChildren > numNodes))
+				throw new IOException("Child index out of bounds");
+		}
+
+		// Parent, branch, and level are derived from the children. Parents are always added before their children
+		HierarchicalVocabularyTree.Node root = tree.nodes.get(0);
+		root.parent = -1;
+		root.branch = -1;
+		root.level = 0;
+		for (int i = 0; i < numNodes; i++) {
+			HierarchicalVocabularyTree.Node n = tree.nodes.get(i);
+			for (int branch = 0; branch < n.numChildren; branch++) {
+				HierarchicalVocabularyTree.Node c = tree.nodes.get(n.childrenIndex + branch);
+				c.parent = i;
+				c.branch = branch;
+				c.level = n.level + 1;
+			}
+		}
+
+		tree.descriptions.resize((numNodes - 1)*dof);
+		for (int i = 0; i < tree.descriptions.size; i++) {
+			tree.descriptions.data[i] = in.readFloat();
+		}
+		return tree;
+	}
+
+	static void checkHeader( DataInputStream in, String expected ) throws IOException {
+		byte[] header = new byte[expected.length()];
+		in.readFully(header);
+		if (!expected.equals(new String(header, StandardCharsets.UTF_8)))
+			throw new IOException("Unexpected header. Expected " + expected);
+		int version = in.readInt();
+		if (version != VERSION)
+			throw new IOException("Unsupported version " + version);
+	}
+
+	/**
+	 * Writes a non-negative integer using 7-bits per byte
+	 */
+	static void writeVarInt( DataOutputStream out, int value ) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	static int readVarInt( DataInputStream in ) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Malformed variable length integer");
+	}
+}
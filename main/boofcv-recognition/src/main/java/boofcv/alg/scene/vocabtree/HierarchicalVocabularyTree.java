@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.scene.vocabtree;
+
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_F64;
+
+/**
+ * <p>
+ * A hierarchical tree of visual words. Each node in the tree is the mean of a cluster and each node has up to
+ * {@link #branchFactor} children. A feature is converted into a word by starting at the root and selecting the
+ * child which is closest to it until a leaf is reached. The cost of looking up a word is O(B*L), where B is
+ * the branch factor and L is the number of levels, instead of O(B^L) for a flat vocabulary with the same number
+ * of words.
+ * </p>
+ *
+ * <p>
+ * Children of a node are stored contiguously, which allows the tree to be stored in a couple of flat arrays.
+ * The root node has index 0 and does not have a mean. Each node also has a weight, which for leaves is
+ * typically the inverse document frequency (IDF) of the word.
+ * </p>
+ *
+ * <p>[1] Nister, David, and Henrik Stewenius. "Scalable recognition with a vocabulary tree."
+ * 2006 IEEE Computer Society Conference on Computer Vision and Pattern Recognition (CVPR'06). Vol. 2. Ieee, 2006.</p>
+ *
+ * @author Peter Abeles
+ */
+public class HierarchicalVocabularyTree {
+	/** Maximum number of children a node can have */
+	public int branchFactor;
+
+	/** Maximum number of levels in the tree. The root is not included. */
+	public int maximumLevel;
+
+	/** Number of elements in each descriptor */
+	public int dof;
+
+	/** Nodes in the tree. The root is always at index 0. */
+	public final DogArray<Node> nodes = new DogArray<>(Node::new, Node::reset);
+
+	/** Mean of the cluster each node represents. Node 'i' starts at index (i-1)*dof. The root has no mean. */
+	public final DogArray_F64 descriptions = new DogArray_F64();
+
+	/**
+	 * Specifies the tree's structure
+	 *
+	 * @param branchFactor Maximum number of children a node can have
+	 * @param maximumLevel Maximum number of levels in the tree
+	 * @param dof Number of elements in each descriptor
+	 */
+	public HierarchicalVocabularyTree( int branchFactor, int maximumLevel, int dof ) {
+		this.branchFactor = branchFactor;
+		this.maximumLevel = maximumLevel;
+		this.dof = dof;
+		reset();
+	}
+
+	public HierarchicalVocabularyTree() {}
+
+	/**
+	 * Removes all nodes except for the root.
+	 */
+	public void reset() {
+		nodes.reset();
+		descriptions.reset();
+		Node root = nodes.grow();
+		root.index = 0;
+		root.parent = -1;
+	}
+
+	/**
+	 * Adds all the children of a node at once. Can only be called once for each node.
+	 *
+	 * @param parent Index of the parent node
+	 * @param means Mean of each child's cluster. Number of children is the length of this array.
+	 * @return Index of the first child
+	 */
+	public int addChildren( int parent, double[][] means ) {
+		if (means.length > branchFactor)
+			throw new IllegalArgumentException("Too many children. " + means.length + " > " + branchFactor);
+		Node p = nodes.get(parent);
+		if (p.numChildren != 0)
+			throw new IllegalArgumentException("Children have already been added to this node");
+		if (p.level >= maximumLevel)
+			throw new IllegalArgumentException("Maximum level exceeded");
+
+		p.childrenIndex = nodes.size;
+		p.numChildren = means.length;
+		for (int i = 0; i < means.length; i++) {
+			if (means[i].length != dof)
+				throw new IllegalArgumentException("Mean has an unexpected length");
+			Node c = nodes.grow();
+			c.index = nodes.size - 1;
+			c.parent = parent;
+			c.branch = i;
+			c.level = p.level + 1;
+			for (int j = 0; j < dof; j++) {
+				descriptions.add(means[i][j]);
+			}
+		}
+		return p.childrenIndex;
+	}
+
+	/**
+	 * Finds the leaf node which the point belongs to by traversing down the tree and selecting the child
+	 * which is closest to the point at each level.
+	 *
+	 * @param point The point being looked up. Must have a length of {@link #dof}.
+	 * @return Index of the leaf node
+	 */
+	public int searchPathToLeaf( double[] point ) {
+		Node node = nodes.get(0);
+		while (node.numChildren > 0) {
+			int bestChild = -1;
+			double bestDistance = Double.MAX_VALUE;
+			for (int i = 0; i < node.numChildren; i++) {
+				int child = node.childrenIndex + i;
+				double d = distanceSq(point, child);
+				if (d < bestDistance) {
+					bestDistance = d;
+					bestChild = child;
+				}
+			}
+			node = nodes.get(bestChild);
+		}
+		return node.index;
+	}
+
+	/**
+	 * Squared Euclidean distance between the point and a node's mean
+	 */
+	public double distanceSq( double[] point, int nodeIndex ) {
+		int offset = (nodeIndex - 1)*dof;
+		double[] data = descriptions.data;
+		double sum = 0.0;
+		for (int i = 0; i < dof; i++) {
+			double d = point[i] - data[offset + i];
+			sum += d*d;
+		}
+		return sum;
+	}
+
+	/**
+	 * Copies the mean of the specified node into the array
+	 */
+	public void getDescription( int nodeIndex, double[] mean ) {
+		if (nodeIndex == 0)
+			throw new IllegalArgumentException("The root has no mean");
+		System.arraycopy(descriptions.data, (nodeIndex - 1)*dof, mean, 0, dof);
+	}
+
+	/**
+	 * Returns the number of leaves, i.e. number of words, in the tree
+	 */
+	public int countLeaves() {
+		int total = 0;
+		for (int i = 0; i < nodes.size; i++) {
+			if (nodes.get(i).isLeaf())
+				total++;
+		}
+		return total;
+	}
+
+	/**
+	 * Makes sure the tree is internally consistent. Throws an exception if it's not.
+	 */
+	public void checkValidity() {
+		if (nodes.size == 0)
+			throw new IllegalArgumentException("There must be a root node");
+		if (descriptions.size != (nodes.size - 1)*dof)
+			throw new IllegalArgumentException("Number of descriptions doesn't match the number of nodes");
+		for (int i = 1; i < nodes.size; i++) {
+			Node n = nodes.get(i);
+			Node p = nodes.get(n.parent);
+			if (n.branch < 0 || n.branch >= p.numChildren || p.childrenIndex + n.branch != i)
+				throw new IllegalArgumentException("Node " + i + " isn't a child of its parent");
+			if (n.numChildren > branchFactor)
+				throw new IllegalArgumentException("Node " + i + " has too many children");
+		}
+	}
+
+	/**
+	 * A node in the tree
+	 */
+	public static class Node {
+		/** Index of this node in the node array */
+		public int index;
+		/** Index of the parent. -1 for the root */
+		public int parent;
+		/** Which child of the parent this node is */
+		public int branch;
+		/** Level in the tree. Root is 0 */
+		public int level;
+		/** Index of the first child. Children are stored contiguously. */
+		public int childrenIndex = -1;
+		/** Number of children */
+		public int numChildren;
+		/** Weight of the node. For leaves this is typically the inverse document frequency */
+		public double weight = 1.0;
+
+		public boolean isLeaf() {
+			return numChildren == 0;
+		}
+
+		public void reset() {
+			index = -1;
+			parent = -1;
+			branch = -1;
+			level = 0;
+			childrenIndex = -1;
+			numChildren = 0;
+			weight = 1.0;
+		}
+	}
+}
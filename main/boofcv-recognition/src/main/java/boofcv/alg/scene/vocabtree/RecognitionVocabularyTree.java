@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.scene.vocabtree;
+
+import boofcv.struct.feature.TupleDesc_F64;
+import lombok.Getter;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_F32;
+import org.ddogleg.struct.DogArray_F64;
+import org.ddogleg.struct.DogArray_I32;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <p>
+ * Image retrieval using a {@link HierarchicalVocabularyTree} and TF-IDF weighted inverted files [1]. Each image
+ * is described by a sparse vector where each element is the frequency of a word in the image multiplied by the
+ * word's weight, typically the inverse document frequency, and is normalized to have an L1-norm of one. The
+ * inverted file for each word lists all the images the word appears in and its weight in that image. Only images
+ * which share at least one word with the query are considered, making the cost of a query proportional to the
+ * length of the inverted files it touches instead of the number of images in the database.
+ * </p>
+ *
+ * <p>
+ * The score is the L1 distance between the query and database vectors, which can be computed only using the words
+ * they have in common, since for normalized vectors |q-d| = 2 + sum_{q_i != 0 and d_i != 0} (|q_i-d_i| - |q_i| - |d_i|).
+ * Lower scores are better with 0 being a perfect match and 2 sharing no words.
+ * </p>
+ *
+ * <p>Images can be added to the database at any time. Word weights are fixed by the tree and are not
+ * changed as images are added.</p>
+ *
+ * <p>[1] Nister, David, and Henrik Stewenius. "Scalable recognition with a vocabulary tree."
+ * 2006 IEEE Computer Society Conference on Computer Vision and Pattern Recognition (CVPR'06). Vol. 2. Ieee, 2006.</p>
+ *
+ * @author Peter Abeles
+ */
+public class RecognitionVocabularyTree {
+	/** The vocabulary tree which converts features into words */
+	@Getter @Nullable HierarchicalVocabularyTree tree;
+
+	/** Inverted file for each node in the tree. Only leaves will have entries. */
+	@Getter final DogArray<InvertedFile> invertedFiles = new DogArray<>(InvertedFile::new, InvertedFile::reset);
+
+	/** User specified ID for each image in the database */
+	@Getter final DogArray_I32 imageIds = new DogArray_I32();
+
+	/** Matches found in the most recent query, sorted from best to worst */
+	@Getter final List<Match> matches = new ArrayList<>();
+
+	// Storage for all the matches
+	final DogArray<Match> matchesStorage = new DogArray<>(Match::new, Match::reset);
+
+	// Weight of each word in the image being processed. Only elements in touchedWords are non-zero
+	final DogArray_F64 wordWeights = new DogArray_F64();
+	final DogArray_I32 touchedWords = new DogArray_I32();
+
+	// Accumulated score for each image in the database. Only elements in touchedImages are non-zero
+	final DogArray_F64 imageScores = new DogArray_F64();
+	final DogArray_I32 touchedImages = new DogArray_I32();
+
+	/**
+	 * Initializes the data structures and removes all images from the database
+	 *
+	 * @param tree Vocabulary tree that's used. Weights of each leaf should already be set.
+	 */
+	public void initializeTree( HierarchicalVocabularyTree tree ) {
+		this.tree = tree;
+		invertedFiles.resize(tree.nodes.size);
+		imageIds.reset();
+		wordWeights.resize(tree.nodes.size, 0.0);
+		touchedWords.reset();
+		imageScores.reset();
+		touchedImages.reset();
+		matches.clear();
+		matchesStorage.reset();
+	}
+
+	/**
+	 * Removes all images from the database but keeps the tree
+	 */
+	public void clearImages() {
+		for (int i = 0; i < invertedFiles.size; i++) {
+			invertedFiles.get(i).reset();
+		}
+		imageIds.reset();
+		imageScores.reset();
+	}
+
+	/**
+	 * Adds an image to the database
+	 *
+	 * @param imageID User specified ID for the image
+	 * @param features Image features
+	 * @return Index of the image in the database
+	 */
+	public int addImage( int imageID, List<TupleDesc_F64> features ) {
+		int imageIndex = imageIds.size;
+		imageIds.add(imageID);
+
+		computeWordWeights(features);
+		for (int i = 0; i < touchedWords.size; i++) {
+			int word = touchedWords.get(i);
+			float weight = (float)wordWeights.get(word);
+			if (weight > 0.0f)
+				invertedFiles.get(word).add(imageIndex, weight);
+		}
+		clearWordWeights();
+
+		return imageIndex;
+	}
+
+	/**
+	 * Finds the images in the database which are the most similar to the query. Results are stored
+	 * in {@link #getMatches()}.
+	 *
+	 * @param features Features in the query image
+	 * @param limit Maximum number of matches returned.
+	 * @return true if at least one match was found
+	 */
+	public boolean query( List<TupleDesc_F64> features, int limit ) {
+		matches.clear();
+		matchesStorage.reset();
+
+		// Images could have been added directly to the inverted files, e.g. when loading from disk
+		if (imageScores.size != imageIds.size)
+			imageScores.resize(imageIds.size, 0.0);
+
+		computeWordWeights(features);
+
+		// Accumulate the score for every image which has a word in common with the query
+		for (int wordIdx = 0; wordIdx < touchedWords.size; wordIdx++) {
+			int word = touchedWords.get(wordIdx);
+			double q = wordWeights.get(word);
+			InvertedFile file = invertedFiles.get(word);
+			for (int i = 0; i < file.size(); i++) {
+				int imageIndex = file.images.get(i);
+				double d = file.weights.get(i);
+
+				// The score is never zero once touched, since q and d are always positive
+				if (imageScores.data[imageIndex] == 0.0)
+					touchedImages.add(imageIndex);
+				imageScores.data[imageIndex] += Math.abs(q - d) - q - d;
+			}
+		}
+		clearWordWeights();
+
+		for (int i = 0; i < touchedImages.size; i++) {
+			int imageIndex = touchedImages.get(i);
+			Match m = matchesStorage.grow();
+			m.index = imageIndex;
+			m.identification = imageIds.get(imageIndex);
+			m.error = 2.0 + imageScores.data[imageIndex];
+			imageScores.data[imageIndex] = 0.0;
+			matches.add(m);
+		}
+		touchedImages.reset();
+
+		matches.sort(Comparator.comparingDouble(a -> a.error));
+		while (matches.size() > limit) {
+			matches.remove(matches.size() - 1);
+		}
+
+		return !matches.isEmpty();
+	}
+
+	/**
+	 * Computes the normalized TF-IDF weight of each word in the image
+	 */
+	void computeWordWeights( List<TupleDesc_F64> features ) {
+		HierarchicalVocabularyTree tree = this.tree;
+		if (tree == null)
+			throw new IllegalArgumentException("Must call initializeTree() first");
+		if (features.isEmpty())
+			return;
+
+		// Word frequency
+		for (int i = 0; i < features.size(); i++) {
+			int word = tree.searchPathToLeaf(features.get(i).getValue());
+			if (wordWeights.data[word] == 0.0)
+				touchedWords.add(word);
+			wordWeights.data[word] += 1.0;
+		}
+
+		// Apply the IDF weight and normalize
+		double sum = 0.0;
+		for (int i = 0; i < touchedWords.size; i++) {
+			int word = touchedWords.get(i);
+			double w = wordWeights.data[word]*tree.nodes.get(word).weight;
+			wordWeights.data[word] = w;
+			sum += w;
+		}
+
+		// Words with zero weight are removed since they have no influence
+		int count = 0;
+		for (int i = 0; i < touchedWords.size; i++) {
+			int word = touchedWords.get(i);
+			if (wordWeights.data[word] == 0.0)
+				continue;
+			wordWeights.data[word] /= sum;
+			touchedWords.data[count++] = word;
+		}
+		touchedWords.size = count;
+	}
+
+	void clearWordWeights() {
+		for (int i = 0; i < touchedWords.size; i++) {
+			wordWeights.data[touchedWords.get(i)] = 0.0;
+		}
+		touchedWords.reset();
+	}
+
+	/**
+	 * Returns the number of images in the database
+	 */
+	public int getImageCount() {
+		return imageIds.size;
+	}
+
+	/**
+	 * List of images which contain a word and the word's weight in each image. Images are stored in the order
+	 * they were added.
+	 */
+	public static class InvertedFile {
+		/** Index of the image in the database */
+		public final DogArray_I32 images = new DogArray_I32();
+		/** Normalized weight of the word in each image */
+		public final DogArray_F32 weights = new DogArray_F32();
+
+		public void add( int image, float weight ) {
+			images.add(image);
+			weights.add(weight);
+		}
+
+		public int size() {
+			return images.size;
+		}
+
+		public void reset() {
+			images.reset();
+			weights.reset();
+		}
+	}
+
+	/**
+	 * An image in the database which matched the query
+	 */
+	public static class Match {
+		/** Index of the image in the database */
+		public int index;
+		/** User specified ID of the image */
+		public int identification;
+		/** L1 distance between the two images. 0 = perfect, 2 = nothing in common */
+		public double error;
+
+		public void reset() {
+			index = -1;
+			identification = -1;
+			error = Double.NaN;
+		}
+	}
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.similar;
+
+import boofcv.abst.feature.associate.AssociateDescription;
+import boofcv.abst.feature.detdesc.DetectDescribePoint;
+import boofcv.alg.scene.vocabtree.RecognitionVocabularyTree;
+import boofcv.alg.sfm.structure.LookUpSimilarImages;
+import boofcv.misc.BoofMiscOps;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageDimension;
+import georegression.struct.point.Point2D_F64;
+import lombok.Getter;
+import org.ddogleg.struct.DogArray;
+import org.ddogleg.struct.DogArray_I32;
+import org.ddogleg.struct.FastAccess;
+import org.ddogleg.struct.VerbosePrint;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * <p>
+ * Finds similar images in an unordered collection of images using image retrieval. Features are detected and
+ * described once when an image is added. The image is then used to query a {@link RecognitionVocabularyTree}
+ * containing all the previously added images and the best matches are marked as similar, before it's added to
+ * the database. The relationship is symmetric. Association is only performed when {@link #lookupMatches} is called
+ * for a pair of similar images and the results are cached. This reduces the cost of finding related images
+ * from O(N<sup>2</sup>) associations down to O(N*K), where K is {@link #limitMatches}.
+ * </p>
+ *
+ * <p>
+ * To reduce memory usage descriptors can be saved to disk by specifying {@link #cacheDirectory}. They are then
+ * read back in when association is performed. Pixel coordinates are always kept in memory.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SimilarImagesSceneRecognition<Image extends ImageBase<Image>>
+		implements LookUpSimilarImages, VerbosePrint {
+	/** Maximum number of images returned by the retrieval query when an image is added */
+	public int limitMatches = 15;
+
+	/** Retrieval matches with an error larger than this are ignored. 0 = perfect match and 2 = no words in common */
+	public double maximumError = 1.9;
+
+	/** Two similar images need to have at least this many associated features for matches to be returned */
+	public int minimumAssociated = 30;
+
+	/** Detects and describes image features */
+	@Getter final DetectDescribePoint<Image, TupleDesc_F64> detector;
+
+	/** Associates features between two images */
+	@Getter final AssociateDescription<TupleDesc_F64> associator;
+
+	/** Image retrieval algorithm. Must be initialized with a vocabulary tree before images are added. */
+	@Getter final RecognitionVocabularyTree recognizer;
+
+	/** If not null then descriptors are saved in this directory instead of in memory */
+	@Getter @Nullable File cacheDirectory;
+
+	// Information on each image, in the order they were added
+	final List<ImageInfo> images = new ArrayList<>();
+	final List<String> imageIds = new ArrayList<>();
+	final Map<String, ImageInfo> idToImage = new HashMap<>();
+
+	// Associations which have already been computed. Key is computed from the two image indexes
+	final Map<Long, PairMatches> pairCache = new HashMap<>();
+
+	// Workspace
+	final List<TupleDesc_F64> features = new ArrayList<>();
+	final DogArray<TupleDesc_F64> descSrc;
+	final DogArray<TupleDesc_F64> descDst;
+
+	@Nullable PrintStream verbose;
+
+	public SimilarImagesSceneRecognition( DetectDescribePoint<Image, TupleDesc_F64> detector,
+										  AssociateDescription<TupleDesc_F64> associator,
+										  RecognitionVocabularyTree recognizer ) {
+		this.detector = detector;
+		this.associator = associator;
+		this.recognizer = recognizer;
+		this.descSrc = new DogArray<>(detector::createDescription);
+		this.descDst = new DogArray<>(detector::createDescription);
+	}
+
+	/**
+	 * Removes all images. The vocabulary tree is not modified.
+	 */
+	public void reset() {
+		images.clear();
+		imageIds.clear();
+		idToImage.clear();
+		pairCache.clear();
+		recognizer.clearImages();
+	}
+
+	/**
+	 * Detects features in the image, finds similar images which have already been added, then adds it to the
+	 * retrieval database.
+	 *
+	 * @param id Unique ID for the image
+	 * @param image The image
+	 */
+	public void addImage( String id, Image image ) {
+		BoofMiscOps.checkTrue(!idToImage.containsKey(id), "Image ID has already been added");
+
+		detector.detect(image);
+		int numFeatures = detector.getNumberOfFeatures();
+
+		var info = new ImageInfo(id, images.size());
+		info.shape.setTo(image.width, image.height);
+		info.pixels = new float[numFeatures*2];
+		features.clear();
+		for (int i = 0; i < numFeatures; i++) {
+			Point2D_F64 p = detector.getLocation(i);
+			info.pixels[i*2] = (float)p.x;
+			info.pixels[i*2 + 1] = (float)p.y;
+			features.add(detector.getDescription(i));
+		}
+
+		// Find similar images which have already been added
+		if (recognizer.query(features, limitMatches)) {
+			List<RecognitionVocabularyTree.Match> matches = recognizer.getMatches();
+			for (int i = 0; i < matches.size(); i++) {
+				RecognitionVocabularyTree.Match m = matches.get(i);
+				if (m.error > maximumError)
+					break;
+				ImageInfo other = images.get(m.identification);
+				info.similar.add(other.index);
+				other.similar.add(info.index);
+			}
+		}
+
+		recognizer.addImage(info.index, features);
+		saveDescriptions(info, features);
+
+		images.add(info);
+		imageIds.add(id);
+		idToImage.put(id, info);
+
+		if (verbose != null)
+			verbose.println("added id='" + id + "' feats=" + numFeatures + " similar=" + info.similar.size);
+	}
+
+	/**
+	 * Saves the descriptors either to memory or to disk
+	 */
+	void saveDescriptions( ImageInfo info, List<TupleDesc_F64> features ) {
+		int dof = features.isEmpty() ? 0 : features.get(0).size();
+		if (cacheDirectory == null) {
+			double[] descriptions = new double[features.size()*dof];
+			for (int i = 0; i < features.size(); i++) {
+				System.arraycopy(features.get(i).value, 0, descriptions, i*dof, dof);
+			}
+			info.descriptions = descriptions;
+			return;
+		}
+
+		try (var out = new DataOutputStream(new BufferedOutputStream(
+				new FileOutputStream(descriptionFile(cacheDirectory, info.index))))) {
+			out.writeInt(features.size());
+			out.writeInt(dof);
+			for (int i = 0; i < features.size(); i++) {
+				double[] value = features.get(i).value;
+				for (int j = 0; j < dof; j++) {
+					out.writeDouble(value[j]);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Loads the descriptors for the image from memory or disk
+	 */
+	void loadDescriptions( ImageInfo info, DogArray<TupleDesc_F64> output ) {
+		if (info.descriptions != null) {
+			int numFeatures = info.pixels.length/2;
+			output.resize(numFeatures);
+			if (numFeatures == 0)
+				return;
+			int dof = info.descriptions.length/numFeatures;
+			for (int i = 0; i < numFeatures; i++) {
+				System.arraycopy(info.descriptions, i*dof, output.get(i).value, 0, dof);
+			}
+			return;
+		}
+
+		BoofMiscOps.checkTrue(cacheDirectory != null, "Descriptions are missing");
+		try (var in = new DataInputStream(new BufferedInputStream(
+				new FileInputStream(descriptionFile(Objects.requireNonNull(cacheDirectory), info.index))))) {
+			int numFeatures = in.readInt();
+			int dof = in.readInt();
+			output.resize(numFeatures);
+			for (int i = 0; i < numFeatures; i++) {
+				double[] value = output.get(i).value;
+				for (int j = 0; j < dof; j++) {
+					value[j] = in.readDouble();
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	static File descriptionFile( File directory, int index ) {
+		return new File(directory, String.format("descriptions%06d.bin", index));
+	}
+
+	@Override public List<String> getImageIDs() {
+		return imageIds;
+	}
+
+	@Override public void findSimilar( String target, List<String> similar ) {
+		similar.clear();
+		ImageInfo info = lookupImage(target);
+		for (int i = 0; i < info.similar.size; i++) {
+			similar.add(images.get(info.similar.get(i)).id);
+		}
+	}
+
+	@Override public void lookupPixelFeats( String target, DogArray<Point2D_F64> features ) {
+		ImageInfo info = lookupImage(target);
+		int numFeatures = info.pixels.length/2;
+		features.resize(numFeatures);
+		for (int i = 0; i < numFeatures; i++) {
+			features.get(i).setTo(info.pixels[i*2], info.pixels[i*2 + 1]);
+		}
+	}
+
+	@Override public boolean lookupMatches( String viewA, String viewB, DogArray<AssociatedIndex> pairs ) {
+		pairs.reset();
+		ImageInfo infoA = lookupImage(viewA);
+		ImageInfo infoB = lookupImage(viewB);
+
+		if (infoA.similar.indexOf(infoB.index) < 0)
+			return false;
+
+		// Associations are always computed with the lower index image as the source
+		boolean swapped = infoA.index > infoB.index;
+		ImageInfo src = swapped ? infoB : infoA;
+		ImageInfo dst = swapped ? infoA : infoB;
+
+		long key = ((long)src.index << 32) | dst.index;
+		PairMatches matches = pairCache.get(key);
+		if (matches == null) {
+			matches = associate(src, dst);
+			pairCache.put(key, matches);
+		}
+
+		if (matches.size() < minimumAssociated)
+			return false;
+
+		for (int i = 0; i < matches.size(); i++) {
+			if (swapped)
+				pairs.grow().setTo(matches.dst[i], matches.src[i]);
+			else
+				pairs.grow().setTo(matches.src[i], matches.dst[i]);
+		}
+		return true;
+	}
+
+	/**
+	 * Associates features between the two images
+	 */
+	PairMatches associate( ImageInfo src, ImageInfo dst ) {
+		loadDescriptions(src, descSrc);
+		loadDescriptions(dst, descDst);
+		associator.setSource(descSrc);
+		associator.setDestination(descDst);
+		associator.associate();
+
+		FastAccess<AssociatedIndex> found = associator.getMatches();
+		var matches = new PairMatches(found.size);
+		for (int i = 0; i < found.size; i++) {
+			AssociatedIndex a = found.get(i);
+			matches.src[i] = a.src;
+			matches.dst[i] = a.dst;
+		}
+
+		if (verbose != null)
+			verbose.println("associated '" + src.id + "' '" + dst.id + "' matches=" + found.size);
+
+		return matches;
+	}
+
+	@Override public void lookupShape( String target, ImageDimension shape ) {
+		shape.setTo(lookupImage(target).shape);
+	}
+
+	ImageInfo lookupImage( String id ) {
+		ImageInfo info = idToImage.get(id);
+		if (info == null)
+			throw new IllegalArgumentException("Unknown image '" + id + "'");
+		return info;
+	}
+
+	/**
+	 * Specifies where descriptors are saved. If null they are stored in memory. Must be called before
+	 * images are added.
+	 */
+	public void setCacheDirectory( @Nullable File cacheDirectory ) {
+		BoofMiscOps.checkTrue(images.isEmpty(), "Must be called before any images are added");
+		if (cacheDirectory != null && !cacheDirectory.exists() && !cacheDirectory.mkdirs())
+			throw new UncheckedIOException(new IOException("Failed to create " + cacheDirectory.getPath()));
+		this.cacheDirectory = cacheDirectory;
+	}
+
+	@Override public void setVerbose( @Nullable PrintStream out, @Nullable Set<String> configuration ) {
+		this.verbose = out;
+	}
+
+	/**
+	 * Everything which is known about an image
+	 */
+	static class ImageInfo {
+		final String id;
+		// Index of the image in the list. Also used as the ID in the recognizer
+		final int index;
+		final ImageDimension shape = new ImageDimension();
+		// pixel coordinates of each feature (x,y) interleaved
+		float[] pixels = new float[0];
+		// Descriptors packed into a single array. Null if they are saved to disk
+		@Nullable double[] descriptions;
+		// Index of similar images
+		final DogArray_I32 similar = new DogArray_I32();
+
+		ImageInfo( String id, int index ) {
+			this.id = id;
+			this.index = index;
+		}
+	}
+
+	/**
+	 * Associated features between two images
+	 */
+	static class PairMatches {
+		final int[] src;
+		final int[] dst;
+
+		PairMatches( int size ) {
+			src = new int[size];
+			dst = new int[size];
+		}
+
+		int size() {
+			return src.length;
+		}
+	}
+}
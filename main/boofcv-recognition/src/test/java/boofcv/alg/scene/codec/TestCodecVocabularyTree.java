@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.scene.codec;
+
+import boofcv.alg.scene.vocabtree.HierarchicalVocabularyTree;
+import boofcv.alg.scene.vocabtree.RecognitionVocabularyTree;
+import boofcv.alg.scene.vocabtree.TestHierarchicalVocabularyTree;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static boofcv.alg.scene.vocabtree.TestRecognitionVocabularyTree.features;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCodecVocabularyTree extends BoofStandardJUnit {
+	@Test
+	void encode_decode_tree() throws IOException {
+		HierarchicalVocabularyTree expected = TestHierarchicalVocabularyTree.createTree();
+		expected.nodes.get(5).weight = 0.25;
+
+		var stream = new ByteArrayOutputStream();
+		CodecVocabularyTree.saveTree(expected, stream);
+		HierarchicalVocabularyTree found = CodecVocabularyTree.loadTree(new ByteArrayInputStream(stream.toByteArray()));
+
+		checkIdentical(expected, found);
+	}
+
+	@Test
+	void encode_decode_database() throws IOException {
+		var expected = new RecognitionVocabularyTree();
+		expected.initializeTree(TestHierarchicalVocabularyTree.createTree());
+		for (int i = 0; i < 300; i++) {
+			expected.addImage(1000 + i, features(-11, i%2 == 0 ? -9 : 11));
+		}
+
+		var stream = new ByteArrayOutputStream();
+		CodecVocabularyTree.saveDatabase(expected, stream);
+		var found = new RecognitionVocabularyTree();
+		CodecVocabularyTree.loadDatabase(new ByteArrayInputStream(stream.toByteArray()), found);
+
+		checkIdentical(expected.getTree(), found.getTree());
+		assertEquals(expected.getImageCount(), found.getImageCount());
+		for (int i = 0; i < expected.getImageCount(); i++) {
+			assertEquals(expected.getImageIds().get(i), found.getImageIds().get(i));
+		}
+		for (int nodeIdx = 0; nodeIdx < expected.getInvertedFiles().size; nodeIdx++) {
+			RecognitionVocabularyTree.InvertedFile a = expected.getInvertedFiles().get(nodeIdx);
+			RecognitionVocabularyTree.InvertedFile b = found.getInvertedFiles().get(nodeIdx);
+			assertEquals(a.size(), b.size());
+			for (int i = 0; i < a.size(); i++) {
+				assertEquals(a.images.get(i), b.images.get(i));
+				assertEquals(a.weights.get(i), b.weights.get(i));
+			}
+		}
+
+		// Queries should produce the same results
+		assertTrue(found.query(features(-11, 11), 5));
+		assertEquals(1001, found.getMatches().get(0).identification);
+		assertEquals(0.0, found.getMatches().get(0).error, 1e-6);
+	}
+
+	@Test
+	void badHeader() {
+		byte[] data = "NOTATREE0000000000".getBytes(StandardCharsets.UTF_8);
+		assertThrows(IOException.class, () -> CodecVocabularyTree.loadTree(new ByteArrayInputStream(data)));
+	}
+
+	private static void checkIdentical( HierarchicalVocabularyTree expected, HierarchicalVocabularyTree found ) {
+		found.checkValidity();
+		assertEquals(expected.branchFactor, found.branchFactor);
+		assertEquals(expected.maximumLevel, found.maximumLevel);
+		assertEquals(expected.dof, found.dof);
+		assertEquals(expected.nodes.size, found.nodes.size);
+		for (int i = 0; i < expected.nodes.size; i++) {
+			HierarchicalVocabularyTree.Node a = expected.nodes.get(i);
+			HierarchicalVocabularyTree.Node b = found.nodes.get(i);
+			assertEquals(a.index, b.index);
+			assertEquals(a.parent, b.parent);
+			assertEquals(a.branch, b.branch);
+			assertEquals(a.level, b.level);
+			assertEquals(a.numChildren, b.numChildren);
+			if (a.numChildren > 0)
+				assertEquals(a.childrenIndex, b.childrenIndex);
+			assertEquals(a.weight, b.weight);
+		}
+		for (int i = 0; i < expected.descriptions.size; i++) {
+			assertEquals(expected.descriptions.get(i), found.descriptions.get(i), 1e-6);
+		}
+	}
+}
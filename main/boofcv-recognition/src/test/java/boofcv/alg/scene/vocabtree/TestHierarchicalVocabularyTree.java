@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.scene.vocabtree;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestHierarchicalVocabularyTree extends BoofStandardJUnit {
+	/**
+	 * Creates a tree with two levels and 4 leaves. Leaves are at (-11,0), (-9,0), (9,0), (11,0)
+	 */
+	public static HierarchicalVocabularyTree createTree() {
+		var tree = new HierarchicalVocabularyTree(2, 2, 2);
+		int first = tree.addChildren(0, new double[][]{{-10, 0}, {10, 0}});
+		tree.addChildren(first, new double[][]{{-11, 0}, {-9, 0}});
+		tree.addChildren(first + 1, new double[][]{{9, 0}, {11, 0}});
+		return tree;
+	}
+
+	@Test
+	void addChildren() {
+		HierarchicalVocabularyTree tree = createTree();
+		tree.checkValidity();
+
+		assertEquals(7, tree.nodes.size);
+		assertEquals(6*2, tree.descriptions.size);
+		assertEquals(4, tree.countLeaves());
+
+		HierarchicalVocabularyTree.Node n = tree.nodes.get(4);
+		assertEquals(1, n.parent);
+		assertEquals(1, n.branch);
+		assertEquals(2, n.level);
+		assertTrue(n.isLeaf());
+
+		var mean = new double[2];
+		tree.getDescription(4, mean);
+		assertEquals(-9, mean[0]);
+
+		// Can't add children twice
+		assertThrows(IllegalArgumentException.class, () -> tree.addChildren(1, new double[][]{{0, 0}}));
+		// Exceeds the max level
+		assertThrows(IllegalArgumentException.class, () -> tree.addChildren(4, new double[][]{{0, 0}}));
+		// Too many children
+		assertThrows(IllegalArgumentException.class, () -> tree.addChildren(5, new double[][]{{0, 0}, {0, 0}, {0, 0}}));
+	}
+
+	@Test
+	void searchPathToLeaf() {
+		HierarchicalVocabularyTree tree = createTree();
+
+		assertEquals(3, tree.searchPathToLeaf(new double[]{-12, 1}));
+		assertEquals(4, tree.searchPathToLeaf(new double[]{-8, -1}));
+		assertEquals(5, tree.searchPathToLeaf(new double[]{8.5, 0}));
+		assertEquals(6, tree.searchPathToLeaf(new double[]{20, 0}));
+
+		// Only the root
+		var empty = new HierarchicalVocabularyTree(2, 2, 2);
+		assertEquals(0, empty.searchPathToLeaf(new double[]{1, 2}));
+	}
+
+	@Test
+	void reset() {
+		HierarchicalVocabularyTree tree = createTree();
+		tree.reset();
+		assertEquals(1, tree.nodes.size);
+		assertEquals(0, tree.descriptions.size);
+		tree.checkValidity();
+	}
+}
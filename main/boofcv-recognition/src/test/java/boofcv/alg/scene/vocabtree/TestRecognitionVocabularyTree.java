@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.scene.vocabtree;
+
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestRecognitionVocabularyTree extends BoofStandardJUnit {
+	/**
+	 * Creates a list of features which are at the specified x-coordinates
+	 */
+	public static List<TupleDesc_F64> features( double... xs ) {
+		List<TupleDesc_F64> list = new ArrayList<>();
+		for (double x : xs) {
+			var desc = new TupleDesc_F64(2);
+			desc.value[0] = x;
+			list.add(desc);
+		}
+		return list;
+	}
+
+	@Test
+	void addImage_query() {
+		var alg = new RecognitionVocabularyTree();
+		alg.initializeTree(TestHierarchicalVocabularyTree.createTree());
+
+		assertEquals(0, alg.addImage(10, features(-11, -11, -9)));
+		assertEquals(1, alg.addImage(11, features(9, 11)));
+		assertEquals(2, alg.addImage(12, features(-11, 11)));
+		assertEquals(3, alg.getImageCount());
+
+		// Only leaves have inverted files
+		assertEquals(0, alg.getInvertedFiles().get(1).size());
+		assertEquals(2, alg.getInvertedFiles().get(3).size());
+
+		// Perfect match should come first. Image 11 shares no words and should not be returned
+		assertTrue(alg.query(features(-11, -11, -9), 10));
+		List<RecognitionVocabularyTree.Match> matches = alg.getMatches();
+		assertEquals(2, matches.size());
+		assertEquals(10, matches.get(0).identification);
+		assertEquals(0, matches.get(0).index);
+		assertEquals(0.0, matches.get(0).error, 1e-6);
+		assertEquals(12, matches.get(1).identification);
+
+		// Check the score against a brute force L1 computation. query = [2/3, 1/3, 0, 0], image 12 = [1/2, 0, 0, 1/2]
+		double expected = Math.abs(2.0/3.0 - 0.5) + 1.0/3.0 + 0.5;
+		assertEquals(expected, matches.get(1).error, 1e-6);
+
+		// Limit the number of results
+		assertTrue(alg.query(features(-11, -11, -9), 1));
+		assertEquals(1, alg.getMatches().size());
+	}
+
+	/**
+	 * Words with a weight of zero should be ignored
+	 */
+	@Test
+	void zeroWeight() {
+		HierarchicalVocabularyTree tree = TestHierarchicalVocabularyTree.createTree();
+		tree.nodes.get(3).weight = 0.0;
+
+		var alg = new RecognitionVocabularyTree();
+		alg.initializeTree(tree);
+		alg.addImage(1, features(-11, 9));
+
+		assertEquals(0, alg.getInvertedFiles().get(3).size());
+		assertEquals(1, alg.getInvertedFiles().get(5).size());
+		assertEquals(1.0f, alg.getInvertedFiles().get(5).weights.get(0), 1e-6f);
+
+		assertFalse(alg.query(features(-11), 10));
+	}
+
+	@Test
+	void clearImages() {
+		var alg = new RecognitionVocabularyTree();
+		alg.initializeTree(TestHierarchicalVocabularyTree.createTree());
+		alg.addImage(10, features(-11, -11, -9));
+		alg.clearImages();
+
+		assertEquals(0, alg.getImageCount());
+		assertFalse(alg.query(features(-11, -11, -9), 10));
+
+		// Make sure it can be used again after being cleared
+		alg.addImage(3, features(11));
+		assertTrue(alg.query(features(11), 10));
+		assertEquals(3, alg.getMatches().get(0).identification);
+	}
+}
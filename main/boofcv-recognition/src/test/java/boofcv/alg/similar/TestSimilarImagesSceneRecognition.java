@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.similar;
+
+import boofcv.abst.feature.detdesc.DetectDescribePointAbstract;
+import boofcv.alg.scene.vocabtree.RecognitionVocabularyTree;
+import boofcv.alg.scene.vocabtree.TestHierarchicalVocabularyTree;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageDimension;
+import boofcv.testing.BoofStandardJUnit;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.DogArray;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSimilarImagesSceneRecognition extends BoofStandardJUnit {
+	/** x-coordinate of the descriptors in each scene. Scene is specified by the value of pixel (0,0) */
+	double[][] scenes = new double[][]{{-11.2, -10.8, -9}, {9, 11}};
+
+	@Test
+	void memory() {
+		checkAll(createAlg());
+	}
+
+	@Test
+	void diskCache() throws IOException {
+		File directory = Files.createTempDirectory("similar").toFile();
+		try {
+			SimilarImagesSceneRecognition<GrayU8> alg = createAlg();
+			alg.setCacheDirectory(directory);
+			checkAll(alg);
+
+			// Descriptors should only be on disk
+			assertTrue(SimilarImagesSceneRecognition.descriptionFile(directory, 0).exists());
+			assertNull(alg.images.get(0).descriptions);
+		} finally {
+			File[] files = directory.listFiles();
+			if (files != null) {
+				for (File f : files) {
+					assertTrue(f.delete());
+				}
+			}
+			assertTrue(directory.delete());
+		}
+	}
+
+	void checkAll( SimilarImagesSceneRecognition<GrayU8> alg ) {
+		alg.addImage("a", createImage(0));
+		alg.addImage("b", createImage(1));
+		alg.addImage("c", createImage(0));
+
+		assertEquals(3, alg.getImageIDs().size());
+
+		// Images of the same scene should be similar
+		List<String> similar = new ArrayList<>();
+		alg.findSimilar("a", similar);
+		assertEquals(1, similar.size());
+		assertEquals("c", similar.get(0));
+		alg.findSimilar("c", similar);
+		assertEquals(1, similar.size());
+		assertEquals("a", similar.get(0));
+		alg.findSimilar("b", similar);
+		assertEquals(0, similar.size());
+
+		// Only similar images have matches
+		var pairs = new DogArray<>(AssociatedIndex::new);
+		assertFalse(alg.lookupMatches("a", "b", pairs));
+		assertEquals(0, pairs.size);
+
+		assertTrue(alg.lookupMatches("a", "c", pairs));
+		assertEquals(3, pairs.size);
+		List<AssociatedIndex> forwards = new ArrayList<>();
+		for (int i = 0; i < pairs.size; i++) {
+			forwards.add(pairs.get(i).copy());
+		}
+		assertEquals(1, alg.pairCache.size());
+
+		// Reversing the order should swap the indexes and use the cached results
+		assertTrue(alg.lookupMatches("c", "a", pairs));
+		assertEquals(1, alg.pairCache.size());
+		assertEquals(forwards.size(), pairs.size);
+		for (int i = 0; i < pairs.size; i++) {
+			assertEquals(forwards.get(i).src, pairs.get(i).dst);
+			assertEquals(forwards.get(i).dst, pairs.get(i).src);
+		}
+
+		// Pixels and shape
+		var pixels = new DogArray<>(Point2D_F64::new);
+		alg.lookupPixelFeats("b", pixels);
+		assertEquals(2, pixels.size);
+		assertEquals(1.0, pixels.get(1).x, 1e-6);
+		var shape = new ImageDimension();
+		alg.lookupShape("b", shape);
+		assertEquals(20, shape.width);
+		assertEquals(15, shape.height);
+	}
+
+	SimilarImagesSceneRecognition<GrayU8> createAlg() {
+		var recognizer = new RecognitionVocabularyTree();
+		recognizer.initializeTree(TestHierarchicalVocabularyTree.createTree());
+		var alg = new SimilarImagesSceneRecognition<>(new DummyDetector(),
+				FactoryAssociation.greedy(null, FactoryAssociation.scoreEuclidean(TupleDesc_F64.class, true)),
+				recognizer);
+		alg.minimumAssociated = 1;
+		return alg;
+	}
+
+	GrayU8 createImage( int scene ) {
+		var image = new GrayU8(20, 15);
+		image.set(0, 0, scene);
+		return image;
+	}
+
+	/**
+	 * Creates descriptors from the scene specified in the image. Pixel coordinate is the feature's index.
+	 */
+	class DummyDetector extends DetectDescribePointAbstract<GrayU8, TupleDesc_F64> {
+		List<TupleDesc_F64> descriptions = new ArrayList<>();
+		List<Point2D_F64> locations = new ArrayList<>();
+
+		@Override public void detect( GrayU8 input ) {
+			descriptions.clear();
+			locations.clear();
+			double[] xs = scenes[input.get(0, 0)];
+			for (int i = 0; i < xs.length; i++) {
+				TupleDesc_F64 desc = createDescription();
+				desc.value[0] = xs[i];
+				descriptions.add(desc);
+				locations.add(new Point2D_F64(i, i));
+			}
+		}
+
+		@Override public TupleDesc_F64 createDescription() {return new TupleDesc_F64(2);}
+
+		@Override public Class<TupleDesc_F64> getDescriptionType() {return TupleDesc_F64.class;}
+
+		@Override public int getNumberOfFeatures() {return descriptions.size();}
+
+		@Override public TupleDesc_F64 getDescription( int index ) {return descriptions.get(index);}
+
+		@Override public Point2D_F64 getLocation( int featureIndex ) {return locations.get(featureIndex);}
+	}
+}
@@ -18,14 +18,17 @@
 
 package boofcv.alg.mvs;
 
+import boofcv.abst.disparity.DisparitySmoother;
 import boofcv.abst.disparity.StereoDisparity;
 import boofcv.abst.geo.bundle.BundleAdjustmentCamera;
 import boofcv.abst.geo.bundle.SceneStructureMetric;
 import boofcv.alg.distort.brown.LensDistortionBrown;
 import boofcv.alg.geo.bundle.BundleAdjustmentOps;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.misc.BoofLambdas;
 import boofcv.misc.BoofMiscOps;
 import boofcv.misc.LookUpImages;
+import boofcv.misc.LookUpImagesCached;
 import boofcv.struct.calib.CameraPinholeBrown;
 import boofcv.struct.distort.Point2Transform2_F64;
 import boofcv.struct.distort.PointToPixelTransform_F64;
@@ -43,6 +46,11 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.PrintStream;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Objects.requireNonNull;
 
@@ -63,7 +71,12 @@ import static java.util.Objects.requireNonNull;
  * contribution to the point cloud is needed then you need to call {@link #getDisparityCloud()} and access
  * the view specific results.
  *
- * NOTE: Before this can be used you must call {@link #setStereoDisparity}.
+ * NOTE: Before this can be used you must call {@link #setStereoDisparity} or {@link #setStereoDisparityFactory}.
+ *
+ * The fused disparity for multiple "center" views can be computed at the same time by setting
+ * {@link #concurrentViews}. Each thread has its own stereo algorithm and points are added to the cloud in the
+ * calling thread in the same order, so the cloud is identical to the one found when views are processed one at
+ * a time.
  *
  * @see ScoreRectifiedViewCoveragePixels
  * @see MultiBaselineStereoIndependent
@@ -82,6 +95,13 @@ public class MultiViewStereoFromKnownSceneStructure<T extends ImageGray<T>> impl
 	/** Maximum number of stereo pairs that will be combined. If more than this number then the best are selected */
 	public @Getter @Setter int maxCombinePairs = 10;
 
+	/**
+	 * Maximum number of "center" views which have their fused disparity computed at the same time, each in its
+	 * own thread. Memory usage grows with this number. If more than one then {@link #setStereoDisparityFactory}
+	 * must be called, and {@link LookUpImages} and {@link Listener#handlePairDisparity} must be thread safe.
+	 */
+	public @Getter @Setter int concurrentViews = 1;
+
 	/** Used to access temporary results before they are discarded */
 	protected @Getter @Setter @Nullable Listener<T> listener;
 
@@ -119,6 +139,11 @@ public class MultiViewStereoFromKnownSceneStructure<T extends ImageGray<T>> impl
 	// Which SBA view indexes are paired to the target
 	DogArray_I32 imagePairIndexesSba = new DogArray_I32();
 
+	// Connections to the center which were selected to compute its disparity
+	final List<StereoPairGraph.Edge> selectedConnections = new ArrayList<>();
+	// Connections to the next center which will be prefetched
+	final List<StereoPairGraph.Edge> prefetchConnections = new ArrayList<>();
+
 	// Used when a stereo mask is required but none is available
 	GrayU8 dummyMask = new GrayU8(1, 1);
 
@@ -136,6 +161,13 @@ public class MultiViewStereoFromKnownSceneStructure<T extends ImageGray<T>> impl
 	// type of input image
 	final @Getter ImageType<T> imageType;
 
+	// Creates stereo algorithms for each thread when processing views concurrently
+	@Nullable BoofLambdas.Factory<StereoDisparity<T, GrayF32>> factoryStereoDisparity;
+	@Nullable BoofLambdas.Factory<DisparitySmoother<T, GrayF32>> factorySmoother;
+
+	// Computes fused disparity images when processing views concurrently
+	final List<CenterWorker> workers = new ArrayList<>();
+
 	// Specify verbose output
 	@Nullable PrintStream verbose = null;
 
@@ -157,7 +189,27 @@ public class MultiViewStereoFromKnownSceneStructure<T extends ImageGray<T>> impl
 	 * @param pairs (Input) Which views are to be used and their relationship to each other
 	 */
 	public void process( SceneStructureMetric scene, StereoPairGraph pairs ) {
-		initializeListener();
+		if (concurrentViews > 1) {
+			Objects.requireNonNull(factoryStereoDisparity, "Must call setStereoDisparityFactory() first");
+			initializeWorkers();
+			var pipeline = new ConcurrentCenters();
+			try {
+				processCenters(scene, pairs, pipeline);
+			} finally {
+				pipeline.pool.shutdownNow();
+			}
+		} else {
+			initializeListener();
+			processCenters(scene, pairs, null);
+		}
+	}
+
+	/**
+	 * Selects center views and computes their fused disparity images
+	 *
+	 * @param pipeline If not null then the fused disparity is computed using the pipeline instead of in this thread
+	 */
+	void processCenters( SceneStructureMetric scene, StereoPairGraph pairs, @Nullable ConcurrentCenters pipeline ) {
 		// Go through each view and compute score for use as a common / "left" stereo image
 		initializeScores(scene, pairs);
 		scoreViewsSelectStereoPairs(scene);
@@ -197,9 +249,19 @@ public class MultiViewStereoFromKnownSceneStructure<T extends ImageGray<T>> impl
 			// Add image for center view
 			indexSbaToViewID.put(center.relations.indexSba, center.relations.id);
 
+			// Start loading images for the next center while this one is processed
+			prefetchNextCenter(pairs, index);
+
 			// Compute the fused disparity from all the views, then add points to the point cloud
-			computeFusedDisparityAddCloud(scene, center, indexSbaToViewID, imagePairIndexesSba);
+			if (pipeline == null)
+				computeFusedDisparityAddCloud(scene, center, indexSbaToViewID, imagePairIndexesSba);
+			else
+				pipeline.submit(scene, center);
 		}
+
+		// Add the remaining views to the cloud
+		if (pipeline != null)
+			pipeline.finish(scene);
 	}
 
 	/**
@@ -219,6 +281,66 @@ public class MultiViewStereoFromKnownSceneStructure<T extends ImageGray<T>> impl
 		}
 	}
 
+	/**
+	 * Creates a worker for each view which can be processed at the same time and sets up their listeners
+	 */
+	void initializeWorkers() {
+		BoofLambdas.Factory<StereoDisparity<T, GrayF32>> factoryStereoDisparity =
+				Objects.requireNonNull(this.factoryStereoDisparity);
+
+		// The first worker uses the regular instance, which avoids declaring more memory than needed
+		if (workers.isEmpty())
+			workers.add(new CenterWorker(computeFused));
+		while (workers.size() < concurrentViews) {
+			var computeFused = new MultiBaselineStereoIndependent<>(imageType);
+			computeFused.setStereoDisparity(factoryStereoDisparity.newInstance());
+			workers.add(new CenterWorker(computeFused));
+		}
+		// The thread pool has one thread for each worker
+		while (workers.size() > concurrentViews) {
+			workers.remove(workers.size() - 1);
+		}
+
+		for (int i = 0; i < workers.size(); i++) {
+			CenterWorker worker = workers.get(i);
+			// The other workers are configured the same as the regular instance
+			if (worker.computeFused != computeFused) {
+				worker.computeFused.setSettings(computeFused);
+				worker.computeFused.setDisparitySmoother(createSmootherLike(computeFused.getDisparitySmoother(),
+						worker.computeFused.getDisparitySmoother()));
+			}
+			worker.computeFused.setLookUpImages(imageLookUp);
+			if (listener == null) {
+				worker.computeFused.setListener(null);
+				continue;
+			}
+			Listener<T> listener = this.listener;
+			worker.computeFused.setListener(( left, right, rectLeft, rectRight, disparity, mask, parameters, rect ) -> {
+				String leftID = worker.indexSbaToViewID.get(left);
+				String rightID = worker.indexSbaToViewID.get(right);
+				listener.handlePairDisparity(leftID, rightID, rectLeft, rectRight, disparity, mask, parameters);
+			});
+		}
+	}
+
+	/**
+	 * Returns a smoother for a worker. A worker only smooths its disparity if the regular instance does.
+	 *
+	 * @param main Smoother used by the regular instance
+	 * @param current Smoother the worker already has
+	 */
+	@Nullable DisparitySmoother<T, GrayF32> createSmootherLike( @Nullable DisparitySmoother<T, GrayF32> main,
+																@Nullable DisparitySmoother<T, GrayF32> current ) {
+		if (main == null)
+			return null;
+		if (current != null)
+			return current;
+		if (factorySmoother == null)
+			throw new IllegalArgumentException("A disparity smoother is used but no factory was provided. " +
+					"See setStereoDisparityFactory()");
+		return factorySmoother.newInstance();
+	}
+
 	/**
 	 * For each view in the list of stereo pairs create a {@link ViewInfo} for it and set all parameters
 	 * but the score
@@ -303,15 +425,22 @@ public class MultiViewStereoFromKnownSceneStructure<T extends ImageGray<T>> impl
 		if (!computeFused.process(scene, center.relations.indexSba, pairIndexes, sbaIndexToName::get))
 			throw new RuntimeException("Disparity failed!");
 
+		addToCloud(scene, center, computeFused.fusedDisparity, computeFused.fusedParam);
+	}
+
+	/**
+	 * Adds the fused disparity image of a center view to the cloud
+	 */
+	void addToCloud( SceneStructureMetric scene, ViewInfo center,
+					 GrayF32 disparity, DisparityParameters fusedParam ) {
 		// The fused disparity doesn't compute a mask since all invalid pixels are marked as invalid using
 		// he disparity value
-		GrayF32 disparity = computeFused.fusedDisparity;
 		dummyMask.reshape(disparity);
 		ImageMiscOps.fill(dummyMask, 0);
 
 		// Pass along results to the listener
 		if (listener != null) {
-			listener.handleFusedDisparity(center.relations.id, disparity, dummyMask, computeFused.fusedParam);
+			listener.handleFusedDisparity(center.relations.id, disparity, dummyMask, fusedParam);
 		}
 
 		// Convert data structures into a format which is understood by disparity to cloud
@@ -325,7 +454,7 @@ public class MultiViewStereoFromKnownSceneStructure<T extends ImageGray<T>> impl
 
 		// Use the computed disparity to add to the common point cloud while not adding points already in
 		// the cloud
-		disparityCloud.addDisparity(disparity, dummyMask, world_to_view1, computeFused.fusedParam,
+		disparityCloud.addDisparity(disparity, dummyMask, world_to_view1, fusedParam,
 				norm_to_pixel, new PointToPixelTransform_F64(pixel_to_norm));
 	}
 
@@ -337,23 +466,10 @@ public class MultiViewStereoFromKnownSceneStructure<T extends ImageGray<T>> impl
 		indexSbaToViewID.clear();
 		imagePairIndexesSba.reset();
 
-		final List<StereoPairGraph.Edge> connections = requireNonNull(pairs.vertexes.get(center.id)).pairs;
-
-		final List<StereoPairGraph.Edge> connectionsSorted = new ArrayList<>(connections);
-		Collections.sort(connectionsSorted, Comparator.comparingDouble(a -> -a.quality3D));
-
-		// Put a limit of the computation expense when computing this disparity image
-		// NOTE: This does not take in account geometric diversity. For example, there
-		//       could be 5 identical images with the best score. A less naive would take
-		//       in account how similar the images are.
-		int totalConsider = Math.min(maxCombinePairs, connectionsSorted.size());
-
-		for (int connIdx = 0; connIdx < totalConsider; connIdx++) {
-			StereoPairGraph.Edge connected = connectionsSorted.get(connIdx);
+		selectConnections(pairs, center, selectedConnections);
 
-			// Check to see if there's enough 3D information
-			if (connected.quality3D < minimumQuality3D)
-				continue;
+		for (int connIdx = 0; connIdx < selectedConnections.size(); connIdx++) {
+			StereoPairGraph.Edge connected = selectedConnections.get(connIdx);
 
 			// Look up the "other" view this is connected to
 			StereoPairGraph.Vertex other = connected.other(center);
@@ -369,6 +485,56 @@ public class MultiViewStereoFromKnownSceneStructure<T extends ImageGray<T>> impl
 		}
 	}
 
+	/**
+	 * Selects the views connected to the center which will be used to compute its disparity image
+	 *
+	 * @param selected (Output) Selected connections with the best first
+	 */
+	void selectConnections( StereoPairGraph pairs, StereoPairGraph.Vertex center,
+							List<StereoPairGraph.Edge> selected ) {
+		selected.clear();
+		selected.addAll(requireNonNull(pairs.vertexes.get(center.id)).pairs);
+		Collections.sort(selected, Comparator.comparingDouble(a -> -a.quality3D));
+
+		// Put a limit of the computation expense when computing this disparity image
+		// NOTE: This does not take in account geometric diversity. For example, there
+		//       could be 5 identical images with the best score. A less naive would take
+		//       in account how similar the images are.
+		int totalConsider = Math.min(maxCombinePairs, selected.size());
+
+		// Check to see if there's enough 3D information. Since it's sorted, all the rejected are at the end
+		int count = 0;
+		while (count < totalConsider && selected.get(count).quality3D >= minimumQuality3D) {
+			count++;
+		}
+		selected.subList(count, selected.size()).clear();
+	}
+
+	/**
+	 * If images are looked up using {@link LookUpImagesCached} then the images for the next center view are
+	 * loaded in the background while the current center is being processed.
+	 *
+	 * @param index Index of the current center in {@link #arrayScores}
+	 */
+	void prefetchNextCenter( StereoPairGraph pairs, int index ) {
+		if (!(imageLookUp instanceof LookUpImagesCached))
+			return;
+		var cached = (LookUpImagesCached)imageLookUp;
+
+		for (int nextIdx = index + 1; nextIdx < arrayScores.size; nextIdx++) {
+			ViewInfo next = arrayScores.get(nextIdx);
+			if (next.used)
+				continue;
+
+			cached.prefetch(next.relations.id, imageType);
+			selectConnections(pairs, next.relations, prefetchConnections);
+			for (int connIdx = 0; connIdx < prefetchConnections.size(); connIdx++) {
+				cached.prefetch(prefetchConnections.get(connIdx).other(next.relations).id, imageType);
+			}
+			return;
+		}
+	}
+
 	/** Returns the computed 3D point cloud. */
 	public List<Point3D_F64> getCloud() {
 		return disparityCloud.cloud.toList();
@@ -377,6 +543,26 @@ public class MultiViewStereoFromKnownSceneStructure<T extends ImageGray<T>> impl
 	/** Specifies which stereo disparity algorithm to use */
 	public void setStereoDisparity( StereoDisparity<T, GrayF32> stereoDisparity ) {
 		computeFused.setStereoDisparity(stereoDisparity);
+		// Workers might have been created using a different algorithm
+		factoryStereoDisparity = null;
+		factorySmoother = null;
+		workers.clear();
+	}
+
+	/**
+	 * Specifies how to create the stereo disparity algorithm and disparity smoother. Required when
+	 * {@link #concurrentViews} is more than one since each thread needs its own instance.
+	 *
+	 * @param factoryDisparity Creates a new stereo disparity algorithm
+	 * @param factorySmoother Creates a new disparity smoother. If null then disparity will not be smoothed.
+	 */
+	public void setStereoDisparityFactory(
+			BoofLambdas.Factory<StereoDisparity<T, GrayF32>> factoryDisparity,
+			@Nullable BoofLambdas.Factory<DisparitySmoother<T, GrayF32>> factorySmoother ) {
+		setStereoDisparity(factoryDisparity.newInstance());
+		computeFused.setDisparitySmoother(factorySmoother == null ? null : factorySmoother.newInstance());
+		this.factoryStereoDisparity = factoryDisparity;
+		this.factorySmoother = factorySmoother;
 	}
 
 	public void setImageLookUp(LookUpImages imageLookUp) {
@@ -413,11 +599,102 @@ public class MultiViewStereoFromKnownSceneStructure<T extends ImageGray<T>> impl
 		}
 	}
 
+	/**
+	 * Computes the fused disparity image for one center view at a time. Each thread has its own worker.
+	 */
+	class CenterWorker {
+		final MultiBaselineStereoIndependent<T> computeFused;
+		// The center view which is being processed
+		@Nullable ViewInfo center;
+		// Copy of the views connected to the center
+		final TIntObjectMap<String> indexSbaToViewID = new TIntObjectHashMap<>();
+		final DogArray_I32 imagePairIndexesSba = new DogArray_I32();
+
+		CenterWorker( MultiBaselineStereoIndependent<T> computeFused ) {
+			this.computeFused = computeFused;
+		}
+
+		/** Copies the currently selected center and connected views */
+		void setTo( ViewInfo center ) {
+			this.center = center;
+			this.indexSbaToViewID.clear();
+			this.indexSbaToViewID.putAll(MultiViewStereoFromKnownSceneStructure.this.indexSbaToViewID);
+			this.imagePairIndexesSba.setTo(MultiViewStereoFromKnownSceneStructure.this.imagePairIndexesSba);
+		}
+
+		CenterWorker process( SceneStructureMetric scene ) {
+			ViewInfo center = Objects.requireNonNull(this.center);
+			if (!computeFused.process(scene, center.relations.indexSba, imagePairIndexesSba, indexSbaToViewID::get))
+				throw new RuntimeException("Disparity failed!");
+			return this;
+		}
+	}
+
+	/**
+	 * Computes the fused disparity of multiple center views in a thread pool while points are added to the cloud
+	 * in the calling thread. Centers are added to the cloud in the same order they were submitted.
+	 */
+	class ConcurrentCenters {
+		final ExecutorService pool;
+		// Workers which are not processing a view
+		final ArrayDeque<CenterWorker> idle = new ArrayDeque<>(workers);
+		// Views which have been submitted but not yet added to the cloud, in the order they were submitted
+		final ArrayDeque<Future<CenterWorker>> pending = new ArrayDeque<>();
+
+		ConcurrentCenters() {
+			var threadCount = new AtomicInteger();
+			pool = Executors.newFixedThreadPool(workers.size(), r -> {
+				var thread = new Thread(r, "MultiViewStereo" + threadCount.getAndIncrement());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+
+		/** Starts computing the fused disparity for the currently selected center */
+		void submit( SceneStructureMetric scene, ViewInfo center ) {
+			// If all the workers are busy, wait for the oldest one then add its results to the cloud
+			if (idle.isEmpty())
+				addOldestToCloud(scene);
+
+			CenterWorker worker = idle.remove();
+			worker.setTo(center);
+			pending.add(pool.submit(() -> worker.process(scene)));
+		}
+
+		/** Waits for all the views to finish and adds them to the cloud */
+		void finish( SceneStructureMetric scene ) {
+			while (!pending.isEmpty()) {
+				addOldestToCloud(scene);
+			}
+		}
+
+		void addOldestToCloud( SceneStructureMetric scene ) {
+			CenterWorker worker = waitFor(pending.remove());
+			addToCloud(scene, Objects.requireNonNull(worker.center),
+					worker.computeFused.fusedDisparity, worker.computeFused.fusedParam);
+			worker.center = null;
+			idle.add(worker);
+		}
+	}
+
+	private static <W> W waitFor( Future<W> future ) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException)e.getCause();
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
 	/** Used to capture intermediate results */
 	public interface Listener<RectImg> {
 		/**
 		 * After a regular disparity image has been computed from a pair, this function is called and the results
-		 * passed in
+		 * passed in. If views are processed concurrently then this is called from multiple threads.
 		 */
 		void handlePairDisparity( String left, String right, RectImg rectLeft, RectImg rectRight,
 								  GrayF32 disparity, GrayU8 mask,
@@ -28,6 +28,7 @@ import boofcv.alg.sfm.d3.structure.VisOdomBundleAdjustment.BFrame;
 import boofcv.alg.sfm.d3.structure.VisOdomBundleAdjustment.BObservation;
 import boofcv.alg.sfm.d3.structure.VisOdomBundleAdjustment.BTrack;
 import boofcv.alg.sfm.d3.structure.VisOdomKeyFrameManager;
+import boofcv.misc.StageMetrics;
 import boofcv.struct.distort.Point2Transform2_F64;
 import georegression.struct.point.Point2D_F64;
 import georegression.struct.point.Point3D_F64;
@@ -100,6 +101,16 @@ public abstract class VisOdomBundlePnPBase<Track extends VisOdomBundleAdjustment
 
 	// Internal profiling
 	protected @Getter @Setter PrintStream profileOut;
+
+	/** Runtime of each stage. Published after every call to process */
+	protected @Getter final StageMetrics metrics = new StageMetrics(getClass().getSimpleName());
+	protected final StageMetrics.Timer timerTracking = metrics.timer("tracking");
+	protected final StageMetrics.Timer timerEstimate = metrics.timer("estimate");
+	protected final StageMetrics.Timer timerBundle = metrics.timer("bundle");
+	protected final StageMetrics.Timer timerDropUnused = metrics.timer("drop_unused");
+	protected final StageMetrics.Timer timerSceneMaintenance = metrics.timer("scene_maintenance");
+	protected final StageMetrics.Timer timerSpawn = metrics.timer("spawn");
+	protected final StageMetrics.Timer timerTotal = metrics.timer("total");
 	// Verbose debug information
 	protected @Getter PrintStream verbose;
 
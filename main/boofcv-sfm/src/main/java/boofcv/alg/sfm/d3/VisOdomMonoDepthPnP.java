@@ -181,9 +181,9 @@ public class VisOdomMonoDepthPnP<T extends ImageBase<T>>
 
 		//=============================================================================================
 		//========== Refine the scene's state estimate
-		double time2 = System.nanoTime();
+		long time2 = System.nanoTime();
 		optimizeTheScene();
-		double time3 = System.nanoTime();
+		long time3 = System.nanoTime();
 
 		//=============================================================================================
 		//========== Perform maintenance by dropping elements from the scene
@@ -203,15 +203,16 @@ public class VisOdomMonoDepthPnP<T extends ImageBase<T>>
 
 		//=============================================================================================
 		//========== Summarize profiling results
-		timeTracking = (time1 - time0)*1e-6;
-		timeEstimate = (time2 - time1)*1e-6;
-		timeBundle = (time3 - time2)*1e-6;
-		timeDropUnused = (time4 - time3)*1e-6;
-		timeSceneMaintenance = (time5 - time4)*1e-6;
-		timeSpawn = (time6 - time5)*1e-6;
+		timeTracking = timerTracking.record(time1 - time0);
+		timeEstimate = timerEstimate.record(time2 - time1);
+		timeBundle = timerBundle.record(time3 - time2);
+		timeDropUnused = timerDropUnused.record(time4 - time3);
+		timeSceneMaintenance = timerSceneMaintenance.record(time5 - time4);
+		timeSpawn = timerSpawn.record(time6 - time5);
+		double timeTotal = timerTotal.record(time6 - time0);
+		metrics.publish();
 
 		if (profileOut != null) {
-			double timeTotal = (time6 - time0)*1e-6;
 			profileOut.printf("TIME: TRK %5.1f Est %5.1f Bun %5.1f DU %5.1f Scene %5.1f Spn  %5.1f TOTAL %5.1f\n",
 					timeTracking, timeEstimate, timeBundle, timeDropUnused, timeSceneMaintenance, timeSpawn, timeTotal);
 		}
@@ -32,6 +32,7 @@ import boofcv.factory.distort.LensDistortionFactory;
 import boofcv.factory.geo.ConfigTriangulation;
 import boofcv.factory.geo.FactoryMultiView;
 import boofcv.misc.ConfigConverge;
+import boofcv.misc.StageMetrics;
 import boofcv.struct.calib.StereoParameters;
 import boofcv.struct.distort.Point2Transform2_F64;
 import boofcv.struct.feature.AssociatedIndex;
@@ -133,6 +134,17 @@ public class VisOdomStereoQuadPnP<T extends ImageGray<T>, TD extends TupleDesc>
 
 	// Internal profiling
 	protected @Getter @Setter PrintStream profileOut;
+
+	/** Runtime of each stage. Published after every call to process */
+	protected @Getter final StageMetrics metrics = new StageMetrics(getClass().getSimpleName());
+	protected final StageMetrics.Timer timerDetect = metrics.timer("detect");
+	protected final StageMetrics.Timer timerAssociateL2R = metrics.timer("associate_l2r");
+	protected final StageMetrics.Timer timerAssociateF2F = metrics.timer("associate_f2f");
+	protected final StageMetrics.Timer timerCyclic = metrics.timer("cyclic");
+	protected final StageMetrics.Timer timerEstimate = metrics.timer("estimate");
+	protected final StageMetrics.Timer timerBundle = metrics.timer("bundle");
+	protected final StageMetrics.Timer timerMaintenance = metrics.timer("maintenance");
+	protected final StageMetrics.Timer timerTotal = metrics.timer("total");
 	// Verbose debug information
 	protected @Getter PrintStream verbose;
 
@@ -272,17 +284,19 @@ public class VisOdomStereoQuadPnP<T extends ImageGray<T>, TD extends TupleDesc>
 			curr_to_key.concat(prevLeft_to_world, left_to_world);
 			long time7 = System.nanoTime();
 
-			if (profileOut != null) {
-				double milliDet = (time1 - time0)*1e-6;
-				double milliL2R = (time2 - time1)*1e-6;
-				double milliF2F = (time3 - time2)*1e-6;
-				double milliCyc = (time4 - time3)*1e-6;
-				double milliEst = (time5 - time4)*1e-6;
-				double milliBun = (time6 - time5)*1e-6;
-				double milliMnt = (time7 - time6)*1e-6;
+			double milliDet = timerDetect.record(time1 - time0);
+			double milliL2R = timerAssociateL2R.record(time2 - time1);
+			double milliF2F = timerAssociateF2F.record(time3 - time2);
+			double milliCyc = timerCyclic.record(time4 - time3);
+			double milliEst = timerEstimate.record(time5 - time4);
+			double milliBun = timerBundle.record(time6 - time5);
+			double milliMnt = timerMaintenance.record(time7 - time6);
+			double milliTotal = timerTotal.record(time7 - time0);
+			metrics.publish();
 
+			if (profileOut != null) {
 				profileOut.printf("TIME: Det %5.1f L2R %5.1f F2F %5.1f Cyc %5.1f Est %5.1f Bun %5.1f Mnt %5.1f Total: %5.1f\n",
-						milliDet, milliL2R, milliF2F, milliCyc, milliEst, milliBun, milliMnt, (time7 - time0)*1e-6);
+						milliDet, milliL2R, milliF2F, milliCyc, milliEst, milliBun, milliMnt, milliTotal);
 			}
 		}
 
@@ -51,7 +51,7 @@ import java.util.*;
  */
 public class GeneratePairwiseImageGraph implements VerbosePrint {
 	public final @Getter PairwiseImageGraph graph = new PairwiseImageGraph();
-	private List<String> imageIds;
+	List<String> imageIds = new ArrayList<>();
 
 	// concensus matching algorithms
 	ModelMatcher<DMatrixRMaj, AssociatedPair> ransac3D;
@@ -66,7 +66,7 @@ public class GeneratePairwiseImageGraph implements VerbosePrint {
 	 */
 	public @Getter @Setter double ratio3D = 1.5;
 
-	private PrintStream verbose;
+	@Nullable PrintStream verbose;
 
 	/**
 	 * Specifies consensus matching algorithms
@@ -150,6 +150,37 @@ public class GeneratePairwiseImageGraph implements VerbosePrint {
 	 */
 	protected void createEdge( String src, String dst,
 							   DogArray<AssociatedPair> pairs, DogArray<AssociatedIndex> matches ) {
+		PairwiseImageGraph.Motion edge = graph.edges.grow();
+		boolean accepted = fitMotion(ransac3D, ransacH, pairs, matches, edge);
+
+		if (verbose != null)
+			verbose.println("   dst='" + dst + "' ransac F=" + edge.countF + " H=" + edge.countH +
+					" pairs.size=" + pairs.size());
+
+		if (!accepted) {
+			graph.edges.removeTail();
+			return;
+		}
+
+		connectEdge(src, dst, edge);
+	}
+
+	/**
+	 * Fits a 3D and homography model to the associated features and decides which one describes the motion
+	 * best. The number of inliers for each model is always saved, but the model and its inliers are only
+	 * saved if the motion has enough inliers.
+	 *
+	 * @param ransac3D Robust estimator for a 3D model
+	 * @param ransacH Robust estimator for a homography
+	 * @param pairs Associated features pixels
+	 * @param matches Associated features feature indexes
+	 * @param motion (Output) Storage for the found motion
+	 * @return true if there are enough inliers for it to be an edge
+	 */
+	boolean fitMotion( ModelMatcher<DMatrixRMaj, AssociatedPair> ransac3D,
+					   ModelMatcher<Homography2D_F64, AssociatedPair> ransacH,
+					   DogArray<AssociatedPair> pairs, DogArray<AssociatedIndex> matches,
+					   PairwiseImageGraph.Motion motion ) {
 		// Fitting Essential/Fundamental works when the scene is not planar and not pure rotation
 		int countF = 0;
 		if (ransac3D.process(pairs.toList())) {
@@ -162,34 +193,37 @@ public class GeneratePairwiseImageGraph implements VerbosePrint {
 			countH = ransacH.getMatchSet().size();
 		}
 
-		if( verbose != null ) verbose.println("   dst='"+dst+"' ransac F="+countF+" H="+countH+" pairs.size="+pairs.size());
+		motion.countF = countF;
+		motion.countH = countH;
 
 		// fail if not enough features are remaining after RANSAC
 		if (Math.max(countF, countH) < minimumInliers)
-			return;
+			return false;
 
 		// The idea here is that if the number features for F is greater than H then it's a 3D scene.
 		// If they are similar then it might be a plane
-		boolean is3D = countF > countH * ratio3D;
+		motion.is3D = countF > countH*ratio3D;
 
-		PairwiseImageGraph.Motion edge = graph.edges.grow();
-		edge.is3D = is3D;
-		edge.countF = countF;
-		edge.countH = countH;
+		if (motion.is3D) {
+			saveInlierMatches(ransac3D, matches, motion);
+			motion.F.setTo(ransac3D.getModelParameters());
+		} else {
+			saveInlierMatches(ransacH, matches, motion);
+			Homography2D_F64 H = ransacH.getModelParameters();
+			DConvertMatrixStruct.convert(H, motion.F);
+		}
+		return true;
+	}
+
+	/**
+	 * Adds an edge, which has already been filled in, to the graph between the two views
+	 */
+	void connectEdge( String src, String dst, PairwiseImageGraph.Motion edge ) {
 		edge.index = graph.edges.size - 1;
 		edge.src = graph.lookupNode(src);
 		edge.dst = graph.lookupNode(dst);
 		edge.src.connections.add(edge);
 		edge.dst.connections.add(edge);
-
-		if (is3D) {
-			saveInlierMatches(ransac3D, matches, edge);
-			edge.F.setTo(ransac3D.getModelParameters());
-		} else {
-			saveInlierMatches(ransacH, matches, edge);
-			Homography2D_F64 H = ransacH.getModelParameters();
-			DConvertMatrixStruct.convert(H, edge.F);
-		}
 	}
 
 	/**
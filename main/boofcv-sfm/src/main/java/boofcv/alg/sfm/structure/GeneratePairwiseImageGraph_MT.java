@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.sfm.structure;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.misc.BoofLambdas;
+import boofcv.misc.BoofMiscOps;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.geo.AssociatedPair;
+import georegression.struct.homography.Homography2D_F64;
+import georegression.struct.point.Point2D_F64;
+import lombok.Getter;
+import lombok.Setter;
+import org.ddogleg.fitting.modelset.ModelMatcher;
+import org.ddogleg.fitting.modelset.ransac.Ransac;
+import org.ddogleg.struct.DogArray;
+import org.ejml.data.DMatrixRMaj;
+import pabeles.concurrency.GrowArray;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link GeneratePairwiseImageGraph}. Fitting models to each pair of similar images
+ * is independent of all the other pairs, so the pairs are evaluated in parallel with each thread having its own
+ * copy of the robust model matchers. Pairs are processed in batches of up to {@link #batchSize} and each batch
+ * is done in three steps. 1) The candidate pairs and their associated features are looked up, since
+ * {@link LookUpSimilarImages} isn't thread safe. 2) Models are fit to each pair in parallel. 3) Edges are added
+ * to the graph in the same order as the single threaded algorithm. Only the associated features for pairs in
+ * the current batch are kept in memory.
+ * </p>
+ *
+ * <p>
+ * Results do not depend on the number of threads, the batch size, or how pairs are assigned to threads. To
+ * accomplish this, the random number generator in {@link Ransac} is reset before each pair is processed. As a
+ * result the output can differ slightly from the single threaded algorithm, which does not reset between pairs.
+ * Model matchers which are not {@link Ransac} must be deterministic on their own.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class GeneratePairwiseImageGraph_MT extends GeneratePairwiseImageGraph {
+	/** Maximum number of image pairs which are looked up and evaluated at once. Bounds memory usage. */
+	public @Getter @Setter int batchSize = 200;
+
+	// Workspace for each thread
+	final GrowArray<Workspace> workspaces;
+
+	// Pairs of images in the current batch
+	final DogArray<Candidate> candidates = new DogArray<>(Candidate::new, Candidate::reset);
+
+	// Total number of pairs which have been evaluated
+	int totalPairs;
+
+	/** Time spent looking up features and associations */
+	private @Getter double timeLookUpMS;
+	/** Time spent fitting models to image pairs */
+	private @Getter double timeFittingMS;
+	/** Time spent adding edges to the graph */
+	private @Getter double timeAssembleMS;
+
+	/**
+	 * Specifies how to create consensus matching algorithms. A new instance is created for each thread.
+	 */
+	public GeneratePairwiseImageGraph_MT( BoofLambdas.Factory<ModelMatcher<DMatrixRMaj, AssociatedPair>> factory3D,
+										  BoofLambdas.Factory<ModelMatcher<Homography2D_F64, AssociatedPair>> factoryH ) {
+		super(factory3D.newInstance(), factoryH.newInstance());
+		workspaces = new GrowArray<>(() -> new Workspace(factory3D.newInstance(), factoryH.newInstance()));
+	}
+
+	@Override
+	public void process( LookUpSimilarImages db ) {
+		BoofMiscOps.checkTrue(batchSize >= 1, "batchSize must be at least 1");
+		this.imageIds = db.getImageIDs();
+		this.graph.reset();
+		this.candidates.reset();
+		this.totalPairs = 0;
+		timeLookUpMS = timeFittingMS = timeAssembleMS = 0.0;
+
+		// map to quickly look up the ID of a view
+		Map<String, Integer> imageToIndex = new HashMap<>();
+
+		// Create a node in the graph for each image
+		for (int idxTgt = 0; idxTgt < imageIds.size(); idxTgt++) {
+			imageToIndex.put(imageIds.get(idxTgt), idxTgt);
+			graph.createNode(imageIds.get(idxTgt));
+		}
+
+		if (verbose != null) verbose.println("total images = " + imageIds.size());
+
+		// Look up everything that's needed to evaluate each pair of images
+		List<String> similar = new ArrayList<>();
+		DogArray<Point2D_F64> srcFeats = new DogArray<>(Point2D_F64::new);
+		DogArray<Point2D_F64> dstFeats = new DogArray<>(Point2D_F64::new);
+		long time0 = System.nanoTime();
+		for (int idxTgt = 0; idxTgt < imageIds.size(); idxTgt++) {
+			String src = imageIds.get(idxTgt);
+
+			db.findSimilar(src, similar);
+			db.lookupPixelFeats(src, srcFeats);
+
+			graph.nodes.get(idxTgt).totalObservations = srcFeats.size;
+
+			for (int idxSimilar = 0; idxSimilar < similar.size(); idxSimilar++) {
+				String dst = similar.get(idxSimilar);
+
+				// make sure it isn't considering the same motion twice
+				int dstIdx = imageToIndex.get(dst);
+				if (dstIdx <= idxTgt)
+					continue;
+
+				Candidate c = candidates.grow();
+				c.src = src;
+				c.dst = dst;
+
+				db.lookupPixelFeats(dst, dstFeats);
+				db.lookupMatches(src, dst, c.matches);
+
+				for (int i = 0; i < c.matches.size; i++) {
+					AssociatedIndex m = c.matches.get(i);
+					c.pairs.grow().setTo(srcFeats.get(m.src), dstFeats.get(m.dst));
+				}
+
+				if (candidates.size >= batchSize) {
+					timeLookUpMS += (System.nanoTime() - time0)*1e-6;
+					processBatch();
+					time0 = System.nanoTime();
+				}
+			}
+		}
+		timeLookUpMS += (System.nanoTime() - time0)*1e-6;
+		processBatch();
+
+		if (verbose != null)
+			verbose.printf("pairs=%d edges=%d threads=%d time (ms): lookup=%.1f fitting=%.1f assemble=%.1f\n",
+					totalPairs, graph.edges.size, workspaces.size(), timeLookUpMS, timeFittingMS, timeAssembleMS);
+	}
+
+	/**
+	 * Fits models to all the candidates in the current batch in parallel, adds the accepted ones to the graph,
+	 * then discards the batch
+	 */
+	void processBatch() {
+		if (candidates.size == 0)
+			return;
+
+		long time0 = System.nanoTime();
+		// Fit models to each pair in parallel. Each pair is a block since they can vary greatly in size
+		BoofConcurrency.loopBlocks(0, candidates.size, 1, workspaces, ( work, idx0, idx1 ) -> {
+			for (int i = idx0; i < idx1; i++) {
+				Candidate c = candidates.get(i);
+				work.resetRandom();
+				c.accepted = fitMotion(work.ransac3D, work.ransacH, c.pairs, c.matches, c.motion);
+			}
+		});
+		long time1 = System.nanoTime();
+
+		// Add the edges in a deterministic order
+		for (int candidateIdx = 0; candidateIdx < candidates.size; candidateIdx++) {
+			Candidate c = candidates.get(candidateIdx);
+			if (verbose != null)
+				verbose.println("src='" + c.src + "' dst='" + c.dst + "' ransac F=" + c.motion.countF +
+						" H=" + c.motion.countH + " pairs.size=" + c.pairs.size);
+			if (!c.accepted)
+				continue;
+
+			PairwiseImageGraph.Motion edge = graph.edges.grow();
+			edge.is3D = c.motion.is3D;
+			edge.countF = c.motion.countF;
+			edge.countH = c.motion.countH;
+			edge.F.setTo(c.motion.F);
+			edge.inliers.reset();
+			edge.inliers.resize(c.motion.inliers.size);
+			for (int i = 0; i < c.motion.inliers.size; i++) {
+				edge.inliers.get(i).setTo(c.motion.inliers.get(i));
+			}
+			connectEdge(c.src, c.dst, edge);
+		}
+		long time2 = System.nanoTime();
+
+		totalPairs += candidates.size;
+		timeFittingMS += (time1 - time0)*1e-6;
+		timeAssembleMS += (time2 - time1)*1e-6;
+
+		if (verbose != null)
+			verbose.printf("batch: pairs=%d total_pairs=%d edges=%d fitting=%.1f (ms)\n",
+					candidates.size, totalPairs, graph.edges.size, (time1 - time0)*1e-6);
+
+		candidates.reset();
+	}
+
+	/**
+	 * A pair of images which might be connected by an edge
+	 */
+	static class Candidate {
+		String src = "";
+		String dst = "";
+		final DogArray<AssociatedIndex> matches = new DogArray<>(AssociatedIndex::new);
+		final DogArray<AssociatedPair> pairs = new DogArray<>(AssociatedPair::new);
+		// Storage for the found motion. Only the inlier counts are valid if not accepted
+		final PairwiseImageGraph.Motion motion = new PairwiseImageGraph.Motion();
+		boolean accepted;
+
+		public void reset() {
+			src = "";
+			dst = "";
+			matches.reset();
+			pairs.reset();
+			motion.inliers.reset();
+			accepted = false;
+		}
+	}
+
+	/**
+	 * Model matchers used by a single thread
+	 */
+	static class Workspace {
+		final ModelMatcher<DMatrixRMaj, AssociatedPair> ransac3D;
+		final ModelMatcher<Homography2D_F64, AssociatedPair> ransacH;
+
+		public Workspace( ModelMatcher<DMatrixRMaj, AssociatedPair> ransac3D,
+						  ModelMatcher<Homography2D_F64, AssociatedPair> ransacH ) {
+			this.ransac3D = ransac3D;
+			this.ransacH = ransacH;
+		}
+
+		/**
+		 * Resets the random number generators so that results don't depend on what was processed previously
+		 */
+		public void resetRandom() {
+			if (ransac3D instanceof Ransac)
+				((Ransac<?, ?>)ransac3D).reset();
+			if (ransacH instanceof Ransac)
+				((Ransac<?, ?>)ransacH).reset();
+		}
+	}
+}
@@ -23,6 +23,7 @@ import boofcv.abst.geo.bundle.SceneStructureMetric;
 import boofcv.abst.tracker.PointTracker;
 import boofcv.alg.filter.misc.AverageDownSampleOps;
 import boofcv.misc.LookUpImages;
+import boofcv.misc.StageMetrics;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
 import gnu.trove.impl.Constants;
@@ -74,6 +75,14 @@ public class ImageSequenceToSparseScene<T extends ImageGray<T>> implements Verbo
 	private @Getter double timeMetricMS;
 	private @Getter double timeRefineMS;
 
+	/** Runtime of each stage. Published after every call to process */
+	private @Getter final StageMetrics metrics = new StageMetrics("ImageSequenceToSparseScene");
+	private final StageMetrics.Timer timerTracking = metrics.timer("tracking");
+	private final StageMetrics.Timer timerPairwise = metrics.timer("pairwise");
+	private final StageMetrics.Timer timerMetric = metrics.timer("metric");
+	private final StageMetrics.Timer timerRefine = metrics.timer("refine");
+	private final StageMetrics.Counter counterImages = metrics.counter("images");
+
 	/**
 	 * Constructor which specifies all the internal implementations
 	 */
@@ -155,10 +164,12 @@ public class ImageSequenceToSparseScene<T extends ImageGray<T>> implements Verbo
 		}
 		long time4 = System.nanoTime();
 
-		timeTrackingMS = (time1 - time0)*1e-6;
-		timePairwiseMS = (time2 - time1)*1e-6;
-		timeMetricMS = (time3 - time2)*1e-6;
-		timeRefineMS = (time4 - time3)*1e-6;
+		timeTrackingMS = timerTracking.record(time1 - time0);
+		timePairwiseMS = timerPairwise.record(time2 - time1);
+		timeMetricMS = timerMetric.record(time3 - time2);
+		timeRefineMS = timerRefine.record(time4 - time3);
+		counterImages.add(imageIDs.size());
+		metrics.publish();
 
 		return true;
 	}
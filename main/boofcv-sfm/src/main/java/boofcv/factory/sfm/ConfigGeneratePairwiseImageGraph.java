@@ -38,6 +38,12 @@ public class ConfigGeneratePairwiseImageGraph implements Configuration {
 	/** Configuration for computing Homography matrix */
 	public final ConfigHomography homography = new ConfigHomography();
 
+	/**
+	 * If true the concurrent implementation is used. Off by default since its results are not identical to the
+	 * single threaded implementation.
+	 */
+	public boolean concurrent = false;
+
 	{
 		ransacF.iterations = 500;
 		ransacF.inlierThreshold = 1;
@@ -62,5 +68,6 @@ public class ConfigGeneratePairwiseImageGraph implements Configuration {
 		this.ransacH.setTo(src.ransacH);
 		this.fundamental.setTo(src.fundamental);
 		this.homography.setTo(src.homography);
+		this.concurrent = src.concurrent;
 	}
 }
@@ -20,6 +20,7 @@ package boofcv.factory.sfm;
 
 import boofcv.abst.disparity.ConfigSpeckleFilter;
 import boofcv.factory.disparity.ConfigDisparity;
+import boofcv.misc.BoofMiscOps;
 import boofcv.struct.Configuration;
 
 /**
@@ -38,6 +39,9 @@ public class ConfigSparseToDenseCloud implements Configuration {
 	/** Specifies how to create the stereo graph */
 	public final ConfigGenerateStereoGraph graph = new ConfigGenerateStereoGraph();
 
+	/** Number of views which have their fused disparity computed at the same time. Must be at least one. */
+	public int concurrentViews = 1;
+
 	{
 		// much faster than SGM and much better than regular block matching
 		disparity.approach = ConfigDisparity.Approach.BLOCK_MATCH_5;
@@ -47,11 +51,14 @@ public class ConfigSparseToDenseCloud implements Configuration {
 		disparity.checkValidity();
 		smoother.checkValidity();
 		graph.checkValidity();
+
+		BoofMiscOps.checkTrue(concurrentViews >= 1, "concurrentViews must be at least one");
 	}
 
 	public void setTo( ConfigSparseToDenseCloud src ) {
 		this.disparity.setTo(src.disparity);
 		this.smoother.setTo(src.smoother);
 		this.graph.setTo(src.graph);
+		this.concurrentViews = src.concurrentViews;
 	}
 }
@@ -25,6 +25,7 @@ import boofcv.alg.sfm.structure.*;
 import boofcv.factory.disparity.FactoryStereoDisparity;
 import boofcv.factory.geo.FactoryMultiViewRobust;
 import boofcv.factory.tracker.FactoryPointTracker;
+import boofcv.misc.BoofLambdas;
 import boofcv.struct.geo.AssociatedPair;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageGray;
@@ -63,12 +64,18 @@ public class FactorySceneReconstruction {
 		if (config == null)
 			config = new ConfigGeneratePairwiseImageGraph();
 
-		ModelMatcher<DMatrixRMaj, AssociatedPair> ransac3D =
-				FactoryMultiViewRobust.fundamentalRansac(config.fundamental, config.ransacF);
-		ModelMatcher<Homography2D_F64, AssociatedPair> ransacH =
-				FactoryMultiViewRobust.homographyRansac(config.homography, config.ransacH);
+		// Copy the config so that changes after creation won't affect new threads
+		var c = new ConfigGeneratePairwiseImageGraph();
+		c.setTo(config);
+		BoofLambdas.Factory<ModelMatcher<DMatrixRMaj, AssociatedPair>> factory3D =
+				() -> FactoryMultiViewRobust.fundamentalRansac(c.fundamental, c.ransacF);
+		BoofLambdas.Factory<ModelMatcher<Homography2D_F64, AssociatedPair>> factoryH =
+				() -> FactoryMultiViewRobust.homographyRansac(c.homography, c.ransacH);
 
-		return new GeneratePairwiseImageGraph(ransac3D, ransacH);
+		if (config.concurrent)
+			return new GeneratePairwiseImageGraph_MT(factory3D, factoryH);
+
+		return new GeneratePairwiseImageGraph(factory3D.newInstance(), factoryH.newInstance());
 	}
 
 	/**
@@ -114,10 +121,12 @@ public class FactorySceneReconstruction {
 		SparseSceneToDenseCloud<T> s2c = new SparseSceneToDenseCloud<>(grayType);
 		MultiViewStereoFromKnownSceneStructure<T> mvs = s2c.getMultiViewStereo();
 
-		mvs.setStereoDisparity(FactoryStereoDisparity.generic(
-				config.disparity,grayType, GrayF32.class));
-		mvs.getComputeFused().setDisparitySmoother(
-				FactoryStereoDisparity.removeSpeckle(config.smoother, GrayF32.class));
+		// Each thread needs its own instance when views are processed concurrently
+		ConfigSparseToDenseCloud _config = config;
+		mvs.setStereoDisparityFactory(
+				() -> FactoryStereoDisparity.generic(_config.disparity, grayType, GrayF32.class),
+				() -> FactoryStereoDisparity.removeSpeckle(_config.smoother, GrayF32.class));
+		mvs.concurrentViews = config.concurrentViews;
 
 		GenerateStereoPairGraphFromScene generateGraph = s2c.getGenerateGraph();
 
@@ -29,6 +29,7 @@ import boofcv.factory.disparity.DisparityError;
 import boofcv.factory.disparity.FactoryStereoDisparity;
 import boofcv.gui.image.ShowImages;
 import boofcv.misc.LookUpImages;
+import boofcv.misc.LookUpImagesCached;
 import boofcv.simulation.SimulatePlanarWorld;
 import boofcv.struct.border.BorderType;
 import boofcv.struct.calib.CameraPinhole;
@@ -53,8 +54,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static georegression.struct.se.SpecialEuclideanOps_F64.eulerXyz;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @author Peter Abeles
@@ -125,6 +125,101 @@ public class TestMultiViewStereoFromKnownSceneStructure extends BoofStandardJUni
 		assertEquals(alg.getDisparityCloud().viewPointIdx.size, 3);
 	}
 
+	/**
+	 * Processing multiple views at the same time should produce exactly the same cloud as processing them one
+	 * at a time
+	 */
+	@Test void concurrentViews() {
+		createScene(4);
+		var lookUp = new SimulatedLookUp();
+
+		var sequential = new MultiViewStereoFromKnownSceneStructure<>(lookUp, ImageType.SB_F32);
+		sequential.setStereoDisparity(FactoryStereoDisparity.blockMatch(createConfigDisparity(),
+				GrayF32.class, GrayF32.class));
+		sequential.process(scene, pairs);
+
+		var concurrent = new MultiViewStereoFromKnownSceneStructure<>(lookUp, ImageType.SB_F32);
+		concurrent.setStereoDisparityFactory(() -> FactoryStereoDisparity.blockMatch(createConfigDisparity(),
+				GrayF32.class, GrayF32.class), null);
+		concurrent.concurrentViews = 3;
+
+		// Process it twice to make sure the workers are correctly recycled
+		for (int trial = 0; trial < 2; trial++) {
+			concurrent.process(scene, pairs);
+			assertEquals(3, concurrent.workers.size());
+
+			assertEquals(sequential.listCenters.size(), concurrent.listCenters.size());
+			for (int i = 0; i < sequential.listCenters.size(); i++) {
+				assertSame(sequential.listCenters.get(i).relations, concurrent.listCenters.get(i).relations);
+			}
+
+			List<Point3D_F64> expected = sequential.getCloud();
+			List<Point3D_F64> found = concurrent.getCloud();
+			assertEquals(expected.size(), found.size());
+			for (int i = 0; i < expected.size(); i++) {
+				assertEquals(0.0, expected.get(i).distance(found.get(i)));
+			}
+			assertEquals(sequential.getDisparityCloud().viewPointIdx.size,
+					concurrent.getDisparityCloud().viewPointIdx.size);
+		}
+	}
+
+	/**
+	 * Prefetching images for the next center should not change the results
+	 */
+	@Test void prefetchNextCenter() {
+		createScene(4);
+		var lookUp = new SimulatedLookUp();
+
+		var expected = new MultiViewStereoFromKnownSceneStructure<>(lookUp, ImageType.SB_F32);
+		expected.setStereoDisparity(FactoryStereoDisparity.blockMatch(createConfigDisparity(),
+				GrayF32.class, GrayF32.class));
+		expected.process(scene, pairs);
+
+		var cached = new LookUpImagesCached(lookUp, 100_000_000);
+		cached.setPrefetchThreads(1);
+		var alg = new MultiViewStereoFromKnownSceneStructure<>(cached, ImageType.SB_F32);
+		alg.setStereoDisparity(FactoryStereoDisparity.blockMatch(createConfigDisparity(),
+				GrayF32.class, GrayF32.class));
+		alg.process(scene, pairs);
+		cached.setPrefetchThreads(0);
+
+		assertEquals(expected.listCenters.size(), alg.listCenters.size());
+		assertEquals(expected.getCloud().size(), alg.getCloud().size());
+		for (int i = 0; i < expected.getCloud().size(); i++) {
+			assertEquals(0.0, expected.getCloud().get(i).distance(alg.getCloud().get(i)));
+		}
+		assertTrue(cached.getCachedImages() > 0);
+	}
+
+	/**
+	 * Workers should be configured like the regular instance and there should only be as many as requested
+	 */
+	@Test void initializeWorkers() {
+		var alg = new MultiViewStereoFromKnownSceneStructure<>(new SimulatedLookUp(), ImageType.SB_F32);
+		alg.setStereoDisparityFactory(() -> FactoryStereoDisparity.blockMatch(createConfigDisparity(),
+				GrayF32.class, GrayF32.class), () -> FactoryStereoDisparity.removeSpeckle(null, GrayF32.class));
+		alg.getComputeFused().setVerboseProfiling(System.out);
+		alg.concurrentViews = 3;
+		alg.initializeWorkers();
+
+		assertEquals(3, alg.workers.size());
+		assertSame(alg.getComputeFused(), alg.workers.get(0).computeFused);
+		for (int i = 1; i < alg.workers.size(); i++) {
+			MultiBaselineStereoIndependent<GrayF32> found = alg.workers.get(i).computeFused;
+			assertSame(System.out, found.getVerboseProfiling());
+			assertNotNull(found.getDisparitySmoother());
+			assertNotSame(alg.getComputeFused().getDisparitySmoother(), found.getDisparitySmoother());
+		}
+
+		// Fewer workers are requested and the regular instance no longer smooths the disparity
+		alg.getComputeFused().setDisparitySmoother(null);
+		alg.concurrentViews = 2;
+		alg.initializeWorkers();
+		assertEquals(2, alg.workers.size());
+		assertNull(alg.workers.get(1).computeFused.getDisparitySmoother());
+	}
+
 	/**
 	 * Checks to see if a score is computed for each view and is "qualitatively" correct. This does not check
 	 * ti see if all the geometry is handled correctly since the rectified and unrectified views are the same.
@@ -284,6 +379,13 @@ public class TestMultiViewStereoFromKnownSceneStructure extends BoofStandardJUni
 		var alg = new MultiViewStereoFromKnownSceneStructure<>(new SimulatedLookUp(), ImageType.SB_F32);
 
 		// It would be very difficult to mock the disparity for each view so we just use real disparity
+		alg.setStereoDisparity(FactoryStereoDisparity.blockMatch(createConfigDisparity(),
+				GrayF32.class, GrayF32.class));
+
+		return alg;
+	}
+
+	private ConfigDisparityBM createConfigDisparity() {
 		var configDisp = new ConfigDisparityBM();
 		configDisp.errorType = DisparityError.CENSUS;
 		configDisp.texture = 1.0;
@@ -294,9 +396,7 @@ public class TestMultiViewStereoFromKnownSceneStructure extends BoofStandardJUni
 		configDisp.regionRadiusX = 3;
 		configDisp.regionRadiusY = 3;
 		configDisp.border = BorderType.EXTENDED;
-		alg.setStereoDisparity(FactoryStereoDisparity.blockMatch(configDisp, GrayF32.class, GrayF32.class));
-
-		return alg;
+		return configDisp;
 	}
 
 	private class DummyLookUp implements LookUpImages {
@@ -317,7 +417,7 @@ public class TestMultiViewStereoFromKnownSceneStructure extends BoofStandardJUni
 	}
 
 	/**
-	 * Renders images as requested with a simulated target
+	 * Renders images as requested with a simulated target. Synchronized since views can be processed concurrently.
 	 */
 	private class SimulatedLookUp implements LookUpImages {
 		SimulatePlanarWorld sim = new SimulatePlanarWorld();
@@ -335,7 +435,7 @@ public class TestMultiViewStereoFromKnownSceneStructure extends BoofStandardJUni
 			return true;
 		}
 
-		@Override public <LT extends ImageBase<LT>> boolean loadImage( String name, LT output ) {
+		@Override public synchronized <LT extends ImageBase<LT>> boolean loadImage( String name, LT output ) {
 			int indexSba = Integer.parseInt(name.substring(3));
 			var pinhole = new CameraPinhole();
 			BundleAdjustmentOps.convert((BundlePinhole)scene.cameras.get(indexSba).model, 0, 0, pinhole);
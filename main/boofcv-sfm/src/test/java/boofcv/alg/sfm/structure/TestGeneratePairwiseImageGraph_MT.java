@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.sfm.structure;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ExecutorScope;
+import boofcv.factory.geo.FactoryMultiViewRobust;
+import boofcv.factory.sfm.ConfigGeneratePairwiseImageGraph;
+import boofcv.testing.BoofStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestGeneratePairwiseImageGraph_MT extends BoofStandardJUnit {
+	/**
+	 * The graph should be identical no matter how many threads are used
+	 */
+	@Test
+	void sameResultsForAnyNumberOfThreads() {
+		var similar = new MockLookupSimilarImages(4, 123123);
+
+		GeneratePairwiseImageGraph_MT single = create();
+		var pool1 = new ForkJoinPool(1);
+		BoofConcurrency.runWith(new ExecutorScope(pool1), () -> single.process(similar));
+		pool1.shutdownNow();
+
+		GeneratePairwiseImageGraph_MT multi = create();
+		var pool3 = new ForkJoinPool(3);
+		BoofConcurrency.runWith(new ExecutorScope(pool3), () -> multi.process(similar));
+		pool3.shutdownNow();
+
+		PairwiseImageGraph expected = single.getGraph();
+		PairwiseImageGraph found = multi.getGraph();
+		assertEquals(6, expected.edges.size);
+		assertEquals(expected.edges.size, found.edges.size);
+		for (int i = 0; i < expected.edges.size; i++) {
+			PairwiseImageGraph.Motion a = expected.edges.get(i);
+			PairwiseImageGraph.Motion b = found.edges.get(i);
+			assertEquals(i, b.index);
+			assertEquals(a.src.id, b.src.id);
+			assertEquals(a.dst.id, b.dst.id);
+			assertEquals(a.is3D, b.is3D);
+			assertEquals(a.countF, b.countF);
+			assertEquals(a.countH, b.countH);
+			assertEquals(a.inliers.size, b.inliers.size);
+			for (int j = 0; j < a.inliers.size; j++) {
+				assertEquals(a.inliers.get(j).src, b.inliers.get(j).src);
+				assertEquals(a.inliers.get(j).dst, b.inliers.get(j).dst);
+			}
+			assertTrue(MatrixFeatures_DDRM.isIdentical(a.F, b.F, UtilEjml.TEST_F64));
+		}
+	}
+
+	/**
+	 * Processing the pairs in smaller batches should not change the results
+	 */
+	@Test
+	void sameResultsForAnyBatchSize() {
+		var similar = new MockLookupSimilarImages(4, 123123);
+
+		GeneratePairwiseImageGraph_MT expectedAlg = create();
+		expectedAlg.process(similar);
+
+		for (int batchSize : new int[]{1, 4}) {
+			GeneratePairwiseImageGraph_MT alg = create();
+			alg.setBatchSize(batchSize);
+			alg.process(similar);
+
+			PairwiseImageGraph expected = expectedAlg.getGraph();
+			PairwiseImageGraph found = alg.getGraph();
+			assertEquals(expected.edges.size, found.edges.size);
+			for (int i = 0; i < expected.edges.size; i++) {
+				PairwiseImageGraph.Motion a = expected.edges.get(i);
+				PairwiseImageGraph.Motion b = found.edges.get(i);
+				assertEquals(a.src.id, b.src.id);
+				assertEquals(a.dst.id, b.dst.id);
+				assertEquals(a.is3D, b.is3D);
+				assertEquals(a.countF, b.countF);
+				assertEquals(a.countH, b.countH);
+				assertEquals(a.inliers.size, b.inliers.size);
+			}
+		}
+	}
+
+	/**
+	 * Compare against the single threaded implementation. Random numbers are handled differently so only
+	 * the graph's structure is compared
+	 */
+	@Test
+	void compareToSingleThread() {
+		var similar = new MockLookupSimilarImages(4, 123123);
+
+		var config = new ConfigGeneratePairwiseImageGraph();
+		var single = new GeneratePairwiseImageGraph(
+				FactoryMultiViewRobust.fundamentalRansac(config.fundamental, config.ransacF),
+				FactoryMultiViewRobust.homographyRansac(config.homography, config.ransacH));
+		single.process(similar);
+
+		GeneratePairwiseImageGraph_MT multi = create();
+		multi.process(similar);
+
+		PairwiseImageGraph expected = single.getGraph();
+		PairwiseImageGraph found = multi.getGraph();
+		assertEquals(expected.nodes.size, found.nodes.size);
+		for (int i = 0; i < expected.nodes.size; i++) {
+			assertEquals(expected.nodes.get(i).id, found.nodes.get(i).id);
+			assertEquals(expected.nodes.get(i).totalObservations, found.nodes.get(i).totalObservations);
+			assertEquals(expected.nodes.get(i).connections.size, found.nodes.get(i).connections.size);
+		}
+		assertEquals(expected.edges.size, found.edges.size);
+		for (int i = 0; i < expected.edges.size; i++) {
+			assertEquals(expected.edges.get(i).src.id, found.edges.get(i).src.id);
+			assertEquals(expected.edges.get(i).dst.id, found.edges.get(i).dst.id);
+			assertEquals(expected.edges.get(i).is3D, found.edges.get(i).is3D);
+		}
+	}
+
+	private GeneratePairwiseImageGraph_MT create() {
+		var config = new ConfigGeneratePairwiseImageGraph();
+		return new GeneratePairwiseImageGraph_MT(
+				() -> FactoryMultiViewRobust.fundamentalRansac(config.fundamental, config.ransacF),
+				() -> FactoryMultiViewRobust.homographyRansac(config.homography, config.ransacH));
+	}
+}
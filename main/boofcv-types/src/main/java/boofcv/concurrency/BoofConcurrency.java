@@ -19,10 +19,35 @@
 package boofcv.concurrency;
 
 import pabeles.concurrency.ConcurrencyOps;
+import pabeles.concurrency.GrowArray;
+import pabeles.concurrency.IntRangeConsumer;
+import pabeles.concurrency.IntRangeObjectConsumer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
 
 /**
  * Central class for controlling concurrency in BoofCV.
  *
+ * <p>
+ * The minimum image size at which a concurrent implementation is used can be specified for individual operations.
+ * Operations are identified by the class of their concurrent implementation, e.g. ImplPixelMath_MT, and if
+ * no threshold has been specified for an operation then {@link #SMALL_IMAGE} is used. Thresholds can be saved
+ * and loaded from disk, allowing them to be tuned once for a specific machine.
+ * </p>
+ *
+ * <p>
+ * By default all loops are run in a single global thread pool. Code can be run in a different executor
+ * using {@link #runWith(ExecutorScope, Runnable)}, which will cause {@link #loopFor} and {@link #loopBlocks}
+ * calls in that thread to use the scope's executor. This is useful when multiple independent pipelines are
+ * running at the same time and each one should be limited to a subset of the cores. The reductions inherited from
+ * ConcurrencyOps, e.g. sum(), always use the global thread pool.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"CatchAndPrintStackTrace"})
@@ -32,6 +57,9 @@ public class BoofConcurrency extends ConcurrencyOps {
 	/** f set to true it will use a concurrent algorithm  */
 	public static boolean USE_CONCURRENT = true;
 
+	/** Minimum number of pixels for a specific operation before a concurrent algorithm is used */
+	private static final Map<Class<?>, Integer> thresholds = new ConcurrentHashMap<>();
+
 	/**
 	 * Sets the maximum number of threads available in the thread pool and adjusts USE_CONCURRENT. If
 	 * the number of threads is less than 2 then USE_CONCURRENT will be set to false and the single thread
@@ -48,4 +76,251 @@ public class BoofConcurrency extends ConcurrencyOps {
 	public static boolean isUseConcurrent() {
 		return USE_CONCURRENT;
 	}
+
+	/**
+	 * Runs the task in the current thread with the scope active. All loops inside the task will use the scope's
+	 * executor instead of the global thread pool. Scopes can be nested, with the inner most one being used.
+	 *
+	 * @param scope Scope which specifies the executor
+	 * @param task The task which is run in the current thread
+	 */
+	public static void runWith( ExecutorScope scope, Runnable task ) {
+		ExecutorScope previous = ExecutorScope.active.get();
+		Boolean previousInside = ExecutorScope.insideBlock.get();
+		ExecutorScope.active.set(scope);
+		// Loops called inside this task should be split up even if it was called from inside a block
+		ExecutorScope.insideBlock.remove();
+		try {
+			task.run();
+		} finally {
+			ExecutorScope.restore(ExecutorScope.active, previous);
+			ExecutorScope.restore(ExecutorScope.insideBlock, previousInside);
+		}
+	}
+
+	/**
+	 * Concurrent for loop. The range is split into blocks and each block is processed by a thread.
+	 *
+	 * @param start starting value, inclusive
+	 * @param endExclusive ending value, exclusive
+	 * @param consumer The consumer
+	 */
+	public static void loopFor( int start, int endExclusive, IntConsumer consumer ) {
+		ExecutorScope scope = ExecutorScope.active.get();
+		if (scope == null) {
+			ConcurrencyOps.loopFor(start, endExclusive, consumer);
+			return;
+		}
+		scope.loopBlocks(start, endExclusive, 1, ( i0, i1 ) -> {
+			for (int i = i0; i < i1; i++) {
+				consumer.accept(i);
+			}
+		});
+	}
+
+	/**
+	 * Concurrent for loop. The range is split into blocks and each block is processed by a thread.
+	 *
+	 * @param start starting value, inclusive
+	 * @param endExclusive ending value, exclusive
+	 * @param step fixed sized step for each iteration
+	 * @param consumer The consumer
+	 */
+	public static void loopFor( int start, int endExclusive, int step, IntConsumer consumer ) {
+		ExecutorScope scope = ExecutorScope.active.get();
+		if (scope == null) {
+			ConcurrencyOps.loopFor(start, endExclusive, step, consumer);
+			return;
+		}
+		if (step <= 0)
+			throw new IllegalArgumentException("Step must be a positive number.");
+		if (start >= endExclusive)
+			return;
+		int iterations = (endExclusive - start + step - 1)/step;
+		scope.loopBlocks(0, iterations, 1, ( i0, i1 ) -> {
+			for (int i = i0; i < i1; i++) {
+				consumer.accept(start + i*step);
+			}
+		});
+	}
+
+	/**
+	 * Splits the range of values up into blocks and processes each block in its own thread.
+	 *
+	 * @param start First index, inclusive
+	 * @param endExclusive Last index, exclusive
+	 * @param consumer The consumer
+	 */
+	public static void loopBlocks( int start, int endExclusive, IntRangeConsumer consumer ) {
+		ExecutorScope scope = ExecutorScope.active.get();
+		if (scope == null)
+			ConcurrencyOps.loopBlocks(start, endExclusive, consumer);
+		else
+			scope.loopBlocks(start, endExclusive, 1, consumer);
+	}
+
+	/**
+	 * Splits the range of values up into blocks and processes each block in its own thread.
+	 *
+	 * @param start First index, inclusive
+	 * @param endExclusive Last index, exclusive
+	 * @param minBlock Minimum size of a block
+	 * @param consumer The consumer
+	 */
+	public static void loopBlocks( int start, int endExclusive, int minBlock, IntRangeConsumer consumer ) {
+		ExecutorScope scope = ExecutorScope.active.get();
+		if (scope == null)
+			ConcurrencyOps.loopBlocks(start, endExclusive, minBlock, consumer);
+		else
+			scope.loopBlocks(start, endExclusive, minBlock, consumer);
+	}
+
+	/**
+	 * Splits the range of values up into blocks and processes each block in its own thread. Each block is
+	 * given its own element from the workspace.
+	 *
+	 * @param start First index, inclusive
+	 * @param endExclusive Last index, exclusive
+	 * @param workspace Workspace for each block. Resized to match the number of blocks.
+	 * @param consumer The consumer
+	 */
+	public static <T> void loopBlocks( int start, int endExclusive,
+									   GrowArray<T> workspace, IntRangeObjectConsumer<T> consumer ) {
+		ExecutorScope scope = ExecutorScope.active.get();
+		if (scope == null)
+			ConcurrencyOps.loopBlocks(start, endExclusive, workspace, consumer);
+		else
+			scope.loopBlocks(start, endExclusive, 1, workspace, consumer);
+	}
+
+	/**
+	 * Splits the range of values up into blocks and processes each block in its own thread. Each block is
+	 * given its own element from the workspace.
+	 *
+	 * @param start First index, inclusive
+	 * @param endExclusive Last index, exclusive
+	 * @param minBlock Minimum size of a block
+	 * @param workspace Workspace for each block. Resized to match the number of blocks.
+	 * @param consumer The consumer
+	 */
+	public static <T> void loopBlocks( int start, int endExclusive, int minBlock,
+									   GrowArray<T> workspace, IntRangeObjectConsumer<T> consumer ) {
+		ExecutorScope scope = ExecutorScope.active.get();
+		if (scope == null)
+			ConcurrencyOps.loopBlocks(start, endExclusive, minBlock, workspace, consumer);
+		else
+			scope.loopBlocks(start, endExclusive, minBlock, workspace, consumer);
+	}
+
+	/**
+	 * Returns true if the concurrent implementation of the operation should be used for an image with the
+	 * specified number of pixels.
+	 *
+	 * @param operation Class of the concurrent implementation. Used as a key.
+	 * @param numPixels Number of pixels in the image being processed.
+	 */
+	public static boolean runConcurrent( Class<?> operation, int numPixels ) {
+		return runConcurrent(operation, numPixels, SMALL_IMAGE);
+	}
+
+	/**
+	 * Same as {@link #runConcurrent(Class, int)} but lets the caller specify the threshold used when none has been
+	 * specified for the operation. Used to support legacy per-class thresholds.
+	 *
+	 * @param operation Class of the concurrent implementation. Used as a key.
+	 * @param numPixels Number of pixels in the image being processed.
+	 * @param defaultThreshold Threshold used if one hasn't been specified for this operation
+	 */
+	public static boolean runConcurrent( Class<?> operation, int numPixels, int defaultThreshold ) {
+		if (!USE_CONCURRENT)
+			return false;
+		Integer value = thresholds.get(operation);
+		return numPixels >= (value == null ? defaultThreshold : value);
+	}
+
+	/**
+	 * Specifies the minimum number of pixels an image needs before the concurrent implementation is used
+	 *
+	 * @param operation Class of the concurrent implementation. Used as a key.
+	 * @param minPixels Minimum number of pixels. Integer.MAX_VALUE will effectively disable it.
+	 */
+	public static void setThreshold( Class<?> operation, int minPixels ) {
+		if (minPixels < 0)
+			throw new IllegalArgumentException("Threshold must be >= 0");
+		thresholds.put(operation, minPixels);
+	}
+
+	/**
+	 * Returns the minimum number of pixels for the operation. If none has been specified then {@link #SMALL_IMAGE}
+	 */
+	public static int getThreshold( Class<?> operation ) {
+		Integer value = thresholds.get(operation);
+		return value == null ? SMALL_IMAGE : value;
+	}
+
+	/**
+	 * Returns true if a threshold has been specified for the operation
+	 */
+	public static boolean hasThreshold( Class<?> operation ) {
+		return thresholds.containsKey(operation);
+	}
+
+	/**
+	 * Removes the threshold for the specified operation, causing it to revert to the default.
+	 */
+	public static void removeThreshold( Class<?> operation ) {
+		thresholds.remove(operation);
+	}
+
+	/**
+	 * Removes all operation specific thresholds
+	 */
+	public static void clearThresholds() {
+		thresholds.clear();
+	}
+
+	/**
+	 * Saves all operation specific thresholds to a text file. One operation per line.
+	 */
+	public static void saveThresholds( File file ) throws IOException {
+		// Sort by name so that the output is deterministic
+		Map<String, Integer> sorted = new TreeMap<>();
+		for (Map.Entry<Class<?>, Integer> e : thresholds.entrySet()) {
+			sorted.put(e.getKey().getName(), e.getValue());
+		}
+
+		try (PrintStream out = new PrintStream(new FileOutputStream(file), false, "UTF-8")) {
+			out.println("# Minimum number of pixels before a concurrent implementation is used. BoofCV");
+			for (Map.Entry<String, Integer> e : sorted.entrySet()) {
+				out.println(e.getKey() + " " + e.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Loads thresholds which had been saved using {@link #saveThresholds}. Operations which can't be found
+	 * in the class path are skipped.
+	 *
+	 * @return Number of thresholds loaded
+	 */
+	public static int loadThresholds( File file ) throws IOException {
+		int total = 0;
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#"))
+					continue;
+				String[] words = line.split("\\s+");
+				if (words.length != 2)
+					throw new IOException("Expected two words on each line. '" + line + "'");
+				try {
+					setThreshold(Class.forName(words[0]), Integer.parseInt(words[1]));
+					total++;
+				} catch (ClassNotFoundException ignore) {}
+			}
+		}
+		return total;
+	}
 }
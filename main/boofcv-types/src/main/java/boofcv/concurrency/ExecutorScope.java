@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+import pabeles.concurrency.IntRangeConsumer;
+import pabeles.concurrency.IntRangeObjectConsumer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * Executor which is used by the loops in {@link BoofConcurrency} instead of the global thread pool, while inside
+ * of {@link BoofConcurrency#runWith(ExecutorScope, Runnable)}. This allows different pipelines to be isolated
+ * from each other, e.g. each video stream can be given its own {@link ForkJoinPool} with a fixed number of
+ * threads or a virtual thread executor. The amount of time spent processing blocks is recorded, which
+ * can be used to estimate how much CPU each scope consumes.
+ * </p>
+ *
+ * <p>
+ * Nested loops, i.e. a loop which is called from inside a block of another loop, are run in the calling thread. This
+ * avoids dead locks when an executor has a fixed number of threads.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ExecutorScope {
+	/** The scope which is active in the current thread */
+	static final ThreadLocal<ExecutorScope> active = new ThreadLocal<>();
+
+	/** true if the current thread is processing a block and nested loops should not be split up */
+	static final ThreadLocal<Boolean> insideBlock = new ThreadLocal<>();
+
+	/** Executor that blocks are submitted to */
+	@Getter final ExecutorService executor;
+
+	/** Maximum number of blocks that a loop is split up into */
+	@Getter final int numThreads;
+
+	// Total time in nanoseconds spent inside of blocks
+	final AtomicLong busyNanos = new AtomicLong();
+	// Total number of blocks which have been processed
+	final AtomicLong blocks = new AtomicLong();
+
+	/**
+	 * @param executor Executor that blocks are submitted to
+	 * @param numThreads Maximum number of blocks that a loop is split up into. Typically the number of threads.
+	 */
+	public ExecutorScope( ExecutorService executor, int numThreads ) {
+		if (numThreads < 1)
+			throw new IllegalArgumentException("numThreads must be at least 1");
+		this.executor = executor;
+		this.numThreads = numThreads;
+	}
+
+	/**
+	 * Uses the pool's parallelism for the number of threads
+	 */
+	public ExecutorScope( ForkJoinPool pool ) {
+		this(pool, pool.getParallelism());
+	}
+
+	/**
+	 * Returns the scope which is active in the current thread or null if there is none
+	 */
+	public static @Nullable ExecutorScope getActive() {
+		return active.get();
+	}
+
+	/**
+	 * Total time in nanoseconds that threads in this scope have spent processing blocks
+	 */
+	public long getBusyNanos() {
+		return busyNanos.get();
+	}
+
+	/**
+	 * Total number of blocks which have been processed in this scope
+	 */
+	public long getBlockCount() {
+		return blocks.get();
+	}
+
+	/**
+	 * Resets the usage statistics
+	 */
+	public void resetStatistics() {
+		busyNanos.set(0);
+		blocks.set(0);
+	}
+
+	void loopBlocks( int start, int endExclusive, int minBlock, IntRangeConsumer consumer ) {
+		int numBlocks = countBlocks(start, endExclusive, minBlock);
+		if (numBlocks == 0)
+			return;
+		int blockSize = blockSize(start, endExclusive, numBlocks);
+		// Rounding up the block size can leave trailing blocks with nothing in them
+		numBlocks = (endExclusive - start + blockSize - 1)/blockSize;
+		runBlocks(numBlocks, block -> {
+			int i0 = start + block*blockSize;
+			int i1 = Math.min(endExclusive, i0 + blockSize);
+			consumer.accept(i0, i1);
+		});
+	}
+
+	<T> void loopBlocks( int start, int endExclusive, int minBlock,
+						 GrowArray<T> workspace, IntRangeObjectConsumer<T> consumer ) {
+		int numBlocks = countBlocks(start, endExclusive, minBlock);
+		if (numBlocks == 0)
+			return;
+		int blockSize = blockSize(start, endExclusive, numBlocks);
+		// Rounding up the block size can leave trailing blocks with nothing in them
+		numBlocks = (endExclusive - start + blockSize - 1)/blockSize;
+
+		// Each block gets its own workspace so that the caller can combine the results afterwards
+		workspace.resize(numBlocks);
+		runBlocks(numBlocks, block -> {
+			int i0 = start + block*blockSize;
+			int i1 = Math.min(endExclusive, i0 + blockSize);
+			consumer.accept(workspace.get(block), i0, i1);
+		});
+	}
+
+	/**
+	 * Number of blocks the range is split into. Nested loops are not split up.
+	 */
+	int countBlocks( int start, int endExclusive, int minBlock ) {
+		int range = endExclusive - start;
+		if (range < 0)
+			throw new IllegalArgumentException("end must be more than start. " + start + " -> " + endExclusive);
+		if (range == 0)
+			return 0;
+		if (insideBlock.get() != null)
+			return 1;
+		int maxBlocks = Math.max(1, range/Math.max(1, minBlock));
+		return Math.min(numThreads, maxBlocks);
+	}
+
+	static int blockSize( int start, int endExclusive, int numBlocks ) {
+		return (endExclusive - start + numBlocks - 1)/numBlocks;
+	}
+
+	/**
+	 * Processes each block. The first block is processed in the calling thread while the others are
+	 * submitted to the executor. Does not return until all blocks are finished.
+	 */
+	void runBlocks( int numBlocks, BlockProcessor processor ) {
+		if (numBlocks == 1) {
+			processBlock(processor, 0);
+			return;
+		}
+
+		List<Future<?>> futures = new ArrayList<>(numBlocks - 1);
+		for (int block = 1; block < numBlocks; block++) {
+			final int index = block;
+			futures.add(executor.submit(() -> processBlock(processor, index)));
+		}
+		processBlock(processor, 0);
+
+		try {
+			for (int i = 0; i < futures.size(); i++) {
+				futures.get(i).get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException)cause;
+			if (cause instanceof Error)
+				throw (Error)cause;
+			throw new RuntimeException(cause);
+		}
+	}
+
+	/**
+	 * Processes a single block with this scope active in the current thread and records how long it took
+	 */
+	void processBlock( BlockProcessor processor, int block ) {
+		ExecutorScope previousScope = active.get();
+		Boolean previousInside = insideBlock.get();
+		active.set(this);
+		insideBlock.set(Boolean.TRUE);
+		long time0 = System.nanoTime();
+		try {
+			processor.process(block);
+		} finally {
+			busyNanos.addAndGet(System.nanoTime() - time0);
+			blocks.incrementAndGet();
+			restore(active, previousScope);
+			restore(insideBlock, previousInside);
+		}
+	}
+
+	static <T> void restore( ThreadLocal<T> local, @Nullable T previous ) {
+		if (previous == null)
+			local.remove();
+		else
+			local.set(previous);
+	}
+
+	@FunctionalInterface
+	interface BlockProcessor {
+		void process( int block );
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import lombok.Getter;
+
+/**
+ * <p>
+ * Histogram of non-negative integer values, e.g. latency in nano seconds, with logarithmically spaced bins. Each
+ * power of two is split into {@link #SUB_BINS} bins, so any percentile is found with a relative error of at most
+ * 1/{@link #SUB_BINS}. Storage is fixed when it's constructed and adding a value doesn't create any new objects.
+ * </p>
+ *
+ * <p>Values smaller than {@link #SUB_BINS} are stored exactly. Negative values are treated as zero.</p>
+ *
+ * @author Peter Abeles
+ */
+public class LogHistogram {
+	/** Number of bins each power of two is split into */
+	public static final int SUB_BINS = 8;
+	// log2(SUB_BINS)
+	private static final int SUB_BITS = 3;
+
+	/** Number of times a value has been added in each bin */
+	final long[] counts = new long[SUB_BINS*(64 - SUB_BITS)];
+
+	/** Number of values which have been added */
+	private @Getter long count;
+	/** Sum of all the values added */
+	private @Getter long sum;
+	/** Smallest value added. Only valid if count is more than zero */
+	private @Getter long min;
+	/** Largest value added. Only valid if count is more than zero */
+	private @Getter long max;
+
+	public LogHistogram() {
+		reset();
+	}
+
+	/**
+	 * Adds a value to the histogram
+	 */
+	public void add( long value ) {
+		if (value < 0)
+			value = 0;
+		counts[binIndex(value)]++;
+		if (count == 0) {
+			min = max = value;
+		} else {
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+		}
+		count++;
+		sum += value;
+	}
+
+	/**
+	 * Returns the value which the specified fraction of all samples are less than or equal to. The returned value
+	 * is in the middle of the bin the percentile lies inside of.
+	 *
+	 * @param fraction Fraction from 0 to 1.0, e.g. 0.5 is the median and 0.99 is the 99-th percentile.
+	 * @return Estimated value or 0 if the histogram is empty
+	 */
+	public long percentile( double fraction ) {
+		if (fraction < 0.0 || fraction > 1.0)
+			throw new IllegalArgumentException("Fraction must be from 0 to 1. fraction=" + fraction);
+		if (count == 0)
+			return 0;
+
+		// Number of samples which need to be less than or equal to the returned value
+		long target = Math.max(1, (long)Math.ceil(fraction*count));
+		if (target >= count)
+			return max;
+		long total = 0;
+		for (int i = 0; i < counts.length; i++) {
+			total += counts[i];
+			if (total >= target) {
+				long lower = binLower(i);
+				long value = lower + (binUpper(i) - lower)/2;
+				return Math.max(min, Math.min(max, value));
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Mean of all the values added
+	 */
+	public double getMean() {
+		return count == 0 ? 0.0 : sum/(double)count;
+	}
+
+	/**
+	 * Adds all the samples in 'src' to this histogram
+	 */
+	public void add( LogHistogram src ) {
+		if (src.count == 0)
+			return;
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] += src.counts[i];
+		}
+		if (count == 0) {
+			min = src.min;
+			max = src.max;
+		} else {
+			min = Math.min(min, src.min);
+			max = Math.max(max, src.max);
+		}
+		count += src.count;
+		sum += src.sum;
+	}
+
+	/**
+	 * Discards all the samples
+	 */
+	public void reset() {
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = 0;
+		}
+		count = 0;
+		sum = 0;
+		min = 0;
+		max = 0;
+	}
+
+	/**
+	 * Returns the index of the bin which contains the value
+	 */
+	static int binIndex( long value ) {
+		if (value < SUB_BINS)
+			return (int)value;
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int)(value >>> (exponent - SUB_BITS)) & (SUB_BINS - 1);
+		return (exponent - SUB_BITS + 1)*SUB_BINS + sub;
+	}
+
+	/**
+	 * Smallest value which will be assigned to the bin
+	 */
+	static long binLower( int index ) {
+		if (index < SUB_BINS)
+			return index;
+		int exponent = index/SUB_BINS + SUB_BITS - 1;
+		int sub = index%SUB_BINS;
+		return (long)(SUB_BINS + sub) << (exponent - SUB_BITS);
+	}
+
+	/**
+	 * Largest value which will be assigned to the bin
+	 */
+	static long binUpper( int index ) {
+		if (index < SUB_BINS)
+			return index;
+		int exponent = index/SUB_BINS + SUB_BITS - 1;
+		return binLower(index) + (1L << (exponent - SUB_BITS)) - 1;
+	}
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageDataType;
+import boofcv.struct.image.ImageDimension;
+import boofcv.struct.image.ImageType;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Decorator for {@link LookUpImages} which keeps recently used images in memory so that they don't need to be
+ * loaded and decoded again. Images are discarded in least recently used order once the memory used by decoded
+ * images exceeds {@link #getMaxBytes()}. The shape of every image which has been looked up is also saved.
+ * </p>
+ *
+ * <p>
+ * The same image can be requested with different image types, e.g. gray and color, and each is cached
+ * independently. The image type's family, data type, and number of bands are all part of the cache key, so
+ * an image is only found if it's requested with the same number of bands it was loaded or prefetched with.
+ * Images which are likely to be needed soon can be loaded in a background thread by calling {@link #prefetch}
+ * after enabling it with {@link #setPrefetchThreads}. This class is thread safe. If prefetch is enabled or it's
+ * used by multiple threads then the source must be thread safe too.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LookUpImagesCached implements LookUpImages {
+	/** Images are loaded from here when they are not in the cache */
+	@Getter final LookUpImages source;
+
+	// Maximum number of bytes used by the images in the cache
+	long maxBytes;
+
+	// Decoded images in the order they were last used
+	final LinkedHashMap<Key, ImageBase<?>> images = new LinkedHashMap<>(16, 0.75f, true);
+	// Images which are currently being loaded from the source. Used to avoid loading an image more than once
+	final Map<Key, CompletableFuture<ImageBase<?>>> loading = new HashMap<>();
+	// Shape of every image which has been looked up
+	final Map<String, ImageDimension> shapes = new HashMap<>();
+
+	// Number of bytes used by the images in the cache
+	long usedBytes;
+
+	// Statistics
+	long hits, misses, evictions;
+
+	// Loads images in the background. null if prefetch is disabled
+	@Nullable ExecutorService prefetchPool;
+
+	/**
+	 * @param source Where images are loaded from
+	 * @param maxBytes Maximum number of bytes used by decoded images in the cache
+	 */
+	public LookUpImagesCached( LookUpImages source, long maxBytes ) {
+		this.source = source;
+		this.maxBytes = maxBytes;
+	}
+
+	@Override public boolean loadShape( String name, ImageDimension shape ) {
+		synchronized (this) {
+			ImageDimension cached = shapes.get(name);
+			if (cached != null) {
+				shape.setTo(cached);
+				return true;
+			}
+		}
+
+		if (!source.loadShape(name, shape))
+			return false;
+
+		synchronized (this) {
+			shapes.put(name, new ImageDimension(shape.width, shape.height));
+		}
+		return true;
+	}
+
+	@Override public <LT extends ImageBase<LT>> boolean loadImage( String name, LT output ) {
+		var key = new Key(name, output.getImageType());
+		ImageBase<?> cached;
+		CompletableFuture<ImageBase<?>> future;
+		boolean owner = false;
+		synchronized (this) {
+			cached = images.get(key);
+			future = loading.get(key);
+			if (cached != null || future != null) {
+				hits++;
+			} else {
+				misses++;
+				future = new CompletableFuture<>();
+				loading.put(key, future);
+				owner = true;
+			}
+		}
+
+		// It's not in the cache so this thread will load it
+		if (owner)
+			return loadFromSource(key, output, future);
+
+		// Another thread is loading the image. Wait for it to finish
+		if (cached == null) {
+			try {
+				cached = future.join();
+			} catch (CompletionException e) {
+				// It failed in the other thread. Load it in this thread so that the error is handled by the caller
+				return source.loadImage(name, output);
+			}
+			if (cached == null)
+				return false;
+		}
+
+		// Images in the cache are never modified so it's safe to copy outside the lock
+		copy(cached, output);
+		return true;
+	}
+
+	/**
+	 * Loads an image which is likely to be requested soon in a background thread. Does nothing if prefetch is
+	 * disabled or the image is already in the cache.
+	 *
+	 * @param name Name of the image
+	 * @param type Type of image it will be requested as. Must have the same number of bands as the request.
+	 */
+	public <LT extends ImageBase<LT>> void prefetch( String name, ImageType<LT> type ) {
+		var key = new Key(name, type);
+		CompletableFuture<ImageBase<?>> future;
+		synchronized (this) {
+			ExecutorService pool = prefetchPool;
+			if (pool == null || images.containsKey(key) || loading.containsKey(key))
+				return;
+			misses++;
+			future = new CompletableFuture<>();
+			loading.put(key, future);
+			pool.execute(() -> loadFromSource(key, type.createImage(1, 1), future));
+		}
+	}
+
+	/**
+	 * Loads the image from the source then adds it to the cache and notifies threads waiting on it
+	 */
+	<LT extends ImageBase<LT>> boolean loadFromSource( Key key, LT output,
+													   CompletableFuture<ImageBase<?>> future ) {
+		ImageBase<?> loaded = null;
+		try {
+			if (source.loadImage(key.name, output))
+				loaded = output.clone();
+		} catch (RuntimeException e) {
+			synchronized (this) {
+				loading.remove(key);
+			}
+			future.completeExceptionally(e);
+			throw e;
+		}
+
+		synchronized (this) {
+			loading.remove(key);
+			if (loaded != null)
+				addToCache(key, loaded);
+		}
+		future.complete(loaded);
+		return loaded != null;
+	}
+
+	/**
+	 * Adds the image to the cache then discards the least recently used images until it's within budget
+	 */
+	void addToCache( Key key, ImageBase<?> image ) {
+		long bytes = bytesOf(image);
+		if (bytes > maxBytes)
+			return;
+
+		ImageBase<?> previous = images.put(key, image);
+		if (previous != null)
+			usedBytes -= bytesOf(previous);
+		usedBytes += bytes;
+		enforceBudget();
+	}
+
+	void enforceBudget() {
+		Iterator<ImageBase<?>> iter = images.values().iterator();
+		while (usedBytes > maxBytes && iter.hasNext()) {
+			usedBytes -= bytesOf(iter.next());
+			iter.remove();
+			evictions++;
+		}
+	}
+
+	/**
+	 * Number of bytes used to store the image's pixels
+	 */
+	static long bytesOf( ImageBase<?> image ) {
+		ImageType<?> type = image.getImageType();
+		return (long)image.width*image.height*type.getNumBands()*type.getDataType().getNumBits()/8;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	static <LT extends ImageBase<LT>> void copy( ImageBase src, LT dst ) {
+		dst.setTo((LT)src);
+	}
+
+	/**
+	 * Specifies the number of threads used to prefetch images. If zero then prefetch is disabled. Images which
+	 * have already been requested will still be loaded.
+	 */
+	public synchronized void setPrefetchThreads( int threads ) {
+		if (prefetchPool != null) {
+			prefetchPool.shutdown();
+			prefetchPool = null;
+		}
+		if (threads <= 0)
+			return;
+
+		var count = new AtomicInteger();
+		prefetchPool = Executors.newFixedThreadPool(threads, r -> {
+			var thread = new Thread(r, "ImagePrefetch" + count.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Changes the maximum number of bytes used by images in the cache. Images are discarded if it's now over
+	 * budget.
+	 */
+	public synchronized void setMaxBytes( long maxBytes ) {
+		this.maxBytes = maxBytes;
+		enforceBudget();
+	}
+
+	public synchronized long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/** Number of bytes used by images in the cache */
+	public synchronized long getUsedBytes() {
+		return usedBytes;
+	}
+
+	/** Number of images in the cache */
+	public synchronized int getCachedImages() {
+		return images.size();
+	}
+
+	/** Number of image requests which did not need to load the image from the source */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/** Number of images loaded from the source, including those which were prefetched */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/** Number of images which have been discarded to stay within the memory budget */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/** Resets hit, miss, and eviction counts to zero */
+	public synchronized void resetStatistics() {
+		hits = misses = evictions = 0;
+	}
+
+	/**
+	 * Discards all cached images and shapes. Images which are currently being loaded are not affected.
+	 */
+	public synchronized void clear() {
+		images.clear();
+		shapes.clear();
+		usedBytes = 0;
+	}
+
+	/**
+	 * Identifies a cached image by its name and the type of image it was requested as
+	 */
+	static class Key {
+		final String name;
+		final ImageType.Family family;
+		final ImageDataType dataType;
+		final int numBands;
+
+		Key( String name, ImageType<?> type ) {
+			this.name = name;
+			this.family = type.getFamily();
+			this.dataType = type.getDataType();
+			this.numBands = type.getNumBands();
+		}
+
+		@Override public boolean equals( Object o ) {
+			if (this == o) return true;
+			if (!(o instanceof Key)) return false;
+			Key key = (Key)o;
+			return name.equals(key.name) && family == key.family && dataType == key.dataType &&
+					numBands == key.numBands;
+		}
+
+		@Override public int hashCode() {
+			return Objects.hash(name, family, dataType, numBands);
+		}
+	}
+}
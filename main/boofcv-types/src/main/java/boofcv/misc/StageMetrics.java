@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Collects runtime metrics for each stage inside a processing pipeline, e.g. how long tracking or bundle adjustment
+ * took. Stages are identified by name and consist of {@link Timer timers}, {@link Counter counters}, and
+ * {@link LogHistogram histograms}. An algorithm creates everything it records into once when it's constructed,
+ * after that recording doesn't create any new objects.
+ * </p>
+ *
+ * <p>
+ * After each call to process() the algorithm calls {@link #publish()} which passes the metrics to a
+ * {@link StageMetricsSink}, if one has been set. This lets an application gather statistics, e.g. latency
+ * percentiles for each stage, without parsing text output.
+ * </p>
+ *
+ * <p>Not thread safe. Recording should only be done by the thread which is calling the algorithm.</p>
+ *
+ * @author Peter Abeles
+ */
+public class StageMetrics {
+	/** Name of the algorithm which owns these metrics */
+	private @Getter final String name;
+
+	/** Receives the metrics each time they are published. If null then nothing is done. */
+	private @Getter @Setter @Nullable StageMetricsSink sink;
+
+	/** All the timers, in the order they were created */
+	private @Getter final List<Timer> timers = new ArrayList<>();
+	/** All the counters, in the order they were created */
+	private @Getter final List<Counter> counters = new ArrayList<>();
+	/** All the histograms, in the order they were created */
+	private @Getter final List<Histogram> histograms = new ArrayList<>();
+
+	public StageMetrics( String name ) {
+		this.name = name;
+	}
+
+	/**
+	 * Returns the timer with the specified name. If no timer has that name then a new one is created.
+	 */
+	public Timer timer( String name ) {
+		for (int i = 0; i < timers.size(); i++) {
+			if (timers.get(i).name.equals(name))
+				return timers.get(i);
+		}
+		var timer = new Timer(name);
+		timers.add(timer);
+		return timer;
+	}
+
+	/**
+	 * Returns the counter with the specified name. If no counter has that name then a new one is created.
+	 */
+	public Counter counter( String name ) {
+		for (int i = 0; i < counters.size(); i++) {
+			if (counters.get(i).name.equals(name))
+				return counters.get(i);
+		}
+		var counter = new Counter(name);
+		counters.add(counter);
+		return counter;
+	}
+
+	/**
+	 * Returns the histogram with the specified name. If no histogram has that name then a new one is created.
+	 */
+	public Histogram histogram( String name ) {
+		for (int i = 0; i < histograms.size(); i++) {
+			if (histograms.get(i).name.equals(name))
+				return histograms.get(i);
+		}
+		var histogram = new Histogram(name);
+		histograms.add(histogram);
+		return histogram;
+	}
+
+	/**
+	 * Passes the metrics to the sink, if there is one. Called by the algorithm after it has finished processing.
+	 */
+	public void publish() {
+		StageMetricsSink sink = this.sink;
+		if (sink != null)
+			sink.publish(this);
+	}
+
+	/**
+	 * Discards everything which has been recorded. Timers, counters, and histograms are not removed.
+	 */
+	public void reset() {
+		for (int i = 0; i < timers.size(); i++) {
+			timers.get(i).reset();
+		}
+		for (int i = 0; i < counters.size(); i++) {
+			counters.get(i).reset();
+		}
+		for (int i = 0; i < histograms.size(); i++) {
+			histograms.get(i).values.reset();
+		}
+	}
+
+	/**
+	 * Measures how long a stage takes. Every measurement is added to a histogram of nano seconds.
+	 */
+	public static class Timer {
+		/** Name of the stage */
+		public final String name;
+		/** Histogram of elapsed time in nano seconds */
+		public final LogHistogram nanos = new LogHistogram();
+
+		/** Elapsed time in the most recent measurement in milliseconds */
+		private @Getter double lastMilli;
+
+		// when start() was called
+		long startNano;
+
+		public Timer( String name ) {
+			this.name = name;
+		}
+
+		/**
+		 * Marks the beginning of the stage
+		 */
+		public void start() {
+			startNano = System.nanoTime();
+		}
+
+		/**
+		 * Marks the end of the stage and records how long it took since {@link #start()} was called
+		 *
+		 * @return Elapsed time in milliseconds
+		 */
+		public double stop() {
+			return record(System.nanoTime() - startNano);
+		}
+
+		/**
+		 * Records a measurement which was made externally
+		 *
+		 * @param elapsedNano Elapsed time in nano seconds
+		 * @return Elapsed time in milliseconds
+		 */
+		public double record( long elapsedNano ) {
+			nanos.add(elapsedNano);
+			lastMilli = elapsedNano*1e-6;
+			return lastMilli;
+		}
+
+		/**
+		 * Returns a percentile of the elapsed time in milliseconds
+		 *
+		 * @see LogHistogram#percentile(double)
+		 */
+		public double percentileMilli( double fraction ) {
+			return nanos.percentile(fraction)*1e-6;
+		}
+
+		public void reset() {
+			nanos.reset();
+			lastMilli = 0;
+		}
+	}
+
+	/**
+	 * Counts how many times something has happened, e.g. number of features detected
+	 */
+	public static class Counter {
+		/** Name of what's being counted */
+		public final String name;
+
+		/** Total of all the values added since it was reset */
+		private @Getter long total;
+		/** Value which was most recently assigned or added */
+		private @Getter long last;
+
+		public Counter( String name ) {
+			this.name = name;
+		}
+
+		public void increment() {
+			add(1);
+		}
+
+		public void add( long amount ) {
+			total += amount;
+			last = amount;
+		}
+
+		public void reset() {
+			total = 0;
+			last = 0;
+		}
+	}
+
+	/**
+	 * Distribution of a value which isn't a time, e.g. number of inliers
+	 */
+	public static class Histogram {
+		/** Name of the value */
+		public final String name;
+		/** The recorded values */
+		public final LogHistogram values = new LogHistogram();
+
+		public Histogram( String name ) {
+			this.name = name;
+		}
+
+		public void add( long value ) {
+			values.add(value);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import java.io.PrintStream;
+
+/**
+ * Receives {@link StageMetrics} after an algorithm has finished processing. Implementations can forward the
+ * statistics to a monitoring system. The metrics are owned by the algorithm and will be modified the next time
+ * it's called, so values should be read or copied before returning.
+ *
+ * @author Peter Abeles
+ */
+@FunctionalInterface
+public interface StageMetricsSink {
+	/**
+	 * Called after the metrics have been updated
+	 *
+	 * @param metrics The updated metrics
+	 */
+	void publish( StageMetrics metrics );
+
+	/**
+	 * Creates a sink which prints the most recent time of each stage and its median and 95-th percentile
+	 *
+	 * @param out Where it's printed to
+	 */
+	static StageMetricsSink printTo( PrintStream out ) {
+		return metrics -> {
+			out.print(metrics.getName() + ":");
+			for (int i = 0; i < metrics.getTimers().size(); i++) {
+				StageMetrics.Timer timer = metrics.getTimers().get(i);
+				out.printf(" %s %.1f (%.1f, %.1f)", timer.name, timer.getLastMilli(),
+						timer.percentileMilli(0.5), timer.percentileMilli(0.95));
+			}
+			for (int i = 0; i < metrics.getCounters().size(); i++) {
+				StageMetrics.Counter counter = metrics.getCounters().get(i);
+				out.printf(" %s %d", counter.name, counter.getLast());
+			}
+			out.println();
+		};
+	}
+}
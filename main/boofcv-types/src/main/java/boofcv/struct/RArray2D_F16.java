@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct;
+
+import java.util.Arrays;
+
+/**
+ * 2D-Array where each row is it's own primitive array and values are stored as 16-bit half precision floats.
+ * Uses half the memory of {@link RArray2D_F32} at the cost of precision. Values have about 3 significant
+ * digits and the largest magnitude is 65504. Larger values are saturated instead of becoming infinite.
+ *
+ * Rows are intended to be decoded into a float array with {@link #getRow}, processed, then written
+ * back with {@link #setRow}.
+ *
+ * @author Peter Abeles
+ */
+public class RArray2D_F16 {
+	/** Largest finite value which can be stored */
+	public static final float MAX_VALUE = 65504.0f;
+
+	public short[][] data = new short[0][0];
+
+	public int cols, rows;
+
+	public RArray2D_F16( int rows, int cols ) {
+		reshape(rows, cols);
+	}
+
+	public void reshape( int rows, int cols ) {
+		if (data.length < rows || (data.length > 0 && data[0].length < cols)) {
+			data = new short[rows][cols];
+		}
+		this.rows = rows;
+		this.cols = cols;
+	}
+
+	public void zero() {
+		for (int i = 0; i < rows; i++) {
+			Arrays.fill(data[i], 0, cols, (short)0);
+		}
+	}
+
+	public float get( int row, int col ) {
+		if (row < 0 || row >= rows || col < 0 || col >= cols)
+			throw new IllegalArgumentException("Out of bounds exception");
+
+		return toFloat(data[row][col]);
+	}
+
+	public void set( int row, int col, float value ) {
+		if (row < 0 || row >= rows || col < 0 || col >= cols)
+			throw new IllegalArgumentException("Out of bounds exception");
+
+		data[row][col] = toHalf(value);
+	}
+
+	/**
+	 * Decodes a row into an array of floats
+	 *
+	 * @param row Which row is decoded
+	 * @param dst (Output) Storage for the row. Must have at least {@link #cols} elements.
+	 */
+	public void getRow( int row, float[] dst ) {
+		short[] src = data[row];
+		for (int i = 0; i < cols; i++) {
+			dst[i] = toFloat(src[i]);
+		}
+	}
+
+	/**
+	 * Encodes an array of floats into a row
+	 *
+	 * @param row Which row is encoded
+	 * @param src The values. Must have at least {@link #cols} elements.
+	 */
+	public void setRow( int row, float[] src ) {
+		short[] dst = data[row];
+		for (int i = 0; i < cols; i++) {
+			dst[i] = toHalf(src[i]);
+		}
+	}
+
+	/**
+	 * Encodes an array of floats into a row using stochastic rounding. Values are rounded up with a probability
+	 * proportional to how close they are to the next larger value, so small changes are not lost on average.
+	 * The random numbers are generated from the seed, so the same seed always produces the same row.
+	 *
+	 * @param row Which row is encoded
+	 * @param src The values. Must have at least {@link #cols} elements.
+	 * @param seed Seed for the random numbers
+	 */
+	public void setRow( int row, float[] src, int seed ) {
+		short[] dst = data[row];
+		// xorshift random number generator. The seed is mixed first since seeds are often sequential
+		int random = mix(seed);
+		for (int i = 0; i < cols; i++) {
+			random ^= random << 13;
+			random ^= random >>> 17;
+			random ^= random << 5;
+			dst[i] = toHalfStochastic(src[i], random);
+		}
+	}
+
+	/**
+	 * Scrambles the bits in the seed. Never returns zero, which is a fixed point of xorshift.
+	 */
+	static int mix( int seed ) {
+		int x = seed;
+		x ^= x >>> 16;
+		x *= 0x7feb352d;
+		x ^= x >>> 15;
+		x *= 0x846ca68b;
+		x ^= x >>> 16;
+		return x == 0 ? 0x9E3779B9 : x;
+	}
+
+	public int getCols() {
+		return cols;
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * Converts a 32-bit float into a 16-bit half precision float. Rounds to the nearest value. Finite values
+	 * which are too large are saturated to &plusmn;{@link #MAX_VALUE}.
+	 */
+	public static short toHalf( float value ) {
+		int bits = Float.floatToRawIntBits(value);
+		int sign = (bits >>> 16) & 0x8000;
+		int abs = bits & 0x7FFFFFFF;
+
+		// infinity or NaN
+		if (abs >= 0x7F800000)
+			return (short)(sign | 0x7C00 | (abs > 0x7F800000 ? 0x0200 : 0));
+		// would round up to infinity
+		if (abs >= 0x477FF000)
+			return (short)(sign | 0x7BFF);
+		// normal value. Adjust the exponent bias and round the mantissa
+		if (abs >= 0x38800000)
+			return (short)(sign | ((abs - 0x38000000 + 0x1000) >>> 13));
+		// too small to be a sub-normal
+		if (abs < 0x33000000)
+			return (short)sign;
+
+		// sub-normal value
+		int exponent = abs >>> 23;
+		int mantissa = (abs & 0x7FFFFF) | 0x800000;
+		int shift = 126 - exponent;
+		return (short)(sign | ((mantissa + (1 << (shift - 1))) >>> shift));
+	}
+
+	/**
+	 * Converts a 32-bit float into a 16-bit half precision float using stochastic rounding. The lower 13-bits of
+	 * 'noise' determine if it's rounded up or down. Values which are exactly representable are not changed.
+	 * Sub-normal and very large values are rounded to the nearest value, like {@link #toHalf}.
+	 *
+	 * @param value The value being converted
+	 * @param noise A random number
+	 */
+	public static short toHalfStochastic( float value, int noise ) {
+		int bits = Float.floatToRawIntBits(value);
+		int abs = bits & 0x7FFFFFFF;
+
+		// Only normal values are rounded stochastically
+		if (abs < 0x38800000 || abs >= 0x477FE000)
+			return toHalf(value);
+
+		// Add noise to the bits which are discarded then truncate
+		int sign = (bits >>> 16) & 0x8000;
+		int half = (abs - 0x38000000 + (noise & 0x1FFF)) >>> 13;
+		return (short)(sign | Math.min(half, 0x7BFF));
+	}
+
+	/**
+	 * Converts a 16-bit half precision float into a 32-bit float. This is lossless.
+	 */
+	public static float toFloat( short half ) {
+		int sign = (half & 0x8000) << 16;
+		int exponent = (half >>> 10) & 0x1F;
+		int mantissa = half & 0x03FF;
+
+		// infinity or NaN
+		if (exponent == 0x1F)
+			return Float.intBitsToFloat(sign | 0x7F800000 | (mantissa << 13));
+		// normal value
+		if (exponent != 0)
+			return Float.intBitsToFloat(sign | ((exponent + 112) << 23) | (mantissa << 13));
+
+		// zero or a sub-normal. value = mantissa*2^-24
+		float value = mantissa*5.9604645e-8f;
+		return sign == 0 ? value : -value;
+	}
+}
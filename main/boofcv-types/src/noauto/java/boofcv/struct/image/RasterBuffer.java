@@ -0,0 +1,417 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import lombok.Getter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * <p>
+ * Raster with interleaved pixels that's stored inside of a {@link ByteBuffer} instead of a Java array. This
+ * allows images which are too large to fit on the heap, e.g. large orthomosaics or disparity images, to be
+ * memory mapped from a file or stored in a direct buffer. It's intended for read-mostly use where the image is
+ * processed one tile at a time. Tiles are copied in and out using bulk operations into standard images
+ * using {@link #readTile} and {@link #writeTile}.
+ * </p>
+ *
+ * <p>
+ * Pixels are stored row by row with no padding and the bands of each pixel are next to each other. Since a
+ * single {@link ByteBuffer} is limited to 2 GB, mapped files are split into multiple buffers with each buffer
+ * containing a whole number of rows.
+ * </p>
+ *
+ * <p>Reading and writing is thread safe as long as different threads write to different regions.</p>
+ *
+ * @author Peter Abeles
+ */
+public class RasterBuffer {
+	/** Number of columns in the raster */
+	private @Getter final int width;
+	/** Number of rows in the raster */
+	private @Getter final int height;
+	/** Number of bands in each pixel */
+	private @Getter final int numBands;
+	/** Data type of each band */
+	private @Getter final ImageDataType dataType;
+	/** Byte order of each element */
+	private @Getter final ByteOrder byteOrder;
+	/** Number of bytes in a single row */
+	private @Getter final int rowBytes;
+
+	// Number of bytes in a single band of a pixel
+	final int elementBytes;
+	// Number of rows in each buffer
+	final int rowsPerChunk;
+	// Buffers which contain the rows. All but the last contain rowsPerChunk rows.
+	final ByteBuffer[] chunks;
+
+	/**
+	 * Wraps an existing buffer. The raster starts at the buffer's current position and the buffer's
+	 * byte order is used.
+	 *
+	 * @param buffer Buffer containing the raster. Can be direct, memory mapped, or heap.
+	 * @param width Number of columns
+	 * @param height Number of rows
+	 * @param numBands Number of bands in each pixel
+	 * @param dataType Data type of each band
+	 */
+	public RasterBuffer( ByteBuffer buffer, int width, int height, int numBands, ImageDataType dataType ) {
+		this(width, height, numBands, dataType, buffer.order(), Math.max(1, height));
+		long required = bytesRequired(width, height, numBands, dataType);
+		if (buffer.remaining() < required)
+			throw new IllegalArgumentException("Buffer is too small. remaining=" + buffer.remaining() +
+					" required=" + required);
+		chunks[0] = buffer.slice().order(byteOrder);
+	}
+
+	private RasterBuffer( int width, int height, int numBands, ImageDataType dataType,
+						  ByteOrder byteOrder, int rowsPerChunk ) {
+		if (dataType.isAbstract())
+			throw new IllegalArgumentException("Data type must not be abstract");
+		if (width < 0 || height < 0 || numBands <= 0)
+			throw new IllegalArgumentException("Invalid shape");
+		this.width = width;
+		this.height = height;
+		this.numBands = numBands;
+		this.dataType = dataType;
+		this.byteOrder = byteOrder;
+		this.elementBytes = dataType.getNumBits()/8;
+		long rowBytes = (long)width*numBands*elementBytes;
+		if (rowBytes > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("A single row is too large");
+		this.rowBytes = (int)rowBytes;
+		this.rowsPerChunk = rowsPerChunk;
+		this.chunks = new ByteBuffer[Math.max(1, (height + rowsPerChunk - 1)/rowsPerChunk)];
+	}
+
+	/**
+	 * Memory maps a region inside of a file. If writable and the file is too small, then the file will be
+	 * enlarged. The file does not need to remain open after this function returns.
+	 *
+	 * @param file The file
+	 * @param offset Location in the file, in bytes, that the raster starts at
+	 * @param width Number of columns
+	 * @param height Number of rows
+	 * @param numBands Number of bands in each pixel
+	 * @param dataType Data type of each band
+	 * @param byteOrder Byte order of elements in the file
+	 * @param writable If true the file can be modified
+	 * @return The memory mapped raster
+	 */
+	public static RasterBuffer map( File file, long offset, int width, int height, int numBands,
+									ImageDataType dataType, ByteOrder byteOrder, boolean writable ) {
+		return map(file, offset, width, height, numBands, dataType, byteOrder, writable, Integer.MAX_VALUE);
+	}
+
+	static RasterBuffer map( File file, long offset, int width, int height, int numBands,
+							 ImageDataType dataType, ByteOrder byteOrder, boolean writable, long maxChunkBytes ) {
+		long rowBytes = (long)width*numBands*(dataType.getNumBits()/8);
+		int rowsPerChunk = (int)Math.min(Math.max(1, height), Math.max(1, maxChunkBytes/Math.max(1, rowBytes)));
+		var raster = new RasterBuffer(width, height, numBands, dataType, byteOrder, rowsPerChunk);
+
+		FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+		StandardOpenOption[] options = writable ?
+				new StandardOpenOption[]{READ, WRITE, CREATE} : new StandardOpenOption[]{READ};
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), options)) {
+			if (!writable && channel.size() < offset + bytesRequired(width, height, numBands, dataType))
+				throw new IllegalArgumentException("File is too small to contain the raster");
+			for (int i = 0; i < raster.chunks.length; i++) {
+				int rows = Math.min(rowsPerChunk, height - i*rowsPerChunk);
+				long start = offset + (long)i*rowsPerChunk*rowBytes;
+				raster.chunks[i] = channel.map(mode, start, Math.max(0, rows)*rowBytes).order(byteOrder);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return raster;
+	}
+
+	/**
+	 * Allocates a direct buffer which is outside of the Java heap
+	 */
+	public static RasterBuffer allocateDirect( int width, int height, int numBands, ImageDataType dataType ) {
+		long required = bytesRequired(width, height, numBands, dataType);
+		if (required > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Too large for a single buffer. Use a memory mapped file instead.");
+		ByteBuffer buffer = ByteBuffer.allocateDirect((int)required).order(ByteOrder.nativeOrder());
+		return new RasterBuffer(buffer, width, height, numBands, dataType);
+	}
+
+	/**
+	 * Number of bytes needed to store a raster with the specified shape
+	 */
+	public static long bytesRequired( int width, int height, int numBands, ImageDataType dataType ) {
+		return (long)width*height*numBands*(dataType.getNumBits()/8);
+	}
+
+	/**
+	 * Returns the value of a single band in a pixel. Intended for debugging or sparse access only, for
+	 * bulk access use {@link #readTile}.
+	 */
+	public double get( int x, int y, int band ) {
+		checkPixel(x, y, band);
+		ByteBuffer chunk = chunks[y/rowsPerChunk];
+		int index = (y%rowsPerChunk)*rowBytes + (x*numBands + band)*elementBytes;
+
+		return switch (dataType) {
+			case U8 -> chunk.get(index) & 0xFF;
+			case S8 -> chunk.get(index);
+			case U16 -> chunk.getShort(index) & 0xFFFF;
+			case S16 -> chunk.getShort(index);
+			case S32 -> chunk.getInt(index);
+			case S64 -> chunk.getLong(index);
+			case F32 -> chunk.getFloat(index);
+			case F64 -> chunk.getDouble(index);
+			default -> throw new IllegalStateException("Unsupported type " + dataType);
+		};
+	}
+
+	/**
+	 * Sets the value of a single band in a pixel. Intended for debugging or sparse access only, for
+	 * bulk access use {@link #writeTile}.
+	 */
+	public void set( int x, int y, int band, double value ) {
+		checkPixel(x, y, band);
+		ByteBuffer chunk = chunks[y/rowsPerChunk];
+		int index = (y%rowsPerChunk)*rowBytes + (x*numBands + band)*elementBytes;
+
+		switch (dataType) {
+			case U8, S8 -> chunk.put(index, (byte)value);
+			case U16, S16 -> chunk.putShort(index, (short)value);
+			case S32 -> chunk.putInt(index, (int)value);
+			case S64 -> chunk.putLong(index, (long)value);
+			case F32 -> chunk.putFloat(index, (float)value);
+			case F64 -> chunk.putDouble(index, value);
+			default -> throw new IllegalStateException("Unsupported type " + dataType);
+		}
+	}
+
+	/**
+	 * Copies a region into a single band image. The raster must have a single band.
+	 *
+	 * @param x0 Left column of the tile, inclusive
+	 * @param y0 Top row of the tile, inclusive
+	 * @param width Width of the tile
+	 * @param height Height of the tile
+	 * @param output (Output) Image the tile is copied into. Reshaped to match the tile. Data type must match.
+	 */
+	public void readTile( int x0, int y0, int width, int height, ImageGray<?> output ) {
+		if (numBands != 1)
+			throw new IllegalArgumentException("Raster has more than one band. numBands=" + numBands);
+		checkTile(x0, y0, width, height, output.getDataType());
+		output.reshape(width, height);
+		Object data = output._getData();
+		for (int y = 0; y < height; y++) {
+			readRow(y0 + y, x0, width, data, output.startIndex + y*output.stride);
+		}
+	}
+
+	/**
+	 * Copies a region into an interleaved image.
+	 *
+	 * @param x0 Left column of the tile, inclusive
+	 * @param y0 Top row of the tile, inclusive
+	 * @param width Width of the tile
+	 * @param height Height of the tile
+	 * @param output (Output) Image the tile is copied into. Reshaped to match the tile. Data type must match.
+	 */
+	public void readTile( int x0, int y0, int width, int height, ImageInterleaved<?> output ) {
+		checkTile(x0, y0, width, height, output.getDataType());
+		output.reshape(width, height, numBands);
+		Object data = output._getData();
+		for (int y = 0; y < height; y++) {
+			readRow(y0 + y, x0, width*numBands, data, output.startIndex + y*output.stride);
+		}
+	}
+
+	/**
+	 * Copies a region into a planar image. Bands are deinterleaved one row at a time.
+	 *
+	 * @param x0 Left column of the tile, inclusive
+	 * @param y0 Top row of the tile, inclusive
+	 * @param width Width of the tile
+	 * @param height Height of the tile
+	 * @param output (Output) Image the tile is copied into. Reshaped to match the tile. Data type must match.
+	 */
+	public void readTile( int x0, int y0, int width, int height, Planar<?> output ) {
+		checkTile(x0, y0, width, height, output.getImageType().getDataType());
+		output.reshape(width, height, numBands);
+
+		Object row = dataType.newArray(width*numBands);
+		for (int y = 0; y < height; y++) {
+			readRow(y0 + y, x0, width*numBands, row, 0);
+			for (int band = 0; band < numBands; band++) {
+				ImageGray<?> b = output.getBand(band);
+				copyBand(row, band, numBands, b._getData(), b.startIndex + y*b.stride, 1, width);
+			}
+		}
+	}
+
+	/**
+	 * Copies a single band image into the raster. The raster must have a single band.
+	 *
+	 * @param x0 Column in the raster the image's left side is copied to
+	 * @param y0 Row in the raster the image's top is copied to
+	 * @param input (Input) The image. Data type must match.
+	 */
+	public void writeTile( int x0, int y0, ImageGray<?> input ) {
+		if (numBands != 1)
+			throw new IllegalArgumentException("Raster has more than one band. numBands=" + numBands);
+		checkTile(x0, y0, input.width, input.height, input.getDataType());
+		Object data = input._getData();
+		for (int y = 0; y < input.height; y++) {
+			writeRow(y0 + y, x0, input.width, data, input.startIndex + y*input.stride);
+		}
+	}
+
+	/**
+	 * Copies an interleaved image into the raster.
+	 *
+	 * @param x0 Column in the raster the image's left side is copied to
+	 * @param y0 Row in the raster the image's top is copied to
+	 * @param input (Input) The image. Data type and number of bands must match.
+	 */
+	public void writeTile( int x0, int y0, ImageInterleaved<?> input ) {
+		if (input.numBands != numBands)
+			throw new IllegalArgumentException("Number of bands do not match");
+		checkTile(x0, y0, input.width, input.height, input.getDataType());
+		Object data = input._getData();
+		for (int y = 0; y < input.height; y++) {
+			writeRow(y0 + y, x0, input.width*numBands, data, input.startIndex + y*input.stride);
+		}
+	}
+
+	/**
+	 * Copies a planar image into the raster. Bands are interleaved one row at a time.
+	 *
+	 * @param x0 Column in the raster the image's left side is copied to
+	 * @param y0 Row in the raster the image's top is copied to
+	 * @param input (Input) The image. Data type and number of bands must match.
+	 */
+	public void writeTile( int x0, int y0, Planar<?> input ) {
+		if (input.getNumBands() != numBands)
+			throw new IllegalArgumentException("Number of bands do not match");
+		checkTile(x0, y0, input.width, input.height, input.getImageType().getDataType());
+
+		Object row = dataType.newArray(input.width*numBands);
+		for (int y = 0; y < input.height; y++) {
+			for (int band = 0; band < numBands; band++) {
+				ImageGray<?> b = input.getBand(band);
+				copyBand(b._getData(), b.startIndex + y*b.stride, 1, row, band, numBands, input.width);
+			}
+			writeRow(y0 + y, x0, input.width*numBands, row, 0);
+		}
+	}
+
+	/**
+	 * Copies elements from the specified row into the array using a bulk operation
+	 *
+	 * @param y Row in the raster
+	 * @param x0 First column in the raster
+	 * @param length Number of elements, not pixels, that are copied
+	 */
+	void readRow( int y, int x0, int length, Object array, int offset ) {
+		ByteBuffer chunk = positionRow(y, x0);
+		switch (dataType) {
+			case U8, S8 -> chunk.get((byte[])array, offset, length);
+			case U16, S16 -> chunk.asShortBuffer().get((short[])array, offset, length);
+			case S32 -> chunk.asIntBuffer().get((int[])array, offset, length);
+			case S64 -> chunk.asLongBuffer().get((long[])array, offset, length);
+			case F32 -> chunk.asFloatBuffer().get((float[])array, offset, length);
+			case F64 -> chunk.asDoubleBuffer().get((double[])array, offset, length);
+			default -> throw new IllegalStateException("Unsupported type " + dataType);
+		}
+	}
+
+	/**
+	 * Copies elements from the array into the specified row using a bulk operation
+	 */
+	void writeRow( int y, int x0, int length, Object array, int offset ) {
+		ByteBuffer chunk = positionRow(y, x0);
+		switch (dataType) {
+			case U8, S8 -> chunk.put((byte[])array, offset, length);
+			case U16, S16 -> chunk.asShortBuffer().put((short[])array, offset, length);
+			case S32 -> chunk.asIntBuffer().put((int[])array, offset, length);
+			case S64 -> chunk.asLongBuffer().put((long[])array, offset, length);
+			case F32 -> chunk.asFloatBuffer().put((float[])array, offset, length);
+			case F64 -> chunk.asDoubleBuffer().put((double[])array, offset, length);
+			default -> throw new IllegalStateException("Unsupported type " + dataType);
+		}
+	}
+
+	/**
+	 * Creates a view of the buffer which contains the row that starts at the specified pixel. A view is used
+	 * so that the shared buffer's position is never modified, making it thread safe.
+	 */
+	private ByteBuffer positionRow( int y, int x0 ) {
+		ByteBuffer chunk = chunks[y/rowsPerChunk].duplicate().order(byteOrder);
+		chunk.position((y%rowsPerChunk)*rowBytes + x0*numBands*elementBytes);
+		return chunk;
+	}
+
+	/**
+	 * Copies every 'srcStep' element from src into every 'dstStep' element in dst.
+	 */
+	static void copyBand( Object src, int srcOffset, int srcStep, Object dst, int dstOffset, int dstStep, int length ) {
+		if (src instanceof byte[]) {
+			byte[] s = (byte[])src, d = (byte[])dst;
+			for (int i = 0; i < length; i++) d[dstOffset + i*dstStep] = s[srcOffset + i*srcStep];
+		} else if (src instanceof short[]) {
+			short[] s = (short[])src, d = (short[])dst;
+			for (int i = 0; i < length; i++) d[dstOffset + i*dstStep] = s[srcOffset + i*srcStep];
+		} else if (src instanceof int[]) {
+			int[] s = (int[])src, d = (int[])dst;
+			for (int i = 0; i < length; i++) d[dstOffset + i*dstStep] = s[srcOffset + i*srcStep];
+		} else if (src instanceof long[]) {
+			long[] s = (long[])src, d = (long[])dst;
+			for (int i = 0; i < length; i++) d[dstOffset + i*dstStep] = s[srcOffset + i*srcStep];
+		} else if (src instanceof float[]) {
+			float[] s = (float[])src, d = (float[])dst;
+			for (int i = 0; i < length; i++) d[dstOffset + i*dstStep] = s[srcOffset + i*srcStep];
+		} else if (src instanceof double[]) {
+			double[] s = (double[])src, d = (double[])dst;
+			for (int i = 0; i < length; i++) d[dstOffset + i*dstStep] = s[srcOffset + i*srcStep];
+		} else {
+			throw new IllegalArgumentException("Unsupported array type");
+		}
+	}
+
+	private void checkPixel( int x, int y, int band ) {
+		if (x < 0 || y < 0 || x >= width || y >= height || band < 0 || band >= numBands)
+			throw new ImageAccessException("Out of bounds. x=" + x + " y=" + y + " band=" + band);
+	}
+
+	private void checkTile( int x0, int y0, int width, int height, ImageDataType type ) {
+		if (type != dataType)
+			throw new IllegalArgumentException("Data types do not match. raster=" + dataType + " image=" + type);
+		if (x0 < 0 || y0 < 0 || width < 0 || height < 0 || x0 + width > this.width || y0 + height > this.height)
+			throw new IllegalArgumentException("Tile is outside the raster. x0=" + x0 + " y0=" + y0 +
+					" width=" + width + " height=" + height);
+	}
+}
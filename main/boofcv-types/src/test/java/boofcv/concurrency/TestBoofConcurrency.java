@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestBoofConcurrency extends BoofStandardJUnit {
+	@AfterEach
+	void cleanUp() {
+		BoofConcurrency.clearThresholds();
+		BoofConcurrency.USE_CONCURRENT = true;
+	}
+
+	@Test
+	void runConcurrent() {
+		BoofConcurrency.USE_CONCURRENT = true;
+
+		// default is used if nothing has been specified
+		assertFalse(BoofConcurrency.runConcurrent(Integer.class, BoofConcurrency.SMALL_IMAGE - 1));
+		assertTrue(BoofConcurrency.runConcurrent(Integer.class, BoofConcurrency.SMALL_IMAGE));
+
+		// Operation specific threshold
+		BoofConcurrency.setThreshold(Integer.class, 50);
+		assertFalse(BoofConcurrency.runConcurrent(Integer.class, 49));
+		assertTrue(BoofConcurrency.runConcurrent(Integer.class, 50));
+		// Other operations should not be affected
+		assertFalse(BoofConcurrency.runConcurrent(Double.class, 50));
+
+		// Concurrency is turned off
+		BoofConcurrency.USE_CONCURRENT = false;
+		assertFalse(BoofConcurrency.runConcurrent(Integer.class, 1_000_000));
+	}
+
+	@Test
+	void runConcurrent_defaultThreshold() {
+		// The provided default is used when nothing has been specified
+		assertFalse(BoofConcurrency.runConcurrent(Integer.class, 19, 20));
+		assertTrue(BoofConcurrency.runConcurrent(Integer.class, 20, 20));
+
+		// Operation specific thresholds take priority
+		BoofConcurrency.setThreshold(Integer.class, 50);
+		assertFalse(BoofConcurrency.runConcurrent(Integer.class, 20, 20));
+		assertTrue(BoofConcurrency.runConcurrent(Integer.class, 50, 20));
+
+		BoofConcurrency.USE_CONCURRENT = false;
+		assertFalse(BoofConcurrency.runConcurrent(Integer.class, 1_000_000, 20));
+	}
+
+	@Test
+	void setThreshold_getThreshold_remove() {
+		assertEquals(BoofConcurrency.SMALL_IMAGE, BoofConcurrency.getThreshold(Integer.class));
+		assertFalse(BoofConcurrency.hasThreshold(Integer.class));
+		BoofConcurrency.setThreshold(Integer.class, 10);
+		assertEquals(10, BoofConcurrency.getThreshold(Integer.class));
+		assertTrue(BoofConcurrency.hasThreshold(Integer.class));
+		BoofConcurrency.removeThreshold(Integer.class);
+		assertEquals(BoofConcurrency.SMALL_IMAGE, BoofConcurrency.getThreshold(Integer.class));
+		assertFalse(BoofConcurrency.hasThreshold(Integer.class));
+
+		assertThrows(IllegalArgumentException.class, () -> BoofConcurrency.setThreshold(Integer.class, -1));
+	}
+
+	@Test
+	void saveThresholds_loadThresholds() throws IOException {
+		BoofConcurrency.setThreshold(Integer.class, 10);
+		BoofConcurrency.setThreshold(Double.class, 1234);
+
+		File tmp = File.createTempFile("thresholds", null);
+		BoofConcurrency.saveThresholds(tmp);
+		BoofConcurrency.clearThresholds();
+
+		assertEquals(2, BoofConcurrency.loadThresholds(tmp));
+		assertTrue(tmp.delete());
+
+		assertEquals(10, BoofConcurrency.getThreshold(Integer.class));
+		assertEquals(1234, BoofConcurrency.getThreshold(Double.class));
+	}
+}
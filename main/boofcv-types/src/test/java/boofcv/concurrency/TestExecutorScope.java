@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.ddogleg.struct.DogArray_I32;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestExecutorScope extends BoofStandardJUnit {
+	ForkJoinPool pool;
+
+	@BeforeEach
+	void setUp() {
+		pool = new ForkJoinPool(3);
+	}
+
+	@AfterEach
+	void tearDown() {
+		pool.shutdownNow();
+	}
+
+	/**
+	 * Makes sure the loop is run inside the specified pool and every index is processed once
+	 */
+	@Test
+	void loopFor_usesExecutor() {
+		var scope = new ExecutorScope(pool);
+		Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
+		int[] counts = new int[100];
+
+		BoofConcurrency.runWith(scope, () -> BoofConcurrency.loopFor(0, counts.length, i -> {
+			threads.add(Thread.currentThread());
+			counts[i]++;
+		}));
+
+		for (int i = 0; i < counts.length; i++) {
+			assertEquals(1, counts[i]);
+		}
+		assertEquals(3, scope.getBlockCount());
+
+		// The caller processes one of the blocks and the others are in the pool
+		Thread caller = Thread.currentThread();
+		for (Thread t : threads) {
+			assertTrue(t == caller || pool == ((ForkJoinWorkerThread)t).getPool());
+		}
+
+		// The scope should no longer be active
+		assertNull(ExecutorScope.getActive());
+	}
+
+	@Test
+	void loopFor_step() {
+		var scope = new ExecutorScope(pool);
+		int[] counts = new int[20];
+		BoofConcurrency.runWith(scope, () -> BoofConcurrency.loopFor(1, counts.length, 3, i -> counts[i]++));
+
+		for (int i = 0; i < counts.length; i++) {
+			assertEquals((i - 1)%3 == 0 ? 1 : 0, counts[i]);
+		}
+	}
+
+	@Test
+	void loopBlocks_minBlock() {
+		var scope = new ExecutorScope(pool);
+		var ranges = new AtomicInteger();
+		BoofConcurrency.runWith(scope, () -> BoofConcurrency.loopBlocks(0, 10, 6, ( i0, i1 ) -> {
+			assertEquals(0, i0);
+			assertEquals(10, i1);
+			ranges.incrementAndGet();
+		}));
+		assertEquals(1, ranges.get());
+	}
+
+	/**
+	 * Ranges which are smaller than or not a multiple of the number of threads should not produce empty
+	 * or inverted blocks, and every index should be processed once
+	 */
+	@Test
+	void loopBlocks_uneven() {
+		var scope = new ExecutorScope(pool, 4);
+		for (int range = 1; range <= 21; range++) {
+			int[] counts = new int[range];
+			var workspace = new GrowArray<>(DogArray_I32::new);
+			BoofConcurrency.runWith(scope, () -> BoofConcurrency.loopBlocks(0, counts.length, workspace,
+					( work, i0, i1 ) -> {
+						assertTrue(i0 < i1, i0 + " " + i1);
+						for (int i = i0; i < i1; i++) {
+							counts[i]++;
+						}
+					}));
+
+			for (int i = 0; i < range; i++) {
+				assertEquals(1, counts[i]);
+			}
+			// There should be no useless workspaces
+			int blockSize = (range + workspace.size() - 1)/workspace.size();
+			assertTrue((workspace.size() - 1)*blockSize < range);
+
+			BoofConcurrency.runWith(scope, () -> BoofConcurrency.loopBlocks(3, 3 + counts.length,
+					( i0, i1 ) -> assertTrue(i0 < i1, i0 + " " + i1)));
+		}
+	}
+
+	/**
+	 * Each block should get its own workspace so that results can be combined afterwards
+	 */
+	@Test
+	void loopBlocks_workspace() {
+		var scope = new ExecutorScope(pool);
+		var workspace = new GrowArray<>(DogArray_I32::new);
+		BoofConcurrency.runWith(scope, () -> BoofConcurrency.loopBlocks(0, 100, workspace, ( work, i0, i1 ) -> {
+			for (int i = i0; i < i1; i++) {
+				work.add(i);
+			}
+		}));
+
+		assertEquals(3, workspace.size());
+		int total = 0;
+		for (int i = 0; i < workspace.size(); i++) {
+			total += workspace.get(i).size;
+		}
+		assertEquals(100, total);
+	}
+
+	/**
+	 * Loops inside of a block should be run in the same thread and not dead lock with a fixed pool
+	 */
+	@Test
+	void nested() {
+		ExecutorService fixed = Executors.newFixedThreadPool(1);
+		try {
+			var scope = new ExecutorScope(fixed, 2);
+			var count = new AtomicInteger();
+			BoofConcurrency.runWith(scope, () -> BoofConcurrency.loopFor(0, 2, i -> {
+				Thread outer = Thread.currentThread();
+				assertSame(scope, ExecutorScope.getActive());
+				BoofConcurrency.loopFor(0, 10, j -> {
+					assertSame(outer, Thread.currentThread());
+					count.incrementAndGet();
+				});
+			}));
+			assertEquals(20, count.get());
+		} finally {
+			fixed.shutdownNow();
+		}
+	}
+
+	/**
+	 * Exceptions in a block should be passed to the caller
+	 */
+	@Test
+	void exceptionPropagated() {
+		var scope = new ExecutorScope(pool);
+		assertThrows(IllegalStateException.class, () -> BoofConcurrency.runWith(scope,
+				() -> BoofConcurrency.loopFor(0, 10, i -> {
+					if (i == 9) throw new IllegalStateException("Expected");
+				})));
+		assertNull(ExecutorScope.getActive());
+	}
+
+	@Test
+	void resetStatistics() {
+		var scope = new ExecutorScope(pool);
+		BoofConcurrency.runWith(scope, () -> BoofConcurrency.loopFor(0, 10, i -> {}));
+		assertTrue(scope.getBlockCount() > 0);
+		scope.resetStatistics();
+		assertEquals(0, scope.getBlockCount());
+		assertEquals(0, scope.getBusyNanos());
+	}
+}
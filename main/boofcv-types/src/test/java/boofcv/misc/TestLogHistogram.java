@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestLogHistogram extends BoofStandardJUnit {
+	/**
+	 * Every value must be inside of the bounds of the bin it's assigned to
+	 */
+	@Test
+	void binIndex_bounds() {
+		long[] values = {0, 1, 7, 8, 9, 15, 16, 17, 100, 1023, 1024, 123_456_789L, Long.MAX_VALUE};
+		for (long value : values) {
+			int index = LogHistogram.binIndex(value);
+			assertTrue(index < new LogHistogram().counts.length);
+			assertTrue(LogHistogram.binLower(index) <= value, "value=" + value);
+			assertTrue(LogHistogram.binUpper(index) >= value, "value=" + value);
+		}
+
+		// Bins should be contiguous
+		for (int index = 1; index < new LogHistogram().counts.length; index++) {
+			assertEquals(LogHistogram.binUpper(index - 1) + 1, LogHistogram.binLower(index));
+		}
+	}
+
+	@Test
+	void add_statistics() {
+		var alg = new LogHistogram();
+		alg.add(10);
+		alg.add(30);
+		alg.add(-5);
+
+		assertEquals(3, alg.getCount());
+		assertEquals(40, alg.getSum());
+		assertEquals(0, alg.getMin());
+		assertEquals(30, alg.getMax());
+		assertEquals(40.0/3.0, alg.getMean(), 1e-8);
+
+		alg.reset();
+		assertEquals(0, alg.getCount());
+		assertEquals(0, alg.percentile(0.5));
+	}
+
+	/**
+	 * Compare percentiles against the exact solution
+	 */
+	@Test
+	void percentile() {
+		var alg = new LogHistogram();
+		long[] values = new long[1000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = 1000 + rand.nextInt(1_000_000);
+			alg.add(values[i]);
+		}
+		Arrays.sort(values);
+
+		for (double fraction : new double[]{0.1, 0.5, 0.9, 0.99}) {
+			long expected = values[(int)Math.ceil(fraction*values.length) - 1];
+			long found = alg.percentile(fraction);
+			assertEquals(expected, found, expected/(double)LogHistogram.SUB_BINS);
+		}
+		assertEquals(values[0], alg.percentile(0.0), values[0]/(double)LogHistogram.SUB_BINS);
+		assertEquals(values[values.length - 1], alg.percentile(1.0));
+
+		assertThrows(IllegalArgumentException.class, () -> alg.percentile(1.1));
+	}
+
+	/**
+	 * Small values are stored exactly
+	 */
+	@Test
+	void percentile_exact() {
+		var alg = new LogHistogram();
+		for (int i = 0; i < 5; i++) {
+			alg.add(i);
+		}
+		assertEquals(0, alg.percentile(0.2));
+		assertEquals(2, alg.percentile(0.5));
+		assertEquals(4, alg.percentile(1.0));
+	}
+
+	@Test
+	void add_histogram() {
+		var a = new LogHistogram();
+		var b = new LogHistogram();
+		var expected = new LogHistogram();
+		for (int i = 0; i < 100; i++) {
+			long value = rand.nextInt(10_000);
+			(i%2 == 0 ? a : b).add(value);
+			expected.add(value);
+		}
+
+		a.add(b);
+		assertEquals(expected.getCount(), a.getCount());
+		assertEquals(expected.getSum(), a.getSum());
+		assertEquals(expected.getMin(), a.getMin());
+		assertEquals(expected.getMax(), a.getMax());
+		assertArrayEquals(expected.counts, a.counts);
+	}
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import boofcv.struct.image.*;
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestLookUpImagesCached extends BoofStandardJUnit {
+	int width = 20, height = 15;
+	List<Planar<GrayU8>> images = new ArrayList<>();
+
+	TestLookUpImagesCached() {
+		for (int i = 0; i < 5; i++) {
+			Planar<GrayU8> image = new Planar<>(GrayU8.class, width, height, 3);
+			for (int band = 0; band < 3; band++) {
+				for (int j = 0; j < image.getBand(band).data.length; j++) {
+					image.getBand(band).data[j] = (byte)rand.nextInt(256);
+				}
+			}
+			images.add(image);
+		}
+	}
+
+	@Test void loadImage_hitsAndMisses() {
+		var source = new CountingLookUp();
+		var alg = new LookUpImagesCached(source, 1_000_000);
+
+		var found = new GrayU8(1, 1);
+		assertTrue(alg.loadImage("1", found));
+		assertTrue(alg.loadImage("1", found));
+		assertEquals(1, source.imageCount.get());
+		assertEquals(1, alg.getHits());
+		assertEquals(1, alg.getMisses());
+
+		// Result should be the same as loading directly from the source
+		var expected = new GrayU8(1, 1);
+		source.loadImage("1", expected);
+		assertArrayEquals(expected.data, found.data);
+
+		// Different image types are cached independently
+		var color = new Planar<>(GrayU8.class, 1, 1, 3);
+		assertTrue(alg.loadImage("1", color));
+		assertTrue(alg.loadImage("1", color));
+		assertEquals(3, color.getNumBands());
+		assertArrayEquals(images.get(1).getBand(2).data, color.getBand(2).data);
+		assertEquals(2, alg.getMisses());
+		assertEquals(2, alg.getHits());
+
+		// Unknown images are not cached
+		assertFalse(alg.loadImage("10", found));
+		assertFalse(alg.loadImage("10", found));
+		assertEquals(4, alg.getMisses());
+		assertEquals(2, alg.getCachedImages());
+	}
+
+	/**
+	 * Least recently used images should be discarded when over budget
+	 */
+	@Test void loadImage_evict() {
+		var source = new CountingLookUp();
+		// Enough memory for 2 gray images
+		var alg = new LookUpImagesCached(source, 2*width*height + 10);
+
+		var found = new GrayU8(1, 1);
+		alg.loadImage("0", found);
+		alg.loadImage("1", found);
+		alg.loadImage("0", found);
+		assertEquals(0, alg.getEvictions());
+		assertEquals(2*width*height, alg.getUsedBytes());
+
+		// "1" is the least recently used and should be discarded
+		alg.loadImage("2", found);
+		assertEquals(1, alg.getEvictions());
+		alg.loadImage("0", found);
+		assertEquals(3, source.imageCount.get());
+		alg.loadImage("1", found);
+		assertEquals(4, source.imageCount.get());
+
+		// Too big to fit at all
+		alg.loadImage("3", new Planar<>(GrayU8.class, 1, 1, 3));
+		assertEquals(2*width*height, alg.getUsedBytes());
+
+		// Shrink the budget
+		alg.setMaxBytes(width*height);
+		assertEquals(1, alg.getCachedImages());
+		assertEquals(width*height, alg.getUsedBytes());
+	}
+
+	/**
+	 * The number of bands is part of the key, e.g. a prefetched image has to match the request
+	 */
+	@Test void key_numBands() {
+		var a = new LookUpImagesCached.Key("1", ImageType.pl(3, GrayU8.class));
+		var b = new LookUpImagesCached.Key("1", ImageType.pl(3, GrayU8.class));
+		var c = new LookUpImagesCached.Key("1", ImageType.pl(1, GrayU8.class));
+
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+		assertNotEquals(a, c);
+	}
+
+	@Test void loadShape() {
+		var source = new CountingLookUp();
+		var alg = new LookUpImagesCached(source, 1_000_000);
+
+		var shape = new ImageDimension();
+		assertTrue(alg.loadShape("2", shape));
+		assertTrue(alg.loadShape("2", shape));
+		assertEquals(width, shape.width);
+		assertEquals(height, shape.height);
+		assertEquals(1, source.shapeCount.get());
+
+		assertFalse(alg.loadShape("10", shape));
+	}
+
+	@Test void prefetch() {
+		var source = new CountingLookUp();
+		var alg = new LookUpImagesCached(source, 1_000_000);
+
+		// Does nothing if not enabled
+		alg.prefetch("1", ImageType.SB_F32);
+		assertEquals(0, alg.getMisses());
+
+		alg.setPrefetchThreads(2);
+		for (int i = 0; i < 4; i++) {
+			alg.prefetch("" + i, ImageType.SB_F32);
+		}
+
+		// Whether it has finished or not, the images should not be loaded again
+		var found = new GrayF32(1, 1);
+		for (int i = 0; i < 4; i++) {
+			assertTrue(alg.loadImage("" + i, found));
+		}
+		assertEquals(4, source.imageCount.get());
+
+		// Make sure the correct image was returned
+		var expected = new GrayF32(1, 1);
+		source.loadImage("3", expected);
+		assertArrayEquals(expected.data, found.data);
+		assertEquals(4, alg.getMisses());
+		assertEquals(4, alg.getHits());
+		alg.setPrefetchThreads(0);
+	}
+
+	/**
+	 * Request the same images from multiple threads
+	 */
+	@Test void loadImage_threads() throws InterruptedException {
+		var source = new CountingLookUp();
+		var alg = new LookUpImagesCached(source, 1_000_000);
+
+		var failed = new AtomicInteger();
+		var threads = new ArrayList<Thread>();
+		for (int i = 0; i < 4; i++) {
+			threads.add(new Thread(() -> {
+				var found = new GrayU8(1, 1);
+				for (int trial = 0; trial < 20; trial++) {
+					if (!alg.loadImage("" + (trial%images.size()), found))
+						failed.incrementAndGet();
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (Thread t : threads) {
+			t.join();
+		}
+
+		assertEquals(0, failed.get());
+		assertEquals(images.size(), source.imageCount.get());
+		assertEquals(80, alg.getHits() + alg.getMisses());
+	}
+
+	/**
+	 * Loads images from memory and counts the number of requests. Gray images are the first band.
+	 */
+	private class CountingLookUp implements LookUpImages {
+		AtomicInteger shapeCount = new AtomicInteger();
+		AtomicInteger imageCount = new AtomicInteger();
+
+		@Override public boolean loadShape( String name, ImageDimension shape ) {
+			shapeCount.incrementAndGet();
+			int index = Integer.parseInt(name);
+			if (index < 0 || index >= images.size())
+				return false;
+			shape.setTo(width, height);
+			return true;
+		}
+
+		@SuppressWarnings({"unchecked"})
+		@Override public <LT extends ImageBase<LT>> boolean loadImage( String name, LT output ) {
+			imageCount.incrementAndGet();
+			int index = Integer.parseInt(name);
+			if (index < 0 || index >= images.size())
+				return false;
+
+			Planar<GrayU8> image = images.get(index);
+			if (output instanceof Planar) {
+				((Planar<GrayU8>)output).setTo(image);
+			} else if (output instanceof GrayU8) {
+				((GrayU8)output).setTo(image.getBand(0));
+			} else if (output instanceof GrayF32) {
+				var gray = (GrayF32)output;
+				gray.reshape(width, height);
+				for (int i = 0; i < width*height; i++) {
+					gray.data[i] = image.getBand(0).data[i] & 0xFF;
+				}
+			} else {
+				throw new IllegalArgumentException("Unsupported image type");
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.misc;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestStageMetrics extends BoofStandardJUnit {
+	/**
+	 * Requesting the same name twice should return the same instance
+	 */
+	@Test
+	void lookUpByName() {
+		var alg = new StageMetrics("foo");
+		StageMetrics.Timer timer = alg.timer("a");
+		assertSame(timer, alg.timer("a"));
+		assertNotSame(timer, alg.timer("b"));
+		assertSame(alg.counter("a"), alg.counter("a"));
+		assertSame(alg.histogram("a"), alg.histogram("a"));
+
+		assertEquals(2, alg.getTimers().size());
+		assertEquals(1, alg.getCounters().size());
+		assertEquals(1, alg.getHistograms().size());
+	}
+
+	@Test
+	void timer() {
+		var alg = new StageMetrics("foo");
+		StageMetrics.Timer timer = alg.timer("a");
+
+		assertEquals(2.0, timer.record(2_000_000), 1e-8);
+		assertEquals(2.0, timer.getLastMilli(), 1e-8);
+		assertEquals(1, timer.nanos.getCount());
+
+		timer.start();
+		double elapsed = timer.stop();
+		assertTrue(elapsed >= 0.0);
+		assertEquals(2, timer.nanos.getCount());
+	}
+
+	@Test
+	void publish() {
+		var alg = new StageMetrics("foo");
+		alg.counter("a").add(5);
+
+		// Nothing should happen without a sink
+		alg.publish();
+
+		int[] calls = new int[1];
+		alg.setSink(metrics -> {
+			assertSame(alg, metrics);
+			assertEquals(5, metrics.counter("a").getTotal());
+			calls[0]++;
+		});
+		alg.publish();
+		assertEquals(1, calls[0]);
+	}
+
+	@Test
+	void reset() {
+		var alg = new StageMetrics("foo");
+		alg.timer("a").record(100);
+		alg.counter("b").add(4);
+		alg.histogram("c").add(6);
+
+		alg.reset();
+		assertEquals(0, alg.timer("a").nanos.getCount());
+		assertEquals(0, alg.counter("b").getTotal());
+		assertEquals(0, alg.histogram("c").values.getCount());
+		assertEquals(1, alg.getTimers().size());
+	}
+}
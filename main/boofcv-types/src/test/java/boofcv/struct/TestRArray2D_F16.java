@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestRArray2D_F16 extends BoofStandardJUnit {
+	@Test void resize() {
+		var a = new RArray2D_F16(5, 4);
+
+		assertEquals(5, a.rows);
+		assertEquals(4, a.cols);
+		assertEquals(5, a.data.length);
+		assertEquals(4, a.data[0].length);
+
+		a.reshape(10, 15);
+		assertEquals(10, a.rows);
+		assertEquals(15, a.cols);
+
+		a.reshape(9, 12);
+		assertEquals(9, a.rows);
+		assertEquals(12, a.cols);
+		assertTrue(9 <= a.data.length);
+		assertTrue(12 <= a.data[0].length);
+	}
+
+	@Test void get_set() {
+		var a = new RArray2D_F16(9, 12);
+
+		a.set(4, 5, 3.5f);
+		assertEquals(3.5f, a.get(4, 5));
+		assertThrows(IllegalArgumentException.class, () -> a.get(9, 0));
+	}
+
+	@Test void getRow_setRow() {
+		var a = new RArray2D_F16(3, 20);
+		var src = new float[20];
+		for (int i = 0; i < src.length; i++) {
+			src[i] = (rand.nextFloat() - 0.5f)*500.0f;
+		}
+
+		a.setRow(1, src);
+		var found = new float[20];
+		a.getRow(1, found);
+		for (int i = 0; i < src.length; i++) {
+			assertEquals(src[i], found[i], Math.abs(src[i])*1e-3f);
+		}
+	}
+
+	/**
+	 * Same seed should produce the same row and on average the stochastic rounding should be unbiased
+	 */
+	@Test void setRow_stochastic() {
+		var a = new RArray2D_F16(2, 2000);
+		var src = new float[2000];
+		// Each value is a quarter of the way between two half floats, which are 1/8 apart
+		Arrays.fill(src, 130.0f + 0.125f*0.25f);
+
+		a.setRow(0, src, 5);
+		a.setRow(1, src, 5);
+		assertArrayEquals(a.data[0], a.data[1]);
+
+		var found = new float[2000];
+		a.getRow(0, found);
+		double sum = 0;
+		for (int i = 0; i < found.length; i++) {
+			assertTrue(found[i] == 130.0f || found[i] == 130.125f);
+			sum += found[i];
+		}
+		assertEquals(src[0], sum/found.length, 0.005);
+
+		// A different seed should produce different rounding
+		a.setRow(1, src, 6);
+		assertFalse(Arrays.equals(a.data[0], a.data[1]));
+	}
+
+	@Test void toHalfStochastic() {
+		// Values which can be exactly represented don't change
+		for (float value : new float[]{0.0f, 1.0f, -2.5f, 130.125f, 1e-6f, RArray2D_F16.MAX_VALUE}) {
+			for (int noise : new int[]{0, 0x1FFF, 0xFFFFFFFF, 0x1234}) {
+				assertEquals(RArray2D_F16.toHalf(value), RArray2D_F16.toHalfStochastic(value, noise));
+			}
+		}
+
+		// Rounds down with no noise and up with the most noise
+		float value = 1.0f + 0.25f/1024.0f;
+		assertEquals(1.0f, RArray2D_F16.toFloat(RArray2D_F16.toHalfStochastic(value, 0)));
+		assertEquals(1.0f + 1.0f/1024.0f, RArray2D_F16.toFloat(RArray2D_F16.toHalfStochastic(value, 0x1FFF)));
+		assertEquals(-1.0f, RArray2D_F16.toFloat(RArray2D_F16.toHalfStochastic(-value, 0)));
+
+		// Should never become infinite
+		float large = RArray2D_F16.MAX_VALUE - 1.0f;
+		assertEquals(RArray2D_F16.MAX_VALUE, RArray2D_F16.toFloat(RArray2D_F16.toHalfStochastic(large, 0x1FFF)));
+	}
+
+	/**
+	 * Every half precision value should be converted into a float and back without changing
+	 */
+	@Test void toHalf_toFloat_exhaustive() {
+		for (int i = 0; i < 0x10000; i++) {
+			float value = RArray2D_F16.toFloat((short)i);
+			if (Float.isNaN(value))
+				continue;
+			assertEquals((short)i, RArray2D_F16.toHalf(value));
+		}
+	}
+
+	@Test void toHalf_knownValues() {
+		assertEquals((short)0x3C00, RArray2D_F16.toHalf(1.0f));
+		assertEquals((short)0xC000, RArray2D_F16.toHalf(-2.0f));
+		assertEquals((short)0x0000, RArray2D_F16.toHalf(0.0f));
+		assertEquals((short)0x0001, RArray2D_F16.toHalf(5.9604645e-8f));
+		assertEquals((short)0x7C00, RArray2D_F16.toHalf(Float.POSITIVE_INFINITY));
+		assertTrue(Float.isNaN(RArray2D_F16.toFloat(RArray2D_F16.toHalf(Float.NaN))));
+
+		// Rounds to the closest value
+		assertEquals(1.0f, RArray2D_F16.toFloat(RArray2D_F16.toHalf(1.0002f)));
+		assertEquals(1.0009765625f, RArray2D_F16.toFloat(RArray2D_F16.toHalf(1.0008f)));
+	}
+
+	/**
+	 * Values which are too large should saturate instead of becoming infinite
+	 */
+	@Test void toHalf_saturate() {
+		assertEquals(RArray2D_F16.MAX_VALUE, RArray2D_F16.toFloat(RArray2D_F16.toHalf(1e6f)));
+		assertEquals(-RArray2D_F16.MAX_VALUE, RArray2D_F16.toFloat(RArray2D_F16.toHalf(-70000f)));
+	}
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import boofcv.testing.BoofStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+class TestRasterBuffer extends BoofStandardJUnit {
+	int width = 30;
+	int height = 25;
+
+	/**
+	 * Wrap a buffer with known values and see if get() returns the expected values
+	 */
+	@Test
+	void wrap_get() {
+		ByteBuffer buffer = ByteBuffer.allocate(10 + width*height*2).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.position(10);
+		for (int i = 0; i < width*height; i++) {
+			buffer.putShort(10 + i*2, (short)(60000 + i%100));
+		}
+
+		var alg = new RasterBuffer(buffer, width, height, 1, ImageDataType.U16);
+		assertEquals(ByteOrder.LITTLE_ENDIAN, alg.getByteOrder());
+		assertEquals(60000 + (3*width + 4)%100, alg.get(4, 3, 0));
+
+		assertThrows(ImageAccessException.class, () -> alg.get(width, 0, 0));
+		assertThrows(IllegalArgumentException.class,
+				() -> new RasterBuffer(buffer, width, height + 1, 1, ImageDataType.U16));
+	}
+
+	@Test
+	void readTile_gray() {
+		var alg = RasterBuffer.allocateDirect(width, height, 1, ImageDataType.F32);
+		fill(alg);
+
+		// Read into a sub-image to make sure stride is handled
+		var larger = new GrayF32(20, 20);
+		GrayF32 tile = larger.subimage(2, 3, 12, 11);
+		alg.readTile(5, 6, 10, 8, tile);
+		for (int y = 0; y < 8; y++) {
+			for (int x = 0; x < 10; x++) {
+				assertEquals(alg.get(x + 5, y + 6, 0), tile.get(x, y));
+			}
+		}
+
+		// Data type must match
+		assertThrows(IllegalArgumentException.class, () -> alg.readTile(0, 0, 2, 2, new GrayU8(1, 1)));
+		// Can't go outside the raster
+		assertThrows(IllegalArgumentException.class, () -> alg.readTile(25, 0, 10, 2, new GrayF32(1, 1)));
+	}
+
+	@Test
+	void readTile_interleaved() {
+		var alg = RasterBuffer.allocateDirect(width, height, 3, ImageDataType.U8);
+		fill(alg);
+
+		var tile = new InterleavedU8(1, 1, 1);
+		alg.readTile(5, 6, 10, 8, tile);
+		assertEquals(3, tile.numBands);
+		assertEquals(10, tile.width);
+		assertEquals(8, tile.height);
+		for (int y = 0; y < 8; y++) {
+			for (int x = 0; x < 10; x++) {
+				for (int band = 0; band < 3; band++) {
+					assertEquals(alg.get(x + 5, y + 6, band), tile.getBand(x, y, band));
+				}
+			}
+		}
+	}
+
+	@Test
+	void readTile_planar() {
+		var alg = RasterBuffer.allocateDirect(width, height, 2, ImageDataType.S16);
+		fill(alg);
+
+		var tile = new Planar<>(GrayS16.class, 1, 1, 1);
+		alg.readTile(5, 6, 10, 8, tile);
+		assertEquals(2, tile.getNumBands());
+		for (int y = 0; y < 8; y++) {
+			for (int x = 0; x < 10; x++) {
+				for (int band = 0; band < 2; band++) {
+					assertEquals(alg.get(x + 5, y + 6, band), tile.getBand(band).get(x, y));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Write tiles then read them back
+	 */
+	@Test
+	void writeTile() {
+		var alg = RasterBuffer.allocateDirect(width, height, 2, ImageDataType.F64);
+
+		var planar = new Planar<>(GrayF64.class, 7, 5, 2);
+		var interleaved = new InterleavedF64(4, 6, 2);
+		for (int band = 0; band < 2; band++) {
+			for (int i = 0; i < planar.getBand(band).data.length; i++) {
+				planar.getBand(band).data[i] = rand.nextDouble();
+			}
+		}
+		for (int i = 0; i < interleaved.data.length; i++) {
+			interleaved.data[i] = rand.nextDouble();
+		}
+
+		alg.writeTile(1, 2, planar);
+		alg.writeTile(20, 15, interleaved);
+
+		var foundPlanar = new Planar<>(GrayF64.class, 1, 1, 1);
+		alg.readTile(1, 2, 7, 5, foundPlanar);
+		var foundInterleaved = new InterleavedF64(1, 1, 1);
+		alg.readTile(20, 15, 4, 6, foundInterleaved);
+
+		for (int band = 0; band < 2; band++) {
+			assertArrayEquals(planar.getBand(band).data, foundPlanar.getBand(band).data);
+		}
+		assertArrayEquals(interleaved.data, foundInterleaved.data);
+	}
+
+	/**
+	 * Map a file and force it to be split into several chunks
+	 */
+	@Test
+	void map_chunks() throws IOException {
+		File file = File.createTempFile("raster", ".bin");
+		try {
+			int offset = 13;
+			var gray = new GrayS32(width, height);
+			for (int i = 0; i < gray.data.length; i++) {
+				gray.data[i] = rand.nextInt();
+			}
+
+			// Each chunk will have 3 rows in it
+			var writer = RasterBuffer.map(file, offset, width, height, 1, ImageDataType.S32,
+					ByteOrder.BIG_ENDIAN, true, width*4*3 + 5);
+			assertEquals(9, writer.chunks.length);
+			writer.writeTile(0, 0, gray);
+			assertTrue(file.length() >= offset + RasterBuffer.bytesRequired(width, height, 1, ImageDataType.S32));
+
+			var reader = RasterBuffer.map(file, offset, width, height, 1, ImageDataType.S32,
+					ByteOrder.BIG_ENDIAN, false);
+			var found = new GrayS32(1, 1);
+			reader.readTile(0, 0, width, height, found);
+			assertArrayEquals(gray.data, found.data);
+
+			// Tile which crosses chunk boundaries
+			writer.readTile(3, 2, 5, 7, found);
+			for (int y = 0; y < 7; y++) {
+				for (int x = 0; x < 5; x++) {
+					assertEquals(gray.get(x + 3, y + 2), found.get(x, y));
+				}
+			}
+		} finally {
+			file.delete();// no assertTrue() here because in windows it will fail
+		}
+	}
+
+	private void fill( RasterBuffer raster ) {
+		for (int y = 0; y < raster.getHeight(); y++) {
+			for (int x = 0; x < raster.getWidth(); x++) {
+				for (int band = 0; band < raster.getNumBands(); band++) {
+					raster.set(x, y, band, rand.nextInt(100) - 20);
+				}
+			}
+		}
+	}
+}